@@ -16,6 +16,7 @@
 
 package org.apache.ignite.internal.benchmarks.jmh.algo;
 
+import org.apache.ignite.configuration.ChecksumAlgorithm;
 import org.apache.ignite.internal.processors.cache.persistence.wal.crc.FastCrc;
 import org.apache.ignite.internal.processors.cache.persistence.wal.crc.PureJavaCrc32;
 import org.openjdk.jmh.annotations.Benchmark;
@@ -89,6 +90,18 @@ public class BenchmarkCRC {
 
         return context.results;
     }
+
+    /** */
+    @Benchmark
+    public int[] crc32c(Context context) {
+        for (int i = 0; i < SIZE; i++) {
+            context.bb.rewind();
+
+            context.results[i] = FastCrc.calcCrc(ChecksumAlgorithm.CRC32C, context.bb, BUF_LEN);
+        }
+
+        return context.results;
+    }
 }
 
 
@@ -0,0 +1,104 @@
+/*
+ * Copyright 2019 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.benchmarks.jmh.checkpoint;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import org.apache.ignite.internal.benchmarks.jmh.JmhAbstractBenchmark;
+import org.apache.ignite.internal.benchmarks.jmh.runner.JmhIdeBenchmarkRunner;
+import org.apache.ignite.internal.util.StripedReentrantReadWriteLock;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Measures throughput of checkpoint read lock acquire/release under contention of updating threads.
+ */
+@State(Scope.Benchmark)
+public class JmhCheckpointReadLockBenchmark extends JmhAbstractBenchmark {
+    /** Lock implementation. */
+    @Param({"RWLOCK", "STRIPED"})
+    String lockType;
+
+    /** Lock. */
+    private ReentrantReadWriteLock lock;
+
+    /**
+     * Setup.
+     */
+    @Setup
+    public void setup() {
+        lock = "STRIPED".equals(lockType) ? new StripedReentrantReadWriteLock() : new ReentrantReadWriteLock();
+    }
+
+    /**
+     * Acquire and release read lock, as every cache update does.
+     */
+    @Benchmark
+    public void readLockUnlock() {
+        lock.readLock().lock();
+
+        lock.readLock().unlock();
+    }
+
+    /**
+     * Acquire read lock twice and release it, as nested updates do.
+     */
+    @Benchmark
+    public void reentrantReadLockUnlock() {
+        lock.readLock().lock();
+        lock.readLock().lock();
+
+        lock.readLock().unlock();
+        lock.readLock().unlock();
+    }
+
+    /**
+     * Run benchmarks.
+     *
+     * @param args Arguments.
+     * @throws Exception If failed.
+     */
+    public static void main(String[] args) throws Exception {
+        int maxThreads = Runtime.getRuntime().availableProcessors();
+
+        for (int threads = 1; threads <= maxThreads; threads *= 2)
+            run(threads);
+    }
+
+    /**
+     * Run benchmark.
+     *
+     * @param threads Amount of threads.
+     * @throws Exception If failed.
+     */
+    private static void run(int threads) throws Exception {
+        JmhIdeBenchmarkRunner.create()
+            .forks(1)
+            .threads(threads)
+            .warmupIterations(10)
+            .measurementIterations(10)
+            .benchmarkModes(Mode.Throughput)
+            .outputTimeUnit(TimeUnit.MICROSECONDS)
+            .benchmarks(JmhCheckpointReadLockBenchmark.class.getSimpleName())
+            .jvmArguments("-Xms1g", "-Xmx1g")
+            .run();
+    }
+}
@@ -0,0 +1,212 @@
+/*
+ * Copyright 2019 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.apache.ignite.internal.benchmarks.jmh.file;
+
+import java.io.File;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
+import org.apache.ignite.internal.benchmarks.jmh.JmhAbstractBenchmark;
+import org.apache.ignite.internal.benchmarks.jmh.runner.JmhIdeBenchmarkRunner;
+import org.apache.ignite.internal.processors.cache.persistence.file.AsyncFileIOFactory;
+import org.apache.ignite.internal.processors.cache.persistence.file.FileIO;
+import org.apache.ignite.internal.processors.cache.persistence.file.FileIOFactory;
+import org.apache.ignite.internal.processors.cache.persistence.file.MappedFileIOFactory;
+import org.apache.ignite.internal.processors.cache.persistence.file.RandomAccessFileIOFactory;
+import org.apache.ignite.internal.util.typedef.internal.U;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+/**
+ * Measures latency of page reads from a partition-like file through different file I/O factories.
+ * <p>
+ * Warm reads hit a small set of pages which has already been read through the same file I/O. Cold reads sweep
+ * the whole file through a file I/O which is reopened on every iteration, so every page is read through it for
+ * the first time. The OS page cache is not dropped between iterations, run with a file larger than the free
+ * memory to measure device reads.
+ */
+@State(Scope.Benchmark)
+public class JmhFileIOReadBenchmark extends JmhAbstractBenchmark {
+    /** Page size. */
+    private static final int PAGE_SIZE = 4096;
+
+    /** Number of pages in the file. */
+    private static final int PAGES = intProperty("bench.file.pages", 256 * 1024);
+
+    /** Number of pages read by warm reads. */
+    private static final int HOT_PAGES = 1024;
+
+    /** File I/O factory. */
+    @Param({"RANDOM_ACCESS", "ASYNC", "MAPPED"})
+    String factory;
+
+    /** File. */
+    private File file;
+
+    /** File I/O. */
+    private FileIO io;
+
+    /** Next page to read by cold reads. */
+    private int coldIdx;
+
+    /** Page buffer. */
+    private ByteBuffer buf;
+
+    /**
+     * Setup.
+     *
+     * @throws Exception If failed.
+     */
+    @Setup
+    public void setup() throws Exception {
+        file = Files.createTempFile("jmh-fileio", ".bin").toFile();
+
+        buf = ByteBuffer.allocateDirect(PAGE_SIZE).order(ByteOrder.nativeOrder());
+
+        try (FileIO io = new RandomAccessFileIOFactory().create(file, CREATE, READ, WRITE)) {
+            for (int i = 0; i < PAGES; i++) {
+                buf.clear();
+
+                buf.putInt(0, i);
+
+                io.writeFully(buf, (long)i * PAGE_SIZE);
+            }
+
+            io.force();
+        }
+    }
+
+    /**
+     * Opens file I/O before every iteration.
+     *
+     * @throws Exception If failed.
+     */
+    @Setup(Level.Iteration)
+    public void openFile() throws Exception {
+        io = fileIOFactory().create(file, READ, WRITE);
+
+        coldIdx = 0;
+
+        for (int i = 0; i < HOT_PAGES; i++)
+            read(i);
+    }
+
+    /**
+     * Closes file I/O after every iteration.
+     *
+     * @throws Exception If failed.
+     */
+    @TearDown(Level.Iteration)
+    public void closeFile() throws Exception {
+        io.close();
+    }
+
+    /**
+     * Tear down.
+     */
+    @TearDown
+    public void tearDown() {
+        U.delete(file);
+    }
+
+    /**
+     * Read a random page of the hot set.
+     *
+     * @return Page content.
+     * @throws Exception If failed.
+     */
+    @Benchmark
+    public int warmRead() throws Exception {
+        return read(randomInt(HOT_PAGES));
+    }
+
+    /**
+     * Read the next page of the file which has not been read through the current file I/O yet.
+     *
+     * @return Page content.
+     * @throws Exception If failed.
+     */
+    @Benchmark
+    public int coldRead() throws Exception {
+        int idx = HOT_PAGES + coldIdx++ % (PAGES - HOT_PAGES);
+
+        return read(idx);
+    }
+
+    /**
+     * @param idx Page index.
+     * @return Page content.
+     * @throws Exception If failed.
+     */
+    private int read(int idx) throws Exception {
+        buf.clear();
+
+        io.readFully(buf, (long)idx * PAGE_SIZE);
+
+        return buf.getInt(0);
+    }
+
+    /**
+     * @return File I/O factory.
+     */
+    private FileIOFactory fileIOFactory() {
+        switch (factory) {
+            case "RANDOM_ACCESS":
+                return new RandomAccessFileIOFactory();
+
+            case "ASYNC":
+                return new AsyncFileIOFactory();
+
+            case "MAPPED":
+                return new MappedFileIOFactory();
+
+            default:
+                throw new IllegalArgumentException("Unknown factory: " + factory);
+        }
+    }
+
+    /**
+     * Run benchmarks.
+     *
+     * @param args Arguments.
+     * @throws Exception If failed.
+     */
+    public static void main(String[] args) throws Exception {
+        JmhIdeBenchmarkRunner.create()
+            .forks(1)
+            .threads(1)
+            .warmupIterations(5)
+            .measurementIterations(10)
+            .benchmarkModes(Mode.AverageTime)
+            .outputTimeUnit(TimeUnit.NANOSECONDS)
+            .benchmarks(JmhFileIOReadBenchmark.class.getSimpleName())
+            .jvmArguments("-Xms1g", "-Xmx1g")
+            .run();
+    }
+}
@@ -0,0 +1,205 @@
+/*
+ * Copyright 2019 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.benchmarks.jmh.pagemem;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
+import org.apache.ignite.IgniteCheckedException;
+import org.apache.ignite.Ignition;
+import org.apache.ignite.cluster.ClusterState;
+import org.apache.ignite.configuration.CacheConfiguration;
+import org.apache.ignite.configuration.DataRegionConfiguration;
+import org.apache.ignite.configuration.DataStorageConfiguration;
+import org.apache.ignite.configuration.IgniteConfiguration;
+import org.apache.ignite.internal.IgniteEx;
+import org.apache.ignite.internal.benchmarks.jmh.JmhAbstractBenchmark;
+import org.apache.ignite.internal.benchmarks.jmh.runner.JmhIdeBenchmarkRunner;
+import org.apache.ignite.internal.pagemem.PageMemory;
+import org.apache.ignite.internal.processors.cache.persistence.IgniteCacheDatabaseSharedManager;
+import org.apache.ignite.internal.processors.cache.persistence.tree.io.BPlusMetaIO;
+import org.apache.ignite.internal.util.typedef.internal.CU;
+import org.apache.ignite.internal.util.typedef.internal.U;
+import org.apache.ignite.spi.discovery.tcp.TcpDiscoverySpi;
+import org.apache.ignite.spi.discovery.tcp.ipfinder.vm.TcpDiscoveryVmIpFinder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import static org.apache.ignite.IgniteSystemProperties.IGNITE_PAGE_MEMORY_OPTIMISTIC_LOOKUP;
+import static org.apache.ignite.internal.pagemem.PageIdAllocator.FLAG_IDX;
+import static org.apache.ignite.internal.pagemem.PageIdAllocator.INDEX_PARTITION;
+
+/**
+ * Measures throughput of acquiring and releasing pages which are already loaded to durable page memory,
+ * with and without optimistic lookups in the loaded pages table.
+ */
+@State(Scope.Benchmark)
+public class JmhPageMemoryAcquireBenchmark extends JmhAbstractBenchmark {
+    /** Cache name. */
+    private static final String CACHE_NAME = "cache";
+
+    /** Amount of loaded pages. */
+    private static final int PAGES = 100_000;
+
+    /** Whether to look up pages without the segment lock. */
+    @Param({"true", "false"})
+    String optimistic;
+
+    /** Work directory. */
+    private File workDir;
+
+    /** Page memory. */
+    private PageMemory pageMem;
+
+    /** Cache group ID. */
+    private int grpId;
+
+    /** Loaded page IDs. */
+    private long[] pageIds;
+
+    /**
+     * Setup.
+     *
+     * @throws Exception If failed.
+     */
+    @Setup
+    public void setup() throws Exception {
+        System.setProperty(IGNITE_PAGE_MEMORY_OPTIMISTIC_LOOKUP, optimistic);
+
+        workDir = Files.createTempDirectory("jmh-pagemem").toFile();
+
+        TcpDiscoverySpi discoSpi = new TcpDiscoverySpi();
+
+        discoSpi.setIpFinder(new TcpDiscoveryVmIpFinder(true));
+
+        IgniteConfiguration cfg = new IgniteConfiguration()
+            .setIgniteInstanceName("node0")
+            .setLocalHost("127.0.0.1")
+            .setWorkDirectory(workDir.getAbsolutePath())
+            .setDiscoverySpi(discoSpi)
+            .setDataStorageConfiguration(new DataStorageConfiguration()
+                .setDefaultDataRegionConfiguration(new DataRegionConfiguration()
+                    .setPersistenceEnabled(true)
+                    .setMaxSize(1024L * 1024 * 1024)))
+            .setCacheConfiguration(new CacheConfiguration<>(CACHE_NAME));
+
+        IgniteEx node = (IgniteEx)Ignition.start(cfg);
+
+        node.cluster().state(ClusterState.ACTIVE);
+
+        IgniteCacheDatabaseSharedManager db = node.context().cache().context().database();
+
+        pageMem = db.dataRegion(null).pageMemory();
+
+        grpId = CU.cacheId(CACHE_NAME);
+
+        pageIds = new long[PAGES];
+
+        db.checkpointReadLock();
+
+        try {
+            for (int i = 0; i < PAGES; i++) {
+                long pageId = pageMem.allocatePage(grpId, INDEX_PARTITION, FLAG_IDX);
+
+                long page = pageMem.acquirePage(grpId, pageId);
+
+                try {
+                    long pageAddr = pageMem.writeLock(grpId, pageId, page);
+
+                    try {
+                        BPlusMetaIO.VERSIONS.latest().initNewPage(pageAddr, pageId, pageMem.realPageSize(grpId));
+                    }
+                    finally {
+                        pageMem.writeUnlock(grpId, pageId, page, null, true);
+                    }
+                }
+                finally {
+                    pageMem.releasePage(grpId, pageId, page);
+                }
+
+                pageIds[i] = pageId;
+            }
+        }
+        finally {
+            db.checkpointReadUnlock();
+        }
+    }
+
+    /**
+     * Tear down.
+     */
+    @TearDown
+    public void tearDown() {
+        Ignition.stopAll(true);
+
+        U.delete(workDir);
+
+        System.clearProperty(IGNITE_PAGE_MEMORY_OPTIMISTIC_LOOKUP);
+    }
+
+    /**
+     * Acquire and release a random loaded page.
+     *
+     * @return Page pointer.
+     * @throws IgniteCheckedException If failed.
+     */
+    @Benchmark
+    public long acquireRelease() throws IgniteCheckedException {
+        long pageId = pageIds[randomInt(PAGES)];
+
+        long page = pageMem.acquirePage(grpId, pageId);
+
+        pageMem.releasePage(grpId, pageId, page);
+
+        return page;
+    }
+
+    /**
+     * Run benchmarks.
+     *
+     * @param args Arguments.
+     * @throws Exception If failed.
+     */
+    public static void main(String[] args) throws Exception {
+        run(1);
+        run(Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Run benchmark.
+     *
+     * @param threads Amount of threads.
+     * @throws Exception If failed.
+     */
+    private static void run(int threads) throws Exception {
+        JmhIdeBenchmarkRunner.create()
+            .forks(1)
+            .threads(threads)
+            .warmupIterations(10)
+            .measurementIterations(10)
+            .benchmarkModes(Mode.Throughput)
+            .outputTimeUnit(TimeUnit.MICROSECONDS)
+            .benchmarks(JmhPageMemoryAcquireBenchmark.class.getSimpleName())
+            .jvmArguments("-Xms2g", "-Xmx2g")
+            .run();
+    }
+}
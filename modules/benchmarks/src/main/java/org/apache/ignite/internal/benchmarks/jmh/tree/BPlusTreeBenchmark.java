@@ -16,6 +16,8 @@
 
 package org.apache.ignite.internal.benchmarks.jmh.tree;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.ConcurrentLinkedDeque;
 import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.atomic.AtomicLong;
@@ -38,8 +40,10 @@ import org.apache.ignite.internal.processors.cache.persistence.tree.io.PageIO;
 import org.apache.ignite.internal.processors.cache.persistence.tree.reuse.ReuseBag;
 import org.apache.ignite.internal.processors.cache.persistence.tree.reuse.ReuseList;
 import org.apache.ignite.internal.processors.metric.impl.LongAdderMetric;
+import org.apache.ignite.internal.util.IgniteTree;
 import org.apache.ignite.logger.java.JavaLogger;
 import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
 import org.openjdk.jmh.annotations.Scope;
 import org.openjdk.jmh.annotations.Setup;
 import org.openjdk.jmh.annotations.State;
@@ -74,6 +78,10 @@ public class BPlusTreeBenchmark extends JmhAbstractBenchmark {
     /** */
     private static final int KEYS = 1_000_000;
 
+    /** Number of sorted rows put by a single batch benchmark call. */
+    @Param({"16", "64", "256", "1024"})
+    private int batchSize;
+
     /** */
     private TestTree tree;
 
@@ -161,6 +169,69 @@ public class BPlusTreeBenchmark extends JmhAbstractBenchmark {
         return tree.put(key);
     }
 
+    /**
+     * Puts a sorted batch of rows one by one.
+     *
+     * @throws Exception If failed.
+     */
+    @Benchmark
+    public void putBatch() throws Exception {
+        long first = ThreadLocalRandom.current().nextLong(KEYS - batchSize);
+
+        for (long key = first; key < first + batchSize; key++)
+            tree.put(key);
+    }
+
+    /**
+     * Puts a sorted batch of rows leaf by leaf.
+     *
+     * @throws Exception If failed.
+     */
+    @Benchmark
+    public void invokeAllBatch() throws Exception {
+        long first = ThreadLocalRandom.current().nextLong(KEYS - batchSize);
+
+        List<Long> rows = new ArrayList<>(batchSize);
+        List<PutClosure> clos = new ArrayList<>(batchSize);
+
+        for (long key = first; key < first + batchSize; key++) {
+            rows.add(key);
+            clos.add(new PutClosure(key));
+        }
+
+        tree.invokeAll(rows, null, clos);
+    }
+
+    /**
+     * Put closure.
+     */
+    private static class PutClosure implements IgniteTree.InvokeClosure<Long> {
+        /** */
+        private final Long row;
+
+        /**
+         * @param row Row.
+         */
+        PutClosure(Long row) {
+            this.row = row;
+        }
+
+        /** {@inheritDoc} */
+        @Override public void call(Long oldRow) {
+            // No-op.
+        }
+
+        /** {@inheritDoc} */
+        @Override public Long newRow() {
+            return row;
+        }
+
+        /** {@inheritDoc} */
+        @Override public IgniteTree.OperationType operationType() {
+            return IgniteTree.OperationType.PUT;
+        }
+    }
+
     /**
      * Test tree.
      */
@@ -326,6 +326,7 @@ public class JdbcMetadataSelfTest extends GridCommonAbstractTest {
             "CACHE_GROUPS",
             "INDEXES",
             "LOCAL_CACHE_GROUPS_IO",
+            "LOCAL_INDEX_INLINE_STATISTICS",
             "LOCAL_SQL_QUERY_HISTORY",
             "LOCAL_SQL_RUNNING_QUERIES",
             "NODES",
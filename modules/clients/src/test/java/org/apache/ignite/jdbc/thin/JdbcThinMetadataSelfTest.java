@@ -419,6 +419,7 @@ public class JdbcThinMetadataSelfTest extends JdbcThinAbstractSelfTest {
                 "IGNITE.BASELINE_NODES",
                 "IGNITE.INDEXES",
                 "IGNITE.LOCAL_CACHE_GROUPS_IO",
+                "IGNITE.LOCAL_INDEX_INLINE_STATISTICS",
                 "IGNITE.LOCAL_SQL_RUNNING_QUERIES",
                 "IGNITE.NODE_ATTRIBUTES",
                 "IGNITE.CACHES",
@@ -715,6 +716,15 @@ public class JdbcThinMetadataSelfTest extends JdbcThinAbstractSelfTest {
                 "IGNITE.LOCAL_CACHE_GROUPS_IO.CACHE_GROUP_NAME.null.2147483647",
                 "IGNITE.LOCAL_CACHE_GROUPS_IO.PHYSICAL_READS.null.19",
                 "IGNITE.LOCAL_CACHE_GROUPS_IO.LOGICAL_READS.null.19",
+                "IGNITE.LOCAL_INDEX_INLINE_STATISTICS.SCHEMA_NAME.null.2147483647",
+                "IGNITE.LOCAL_INDEX_INLINE_STATISTICS.TABLE_NAME.null.2147483647",
+                "IGNITE.LOCAL_INDEX_INLINE_STATISTICS.INDEX_NAME.null.2147483647",
+                "IGNITE.LOCAL_INDEX_INLINE_STATISTICS.INLINE_SIZE.null.10",
+                "IGNITE.LOCAL_INDEX_INLINE_STATISTICS.RECOMMENDED_INLINE_SIZE.null.10",
+                "IGNITE.LOCAL_INDEX_INLINE_STATISTICS.MAX_KEY_SIZE.null.10",
+                "IGNITE.LOCAL_INDEX_INLINE_STATISTICS.AVG_KEY_SIZE.null.10",
+                "IGNITE.LOCAL_INDEX_INLINE_STATISTICS.KEY_SIZE_SAMPLES.null.19",
+                "IGNITE.LOCAL_INDEX_INLINE_STATISTICS.INLINE_FALLBACK_COMPARISONS.null.19",
                 "IGNITE.LOCAL_SQL_QUERY_HISTORY.SCHEMA_NAME.null.2147483647",
                 "IGNITE.LOCAL_SQL_QUERY_HISTORY.SQL.null.2147483647",
                 "IGNITE.LOCAL_SQL_QUERY_HISTORY.LOCAL.null.1",
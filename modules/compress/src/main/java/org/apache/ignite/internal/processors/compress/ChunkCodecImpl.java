@@ -0,0 +1,74 @@
+/*
+ * Copyright 2019 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.compress;
+
+import com.github.luben.zstd.Zstd;
+import java.nio.ByteBuffer;
+import org.apache.ignite.configuration.DiskPageCompression;
+import org.apache.ignite.internal.processors.compress.CompressionProcessorImpl.Lz4;
+
+/**
+ * Chunk codec based on LZ4 and Zstd.
+ */
+public final class ChunkCodecImpl implements ChunkCodec {
+    /** {@inheritDoc} */
+    @Override public int maxCompressedLength(DiskPageCompression compression, int len) {
+        switch (compression) {
+            case ZSTD:
+                return (int)Zstd.compressBound(len);
+
+            case LZ4:
+                return Lz4.fastCompressor.maxCompressedLength(len);
+        }
+
+        throw new IllegalArgumentException("Unsupported compression: " + compression);
+    }
+
+    /** {@inheritDoc} */
+    @Override public void compress(DiskPageCompression compression, int compressLevel, ByteBuffer src, ByteBuffer dst) {
+        switch (compression) {
+            case ZSTD:
+                Zstd.compress(dst, src, compressLevel);
+
+                return;
+
+            case LZ4:
+                Lz4.getCompressor(compressLevel).compress(src, dst);
+
+                return;
+        }
+
+        throw new IllegalArgumentException("Unsupported compression: " + compression);
+    }
+
+    /** {@inheritDoc} */
+    @Override public void decompress(DiskPageCompression compression, ByteBuffer src, ByteBuffer dst) {
+        switch (compression) {
+            case ZSTD:
+                Zstd.decompress(dst, src);
+
+                return;
+
+            case LZ4:
+                Lz4.decompress(src, dst);
+
+                return;
+        }
+
+        throw new IllegalArgumentException("Unsupported compression: " + compression);
+    }
+}
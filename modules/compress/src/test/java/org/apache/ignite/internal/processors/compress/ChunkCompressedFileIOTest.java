@@ -0,0 +1,128 @@
+/*
+ * Copyright 2019 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.compress;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.util.Random;
+import org.apache.ignite.configuration.DiskPageCompression;
+import org.apache.ignite.internal.processors.cache.persistence.file.ChunkCompressedFileIO;
+import org.apache.ignite.internal.processors.cache.persistence.file.ChunkCompressedOutputStream;
+import org.apache.ignite.internal.processors.cache.persistence.file.FileIO;
+import org.apache.ignite.internal.processors.cache.persistence.file.RandomAccessFileIOFactory;
+import org.apache.ignite.internal.util.typedef.internal.U;
+import org.apache.ignite.testframework.junits.common.GridCommonAbstractTest;
+import org.junit.Test;
+
+import static org.apache.ignite.configuration.DiskPageCompression.LZ4;
+import static org.apache.ignite.configuration.DiskPageCompression.ZSTD;
+
+/**
+ * Checks chunk compressed files.
+ */
+public class ChunkCompressedFileIOTest extends GridCommonAbstractTest {
+    /** Chunk size. */
+    private static final int CHUNK_SIZE = 4 * 1024;
+
+    /**
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testLz4() throws Exception {
+        checkReadWrite(LZ4, CompressionProcessor.LZ4_DEFAULT_LEVEL);
+    }
+
+    /**
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testZstd() throws Exception {
+        checkReadWrite(ZSTD, CompressionProcessor.ZSTD_DEFAULT_LEVEL);
+    }
+
+    /**
+     * @param compression Compression algorithm.
+     * @param level Compression level.
+     * @throws Exception If failed.
+     */
+    private void checkReadWrite(DiskPageCompression compression, int level) throws Exception {
+        File file = new File(U.defaultWorkDirectory(), "chunk-compressed.bin");
+
+        // Compressible data of several chunks with the partial last one.
+        byte[] data = new byte[10 * CHUNK_SIZE + 123];
+
+        Random rnd = new Random();
+
+        for (int i = 0; i < data.length; i++)
+            data[i] = (byte)(i % 64 == 0 ? rnd.nextInt() : i / 64);
+
+        try {
+            try (OutputStream out = new ChunkCompressedOutputStream(
+                new FileOutputStream(file), compression, level, CHUNK_SIZE)) {
+                // Unaligned writes.
+                out.write(data, 0, 100);
+                out.write(data[100]);
+                out.write(data, 101, data.length - 101);
+            }
+
+            assertTrue(file.length() < data.length / 2);
+            assertTrue(ChunkCompressedFileIO.isChunkCompressed(file, new RandomAccessFileIOFactory()));
+
+            try (FileIO io = new ChunkCompressedFileIO(file, new RandomAccessFileIOFactory())) {
+                assertEquals(data.length, io.size());
+
+                // Sequential read by buffers crossing chunk boundaries.
+                ByteBuffer buf = ByteBuffer.allocate(CHUNK_SIZE + 17);
+
+                int pos = 0;
+                int n;
+
+                while ((n = io.read(buf)) > 0) {
+                    buf.flip();
+
+                    for (int i = 0; i < n; i++)
+                        assertEquals(data[pos + i], buf.get(i));
+
+                    pos += n;
+
+                    buf.clear();
+                }
+
+                assertEquals(data.length, pos);
+
+                // Random access, including seeking backwards.
+                for (int i = 0; i < 100; i++) {
+                    int off = rnd.nextInt(data.length);
+
+                    io.position(off);
+
+                    buf.clear().limit(Math.min(buf.capacity(), data.length - off));
+
+                    io.readFully(buf);
+
+                    for (int j = 0; j < buf.limit(); j++)
+                        assertEquals(data[off + j], buf.get(j));
+                }
+            }
+        }
+        finally {
+            U.delete(file);
+        }
+    }
+}
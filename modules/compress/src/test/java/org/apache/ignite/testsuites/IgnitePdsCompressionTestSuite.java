@@ -21,7 +21,9 @@ import java.util.List;
 import org.apache.ignite.internal.processors.cache.persistence.db.wal.HistoricalRebalanceWithWalPageCompressionTest;
 import org.apache.ignite.internal.processors.cache.persistence.db.wal.IgnitePdsCheckpointSimulationWithRealCpDisabledAndWalCompressionTest;
 import org.apache.ignite.internal.processors.cache.persistence.db.wal.WalCompactionAndPageCompressionTest;
+import org.apache.ignite.internal.processors.cache.persistence.db.wal.WalCompactionWithChunkCompressionTest;
 import org.apache.ignite.internal.processors.cache.persistence.db.wal.WalRecoveryWithPageCompressionTest;
+import org.apache.ignite.internal.processors.compress.ChunkCompressedFileIOTest;
 import org.apache.ignite.internal.processors.compress.WalPageCompressionIntegrationTest;
 import org.apache.ignite.testframework.junits.DynamicSuite;
 import org.junit.runner.RunWith;
@@ -46,6 +48,10 @@ public class IgnitePdsCompressionTestSuite {
         suite.add(IgnitePdsCheckpointSimulationWithRealCpDisabledAndWalCompressionTest.class);
         suite.add(HistoricalRebalanceWithWalPageCompressionTest.class);
 
+        // WAL compaction with chunk compression.
+        suite.add(ChunkCompressedFileIOTest.class);
+        suite.add(WalCompactionWithChunkCompressionTest.class);
+
         enableCompressionByDefault();
         IgnitePdsTestSuite.addRealPageStoreTests(suite, null);
 
@@ -945,6 +945,14 @@ public final class IgniteSystemProperties {
      */
     public static final String IGNITE_LOADED_PAGES_BACKWARD_SHIFT_MAP = "IGNITE_LOADED_PAGES_BACKWARD_SHIFT_MAP";
 
+    /**
+     * When set to {@code true}, pages already loaded to durable page memory are looked up and pinned without taking
+     * the page memory segment lock. The lookup is validated against concurrent segment modifications and falls
+     * back to the locked path on a miss or a race with page replacement.
+     * Default is {@code true}.
+     */
+    public static final String IGNITE_PAGE_MEMORY_OPTIMISTIC_LOOKUP = "IGNITE_PAGE_MEMORY_OPTIMISTIC_LOOKUP";
+
     /**
      * Property for setup percentage of archive size for checkpoint trigger. Default value is 0.25
      */
@@ -983,6 +991,15 @@ public final class IgniteSystemProperties {
      */
     public static final String IGNITE_BPLUS_TREE_LOCK_RETRIES = "IGNITE_BPLUS_TREE_LOCK_RETRIES";
 
+    /**
+     * If {@code true}, lookups in the B+Tree read inner pages without page locks: a page is copied and the copy is
+     * validated against the page write stamp, the page is read under the read lock only if it was modified
+     * concurrently.
+     *
+     * Default is {@code false}.
+     */
+    public static final String IGNITE_BPLUS_TREE_OPTIMISTIC_READS = "IGNITE_BPLUS_TREE_OPTIMISTIC_READS";
+
     /**
      * Amount of memory reserved in the heap at node start, which can be dropped to increase the chances of success when
      * handling OutOfMemoryError.
@@ -1005,6 +1022,44 @@ public final class IgniteSystemProperties {
      */
     public static final String IGNITE_DISABLE_WAL_DURING_REBALANCING = "IGNITE_DISABLE_WAL_DURING_REBALANCING";
 
+    /**
+     * When set to {@code true}, partitions of persistent cache groups without SQL indexes which are fully rebalanced
+     * with WAL disabled (see {@link #IGNITE_DISABLE_WAL_DURING_REBALANCING}) are transferred as partition files
+     * instead of entries, the updates made after the files were copied are rebalanced from the WAL of the supplier.
+     * Index partitions are not transferred, so cache groups with SQL indexes, encryption or MVCC are always
+     * rebalanced by entries.
+     * <p>
+     * Default is {@code false}.
+     */
+    public static final String IGNITE_FILE_REBALANCE_ENABLED = "IGNITE_FILE_REBALANCE_ENABLED";
+
+    /**
+     * Minimum number of entries in a partition of a cache group without SQL indexes to transfer it as a file when
+     * {@link #IGNITE_FILE_REBALANCE_ENABLED} is set, smaller partitions are rebalanced by entries. Applies to
+     * non-indexed cache groups only, groups with SQL indexes are always rebalanced by entries.
+     * <p>
+     * Default is {@code 100000}.
+     */
+    public static final String IGNITE_FILE_REBALANCE_THRESHOLD = "IGNITE_FILE_REBALANCE_THRESHOLD";
+
+    /**
+     * Number of threads the supplier reads WAL with during historical rebalance. The WAL range is split into chunks
+     * of segments which are read concurrently, the records are still returned in the WAL order.
+     * Value {@code 1} disables parallel reading.
+     * <p>
+     * Default is {@code 4}.
+     */
+    public static final String IGNITE_HISTORICAL_REBALANCE_READ_THREADS = "IGNITE_HISTORICAL_REBALANCE_READ_THREADS";
+
+    /**
+     * When set to {@code true}, partitions of a supply message are applied concurrently by the thread handling the
+     * message and the threads of the rebalance pool, so the parallelism is limited by
+     * {@link IgniteConfiguration#getRebalanceThreadPoolSize()}.
+     * <p>
+     * Default is {@code true}.
+     */
+    public static final String IGNITE_REBALANCE_PARALLEL_APPLY = "IGNITE_REBALANCE_PARALLEL_APPLY";
+
     /**
      * When property is set {@code false} each next exchange will try to compare with previous.
      * If last rebalance is equivalent with new possible one, new rebalance does not trigger.
@@ -1373,6 +1428,31 @@ public final class IgniteSystemProperties {
      */
     public static final String IGNITE_ENABLE_EXTRA_INDEX_REBUILD_LOGGING = "IGNITE_ENABLE_EXTRA_INDEX_REBUILD_LOGGING";
 
+    /**
+     * When set to {@code true}, empty secondary indexes of persistent caches being rebuilt or created are built
+     * bottom-up from index rows sorted externally instead of inserting rows one by one. If the index is modified
+     * concurrently while its rows are collected, the sorted rows are inserted into the index the usual way.
+     * <p>
+     * Default is {@code false}.
+     */
+    public static final String IGNITE_INDEX_BULK_LOAD_ENABLED = "IGNITE_INDEX_BULK_LOAD_ENABLED";
+
+    /**
+     * Fill factor of index pages built bottom-up (see {@link #IGNITE_INDEX_BULK_LOAD_ENABLED}), a value from
+     * {@code (0, 1]} range. Lower values leave room for subsequent inserts without page splits.
+     * <p>
+     * Default is {@code 0.9}.
+     */
+    public static final String IGNITE_INDEX_BULK_LOAD_FILL_FACTOR = "IGNITE_INDEX_BULK_LOAD_FILL_FACTOR";
+
+    /**
+     * Number of index rows sorted in memory before they are spilled to the disk as a sorted run during bottom-up
+     * index build (see {@link #IGNITE_INDEX_BULK_LOAD_ENABLED}).
+     * <p>
+     * Default is {@code 100000}.
+     */
+    public static final String IGNITE_INDEX_BULK_LOAD_RUN_SIZE = "IGNITE_INDEX_BULK_LOAD_RUN_SIZE";
+
     /**
      * When enabled, node will wait until all of its data is backed up before shutting down.
      * Please note that it will completely prevent last node in cluster from shutting down if any caches exist
@@ -1430,6 +1510,30 @@ public final class IgniteSystemProperties {
      */
     public static final String IGNITE_DFLT_ALLOW_EMPTY_SYS_PERMISSIONS = "IGNITE_DFLT_ALLOW_EMPTY_SYS_PERMISSIONS";
 
+    /**
+     * Comma-separated list of persistent cache group (or cache) names whose partition files should be
+     * defragmented on node start, before binary memory restore. Defragmentation is performed only if the
+     * last checkpoint has completed; SQL indexes of defragmented groups are rebuilt afterwards.
+     */
+    public static final String IGNITE_PDS_DEFRAGMENTATION_CACHE_GROUPS = "IGNITE_PDS_DEFRAGMENTATION_CACHE_GROUPS";
+
+    /**
+     * Number of partition file pages read ahead with a single sequential read when a persistent partition is
+     * scanned in the data page order (see {@link org.apache.ignite.cache.query.Query#setDataPageScanEnabled(Boolean)}).
+     * Value {@code 0} disables read-ahead.
+     * <p>
+     * Default is {@code 32}.
+     */
+    public static final String IGNITE_DATA_PAGE_SCAN_READ_AHEAD_PAGES = "IGNITE_DATA_PAGE_SCAN_READ_AHEAD_PAGES";
+
+    /**
+     * Maximum number of pages with contiguous indexes of a partition which a checkpoint thread writes with a single
+     * (gathering) write call. Value {@code 1} or less disables coalescing of checkpoint page writes.
+     * <p>
+     * Default is {@code 32}.
+     */
+    public static final String IGNITE_CHECKPOINT_WRITE_BATCH_PAGES = "IGNITE_CHECKPOINT_WRITE_BATCH_PAGES";
+
     /**
      * Enforces singleton.
      */
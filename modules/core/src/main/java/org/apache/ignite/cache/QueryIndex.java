@@ -16,8 +16,10 @@
 package org.apache.ignite.cache;
 
 import java.io.Serializable;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.LinkedHashMap;
 import java.util.Objects;
 
@@ -55,6 +57,10 @@ public class QueryIndex implements Serializable {
     /** */
     private int inlineSize = DFLT_INLINE_SIZE;
 
+    /** Fields stored in the index pages in addition to the indexed fields. */
+    @GridToStringInclude
+    private Collection<String> includedFields;
+
     /**
      * Creates an empty index. Should be populated via setters.
      */
@@ -295,6 +301,33 @@ public class QueryIndex implements Serializable {
         return this;
     }
 
+    /**
+     * Gets fields which values are stored in the index in addition to the indexed fields. Included fields do not
+     * affect the index order, but queries that read only indexed and included fields of the rows are answered
+     * from the index without reading the rows themselves.
+     * <p>
+     * Supported for {@link QueryIndexType#SORTED sorted} indexes only. Values of variable length types are stored
+     * partially if they are too long, such rows are read from the data pages.
+     *
+     * @return Included fields.
+     */
+    public Collection<String> getIncludedFields() {
+        return includedFields != null ? includedFields : Collections.emptyList();
+    }
+
+    /**
+     * Sets fields which values are stored in the index in addition to the indexed fields.
+     * See {@link #getIncludedFields()} for details.
+     *
+     * @param includedFields Included fields.
+     * @return {@code this} for chaining.
+     */
+    public QueryIndex setIncludedFields(Collection<String> includedFields) {
+        this.includedFields = F.isEmpty(includedFields) ? null : new ArrayList<>(includedFields);
+
+        return this;
+    }
+
     /** {@inheritDoc} */
     @Override public boolean equals(Object o) {
         if (this == o)
@@ -308,12 +341,13 @@ public class QueryIndex implements Serializable {
         return inlineSize == index.inlineSize &&
             F.eq(name, index.name) &&
             F.eq(fields, index.fields) &&
+            F.eq(includedFields, index.includedFields) &&
             type == index.type;
     }
 
     /** {@inheritDoc} */
     @Override public int hashCode() {
-        return Objects.hash(name, fields, type, inlineSize);
+        return Objects.hash(name, fields, type, inlineSize, includedFields);
     }
 
     /** {@inheritDoc} */
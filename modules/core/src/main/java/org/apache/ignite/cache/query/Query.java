@@ -55,6 +55,9 @@ public abstract class Query<R> implements Serializable {
     /** Local flag. */
     private boolean loc;
 
+    /** Data page scan flag, {@code null} means the default behavior. */
+    private Boolean dataPageScanEnabled;
+
     /**
      * Empty constructor.
      */
@@ -107,6 +110,37 @@ public abstract class Query<R> implements Serializable {
         return this;
     }
 
+    /**
+     * Sets data page scan enabled or disabled.
+     * <p>
+     * Data page scan reads partitions of persistent caches in the physical order of their data pages instead
+     * of the primary key order, which turns random page reads of a cold scan into sequential reads of the
+     * partition file (see {@link org.apache.ignite.IgniteSystemProperties#IGNITE_DATA_PAGE_SCAN_READ_AHEAD_PAGES}).
+     * Entries are not returned in the key order and, unless MVCC is enabled, an entry updated concurrently
+     * may be returned more than once or be missed.
+     * <p>
+     * Makes sense only for caches with enabled persistence, ignored otherwise.
+     *
+     * @param dataPageScanEnabled {@code true} to enable data page scan, {@code false} to disable it,
+     *      {@code null} to use the default behavior (disabled).
+     * @return {@code this} for chaining.
+     */
+    public Query<R> setDataPageScanEnabled(Boolean dataPageScanEnabled) {
+        this.dataPageScanEnabled = dataPageScanEnabled;
+
+        return this;
+    }
+
+    /**
+     * Checks if data page scan is enabled.
+     *
+     * @return {@code true} If data page scan is enabled, {@code false} if disabled,
+     *      {@code null} if the default behavior is used.
+     */
+    public Boolean isDataPageScanEnabled() {
+        return dataPageScanEnabled;
+    }
+
     /**
      * Prepares the partitions.
      *
@@ -127,6 +127,11 @@ public final class ScanQuery<K, V> extends Query<Cache.Entry<K, V>> {
         return (ScanQuery<K, V>)super.setLocal(loc);
     }
 
+    /** {@inheritDoc} */
+    @Override public ScanQuery<K, V> setDataPageScanEnabled(Boolean dataPageScanEnabled) {
+        return (ScanQuery<K, V>)super.setDataPageScanEnabled(dataPageScanEnabled);
+    }
+
     /** {@inheritDoc} */
     @Override public String toString() {
         return S.toString(ScanQuery.class, this);
@@ -117,6 +117,8 @@ public class SqlFieldsQuery extends Query<List<?>> {
         schema = qry.schema;
         updateBatchSize = qry.updateBatchSize;
         qryInitiatorId = qry.qryInitiatorId;
+
+        setDataPageScanEnabled(qry.isDataPageScanEnabled());
     }
 
     /**
@@ -288,6 +290,11 @@ public class SqlFieldsQuery extends Query<List<?>> {
         return (SqlFieldsQuery)super.setLocal(loc);
     }
 
+    /** {@inheritDoc} */
+    @Override public SqlFieldsQuery setDataPageScanEnabled(Boolean dataPageScanEnabled) {
+        return (SqlFieldsQuery)super.setDataPageScanEnabled(dataPageScanEnabled);
+    }
+
     /**
      * Specify if the query contains only replicated tables.
      * This is a hint for potentially more effective execution.
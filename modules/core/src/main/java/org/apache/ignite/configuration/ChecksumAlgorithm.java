@@ -0,0 +1,50 @@
+/*
+ * Copyright 2019 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.apache.ignite.configuration;
+
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Checksum algorithm of page store pages and WAL records. The algorithm is recorded in the header of every page store
+ * file and WAL segment, so files written with another algorithm are still read correctly.
+ *
+ * @see DataStorageConfiguration#setChecksumAlgorithm
+ */
+public enum ChecksumAlgorithm {
+    /** CRC-32, the only algorithm supported by previous versions. */
+    CRC32,
+
+    /**
+     * CRC-32C (Castagnoli). Computed with {@code java.util.zip.CRC32C}, which uses hardware instructions, on Java 9
+     * and later, and with a slower pure Java implementation on Java 8.
+     */
+    CRC32C;
+
+    /** Enumerated values. */
+    private static final ChecksumAlgorithm[] VALS = values();
+
+    /**
+     * Efficiently gets enumerated value from its ordinal.
+     *
+     * @param ord Ordinal value.
+     * @return Enumerated value or {@code null} if ordinal out of range.
+     */
+    @Nullable public static ChecksumAlgorithm fromOrdinal(int ord) {
+        return ord >= 0 && ord < VALS.length ? VALS[ord] : null;
+    }
+}
@@ -50,7 +50,24 @@ public enum DataPageEvictionMode {
      * minimums of other pages that might be evicted. LRU-2 outperforms LRU by resolving "one-hit wonder" problem -
      * if a data page is accessed rarely, but accidentally accessed once, it's protected from eviction for a long time.
      */
-    RANDOM_2_LRU;
+    RANDOM_2_LRU,
+
+    /**
+     * W-TinyLFU algorithm: frequency-aware and scan-resistant.
+     * <ul>
+     * <li>Access frequency of every data page is estimated by a count-min sketch, an off-heap array of small saturating
+     * counters taking about one byte per page. The counters are halved periodically, so the frequency reflects recent
+     * usage.</li>
+     * <li>A data page accessed for the first time enters a small admission window (1% of the data region pages).
+     * Other pages form the main space.</li>
+     * <li>When it's required to evict some pages, the oldest page of the window is compared with the least
+     * frequently used page of a random sample from the main space, and the page with the lower frequency is
+     * evicted.</li>
+     * </ul>
+     * Unlike Random-LRU, a full scan of a cache does not evict pages of hot entries: the scanned pages are accessed
+     * once and lose the competition to frequently used pages.
+     */
+    W_TINY_LFU;
 
     /** Enumerated values. */
     private static final DataPageEvictionMode[] VALS = values();
@@ -18,6 +18,7 @@ package org.apache.ignite.configuration;
 import java.io.Serializable;
 import org.apache.ignite.DataRegionMetrics;
 import org.apache.ignite.internal.mem.IgniteOutOfMemoryException;
+import org.apache.ignite.internal.processors.cache.persistence.file.FileIOFactory;
 import org.apache.ignite.internal.util.typedef.internal.S;
 import org.apache.ignite.mxbean.DataRegionMetricsMXBean;
 
@@ -77,6 +78,9 @@ public final class DataRegionConfiguration implements Serializable {
     /** Default length of interval over which {@link DataRegionMetrics#getAllocationRate()} metric is calculated. */
     public static final int DFLT_RATE_TIME_INTERVAL_MILLIS = 60_000;
 
+    /** Default page replacement mode. */
+    public static final PageReplacementMode DFLT_PAGE_REPLACEMENT_MODE = PageReplacementMode.RANDOM_LRU;
+
     /** Data region name. */
     private String name = DFLT_DATA_REG_DEFAULT_NAME;
 
@@ -93,6 +97,15 @@ public final class DataRegionConfiguration implements Serializable {
     /** An algorithm for memory pages eviction. */
     private DataPageEvictionMode pageEvictionMode = DataPageEvictionMode.DISABLED;
 
+    /** An algorithm for page replacement in persistent data regions. */
+    private PageReplacementMode pageReplacementMode = DFLT_PAGE_REPLACEMENT_MODE;
+
+    /** Page memory warm-up configuration, {@code null} if warm-up is disabled. */
+    private WarmUpConfiguration warmUpCfg;
+
+    /** Factory to provide I/O interface for partition files, {@code null} to use the data storage one. */
+    private FileIOFactory fileIOFactory;
+
     /**
      * A threshold for memory pages eviction initiation. For instance, if the threshold is 0.9 it means that the page
      * memory will start the eviction only after 90% data region is occupied.
@@ -255,6 +268,75 @@ public final class DataRegionConfiguration implements Serializable {
         return this;
     }
 
+    /**
+     * Gets page replacement mode. Page replacement happens only in persistent data regions, when the region is full
+     * and a page that is not loaded to memory is requested.
+     *
+     * @return Page replacement algorithm. {@link PageReplacementMode#RANDOM_LRU} used by default.
+     */
+    public PageReplacementMode getPageReplacementMode() {
+        return pageReplacementMode;
+    }
+
+    /**
+     * Sets page replacement mode.
+     *
+     * @param replacementMode Page replacement mode.
+     * @return {@code this} for chaining.
+     */
+    public DataRegionConfiguration setPageReplacementMode(PageReplacementMode replacementMode) {
+        pageReplacementMode = replacementMode;
+
+        return this;
+    }
+
+    /**
+     * Gets page memory warm-up configuration. Warm-up loads pages into a persistent data region in the background
+     * on node start, so that the first operations after a restart do not have to read every page from disk.
+     *
+     * @return Warm-up configuration or {@code null} if warm-up is disabled (default).
+     */
+    public WarmUpConfiguration getWarmUpConfiguration() {
+        return warmUpCfg;
+    }
+
+    /**
+     * Sets page memory warm-up configuration. Makes sense only for data regions with enabled persistence.
+     *
+     * @param warmUpCfg Warm-up configuration or {@code null} to disable warm-up.
+     * @return {@code this} for chaining.
+     */
+    public DataRegionConfiguration setWarmUpConfiguration(WarmUpConfiguration warmUpCfg) {
+        this.warmUpCfg = warmUpCfg;
+
+        return this;
+    }
+
+    /**
+     * Gets factory to provide implementation of FileIO interface which is used for partition files of caches
+     * of this data region.
+     *
+     * @return File I/O factory or {@code null} if {@link DataStorageConfiguration#getFileIOFactory()} is used.
+     */
+    public FileIOFactory getFileIOFactory() {
+        return fileIOFactory;
+    }
+
+    /**
+     * Sets factory to provide implementation of FileIO interface which is used for partition files of caches
+     * of this data region. Makes sense only for data regions with enabled persistence. For example,
+     * {@link org.apache.ignite.internal.processors.cache.persistence.file.MappedFileIOFactory} suits regions
+     * with read-mostly data.
+     *
+     * @param fileIOFactory File I/O factory or {@code null} to use {@link DataStorageConfiguration#getFileIOFactory()}.
+     * @return {@code this} for chaining.
+     */
+    public DataRegionConfiguration setFileIOFactory(FileIOFactory fileIOFactory) {
+        this.fileIOFactory = fileIOFactory;
+
+        return this;
+    }
+
     /**
      * Gets a threshold for memory pages eviction initiation. For instance, if the threshold is 0.9 it means that the
      * page memory will start the eviction only after 90% of the data region is occupied.
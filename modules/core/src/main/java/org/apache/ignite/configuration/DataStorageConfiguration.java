@@ -118,6 +118,9 @@ public class DataStorageConfiguration implements Serializable {
     /** Default number of checkpoint threads. */
     public static final int DFLT_CHECKPOINT_THREADS = 4;
 
+    /** Default number of checkpoint sync threads, {@code 0} means the number of checkpoint threads. */
+    public static final int DFLT_CHECKPOINT_SYNC_THREADS = 0;
+
     /** Default checkpoint write order. */
     public static final CheckpointWriteOrder DFLT_CHECKPOINT_WRITE_ORDER = CheckpointWriteOrder.SEQUENTIAL;
 
@@ -175,9 +178,27 @@ public class DataStorageConfiguration implements Serializable {
     /** Default wal compaction level. */
     public static final int DFLT_WAL_COMPACTION_LEVEL = Deflater.BEST_SPEED;
 
+    /** Default compression algorithm of WAL compaction, ZIP is used if compression is disabled. */
+    public static final DiskPageCompression DFLT_WAL_COMPACTION_COMPRESSION = DiskPageCompression.DISABLED;
+
+    /** Default number of WAL compaction threads, {@code 0} means that the number is calculated automatically. */
+    public static final int DFLT_WAL_COMPACTION_THREADS = 0;
+
+    /** Default WAL delta updates enabled flag. */
+    public static final boolean DFLT_WAL_DELTA_UPDATES_ENABLED = false;
+
+    /** Default relative path of the snapshots directory. */
+    public static final String DFLT_SNAPSHOT_PATH = "snapshots";
+
+    /** Default snapshot copy rate, {@code 0} means that the rate is not limited. */
+    public static final long DFLT_SNAPSHOT_COPY_RATE = 0;
+
     /** Default compression algorithm for WAL page snapshot records. */
     public static final DiskPageCompression DFLT_WAL_PAGE_COMPRESSION = DiskPageCompression.DISABLED;
 
+    /** Default checksum algorithm of pages and WAL records. */
+    public static final ChecksumAlgorithm DFLT_CHECKSUM_ALGORITHM = ChecksumAlgorithm.CRC32;
+
     /** Initial size of a memory chunk reserved for system cache. */
     private long sysRegionInitSize = DFLT_SYS_REG_INIT_SIZE;
 
@@ -210,6 +231,9 @@ public class DataStorageConfiguration implements Serializable {
     /** */
     private int checkpointThreads = DFLT_CHECKPOINT_THREADS;
 
+    /** Number of threads syncing partition files at the end of a checkpoint. */
+    private int checkpointSyncThreads = DFLT_CHECKPOINT_SYNC_THREADS;
+
     /** Checkpoint write order. */
     private CheckpointWriteOrder checkpointWriteOrder = DFLT_CHECKPOINT_WRITE_ORDER;
 
@@ -231,6 +255,9 @@ public class DataStorageConfiguration implements Serializable {
     /** WAL archive path. */
     private String walArchivePath = DFLT_WAL_ARCHIVE_PATH;
 
+    /** Additional directories to distribute WAL work segments to. */
+    private String[] walStripePaths;
+
     /** Metrics enabled flag. */
     private boolean metricsEnabled = DFLT_METRICS_ENABLED;
 
@@ -298,6 +325,24 @@ public class DataStorageConfiguration implements Serializable {
      */
     private int walCompactionLevel = DFLT_WAL_COMPACTION_LEVEL;
 
+    /** Compression algorithm of WAL compaction. */
+    private DiskPageCompression walCompactionCompression = DFLT_WAL_COMPACTION_COMPRESSION;
+
+    /** Compression level of WAL compaction for {@link #walCompactionCompression}. */
+    private Integer walCompactionCompressionLevel;
+
+    /** Number of WAL compaction threads. */
+    private int walCompactionThreads = DFLT_WAL_COMPACTION_THREADS;
+
+    /** Flag to log updates of large values as deltas to the previous values. */
+    private boolean walDeltaUpdatesEnabled = DFLT_WAL_DELTA_UPDATES_ENABLED;
+
+    /** Path of the snapshots directory. */
+    private String snapshotPath = DFLT_SNAPSHOT_PATH;
+
+    /** Maximum number of bytes per second copied by a snapshot on a node. */
+    private long snapshotCopyRate = DFLT_SNAPSHOT_COPY_RATE;
+
     /** Timeout for checkpoint read lock acquisition. */
     private Long checkpointReadLockTimeout;
 
@@ -307,6 +352,9 @@ public class DataStorageConfiguration implements Serializable {
     /** Compression level for WAL page snapshot records. */
     private Integer walPageCompressionLevel;
 
+    /** Checksum algorithm of pages and WAL records. */
+    private ChecksumAlgorithm checksumAlgo = DFLT_CHECKSUM_ALGORITHM;
+
     /**
      * Creates valid durable memory configuration with all default values.
      */
@@ -524,6 +572,33 @@ public class DataStorageConfiguration implements Serializable {
         return this;
     }
 
+    /**
+     * Gets a number of threads which sync (fsync) updated partition files in parallel at the end of a checkpoint.
+     *
+     * @return Number of checkpoint sync threads, {@code 0} means {@link #getCheckpointThreads()}.
+     */
+    public int getCheckpointSyncThreads() {
+        return checkpointSyncThreads;
+    }
+
+    /**
+     * Sets a number of threads which sync (fsync) updated partition files in parallel at the end of a checkpoint.
+     * Storage devices with deep command queues (for example, NVMe arrays) complete concurrent syncs of many
+     * partition files faster, so the value may exceed the number of checkpoint threads. The checkpoint thread pool
+     * is sized to the greater of the two values.
+     *
+     * @param checkpointSyncThreads Number of checkpoint sync threads. Default value is {@code 0} which means that
+     *      the number of checkpoint threads is used.
+     * @return {@code this} for chaining.
+     */
+    public DataStorageConfiguration setCheckpointSyncThreads(int checkpointSyncThreads) {
+        A.ensure(checkpointSyncThreads >= 0, "Number of checkpoint sync threads can not be negative.");
+
+        this.checkpointSyncThreads = checkpointSyncThreads;
+
+        return this;
+    }
+
     /**
      * Timeout in milliseconds to wait when acquiring persistence store lock file before failing the local node.
      *
@@ -706,6 +781,33 @@ public class DataStorageConfiguration implements Serializable {
         return this;
     }
 
+    /**
+     * Gets paths to additional directories WAL work segments are distributed to.
+     *
+     * @return WAL stripe paths or {@code null} if all the segments are stored in {@link #getWalPath()}.
+     */
+    public String[] getWalStripePaths() {
+        return walStripePaths;
+    }
+
+    /**
+     * Sets paths to additional directories WAL work segments are distributed to. The setting distributes segment
+     * files across directories: whole segment files are placed to {@link #getWalPath()} and these directories in
+     * round-robin, a single segment is never split between directories. So writing of the current segment still
+     * goes to one device, while copying of the previous segment to the archive and preparing of the next segments
+     * go to the other ones. Each path should point to a separate local disk. Relative paths are resolved relatively
+     * to Ignite work directory. Requires the WAL archive to be {@link #setWalArchivePath(String) located} separately
+     * from {@link #getWalPath()}. Existing segments are moved to their directories on start if the paths change.
+     *
+     * @param walStripePaths WAL stripe paths.
+     * @return {@code this} for chaining.
+     */
+    public DataStorageConfiguration setWalStripePaths(String... walStripePaths) {
+        this.walStripePaths = walStripePaths;
+
+        return this;
+    }
+
     /**
      * Gets flag indicating whether persistence metrics collection is enabled.
      * Default value is {@link #DFLT_METRICS_ENABLED}.
@@ -1043,6 +1145,147 @@ public class DataStorageConfiguration implements Serializable {
         this.walCompactionLevel = walCompactionLevel;
     }
 
+    /**
+     * Gets compression algorithm of WAL compaction.
+     *
+     * @return Compression algorithm, {@link DiskPageCompression#DISABLED} means that segments are compressed with ZIP.
+     */
+    public DiskPageCompression getWalCompactionCompression() {
+        return walCompactionCompression == null ? DFLT_WAL_COMPACTION_COMPRESSION : walCompactionCompression;
+    }
+
+    /**
+     * Sets compression algorithm of WAL compaction. {@link DiskPageCompression#LZ4 LZ4} and
+     * {@link DiskPageCompression#ZSTD Zstd} are supported and require {@code ignite-compress} module in classpath.
+     * Segments are compressed by independent chunks, so compacted segments are read without decompressing them to
+     * temporary files. By default segments are compressed with ZIP at {@link #getWalCompactionLevel() level}.
+     * Segments compressed by any of the algorithms remain readable when the algorithm is changed.
+     *
+     * @param walCompactionCompression Compression algorithm.
+     * @return {@code this} for chaining.
+     */
+    public DataStorageConfiguration setWalCompactionCompression(DiskPageCompression walCompactionCompression) {
+        this.walCompactionCompression = walCompactionCompression;
+
+        return this;
+    }
+
+    /**
+     * Gets {@link #getWalCompactionCompression algorithm} specific WAL compaction level.
+     *
+     * @return WAL compaction level or {@code null} for default.
+     */
+    public Integer getWalCompactionCompressionLevel() {
+        return walCompactionCompressionLevel;
+    }
+
+    /**
+     * Sets {@link #setWalCompactionCompression algorithm} specific WAL compaction level.
+     *
+     * @param walCompactionCompressionLevel Compression level or {@code null} to use default.
+     *      {@link DiskPageCompression#ZSTD Zstd}: from {@code -131072} to {@code 22} (default {@code 3}).
+     *      {@link DiskPageCompression#LZ4 LZ4}: from {@code 0} to {@code 17} (default {@code 0}).
+     * @return {@code this} for chaining.
+     */
+    public DataStorageConfiguration setWalCompactionCompressionLevel(Integer walCompactionCompressionLevel) {
+        this.walCompactionCompressionLevel = walCompactionCompressionLevel;
+
+        return this;
+    }
+
+    /**
+     * Gets number of threads compressing WAL archive segments in parallel.
+     *
+     * @return Number of WAL compaction threads, {@code 0} means that the number is calculated automatically.
+     */
+    public int getWalCompactionThreads() {
+        return walCompactionThreads;
+    }
+
+    /**
+     * Sets number of threads compressing WAL archive segments in parallel. Increase it if compaction falls behind
+     * archiving under heavy write load.
+     *
+     * @param walCompactionThreads Number of WAL compaction threads. Default value is {@code 0} which means that
+     *      the number is a quarter of available processors, but not more than
+     *      {@link IgniteSystemProperties#IGNITE_WAL_COMPRESSOR_WORKER_THREAD_CNT}.
+     * @return {@code this} for chaining.
+     */
+    public DataStorageConfiguration setWalCompactionThreads(int walCompactionThreads) {
+        A.ensure(walCompactionThreads >= 0, "Number of WAL compaction threads can not be negative.");
+
+        this.walCompactionThreads = walCompactionThreads;
+
+        return this;
+    }
+
+    /**
+     * @return Flag indicating whether updates of large values are logged to WAL as deltas.
+     */
+    public boolean isWalDeltaUpdatesEnabled() {
+        return walDeltaUpdatesEnabled;
+    }
+
+    /**
+     * Sets flag indicating whether an update of a large value is logged to WAL as the changed byte ranges of the
+     * value instead of the whole value, when the previous value was written after the start of the last
+     * checkpoint, so recovery replays it before the delta. Such records make WAL smaller for updates touching a few
+     * fields of a large binary object, but recovery has to read the previous value to apply them. Historical
+     * rebalance sends the value currently stored for the key of a delta, or skips the delta if the key was updated
+     * since.
+     *
+     * @param walDeltaUpdatesEnabled WAL delta updates enabled flag.
+     * @return {@code this} for chaining.
+     */
+    public DataStorageConfiguration setWalDeltaUpdatesEnabled(boolean walDeltaUpdatesEnabled) {
+        this.walDeltaUpdatesEnabled = walDeltaUpdatesEnabled;
+
+        return this;
+    }
+
+    /**
+     * @return Path of the snapshots directory.
+     */
+    public String getSnapshotPath() {
+        return snapshotPath;
+    }
+
+    /**
+     * Sets path of the directory where cluster snapshots are stored. A relative path is resolved against
+     * the Ignite work directory.
+     *
+     * @param snapshotPath Path of the snapshots directory.
+     * @return {@code this} for chaining.
+     */
+    public DataStorageConfiguration setSnapshotPath(String snapshotPath) {
+        this.snapshotPath = snapshotPath;
+
+        return this;
+    }
+
+    /**
+     * @return Maximum number of bytes per second copied by a snapshot on a node.
+     */
+    public long getSnapshotCopyRate() {
+        return snapshotCopyRate;
+    }
+
+    /**
+     * Sets maximum number of bytes per second a node copies from partition files while it creates a snapshot,
+     * so that the copy does not saturate the disk used by checkpoints and page replacement. {@code 0} means that
+     * the rate is not limited.
+     *
+     * @param snapshotCopyRate Snapshot copy rate in bytes per second.
+     * @return {@code this} for chaining.
+     */
+    public DataStorageConfiguration setSnapshotCopyRate(long snapshotCopyRate) {
+        A.ensure(snapshotCopyRate >= 0, "Snapshot copy rate can not be negative.");
+
+        this.snapshotCopyRate = snapshotCopyRate;
+
+        return this;
+    }
+
     /**
      * Returns timeout for checkpoint read lock acquisition.
      *
@@ -1111,6 +1354,29 @@ public class DataStorageConfiguration implements Serializable {
         return this;
     }
 
+    /**
+     * Gets checksum algorithm of pages in page store files and of WAL records.
+     *
+     * @return Checksum algorithm.
+     */
+    public ChecksumAlgorithm getChecksumAlgorithm() {
+        return checksumAlgo == null ? DFLT_CHECKSUM_ALGORITHM : checksumAlgo;
+    }
+
+    /**
+     * Sets checksum algorithm of pages in page store files and of WAL records. The algorithm is applied to new page
+     * store files and new WAL segments, existing files are read and updated with the algorithm recorded in their
+     * headers. Note that files written with {@link ChecksumAlgorithm#CRC32C} can not be read by previous versions.
+     *
+     * @param checksumAlgo Checksum algorithm.
+     * @return {@code this} for chaining.
+     */
+    public DataStorageConfiguration setChecksumAlgorithm(ChecksumAlgorithm checksumAlgo) {
+        this.checksumAlgo = checksumAlgo;
+
+        return this;
+    }
+
     /** {@inheritDoc} */
     @Override public String toString() {
         return S.toString(DataStorageConfiguration.class, this);
@@ -0,0 +1,59 @@
+/*
+ * Copyright 2019 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.configuration;
+
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Defines page replacement algorithm. A mode is set for a specific persistent {@link DataRegionConfiguration}.
+ * Page replacement starts when the data region is full and a page that is not loaded to memory is requested: one of
+ * the loaded pages is written to disk (if it is dirty) and its slot is reused for the requested page.
+ */
+public enum PageReplacementMode {
+    /**
+     * Random-LRU algorithm.
+     * <p>
+     * Every time a page is accessed, its timestamp gets updated in the page header. When a page should be replaced,
+     * the algorithm picks 5 random loaded pages and replaces the one with the oldest timestamp. The algorithm has
+     * no additional memory overhead, but it is not scan-resistant: pages touched once by a full scan look as hot
+     * as frequently used ones.
+     */
+    RANDOM_LRU,
+
+    /**
+     * CLOCK algorithm.
+     * <p>
+     * Loaded pages are arranged in a circle and a clock hand walks over them. Every page header has a reference bit,
+     * that is set when the page is accessed. The hand clears the bit of a referenced page, giving it a second chance,
+     * and replaces the first page whose bit was already cleared. Compared to Random-LRU it keeps the working set
+     * that is accessed at least once per clock revolution, and does not need to sample pages at random.
+     */
+    CLOCK;
+
+    /** Enumerated values. */
+    private static final PageReplacementMode[] VALS = values();
+
+    /**
+     * Efficiently gets enumerated value from its ordinal.
+     *
+     * @param ord Ordinal value.
+     * @return Enumerated value or {@code null} if ordinal out of range.
+     */
+    @Nullable public static PageReplacementMode fromOrdinal(int ord) {
+        return ord >= 0 && ord < VALS.length ? VALS[ord] : null;
+    }
+}
@@ -0,0 +1,148 @@
+/*
+ * Copyright 2019 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.configuration;
+
+import java.io.Serializable;
+import org.apache.ignite.internal.util.typedef.internal.S;
+
+/**
+ * Configuration of page memory warm-up of a persistent data region.
+ * <p>
+ * After a restart page memory is empty and every first access of a page is a synchronous disk read. Warm-up
+ * loads pages into the data region in the background right after the node restores its state, so that the
+ * first operations find them in memory. Pages are loaded in the file order and at a limited rate, the rate
+ * is reduced while a checkpoint writes pages. Warm-up stops when the data region is almost full, so that
+ * it never causes page replacement.
+ * <p>
+ * Progress of warm-up is exposed by {@code WarmUpPagesTotal}, {@code WarmUpPagesLoaded} and
+ * {@code WarmUpInProgress} metrics of the data region.
+ *
+ * @see DataRegionConfiguration#setWarmUpConfiguration(WarmUpConfiguration)
+ */
+public class WarmUpConfiguration implements Serializable {
+    /** */
+    private static final long serialVersionUID = 0L;
+
+    /** Default warm-up mode. */
+    public static final WarmUpMode DFLT_WARM_UP_MODE = WarmUpMode.HOT_PAGES;
+
+    /** Default frequency of hot pages dump in milliseconds. */
+    public static final long DFLT_HOT_PAGES_DUMP_FREQUENCY = 5 * 60 * 1000L;
+
+    /** Default limit of pages loaded per second. */
+    public static final int DFLT_PAGES_PER_SECOND = 25_000;
+
+    /** Warm-up mode. */
+    private WarmUpMode mode = DFLT_WARM_UP_MODE;
+
+    /** Frequency of hot pages dump in milliseconds. */
+    private long hotPagesDumpFreq = DFLT_HOT_PAGES_DUMP_FREQUENCY;
+
+    /** Limit of pages loaded per second. */
+    private int pagesPerSecond = DFLT_PAGES_PER_SECOND;
+
+    /**
+     * Creates warm-up configuration with all default values.
+     */
+    public WarmUpConfiguration() {
+        // No-op.
+    }
+
+    /**
+     * Creates warm-up configuration by copying all properties from given configuration.
+     *
+     * @param cfg Configuration to copy.
+     */
+    public WarmUpConfiguration(WarmUpConfiguration cfg) {
+        assert cfg != null;
+
+        mode = cfg.mode;
+        hotPagesDumpFreq = cfg.hotPagesDumpFreq;
+        pagesPerSecond = cfg.pagesPerSecond;
+    }
+
+    /**
+     * Gets warm-up mode.
+     *
+     * @return Warm-up mode. {@link WarmUpMode#HOT_PAGES} used by default.
+     */
+    public WarmUpMode getMode() {
+        return mode;
+    }
+
+    /**
+     * Sets warm-up mode.
+     *
+     * @param mode Warm-up mode.
+     * @return {@code this} for chaining.
+     */
+    public WarmUpConfiguration setMode(WarmUpMode mode) {
+        this.mode = mode;
+
+        return this;
+    }
+
+    /**
+     * Gets frequency of hot pages dump. IDs of pages loaded into the data region are dumped to disk with this
+     * frequency and on graceful node stop, they are loaded by the next warm-up in {@link WarmUpMode#HOT_PAGES}
+     * mode. Value {@code 0} means that hot pages are dumped only on graceful node stop.
+     *
+     * @return Frequency of hot pages dump in milliseconds.
+     */
+    public long getHotPagesDumpFrequency() {
+        return hotPagesDumpFreq;
+    }
+
+    /**
+     * Sets frequency of hot pages dump.
+     *
+     * @param hotPagesDumpFreq Frequency of hot pages dump in milliseconds, {@code 0} to dump hot pages only on
+     *      graceful node stop.
+     * @return {@code this} for chaining.
+     */
+    public WarmUpConfiguration setHotPagesDumpFrequency(long hotPagesDumpFreq) {
+        this.hotPagesDumpFreq = hotPagesDumpFreq;
+
+        return this;
+    }
+
+    /**
+     * Gets limit of pages loaded by warm-up per second. Value {@code 0} means no limit.
+     *
+     * @return Limit of pages loaded per second.
+     */
+    public int getPagesPerSecond() {
+        return pagesPerSecond;
+    }
+
+    /**
+     * Sets limit of pages loaded by warm-up per second.
+     *
+     * @param pagesPerSecond Limit of pages loaded per second, {@code 0} for no limit.
+     * @return {@code this} for chaining.
+     */
+    public WarmUpConfiguration setPagesPerSecond(int pagesPerSecond) {
+        this.pagesPerSecond = pagesPerSecond;
+
+        return this;
+    }
+
+    /** {@inheritDoc} */
+    @Override public String toString() {
+        return S.toString(WarmUpConfiguration.class, this);
+    }
+}
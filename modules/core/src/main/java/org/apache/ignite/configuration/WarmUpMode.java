@@ -0,0 +1,52 @@
+/*
+ * Copyright 2019 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.configuration;
+
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Defines which pages are loaded into a persistent data region by warm-up on node start.
+ *
+ * @see WarmUpConfiguration
+ */
+public enum WarmUpMode {
+    /**
+     * Loads pages of SQL indexes and cache group metadata stored in index partitions of the cache groups of
+     * the data region.
+     */
+    INDEX_PAGES,
+
+    /**
+     * Loads pages that were in memory when the hot pages of the data region were dumped last time, either
+     * periodically (see {@link WarmUpConfiguration#getHotPagesDumpFrequency()}) or on graceful node stop. Falls back
+     * to {@link #INDEX_PAGES} if there is no dump.
+     */
+    HOT_PAGES;
+
+    /** Enumerated values. */
+    private static final WarmUpMode[] VALS = values();
+
+    /**
+     * Efficiently gets enumerated value from its ordinal.
+     *
+     * @param ord Ordinal value.
+     * @return Enumerated value or {@code null} if ordinal out of range.
+     */
+    @Nullable public static WarmUpMode fromOrdinal(int ord) {
+        return ord >= 0 && ord < VALS.length ? VALS[ord] : null;
+    }
+}
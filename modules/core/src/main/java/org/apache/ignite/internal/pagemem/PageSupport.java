@@ -84,6 +84,29 @@ public interface PageSupport {
      */
     public void readUnlock(int grpId, long pageId, long page);
 
+    /**
+     * Copies the page contents without taking the page lock. Every write unlock of the page changes its write stamp,
+     * so the copy is consistent if the page was not write locked and the stamp did not change while the page was
+     * copied.
+     *
+     * @param grpId Cache group ID.
+     * @param pageId Page ID.
+     * @param page Page pointer.
+     * @param buf Address of a buffer of at least page size bytes to copy the page contents to.
+     * @return Write stamp of the copied page or {@code 0L} if the page is write locked, was recycled or was modified
+     *      concurrently.
+     */
+    public long optimisticCopy(int grpId, long pageId, long page, long buf);
+
+    /**
+     * @param grpId Cache group ID.
+     * @param pageId Page ID.
+     * @param page Page pointer.
+     * @param stamp Write stamp returned by {@link #optimisticCopy(int, long, long, long)}.
+     * @return {@code True} if the page was not modified since the stamp was taken.
+     */
+    public boolean validateStamp(int grpId, long pageId, long page, long stamp);
+
     /**
      *
      * @param grpId Cache group ID.
@@ -62,11 +62,11 @@ import static org.apache.ignite.internal.util.GridUnsafe.wrapPointer;
  * <p/>
  * When page is allocated and is in use:
  * <pre>
- * +--------+--------+--------+--------+---------------------------+
- * |8 bytes |8 bytes |8 bytes |8 bytes |        PAGE_SIZE          |
- * +--------+--------+--------+--------+---------------------------+
- * | Marker |Page ID |Pin CNT |  Lock  |        Page data          |
- * +--------+--------+--------+--------+---------------------------+
+ * +--------+--------+--------+--------+--------+------------------+
+ * |8 bytes |8 bytes |8 bytes |8 bytes |8 bytes |    PAGE_SIZE     |
+ * +--------+--------+--------+--------+--------+------------------+
+ * | Marker |Page ID |Pin CNT |  Lock  | Stamp  |    Page data     |
+ * +--------+--------+--------+--------+--------+------------------+
  * </pre>
  *
  * Note that first 8 bytes of page header are used either for page marker or for next relative pointer depending
@@ -97,11 +97,14 @@ public class PageMemoryNoStoreImpl implements PageMemory {
     /** Page pin counter offset. */
     public static final int LOCK_OFFSET = 16;
 
+    /** Page write stamp offset. */
+    public static final int STAMP_OFFSET = LOCK_OFFSET + OffheapReadWriteLock.LOCK_SIZE;
+
     /**
      * Need a 8-byte pointer for linked list, 8 bytes for internal needs (flags),
      * 4 bytes cache ID, 8 bytes timestamp.
      */
-    public static final int PAGE_OVERHEAD = LOCK_OFFSET + OffheapReadWriteLock.LOCK_SIZE;
+    public static final int PAGE_OVERHEAD = STAMP_OFFSET + 8;
 
     /** Number of bits required to store segment index. */
     private static final int SEG_BITS = 4;
@@ -520,6 +523,34 @@ public class PageMemoryNoStoreImpl implements PageMemory {
         rwLock.readUnlock(page + LOCK_OFFSET);
     }
 
+    /** {@inheritDoc} */
+    @Override public long optimisticCopy(int cacheId, long pageId, long page, long buf) {
+        assert started;
+
+        int tag = PageIdUtils.tag(pageId);
+
+        if (!rwLock.isReadable(page + LOCK_OFFSET, tag))
+            return 0L;
+
+        // The stamp is always odd, so it never equals 0.
+        long stamp = GridUnsafe.getLongVolatile(null, page + STAMP_OFFSET) | 1L;
+
+        GridUnsafe.copyMemory(page + PAGE_OVERHEAD, buf, pageSize());
+
+        return validateStamp(cacheId, pageId, page, stamp) ? stamp : 0L;
+    }
+
+    /** {@inheritDoc} */
+    @Override public boolean validateStamp(int cacheId, long pageId, long page, long stamp) {
+        assert started;
+
+        // Reads of the page contents must not be reordered with the following checks.
+        GridUnsafe.loadFence();
+
+        return rwLock.isReadable(page + LOCK_OFFSET, PageIdUtils.tag(pageId)) &&
+            (GridUnsafe.getLongVolatile(null, page + STAMP_OFFSET) | 1L) == stamp;
+    }
+
     /** {@inheritDoc} */
     @Override public long writeLock(int cacheId, long pageId, long page) {
         assert started;
@@ -552,6 +583,9 @@ public class PageMemoryNoStoreImpl implements PageMemory {
 
         long actualId = PageIO.getPageId(page + PAGE_OVERHEAD);
 
+        // The following lock release publishes the new stamp.
+        GridUnsafe.putLong(page + STAMP_OFFSET, GridUnsafe.getLong(page + STAMP_OFFSET) + 2);
+
         rwLock.writeUnlock(page + LOCK_OFFSET, PageIdUtils.tag(actualId));
     }
 
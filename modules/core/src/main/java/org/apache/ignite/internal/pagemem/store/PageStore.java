@@ -56,6 +56,16 @@ public interface PageStore {
      */
     public void read(long pageId, ByteBuffer pageBuf, boolean keepCrc) throws IgniteCheckedException;
 
+    /**
+     * Reads a contiguous range of pages with a single sequential read, so that the following reads of these
+     * pages are served by the file system cache. The content is not validated and should not be used.
+     *
+     * @param pageId ID of the first page of the range.
+     * @param buf Buffer to read into, its remaining size defines the length of the range.
+     * @throws IgniteCheckedException If reading failed (IO error occurred).
+     */
+    public void readAhead(long pageId, ByteBuffer buf) throws IgniteCheckedException;
+
     /**
      * Reads a header.
      *
@@ -76,6 +86,21 @@ public interface PageStore {
      */
     public void write(long pageId, ByteBuffer pageBuf, int tag, boolean calculateCrc) throws IgniteCheckedException;
 
+    /**
+     * Writes pages with contiguous indexes with a single (gathering, if supported by the file I/O) write.
+     *
+     * @param pageIds Page IDs, page indexes must be contiguous and ascending.
+     * @param pageBufs Page buffers to write.
+     * @param off Offset of the first page within the arrays.
+     * @param len Number of pages to write.
+     * @param tag Partition file version, 1-based incrementing counter. For outdated pages {@code tag} has lower value,
+     * and write does nothing.
+     * @param calculateCrc if {@code False} crc calculation will be forcibly skipped.
+     * @throws IgniteCheckedException If page writing failed (IO error occurred).
+     */
+    public void write(long[] pageIds, ByteBuffer[] pageBufs, int off, int len, int tag, boolean calculateCrc)
+        throws IgniteCheckedException;
+
     /**
      * Gets page offset within the store file.
      *
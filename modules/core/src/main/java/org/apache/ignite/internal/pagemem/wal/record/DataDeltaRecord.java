@@ -0,0 +1,59 @@
+/*
+ * Copyright 2019 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.pagemem.wal.record;
+
+import java.util.List;
+import org.apache.ignite.internal.util.typedef.internal.S;
+import org.apache.ignite.internal.util.typedef.internal.U;
+
+/**
+ * Data record which contains {@link DeltaDataEntry delta entries}. Entries of such record can be applied
+ * only on top of the values they were computed for, so the record is used by logical recovery only.
+ */
+public class DataDeltaRecord extends DataRecord {
+    /** {@inheritDoc} */
+    @Override public RecordType type() {
+        return RecordType.DATA_DELTA_RECORD;
+    }
+
+    /**
+     * @param writeEntry Write entry.
+     */
+    public DataDeltaRecord(DataEntry writeEntry) {
+        super(writeEntry, U.currentTimeMillis());
+    }
+
+    /**
+     * @param writeEntries Write entries.
+     */
+    public DataDeltaRecord(List<DataEntry> writeEntries) {
+        this(writeEntries, U.currentTimeMillis());
+    }
+
+    /**
+     * @param writeEntries Write entries.
+     * @param ts TimeStamp.
+     */
+    public DataDeltaRecord(List<DataEntry> writeEntries, long ts) {
+        super(writeEntries, ts);
+    }
+
+    /** {@inheritDoc} */
+    @Override public String toString() {
+        return S.toString(DataDeltaRecord.class, this, "super", super.toString());
+    }
+}
@@ -0,0 +1,242 @@
+/*
+ * Copyright 2019 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.pagemem.wal.record;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import org.apache.ignite.IgniteCheckedException;
+import org.apache.ignite.internal.processors.cache.GridCacheOperation;
+import org.apache.ignite.internal.processors.cache.KeyCacheObject;
+import org.apache.ignite.internal.processors.cache.persistence.wal.crc.FastCrc;
+import org.apache.ignite.internal.util.tostring.GridToStringExclude;
+import org.apache.ignite.internal.util.tostring.GridToStringInclude;
+import org.apache.ignite.internal.util.typedef.internal.S;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Data entry of an {@link GridCacheOperation#UPDATE} which holds only the changed byte ranges of the new value
+ * instead of the whole value. The new value is restored by applying the delta to the serialized value the entry
+ * had before the update, see {@link #apply(byte[])}.
+ * <p>
+ * The delta is a sequence of {@code [int offset][int length][length bytes]} ranges over the new value bytes.
+ * Length and checksum of the base value are kept to detect that the delta is applied to a wrong base.
+ */
+public class DeltaDataEntry extends DataEntry {
+    /** Values smaller than this are always logged as a whole. */
+    public static final int MIN_VALUE_SIZE = 64;
+
+    /** Size of a range header: offset and length. */
+    public static final int RANGE_HEADER_SIZE = 8;
+
+    /** Entry the key is taken from, may resolve the key lazily. */
+    @GridToStringExclude
+    private final DataEntry keyEntry;
+
+    /** Value type. */
+    @GridToStringInclude
+    private final byte valType;
+
+    /** Length of the base value. */
+    @GridToStringInclude
+    private final int baseLen;
+
+    /** CRC of the base value. */
+    private final int baseCrc;
+
+    /** Length of the new value. */
+    @GridToStringInclude
+    private final int len;
+
+    /** Changed ranges. */
+    @GridToStringExclude
+    private final byte[] delta;
+
+    /**
+     * @param keyEntry Entry holding the key and the entry metadata, its value is ignored.
+     * @param valType Value type.
+     * @param baseLen Length of the base value.
+     * @param baseCrc CRC of the base value.
+     * @param len Length of the new value.
+     * @param delta Changed ranges.
+     */
+    public DeltaDataEntry(DataEntry keyEntry, byte valType, int baseLen, int baseCrc, int len, byte[] delta) {
+        super(keyEntry.cacheId(), keyEntry.key, null, keyEntry.op(), keyEntry.nearXidVersion(),
+            keyEntry.writeVersion(), keyEntry.expireTime(), keyEntry.partitionId(), keyEntry.partitionCounter());
+
+        assert op == GridCacheOperation.UPDATE : op;
+
+        this.keyEntry = keyEntry;
+        this.valType = valType;
+        this.baseLen = baseLen;
+        this.baseCrc = baseCrc;
+        this.len = len;
+        this.delta = delta;
+    }
+
+    /**
+     * Creates a delta entry if the delta is noticeably smaller than the new value.
+     *
+     * @param keyEntry Entry holding the key and the entry metadata.
+     * @param valType Value type.
+     * @param base Serialized value before the update.
+     * @param upd Serialized value after the update.
+     * @return Delta entry or {@code null} if the whole value should be logged.
+     */
+    @Nullable public static DeltaDataEntry create(DataEntry keyEntry, byte valType, byte[] base, byte[] upd) {
+        if (upd.length < MIN_VALUE_SIZE)
+            return null;
+
+        // Anything larger than a half of the value is not worth the extra work on recovery.
+        int limit = upd.length / 2;
+
+        ByteBuffer buf = ByteBuffer.allocate(limit);
+
+        int cmpLen = Math.min(base.length, upd.length);
+
+        int i = 0;
+
+        while (i < upd.length) {
+            if (i < cmpLen && base[i] == upd[i]) {
+                i++;
+
+                continue;
+            }
+
+            int start = i;
+
+            // Extend the range while the unchanged gap is shorter than a range header.
+            int end = i + 1;
+
+            for (int j = end; j < upd.length && j - end <= RANGE_HEADER_SIZE; j++) {
+                if (j >= cmpLen || base[j] != upd[j])
+                    end = j + 1;
+            }
+
+            int rangeLen = end - start;
+
+            if (buf.remaining() < RANGE_HEADER_SIZE + rangeLen)
+                return null;
+
+            buf.putInt(start);
+            buf.putInt(rangeLen);
+            buf.put(upd, start, rangeLen);
+
+            i = end;
+        }
+
+        return new DeltaDataEntry(keyEntry, valType, base.length, crc(base), upd.length,
+            Arrays.copyOf(buf.array(), buf.position()));
+    }
+
+    /**
+     * Restores the new value bytes.
+     *
+     * @param base Serialized value before the update.
+     * @return Serialized value after the update.
+     * @throws IgniteCheckedException If the delta does not match the given base.
+     */
+    public byte[] apply(byte[] base) throws IgniteCheckedException {
+        if (!matchesBase(base)) {
+            throw new IgniteCheckedException("Failed to apply WAL delta, base value does not match [cacheId=" +
+                cacheId + ", partId=" + partId + ", expLen=" + baseLen + ", len=" + base.length + ']');
+        }
+
+        byte[] res = Arrays.copyOf(base, len);
+
+        ByteBuffer buf = ByteBuffer.wrap(delta);
+
+        while (buf.hasRemaining()) {
+            int off = buf.getInt();
+            int rangeLen = buf.getInt();
+
+            buf.get(res, off, rangeLen);
+        }
+
+        return res;
+    }
+
+    /**
+     * @param base Serialized value currently stored for the entry key.
+     * @return {@code True} if the delta was computed for the given value.
+     */
+    public boolean matchesBase(byte[] base) {
+        return base.length == baseLen && crc(base) == baseCrc;
+    }
+
+    /**
+     * @param bytes Bytes.
+     * @return CRC.
+     */
+    private static int crc(byte[] bytes) {
+        return FastCrc.calcCrc(ByteBuffer.wrap(bytes), bytes.length);
+    }
+
+    /** {@inheritDoc} */
+    @Override public KeyCacheObject key() {
+        if (key == null)
+            key = keyEntry.key();
+
+        return key;
+    }
+
+    /**
+     * @return Entry holding the key and the entry metadata.
+     */
+    public DataEntry keyEntry() {
+        return keyEntry;
+    }
+
+    /**
+     * @return Value type.
+     */
+    public byte valueType() {
+        return valType;
+    }
+
+    /**
+     * @return Length of the base value.
+     */
+    public int baseLength() {
+        return baseLen;
+    }
+
+    /**
+     * @return CRC of the base value.
+     */
+    public int baseCrc() {
+        return baseCrc;
+    }
+
+    /**
+     * @return Length of the new value.
+     */
+    public int length() {
+        return len;
+    }
+
+    /**
+     * @return Changed ranges.
+     */
+    public byte[] delta() {
+        return delta;
+    }
+
+    /** {@inheritDoc} */
+    @Override public String toString() {
+        return S.toString(DeltaDataEntry.class, this, "deltaLen", delta.length, "super", super.toString());
+    }
+}
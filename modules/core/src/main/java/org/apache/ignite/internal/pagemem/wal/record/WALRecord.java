@@ -225,7 +225,10 @@ public abstract class WALRecord {
         TRACKING_PAGE_REPAIR_DELTA(61, PHYSICAL),
 
         /** Atomic out-of-order update. */
-        OUT_OF_ORDER_UPDATE(62, LOGICAL);
+        OUT_OF_ORDER_UPDATE(62, LOGICAL),
+
+        /** Data record with updates logged as deltas to the previous values. */
+        DATA_DELTA_RECORD(63, LOGICAL);
 
         /** Index for serialization. Should be consistent throughout all versions. */
         private final int idx;
@@ -38,13 +38,16 @@ import org.apache.ignite.IgniteException;
 import org.apache.ignite.IgniteLogger;
 import org.apache.ignite.cache.CacheInterceptor;
 import org.apache.ignite.cache.eviction.EvictableEntry;
+import org.apache.ignite.configuration.DataStorageConfiguration;
 import org.apache.ignite.internal.IgniteInternalFuture;
 import org.apache.ignite.internal.NodeStoppingException;
 import org.apache.ignite.internal.UnregisteredBinaryTypeException;
 import org.apache.ignite.internal.UnregisteredClassException;
 import org.apache.ignite.internal.pagemem.wal.WALPointer;
+import org.apache.ignite.internal.pagemem.wal.record.DataDeltaRecord;
 import org.apache.ignite.internal.pagemem.wal.record.DataEntry;
 import org.apache.ignite.internal.pagemem.wal.record.DataRecord;
+import org.apache.ignite.internal.pagemem.wal.record.DeltaDataEntry;
 import org.apache.ignite.internal.pagemem.wal.record.MvccDataEntry;
 import org.apache.ignite.internal.pagemem.wal.record.MvccDataRecord;
 import org.apache.ignite.internal.pagemem.wal.record.OutOfOrderDataRecord;
@@ -2240,7 +2243,6 @@ public abstract class GridCacheMapEntry extends GridMetadataAwareAdapter impleme
     }
 
     /** {@inheritDoc} */
-    @SuppressWarnings("unchecked")
     @Override public GridCacheUpdateAtomicResult innerUpdate(
         final GridCacheVersion newVer,
         final UUID evtNodeId,
@@ -2271,6 +2273,174 @@ public abstract class GridCacheMapEntry extends GridMetadataAwareAdapter impleme
         @Nullable final Long updateCntr,
         @Nullable final GridDhtAtomicAbstractUpdateFuture fut,
         boolean transformOp
+    ) throws IgniteCheckedException, GridCacheEntryRemovedException, GridClosureException {
+        return innerUpdate(null, newVer, evtNodeId, affNodeId, op, writeObj, invokeArgs, writeThrough, readThrough,
+            retval, keepBinary, expiryPlc, evt, metrics, primary, verCheck, topVer, filter, drType, explicitTtl,
+            explicitExpireTime, conflictVer, conflictResolve, intercept, subjId, taskName, prevVal, updateCntr, fut,
+            transformOp);
+    }
+
+    /**
+     * Creates the closure of an atomic update of this entry, so that it can be invoked on the data store as a part
+     * of a batch with {@link IgniteCacheOffheapManager.CacheDataStore#invokeAll}. The invoked closure must be passed
+     * to {@code innerUpdate} with the same arguments while the entry lock is still held.
+     *
+     * @param newVer New version.
+     * @param op Update operation.
+     * @param writeObj Value.
+     * @param invokeArgs Entry processor arguments.
+     * @param writeThrough Write through flag.
+     * @param readThrough Read through flag.
+     * @param retval Return value flag.
+     * @param keepBinary Keep binary flag.
+     * @param expiryPlc Expiry policy.
+     * @param primary Primary node flag.
+     * @param verCheck Version check flag.
+     * @param topVer Topology version.
+     * @param filter Filter.
+     * @param explicitTtl Explicit TTL.
+     * @param explicitExpireTime Explicit expire time.
+     * @param conflictVer Conflict version.
+     * @param conflictResolve Conflict resolve flag.
+     * @param intercept Intercept flag.
+     * @param updateCntr Update counter.
+     * @return Update closure.
+     * @throws IgniteCheckedException If failed.
+     * @throws GridCacheEntryRemovedException If entry is obsolete.
+     */
+    public IgniteCacheOffheapManager.OffheapInvokeClosure atomicUpdateClosure(
+        GridCacheVersion newVer,
+        GridCacheOperation op,
+        @Nullable Object writeObj,
+        @Nullable Object[] invokeArgs,
+        boolean writeThrough,
+        boolean readThrough,
+        boolean retval,
+        boolean keepBinary,
+        @Nullable IgniteCacheExpiryPolicy expiryPlc,
+        boolean primary,
+        boolean verCheck,
+        AffinityTopologyVersion topVer,
+        @Nullable CacheEntryPredicate[] filter,
+        long explicitTtl,
+        long explicitExpireTime,
+        @Nullable GridCacheVersion conflictVer,
+        boolean conflictResolve,
+        boolean intercept,
+        @Nullable Long updateCntr
+    ) throws IgniteCheckedException, GridCacheEntryRemovedException {
+        assert cctx.atomic() && !detached() && !isNear();
+        assert lockedByCurrentThread();
+
+        checkObsolete();
+
+        boolean internal = isInternal() || !context().userCache();
+
+        Map<UUID, CacheContinuousQueryListener> lsnrs = cctx.continuousQueries().updateListeners(internal, false);
+
+        boolean needVal = lsnrs != null || intercept || retval || op == GridCacheOperation.TRANSFORM
+            || !F.isEmptyOrNulls(filter);
+
+        // Possibly read value from store.
+        boolean readFromStore = readThrough && needVal && (cctx.readThrough() &&
+            (op == GridCacheOperation.TRANSFORM || cctx.loadPreviousValue()));
+
+        AtomicCacheUpdateClosure c = new AtomicCacheUpdateClosure(this,
+            topVer,
+            newVer,
+            op,
+            writeObj,
+            invokeArgs,
+            readFromStore,
+            writeThrough,
+            keepBinary,
+            expiryPlc,
+            primary,
+            verCheck,
+            filter,
+            explicitTtl,
+            explicitExpireTime,
+            conflictVer,
+            conflictResolve,
+            intercept,
+            updateCntr,
+            cctx.disableTriggeringCacheInterceptorOnConflict()
+        );
+
+        key.valueBytes(cctx.cacheObjectContext());
+
+        return c;
+    }
+
+    /**
+     * @param invoked Closure created by {@link #atomicUpdateClosure} and already invoked on the data store,
+     *      {@code null} to create and invoke the closure here.
+     * @param newVer New version.
+     * @param evtNodeId Event node ID.
+     * @param affNodeId Affinity node ID.
+     * @param op Update operation.
+     * @param writeObj Value.
+     * @param invokeArgs Entry processor arguments.
+     * @param writeThrough Write through flag.
+     * @param readThrough Read through flag.
+     * @param retval Return value flag.
+     * @param keepBinary Keep binary flag.
+     * @param expiryPlc Expiry policy.
+     * @param evt Event flag.
+     * @param metrics Metrics update flag.
+     * @param primary Primary node flag.
+     * @param verCheck Version check flag.
+     * @param topVer Topology version.
+     * @param filter Filter.
+     * @param drType DR type.
+     * @param explicitTtl Explicit TTL.
+     * @param explicitExpireTime Explicit expire time.
+     * @param conflictVer Conflict version.
+     * @param conflictResolve Conflict resolve flag.
+     * @param intercept Intercept flag.
+     * @param subjId Subject ID.
+     * @param taskName Task name.
+     * @param prevVal Previous value.
+     * @param updateCntr Update counter.
+     * @param fut DHT update future.
+     * @param transformOp Transform operation flag.
+     * @return Update result.
+     * @throws IgniteCheckedException If failed.
+     * @throws GridCacheEntryRemovedException If entry is obsolete.
+     * @throws GridClosureException If entry processor failed.
+     */
+    @SuppressWarnings("unchecked")
+    public GridCacheUpdateAtomicResult innerUpdate(
+        @Nullable IgniteCacheOffheapManager.OffheapInvokeClosure invoked,
+        final GridCacheVersion newVer,
+        final UUID evtNodeId,
+        final UUID affNodeId,
+        final GridCacheOperation op,
+        @Nullable final Object writeObj,
+        @Nullable final Object[] invokeArgs,
+        final boolean writeThrough,
+        final boolean readThrough,
+        final boolean retval,
+        final boolean keepBinary,
+        @Nullable final IgniteCacheExpiryPolicy expiryPlc,
+        final boolean evt,
+        final boolean metrics,
+        final boolean primary,
+        final boolean verCheck,
+        final AffinityTopologyVersion topVer,
+        @Nullable final CacheEntryPredicate[] filter,
+        final GridDrType drType,
+        final long explicitTtl,
+        final long explicitExpireTime,
+        @Nullable final GridCacheVersion conflictVer,
+        final boolean conflictResolve,
+        final boolean intercept,
+        @Nullable final UUID subjId,
+        final String taskName,
+        @Nullable final CacheObject prevVal,
+        @Nullable final Long updateCntr,
+        @Nullable final GridDhtAtomicAbstractUpdateFuture fut,
+        boolean transformOp
     ) throws IgniteCheckedException, GridCacheEntryRemovedException, GridClosureException {
         assert cctx.atomic() && !detached();
 
@@ -2296,37 +2466,42 @@ public abstract class GridCacheMapEntry extends GridMetadataAwareAdapter impleme
             boolean readFromStore = readThrough && needVal && (cctx.readThrough() &&
                 (op == GridCacheOperation.TRANSFORM || cctx.loadPreviousValue()));
 
-            c = new AtomicCacheUpdateClosure(this,
-                topVer,
-                newVer,
-                op,
-                writeObj,
-                invokeArgs,
-                readFromStore,
-                writeThrough,
-                keepBinary,
-                expiryPlc,
-                primary,
-                verCheck,
-                filter,
-                explicitTtl,
-                explicitExpireTime,
-                conflictVer,
-                conflictResolve,
-                intercept,
-                updateCntr,
-                cctx.disableTriggeringCacheInterceptorOnConflict()
-            );
+            if (invoked != null)
+                c = (AtomicCacheUpdateClosure)invoked;
+            else {
+                c = new AtomicCacheUpdateClosure(this,
+                    topVer,
+                    newVer,
+                    op,
+                    writeObj,
+                    invokeArgs,
+                    readFromStore,
+                    writeThrough,
+                    keepBinary,
+                    expiryPlc,
+                    primary,
+                    verCheck,
+                    filter,
+                    explicitTtl,
+                    explicitExpireTime,
+                    conflictVer,
+                    conflictResolve,
+                    intercept,
+                    updateCntr,
+                    cctx.disableTriggeringCacheInterceptorOnConflict()
+                );
 
-            key.valueBytes(cctx.cacheObjectContext());
+                key.valueBytes(cctx.cacheObjectContext());
 
-            if (isNear()) {
-                CacheDataRow dataRow = val != null ? new CacheDataRowAdapter(key, val, ver, expireTimeExtras()) : null;
+                if (isNear()) {
+                    CacheDataRow dataRow = val != null ?
+                        new CacheDataRowAdapter(key, val, ver, expireTimeExtras()) : null;
 
-                c.call(dataRow);
+                    c.call(dataRow);
+                }
+                else
+                    cctx.offheap().invoke(cctx, key, localPartition(), c);
             }
-            else
-                cctx.offheap().invoke(cctx, key, localPartition(), c);
 
             GridCacheUpdateAtomicResult updateRes = c.updateRes;
 
@@ -4323,7 +4498,7 @@ public abstract class GridCacheMapEntry extends GridMetadataAwareAdapter impleme
 
         try {
             if (cctx.group().persistenceEnabled() && cctx.group().walEnabled())
-                cctx.shared().wal().log(new DataRecord(new DataEntry(
+                cctx.shared().wal().log(dataRecord(new DataEntry(
                     cctx.cacheId(),
                     key,
                     val,
@@ -4340,6 +4515,37 @@ public abstract class GridCacheMapEntry extends GridMetadataAwareAdapter impleme
         }
     }
 
+    /**
+     * Creates a data record for the given update. If {@link DataStorageConfiguration#isWalDeltaUpdatesEnabled()}
+     * is set, an update of a large value is logged as a delta to the current value of this entry, so the method
+     * must be called before the entry value is replaced with the updated one. The delta is logged only if the
+     * current value was written after the start of the last checkpoint, then logical recovery replays the record
+     * of the current value before the delta and always has its base. The first update of a key after a checkpoint
+     * is logged in full.
+     *
+     * @param entry Data entry of the update.
+     * @return Data record to log.
+     * @throws IgniteCheckedException If failed to get value bytes.
+     */
+    private DataRecord dataRecord(DataEntry entry) throws IgniteCheckedException {
+        CacheObject base = this.val;
+        CacheObject upd = entry.value();
+
+        if (entry.op() != UPDATE || base == null || upd == null || base == upd ||
+            base.cacheObjectType() != upd.cacheObjectType() ||
+            !cctx.shared().database().walDeltaUpdatesEnabled() ||
+            cctx.group().config().isEncryptionEnabled() ||
+            !cctx.shared().database().writtenAfterCheckpointStart(ver))
+            return new DataRecord(entry);
+
+        CacheObjectContext coCtx = cctx.cacheObjectContext();
+
+        DeltaDataEntry delta = DeltaDataEntry.create(entry, upd.cacheObjectType(),
+            base.valueBytes(coCtx), upd.valueBytes(coCtx));
+
+        return delta != null ? new DataDeltaRecord(delta) : new DataRecord(entry);
+    }
+
     /**
      * Appends a new out-of-order update record to the write-ahead log if persistence enabled.
      * This record keeps track the out-of-order updates in the ATOMIC cache.
@@ -4402,7 +4608,7 @@ public abstract class GridCacheMapEntry extends GridMetadataAwareAdapter impleme
                 else
                     op = this.val == null ? GridCacheOperation.CREATE : UPDATE;
 
-                return cctx.shared().wal().log(new DataRecord(new DataEntry(
+                return cctx.shared().wal().log(dataRecord(new DataEntry(
                     cctx.cacheId(),
                     key,
                     val,
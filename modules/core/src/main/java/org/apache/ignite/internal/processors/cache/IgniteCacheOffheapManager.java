@@ -543,6 +543,19 @@ public interface IgniteCacheOffheapManager {
      */
     public void dropRootPageForIndex(int cacheId, String idxName, int segment) throws IgniteCheckedException;
 
+    /**
+     * Renames root page of index tree, so that the tree is found by the new name. The root page of an existing tree
+     * with the new name is replaced atomically, so a crash never leaves the new name without a tree.
+     *
+     * @param cacheId Cache ID.
+     * @param oldIdxName Current index name.
+     * @param newIdxName New index name.
+     * @param segment Segment.
+     * @throws IgniteCheckedException If failed.
+     */
+    public void renameRootPageForIndex(int cacheId, String oldIdxName, String newIdxName, int segment)
+        throws IgniteCheckedException;
+
     /**
      * @param idxName Index name.
      * @return Reuse list for index tree.
@@ -871,6 +884,20 @@ public interface IgniteCacheOffheapManager {
          */
         public void invoke(GridCacheContext cctx, KeyCacheObject key, OffheapInvokeClosure c) throws IgniteCheckedException;
 
+        /**
+         * Invokes closures for a batch of keys. Keys sorted by hash code share the tree descents of the keys
+         * falling into the same leaf page, and the query indexes of the updated rows are updated as a batch too.
+         * Closures may be called under the leaf page lock and must not access the tree of this store, creating rows
+         * is fine. If an update fails, the keys whose closures have already been called are still fully applied.
+         *
+         * @param cctx Cache context.
+         * @param keys Keys.
+         * @param clos Closures, one per key.
+         * @throws IgniteCheckedException If failed.
+         */
+        public void invokeAll(GridCacheContext cctx, List<KeyCacheObject> keys,
+            List<? extends OffheapInvokeClosure> clos) throws IgniteCheckedException;
+
         /**
          *
          * @param cctx Cache context.
@@ -138,6 +138,7 @@ import static org.apache.ignite.internal.processors.cache.mvcc.MvccUtils.unexpec
 import static org.apache.ignite.internal.processors.cache.persistence.tree.io.DataPageIO.MVCC_INFO_SIZE;
 import static org.apache.ignite.internal.util.IgniteTree.OperationType.NOOP;
 import static org.apache.ignite.internal.util.IgniteTree.OperationType.PUT;
+import static org.apache.ignite.internal.util.IgniteTree.OperationType.REMOVE;
 import static org.apache.ignite.internal.util.lang.GridCursor.EMPTY_CURSOR;
 
 /**
@@ -925,8 +926,7 @@ public class IgniteCacheOffheapManagerImpl implements IgniteCacheOffheapManager
                                 curPart = ds.partId();
 
                                 // Data page scan is disabled by default for scan queries.
-                                // TODO https://ggsystems.atlassian.net/browse/GG-20800
-                                CacheDataTree.setDataPageScanEnabled(false);
+                                CacheDataTree.setDataPageScanEnabled(TRUE.equals(dataPageScanEnabled));
 
                                 try {
                                     if (mvccSnapshot == null)
@@ -1117,6 +1117,12 @@ public class IgniteCacheOffheapManagerImpl implements IgniteCacheOffheapManager
         // No-op.
     }
 
+    /** {@inheritDoc} */
+    @Override public void renameRootPageForIndex(int cacheId, String oldIdxName, String newIdxName, int segment)
+        throws IgniteCheckedException {
+        // No-op.
+    }
+
     /** {@inheritDoc} */
     @Override public ReuseList reuseListForIndex(String idxName) {
         return grp.reuseList();
@@ -1661,13 +1667,95 @@ public class IgniteCacheOffheapManagerImpl implements IgniteCacheOffheapManager
 
             dataTree.invoke(row, CacheDataRowAdapter.RowData.NO_KEY, c);
 
+            finishInvoke(cctx, row, c, true);
+        }
+
+        /** {@inheritDoc} */
+        @Override public void invokeAll(GridCacheContext cctx, List<KeyCacheObject> keys,
+            List<? extends OffheapInvokeClosure> clos) throws IgniteCheckedException {
+            assert keys.size() == clos.size() : keys.size() + " " + clos.size();
+
+            if (!busyLock.enterBusy())
+                throw new NodeStoppingException("Operation has been cancelled (node is stopping).");
+
+            int cacheId = grp.sharedGroup() ? cctx.cacheId() : CU.UNDEFINED_CACHE_ID;
+
+            try {
+                assert cctx.shared().database().checkpointLockIsHeldByThread();
+
+                List<CacheSearchRow> rows = new ArrayList<>(keys.size());
+                List<CalledClosure> called = new ArrayList<>(clos.size());
+
+                for (int i = 0; i < keys.size(); i++) {
+                    rows.add(new SearchRow(cacheId, keys.get(i)));
+                    called.add(new CalledClosure(clos.get(i)));
+                }
+
+                try {
+                    dataTree.invokeAll(rows, CacheDataRowAdapter.RowData.NO_KEY, called);
+                }
+                finally {
+                    // Rows are applied in order, so on failure the rows applied so far must be finished too.
+                    finishInvokeAll(cctx, rows, called);
+                }
+            }
+            finally {
+                busyLock.leaveBusy();
+            }
+        }
+
+        /**
+         * Updates query indexes with the put rows as a batch and finishes the applied rows.
+         *
+         * @param cctx Cache context.
+         * @param rows Search rows.
+         * @param clos Closures, only the called ones are finished.
+         * @throws IgniteCheckedException If failed.
+         */
+        private void finishInvokeAll(GridCacheContext cctx, List<CacheSearchRow> rows, List<CalledClosure> clos)
+            throws IgniteCheckedException {
+            try {
+                GridCacheQueryManager qryMgr = cctx.queries();
+
+                if (qryMgr.enabled()) {
+                    List<CacheDataRow> newRows = new ArrayList<>(clos.size());
+                    List<CacheDataRow> oldRows = new ArrayList<>(clos.size());
+
+                    for (CalledClosure c : clos) {
+                        if (c.called && c.operationType() == PUT) {
+                            newRows.add(c.newRow());
+                            oldRows.add(c.oldRow());
+                        }
+                    }
+
+                    if (!newRows.isEmpty())
+                        qryMgr.storeAll(newRows, oldRows);
+                }
+            }
+            finally {
+                for (int i = 0; i < rows.size(); i++) {
+                    if (clos.get(i).called)
+                        finishInvoke(cctx, rows.get(i), clos.get(i), false);
+                }
+            }
+        }
+
+        /**
+         * @param cctx Cache context.
+         * @param row Search row.
+         * @param c Invoked closure.
+         * @param storeIdx Whether to update query indexes with a put row, {@code false} if already updated.
+         * @throws IgniteCheckedException If failed.
+         */
+        private void finishInvoke(GridCacheContext cctx, CacheSearchRow row, OffheapInvokeClosure c,
+            boolean storeIdx) throws IgniteCheckedException {
             switch (c.operationType()) {
                 case PUT: {
                     assert c.newRow() != null : c;
 
                     CacheDataRow oldRow = c.oldRow();
 
-                    finishUpdate(cctx, c.newRow(), oldRow);
+                    finishUpdate(cctx, c.newRow(), oldRow, storeIdx);
 
                     break;
                 }
@@ -2550,6 +2638,18 @@ public class IgniteCacheOffheapManagerImpl implements IgniteCacheOffheapManager
          */
         private void finishUpdate(GridCacheContext cctx, CacheDataRow newRow, @Nullable CacheDataRow oldRow)
             throws IgniteCheckedException {
+            finishUpdate(cctx, newRow, oldRow, true);
+        }
+
+        /**
+         * @param cctx Cache context.
+         * @param newRow New row.
+         * @param oldRow Old row if available.
+         * @param storeIdx Whether to update query indexes, {@code false} if already updated in a batch.
+         * @throws IgniteCheckedException If failed.
+         */
+        private void finishUpdate(GridCacheContext cctx, CacheDataRow newRow, @Nullable CacheDataRow oldRow,
+            boolean storeIdx) throws IgniteCheckedException {
             if (oldRow == null)
                 incrementSize(cctx.cacheId());
 
@@ -2557,7 +2657,7 @@ public class IgniteCacheOffheapManagerImpl implements IgniteCacheOffheapManager
 
             GridCacheQueryManager qryMgr = cctx.queries();
 
-            if (qryMgr.enabled())
+            if (storeIdx && qryMgr.enabled())
                 qryMgr.store(newRow, oldRow, true);
 
             updatePendingEntries(cctx, newRow, oldRow);
@@ -2898,26 +2998,68 @@ public class IgniteCacheOffheapManagerImpl implements IgniteCacheOffheapManager
             GridCursor<? extends CacheDataRow> cur =
                 cursor(cacheId, null, null, CacheDataRowAdapter.RowData.KEY_ONLY);
 
-            int rmv = 0;
+            // Rows come from the cursor in the tree order, so they are removed leaf by leaf.
+            List<CacheDataRow> rows = new ArrayList<>(BATCH_SIZE);
 
             while (cur.next()) {
-                if (++rmv == BATCH_SIZE) {
-                    ctx.database().checkpointReadUnlock();
+                CacheDataRow row = cur.get();
+
+                assert row.link() != 0 : row;
+
+                rows.add(row);
+
+                if (rows.size() == BATCH_SIZE) {
+                    ex = clearRows(cacheId, rows, ex);
 
-                    rmv = 0;
+                    rows.clear();
+
+                    ctx.database().checkpointReadUnlock();
 
                     ctx.database().checkpointReadLock();
                 }
+            }
 
-                CacheDataRow row = cur.get();
+            if (!rows.isEmpty())
+                ex = clearRows(cacheId, rows, ex);
 
-                assert row.link() != 0 : row;
+            if (ex != null)
+                throw new IgniteCheckedException("Fail destroy store", ex);
 
-                try {
-                    boolean res = dataTree.removex(row);
+            // Allow checkpointer to progress if a partition contains less than BATCH_SIZE keys.
+            if (!rows.isEmpty()) {
+                ctx.database().checkpointReadUnlock();
 
-                    assert res : row;
+                ctx.database().checkpointReadLock();
+            }
+        }
+
+        /**
+         * @param cacheId Cache ID.
+         * @param rows Rows to remove sorted in the tree order.
+         * @param ex Previous failure.
+         * @return Failure.
+         */
+        private Exception clearRows(int cacheId, List<CacheDataRow> rows, Exception ex) {
+            List<RemoveRowClosure> clos = new ArrayList<>(rows.size());
+
+            for (int i = 0; i < rows.size(); i++)
+                clos.add(new RemoveRowClosure());
+
+            try {
+                dataTree.invokeAll(rows, CacheDataRowAdapter.RowData.LINK_ONLY, clos);
+            }
+            catch (IgniteCheckedException e) {
+                U.error(log, "Fail remove rows [cnt=" + rows.size() + "]");
+
+                return addSuppressed(ex, e);
+            }
+
+            for (int i = 0; i < rows.size(); i++) {
+                CacheDataRow row = rows.get(i);
 
+                assert clos.get(i).oldRow() != null : row;
+
+                try {
                     rowStore.removeRow(row.link(), grp.statisticsHolderData());
 
                     decrementSize(cacheId);
@@ -2925,22 +3067,25 @@ public class IgniteCacheOffheapManagerImpl implements IgniteCacheOffheapManager
                 catch (IgniteCheckedException e) {
                     U.error(log, "Fail remove row [link=" + row.link() + "]");
 
-                    if (ex == null)
-                        ex = e;
-                    else
-                        ex.addSuppressed(e);
+                    ex = addSuppressed(ex, e);
                 }
             }
 
-            if (ex != null)
-                throw new IgniteCheckedException("Fail destroy store", ex);
+            return ex;
+        }
 
-            // Allow checkpointer to progress if a partition contains less than BATCH_SIZE keys.
-            if (rmv > 0) {
-                ctx.database().checkpointReadUnlock();
+        /**
+         * @param ex Previous failure or {@code null}.
+         * @param e New failure.
+         * @return Failure.
+         */
+        private Exception addSuppressed(@Nullable Exception ex, Exception e) {
+            if (ex == null)
+                return e;
 
-                ctx.database().checkpointReadLock();
-            }
+            ex.addSuppressed(e);
+
+            return ex;
         }
 
         /** {@inheritDoc} */
@@ -3046,6 +3191,74 @@ public class IgniteCacheOffheapManagerImpl implements IgniteCacheOffheapManager
             }
         }
 
+        /**
+         * Removes the row if it is found.
+         */
+        private class RemoveRowClosure implements OffheapInvokeClosure {
+            /** */
+            private CacheDataRow oldRow;
+
+            /** {@inheritDoc} */
+            @Override public void call(@Nullable CacheDataRow oldRow) {
+                this.oldRow = oldRow;
+            }
+
+            /** {@inheritDoc} */
+            @Override public CacheDataRow newRow() {
+                return null;
+            }
+
+            /** {@inheritDoc} */
+            @Override public IgniteTree.OperationType operationType() {
+                return oldRow != null ? REMOVE : NOOP;
+            }
+
+            /** {@inheritDoc} */
+            @Nullable @Override public CacheDataRow oldRow() {
+                return oldRow;
+            }
+        }
+
+        /**
+         * Delegates to the closure and records that it was called, i.e. that its row was applied to the tree.
+         */
+        private class CalledClosure implements OffheapInvokeClosure {
+            /** */
+            private final OffheapInvokeClosure delegate;
+
+            /** */
+            private boolean called;
+
+            /**
+             * @param delegate Closure.
+             */
+            private CalledClosure(OffheapInvokeClosure delegate) {
+                this.delegate = delegate;
+            }
+
+            /** {@inheritDoc} */
+            @Override public void call(@Nullable CacheDataRow oldRow) throws IgniteCheckedException {
+                delegate.call(oldRow);
+
+                called = true;
+            }
+
+            /** {@inheritDoc} */
+            @Override public CacheDataRow newRow() {
+                return delegate.newRow();
+            }
+
+            /** {@inheritDoc} */
+            @Override public IgniteTree.OperationType operationType() {
+                return delegate.operationType();
+            }
+
+            /** {@inheritDoc} */
+            @Nullable @Override public CacheDataRow oldRow() {
+                return delegate.oldRow();
+            }
+        }
+
         /**
          *
          */
@@ -62,6 +62,7 @@ import org.apache.ignite.internal.processors.cache.GridCacheOperation;
 import org.apache.ignite.internal.processors.cache.GridCacheReturn;
 import org.apache.ignite.internal.processors.cache.GridCacheUpdateAtomicResult;
 import org.apache.ignite.internal.processors.cache.IgniteCacheExpiryPolicy;
+import org.apache.ignite.internal.processors.cache.IgniteCacheOffheapManager;
 import org.apache.ignite.internal.processors.cache.KeyCacheObject;
 import org.apache.ignite.internal.processors.cache.binary.CacheObjectBinaryProcessorImpl;
 import org.apache.ignite.internal.processors.cache.distributed.dht.GridDhtCacheAdapter;
@@ -2576,6 +2577,8 @@ public class GridDhtAtomicCache<K, V> extends GridDhtCacheAdapter<K, V> {
 
         AffinityAssignment affAssignment = ctx.affinity().assignment(topVer);
 
+        Object[] invoked = invokeBatch(req, locked, ver, topVer, intercept, expiry, sndPrevVal, dhtUpdRes);
+
         // Avoid iterator creation.
         for (int i = dhtUpdRes.processedEntriesCount(); i < req.size(); i++) {
             KeyCacheObject k = req.key(i);
@@ -2585,6 +2588,11 @@ public class GridDhtAtomicCache<K, V> extends GridDhtCacheAdapter<K, V> {
             // We are holding java-level locks on entries at this point.
             // No GridCacheEntryRemovedException can be thrown.
             try {
+                Object invoked0 = invoked != null ? invoked[i] : null;
+
+                if (invoked0 instanceof IgniteCheckedException)
+                    throw (IgniteCheckedException)invoked0;
+
                 GridDhtCacheEntry entry = locked.get(i);
 
                 GridCacheVersion newConflictVer = req.conflictVersion(i);
@@ -2599,6 +2607,7 @@ public class GridDhtAtomicCache<K, V> extends GridDhtCacheAdapter<K, V> {
                 GridDhtCacheEntry.ReaderId[] readers = entry.readersLocked();
 
                 GridCacheUpdateAtomicResult updRes = entry.innerUpdate(
+                    (IgniteCacheOffheapManager.OffheapInvokeClosure)invoked0,
                     ver,
                     nearNode.id(),
                     locNodeId,
@@ -2750,6 +2759,122 @@ public class GridDhtAtomicCache<K, V> extends GridDhtCacheAdapter<K, V> {
         dhtUpdRes.dhtFuture(dhtFut);
     }
 
+    /**
+     * Invokes the update closures of the locked entries left to update on the data stores of their partitions, one
+     * batch per partition with keys sorted in the data tree order, so that the tree and the query indexes are
+     * updated leaf by leaf. Entry locks are held until the invoked closures are finished by
+     * {@link GridCacheMapEntry#innerUpdate}, so concurrent updates of the keys can not interleave with the batch.
+     * <p>
+     * Only plain puts are batched: closures are called under leaf page locks and must not run user code, i.e.
+     * filters, interceptors, stores, expiry policies and conflict resolvers.
+     *
+     * @param req Update request.
+     * @param locked Locked entries.
+     * @param ver Assigned update version.
+     * @param topVer Topology version.
+     * @param intercept Whether interceptor is configured.
+     * @param expiry Expiry policy.
+     * @param sndPrevVal If {@code true} sends previous value to backups.
+     * @param dhtUpdRes Dht update result.
+     * @return Per request key: the invoked closure, the error failing the key or {@code null} if the key is to be
+     *      updated one by one; {@code null} if the batch is not applicable.
+     * @throws GridCacheEntryRemovedException Should be never thrown.
+     */
+    @Nullable private Object[] invokeBatch(
+        GridNearAtomicAbstractUpdateRequest req,
+        List<GridDhtCacheEntry> locked,
+        GridCacheVersion ver,
+        AffinityTopologyVersion topVer,
+        boolean intercept,
+        @Nullable IgniteCacheExpiryPolicy expiry,
+        boolean sndPrevVal,
+        DhtAtomicUpdateResult dhtUpdRes
+    ) throws GridCacheEntryRemovedException {
+        int from = dhtUpdRes.processedEntriesCount();
+
+        if (req.size() - from < 2 ||
+            req.operation() != UPDATE ||
+            !F.isEmptyOrNulls(req.filter()) ||
+            intercept ||
+            expiry != null ||
+            (ctx.store().configured() && !req.skipStore()) ||
+            ctx.conflictNeedResolve())
+            return null;
+
+        Object[] invoked = new Object[req.size()];
+
+        Map<Integer, List<Integer>> parts = new LinkedHashMap<>();
+
+        try {
+            for (int i = from; i < req.size(); i++) {
+                GridDhtCacheEntry entry = locked.get(i);
+
+                // Marshal the value outside of page locks.
+                req.writeValue(i).valueBytes(ctx.cacheObjectContext());
+
+                invoked[i] = entry.atomicUpdateClosure(
+                    ver,
+                    UPDATE,
+                    req.writeValue(i),
+                    req.invokeArguments(),
+                    writeThrough() && !req.skipStore(),
+                    !req.skipStore(),
+                    sndPrevVal || req.returnValue(),
+                    req.keepBinary(),
+                    expiry,
+                    /*primary*/true,
+                    /*verCheck*/false,
+                    topVer,
+                    req.filter(),
+                    req.conflictTtl(i),
+                    req.conflictExpireTime(i),
+                    req.conflictVersion(i),
+                    /*conflictResolve*/true,
+                    intercept,
+                    /*updateCntr*/null);
+
+                parts.computeIfAbsent(entry.partition(), p -> new ArrayList<>()).add(i);
+            }
+        }
+        catch (IgniteCheckedException e) {
+            // Nothing is applied yet, let the keys fail one by one.
+            return null;
+        }
+
+        ctx.group().listenerLock().readLock().lock();
+
+        try {
+            for (Map.Entry<Integer, List<Integer>> e : parts.entrySet()) {
+                List<Integer> idxs = e.getValue();
+
+                idxs.sort((i1, i2) -> Integer.compare(req.key(i1).hashCode(), req.key(i2).hashCode()));
+
+                List<KeyCacheObject> keys = new ArrayList<>(idxs.size());
+                List<IgniteCacheOffheapManager.OffheapInvokeClosure> clos = new ArrayList<>(idxs.size());
+
+                for (Integer i : idxs) {
+                    keys.add(req.key(i));
+                    clos.add((IgniteCacheOffheapManager.OffheapInvokeClosure)invoked[i]);
+                }
+
+                try {
+                    ctx.offheap().dataStore(ctx.topology().localPartition(e.getKey())).invokeAll(ctx, keys, clos);
+                }
+                catch (IgniteCheckedException ex) {
+                    // Called closures are applied, so their keys fail as they would when updated one by one,
+                    // the others are updated one by one.
+                    for (int j = 0; j < idxs.size(); j++)
+                        invoked[idxs.get(j)] = clos.get(j).operationType() != null ? ex : null;
+                }
+            }
+        }
+        finally {
+            ctx.group().listenerLock().readLock().unlock();
+        }
+
+        return invoked;
+    }
+
     /**
      * @param hasNear {@code True} if originating node has near cache.
      * @param firstEntryIdx Index of the first entry in the request keys collection.
@@ -0,0 +1,516 @@
+/*
+ * Copyright 2019 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.cache.distributed.dht.preloader;
+
+import java.io.File;
+import java.io.Serializable;
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.UUID;
+import org.apache.ignite.IgniteCheckedException;
+import org.apache.ignite.IgniteLogger;
+import org.apache.ignite.IgniteSystemProperties;
+import org.apache.ignite.cluster.ClusterNode;
+import org.apache.ignite.internal.IgniteEx;
+import org.apache.ignite.internal.IgniteInternalFuture;
+import org.apache.ignite.internal.processors.cache.CacheGroupContext;
+import org.apache.ignite.internal.processors.cache.GridCacheContext;
+import org.apache.ignite.internal.processors.cache.GridCacheSharedContext;
+import org.apache.ignite.internal.processors.cache.distributed.dht.topology.GridDhtLocalPartition;
+import org.apache.ignite.internal.processors.cache.persistence.DbCheckpointListener;
+import org.apache.ignite.internal.processors.cache.persistence.GridCacheDatabaseSharedManager;
+import org.apache.ignite.internal.processors.cache.persistence.GridCacheOffheapManager;
+import org.apache.ignite.internal.processors.cache.persistence.checkpoint.CheckpointProgress;
+import org.apache.ignite.internal.processors.cache.persistence.file.FileDownloader;
+import org.apache.ignite.internal.processors.cache.persistence.file.FilePageStoreManager;
+import org.apache.ignite.internal.processors.task.GridInternal;
+import org.apache.ignite.internal.util.future.GridFutureAdapter;
+import org.apache.ignite.internal.util.typedef.F;
+import org.apache.ignite.internal.util.typedef.internal.S;
+import org.apache.ignite.internal.util.typedef.internal.U;
+import org.apache.ignite.lang.IgniteClosure;
+import org.apache.ignite.resources.IgniteInstanceResource;
+import org.apache.ignite.thread.IgniteThread;
+import org.jetbrains.annotations.Nullable;
+
+import static org.apache.ignite.IgniteSystemProperties.IGNITE_FILE_REBALANCE_ENABLED;
+import static org.apache.ignite.IgniteSystemProperties.IGNITE_FILE_REBALANCE_THRESHOLD;
+import static org.apache.ignite.internal.processors.cache.distributed.dht.topology.GridDhtPartitionState.MOVING;
+import static org.apache.ignite.internal.processors.cache.persistence.CheckpointState.LOCK_RELEASED;
+import static org.apache.ignite.internal.processors.cache.persistence.file.FilePageStoreManager.PART_FILE_TEMPLATE;
+import static org.apache.ignite.internal.processors.cache.persistence.file.FilePageStoreManager.TMP_SUFFIX;
+
+/**
+ * Transfers partition files from a supplier before the partitions are demanded by entries.
+ * <p>
+ * The supplier copies the files as they are at a checkpoint and reserves the WAL since that checkpoint. The files
+ * are sent one by one and are installed in place of the local partition files at a checkpoint of the demander.
+ * The partitions are not cleared and their data is not inserted entry by entry, the updates made after the files
+ * were copied are demanded from the history of the supplier. Partitions which could not be transferred are demanded
+ * by entries as usual.
+ * <p>
+ * Only cache groups without SQL indexes are rebalanced by files, the index partition ({@code index.bin}) is not
+ * transferred and the indexes would have to be rebuilt.
+ * <p>
+ * The files are installed only while the WAL of the group is disabled for rebalancing, so the node which fails
+ * before the partitions are owned does not recover from the replaced files.
+ */
+class FileRebalanceRoutine implements Runnable {
+    /** Default minimum number of entries in a partition to transfer it as a file. */
+    private static final long DFLT_FILE_REBALANCE_THRESHOLD = 100_000;
+
+    /** Context. */
+    private final GridCacheSharedContext<?, ?> ctx;
+
+    /** Cache group. */
+    private final CacheGroupContext grp;
+
+    /** Supplier node. */
+    private final ClusterNode supplier;
+
+    /** Partitions to transfer. */
+    private final Set<Integer> parts;
+
+    /** Rebalance future. */
+    private final GridDhtPartitionDemander.RebalanceFuture rebalanceFut;
+
+    /** Logger. */
+    private final IgniteLogger log;
+
+    /** Future with the counters of the installed partitions. */
+    private final GridFutureAdapter<CachePartitionPartialCountersMap> fut = new GridFutureAdapter<>();
+
+    /**
+     * @param grp Cache group.
+     * @param supplier Supplier node.
+     * @param parts Partitions to transfer.
+     * @param rebalanceFut Rebalance future.
+     */
+    FileRebalanceRoutine(
+        CacheGroupContext grp,
+        ClusterNode supplier,
+        Set<Integer> parts,
+        GridDhtPartitionDemander.RebalanceFuture rebalanceFut
+    ) {
+        this.grp = grp;
+        this.supplier = supplier;
+        this.parts = new TreeSet<>(parts);
+        this.rebalanceFut = rebalanceFut;
+
+        ctx = grp.shared();
+        log = ctx.logger(FileRebalanceRoutine.class);
+    }
+
+    /**
+     * @param grp Cache group.
+     * @param fullParts Partitions to rebalance from all current data.
+     * @return Partitions to transfer as files.
+     */
+    static Set<Integer> filePartitions(CacheGroupContext grp, Set<Integer> fullParts) {
+        if (fullParts.isEmpty() || !IgniteSystemProperties.getBoolean(IGNITE_FILE_REBALANCE_ENABLED, false))
+            return Collections.emptySet();
+
+        // The replaced files must not be recovered from the WAL and the indexes are not transferred.
+        if (!grp.persistenceEnabled() || grp.localWalEnabled() || grp.mvccEnabled() ||
+            grp.config().isEncryptionEnabled() || grp.config().isOnheapCacheEnabled())
+            return Collections.emptySet();
+
+        for (GridCacheContext cctx : grp.caches()) {
+            if (cctx.isQueryEnabled())
+                return Collections.emptySet();
+        }
+
+        long threshold = IgniteSystemProperties.getLong(IGNITE_FILE_REBALANCE_THRESHOLD,
+            DFLT_FILE_REBALANCE_THRESHOLD);
+
+        Map<Integer, Long> sizes = grp.topology().globalPartSizes();
+
+        Set<Integer> res = new HashSet<>();
+
+        for (int p : fullParts) {
+            Long size = sizes.get(p);
+
+            if (threshold <= 0 || (size != null && size >= threshold))
+                res.add(p);
+        }
+
+        return res;
+    }
+
+    /**
+     * Starts the transfer.
+     *
+     * @return Future with the counters of the installed partitions: the counter of the installed file and the
+     *      counter to rebalance the partition up to. The future is never completed with an error.
+     */
+    IgniteInternalFuture<CachePartitionPartialCountersMap> start() {
+        rebalanceFut.listen(f -> release());
+
+        new IgniteThread(ctx.igniteInstanceName(), "file-rebalance-" + grp.cacheOrGroupName(), this).start();
+
+        return fut;
+    }
+
+    /** {@inheritDoc} */
+    @Override public void run() {
+        Map<Integer, File> files = new TreeMap<>();
+
+        CachePartitionPartialCountersMap installed = CachePartitionPartialCountersMap.EMPTY;
+
+        try {
+            U.log(log, "Requesting partition files [grp=" + grp.cacheOrGroupName() + ", supplier=" + supplier.id() +
+                ", parts=" + S.compact(parts) + ']');
+
+            Map<Integer, Long> sizes = F.first(ctx.kernalContext().closure().broadcast(
+                new PartitionFilesCopyJob(),
+                new PartitionFilesArg(grp.groupId(), ctx.localNodeId(), parts),
+                Collections.singleton(supplier),
+                null
+            ).get());
+
+            for (int p : new TreeSet<>(sizes.keySet())) {
+                if (rebalanceFut.isDone())
+                    break;
+
+                File file = download(p);
+
+                if (file != null)
+                    files.put(p, file);
+            }
+
+            if (!files.isEmpty() && !rebalanceFut.isDone())
+                installed = install(files);
+
+            U.log(log, "Installed partition files [grp=" + grp.cacheOrGroupName() + ", supplier=" + supplier.id() +
+                ", parts=" + S.compact(installed.size() == 0 ? Collections.emptySet() : installedParts(installed)) +
+                ']');
+        }
+        catch (Throwable e) {
+            U.warn(log, "Failed to rebalance partition files, partitions will be rebalanced by entries [grp=" +
+                grp.cacheOrGroupName() + ", supplier=" + supplier.id() + ", err=" + e + ']');
+        }
+        finally {
+            // Installed files are moved, the rest is not needed anymore.
+            for (File file : files.values())
+                U.delete(file);
+
+            fut.onDone(installed);
+        }
+    }
+
+    /**
+     * Downloads a partition file from the supplier.
+     *
+     * @param p Partition ID.
+     * @return Downloaded file or {@code null} if failed.
+     * @throws IgniteCheckedException If failed.
+     */
+    @Nullable private File download(int p) throws IgniteCheckedException {
+        File dir = ((FilePageStoreManager)ctx.pageStore()).cacheWorkDir(grp.sharedGroup(), grp.cacheOrGroupName());
+
+        File file = new File(dir, String.format(PART_FILE_TEMPLATE, p) + TMP_SUFFIX);
+
+        FileDownloader downloader = new FileDownloader(log, file.toPath());
+
+        int port = downloader.start().getPort();
+
+        Collection<InetSocketAddress> addrs = new ArrayList<>();
+
+        for (String host : ctx.localNode().addresses())
+            addrs.add(new InetSocketAddress(host, port));
+
+        ctx.kernalContext().closure().broadcast(
+            new PartitionFileUploadJob(),
+            new PartitionFileUploadArg(grp.groupId(), ctx.localNodeId(), p, addrs),
+            Collections.singleton(supplier),
+            null
+        ).listen(f -> {
+            try {
+                downloader.onResult(F.first(f.get()), null);
+            }
+            catch (IgniteCheckedException e) {
+                downloader.onResult(0, e);
+            }
+        });
+
+        downloader.download();
+
+        try {
+            downloader.finishFuture().get();
+
+            return file;
+        }
+        catch (IgniteCheckedException e) {
+            U.warn(log, "Failed to download partition file [grp=" + grp.cacheOrGroupName() + ", part=" + p +
+                ", supplier=" + supplier.id() + ", err=" + e + ']');
+
+            U.delete(file);
+
+            return null;
+        }
+    }
+
+    /**
+     * Installs the downloaded files at the next checkpoint, so no page of the partitions is modified concurrently.
+     *
+     * @param files Downloaded files by partition IDs.
+     * @return Counters of the installed partitions.
+     * @throws IgniteCheckedException If failed.
+     */
+    private CachePartitionPartialCountersMap install(Map<Integer, File> files) throws IgniteCheckedException {
+        GridCacheDatabaseSharedManager db = (GridCacheDatabaseSharedManager)ctx.database();
+
+        GridCacheOffheapManager offheap = (GridCacheOffheapManager)grp.offheap();
+
+        // Counters the supplier is known to have, the file may be older.
+        CachePartitionFullCountersMap cntrs = grp.topology().fullUpdateCounters();
+
+        CachePartitionPartialCountersMap installed = new CachePartitionPartialCountersMap(files.size());
+
+        DbCheckpointListener lsnr = new DbCheckpointListener() {
+            /** {@inheritDoc} */
+            @Override public void onMarkCheckpointBegin(Context cpCtx) throws IgniteCheckedException {
+                db.removeCheckpointListener(this);
+
+                for (Map.Entry<Integer, File> e : files.entrySet()) {
+                    int p = e.getKey();
+
+                    GridDhtLocalPartition part = grp.topology().localPartition(p);
+
+                    // Rebalance may be cancelled and the partition may be evicted while the file is downloaded.
+                    if (rebalanceFut.isDone() || part == null || part.state() != MOVING)
+                        continue;
+
+                    // Updates applied to the replaced file are rebalanced from history too.
+                    long lostCntr = part.updateCounter();
+
+                    offheap.replacePartitionFile(p, e.getValue());
+
+                    installed.add(p, part.updateCounter(), Math.max(lostCntr, cntrs.updateCounter(p)));
+                }
+            }
+
+            /** {@inheritDoc} */
+            @Override public void onCheckpointBegin(Context cpCtx) {
+                // No-op.
+            }
+
+            /** {@inheritDoc} */
+            @Override public void beforeCheckpointBegin(Context cpCtx) {
+                // No-op.
+            }
+        };
+
+        db.addCheckpointListener(lsnr);
+
+        try {
+            CheckpointProgress progress = db.forceCheckpoint("install partition files [grp=" +
+                grp.cacheOrGroupName() + ']');
+
+            progress.futureFor(LOCK_RELEASED).get();
+        }
+        finally {
+            db.removeCheckpointListener(lsnr);
+        }
+
+        return installed;
+    }
+
+    /**
+     * Releases the files and the WAL history reserved on the supplier.
+     */
+    private void release() {
+        if (ctx.discovery().node(supplier.id()) == null)
+            return;
+
+        ctx.kernalContext().closure().broadcast(
+            new PartitionFilesReleaseJob(),
+            new PartitionFilesArg(grp.groupId(), ctx.localNodeId(), Collections.emptySet()),
+            Collections.singleton(supplier),
+            null
+        ).listen(f -> {
+            if (f.error() != null && log.isDebugEnabled())
+                log.debug("Failed to release partition files on supplier [grp=" + grp.cacheOrGroupName() +
+                    ", supplier=" + supplier.id() + ", err=" + f.error() + ']');
+        });
+    }
+
+    /**
+     * @param cntrs Partition counters.
+     * @return Partition IDs.
+     */
+    private static Collection<Integer> installedParts(CachePartitionPartialCountersMap cntrs) {
+        Collection<Integer> res = new ArrayList<>(cntrs.size());
+
+        for (int i = 0; i < cntrs.size(); i++)
+            res.add(cntrs.partitionAt(i));
+
+        return res;
+    }
+
+    /**
+     * @param ignite Ignite.
+     * @param grpId Cache group ID.
+     * @return Supplier of the group on the local node.
+     * @throws IgniteCheckedException If the group is not started.
+     */
+    private static GridDhtPartitionSupplier localSupplier(IgniteEx ignite, int grpId) throws IgniteCheckedException {
+        CacheGroupContext grp = ignite.context().cache().cacheGroup(grpId);
+
+        if (grp == null)
+            throw new IgniteCheckedException("Cache group is not started: " + grpId);
+
+        return ((GridDhtPreloader)grp.preloader()).supplier();
+    }
+
+    /**
+     * Copies partition files on the supplier.
+     */
+    @GridInternal
+    private static class PartitionFilesCopyJob implements IgniteClosure<PartitionFilesArg, Map<Integer, Long>> {
+        /** */
+        private static final long serialVersionUID = 0L;
+
+        /** */
+        @IgniteInstanceResource
+        private transient IgniteEx ignite;
+
+        /** {@inheritDoc} */
+        @Override public Map<Integer, Long> apply(PartitionFilesArg arg) {
+            try {
+                return localSupplier(ignite, arg.grpId).copyPartitionFiles(arg.demanderId, arg.parts);
+            }
+            catch (IgniteCheckedException e) {
+                throw U.convertException(e);
+            }
+        }
+    }
+
+    /**
+     * Sends a copied partition file to the demander.
+     */
+    @GridInternal
+    private static class PartitionFileUploadJob implements IgniteClosure<PartitionFileUploadArg, Long> {
+        /** */
+        private static final long serialVersionUID = 0L;
+
+        /** */
+        @IgniteInstanceResource
+        private transient IgniteEx ignite;
+
+        /** {@inheritDoc} */
+        @Override public Long apply(PartitionFileUploadArg arg) {
+            try {
+                return localSupplier(ignite, arg.grpId).uploadPartitionFile(arg.demanderId, arg.part, arg.addrs);
+            }
+            catch (IgniteCheckedException e) {
+                throw U.convertException(e);
+            }
+        }
+    }
+
+    /**
+     * Releases the partition files and the WAL history reserved on the supplier.
+     */
+    @GridInternal
+    private static class PartitionFilesReleaseJob implements IgniteClosure<PartitionFilesArg, Void> {
+        /** */
+        private static final long serialVersionUID = 0L;
+
+        /** */
+        @IgniteInstanceResource
+        private transient IgniteEx ignite;
+
+        /** {@inheritDoc} */
+        @Override public Void apply(PartitionFilesArg arg) {
+            CacheGroupContext grp = ignite.context().cache().cacheGroup(arg.grpId);
+
+            if (grp != null)
+                ((GridDhtPreloader)grp.preloader()).supplier().releasePartitionFiles(arg.demanderId);
+
+            return null;
+        }
+    }
+
+    /**
+     * Argument of the partition files jobs.
+     */
+    private static class PartitionFilesArg implements Serializable {
+        /** */
+        private static final long serialVersionUID = 0L;
+
+        /** Cache group ID. */
+        private final int grpId;
+
+        /** Demander node ID. */
+        private final UUID demanderId;
+
+        /** Partitions. */
+        private final Set<Integer> parts;
+
+        /**
+         * @param grpId Cache group ID.
+         * @param demanderId Demander node ID.
+         * @param parts Partitions.
+         */
+        private PartitionFilesArg(int grpId, UUID demanderId, Set<Integer> parts) {
+            this.grpId = grpId;
+            this.demanderId = demanderId;
+            this.parts = parts;
+        }
+    }
+
+    /**
+     * Argument of the partition file upload job.
+     */
+    private static class PartitionFileUploadArg implements Serializable {
+        /** */
+        private static final long serialVersionUID = 0L;
+
+        /** Cache group ID. */
+        private final int grpId;
+
+        /** Demander node ID. */
+        private final UUID demanderId;
+
+        /** Partition ID. */
+        private final int part;
+
+        /** Addresses the demander waits for the file on. */
+        private final Collection<InetSocketAddress> addrs;
+
+        /**
+         * @param grpId Cache group ID.
+         * @param demanderId Demander node ID.
+         * @param part Partition ID.
+         * @param addrs Addresses the demander waits for the file on.
+         */
+        private PartitionFileUploadArg(int grpId, UUID demanderId, int part, Collection<InetSocketAddress> addrs) {
+            this.grpId = grpId;
+            this.demanderId = demanderId;
+            this.part = part;
+            this.addrs = addrs;
+        }
+    }
+}
@@ -27,6 +27,7 @@ import java.util.Map;
 import java.util.NavigableSet;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.AtomicReference;
@@ -37,6 +38,7 @@ import java.util.function.Predicate;
 import java.util.stream.Stream;
 import org.apache.ignite.IgniteCheckedException;
 import org.apache.ignite.IgniteLogger;
+import org.apache.ignite.IgniteSystemProperties;
 import org.apache.ignite.cache.CacheRebalanceMode;
 import org.apache.ignite.cluster.ClusterNode;
 import org.apache.ignite.configuration.CacheConfiguration;
@@ -86,6 +88,7 @@ import static java.util.Objects.isNull;
 import static java.util.Objects.nonNull;
 import static java.util.stream.Collectors.toMap;
 import static java.util.stream.Collectors.toSet;
+import static org.apache.ignite.IgniteSystemProperties.IGNITE_REBALANCE_PARALLEL_APPLY;
 import static org.apache.ignite.events.EventType.EVT_CACHE_REBALANCE_OBJECT_LOADED;
 import static org.apache.ignite.events.EventType.EVT_CACHE_REBALANCE_PART_LOADED;
 import static org.apache.ignite.events.EventType.EVT_CACHE_REBALANCE_STARTED;
@@ -135,6 +138,9 @@ public class GridDhtPartitionDemander {
     @GridToStringExclude
     @Nullable private final RebalanceStatistics totalRebStat;
 
+    /** Whether partitions of a supply message are applied in parallel by the rebalance pool. */
+    private final boolean parallelApply = IgniteSystemProperties.getBoolean(IGNITE_REBALANCE_PARALLEL_APPLY, true);
+
     /**
      * @param grp Ccahe group.
      */
@@ -533,101 +539,16 @@ public class GridDhtPartitionDemander {
                 }
             }
 
-            GridDhtPartitionTopology top = grp.topology();
-
             try {
                 AffinityAssignment aff = grp.affinity().cachedAffinity(topVer);
 
-                //Counters of rebalanced entries and bytes.
-                AtomicLong entryCnt = new AtomicLong();
-                AtomicLong byteCnt = new AtomicLong();
-
-                // Preload.
-                for (Map.Entry<Integer, CacheEntryInfoCollection> e : supplyMsg.infos().entrySet()) {
-                    int p = e.getKey();
-
-                    if (aff.get(p).contains(ctx.localNode())) {
-                        GridDhtLocalPartition part;
-
-                        try {
-                            part = top.localPartition(p, topVer, true);
-                        }
-                        catch (GridDhtInvalidPartitionException err) {
-                            assert !topVer.equals(top.lastTopologyChangeVersion());
-
-                            if (log.isDebugEnabled()) {
-                                log.debug("Failed to get partition for rebalancing [" +
-                                    "grp=" + grp.cacheOrGroupName() +
-                                    ", err=" + err +
-                                    ", p=" + p +
-                                    ", topVer=" + topVer +
-                                    ", lastTopVer=" + top.lastTopologyChangeVersion() + ']');
-                            }
-
-                            continue;
-                        }
-
-                        assert part != null;
-
-                        boolean last = supplyMsg.last().containsKey(p);
-
-                        if (part.state() == MOVING) {
-                            boolean reserved = part.reserve();
-
-                            assert reserved : "Failed to reserve partition [igniteInstanceName=" +
-                                ctx.igniteInstanceName() + ", grp=" + grp.cacheOrGroupName() + ", part=" + part + ']';
-
-                            part.beforeApplyBatch(last);
-
-                            try {
-                                CacheEntryInfoCollection entryInfoCol = e.getValue();
-                                Iterator<GridCacheEntryInfo> infos = entryInfoCol.infos().iterator();
-
-                                entryCnt.set(0);
-                                byteCnt.set(0);
-
-                                if (grp.mvccEnabled())
-                                    mvccPreloadEntries(topVer, supplierNode, p, infos, entryCnt, byteCnt);
-                                else
-                                    preloadEntries(topVer, supplierNode, p, infos, entryCnt, byteCnt);
+                Map<Integer, CacheEntryInfoCollection> infos = supplyMsg.infos();
 
-                                if (nonNull(rebalanceStat)) {
-                                    rebalanceStat.update(
-                                        supplierNode,
-                                        p,
-                                        entryInfoCol.historical(),
-                                        entryCnt.get(),
-                                        byteCnt.get()
-                                    );
-                                }
-
-                                rebalanceFut.processed.get(p).increment();
-
-                                // If message was last for this partition,
-                                // then we take ownership.
-                                if (last)
-                                    ownPartition(rebalanceFut, part, supplierNodeId, supplyMsg);
-                            }
-                            finally {
-                                part.release();
-                            }
-                        }
-                        else {
-                            if (last)
-                                rebalanceFut.partitionDone(supplierNodeId, p, false);
-
-                            if (log.isDebugEnabled())
-                                log.debug("Skipping rebalancing partition (state is not MOVING): " +
-                                    "[" + demandRoutineInfo(supplierNodeId, supplyMsg) + ", p=" + p + ']');
-                        }
-                    }
-                    else {
-                        rebalanceFut.partitionDone(supplierNodeId, p, false);
-
-                        if (log.isDebugEnabled())
-                            log.debug("Skipping rebalancing partition (affinity changed): " +
-                                "[" + demandRoutineInfo(supplierNodeId, supplyMsg) + ", p=" + p + ']');
-                    }
+                if (parallelApply && infos.size() > 1)
+                    preloadPartitionsParallel(rebalanceFut, supplierNode, supplyMsg, aff, infos);
+                else {
+                    for (Map.Entry<Integer, CacheEntryInfoCollection> e : infos.entrySet())
+                        preloadPartition(rebalanceFut, supplierNode, supplyMsg, aff, e.getKey(), e.getValue());
                 }
 
                 // Only request partitions based on latest topology version.
@@ -687,6 +608,203 @@ public class GridDhtPartitionDemander {
         }
     }
 
+    /**
+     * Applies partitions of a supply message in parallel. The partitions are shared by the calling thread and helper
+     * tasks submitted to the rebalance pool: every thread takes the next partition which is not taken yet. So the
+     * calling thread never waits for a helper which is not started yet, and handlers of supply messages of other
+     * groups can't exhaust the pool waiting for each other.
+     *
+     * @param fut Rebalance future.
+     * @param supplierNode Supplier node.
+     * @param supplyMsg Supply message.
+     * @param aff Affinity assignment of the message topology version.
+     * @param infos Entries of the partitions.
+     * @throws IgniteCheckedException If failed.
+     */
+    private void preloadPartitionsParallel(
+        RebalanceFuture fut,
+        ClusterNode supplierNode,
+        GridDhtPartitionSupplyMessage supplyMsg,
+        AffinityAssignment aff,
+        Map<Integer, CacheEntryInfoCollection> infos
+    ) throws IgniteCheckedException {
+        List<Map.Entry<Integer, CacheEntryInfoCollection>> parts = new ArrayList<>(infos.entrySet());
+
+        List<GridFutureAdapter<Object>> partFuts = new ArrayList<>(parts.size());
+
+        for (int i = 0; i < parts.size(); i++)
+            partFuts.add(new GridFutureAdapter<>());
+
+        AtomicInteger nextPart = new AtomicInteger();
+
+        // Supply messages of a supplier are handled one by one, so a partition is never applied concurrently.
+        Runnable applier = () -> {
+            for (int i = nextPart.getAndIncrement(); i < parts.size(); i = nextPart.getAndIncrement()) {
+                Map.Entry<Integer, CacheEntryInfoCollection> e = parts.get(i);
+
+                try {
+                    preloadPartition(fut, supplierNode, supplyMsg, aff, e.getKey(), e.getValue());
+
+                    partFuts.get(i).onDone();
+                }
+                catch (IgniteCheckedException | IgniteSpiException err) {
+                    partFuts.get(i).onDone(err);
+                }
+                catch (Throwable err) {
+                    partFuts.get(i).onDone(err);
+
+                    throw err;
+                }
+            }
+        };
+
+        int helpers = Math.min(parts.size(), ctx.gridConfig().getRebalanceThreadPoolSize()) - 1;
+
+        for (int i = 0; i < helpers; i++) {
+            try {
+                ctx.kernalContext().getRebalanceExecutorService().execute(applier);
+            }
+            catch (RejectedExecutionException ignored) {
+                // Pool is stopped, the rest of the partitions are applied by the calling thread.
+                break;
+            }
+        }
+
+        applier.run();
+
+        // All the partitions are taken at this point, the rest of them are being applied by the started helpers.
+        IgniteCheckedException err = null;
+
+        for (GridFutureAdapter<Object> partFut : partFuts) {
+            try {
+                partFut.get();
+            }
+            catch (IgniteCheckedException e) {
+                if (err == null)
+                    err = e;
+                else
+                    err.addSuppressed(e);
+            }
+        }
+
+        if (err != null)
+            throw err;
+    }
+
+    /**
+     * Applies entries of a partition received in a supply message.
+     *
+     * @param fut Rebalance future.
+     * @param supplierNode Supplier node.
+     * @param supplyMsg Supply message.
+     * @param aff Affinity assignment of the message topology version.
+     * @param p Partition ID.
+     * @param entryInfoCol Entries of the partition.
+     * @throws IgniteCheckedException If failed.
+     */
+    private void preloadPartition(
+        RebalanceFuture fut,
+        ClusterNode supplierNode,
+        GridDhtPartitionSupplyMessage supplyMsg,
+        AffinityAssignment aff,
+        int p,
+        CacheEntryInfoCollection entryInfoCol
+    ) throws IgniteCheckedException {
+        AffinityTopologyVersion topVer = supplyMsg.topologyVersion();
+        UUID supplierNodeId = supplierNode.id();
+
+        if (!aff.get(p).contains(ctx.localNode())) {
+            fut.partitionDone(supplierNodeId, p, false);
+
+            if (log.isDebugEnabled())
+                log.debug("Skipping rebalancing partition (affinity changed): " +
+                    "[" + demandRoutineInfo(supplierNodeId, supplyMsg) + ", p=" + p + ']');
+
+            return;
+        }
+
+        GridDhtPartitionTopology top = grp.topology();
+
+        GridDhtLocalPartition part;
+
+        try {
+            part = top.localPartition(p, topVer, true);
+        }
+        catch (GridDhtInvalidPartitionException err) {
+            assert !topVer.equals(top.lastTopologyChangeVersion());
+
+            if (log.isDebugEnabled()) {
+                log.debug("Failed to get partition for rebalancing [" +
+                    "grp=" + grp.cacheOrGroupName() +
+                    ", err=" + err +
+                    ", p=" + p +
+                    ", topVer=" + topVer +
+                    ", lastTopVer=" + top.lastTopologyChangeVersion() + ']');
+            }
+
+            return;
+        }
+
+        assert part != null;
+
+        boolean last = supplyMsg.last().containsKey(p);
+
+        if (part.state() == MOVING) {
+            boolean reserved = part.reserve();
+
+            assert reserved : "Failed to reserve partition [igniteInstanceName=" +
+                ctx.igniteInstanceName() + ", grp=" + grp.cacheOrGroupName() + ", part=" + part + ']';
+
+            part.beforeApplyBatch(last);
+
+            try {
+                Iterator<GridCacheEntryInfo> infos = entryInfoCol.infos().iterator();
+
+                //Counters of rebalanced entries and bytes.
+                AtomicLong entryCnt = new AtomicLong();
+                AtomicLong byteCnt = new AtomicLong();
+
+                long startTime = System.nanoTime();
+
+                if (grp.mvccEnabled())
+                    mvccPreloadEntries(topVer, supplierNode, p, infos, entryCnt, byteCnt);
+                else
+                    preloadEntries(topVer, supplierNode, p, infos, entryCnt, byteCnt);
+
+                RebalanceStatistics rebalanceStat = fut.stat;
+
+                if (nonNull(rebalanceStat)) {
+                    rebalanceStat.update(
+                        supplierNode,
+                        p,
+                        entryInfoCol.historical(),
+                        entryCnt.get(),
+                        byteCnt.get(),
+                        System.nanoTime() - startTime
+                    );
+                }
+
+                fut.processed.get(p).increment();
+
+                // If message was last for this partition,
+                // then we take ownership.
+                if (last)
+                    ownPartition(fut, part, supplierNodeId, supplyMsg);
+            }
+            finally {
+                part.release();
+            }
+        }
+        else {
+            if (last)
+                fut.partitionDone(supplierNodeId, p, false);
+
+            if (log.isDebugEnabled())
+                log.debug("Skipping rebalancing partition (state is not MOVING): " +
+                    "[" + demandRoutineInfo(supplierNodeId, supplyMsg) + ", p=" + p + ']');
+        }
+    }
+
     /**
      * @param fut Future.
      * @param part Partition.
@@ -1337,46 +1455,115 @@ public class GridDhtPartitionDemander {
                         if (isDone())
                             return;
 
-                        try {
-                            if (log.isInfoEnabled())
-                                log.info("Starting rebalance routine [" + grp.cacheOrGroupName() +
-                                    ", topVer=" + topVer +
-                                    ", supplier=" + supplierNode.id() +
-                                    ", fullPartitions=" + S.compact(parts.fullSet()) +
-                                    ", histPartitions=" + S.compact(parts.historicalSet()) + "]");
+                        Set<Integer> fileParts = FileRebalanceRoutine.filePartitions(grp, parts.fullSet());
 
-                            if (availablePrintRebalanceStatistics())
-                                stat.start(supplierNode, U.currentTimeMillis());
+                        if (fileParts.isEmpty()) {
+                            demand(supplierNode, d, parts);
 
-                            ctx.io().sendOrderedMessage(supplierNode, d.topic(),
-                                d.convertIfNeeded(supplierNode.version()), grp.ioPolicy(), d.timeout());
-
-                            // Cleanup required in case partitions demanded in parallel with cancellation.
-                            synchronized (this) {
-                                if (isDone())
-                                    cleanupRemoteContexts(supplierNode.id());
-                            }
+                            return;
                         }
-                        catch (IgniteCheckedException e1) {
-                            ClusterTopologyCheckedException cause = e1.getCause(ClusterTopologyCheckedException.class);
 
-                            if (cause != null)
-                                log.warning("Failed to send initial demand request to node. " + e1.getMessage());
-                            else
-                                log.error("Failed to send initial demand request to node.", e1);
-
-                            cancel();
-                        }
-                        catch (Throwable th) {
-                            log.error("Runtime error caught during initial demand request sending.", th);
+                        // Partition files are installed first, the rest is demanded when they are in place.
+                        new FileRebalanceRoutine(grp, supplierNode, fileParts, this).start().listen(
+                            installFut -> ctx.kernalContext().closure().runLocalSafe(() -> {
+                                onPartitionFilesInstalled(supplierNode, parts, installFut.result());
 
-                            cancel();
-                        }
+                                demand(supplierNode, d, parts);
+                            }, true));
                     }, true));
                 }
             }
         }
 
+        /**
+         * Sends the demand message to the supplier.
+         *
+         * @param supplierNode Supplier node.
+         * @param d Demand message.
+         * @param parts Partitions demanded from the supplier.
+         */
+        private void demand(ClusterNode supplierNode, GridDhtPartitionDemandMessage d,
+            IgniteDhtDemandedPartitionsMap parts) {
+            // All partitions may be done when the installed partition files are up to date.
+            if (isDone() || parts.isEmpty())
+                return;
+
+            try {
+                if (log.isInfoEnabled())
+                    log.info("Starting rebalance routine [" + grp.cacheOrGroupName() +
+                        ", topVer=" + topVer +
+                        ", supplier=" + supplierNode.id() +
+                        ", fullPartitions=" + S.compact(parts.fullSet()) +
+                        ", histPartitions=" + S.compact(parts.historicalSet()) + "]");
+
+                if (availablePrintRebalanceStatistics())
+                    stat.start(supplierNode, U.currentTimeMillis());
+
+                ctx.io().sendOrderedMessage(supplierNode, d.topic(),
+                    d.convertIfNeeded(supplierNode.version()), grp.ioPolicy(), d.timeout());
+
+                // Cleanup required in case partitions demanded in parallel with cancellation.
+                synchronized (this) {
+                    if (isDone())
+                        cleanupRemoteContexts(supplierNode.id());
+                }
+            }
+            catch (IgniteCheckedException e1) {
+                ClusterTopologyCheckedException cause = e1.getCause(ClusterTopologyCheckedException.class);
+
+                if (cause != null)
+                    log.warning("Failed to send initial demand request to node. " + e1.getMessage());
+                else
+                    log.error("Failed to send initial demand request to node.", e1);
+
+                cancel();
+            }
+            catch (Throwable th) {
+                log.error("Runtime error caught during initial demand request sending.", th);
+
+                cancel();
+            }
+        }
+
+        /**
+         * Demands the updates of the installed partition files from the history of the supplier. The partitions
+         * which have been installed up to date are done.
+         *
+         * @param supplierNode Supplier node.
+         * @param parts Partitions demanded from the supplier.
+         * @param installed Counters of the installed partitions: the counter of the file and the counter
+         *      to rebalance the partition up to.
+         */
+        private synchronized void onPartitionFilesInstalled(
+            ClusterNode supplierNode,
+            IgniteDhtDemandedPartitionsMap parts,
+            CachePartitionPartialCountersMap installed
+        ) {
+            if (isDone() || installed.isEmpty())
+                return;
+
+            CachePartitionPartialCountersMap hist = new CachePartitionPartialCountersMap(installed.size());
+
+            List<Integer> upToDate = new ArrayList<>();
+
+            for (int i = 0; i < installed.size(); i++) {
+                int p = installed.partitionAt(i);
+
+                if (installed.initialUpdateCounterAt(i) < installed.updateCounterAt(i)) {
+                    hist.add(p, installed.initialUpdateCounterAt(i), installed.updateCounterAt(i));
+
+                    historical.add(p);
+                }
+                else
+                    upToDate.add(p);
+            }
+
+            parts.fullToHistorical(hist, grp.affinity().partitions());
+
+            for (int p : upToDate)
+                partitionDone(supplierNode.id(), p, true);
+        }
+
         /**
          * Creates future which will be completed when all {@code fullPartitions} are cleared.
          *
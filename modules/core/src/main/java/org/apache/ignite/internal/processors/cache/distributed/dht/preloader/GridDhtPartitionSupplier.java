@@ -16,6 +16,10 @@
 
 package org.apache.ignite.internal.processors.cache.distributed.dht.preloader;
 
+import java.io.File;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.channels.SocketChannel;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
@@ -35,10 +39,12 @@ import org.apache.ignite.failure.FailureContext;
 import org.apache.ignite.failure.FailureType;
 import org.apache.ignite.internal.IgniteNodeAttributes;
 import org.apache.ignite.internal.cluster.ClusterTopologyCheckedException;
+import org.apache.ignite.internal.pagemem.wal.WALPointer;
 import org.apache.ignite.internal.processors.affinity.AffinityTopologyVersion;
 import org.apache.ignite.internal.processors.cache.CacheGroupContext;
 import org.apache.ignite.internal.processors.cache.GridCacheEntryInfo;
 import org.apache.ignite.internal.processors.cache.GridCacheMvccEntryInfo;
+import org.apache.ignite.internal.processors.cache.GridCacheSharedContext;
 import org.apache.ignite.internal.processors.cache.IgniteRebalanceIterator;
 import org.apache.ignite.internal.processors.cache.distributed.dht.topology.GridDhtLocalPartition;
 import org.apache.ignite.internal.processors.cache.distributed.dht.topology.GridDhtPartitionState;
@@ -48,6 +54,12 @@ import org.apache.ignite.internal.processors.cache.mvcc.MvccUtils;
 import org.apache.ignite.internal.processors.cache.mvcc.MvccVersionAware;
 import org.apache.ignite.internal.processors.cache.mvcc.txlog.TxState;
 import org.apache.ignite.internal.processors.cache.persistence.CacheDataRow;
+import org.apache.ignite.internal.processors.cache.persistence.GridCacheDatabaseSharedManager;
+import org.apache.ignite.internal.processors.cache.persistence.checkpoint.CheckpointEntry;
+import org.apache.ignite.internal.processors.cache.persistence.checkpoint.CheckpointHistory;
+import org.apache.ignite.internal.processors.cache.persistence.file.FileUploader;
+import org.apache.ignite.internal.processors.cache.persistence.snapshot.FileSnapshotManager;
+import org.apache.ignite.internal.util.future.GridFutureAdapter;
 import org.apache.ignite.internal.util.tostring.GridToStringExclude;
 import org.apache.ignite.internal.util.typedef.F;
 import org.apache.ignite.internal.util.typedef.T3;
@@ -81,6 +93,9 @@ public class GridDhtPartitionSupplier {
     /** Supply context map. T3: nodeId, topicId, topVer. */
     private final Map<T3<UUID, Integer, AffinityTopologyVersion>, SupplyContext> scMap = new HashMap<>();
 
+    /** Partition files copied for the demanders by demander node IDs. */
+    private final Map<UUID, FileSupplyContext> fileCtxs = new HashMap<>();
+
     /**
      * Override for rebalance throttle.
      * @deprecated Use {@link IgniteConfiguration#getRebalanceThrottle()} instead.
@@ -120,6 +135,13 @@ public class GridDhtPartitionSupplier {
                 it.remove();
             }
         }
+
+        synchronized (fileCtxs) {
+            for (FileSupplyContext fctx : fileCtxs.values())
+                fctx.release();
+
+            fileCtxs.clear();
+        }
     }
 
     /**
@@ -167,6 +189,172 @@ public class GridDhtPartitionSupplier {
                 }
             }
         }
+
+        synchronized (fileCtxs) {
+            Collection<UUID> aliveNodes = F.viewReadOnly(grp.shared().discovery().aliveServerNodes(), ClusterNode::id);
+
+            Iterator<Map.Entry<UUID, FileSupplyContext>> it = fileCtxs.entrySet().iterator();
+
+            while (it.hasNext()) {
+                Map.Entry<UUID, FileSupplyContext> e = it.next();
+
+                if (!aliveNodes.contains(e.getKey())) {
+                    e.getValue().release();
+
+                    it.remove();
+                }
+            }
+        }
+    }
+
+    /**
+     * Copies partition files requested by a demander. The WAL is reserved since the last checkpoint before the copy,
+     * so the updates made after the copy can be rebalanced from history. The files previously copied for the same
+     * demander are released.
+     *
+     * @param demanderId Demander node ID.
+     * @param partIds Partitions to copy.
+     * @return Sizes of the copied files by partition IDs, the partitions which can not be copied are absent.
+     * @throws IgniteCheckedException If failed.
+     */
+    Map<Integer, Long> copyPartitionFiles(UUID demanderId, Set<Integer> partIds) throws IgniteCheckedException {
+        GridCacheSharedContext<?, ?> cctx = grp.shared();
+
+        if (!(cctx.snapshot() instanceof FileSnapshotManager)) {
+            throw new IgniteCheckedException("Partition files can not be copied by the snapshot manager: " +
+                cctx.snapshot().getClass().getName());
+        }
+
+        if (!grp.persistenceEnabled() || !grp.walEnabled())
+            throw new IgniteCheckedException("Partition files can not be rebalanced without WAL: " +
+                grp.cacheOrGroupName());
+
+        releasePartitionFiles(demanderId);
+
+        CheckpointHistory cpHist = ((GridCacheDatabaseSharedManager)cctx.database()).checkpointHistory();
+
+        CheckpointEntry cp = cpHist != null ? cpHist.lastCheckpoint() : null;
+
+        if (cp == null || !cctx.wal().reserve(cp.checkpointMark()))
+            throw new IgniteCheckedException("Failed to reserve WAL history for partition files: " +
+                grp.cacheOrGroupName());
+
+        FileSupplyContext fctx = new FileSupplyContext(
+            (FileSnapshotManager)cctx.snapshot(),
+            "rebalance-" + grp.groupId() + "-" + demanderId,
+            cp.checkpointMark()
+        );
+
+        synchronized (fileCtxs) {
+            fileCtxs.put(demanderId, fctx);
+        }
+
+        Map<Integer, File> files;
+
+        try {
+            files = fctx.snpMgr.copyPartitions(grp.groupId(), partIds, fctx.name).get();
+        }
+        catch (IgniteCheckedException e) {
+            releasePartitionFiles(demanderId);
+
+            throw e;
+        }
+
+        synchronized (fileCtxs) {
+            // The demander has left while the files were copied.
+            if (fileCtxs.get(demanderId) != fctx) {
+                fctx.release();
+
+                throw new IgniteCheckedException("Partition files are released: " + demanderId);
+            }
+
+            fctx.files = files;
+        }
+
+        Map<Integer, Long> sizes = new HashMap<>();
+
+        for (Map.Entry<Integer, File> e : files.entrySet())
+            sizes.put(e.getKey(), e.getValue().length());
+
+        if (log.isInfoEnabled()) {
+            log.info("Copied partition files for rebalancing [grp=" + grp.cacheOrGroupName() +
+                ", demander=" + demanderId + ", parts=" + S.compact(sizes.keySet()) + ']');
+        }
+
+        return sizes;
+    }
+
+    /**
+     * Sends a copied partition file to a demander. The copy is deleted once it is sent.
+     *
+     * @param demanderId Demander node ID.
+     * @param partId Partition ID.
+     * @param addrs Addresses the demander waits for the file on.
+     * @return Number of bytes sent.
+     * @throws IgniteCheckedException If failed.
+     */
+    long uploadPartitionFile(UUID demanderId, int partId, Collection<InetSocketAddress> addrs)
+        throws IgniteCheckedException {
+        File file = null;
+
+        synchronized (fileCtxs) {
+            FileSupplyContext fctx = fileCtxs.get(demanderId);
+
+            if (fctx != null && fctx.files != null)
+                file = fctx.files.get(partId);
+        }
+
+        if (file == null)
+            throw new IgniteCheckedException("Partition file is not copied [grp=" + grp.cacheOrGroupName() +
+                ", part=" + partId + ", demander=" + demanderId + ']');
+
+        SocketChannel ch = null;
+
+        IOException err = null;
+
+        for (InetSocketAddress addr : addrs) {
+            try {
+                ch = SocketChannel.open(addr);
+
+                break;
+            }
+            catch (IOException e) {
+                if (err == null)
+                    err = e;
+                else
+                    err.addSuppressed(e);
+            }
+        }
+
+        if (ch == null)
+            throw new IgniteCheckedException("Failed to connect to demander [demander=" + demanderId +
+                ", addrs=" + addrs + ']', err);
+
+        GridFutureAdapter<Long> fut = new GridFutureAdapter<>();
+
+        new FileUploader(file.toPath(), log).upload(ch, fut);
+
+        long size = fut.get();
+
+        U.delete(file);
+
+        return size;
+    }
+
+    /**
+     * Deletes the partition files copied for a demander and releases the reserved WAL history.
+     *
+     * @param demanderId Demander node ID.
+     */
+    void releasePartitionFiles(UUID demanderId) {
+        FileSupplyContext fctx;
+
+        synchronized (fileCtxs) {
+            fctx = fileCtxs.remove(demanderId);
+        }
+
+        if (fctx != null)
+            fctx.release();
     }
 
     /**
@@ -690,6 +878,49 @@ public class GridDhtPartitionSupplier {
         }
     }
 
+    /**
+     * Partition files copied for a demander.
+     */
+    private class FileSupplyContext {
+        /** Snapshot manager which has copied the files. */
+        private final FileSnapshotManager snpMgr;
+
+        /** Name of the copy. */
+        private final String name;
+
+        /** Reserved WAL pointer. */
+        private final WALPointer reserved;
+
+        /** Copied files by partition IDs, {@code null} until the files are copied. */
+        private Map<Integer, File> files;
+
+        /**
+         * @param snpMgr Snapshot manager which copies the files.
+         * @param name Name of the copy.
+         * @param reserved Reserved WAL pointer.
+         */
+        FileSupplyContext(FileSnapshotManager snpMgr, String name, WALPointer reserved) {
+            this.snpMgr = snpMgr;
+            this.name = name;
+            this.reserved = reserved;
+        }
+
+        /**
+         * Deletes the copied files and releases the reserved WAL history.
+         */
+        void release() {
+            snpMgr.deletePartitionCopies(name);
+
+            try {
+                grp.shared().wal().release(reserved);
+            }
+            catch (IgniteCheckedException e) {
+                U.error(log, "Failed to release WAL history reserved for partition files [grp=" +
+                    grp.cacheOrGroupName() + ", ptr=" + reserved + ']', e);
+            }
+        }
+    }
+
     /**
      * Supply context.
      */
@@ -80,6 +80,43 @@ public class IgniteDhtDemandedPartitionsMap implements Serializable {
         full.add(partId);
     }
 
+    /**
+     * Moves partitions demanded with all current data to the partitions demanded from history.
+     *
+     * @param cntrs Counters to demand the partitions from history with.
+     * @param partCnt Maximum possible partition count.
+     */
+    public void fullToHistorical(CachePartitionPartialCountersMap cntrs, int partCnt) {
+        CachePartitionPartialCountersMap old = historicalMap();
+
+        CachePartitionPartialCountersMap hist = new CachePartitionPartialCountersMap(partCnt);
+
+        int i = 0;
+        int j = 0;
+
+        // Both maps are sorted by partition IDs, so is the merged one.
+        while (i < old.size() || j < cntrs.size()) {
+            if (j == cntrs.size() || (i < old.size() && old.partitionAt(i) < cntrs.partitionAt(j))) {
+                hist.add(old.partitionAt(i), old.initialUpdateCounterAt(i), old.updateCounterAt(i));
+
+                i++;
+            }
+            else {
+                int partId = cntrs.partitionAt(j);
+
+                boolean rmv = full != null && full.remove(partId);
+
+                assert rmv : partId;
+
+                hist.add(partId, cntrs.initialUpdateCounterAt(j), cntrs.updateCounterAt(j));
+
+                j++;
+            }
+        }
+
+        historical = hist;
+    }
+
     /**
      * Removes partition.
      * @param partId Partition ID.
@@ -120,6 +120,20 @@ public class RebalanceStatistics {
         supplierRebalanceStatistics(supplierNode).update(hist, p, e, b);
     }
 
+    /**
+     * Updating statistics for supplier.
+     *
+     * @param supplierNode Supplier node.
+     * @param p            Partition id.
+     * @param hist         Historical or full rebalance.
+     * @param e            Count of entries.
+     * @param b            Count of bytes.
+     * @param t            Time spent applying entries in nanoseconds.
+     */
+    public void update(ClusterNode supplierNode, int p, boolean hist, long e, long b, long t) {
+        supplierRebalanceStatistics(supplierNode).update(hist, p, e, b, t);
+    }
+
     /**
      * Merging statistics, without {@link SupplierRebalanceStatistics#partitions}.
      *
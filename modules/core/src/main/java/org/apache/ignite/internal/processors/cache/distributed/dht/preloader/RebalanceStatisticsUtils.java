@@ -54,7 +54,7 @@ public class RebalanceStatisticsUtils {
 
     /** Supplier statistics aliases. */
     private static final String SUP_STAT_ALIASES = "Aliases: p - partitions, e - entries, b - bytes, d - duration, " +
-        "h - historical, nodeId mapping (nodeId=id,consistentId) ";
+        "h - historical, r - entries applied per second, nodeId mapping (nodeId=id,consistentId) ";
 
     /**
      * Private constructor.
@@ -107,7 +107,9 @@ public class RebalanceStatisticsUtils {
             long fe = supStat.fullEntries(), he = supStat.histEntries();
             long fb = supStat.fullBytes(), hb = supStat.histBytes();
 
-            sb.a(supInfo(nodeId++, fp, hp, fe, he, fb, hb, supStat.start(), supStat.end()));
+            long ft = supStat.fullApplyTime(), ht = supStat.histApplyTime();
+
+            sb.a(supInfo(nodeId++, fp, hp, fe, he, fb, hb, ft, ht, supStat.start(), supStat.end()));
         }
 
         sb.a(SUP_STAT_ALIASES);
@@ -204,9 +206,10 @@ public class RebalanceStatisticsUtils {
             long fp = supStat.fullParts(), hp = supStat.histParts();
             long fe = supStat.fullEntries(), he = supStat.histEntries();
             long fb = supStat.fullBytes(), hb = supStat.histBytes();
+            long ft = supStat.fullApplyTime(), ht = supStat.histApplyTime();
             long s = supStat.start(), e = supStat.end();
 
-            sb.a(supInfo(nodeId++, fp, hp, fe, he, fb, hb, s, e));
+            sb.a(supInfo(nodeId++, fp, hp, fe, he, fb, hb, ft, ht, s, e));
         }
 
         sb.a(SUP_STAT_ALIASES);
@@ -240,11 +243,25 @@ public class RebalanceStatisticsUtils {
      * @param he Counter of entries received by historical rebalance.
      * @param fb Counter of bytes received by full rebalance.
      * @param hb Counter of bytes received by historical rebalance.
+     * @param ft Time spent applying entries received by full rebalance in nanoseconds.
+     * @param ht Time spent applying entries received by historical rebalance in nanoseconds.
      * @param s Start time of rebalance in milliseconds.
      * @param e End time of rebalance in milliseconds.
      * @return Supplier info string.
      */
-    private static String supInfo(int nodeId, long fp, long hp, long fe, long he, long fb, long hb, long s, long e) {
+    private static String supInfo(
+        int nodeId,
+        long fp,
+        long hp,
+        long fe,
+        long he,
+        long fb,
+        long hb,
+        long ft,
+        long ht,
+        long s,
+        long e
+    ) {
         SB sb = new SB();
         sb.a("[nodeId=").a(nodeId);
 
@@ -266,9 +283,26 @@ public class RebalanceStatisticsUtils {
         if (hb > 0)
             sb.a(", hb=").a(hb);
 
+        if (fe > 0 && ft > 0)
+            sb.a(", r=").a(rate(fe, ft));
+
+        if (he > 0 && ht > 0)
+            sb.a(", hr=").a(rate(he, ht));
+
         return sb.a(", d=").a(e - s).a(" ms] ").toString();
     }
 
+    /**
+     * Calculates throughput of applying entries.
+     *
+     * @param entries Count of entries.
+     * @param nanos Time spent applying entries in nanoseconds.
+     * @return Entries applied per second.
+     */
+    private static long rate(long entries, long nanos) {
+        return (long)(entries * 1e9 / nanos);
+    }
+
     /**
      * Creating a string with time information.
      *
@@ -61,6 +61,12 @@ public class SupplierRebalanceStatistics {
     /** Counter of bytes received by historical rebalance. */
     private final LongAdder histBytes = new LongAdder();
 
+    /** Time spent applying entries received by full rebalance in nanoseconds. */
+    private final LongAdder fullApplyTime = new LongAdder();
+
+    /** Time spent applying entries received by historical rebalance in nanoseconds. */
+    private final LongAdder histApplyTime = new LongAdder();
+
     /**
      * Merging statistics of rebalance by supplier, without {@link #partitions}.
      *
@@ -76,6 +82,8 @@ public class SupplierRebalanceStatistics {
         histEntries.add(other.histEntries());
         fullBytes.add(other.fullBytes());
         histBytes.add(other.histBytes());
+        fullApplyTime.add(other.fullApplyTime());
+        histApplyTime.add(other.histApplyTime());
     }
 
     /**
@@ -87,6 +95,19 @@ public class SupplierRebalanceStatistics {
      * @param b    Count of bytes.
      */
     public void update(boolean hist, int p, long e, long b) {
+        update(hist, p, e, b, 0);
+    }
+
+    /**
+     * Updating statistics.
+     *
+     * @param p    Partition id.
+     * @param hist Historical or full rebalance.
+     * @param e    Count of entries.
+     * @param b    Count of bytes.
+     * @param t    Time spent applying entries in nanoseconds.
+     */
+    public void update(boolean hist, int p, long e, long b, long t) {
         Boolean prev = parts.put(p, !hist);
 
         if (isNull(prev))
@@ -94,6 +115,7 @@ public class SupplierRebalanceStatistics {
 
         (hist ? histEntries : fullEntries).add(e);
         (hist ? histBytes : fullBytes).add(b);
+        (hist ? histApplyTime : fullApplyTime).add(t);
 
         end(U.currentTimeMillis());
     }
@@ -199,4 +221,22 @@ public class SupplierRebalanceStatistics {
     public long histBytes() {
         return histBytes.sum();
     }
+
+    /**
+     * Return time spent applying entries received by full rebalance in nanoseconds.
+     *
+     * @return Time spent applying entries received by full rebalance in nanoseconds.
+     */
+    public long fullApplyTime() {
+        return fullApplyTime.sum();
+    }
+
+    /**
+     * Return time spent applying entries received by historical rebalance in nanoseconds.
+     *
+     * @return Time spent applying entries received by historical rebalance in nanoseconds.
+     */
+    public long histApplyTime() {
+        return histApplyTime.sum();
+    }
 }
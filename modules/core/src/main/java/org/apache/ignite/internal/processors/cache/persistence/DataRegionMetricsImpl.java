@@ -24,6 +24,7 @@ import org.apache.ignite.internal.pagemem.PageMemory;
 import org.apache.ignite.internal.processors.metric.GridMetricManager;
 import org.apache.ignite.internal.processors.metric.MetricRegistry;
 import org.apache.ignite.internal.processors.metric.impl.AtomicLongMetric;
+import org.apache.ignite.internal.processors.metric.impl.BooleanMetricImpl;
 import org.apache.ignite.internal.processors.metric.impl.HitRateMetric;
 import org.apache.ignite.internal.processors.metric.impl.LongAdderMetric;
 import org.apache.ignite.internal.util.typedef.internal.U;
@@ -69,12 +70,24 @@ public class DataRegionMetricsImpl implements DataRegionMetrics {
     /** */
     private final LongAdderMetric replacedPages;
 
+    /** Number of page acquisitions served from memory. */
+    private final LongAdderMetric hitPages;
+
     /** */
     private final AtomicLongMetric offHeapSize;
 
     /** */
     private final AtomicLongMetric checkpointBufferSize;
 
+    /** Number of pages to load by warm-up. */
+    private final AtomicLongMetric warmUpPagesTotal;
+
+    /** Number of pages loaded by warm-up. */
+    private final LongAdderMetric warmUpPagesLoaded;
+
+    /** */
+    private final BooleanMetricImpl warmUpInProgress;
+
     /** */
     private volatile boolean metricsEnabled;
 
@@ -169,12 +182,29 @@ public class DataRegionMetricsImpl implements DataRegionMetrics {
         replacedPages = mreg.longAdderMetric("PagesReplaced",
             "Number of pages replaced from last restart.");
 
+        hitPages = mreg.longAdderMetric("PagesHit",
+            "Number of page acquisitions that found the page in memory from last restart.");
+
+        mreg.register("PagesHitRatio",
+            this::pagesHitRatio,
+            "Ratio of page acquisitions that found the page in memory to all acquisitions that required either " +
+                "the page in memory or reading it from persistent storage.");
+
         offHeapSize = mreg.longMetric("OffHeapSize",
             "Offheap size in bytes.");
 
         checkpointBufferSize = mreg.longMetric("CheckpointBufferSize",
             "Checkpoint buffer size in bytes.");
 
+        warmUpPagesTotal = mreg.longMetric("WarmUpPagesTotal",
+            "Number of pages to load into the data region by warm-up on node start.");
+
+        warmUpPagesLoaded = mreg.longAdderMetric("WarmUpPagesLoaded",
+            "Number of pages loaded into the data region by warm-up on node start.");
+
+        warmUpInProgress = mreg.booleanMetric("WarmUpInProgress",
+            "True if warm-up loads pages into the data region.");
+
         mreg.register("EmptyDataPages",
             dataRegionMetricsProvider::emptyDataPages,
             "Calculates empty data pages count for region. It counts only totally free pages that can be reused " +
@@ -380,6 +410,56 @@ public class DataRegionMetricsImpl implements DataRegionMetrics {
             readPages.increment();
     }
 
+    /**
+     * Updates page memory hits.
+     */
+    public void onPageHit() {
+        if (metricsEnabled)
+            hitPages.increment();
+    }
+
+    /**
+     * Updates warm-up metrics on start of warm-up.
+     *
+     * @param pagesTotal Number of pages to load.
+     */
+    public void onWarmUpStarted(long pagesTotal) {
+        if (metricsEnabled) {
+            warmUpPagesTotal.value(pagesTotal);
+            warmUpPagesLoaded.reset();
+            warmUpInProgress.value(true);
+        }
+    }
+
+    /**
+     * Updates number of pages loaded by warm-up.
+     *
+     * @param pages Number of loaded pages.
+     */
+    public void onWarmUpPagesLoaded(int pages) {
+        if (metricsEnabled)
+            warmUpPagesLoaded.add(pages);
+    }
+
+    /**
+     * Updates warm-up metrics on finish of warm-up.
+     */
+    public void onWarmUpFinished() {
+        if (metricsEnabled)
+            warmUpInProgress.value(false);
+    }
+
+    /**
+     * @return Ratio of page memory hits to hits and pages read from the store, {@code 1} if there were no reads yet.
+     */
+    private double pagesHitRatio() {
+        long hits = hitPages.value();
+
+        long total = hits + readPages.value();
+
+        return total == 0 ? 1 : (double)hits / total;
+    }
+
     /**
      * Updates page written.
      */
@@ -552,8 +632,12 @@ public class DataRegionMetricsImpl implements DataRegionMetrics {
         readPages.reset();
         writtenPages.reset();
         replacedPages.reset();
+        hitPages.reset();
         offHeapSize.reset();
         checkpointBufferSize.reset();
+        warmUpPagesTotal.reset();
+        warmUpPagesLoaded.reset();
+        warmUpInProgress.reset();
         allocRate.reset();
         evictRate.reset();
         pageReplaceRate.reset();
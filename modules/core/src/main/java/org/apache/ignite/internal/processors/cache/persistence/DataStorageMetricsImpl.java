@@ -20,6 +20,8 @@ import org.apache.ignite.DataRegionMetrics;
 import org.apache.ignite.internal.pagemem.wal.IgniteWriteAheadLogManager;
 import org.apache.ignite.internal.processors.metric.GridMetricManager;
 import org.apache.ignite.internal.processors.metric.MetricRegistry;
+import org.apache.ignite.internal.processors.metric.impl.DoubleMetricImpl;
+import org.apache.ignite.internal.processors.metric.impl.HistogramMetric;
 import org.apache.ignite.internal.processors.metric.impl.HitRateMetric;
 import org.apache.ignite.internal.processors.metric.impl.AtomicLongMetric;
 import org.apache.ignite.internal.util.typedef.F;
@@ -34,6 +36,14 @@ public class DataStorageMetricsImpl implements DataStorageMetricsMXBean {
     /** Prefix for all data storage metrics. */
     public static final String DATASTORAGE_METRIC_PREFIX = "io.datastorage";
 
+    /** Bounds of the WAL group commit batch size histogram. */
+    public static final long[] WAL_FSYNC_BATCH_SIZE_BUCKETS = new long[] {1, 2, 4, 8, 16, 32, 64, 128, 256};
+
+    /** Bounds of the WAL fsync wait time histogram, in microseconds. */
+    public static final long[] WAL_FSYNC_WAIT_TIME_BUCKETS = new long[] {
+        50, 100, 250, 500, 1_000, 2_500, 5_000, 10_000, 25_000, 50_000, 100_000
+    };
+
     /** */
     private final HitRateMetric walLoggingRate;
 
@@ -49,6 +59,12 @@ public class DataStorageMetricsImpl implements DataStorageMetricsMXBean {
     /** */
     private final HitRateMetric walBuffPollSpinsNum;
 
+    /** */
+    private final HistogramMetric walFsyncBatchSize;
+
+    /** */
+    private final HistogramMetric walFsyncWaitTime;
+
     /** */
     private final AtomicLongMetric lastCpLockWaitDuration;
 
@@ -73,6 +89,18 @@ public class DataStorageMetricsImpl implements DataStorageMetricsMXBean {
     /** */
     private final AtomicLongMetric lastCpCowPages;
 
+    /** */
+    private final AtomicLongMetric lastCpWriteCalls;
+
+    /** */
+    private final DoubleMetricImpl lastCpPagesPerWriteCall;
+
+    /** */
+    private final AtomicLongMetric lastCpSyncedStores;
+
+    /** */
+    private final AtomicLongMetric lastCpStoresSyncDuration;
+
     /** */
     private volatile long rateTimeInterval;
 
@@ -150,6 +178,18 @@ public class DataStorageMetricsImpl implements DataStorageMetricsMXBean {
             rateTimeInterval,
             subInts);
 
+        mreg.register("WalFsyncRate",
+            this::walFsyncRate,
+            "Average number of WAL fsyncs per second during the last time interval.");
+
+        walFsyncBatchSize = mreg.histogram("WalFsyncBatchSize",
+            WAL_FSYNC_BATCH_SIZE_BUCKETS,
+            "Number of committers served by a single WAL group fsync (FSYNC mode only).");
+
+        walFsyncWaitTime = mreg.histogram("WalFsyncWaitTime",
+            WAL_FSYNC_WAIT_TIME_BUCKETS,
+            "Time in microseconds committers wait for their WAL records to be fsynced (FSYNC mode only).");
+
         lastCpLockWaitDuration = mreg.longMetric("LastCheckpointLockWaitDuration",
             "Duration of the checkpoint lock wait in milliseconds.");
 
@@ -174,6 +214,18 @@ public class DataStorageMetricsImpl implements DataStorageMetricsMXBean {
         lastCpCowPages = mreg.longMetric("LastCheckpointCopiedOnWritePagesNumber",
             "Number of pages copied to a temporary checkpoint buffer during the last checkpoint.");
 
+        lastCpWriteCalls = mreg.longMetric("LastCheckpointWriteCallsNumber",
+            "Number of page store write calls during the last checkpoint.");
+
+        lastCpPagesPerWriteCall = mreg.doubleMetric("LastCheckpointPagesPerWriteCall",
+            "Average number of pages written with a single page store write call during the last checkpoint.");
+
+        lastCpSyncedStores = mreg.longMetric("LastCheckpointSyncedStoresNumber",
+            "Number of page stores synced during the last checkpoint.");
+
+        lastCpStoresSyncDuration = mreg.longMetric("LastCheckpointStoresSyncDuration",
+            "Duration of the page stores sync phase of the last checkpoint in milliseconds.");
+
         lastWalSegmentRollOverTime = mreg.longMetric("WalLastRollOverTime",
             "Time of the last WAL segment rollover.");
 
@@ -589,6 +641,10 @@ public class DataStorageMetricsImpl implements DataStorageMetricsMXBean {
      * @param totalPages Total number of all pages in checkpoint.
      * @param dataPages Total number of data pages in checkpoint.
      * @param cowPages Total number of COW-ed pages in checkpoint.
+     * @param writtenPages Number of pages written to page stores.
+     * @param writeCalls Number of page store write calls.
+     * @param syncedStores Number of synced page stores.
+     * @param storesSyncDuration Duration of the page stores sync phase.
      */
     public void onCheckpoint(
         long lockWaitDuration,
@@ -599,6 +655,10 @@ public class DataStorageMetricsImpl implements DataStorageMetricsMXBean {
         long totalPages,
         long dataPages,
         long cowPages,
+        long writtenPages,
+        long writeCalls,
+        long syncedStores,
+        long storesSyncDuration,
         long storageSize,
         long sparseStorageSize
     ) {
@@ -611,6 +671,10 @@ public class DataStorageMetricsImpl implements DataStorageMetricsMXBean {
             lastCpTotalPages.value(totalPages);
             lastCpDataPages.value(dataPages);
             lastCpCowPages.value(cowPages);
+            lastCpWriteCalls.value(writeCalls);
+            lastCpPagesPerWriteCall.value(writeCalls == 0 ? 0 : (double)writtenPages / writeCalls);
+            lastCpSyncedStores.value(syncedStores);
+            lastCpStoresSyncDuration.value(storesSyncDuration);
             this.storageSize.value(storageSize);
             this.sparseStorageSize.value(sparseStorageSize);
 
@@ -642,6 +706,30 @@ public class DataStorageMetricsImpl implements DataStorageMetricsMXBean {
         walFsyncTimeNum.increment();
     }
 
+    /**
+     * @param batchSize Number of committers served by a single group fsync.
+     */
+    public void onFsyncBatch(int batchSize) {
+        walFsyncBatchSize.value(batchSize);
+    }
+
+    /**
+     * @param nanoTime Time a committer waited for its WAL pointer to be fsynced, in nanoseconds.
+     */
+    public void onFsyncWait(long nanoTime) {
+        walFsyncWaitTime.value(nanoTime / 1_000);
+    }
+
+    /**
+     * @return Average number of WAL fsyncs per second during the last time interval.
+     */
+    private double walFsyncRate() {
+        if (!metricsEnabled)
+            return 0;
+
+        return ((double)walFsyncTimeNum.value() * 1000) / rateTimeInterval;
+    }
+
     /**
      * @param num Number.
      */
@@ -365,6 +365,31 @@ public abstract class DataStructure {
             arg, intArg, lockFailed, statHolder);
     }
 
+    /**
+     * Reads the page optimistically, see {@link PageHandler#readPageOptimistic}.
+     *
+     * @param pageId Page ID.
+     * @param page Page pointer.
+     * @param h Handler.
+     * @param arg Argument.
+     * @param intArg Argument of type {@code int}.
+     * @param lockFailed Result in case of lock failure due to page recycling.
+     * @param statHolder Statistics holder to track IO operations.
+     * @return Handler result.
+     * @throws IgniteCheckedException If failed.
+     */
+    protected final <X, R> R readOptimistic(
+        long pageId,
+        long page,
+        PageHandler<X, R> h,
+        X arg,
+        int intArg,
+        R lockFailed,
+        IoStatisticsHolder statHolder) throws IgniteCheckedException {
+        return PageHandler.readPageOptimistic(pageMem, grpId, pageId, page, lockLsnr, h,
+            arg, intArg, lockFailed, statHolder);
+    }
+
     /**
      * @param pageId Page ID.
      * @param init IO for new page initialization.
@@ -135,10 +135,12 @@ import org.apache.ignite.internal.processors.cache.persistence.checkpoint.Checkp
 import org.apache.ignite.internal.processors.cache.persistence.checkpoint.CheckpointEntryType;
 import org.apache.ignite.internal.processors.cache.persistence.checkpoint.CheckpointHistory;
 import org.apache.ignite.internal.processors.cache.persistence.checkpoint.CheckpointProgress;
+import org.apache.ignite.internal.processors.cache.persistence.checkpoint.CheckpointPagesWriteBatch;
 import org.apache.ignite.internal.processors.cache.persistence.checkpoint.CheckpointProgressImpl;
 import org.apache.ignite.internal.processors.cache.persistence.checkpoint.PartitionDestroyQueue;
 import org.apache.ignite.internal.processors.cache.persistence.checkpoint.PartitionDestroyRequest;
 import org.apache.ignite.internal.processors.cache.persistence.checkpoint.ReservationReason;
+import org.apache.ignite.internal.processors.cache.persistence.defragmentation.CachePartitionDefragmentationManager;
 import org.apache.ignite.internal.processors.cache.persistence.file.FileIO;
 import org.apache.ignite.internal.processors.cache.persistence.file.FileIOFactory;
 import org.apache.ignite.internal.processors.cache.persistence.file.FilePageStore;
@@ -156,6 +158,8 @@ import org.apache.ignite.internal.processors.cache.persistence.tree.io.PageIO;
 import org.apache.ignite.internal.processors.cache.persistence.tree.io.PagePartitionMetaIO;
 import org.apache.ignite.internal.processors.cache.persistence.wal.FileWALPointer;
 import org.apache.ignite.internal.processors.cache.persistence.wal.crc.IgniteDataIntegrityViolationException;
+import org.apache.ignite.internal.processors.cache.persistence.warmup.PageMemoryWarmUpManager;
+import org.apache.ignite.internal.processors.cache.version.GridCacheVersion;
 import org.apache.ignite.internal.processors.compress.CompressionProcessor;
 import org.apache.ignite.internal.processors.port.GridPortProcessor;
 import org.apache.ignite.internal.processors.port.GridPortRecord;
@@ -165,6 +169,7 @@ import org.apache.ignite.internal.util.GridConcurrentMultiPairQueue;
 import org.apache.ignite.internal.util.GridMultiCollectionWrapper;
 import org.apache.ignite.internal.util.IgniteUtils;
 import org.apache.ignite.internal.util.StripedExecutor;
+import org.apache.ignite.internal.util.StripedReentrantReadWriteLock;
 import org.apache.ignite.internal.util.TimeBag;
 import org.apache.ignite.internal.util.future.CountDownFuture;
 import org.apache.ignite.internal.util.future.GridCompoundFuture;
@@ -199,6 +204,7 @@ import static java.nio.file.StandardOpenOption.READ;
 import static java.util.Objects.isNull;
 import static java.util.Objects.nonNull;
 import static org.apache.ignite.IgniteSystemProperties.IGNITE_CHECKPOINT_READ_LOCK_TIMEOUT;
+import static org.apache.ignite.IgniteSystemProperties.IGNITE_CHECKPOINT_WRITE_BATCH_PAGES;
 import static org.apache.ignite.IgniteSystemProperties.IGNITE_JVM_PAUSE_DETECTOR_THRESHOLD;
 import static org.apache.ignite.IgniteSystemProperties.IGNITE_PDS_WAL_REBALANCE_THRESHOLD;
 import static org.apache.ignite.IgniteSystemProperties.IGNITE_RECOVERY_SEMAPHORE_PERMITS;
@@ -272,6 +278,14 @@ public class GridCacheDatabaseSharedManager extends IgniteCacheDatabaseSharedMan
     /** */
     private final boolean logReadLockHolders = getBoolean(IGNITE_PDS_LOG_CP_READ_LOCK_HOLDERS);
 
+    /** Names of the cache groups to defragment on node start. */
+    private final String defragmentationGrps = IgniteSystemProperties.getString(
+        IgniteSystemProperties.IGNITE_PDS_DEFRAGMENTATION_CACHE_GROUPS);
+
+    /** Maximum number of contiguous pages written by a checkpoint thread with a single write call. */
+    private final int cpWriteBatchPages = Math.min(getInteger(IGNITE_CHECKPOINT_WRITE_BATCH_PAGES,
+        DFLT_CHECKPOINT_WRITE_BATCH_PAGES), MAX_CHECKPOINT_WRITE_BATCH_PAGES);
+
     /**
      * Starting from this number of dirty pages in checkpoint, array will be sorted with
      * {@link Arrays#parallelSort(Comparable[])} in case of {@link CheckpointWriteOrder#SEQUENTIAL}.
@@ -321,20 +335,32 @@ public class GridCacheDatabaseSharedManager extends IgniteCacheDatabaseSharedMan
     /** This number of threads will be created and used for parallel sorting. */
     private static final int PARALLEL_SORT_THREADS = Math.min(Runtime.getRuntime().availableProcessors(), 8);
 
+    /** Default maximum number of contiguous pages written by a checkpoint thread with a single write call. */
+    public static final int DFLT_CHECKPOINT_WRITE_BATCH_PAGES = 32;
+
+    /** Upper limit of the checkpoint write batch, the maximum number of buffers of a vectored write on Linux. */
+    private static final int MAX_CHECKPOINT_WRITE_BATCH_PAGES = 1024;
+
     /** Checkpoint thread. Needs to be volatile because it is created in exchange worker. */
     private volatile Checkpointer checkpointer;
 
     /** Checkpointer thread instance. */
     private volatile IgniteThread checkpointerThread;
 
+    /** Page memory warm-up manager. */
+    private volatile PageMemoryWarmUpManager warmUpMgr;
+
     /** For testing only. */
     private volatile boolean checkpointsEnabled = true;
 
     /** For testing only. */
     private volatile GridFutureAdapter<Void> enableChangeApplied;
 
-    /** Checkpont lock. */
-    ReentrantReadWriteLock checkpointLock = new ReentrantReadWriteLock();
+    /**
+     * Checkpont lock. Read lock is taken by every update of persistent caches, so it is striped to avoid contention
+     * of updating threads on a single reader counter.
+     */
+    ReentrantReadWriteLock checkpointLock = new StripedReentrantReadWriteLock();
 
     /** */
     private long checkpointFreq;
@@ -374,6 +400,9 @@ public class GridCacheDatabaseSharedManager extends IgniteCacheDatabaseSharedMan
     /** Thread local with buffers for the checkpoint threads. Each buffer represent one page for durable memory. */
     private ThreadLocal<ByteBuffer> threadBuf;
 
+    /** Thread local with page buffers of checkpoint write batches, {@code null} if batching is disabled. */
+    @Nullable private ThreadLocal<ByteBuffer[]> threadBatchBufs;
+
     /** Map from a cacheId to a future indicating that there is an in-progress index rebuild for the given cache. */
     private final ConcurrentMap<Integer, GridFutureAdapter<Void>> idxRebuildFuts = new ConcurrentHashMap<>();
 
@@ -430,6 +459,9 @@ public class GridCacheDatabaseSharedManager extends IgniteCacheDatabaseSharedMan
     /** Pointer to a memory recovery record that should be included into the next checkpoint record. */
     private volatile WALPointer memoryRecoveryRecordPtr;
 
+    /** Local version order at the start of the last checkpoint. */
+    private volatile long cpStartVerOrder = Long.MAX_VALUE;
+
     /** Lock for releasing history for preloading. */
     private ReentrantLock releaseHistForPreloadingLock = new ReentrantLock();
 
@@ -598,6 +630,10 @@ public class GridCacheDatabaseSharedManager extends IgniteCacheDatabaseSharedMan
             }
         };
 
+        if (cpWriteBatchPages > 1)
+            threadBatchBufs = ThreadLocal.withInitial(
+                () -> CheckpointPagesWriteBatch.allocateBuffers(cpWriteBatchPages, pageSize()));
+
         snapshotMgr = cctx.snapshot();
 
         final GridKernalContext kernalCtx = cctx.kernalContext();
@@ -911,17 +947,28 @@ public class GridCacheDatabaseSharedManager extends IgniteCacheDatabaseSharedMan
      *
      */
     private void initializeCheckpointPool() {
-        if (persistenceCfg.getCheckpointThreads() > 1)
+        int threads = Math.max(persistenceCfg.getCheckpointThreads(), checkpointSyncThreads());
+
+        if (threads > 1)
             asyncRunner = new IgniteThreadPoolExecutor(
                 CHECKPOINT_RUNNER_THREAD_PREFIX,
                 cctx.igniteInstanceName(),
-                persistenceCfg.getCheckpointThreads(),
-                persistenceCfg.getCheckpointThreads(),
+                threads,
+                threads,
                 30_000,
                 new LinkedBlockingQueue<Runnable>()
             );
     }
 
+    /**
+     * @return Number of threads syncing updated page stores at the end of a checkpoint.
+     */
+    private int checkpointSyncThreads() {
+        int syncThreads = persistenceCfg.getCheckpointSyncThreads();
+
+        return syncThreads > 0 ? syncThreads : persistenceCfg.getCheckpointThreads();
+    }
+
     /** {@inheritDoc} */
     @Override protected void registerMetricsMBeans(IgniteConfiguration cfg) {
         super.registerMetricsMBeans(cfg);
@@ -1137,6 +1184,14 @@ public class GridCacheDatabaseSharedManager extends IgniteCacheDatabaseSharedMan
 
     /** {@inheritDoc} */
     @Override protected void onKernalStop0(boolean cancel) {
+        PageMemoryWarmUpManager warmUpMgr0 = warmUpMgr;
+
+        if (warmUpMgr0 != null) {
+            warmUpMgr = null;
+
+            warmUpMgr0.stop(!cancel);
+        }
+
         checkpointLock.writeLock().lock();
 
         try {
@@ -1766,6 +1821,11 @@ public class GridCacheDatabaseSharedManager extends IgniteCacheDatabaseSharedMan
         throw new CheckpointReadLockTimeoutException(msg);
     }
 
+    /** {@inheritDoc} */
+    @Override public boolean writtenAfterCheckpointStart(GridCacheVersion ver) {
+        return ver.order() > cpStartVerOrder;
+    }
+
     /** {@inheritDoc} */
     @Override public boolean checkpointLockIsHeldByThread() {
         return !ASSERTION_ENABLED ||
@@ -2148,6 +2208,8 @@ public class GridCacheDatabaseSharedManager extends IgniteCacheDatabaseSharedMan
 
             startTimer.finishGlobalStage("Init and start regions");
 
+            defragment();
+
             // Restore binary memory for all not WAL disabled cache groups.
             restoreBinaryMemory(
                 groupsWithEnabledWal(),
@@ -2193,6 +2255,38 @@ public class GridCacheDatabaseSharedManager extends IgniteCacheDatabaseSharedMan
         }
     }
 
+    /**
+     * Finishes defragmentation interrupted on the previous node run and defragments cache groups configured by
+     * {@link IgniteSystemProperties#IGNITE_PDS_DEFRAGMENTATION_CACHE_GROUPS}. Must be called before page stores
+     * are initialized.
+     *
+     * @throws IgniteCheckedException If failed.
+     */
+    private void defragment() throws IgniteCheckedException {
+        List<String> grps = F.isEmpty(defragmentationGrps) ? Collections.emptyList() :
+            Arrays.stream(defragmentationGrps.split(","))
+                .map(String::trim)
+                .filter(name -> !name.isEmpty())
+                .collect(Collectors.toList());
+
+        CachePartitionDefragmentationManager defragmentationMgr = new CachePartitionDefragmentationManager(cctx, grps);
+
+        defragmentationMgr.onBeforeStoresInit();
+
+        if (grps.isEmpty())
+            return;
+
+        // Pages of the last checkpoint would be restored from WAL over the partitions with the old layout.
+        if (readCheckpointStatus().needRestoreMemory()) {
+            U.warn(log, "Defragmentation is skipped because node was stopped in the middle of checkpoint, " +
+                "restart the node once more to defragment cache groups: " + grps);
+
+            return;
+        }
+
+        defragmentationMgr.executeDefragmentation(groupsWithEnabledWal());
+    }
+
     /**
      * @param f Consumer.
      * @return Accumulated result for all page stores.
@@ -2291,6 +2385,12 @@ public class GridCacheDatabaseSharedManager extends IgniteCacheDatabaseSharedMan
 
         if (chp != null)
             chp.futureFor(LOCK_RELEASED).get();
+
+        PageMemoryWarmUpManager warmUpMgr0 = new PageMemoryWarmUpManager(cctx);
+
+        warmUpMgr0.start();
+
+        warmUpMgr = warmUpMgr0;
     }
 
     /**
@@ -2799,6 +2899,7 @@ public class GridCacheDatabaseSharedManager extends IgniteCacheDatabaseSharedMan
             switch (rec.type()) {
                 case MVCC_DATA_RECORD:
                 case DATA_RECORD:
+                case DATA_DELTA_RECORD:
                     if (entryPred.apply(rec, null)) {
                         checkpointReadLock();
 
@@ -3053,6 +3154,7 @@ public class GridCacheDatabaseSharedManager extends IgniteCacheDatabaseSharedMan
 
                     case MVCC_DATA_RECORD:
                     case DATA_RECORD:
+                    case DATA_DELTA_RECORD:
                     case ENCRYPTED_DATA_RECORD:
                         DataRecord dataRec = (DataRecord)rec;
 
@@ -3796,7 +3898,14 @@ public class GridCacheDatabaseSharedManager extends IgniteCacheDatabaseSharedMan
                         tracker.onFsyncStart();
 
                         if (!skipSync) {
-                            syncUpdatedStores(updStores);
+                            tracker.onStoresSyncStart();
+
+                            try {
+                                syncUpdatedStores(updStores, tracker);
+                            }
+                            finally {
+                                tracker.onStoresSyncEnd();
+                            }
 
                             if (shutdownNow) {
                                 chp.progress.fail(new NodeStoppingException("Node is stopping."));
@@ -3855,35 +3964,39 @@ public class GridCacheDatabaseSharedManager extends IgniteCacheDatabaseSharedMan
             }
         }
 
-        /** */
+        /**
+         * Syncs updated page stores, in parallel if there are checkpoint sync threads. Stores with more written
+         * pages are synced first, so that the longest syncs do not end up at the tail of the phase.
+         *
+         * @param updStores Updated page stores with numbers of written pages.
+         * @param tracker Checkpoint metrics tracker.
+         * @throws IgniteCheckedException If failed.
+         */
         private void syncUpdatedStores(
-            ConcurrentLinkedHashMap<PageStore, LongAdder> updStores
+            ConcurrentLinkedHashMap<PageStore, LongAdder> updStores,
+            CheckpointMetricsTracker tracker
         ) throws IgniteCheckedException {
-            if (asyncRunner == null) {
+            int syncThreads = asyncRunner == null ? 1 : Math.min(checkpointSyncThreads(), updStores.size());
+
+            if (syncThreads <= 1) {
                 for (Map.Entry<PageStore, LongAdder> updStoreEntry : updStores.entrySet()) {
                     if (shutdownNow)
                         return;
 
-                    blockingSectionBegin();
-
-                    try {
-                        updStoreEntry.getKey().sync();
-                    }
-                    finally {
-                        blockingSectionEnd();
-                    }
-
-                    currentProgress().updateSyncedPages(updStoreEntry.getValue().intValue());
+                    syncStore(updStoreEntry, tracker);
                 }
             }
             else {
-                int checkpointThreads = persistenceCfg.getCheckpointThreads();
+                List<Map.Entry<PageStore, LongAdder>> entries = new ArrayList<>(updStores.entrySet());
+
+                entries.sort(Comparator.comparingLong(
+                    (Map.Entry<PageStore, LongAdder> e) -> e.getValue().longValue()).reversed());
 
-                CountDownFuture doneFut = new CountDownFuture(checkpointThreads);
+                CountDownFuture doneFut = new CountDownFuture(syncThreads);
 
-                BlockingQueue<Map.Entry<PageStore, LongAdder>> queue = new LinkedBlockingQueue<>(updStores.entrySet());
+                BlockingQueue<Map.Entry<PageStore, LongAdder>> queue = new LinkedBlockingQueue<>(entries);
 
-                for (int i = 0; i < checkpointThreads; i++) {
+                for (int i = 0; i < syncThreads; i++) {
                     asyncRunner.execute(() -> {
                         Map.Entry<PageStore, LongAdder> updStoreEntry = queue.poll();
 
@@ -3894,16 +4007,7 @@ public class GridCacheDatabaseSharedManager extends IgniteCacheDatabaseSharedMan
                                 if (shutdownNow)
                                     return;
 
-                                blockingSectionBegin();
-
-                                try {
-                                    updStoreEntry.getKey().sync();
-                                }
-                                finally {
-                                    blockingSectionEnd();
-                                }
-
-                                currentProgress().updateSyncedPages(updStoreEntry.getValue().intValue());
+                                syncStore(updStoreEntry, tracker);
 
                                 updStoreEntry = queue.poll();
                             }
@@ -3924,6 +4028,29 @@ public class GridCacheDatabaseSharedManager extends IgniteCacheDatabaseSharedMan
             }
         }
 
+        /**
+         * @param updStoreEntry Updated page store with the number of written pages.
+         * @param tracker Checkpoint metrics tracker.
+         * @throws IgniteCheckedException If failed.
+         */
+        private void syncStore(
+            Map.Entry<PageStore, LongAdder> updStoreEntry,
+            CheckpointMetricsTracker tracker
+        ) throws IgniteCheckedException {
+            blockingSectionBegin();
+
+            try {
+                updStoreEntry.getKey().sync();
+            }
+            finally {
+                blockingSectionEnd();
+            }
+
+            tracker.onStoreSynced();
+
+            currentProgress().updateSyncedPages(updStoreEntry.getValue().intValue());
+        }
+
         /**
          * @param chp Checkpoint.
          * @param tracker Tracker.
@@ -3939,6 +4066,10 @@ public class GridCacheDatabaseSharedManager extends IgniteCacheDatabaseSharedMan
                     chp.pagesSize,
                     tracker.dataPagesWritten(),
                     tracker.cowPagesWritten(),
+                    tracker.pagesWritten(),
+                    tracker.writeCalls(),
+                    tracker.syncedStores(),
+                    tracker.storesSyncDuration(),
                     forAllPageStores(PageStore::size),
                     forAllPageStores(PageStore::getSparseSize));
             }
@@ -4162,6 +4293,9 @@ public class GridCacheDatabaseSharedManager extends IgniteCacheDatabaseSharedMan
 
                 assert curCpProgress == curr : "Concurrent checkpoint begin should not be happened";
 
+                // Updates hold the checkpoint read lock, values with greater versions are written after this point.
+                cpStartVerOrder = cctx.versions().localOrder();
+
                 tracker.onMarkStart();
 
                 // Listeners must be invoked before we write checkpoint record to WAL.
@@ -4775,7 +4909,10 @@ public class GridCacheDatabaseSharedManager extends IgniteCacheDatabaseSharedMan
 
             CheckpointMetricsTracker tracker = persStoreMetrics.metricsEnabled() ? this.tracker : null;
 
-            PageStoreWriter pageStoreWriter = createPageStoreWriter(pagesToRetry);
+            CheckpointPagesWriteBatch batch = threadBatchBufs == null ? null :
+                new CheckpointPagesWriteBatch(storeMgr, updStores, tracker, threadBatchBufs.get());
+
+            PageStoreWriter pageStoreWriter = createPageStoreWriter(pagesToRetry, batch);
 
             ByteBuffer tmpWriteBuf = threadBuf.get();
 
@@ -4784,36 +4921,44 @@ public class GridCacheDatabaseSharedManager extends IgniteCacheDatabaseSharedMan
             GridConcurrentMultiPairQueue.Result<PageMemoryEx, FullPageId> res =
                 new GridConcurrentMultiPairQueue.Result<>();
 
-            while (writePageIds.next(res)) {
-                if (checkpointer.shutdownNow)
-                    break;
-
-                beforePageWrite.run();
+            try {
+                while (writePageIds.next(res)) {
+                    if (checkpointer.shutdownNow)
+                        break;
 
-                FullPageId fullId = res.getValue();
+                    beforePageWrite.run();
 
-                PageMemoryEx pageMem = res.getKey();
+                    FullPageId fullId = res.getValue();
 
-                snapshotMgr.beforePageWrite(fullId);
+                    PageMemoryEx pageMem = res.getKey();
 
-                tmpWriteBuf.rewind();
+                    snapshotMgr.beforePageWrite(fullId);
 
-                pageMem.checkpointWritePage(fullId, tmpWriteBuf, pageStoreWriter, tracker);
+                    pageMem.checkpointWritePage(fullId, writeBuffer(pageMem, batch, tmpWriteBuf), pageStoreWriter,
+                        tracker);
 
-                if (throttlingEnabled) {
-                    while (pageMem.shouldThrottle()) {
-                        FullPageId cpPageId = pageMem.pullPageFromCpBuffer();
+                    if (throttlingEnabled) {
+                        while (pageMem.shouldThrottle()) {
+                            FullPageId cpPageId = pageMem.pullPageFromCpBuffer();
 
-                        if (cpPageId.equals(FullPageId.NULL_PAGE))
-                            break;
-
-                        snapshotMgr.beforePageWrite(cpPageId);
+                            if (cpPageId.equals(FullPageId.NULL_PAGE))
+                                break;
 
-                        tmpWriteBuf.rewind();
+                            snapshotMgr.beforePageWrite(cpPageId);
 
-                        pageMem.checkpointWritePage(cpPageId, tmpWriteBuf, pageStoreWriter, tracker);
+                            pageMem.checkpointWritePage(cpPageId, writeBuffer(pageMem, batch, tmpWriteBuf),
+                                pageStoreWriter, tracker);
+                        }
                     }
                 }
+
+                if (batch != null)
+                    batch.flush();
+            }
+            finally {
+                // Unpins pages of the batch which was not written due to a failure.
+                if (batch != null)
+                    batch.releasePages();
             }
 
             return pagesToRetry.isEmpty() ?
@@ -4821,13 +4966,36 @@ public class GridCacheDatabaseSharedManager extends IgniteCacheDatabaseSharedMan
                 new GridConcurrentMultiPairQueue<>(pagesToRetry);
         }
 
+        /**
+         * @param pageMem Page memory of the page to write.
+         * @param batch Write batch or {@code null} if batching is disabled.
+         * @param tmpWriteBuf Temporary write buffer.
+         * @return Buffer to copy the page to write into.
+         */
+        private ByteBuffer writeBuffer(
+            PageMemoryEx pageMem,
+            @Nullable CheckpointPagesWriteBatch batch,
+            ByteBuffer tmpWriteBuf
+        ) {
+            if (batch != null)
+                return batch.buffer(pageMem);
+
+            tmpWriteBuf.rewind();
+
+            return tmpWriteBuf;
+        }
+
         /**
          * Factory method for create {@link PageStoreWriter}.
          *
          * @param pagesToRetry List pages for retry.
+         * @param batch Write batch or {@code null} if pages should be written one by one.
          * @return Checkpoint page write context.
          */
-        private PageStoreWriter createPageStoreWriter(Map<PageMemoryEx, List<FullPageId>> pagesToRetry) {
+        private PageStoreWriter createPageStoreWriter(
+            Map<PageMemoryEx, List<FullPageId>> pagesToRetry,
+            @Nullable CheckpointPagesWriteBatch batch
+        ) {
             return new PageStoreWriter() {
                 /** {@inheritDoc} */
                 @Override public void writePage(FullPageId fullPageId, ByteBuffer buf, int tag) throws IgniteCheckedException {
@@ -4854,9 +5022,18 @@ public class GridCacheDatabaseSharedManager extends IgniteCacheDatabaseSharedMan
 
                     getCheckpointer().currentProgress().updateWrittenPages(1);
 
+                    if (batch != null) {
+                        batch.add(fullPageId, buf, tag);
+
+                        return;
+                    }
+
                     PageStore store = storeMgr.writeInternal(groupId, pageId, buf, tag, true);
 
                     updStores.computeIfAbsent(store, k -> new LongAdder()).increment();
+
+                    if (persStoreMetrics.metricsEnabled())
+                        tracker.onPagesWritten(1);
                 }
             };
         }
@@ -16,6 +16,7 @@
 
 package org.apache.ignite.internal.processors.cache.persistence;
 
+import java.io.File;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
@@ -47,6 +48,7 @@ import org.apache.ignite.internal.pagemem.wal.WALIterator;
 import org.apache.ignite.internal.pagemem.wal.WALPointer;
 import org.apache.ignite.internal.pagemem.wal.record.DataEntry;
 import org.apache.ignite.internal.pagemem.wal.record.DataRecord;
+import org.apache.ignite.internal.pagemem.wal.record.DeltaDataEntry;
 import org.apache.ignite.internal.pagemem.wal.record.PageSnapshot;
 import org.apache.ignite.internal.pagemem.wal.record.RollbackRecord;
 import org.apache.ignite.internal.pagemem.wal.record.WALRecord;
@@ -72,6 +74,8 @@ import org.apache.ignite.internal.processors.cache.distributed.dht.topology.Grid
 import org.apache.ignite.internal.processors.cache.distributed.dht.topology.GridDhtPartitionState;
 import org.apache.ignite.internal.processors.cache.mvcc.MvccSnapshot;
 import org.apache.ignite.internal.processors.cache.mvcc.MvccVersion;
+import org.apache.ignite.internal.processors.cache.persistence.file.FilePageStore;
+import org.apache.ignite.internal.processors.cache.persistence.file.FilePageStoreManager;
 import org.apache.ignite.internal.processors.cache.persistence.freelist.AbstractFreeList;
 import org.apache.ignite.internal.processors.cache.persistence.freelist.CacheFreeList;
 import org.apache.ignite.internal.processors.cache.persistence.freelist.SimpleDataRow;
@@ -90,6 +94,7 @@ import org.apache.ignite.internal.processors.cache.persistence.tree.io.PageParti
 import org.apache.ignite.internal.processors.cache.persistence.tree.reuse.ReuseList;
 import org.apache.ignite.internal.processors.cache.persistence.tree.reuse.ReuseListImpl;
 import org.apache.ignite.internal.processors.cache.persistence.tree.util.PageHandler;
+import org.apache.ignite.internal.processors.cache.persistence.wal.ChunkedWalReplayIterator;
 import org.apache.ignite.internal.processors.cache.persistence.wal.FileWALPointer;
 import org.apache.ignite.internal.processors.cache.tree.CacheDataRowStore;
 import org.apache.ignite.internal.processors.cache.tree.CacheDataTree;
@@ -110,6 +115,7 @@ import org.apache.ignite.internal.util.typedef.internal.U;
 import org.apache.ignite.lang.IgniteBiTuple;
 import org.jetbrains.annotations.Nullable;
 
+import static org.apache.ignite.IgniteSystemProperties.IGNITE_HISTORICAL_REBALANCE_READ_THREADS;
 import static org.apache.ignite.internal.processors.cache.distributed.dht.topology.GridDhtPartitionState.EVICTED;
 import static org.apache.ignite.internal.processors.cache.distributed.dht.topology.GridDhtPartitionState.MOVING;
 import static org.apache.ignite.internal.processors.cache.distributed.dht.topology.GridDhtPartitionState.OWNING;
@@ -120,6 +126,9 @@ import static org.apache.ignite.internal.util.lang.GridCursor.EMPTY_CURSOR;
  * Used when persistence enabled.
  */
 public class GridCacheOffheapManager extends IgniteCacheOffheapManagerImpl implements DbCheckpointListener {
+    /** Default number of threads WAL is read with during historical rebalance. */
+    private static final int DFLT_HISTORICAL_REBALANCE_READ_THREADS = 4;
+
     /**
      * Throttling timeout in millis which avoid excessive PendingTree access on unwind
      * if there is nothing to clean yet.
@@ -907,6 +916,35 @@ public class GridCacheOffheapManager extends IgniteCacheOffheapManagerImpl imple
         ctx.pageStore().onPartitionDestroyed(grpId, partId, tag);
     }
 
+    /**
+     * Replaces the file of a partition with the given one and reads the partition state from the new file.
+     * Pages of the previous file are invalidated in page memory and are not written to the new file.
+     * <b>NOTE:</b> This method can be invoked only under checkpoint write lock.
+     *
+     * @param partId Partition ID.
+     * @param src Partition file to install.
+     * @throws IgniteCheckedException If failed.
+     */
+    public void replacePartitionFile(int partId, File src) throws IgniteCheckedException {
+        assert ctx.database().checkpointLockIsHeldByThread();
+
+        CacheDataStore store = partDataStores.get(partId);
+
+        if (store == null)
+            throw new IgniteCheckedException("Partition data store is not created [grp=" + grp.cacheOrGroupName() +
+                ", partId=" + partId + ']');
+
+        PageMemoryEx pageMemory = (PageMemoryEx)grp.dataRegion().pageMemory();
+
+        int tag = pageMemory.invalidate(grp.groupId(), partId);
+
+        FilePageStore pageStore = (FilePageStore)((FilePageStoreManager)ctx.pageStore()).getStore(grp.groupId(), partId);
+
+        pageStore.replace(tag, src.toPath());
+
+        ((GridCacheDataStore)store).reinit();
+    }
+
     /** {@inheritDoc} */
     @Override public void onPartitionCounterUpdated(int part, long cntr) {
         CacheDataStore store = partDataStores.get(part);
@@ -943,6 +981,12 @@ public class GridCacheOffheapManager extends IgniteCacheOffheapManagerImpl imple
         indexStorage.dropCacheIndex(cacheId, idxName, segment);
     }
 
+    /** {@inheritDoc} */
+    @Override public void renameRootPageForIndex(int cacheId, String oldIdxName, String newIdxName, int segment)
+        throws IgniteCheckedException {
+        indexStorage.renameCacheIndex(cacheId, oldIdxName, newIdxName, segment);
+    }
+
     /** {@inheritDoc} */
     @Override public ReuseList reuseListForIndex(String idxName) {
         return reuseList;
@@ -1049,7 +1093,7 @@ public class GridCacheOffheapManager extends IgniteCacheOffheapManagerImpl imple
         FileWALPointer minPtr = (FileWALPointer)database.checkpointHistory().searchEarliestWalPointer(grp.groupId(), partsCounters);
 
         try {
-            WALIterator it = grp.shared().wal().replay(minPtr);
+            WALIterator it = replayHistory(minPtr);
 
             WALHistoricalIterator iterator = new WALHistoricalIterator(log, grp, partCntrs, it);
 
@@ -1066,6 +1110,41 @@ public class GridCacheOffheapManager extends IgniteCacheOffheapManagerImpl imple
         }
     }
 
+    /**
+     * Reads WAL for historical rebalance, archived segments are read by several threads when the range spans them.
+     *
+     * @param minPtr Pointer to read from.
+     * @return Iterator over the records which may contain updates of the group.
+     * @throws IgniteCheckedException If failed.
+     */
+    private WALIterator replayHistory(FileWALPointer minPtr) throws IgniteCheckedException {
+        IgniteWriteAheadLogManager wal = grp.shared().wal();
+
+        int threads = IgniteSystemProperties.getInteger(IGNITE_HISTORICAL_REBALANCE_READ_THREADS,
+            DFLT_HISTORICAL_REBALANCE_READ_THREADS);
+
+        if (threads <= 1 || minPtr == null || wal.lastArchivedSegment() < minPtr.index())
+            return wal.replay(minPtr);
+
+        int grpId = grp.groupId();
+        Set<Integer> cacheIds = grp.cacheIds();
+
+        long segmentSize = ctx.gridConfig().getDataStorageConfiguration().getWalSegmentSize();
+
+        return new ChunkedWalReplayIterator(ctx.igniteInstanceName(), log, wal, minPtr, threads, segmentSize, rec -> {
+            if (rec instanceof DataRecord) {
+                for (DataEntry entry : ((DataRecord)rec).writeEntries()) {
+                    if (cacheIds.contains(entry.cacheId()))
+                        return true;
+                }
+
+                return false;
+            }
+
+            return rec instanceof RollbackRecord && ((RollbackRecord)rec).groupId() == grpId;
+        });
+    }
+
     /** {@inheritDoc} */
     @Override public boolean expire(
         GridCacheContext cctx,
@@ -1407,6 +1486,19 @@ public class GridCacheOffheapManager extends IgniteCacheOffheapManagerImpl imple
                                 long to = partMap.updateCounterAt(idx);
 
                                 if (entry.partitionCounter() > from && entry.partitionCounter() <= to) {
+                                    if (entry instanceof DeltaDataEntry) {
+                                        DataEntry resolved = resolveDelta((DeltaDataEntry)entry);
+
+                                        if (resolved == null) {
+                                            if (++rebalancedCntrs[idx] == to)
+                                                doneParts.add(entry.partitionId());
+
+                                            continue;
+                                        }
+
+                                        entry = resolved;
+                                    }
+
                                     // Partition will be marked as done for current entry on next iteration.
                                     if (++rebalancedCntrs[idx] == to)
                                         donePart = entry.partitionId();
@@ -1481,6 +1573,38 @@ public class GridCacheOffheapManager extends IgniteCacheOffheapManagerImpl imple
                 throw new IgniteHistoricalIteratorException(ex);
             }
         }
+
+        /**
+         * Restores the value of a delta entry from the row stored in the local partition. The stored row holds the
+         * value of the delta only if the key was not updated since, otherwise the delta is superseded by a later
+         * update which is rebalanced instead.
+         *
+         * @param entry Delta entry.
+         * @return Entry with the restored value or {@code null} if the delta is superseded.
+         * @throws IgniteCheckedException If failed.
+         */
+        @Nullable private DataEntry resolveDelta(DeltaDataEntry entry) throws IgniteCheckedException {
+            GridCacheContext cctx = grp.shared().cacheContext(entry.cacheId());
+
+            if (cctx == null)
+                return null;
+
+            CacheDataRow row = cctx.offheap().read(cctx, entry.key());
+
+            if (row == null || !row.version().equals(entry.writeVersion()))
+                return null;
+
+            return new DataEntry(
+                entry.cacheId(),
+                entry.key(),
+                row.value(),
+                entry.op(),
+                entry.nearXidVersion(),
+                entry.writeVersion(),
+                entry.expireTime(),
+                entry.partitionId(),
+                entry.partitionCounter());
+        }
     }
 
     /**
@@ -1667,7 +1791,7 @@ public class GridCacheOffheapManager extends IgniteCacheOffheapManagerImpl imple
         private PartitionMetaStorage<SimpleDataRow> partStorage;
 
         /** */
-        private final boolean exists;
+        private volatile boolean exists;
 
         /** */
         private final AtomicBoolean init = new AtomicBoolean();
@@ -1736,212 +1860,238 @@ public class GridCacheOffheapManager extends IgniteCacheOffheapManagerImpl imple
                 dbMgr.checkpointReadLock();
 
                 try {
-                    Metas metas = getOrAllocatePartitionMetas();
-
-                    if (PageIdUtils.partId(metas.reuseListRoot.pageId().pageId()) != partId ||
-                        PageIdUtils.partId(metas.treeRoot.pageId().pageId()) != partId ||
-                        PageIdUtils.partId(metas.pendingTreeRoot.pageId().pageId()) != partId ||
-                        PageIdUtils.partId(metas.partMetastoreReuseListRoot.pageId().pageId()) != partId
-                        ) {
-                        throw new IgniteCheckedException("Invalid meta root allocated [" +
-                            "cacheOrGroupName=" + grp.cacheOrGroupName() +
-                            ", partId=" + partId +
-                            ", metas=" + metas + ']');
-                    }
+                    delegate0 = createDelegate();
 
-                    String freeListName = freeListName();
-
-                    RootPage reuseRoot = metas.reuseListRoot;
+                    delegate = delegate0;
+                }
+                catch (Throwable ex) {
+                    U.error(log, "Unhandled exception during page store initialization. All further operations will " +
+                        "be failed and local node will be stopped.", ex);
 
-                    freeList = new CacheFreeList(
-                        grp.groupId(),
-                        freeListName,
-                        grp.dataRegion().memoryMetrics(),
-                        grp.dataRegion(),
-                        ctx.wal(),
-                        reuseRoot.pageId().pageId(),
-                        reuseRoot.isAllocated(),
-                        ctx.diagnostic().pageLockTracker().createPageLockTracker(freeListName),
-                        ctx.kernalContext(),
-                        pageListCacheLimit
-                    ) {
-                        /** {@inheritDoc} */
-                        @Override protected long allocatePageNoReuse() throws IgniteCheckedException {
-                            assert grp.shared().database().checkpointLockIsHeldByThread();
-
-                            return pageMem.allocatePage(grpId, partId, PageIdAllocator.FLAG_DATA);
-                        }
-                    };
+                    ctx.kernalContext().failure().process(new FailureContext(FailureType.CRITICAL_ERROR, ex));
 
-                    RootPage partMetastoreReuseListRoot = metas.partMetastoreReuseListRoot;
+                    throw ex;
+                }
+                finally {
+                    latch.countDown();
 
-                    String partMetastoreName = partitionMetaStoreName();
+                    dbMgr.checkpointReadUnlock();
+                }
+            }
+            else {
+                U.await(latch);
 
-                    partStorage = new PartitionMetaStorageImpl<SimpleDataRow>(
-                        grp.groupId(),
-                        partMetastoreName,
-                        grp.dataRegion().memoryMetrics(),
-                        grp.dataRegion(),
-                        null, // TODO: cannot use reuseList
-                        ctx.wal(),
-                        partMetastoreReuseListRoot.pageId().pageId(),
-                        partMetastoreReuseListRoot.isAllocated(),
-                        ctx.diagnostic().pageLockTracker().createPageLockTracker(partMetastoreName),
-                        ctx.kernalContext(),
-                        pageListCacheLimit
-                    ) {
-                        /** {@inheritDoc} */
-                        @Override protected long allocatePageNoReuse() throws IgniteCheckedException {
-                            assert grp.shared().database().checkpointLockIsHeldByThread();
-
-                            return pageMem.allocatePage(grpId, partId, PageIdAllocator.FLAG_DATA);
-                        }
-                    };
+                delegate0 = delegate;
 
-                    String dataTreeName = dataTreeName();
+                if (delegate0 == null)
+                    throw new IgniteCheckedException("Cache store initialization failed.");
+            }
 
-                    CacheDataRowStore rowStore = new CacheDataRowStore(grp, freeList, partId);
+            return delegate0;
+        }
 
-                    RootPage treeRoot = metas.treeRoot;
+        /**
+         * Reads the structures of the partition from its file. Called under checkpoint read lock.
+         *
+         * @return Store delegate.
+         * @throws IgniteCheckedException If failed.
+         */
+        private CacheDataStoreImpl createDelegate() throws IgniteCheckedException {
+            Metas metas = getOrAllocatePartitionMetas();
+
+            if (PageIdUtils.partId(metas.reuseListRoot.pageId().pageId()) != partId ||
+                PageIdUtils.partId(metas.treeRoot.pageId().pageId()) != partId ||
+                PageIdUtils.partId(metas.pendingTreeRoot.pageId().pageId()) != partId ||
+                PageIdUtils.partId(metas.partMetastoreReuseListRoot.pageId().pageId()) != partId
+                ) {
+                throw new IgniteCheckedException("Invalid meta root allocated [" +
+                    "cacheOrGroupName=" + grp.cacheOrGroupName() +
+                    ", partId=" + partId +
+                    ", metas=" + metas + ']');
+            }
+
+            String freeListName = freeListName();
+
+            RootPage reuseRoot = metas.reuseListRoot;
+
+            freeList = new CacheFreeList(
+                grp.groupId(),
+                freeListName,
+                grp.dataRegion().memoryMetrics(),
+                grp.dataRegion(),
+                ctx.wal(),
+                reuseRoot.pageId().pageId(),
+                reuseRoot.isAllocated(),
+                ctx.diagnostic().pageLockTracker().createPageLockTracker(freeListName),
+                ctx.kernalContext(),
+                pageListCacheLimit
+            ) {
+                /** {@inheritDoc} */
+                @Override protected long allocatePageNoReuse() throws IgniteCheckedException {
+                    assert grp.shared().database().checkpointLockIsHeldByThread();
+
+                    return pageMem.allocatePage(grpId, partId, PageIdAllocator.FLAG_DATA);
+                }
+            };
+
+            RootPage partMetastoreReuseListRoot = metas.partMetastoreReuseListRoot;
+
+            String partMetastoreName = partitionMetaStoreName();
+
+            partStorage = new PartitionMetaStorageImpl<SimpleDataRow>(
+                grp.groupId(),
+                partMetastoreName,
+                grp.dataRegion().memoryMetrics(),
+                grp.dataRegion(),
+                null, // TODO: cannot use reuseList
+                ctx.wal(),
+                partMetastoreReuseListRoot.pageId().pageId(),
+                partMetastoreReuseListRoot.isAllocated(),
+                ctx.diagnostic().pageLockTracker().createPageLockTracker(partMetastoreName),
+                ctx.kernalContext(),
+                pageListCacheLimit
+            ) {
+                /** {@inheritDoc} */
+                @Override protected long allocatePageNoReuse() throws IgniteCheckedException {
+                    assert grp.shared().database().checkpointLockIsHeldByThread();
+
+                    return pageMem.allocatePage(grpId, partId, PageIdAllocator.FLAG_DATA);
+                }
+            };
 
-                    CacheDataTree dataTree = new CacheDataTree(
-                        grp,
-                        dataTreeName,
-                        freeList,
-                        rowStore,
-                        treeRoot.pageId().pageId(),
-                        treeRoot.isAllocated(),
-                        ctx.diagnostic().pageLockTracker().createPageLockTracker(dataTreeName)
-                    ) {
-                        /** {@inheritDoc} */
-                        @Override protected long allocatePageNoReuse() throws IgniteCheckedException {
-                            assert grp.shared().database().checkpointLockIsHeldByThread();
+            String dataTreeName = dataTreeName();
 
-                            return pageMem.allocatePage(grpId, partId, PageIdAllocator.FLAG_DATA);
-                        }
-                    };
-
-                    String pendingEntriesTreeName = pendingEntriesTreeName();
-
-                    RootPage pendingTreeRoot = metas.pendingTreeRoot;
-
-                    final PendingEntriesTree pendingTree0 = new PendingEntriesTree(
-                        grp,
-                        pendingEntriesTreeName,
-                        grp.dataRegion().pageMemory(),
-                        pendingTreeRoot.pageId().pageId(),
-                        freeList,
-                        pendingTreeRoot.isAllocated(),
-                        ctx.diagnostic().pageLockTracker().createPageLockTracker(pendingEntriesTreeName)
-                    ) {
-                        /** {@inheritDoc} */
-                        @Override protected long allocatePageNoReuse() throws IgniteCheckedException {
-                            assert grp.shared().database().checkpointLockIsHeldByThread();
-
-                            return pageMem.allocatePage(grpId, partId, PageIdAllocator.FLAG_DATA);
-                        }
-                    };
+            CacheDataRowStore rowStore = new CacheDataRowStore(grp, freeList, partId);
 
-                    PageMemoryEx pageMem = (PageMemoryEx)grp.dataRegion().pageMemory();
+            RootPage treeRoot = metas.treeRoot;
 
-                    delegate0 = new CacheDataStoreImpl(partId, rowStore, dataTree) {
-                        /** {@inheritDoc} */
-                        @Override public PendingEntriesTree pendingTree() {
-                            return pendingTree0;
-                        }
+            CacheDataTree dataTree = new CacheDataTree(
+                grp,
+                dataTreeName,
+                freeList,
+                rowStore,
+                treeRoot.pageId().pageId(),
+                treeRoot.isAllocated(),
+                ctx.diagnostic().pageLockTracker().createPageLockTracker(dataTreeName)
+            ) {
+                /** {@inheritDoc} */
+                @Override protected long allocatePageNoReuse() throws IgniteCheckedException {
+                    assert grp.shared().database().checkpointLockIsHeldByThread();
 
-                        /** {@inheritDoc} */
-                        @Override public void preload() throws IgniteCheckedException {
-                            IgnitePageStoreManager pageStoreMgr = ctx.pageStore();
+                    return pageMem.allocatePage(grpId, partId, PageIdAllocator.FLAG_DATA);
+                }
+            };
+
+            String pendingEntriesTreeName = pendingEntriesTreeName();
+
+            RootPage pendingTreeRoot = metas.pendingTreeRoot;
+
+            final PendingEntriesTree pendingTree0 = new PendingEntriesTree(
+                grp,
+                pendingEntriesTreeName,
+                grp.dataRegion().pageMemory(),
+                pendingTreeRoot.pageId().pageId(),
+                freeList,
+                pendingTreeRoot.isAllocated(),
+                ctx.diagnostic().pageLockTracker().createPageLockTracker(pendingEntriesTreeName)
+            ) {
+                /** {@inheritDoc} */
+                @Override protected long allocatePageNoReuse() throws IgniteCheckedException {
+                    assert grp.shared().database().checkpointLockIsHeldByThread();
+
+                    return pageMem.allocatePage(grpId, partId, PageIdAllocator.FLAG_DATA);
+                }
+            };
 
-                            if (pageStoreMgr == null)
-                                return;
+            PageMemoryEx pageMem = (PageMemoryEx)grp.dataRegion().pageMemory();
 
-                            final int pages = pageStoreMgr.pages(grp.groupId(), partId);
+            CacheDataStoreImpl delegate0 = new CacheDataStoreImpl(partId, rowStore, dataTree) {
+                /** {@inheritDoc} */
+                @Override public PendingEntriesTree pendingTree() {
+                    return pendingTree0;
+                }
 
-                            long pageId = pageMem.partitionMetaPageId(grp.groupId(), partId);
+                /** {@inheritDoc} */
+                @Override public void preload() throws IgniteCheckedException {
+                    IgnitePageStoreManager pageStoreMgr = ctx.pageStore();
 
-                            // For each page sequentially pin/unpin.
-                            for (int pageNo = 0; pageNo < pages; pageId++, pageNo++) {
-                                long pagePointer = -1;
+                    if (pageStoreMgr == null)
+                        return;
 
-                                try {
-                                    pagePointer = pageMem.acquirePage(grp.groupId(), pageId);
-                                }
-                                finally {
-                                    if (pagePointer != -1)
-                                        pageMem.releasePage(grp.groupId(), pageId, pagePointer);
-                                }
-                            }
-                        }
-                    };
+                    final int pages = pageStoreMgr.pages(grp.groupId(), partId);
 
-                    pendingTree = pendingTree0;
+                    long pageId = pageMem.partitionMetaPageId(grp.groupId(), partId);
 
-                    if (!pendingTree0.isEmpty())
-                        grp.caches().forEach(cctx -> cctx.ttl().hasPendingEntries(true));
+                    // For each page sequentially pin/unpin.
+                    for (int pageNo = 0; pageNo < pages; pageId++, pageNo++) {
+                        long pagePointer = -1;
 
-                    int grpId = grp.groupId();
-                    long partMetaId = pageMem.partitionMetaPageId(grpId, partId);
-                    long partMetaPage = pageMem.acquirePage(grpId, partMetaId);
+                        try {
+                            pagePointer = pageMem.acquirePage(grp.groupId(), pageId);
+                        }
+                        finally {
+                            if (pagePointer != -1)
+                                pageMem.releasePage(grp.groupId(), pageId, pagePointer);
+                        }
+                    }
+                }
+            };
 
-                    try {
-                        long pageAddr = pageMem.readLock(grpId, partMetaId, partMetaPage);
+            pendingTree = pendingTree0;
 
-                        try {
-                            if (PageIO.getType(pageAddr) != 0) {
-                                PagePartitionMetaIOV2 io = (PagePartitionMetaIOV2)PagePartitionMetaIO.VERSIONS.latest();
+            if (!pendingTree0.isEmpty())
+                grp.caches().forEach(cctx -> cctx.ttl().hasPendingEntries(true));
 
-                                Map<Integer, Long> cacheSizes = null;
+            int grpId = grp.groupId();
+            long partMetaId = pageMem.partitionMetaPageId(grpId, partId);
+            long partMetaPage = pageMem.acquirePage(grpId, partMetaId);
 
-                                if (grp.sharedGroup())
-                                    cacheSizes = readSharedGroupCacheSizes(pageMem, grpId, io.getCountersPageId(pageAddr));
+            try {
+                long pageAddr = pageMem.readLock(grpId, partMetaId, partMetaPage);
 
-                                long link = io.getGapsLink(pageAddr);
+                try {
+                    if (PageIO.getType(pageAddr) != 0) {
+                        PagePartitionMetaIOV2 io = (PagePartitionMetaIOV2)PagePartitionMetaIO.VERSIONS.latest();
 
-                                byte[] data = link == 0 ? null : partStorage.readRow(link);
+                        Map<Integer, Long> cacheSizes = null;
 
-                                delegate0.restoreState(io.getSize(pageAddr), io.getUpdateCounter(pageAddr), cacheSizes, data);
+                        if (grp.sharedGroup())
+                            cacheSizes = readSharedGroupCacheSizes(pageMem, grpId, io.getCountersPageId(pageAddr));
 
-                                globalRemoveId().setIfGreater(io.getGlobalRemoveId(pageAddr));
-                            }
-                        }
-                        finally {
-                            pageMem.readUnlock(grpId, partMetaId, partMetaPage);
-                        }
-                    }
-                    finally {
-                        pageMem.releasePage(grpId, partMetaId, partMetaPage);
-                    }
+                        long link = io.getGapsLink(pageAddr);
 
-                    delegate = delegate0;
-                }
-                catch (Throwable ex) {
-                    U.error(log, "Unhandled exception during page store initialization. All further operations will " +
-                        "be failed and local node will be stopped.", ex);
+                        byte[] data = link == 0 ? null : partStorage.readRow(link);
 
-                    ctx.kernalContext().failure().process(new FailureContext(FailureType.CRITICAL_ERROR, ex));
+                        delegate0.restoreState(io.getSize(pageAddr), io.getUpdateCounter(pageAddr), cacheSizes, data);
 
-                    throw ex;
+                        globalRemoveId().setIfGreater(io.getGlobalRemoveId(pageAddr));
+                    }
                 }
                 finally {
-                    latch.countDown();
-
-                    dbMgr.checkpointReadUnlock();
+                    pageMem.readUnlock(grpId, partMetaId, partMetaPage);
                 }
             }
-            else {
-                U.await(latch);
-
-                delegate0 = delegate;
-
-                if (delegate0 == null)
-                    throw new IgniteCheckedException("Cache store initialization failed.");
+            finally {
+                pageMem.releasePage(grpId, partMetaId, partMetaPage);
             }
 
             return delegate0;
         }
 
+        /**
+         * Reads the structures of the partition again from the file which has replaced the previous one.
+         * Called under checkpoint write lock, so the store is not initialized concurrently.
+         *
+         * @throws IgniteCheckedException If failed.
+         */
+        private void reinit() throws IgniteCheckedException {
+            exists = true;
+
+            // A store which is not initialized yet reads the new file on the first access.
+            if (delegate != null)
+                delegate = createDelegate();
+        }
+
         /**
          * @return Partition metas.
          */
@@ -2488,6 +2638,16 @@ public class GridCacheOffheapManager extends IgniteCacheOffheapManagerImpl imple
             delegate.invoke(cctx, key, c);
         }
 
+        /** {@inheritDoc} */
+        @Override public void invokeAll(GridCacheContext cctx, List<KeyCacheObject> keys,
+            List<? extends OffheapInvokeClosure> clos) throws IgniteCheckedException {
+            assert ctx.database().checkpointLockIsHeldByThread();
+
+            CacheDataStore delegate = init0(false);
+
+            delegate.invokeAll(cctx, keys, clos);
+        }
+
         /** {@inheritDoc} */
         @Override public void remove(GridCacheContext cctx, KeyCacheObject key, int partId)
             throws IgniteCheckedException {
@@ -37,6 +37,7 @@ import org.apache.ignite.configuration.DataPageEvictionMode;
 import org.apache.ignite.configuration.DataRegionConfiguration;
 import org.apache.ignite.configuration.DataStorageConfiguration;
 import org.apache.ignite.configuration.IgniteConfiguration;
+import org.apache.ignite.configuration.WarmUpConfiguration;
 import org.apache.ignite.failure.FailureContext;
 import org.apache.ignite.failure.FailureType;
 import org.apache.ignite.internal.GridKernalContext;
@@ -52,9 +53,12 @@ import org.apache.ignite.internal.pagemem.PageMemory;
 import org.apache.ignite.internal.pagemem.impl.PageMemoryNoStoreImpl;
 import org.apache.ignite.internal.pagemem.wal.WALPointer;
 import org.apache.ignite.internal.pagemem.wal.record.DataEntry;
+import org.apache.ignite.internal.pagemem.wal.record.DeltaDataEntry;
 import org.apache.ignite.internal.pagemem.wal.record.MvccDataEntry;
 import org.apache.ignite.internal.processors.affinity.AffinityTopologyVersion;
 import org.apache.ignite.internal.processors.cache.CacheGroupContext;
+import org.apache.ignite.internal.processors.cache.CacheObject;
+import org.apache.ignite.internal.processors.cache.CacheObjectContext;
 import org.apache.ignite.internal.processors.cache.GridCacheContext;
 import org.apache.ignite.internal.processors.cache.GridCacheEntryEx;
 import org.apache.ignite.internal.processors.cache.GridCacheMapEntry;
@@ -67,6 +71,7 @@ import org.apache.ignite.internal.processors.cache.persistence.evict.NoOpPageEvi
 import org.apache.ignite.internal.processors.cache.persistence.evict.PageEvictionTracker;
 import org.apache.ignite.internal.processors.cache.persistence.evict.Random2LruPageEvictionTracker;
 import org.apache.ignite.internal.processors.cache.persistence.evict.RandomLruPageEvictionTracker;
+import org.apache.ignite.internal.processors.cache.persistence.evict.WTinyLfuPageEvictionTracker;
 import org.apache.ignite.internal.processors.cache.persistence.filename.PdsFolderSettings;
 import org.apache.ignite.internal.processors.cache.persistence.freelist.AbstractFreeList;
 import org.apache.ignite.internal.processors.cache.persistence.freelist.CacheFreeList;
@@ -75,6 +80,7 @@ import org.apache.ignite.internal.processors.cache.persistence.metastorage.MetaS
 import org.apache.ignite.internal.processors.cache.persistence.metastorage.MetastorageLifecycleListener;
 import org.apache.ignite.internal.processors.cache.persistence.tree.reuse.ReuseList;
 import org.apache.ignite.internal.processors.cache.persistence.tree.util.PageLockListener;
+import org.apache.ignite.internal.processors.cache.version.GridCacheVersion;
 import org.apache.ignite.internal.processors.cluster.IgniteChangeGlobalStateSupport;
 import org.apache.ignite.internal.util.TimeBag;
 import org.apache.ignite.internal.util.typedef.F;
@@ -152,6 +158,9 @@ public class IgniteCacheDatabaseSharedManager extends GridCacheSharedManagerAdap
     /** First eviction was warned flag. */
     private volatile boolean firstEvictWarn;
 
+    /** Log updates of large values as deltas to the previous values. */
+    private boolean walDeltaUpdatesEnabled;
+
 
     /** {@inheritDoc} */
     @Override protected void start0() throws IgniteCheckedException {
@@ -166,6 +175,8 @@ public class IgniteCacheDatabaseSharedManager extends GridCacheSharedManagerAdap
 
         pageSize = memCfg.getPageSize();
 
+        walDeltaUpdatesEnabled = memCfg.isWalDeltaUpdatesEnabled();
+
         initDataRegions(memCfg);
     }
 
@@ -301,6 +312,25 @@ public class IgniteCacheDatabaseSharedManager extends GridCacheSharedManagerAdap
         return pageSize;
     }
 
+    /**
+     * @return {@code True} if updates of large values may be logged to WAL as deltas to the previous values.
+     * @see DataStorageConfiguration#isWalDeltaUpdatesEnabled()
+     */
+    public boolean walDeltaUpdatesEnabled() {
+        return walDeltaUpdatesEnabled;
+    }
+
+    /**
+     * Checks whether a value was written after the start of the last checkpoint. Logical recovery replays the WAL
+     * record of such a value, so an update of it may be logged as a delta to it.
+     *
+     * @param ver Version of the value.
+     * @return {@code True} if the value with the given version was written after the start of the last checkpoint.
+     */
+    public boolean writtenAfterCheckpointStart(GridCacheVersion ver) {
+        return false;
+    }
+
     /**
      *
      */
@@ -601,6 +631,8 @@ public class IgniteCacheDatabaseSharedManager extends GridCacheSharedManagerAdap
         checkRegionEvictionProperties(regCfg, memCfg);
 
         checkRegionMemoryStorageType(regCfg);
+
+        checkWarmUpConfiguration(regCfg);
     }
 
     /**
@@ -717,6 +749,33 @@ public class IgniteCacheDatabaseSharedManager extends GridCacheSharedManagerAdap
             );
     }
 
+    /**
+     * @param regCfg DataRegionConfiguration to validate.
+     * @throws IgniteCheckedException If config is invalid.
+     */
+    private static void checkWarmUpConfiguration(DataRegionConfiguration regCfg) throws IgniteCheckedException {
+        WarmUpConfiguration warmUpCfg = regCfg.getWarmUpConfiguration();
+
+        if (warmUpCfg == null)
+            return;
+
+        if (!regCfg.isPersistenceEnabled())
+            throw new IgniteCheckedException("Warm-up can be configured only for data regions with enabled " +
+                "persistence (use DataRegionConfiguration.setWarmUpConfiguration(null) to disable warm-up) " +
+                "[name=" + regCfg.getName() + "]");
+
+        if (warmUpCfg.getMode() == null)
+            throw new IgniteCheckedException("Warm-up mode must be set [name=" + regCfg.getName() + "]");
+
+        if (warmUpCfg.getHotPagesDumpFrequency() < 0)
+            throw new IgniteCheckedException("Hot pages dump frequency must not be negative [name=" +
+                regCfg.getName() + ", hotPagesDumpFrequency=" + warmUpCfg.getHotPagesDumpFrequency() + "]");
+
+        if (warmUpCfg.getPagesPerSecond() < 0)
+            throw new IgniteCheckedException("Warm-up pages per second limit must not be negative [name=" +
+                regCfg.getName() + ", pagesPerSecond=" + warmUpCfg.getPagesPerSecond() + "]");
+    }
+
     /**
      * @param regCfg DataRegionConfiguration to validate.
      * @param dbCfg Memory configuration.
@@ -1242,6 +1301,8 @@ public class IgniteCacheDatabaseSharedManager extends GridCacheSharedManagerAdap
                 return new RandomLruPageEvictionTracker(pageMem0, plc, cctx);
             case RANDOM_2_LRU:
                 return new Random2LruPageEvictionTracker(pageMem0, plc, cctx);
+            case W_TINY_LFU:
+                return new WTinyLfuPageEvictionTracker(pageMem0, plc, cctx);
             default:
                 return new NoOpPageEvictionTracker();
         }
@@ -1302,6 +1363,31 @@ public class IgniteCacheDatabaseSharedManager extends GridCacheSharedManagerAdap
         return pageMem;
     }
 
+    /**
+     * Restores the value of a delta entry from the value currently stored for the entry key. The delta is logged
+     * only on top of the last value logged for the key, so the stored value is always its base, a missing or
+     * mismatching base means the WAL can not be trusted and recovery fails.
+     *
+     * @param cacheCtx Cache context.
+     * @param dataEntry Delta entry.
+     * @return Updated value.
+     * @throws IgniteCheckedException If there is no stored value or the delta was computed for another value.
+     */
+    private CacheObject applyDelta(GridCacheContext cacheCtx, DeltaDataEntry dataEntry) throws IgniteCheckedException {
+        CacheDataRow row = cacheCtx.offheap().read(cacheCtx, dataEntry.key());
+
+        if (row == null) {
+            throw new IgniteCheckedException("Failed to apply WAL delta, there is no base value [cache=" +
+                cacheCtx.name() + ", partId=" + dataEntry.partitionId() + ']');
+        }
+
+        CacheObjectContext coCtx = cacheCtx.cacheObjectContext();
+
+        byte[] bytes = dataEntry.apply(row.value().valueBytes(coCtx));
+
+        return cctx.kernalContext().cacheObjects().toCacheObject(coCtx, dataEntry.valueType(), bytes);
+    }
+
     /**
      * @param cacheCtx Cache context to apply an update.
      * @param dataEntry Data entry to apply.
@@ -1347,7 +1433,8 @@ public class IgniteCacheDatabaseSharedManager extends GridCacheSharedManagerAdap
                         cacheCtx.offheap().update(
                             cacheCtx,
                             dataEntry.key(),
-                            dataEntry.value(),
+                            dataEntry instanceof DeltaDataEntry ?
+                                applyDelta(cacheCtx, (DeltaDataEntry)dataEntry) : dataEntry.value(),
                             dataEntry.writeVersion(),
                             dataEntry.expireTime(),
                             locPart,
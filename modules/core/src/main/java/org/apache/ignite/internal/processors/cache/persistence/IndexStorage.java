@@ -55,6 +55,20 @@ public interface IndexStorage {
      */
     public RootPage dropCacheIndex(Integer cacheId, String idxName, int segment) throws IgniteCheckedException;
 
+    /**
+     * Renames cache index keeping its root page. If an index with the new name exists, its root page is replaced
+     * atomically and is not deallocated. Index names will be masked if needed.
+     *
+     * @param cacheId Cache ID.
+     * @param oldIdxName Current index name.
+     * @param newIdxName New index name.
+     * @param segment Segment.
+     * @return Root page of the renamed index or {@code null} if there is no index with the current name.
+     * @throws IgniteCheckedException If failed.
+     */
+    public RootPage renameCacheIndex(Integer cacheId, String oldIdxName, String newIdxName, int segment)
+        throws IgniteCheckedException;
+
     /**
      * Deallocate index page and remove from tree.
      *
@@ -169,6 +169,32 @@ public class IndexStorageImpl implements IndexStorage {
         return dropIndex(maskedIdxName);
     }
 
+    /** {@inheritDoc} */
+    @Override public RootPage renameCacheIndex(Integer cacheId, String oldIdxName, String newIdxName, int segment)
+        throws IgniteCheckedException {
+        byte[] oldIdxNameBytes = maskCacheIndexName(cacheId, oldIdxName, segment).getBytes(StandardCharsets.UTF_8);
+        byte[] newIdxNameBytes = maskCacheIndexName(cacheId, newIdxName, segment).getBytes(StandardCharsets.UTF_8);
+
+        if (newIdxNameBytes.length > MAX_IDX_NAME_LEN)
+            throw new IllegalArgumentException("Too long encoded indexName [maxAllowed=" + MAX_IDX_NAME_LEN +
+                ", currentLength=" + newIdxNameBytes.length + ", name=" + newIdxName + "]");
+
+        final MetaTree tree = metaTree;
+
+        synchronized (this) {
+            final IndexItem row = tree.remove(new IndexItem(oldIdxNameBytes, 0));
+
+            if (row == null)
+                return null;
+
+            // The root page of an existing index with the new name is replaced by a single put, so a crash at any
+            // point leaves the new name bound either to the former root page or to the renamed one.
+            tree.put(new IndexItem(newIdxNameBytes, row.pageId));
+
+            return new RootPage(new FullPageId(row.pageId, grpId), false);
+        }
+    }
+
     /** {@inheritDoc} */
     @Override public RootPage dropIndex(final String idxName) throws IgniteCheckedException {
         byte[] idxNameBytes = idxName.getBytes(StandardCharsets.UTF_8);
@@ -0,0 +1,221 @@
+/*
+ * Copyright 2019 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.cache.persistence.checkpoint;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.concurrent.atomic.LongAdder;
+import org.apache.ignite.IgniteCheckedException;
+import org.apache.ignite.internal.pagemem.FullPageId;
+import org.apache.ignite.internal.pagemem.PageIdUtils;
+import org.apache.ignite.internal.pagemem.store.PageStore;
+import org.apache.ignite.internal.processors.cache.persistence.file.FilePageStoreManager;
+import org.apache.ignite.internal.processors.cache.persistence.pagemem.CheckpointMetricsTracker;
+import org.apache.ignite.internal.processors.cache.persistence.pagemem.PageMemoryEx;
+import org.apache.ignite.internal.util.GridUnsafe;
+import org.jetbrains.annotations.Nullable;
+import org.jsr166.ConcurrentLinkedHashMap;
+
+/**
+ * Coalesces checkpoint writes of pages with contiguous indexes of the same partition into a single page store write.
+ * <p>
+ * A page is copied for checkpoint directly into a buffer of the batch (see {@link #buffer(PageMemoryEx)}) and then
+ * added to the batch. The page stays pinned until the batch is written, otherwise it could be replaced, modified and
+ * written by page replacement before the older checkpoint copy is written, or read back from the store before it is
+ * written.
+ * <p>
+ * Not thread safe, each checkpoint thread uses its own batch.
+ */
+public class CheckpointPagesWriteBatch {
+    /** Page store manager. */
+    private final FilePageStoreManager storeMgr;
+
+    /** Page stores updated by the checkpoint. */
+    private final ConcurrentLinkedHashMap<PageStore, LongAdder> updStores;
+
+    /** Metrics tracker. */
+    @Nullable private final CheckpointMetricsTracker tracker;
+
+    /** Page buffers. */
+    private final ByteBuffer[] bufs;
+
+    /** Page IDs of the batch. */
+    private final long[] pageIds;
+
+    /** Pinned pages of the batch. */
+    private final long[] pages;
+
+    /** Page memory of the batch pages. */
+    private PageMemoryEx pageMem;
+
+    /** Page memory of the page being copied into the {@link #buffer(PageMemoryEx)}. */
+    private PageMemoryEx nextPageMem;
+
+    /** Cache group ID of the batch pages. */
+    private int grpId;
+
+    /** Partition tag of the batch pages. */
+    private int tag;
+
+    /** Number of pages in the batch. */
+    private int cnt;
+
+    /**
+     * @param storeMgr Page store manager.
+     * @param updStores Page stores updated by the checkpoint.
+     * @param tracker Metrics tracker.
+     * @param bufs Page buffers, their number defines the maximum batch size.
+     */
+    public CheckpointPagesWriteBatch(
+        FilePageStoreManager storeMgr,
+        ConcurrentLinkedHashMap<PageStore, LongAdder> updStores,
+        @Nullable CheckpointMetricsTracker tracker,
+        ByteBuffer[] bufs
+    ) {
+        this.storeMgr = storeMgr;
+        this.updStores = updStores;
+        this.tracker = tracker;
+        this.bufs = bufs;
+
+        pageIds = new long[bufs.length];
+        pages = new long[bufs.length];
+    }
+
+    /**
+     * Allocates page buffers for a batch. Buffers are slices of a single direct buffer aligned to the page size,
+     * so they are suitable for direct I/O.
+     *
+     * @param cnt Number of buffers.
+     * @param pageSize Page size.
+     * @return Page buffers.
+     */
+    public static ByteBuffer[] allocateBuffers(int cnt, int pageSize) {
+        ByteBuffer buf = ByteBuffer.allocateDirect((cnt + 1) * pageSize);
+
+        int alignOff = (int)((pageSize - GridUnsafe.bufferAddress(buf) % pageSize) % pageSize);
+
+        ByteBuffer[] bufs = new ByteBuffer[cnt];
+
+        for (int i = 0; i < cnt; i++) {
+            buf.limit(alignOff + (i + 1) * pageSize);
+            buf.position(alignOff + i * pageSize);
+
+            bufs[i] = buf.slice().order(ByteOrder.nativeOrder());
+        }
+
+        return bufs;
+    }
+
+    /**
+     * @param pageMem Page memory of the next page.
+     * @return Buffer to copy the next page into.
+     */
+    public ByteBuffer buffer(PageMemoryEx pageMem) {
+        nextPageMem = pageMem;
+
+        ByteBuffer buf = bufs[cnt];
+
+        buf.rewind();
+
+        return buf;
+    }
+
+    /**
+     * Adds a page copied into the {@link #buffer(PageMemoryEx)} to the batch. Writes the batch first if the page does
+     * not continue it, and writes the batch if it is full.
+     *
+     * @param fullId Full page ID.
+     * @param buf Page buffer, must be the buffer returned by {@link #buffer(PageMemoryEx)}.
+     * @param tag Partition tag.
+     * @throws IgniteCheckedException If failed.
+     */
+    public void add(FullPageId fullId, ByteBuffer buf, int tag) throws IgniteCheckedException {
+        assert buf == bufs[cnt];
+
+        PageMemoryEx pageMem = nextPageMem;
+
+        if (cnt > 0 && !continues(fullId, tag)) {
+            int last = cnt;
+
+            flush();
+
+            bufs[last] = bufs[0];
+            bufs[0] = buf;
+        }
+
+        long pageId = fullId.pageId();
+
+        // The page is still pinned by the caller, take over the pin until the batch is written.
+        pages[cnt] = pageMem.acquirePage(fullId.groupId(), pageId);
+        pageIds[cnt] = pageId;
+
+        if (cnt++ == 0) {
+            this.pageMem = pageMem;
+            this.grpId = fullId.groupId();
+            this.tag = tag;
+        }
+
+        if (cnt == bufs.length)
+            flush();
+    }
+
+    /**
+     * @param fullId Full page ID.
+     * @param tag Partition tag.
+     * @return {@code True} if the page directly follows the last page of the batch.
+     */
+    private boolean continues(FullPageId fullId, int tag) {
+        long lastPageId = pageIds[cnt - 1];
+
+        return fullId.groupId() == grpId && tag == this.tag &&
+            PageIdUtils.partId(fullId.pageId()) == PageIdUtils.partId(lastPageId) &&
+            PageIdUtils.pageIndex(fullId.pageId()) == PageIdUtils.pageIndex(lastPageId) + 1;
+    }
+
+    /**
+     * Writes pages of the batch.
+     *
+     * @throws IgniteCheckedException If failed.
+     */
+    public void flush() throws IgniteCheckedException {
+        if (cnt == 0)
+            return;
+
+        try {
+            PageStore store = storeMgr.writeInternal(grpId, pageIds, bufs, 0, cnt, tag, true);
+
+            updStores.computeIfAbsent(store, k -> new LongAdder()).add(cnt);
+
+            if (tracker != null)
+                tracker.onPagesWritten(cnt);
+        }
+        finally {
+            releasePages();
+        }
+    }
+
+    /**
+     * Releases pages of the batch without writing them.
+     */
+    public void releasePages() {
+        for (int i = 0; i < cnt; i++)
+            pageMem.releasePage(grpId, pageIds[i], pages[i]);
+
+        cnt = 0;
+        pageMem = null;
+    }
+}
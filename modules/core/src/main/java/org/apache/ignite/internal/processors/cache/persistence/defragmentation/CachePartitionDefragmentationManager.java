@@ -0,0 +1,326 @@
+/*
+ * Copyright 2019 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.cache.persistence.defragmentation;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+import org.apache.ignite.IgniteCheckedException;
+import org.apache.ignite.IgniteLogger;
+import org.apache.ignite.configuration.CacheConfiguration;
+import org.apache.ignite.internal.pagemem.PageIdAllocator;
+import org.apache.ignite.internal.processors.cache.CacheGroupDescriptor;
+import org.apache.ignite.internal.processors.cache.GridCacheSharedContext;
+import org.apache.ignite.internal.processors.cache.persistence.StorageException;
+import org.apache.ignite.internal.processors.cache.persistence.file.FilePageStore;
+import org.apache.ignite.internal.processors.cache.persistence.file.FilePageStoreManager;
+import org.apache.ignite.internal.processors.cache.persistence.file.FileVersionCheckingFactory;
+import org.apache.ignite.internal.processors.metric.impl.LongAdderMetric;
+import org.apache.ignite.internal.util.typedef.internal.U;
+import org.apache.ignite.lang.IgnitePredicate;
+import org.jetbrains.annotations.Nullable;
+
+import static org.apache.ignite.cache.CacheAtomicityMode.TRANSACTIONAL_SNAPSHOT;
+import static org.apache.ignite.internal.processors.cache.persistence.file.FilePageStoreManager.FILE_SUFFIX;
+import static org.apache.ignite.internal.processors.cache.persistence.file.FilePageStoreManager.INDEX_FILE_NAME;
+import static org.apache.ignite.internal.processors.cache.persistence.file.FilePageStoreManager.PART_FILE_TEMPLATE;
+import static org.apache.ignite.internal.processors.cache.persistence.file.FilePageStoreManager.TMP_SUFFIX;
+
+/**
+ * Offline defragmentation of cache group partition files.
+ * <p>
+ * Defragmentation runs on node start before any page store is opened. Every partition of the group is rewritten into
+ * a {@code part-dfrg-N.bin} file next to the original one. Once all the partitions are rewritten, a completion marker
+ * is created and the original files are replaced. {@code index.bin} of the group is removed at the same time, which
+ * makes the node rebuild SQL indexes on start since the rows have new links. The marker makes the replacement
+ * idempotent: if the node fails in the middle, the replacement is finished on the next start, otherwise partially
+ * written files are removed and the original partitions are kept intact.
+ */
+public class CachePartitionDefragmentationManager {
+    /** Defragmented partition file prefix. */
+    public static final String DFRG_PART_FILE_PREFIX = "part-dfrg-";
+
+    /** Defragmented partition file template. */
+    public static final String DFRG_PART_FILE_TEMPLATE = DFRG_PART_FILE_PREFIX + "%d" + FILE_SUFFIX;
+
+    /** Marker file created when all the partitions of a group are defragmented and may replace the original ones. */
+    public static final String DFRG_COMPLETION_MARKER_FILE_NAME = "dfrg-completion-marker";
+
+    /** */
+    private final GridCacheSharedContext<?, ?> cctx;
+
+    /** */
+    private final IgniteLogger log;
+
+    /** Names of the cache groups to defragment. */
+    private final Set<String> grpNames;
+
+    /**
+     * @param cctx Cache shared context.
+     * @param grpNames Names of the cache groups to defragment.
+     */
+    public CachePartitionDefragmentationManager(GridCacheSharedContext<?, ?> cctx, Collection<String> grpNames) {
+        this.cctx = cctx;
+        this.grpNames = new HashSet<>(grpNames);
+
+        log = cctx.logger(getClass());
+    }
+
+    /**
+     * Finishes or rolls back defragmentation interrupted by a node failure. Must be called for every node start
+     * before page stores are initialized.
+     *
+     * @throws IgniteCheckedException If failed.
+     */
+    public void onBeforeStoresInit() throws IgniteCheckedException {
+        FilePageStoreManager storeMgr = (FilePageStoreManager)cctx.pageStore();
+
+        for (CacheGroupDescriptor grpDesc : cctx.cache().persistentGroups()) {
+            File workDir = storeMgr.cacheWorkDir(grpDesc.sharedGroup(), grpDesc.cacheOrGroupName());
+
+            if (!workDir.exists())
+                continue;
+
+            if (new File(workDir, DFRG_COMPLETION_MARKER_FILE_NAME).exists())
+                replacePartitions(grpDesc, workDir);
+            else
+                removeDefragmentedPartitions(workDir);
+        }
+    }
+
+    /**
+     * Defragments configured cache groups.
+     *
+     * @param walEnabledGrps Predicate that passes only cache groups with WAL enabled on the previous node run.
+     * @throws IgniteCheckedException If failed.
+     */
+    public void executeDefragmentation(IgnitePredicate<Integer> walEnabledGrps) throws IgniteCheckedException {
+        FilePageStoreManager storeMgr = (FilePageStoreManager)cctx.pageStore();
+
+        Set<String> notFound = new HashSet<>(grpNames);
+
+        for (CacheGroupDescriptor grpDesc : cctx.cache().persistentGroups()) {
+            if (!notFound.remove(grpDesc.cacheOrGroupName()))
+                continue;
+
+            File workDir = storeMgr.cacheWorkDir(grpDesc.sharedGroup(), grpDesc.cacheOrGroupName());
+
+            if (!workDir.exists())
+                continue;
+
+            String reason = unsupportedReason(grpDesc, walEnabledGrps);
+
+            if (reason != null) {
+                U.warn(log, "Cache group will not be defragmented [grp=" + grpDesc.cacheOrGroupName() +
+                    ", reason=" + reason + ']');
+
+                continue;
+            }
+
+            defragmentGroup(grpDesc, workDir);
+        }
+
+        if (!notFound.isEmpty())
+            U.warn(log, "Persistent cache groups configured for defragmentation were not found: " + notFound);
+    }
+
+    /**
+     * @param grpDesc Cache group descriptor.
+     * @param walEnabledGrps Predicate that passes only cache groups with WAL enabled on the previous node run.
+     * @return Reason why the group can't be defragmented or {@code null} if it can.
+     */
+    @Nullable private String unsupportedReason(CacheGroupDescriptor grpDesc, IgnitePredicate<Integer> walEnabledGrps) {
+        CacheConfiguration<?, ?> ccfg = grpDesc.config();
+
+        if (ccfg.isEncryptionEnabled())
+            return "encrypted cache group";
+
+        if (ccfg.getAtomicityMode() == TRANSACTIONAL_SNAPSHOT)
+            return "MVCC cache group";
+
+        if (!grpDesc.walEnabled() || !walEnabledGrps.apply(grpDesc.groupId()))
+            return "WAL is disabled";
+
+        return null;
+    }
+
+    /**
+     * @param grpDesc Cache group descriptor.
+     * @param workDir Cache group work directory.
+     * @throws IgniteCheckedException If failed.
+     */
+    private void defragmentGroup(CacheGroupDescriptor grpDesc, File workDir) throws IgniteCheckedException {
+        FilePageStoreManager storeMgr = (FilePageStoreManager)cctx.pageStore();
+
+        FileVersionCheckingFactory storeFactory = new FileVersionCheckingFactory(
+            storeMgr.getPageStoreFileIoFactory(),
+            storeMgr.getPageStoreFileIoFactory(),
+            cctx.gridConfig().getDataStorageConfiguration()
+        );
+
+        int pageSize = storeMgr.pageSize();
+
+        LongAdderMetric noopTracker = new LongAdderMetric("NO_OP", null);
+
+        long start = U.currentTimeMillis();
+
+        int partsCnt = 0;
+        long pagesBefore = 0;
+        long pagesAfter = 0;
+
+        if (log.isInfoEnabled())
+            log.info("Defragmentation started [grp=" + grpDesc.cacheOrGroupName() + ']');
+
+        for (int p = 0; p < grpDesc.config().getAffinity().partitions(); p++) {
+            File partFile = new File(workDir, String.format(PART_FILE_TEMPLATE, p));
+
+            if (!partFile.exists())
+                continue;
+
+            File tmpFile = new File(workDir, String.format(DFRG_PART_FILE_TEMPLATE, p) + TMP_SUFFIX);
+
+            U.delete(tmpFile);
+
+            FilePageStore src = (FilePageStore)storeFactory.createPageStore(PageIdAllocator.FLAG_DATA, partFile,
+                noopTracker);
+
+            if (!src.exists()) {
+                src.stop(false);
+
+                continue;
+            }
+
+            FilePageStore dst = (FilePageStore)storeFactory.createPageStore(PageIdAllocator.FLAG_DATA, tmpFile,
+                noopTracker);
+
+            PartitionDefragmenter defragmenter = new PartitionDefragmenter(
+                p,
+                pageSize,
+                grpDesc.sharedGroup(),
+                src,
+                dst,
+                cctx.kernalContext().compress()
+            );
+
+            boolean done = false;
+
+            try {
+                done = defragmenter.defragment();
+
+                if (done) {
+                    pagesBefore += src.pages();
+                    pagesAfter += dst.pages();
+                }
+            }
+            finally {
+                src.stop(false);
+                dst.stop(!done);
+            }
+
+            if (!done) {
+                U.warn(log, "Partition will not be defragmented, its format is not supported [grp=" +
+                    grpDesc.cacheOrGroupName() + ", part=" + p + ']');
+
+                continue;
+            }
+
+            move(tmpFile, new File(workDir, String.format(DFRG_PART_FILE_TEMPLATE, p)));
+
+            partsCnt++;
+        }
+
+        if (partsCnt > 0) {
+            try {
+                Files.createFile(new File(workDir, DFRG_COMPLETION_MARKER_FILE_NAME).toPath());
+            }
+            catch (IOException e) {
+                throw new StorageException("Failed to create defragmentation completion marker [dir=" + workDir + ']',
+                    e);
+            }
+
+            replacePartitions(grpDesc, workDir);
+        }
+
+        if (log.isInfoEnabled())
+            log.info("Defragmentation finished [grp=" + grpDesc.cacheOrGroupName() + ", partitions=" + partsCnt +
+                ", pagesBefore=" + pagesBefore + ", pagesAfter=" + pagesAfter +
+                ", time=" + (U.currentTimeMillis() - start) + " ms]");
+    }
+
+    /**
+     * Replaces original partitions with defragmented ones, removes the index file and the completion marker.
+     *
+     * @param grpDesc Cache group descriptor.
+     * @param workDir Cache group work directory.
+     * @throws IgniteCheckedException If failed.
+     */
+    private void replacePartitions(CacheGroupDescriptor grpDesc, File workDir) throws IgniteCheckedException {
+        for (int p = 0; p < grpDesc.config().getAffinity().partitions(); p++) {
+            File dfrgFile = new File(workDir, String.format(DFRG_PART_FILE_TEMPLATE, p));
+
+            if (dfrgFile.exists())
+                move(dfrgFile, new File(workDir, String.format(PART_FILE_TEMPLATE, p)));
+        }
+
+        File idxFile = new File(workDir, INDEX_FILE_NAME);
+
+        if (idxFile.exists() && !idxFile.delete())
+            throw new StorageException("Failed to remove index file of defragmented cache group: " + idxFile);
+
+        File marker = new File(workDir, DFRG_COMPLETION_MARKER_FILE_NAME);
+
+        if (!marker.delete())
+            throw new StorageException("Failed to remove defragmentation completion marker: " + marker);
+    }
+
+    /**
+     * Removes partially defragmented partitions left after a node failure.
+     *
+     * @param workDir Cache group work directory.
+     */
+    private void removeDefragmentedPartitions(File workDir) {
+        File[] files = workDir.listFiles((dir, name) -> name.startsWith(DFRG_PART_FILE_PREFIX));
+
+        if (files == null)
+            return;
+
+        for (File file : files) {
+            if (log.isInfoEnabled())
+                log.info("Removing file left by interrupted defragmentation: " + file.getAbsolutePath());
+
+            U.delete(file);
+        }
+    }
+
+    /**
+     * @param from Source file.
+     * @param to Target file.
+     * @throws StorageException If failed.
+     */
+    private static void move(File from, File to) throws StorageException {
+        try {
+            Files.move(from.toPath(), to.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        }
+        catch (IOException e) {
+            throw new StorageException("Failed to move file [from=" + from + ", to=" + to + ']', e);
+        }
+    }
+}
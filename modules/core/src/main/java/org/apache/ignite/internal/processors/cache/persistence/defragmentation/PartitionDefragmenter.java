@@ -0,0 +1,1068 @@
+/*
+ * Copyright 2019 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.cache.persistence.defragmentation;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.apache.ignite.IgniteCheckedException;
+import org.apache.ignite.internal.pagemem.PageIdAllocator;
+import org.apache.ignite.internal.pagemem.PageIdUtils;
+import org.apache.ignite.internal.pagemem.PageUtils;
+import org.apache.ignite.internal.processors.cache.persistence.file.FilePageStore;
+import org.apache.ignite.internal.processors.cache.persistence.freelist.AbstractFreeList;
+import org.apache.ignite.internal.processors.cache.persistence.freelist.io.PagesListMetaIO;
+import org.apache.ignite.internal.processors.cache.persistence.freelist.io.PagesListNodeIO;
+import org.apache.ignite.internal.processors.cache.persistence.tree.io.AbstractDataPageIO;
+import org.apache.ignite.internal.processors.cache.persistence.tree.io.BPlusIO;
+import org.apache.ignite.internal.processors.cache.persistence.tree.io.BPlusInnerIO;
+import org.apache.ignite.internal.processors.cache.persistence.tree.io.BPlusLeafIO;
+import org.apache.ignite.internal.processors.cache.persistence.tree.io.BPlusMetaIO;
+import org.apache.ignite.internal.processors.cache.persistence.tree.io.DataPageIO;
+import org.apache.ignite.internal.processors.cache.persistence.tree.io.DataPagePayload;
+import org.apache.ignite.internal.processors.cache.persistence.tree.io.PageIO;
+import org.apache.ignite.internal.processors.cache.persistence.tree.io.PagePartitionCountersIO;
+import org.apache.ignite.internal.processors.cache.persistence.tree.io.PagePartitionMetaIO;
+import org.apache.ignite.internal.processors.cache.persistence.tree.io.PagePartitionMetaIOV2;
+import org.apache.ignite.internal.processors.cache.persistence.tree.io.SimpleDataPageIO;
+import org.apache.ignite.internal.processors.cache.persistence.tree.io.TrackingPageIO;
+import org.apache.ignite.internal.processors.cache.tree.CacheIdAwareDataInnerIO;
+import org.apache.ignite.internal.processors.cache.tree.CacheIdAwareDataLeafIO;
+import org.apache.ignite.internal.processors.cache.tree.CacheIdAwarePendingEntryInnerIO;
+import org.apache.ignite.internal.processors.cache.tree.CacheIdAwarePendingEntryLeafIO;
+import org.apache.ignite.internal.processors.cache.tree.DataInnerIO;
+import org.apache.ignite.internal.processors.cache.tree.DataLeafIO;
+import org.apache.ignite.internal.processors.cache.tree.PendingEntryInnerIO;
+import org.apache.ignite.internal.processors.cache.tree.PendingEntryLeafIO;
+import org.apache.ignite.internal.processors.cache.tree.PendingRowIO;
+import org.apache.ignite.internal.processors.cache.tree.RowLinkIO;
+import org.apache.ignite.internal.processors.compress.CompressionProcessor;
+import org.apache.ignite.internal.util.GridIntList;
+import org.apache.ignite.internal.util.GridLongList;
+import org.apache.ignite.internal.util.GridUnsafe;
+import org.apache.ignite.internal.util.typedef.internal.U;
+
+/**
+ * Rewrites a single partition file into a new, densely packed one.
+ * <p>
+ * The source file is read page by page without page memory: rows are copied into new data pages in the data tree
+ * order, data and pending entries trees are built bottom-up from the sorted items, free lists are laid out for the
+ * partially filled pages and the partition meta page is written last, pointing to the new structures. Both files
+ * must not be used by anybody else while the defragmenter is working.
+ */
+class PartitionDefragmenter {
+    /** Number of partially filled data pages kept in memory while rows are being copied. */
+    private static final int OPEN_DATA_PAGES = 16;
+
+    /** Page tag used for writes, page stores are not truncated during defragmentation. */
+    private static final int PAGE_TAG = 1;
+
+    /** */
+    private final int partId;
+
+    /** */
+    private final int pageSize;
+
+    /** {@code True} if partition belongs to a shared cache group. */
+    private final boolean sharedGrp;
+
+    /** Source partition store. */
+    private final FilePageStore src;
+
+    /** Target partition store, must be empty. */
+    private final FilePageStore dst;
+
+    /** */
+    private final CompressionProcessor compress;
+
+    /** */
+    private final TrackingPageIO trackingIO = TrackingPageIO.VERSIONS.latest();
+
+    /** Buffer for the source pages being read. */
+    private final ByteBuffer readBuf;
+
+    /** Buffer for the target pages being built. */
+    private final ByteBuffer writeBuf;
+
+    /** Number of pages read from the source store. */
+    private int pagesRead;
+
+    /** Number of pages written to the target store. */
+    private int pagesWritten;
+
+    /**
+     * @param partId Partition ID.
+     * @param pageSize Page size.
+     * @param sharedGrp {@code True} if partition belongs to a shared cache group.
+     * @param src Source partition store.
+     * @param dst Target partition store.
+     * @param compress Compression processor.
+     */
+    PartitionDefragmenter(
+        int partId,
+        int pageSize,
+        boolean sharedGrp,
+        FilePageStore src,
+        FilePageStore dst,
+        CompressionProcessor compress
+    ) {
+        this.partId = partId;
+        this.pageSize = pageSize;
+        this.sharedGrp = sharedGrp;
+        this.src = src;
+        this.dst = dst;
+        this.compress = compress;
+
+        readBuf = GridUnsafe.allocateBuffer(pageSize);
+        writeBuf = GridUnsafe.allocateBuffer(pageSize);
+    }
+
+    /**
+     * @return Number of pages read from the source store.
+     */
+    int pagesRead() {
+        return pagesRead;
+    }
+
+    /**
+     * @return Number of pages written to the target store.
+     */
+    int pagesWritten() {
+        return pagesWritten;
+    }
+
+    /**
+     * Rewrites the partition.
+     *
+     * @return {@code False} if partition format is not supported and the partition was left intact.
+     * @throws IgniteCheckedException If failed.
+     */
+    boolean defragment() throws IgniteCheckedException {
+        try {
+            return defragment0();
+        }
+        finally {
+            GridUnsafe.freeBuffer(readBuf);
+            GridUnsafe.freeBuffer(writeBuf);
+        }
+    }
+
+    /**
+     * @return {@code False} if partition format is not supported.
+     * @throws IgniteCheckedException If failed.
+     */
+    private boolean defragment0() throws IgniteCheckedException {
+        long metaPageId = PageIdUtils.pageId(partId, PageIdAllocator.FLAG_DATA, 0);
+
+        ByteBuffer metaBuf = GridUnsafe.allocateBuffer(pageSize);
+
+        try {
+            long metaAddr = GridUnsafe.bufferAddress(metaBuf);
+
+            readPage(metaPageId, metaBuf);
+
+            if (PageIO.getType(metaAddr) != PageIO.T_PART_META)
+                return false;
+
+            PagePartitionMetaIO metaIO = PageIO.getPageIO(metaAddr);
+
+            // Pending tree and partition meta storage roots are absent in the first version.
+            if (!(metaIO instanceof PagePartitionMetaIOV2))
+                return false;
+
+            TreeIOs dataIOs = sharedGrp ?
+                new TreeIOs(CacheIdAwareDataInnerIO.VERSIONS.latest(), CacheIdAwareDataLeafIO.VERSIONS.latest()) :
+                new TreeIOs(DataInnerIO.VERSIONS.latest(), DataLeafIO.VERSIONS.latest());
+
+            TreeIOs pendingIOs = sharedGrp ?
+                new TreeIOs(CacheIdAwarePendingEntryInnerIO.VERSIONS.latest(),
+                    CacheIdAwarePendingEntryLeafIO.VERSIONS.latest()) :
+                new TreeIOs(PendingEntryInnerIO.VERSIONS.latest(), PendingEntryLeafIO.VERSIONS.latest());
+
+            long dataTreeMetaId = metaIO.getTreeRoot(metaAddr);
+            long pendingTreeMetaId = metaIO.getPendingTreeRoot(metaAddr);
+
+            PendingEntries pending = new PendingEntries();
+
+            if (!pending.load(pendingTreeMetaId, pendingIOs))
+                return false;
+
+            FreeListBuilder dataFreeList = new FreeListBuilder();
+
+            DataPages dataPages = new DataPages(DataPageIO.VERSIONS.latest(), dataFreeList);
+
+            TreeItems dataItems = copyDataRows(dataTreeMetaId, dataIOs, dataPages, pending);
+
+            if (dataItems == null)
+                return false;
+
+            dataPages.flush();
+
+            long newDataTreeMetaId = buildTree(dataTreeMetaId, dataIOs, dataItems);
+            long newPendingTreeMetaId = buildTree(pendingTreeMetaId, pendingIOs, pending.sortedItems());
+
+            long newCntrsPageId = copyCountersPages(metaIO.getCountersPageId(metaAddr));
+
+            FreeListBuilder partMetaFreeList = new FreeListBuilder();
+
+            long gapsLink = metaIO.getGapsLink(metaAddr);
+
+            if (gapsLink != 0L) {
+                DataPages partMetaPages = new DataPages(SimpleDataPageIO.VERSIONS.latest(), partMetaFreeList);
+
+                gapsLink = partMetaPages.copyRow(gapsLink);
+
+                partMetaPages.flush();
+            }
+
+            long reuseListRoot = dataFreeList.finish();
+            long partMetaReuseListRoot = partMetaFreeList.finish();
+
+            metaIO.setTreeRoot(metaAddr, newDataTreeMetaId);
+            metaIO.setPendingTreeRoot(metaAddr, newPendingTreeMetaId);
+            metaIO.setReuseListRoot(metaAddr, reuseListRoot);
+            metaIO.setPartitionMetaStoreReuseListRoot(metaAddr, partMetaReuseListRoot);
+            metaIO.setCountersPageId(metaAddr, newCntrsPageId);
+            metaIO.setGapsLink(metaAddr, gapsLink);
+
+            // Page layout has changed completely, so the next incremental snapshot must take the whole partition.
+            metaIO.setLastAllocatedPageCount(metaAddr, 0);
+            metaIO.setCandidatePageCount(metaAddr, 0);
+
+            writePage(metaPageId, metaBuf);
+
+            dst.sync();
+
+            return true;
+        }
+        finally {
+            GridUnsafe.freeBuffer(metaBuf);
+        }
+    }
+
+    /**
+     * Copies all the rows referenced from the data tree and collects the tree items pointing to the new rows.
+     *
+     * @param treeMetaId Source data tree meta page ID.
+     * @param ios Expected tree IOs.
+     * @param dataPages Target data pages.
+     * @param pending Pending entries to update links in.
+     * @return Data tree items or {@code null} if tree format is not supported.
+     * @throws IgniteCheckedException If failed.
+     */
+    private TreeItems copyDataRows(
+        long treeMetaId,
+        TreeIOs ios,
+        DataPages dataPages,
+        PendingEntries pending
+    ) throws IgniteCheckedException {
+        TreeItems items = new TreeItems(ios.leaf.getItemSize(), 0);
+
+        long pageId = firstLeafId(treeMetaId);
+
+        // Leaf buffer is reused while the rows referenced from it are read into the read buffer.
+        ByteBuffer leafBuf = GridUnsafe.allocateBuffer(pageSize);
+
+        try {
+            long leafAddr = GridUnsafe.bufferAddress(leafBuf);
+
+            while (pageId != 0L) {
+                readPage(pageId, leafBuf);
+
+                if (PageIO.getType(leafAddr) != ios.leaf.getType())
+                    return null;
+
+                BPlusIO<?> io = PageIO.getBPlusIO(leafAddr);
+
+                int cnt = io.getCount(leafAddr);
+
+                for (int i = 0; i < cnt; i++) {
+                    long link = ((RowLinkIO)io).getLink(leafAddr, i);
+
+                    long newLink = dataPages.copyRow(link);
+
+                    items.add(leafAddr, io.offset(i), newLink);
+
+                    pending.onRowMoved(link, newLink);
+                }
+
+                pageId = io.getForward(leafAddr);
+            }
+        }
+        finally {
+            GridUnsafe.freeBuffer(leafBuf);
+        }
+
+        return items;
+    }
+
+    /**
+     * Builds a tree bottom-up from the sorted items. All pages except the last on each level are filled completely,
+     * so the tree is as compact as possible.
+     *
+     * @param srcMetaId Source tree meta page ID, meta page is copied to keep inline size and flags.
+     * @param ios Tree IOs.
+     * @param items Sorted items.
+     * @return New tree meta page ID.
+     * @throws IgniteCheckedException If failed.
+     */
+    private long buildTree(long srcMetaId, TreeIOs ios, TreeItems items) throws IgniteCheckedException {
+        long writeAddr = GridUnsafe.bufferAddress(writeBuf);
+
+        int cnt = items.size();
+
+        int leafCap = ios.leaf.getMaxCount(writeAddr, pageSize);
+        int leafs = Math.max(1, (cnt + leafCap - 1) / leafCap);
+
+        long[] lvlIds = allocatePages(leafs);
+
+        // Index of the maximum item in the subtree of each page on the current level.
+        int[] lvlMax = new int[leafs];
+
+        for (int p = 0; p < leafs; p++) {
+            int from = (int)((long)cnt * p / leafs);
+            int to = (int)((long)cnt * (p + 1) / leafs);
+
+            initPage(ios.leaf, lvlIds[p]);
+
+            for (int i = from; i < to; i++)
+                items.write(writeAddr, ios.leaf.offset(i - from), i);
+
+            ios.leaf.setCount(writeAddr, to - from);
+            ios.leaf.setForward(writeAddr, p + 1 < leafs ? lvlIds[p + 1] : 0L);
+
+            writePage(lvlIds[p], writeBuf);
+
+            lvlMax[p] = to - 1;
+        }
+
+        GridLongList firstIds = new GridLongList();
+
+        firstIds.add(lvlIds[0]);
+
+        int innerCap = ios.inner.getMaxCount(writeAddr, pageSize);
+
+        while (lvlIds.length > 1) {
+            int children = lvlIds.length;
+            int pages = (children + innerCap) / (innerCap + 1);
+
+            long[] ids = allocatePages(pages);
+            int[] max = new int[pages];
+
+            for (int p = 0; p < pages; p++) {
+                int from = (int)((long)children * p / pages);
+                int to = (int)((long)children * (p + 1) / pages);
+
+                assert to - from >= 2 : "Inner page must have at least two children [from=" + from + ", to=" + to + ']';
+
+                initPage(ios.inner, ids[p]);
+
+                for (int c = from; c < to; c++) {
+                    ios.inner.setLeft(writeAddr, c - from, lvlIds[c]);
+
+                    // Separator between two children is the maximum item of the left subtree.
+                    if (c + 1 < to)
+                        items.write(writeAddr, ios.inner.offset(c - from), lvlMax[c]);
+                }
+
+                ios.inner.setCount(writeAddr, to - from - 1);
+                ios.inner.setForward(writeAddr, p + 1 < pages ? ids[p + 1] : 0L);
+
+                writePage(ids[p], writeBuf);
+
+                max[p] = lvlMax[to - 1];
+            }
+
+            firstIds.add(ids[0]);
+
+            lvlIds = ids;
+            lvlMax = max;
+        }
+
+        long metaId = allocatePage();
+
+        readPage(srcMetaId, writeBuf);
+
+        BPlusMetaIO metaIO = BPlusMetaIO.VERSIONS.forPage(writeAddr);
+
+        PageIO.setPageId(writeAddr, metaId);
+
+        metaIO.initRoot(writeAddr, firstIds.get(0), pageSize);
+
+        for (int lvl = 1; lvl < firstIds.size(); lvl++)
+            metaIO.addRoot(writeAddr, firstIds.get(lvl), pageSize);
+
+        writePage(metaId, writeBuf);
+
+        return metaId;
+    }
+
+    /**
+     * Copies partition counters pages chain of a shared group.
+     *
+     * @param cntrsPageId First counters page ID.
+     * @return New first counters page ID.
+     * @throws IgniteCheckedException If failed.
+     */
+    private long copyCountersPages(long cntrsPageId) throws IgniteCheckedException {
+        if (cntrsPageId == 0L)
+            return 0L;
+
+        long readAddr = GridUnsafe.bufferAddress(readBuf);
+
+        List<byte[]> pages = new ArrayList<>();
+
+        Map<Integer, Long> sizes = new HashMap<>();
+
+        for (long pageId = cntrsPageId; ; ) {
+            readPage(pageId, readBuf);
+
+            pages.add(PageUtils.getBytes(readAddr, 0, pageSize));
+
+            PagePartitionCountersIO io = PagePartitionCountersIO.VERSIONS.forPage(readAddr);
+
+            if (io.readCacheSizes(readAddr, sizes))
+                break;
+
+            pageId = io.getNextCountersPageId(readAddr);
+        }
+
+        long[] ids = allocatePages(pages.size());
+
+        long writeAddr = GridUnsafe.bufferAddress(writeBuf);
+
+        for (int i = 0; i < ids.length; i++) {
+            PageUtils.putBytes(writeAddr, 0, pages.get(i));
+
+            PageIO.setPageId(writeAddr, ids[i]);
+
+            PagePartitionCountersIO.VERSIONS.forPage(writeAddr)
+                .setNextCountersPageId(writeAddr, i + 1 < ids.length ? ids[i + 1] : 0L);
+
+            writePage(ids[i], writeBuf);
+        }
+
+        return ids[0];
+    }
+
+    /**
+     * @param treeMetaId Tree meta page ID.
+     * @return Leftmost leaf page ID.
+     * @throws IgniteCheckedException If failed.
+     */
+    private long firstLeafId(long treeMetaId) throws IgniteCheckedException {
+        readPage(treeMetaId, readBuf);
+
+        long readAddr = GridUnsafe.bufferAddress(readBuf);
+
+        return BPlusMetaIO.VERSIONS.forPage(readAddr).getFirstPageId(readAddr, 0);
+    }
+
+    /**
+     * Reads a page from the source store and decompresses it if needed.
+     *
+     * @param pageId Page ID.
+     * @param buf Page buffer.
+     * @throws IgniteCheckedException If failed.
+     */
+    private void readPage(long pageId, ByteBuffer buf) throws IgniteCheckedException {
+        buf.clear();
+
+        src.read(pageId, buf, false);
+
+        compress.decompressPage(buf, pageSize);
+
+        buf.clear();
+
+        pagesRead++;
+    }
+
+    /**
+     * @param pageId Page ID.
+     * @param buf Page buffer.
+     * @throws IgniteCheckedException If failed.
+     */
+    private void writePage(long pageId, ByteBuffer buf) throws IgniteCheckedException {
+        assert PageIO.getPageId(buf) == pageId : U.hexLong(pageId);
+
+        buf.clear();
+
+        PageIO.setCrc(buf, 0);
+
+        dst.write(pageId, buf, PAGE_TAG, true);
+
+        pagesWritten++;
+    }
+
+    /**
+     * Clears the write buffer and initializes a new page in it.
+     *
+     * @param io Page IO.
+     * @param pageId Page ID.
+     */
+    private void initPage(PageIO io, long pageId) {
+        long writeAddr = GridUnsafe.bufferAddress(writeBuf);
+
+        GridUnsafe.setMemory(writeAddr, pageSize, (byte)0);
+
+        io.initNewPage(writeAddr, pageId, pageSize);
+    }
+
+    /**
+     * @param cnt Number of pages.
+     * @return Allocated page IDs.
+     * @throws IgniteCheckedException If failed.
+     */
+    private long[] allocatePages(int cnt) throws IgniteCheckedException {
+        long[] ids = new long[cnt];
+
+        for (int i = 0; i < cnt; i++)
+            ids[i] = allocatePage();
+
+        return ids;
+    }
+
+    /**
+     * Allocates a page in the target store. Tracking pages are initialized in place and skipped the same way
+     * page memory does it on allocation.
+     *
+     * @return Page ID.
+     * @throws IgniteCheckedException If failed.
+     */
+    private long allocatePage() throws IgniteCheckedException {
+        while (true) {
+            long pageId = PageIdUtils.pageId(partId, PageIdAllocator.FLAG_DATA, (int)dst.allocatePage());
+
+            if (trackingIO.trackingPageFor(pageId, pageSize) != pageId)
+                return pageId;
+
+            ByteBuffer buf = GridUnsafe.allocateBuffer(pageSize);
+
+            try {
+                long addr = GridUnsafe.bufferAddress(buf);
+
+                GridUnsafe.setMemory(addr, pageSize, (byte)0);
+
+                trackingIO.initNewPage(addr, pageId, pageSize);
+
+                writePage(pageId, buf);
+            }
+            finally {
+                GridUnsafe.freeBuffer(buf);
+            }
+        }
+    }
+
+    /**
+     * Inner and leaf IOs of a tree.
+     */
+    private static class TreeIOs {
+        /** */
+        private final BPlusInnerIO<?> inner;
+
+        /** */
+        private final BPlusLeafIO<?> leaf;
+
+        /**
+         * @param inner Inner IO.
+         * @param leaf Leaf IO.
+         */
+        TreeIOs(BPlusInnerIO<?> inner, BPlusLeafIO<?> leaf) {
+            assert inner.getItemSize() == leaf.getItemSize();
+
+            this.inner = inner;
+            this.leaf = leaf;
+        }
+    }
+
+    /**
+     * Sorted tree items kept as raw bytes, link of the item is stored separately and written over the raw one.
+     */
+    private static class TreeItems {
+        /** */
+        private final int itemSize;
+
+        /** Offset of the link inside of the item. */
+        private final int linkOff;
+
+        /** */
+        private byte[] bytes;
+
+        /** */
+        private long[] links;
+
+        /** */
+        private int cnt;
+
+        /**
+         * @param itemSize Item size.
+         * @param linkOff Offset of the link inside of the item.
+         */
+        TreeItems(int itemSize, int linkOff) {
+            this.itemSize = itemSize;
+            this.linkOff = linkOff;
+
+            bytes = new byte[itemSize * 64];
+            links = new long[64];
+        }
+
+        /**
+         * @param pageAddr Source page address.
+         * @param off Item offset.
+         * @param link New link.
+         */
+        void add(long pageAddr, int off, long link) {
+            if (cnt == links.length) {
+                links = Arrays.copyOf(links, cnt << 1);
+                bytes = Arrays.copyOf(bytes, (cnt << 1) * itemSize);
+            }
+
+            PageUtils.getBytes(pageAddr, off, bytes, cnt * itemSize, itemSize);
+
+            links[cnt++] = link;
+        }
+
+        /**
+         * @return Items count.
+         */
+        int size() {
+            return cnt;
+        }
+
+        /**
+         * @param pageAddr Target page address.
+         * @param off Item offset.
+         * @param idx Item index.
+         */
+        void write(long pageAddr, int off, int idx) {
+            PageUtils.putBytes(pageAddr, off, bytes, idx * itemSize, itemSize);
+            PageUtils.putLong(pageAddr, off + linkOff, links[idx]);
+        }
+    }
+
+    /**
+     * Pending entries of the partition. Links are replaced while the rows are copied, then entries are sorted in
+     * the pending tree order.
+     */
+    private class PendingEntries {
+        /** */
+        private TreeItems items;
+
+        /** Entry index by its source row link. */
+        private final Map<Long, Integer> idxByLink = new HashMap<>();
+
+        /** New links of the entries, {@code 0} if row was not found. */
+        private long[] newLinks;
+
+        /**
+         * @param treeMetaId Pending tree meta page ID.
+         * @param ios Expected tree IOs.
+         * @return {@code False} if tree format is not supported.
+         * @throws IgniteCheckedException If failed.
+         */
+        boolean load(long treeMetaId, TreeIOs ios) throws IgniteCheckedException {
+            // Link goes right after the expire time.
+            items = new TreeItems(ios.leaf.getItemSize(), 8);
+
+            long readAddr = GridUnsafe.bufferAddress(readBuf);
+
+            long pageId = firstLeafId(treeMetaId);
+
+            while (pageId != 0L) {
+                readPage(pageId, readBuf);
+
+                if (PageIO.getType(readAddr) != ios.leaf.getType())
+                    return false;
+
+                BPlusIO<?> io = PageIO.getBPlusIO(readAddr);
+
+                int cnt = io.getCount(readAddr);
+
+                for (int i = 0; i < cnt; i++) {
+                    long link = ((PendingRowIO)io).getLink(readAddr, i);
+
+                    idxByLink.put(link, items.size());
+
+                    items.add(readAddr, io.offset(i), 0L);
+                }
+
+                pageId = io.getForward(readAddr);
+            }
+
+            newLinks = new long[items.size()];
+
+            return true;
+        }
+
+        /**
+         * @param oldLink Source row link.
+         * @param newLink New row link.
+         */
+        void onRowMoved(long oldLink, long newLink) {
+            if (idxByLink.isEmpty())
+                return;
+
+            Integer idx = idxByLink.get(oldLink);
+
+            if (idx != null)
+                newLinks[idx] = newLink;
+        }
+
+        /**
+         * @return Entries with new links in the pending tree order: cache ID, expire time, link.
+         */
+        TreeItems sortedItems() {
+            GridIntList order = new GridIntList(items.size());
+
+            for (int i = 0; i < items.size(); i++) {
+                // Entry without a row in the data tree is an orphan and is dropped.
+                if (newLinks[i] != 0L)
+                    order.add(i);
+            }
+
+            Integer[] idxs = new Integer[order.size()];
+
+            for (int i = 0; i < idxs.length; i++)
+                idxs[i] = order.get(i);
+
+            // Item layout: expire time, link and optional cache ID.
+            ByteBuffer buf = ByteBuffer.wrap(items.bytes).order(ByteOrder.nativeOrder());
+
+            int itemSize = items.itemSize;
+
+            Arrays.sort(idxs, (i1, i2) -> {
+                if (sharedGrp) {
+                    int cmp = Integer.compare(buf.getInt(i1 * itemSize + 16), buf.getInt(i2 * itemSize + 16));
+
+                    if (cmp != 0)
+                        return cmp;
+                }
+
+                int cmp = Long.compare(buf.getLong(i1 * itemSize), buf.getLong(i2 * itemSize));
+
+                return cmp != 0 ? cmp : Long.compare(newLinks[i1], newLinks[i2]);
+            });
+
+            TreeItems sorted = new TreeItems(itemSize, items.linkOff);
+
+            long tmpAddr = GridUnsafe.bufferAddress(writeBuf);
+
+            for (Integer idx : idxs) {
+                items.write(tmpAddr, 0, idx);
+
+                sorted.add(tmpAddr, 0, newLinks[idx]);
+            }
+
+            return sorted;
+        }
+    }
+
+    /**
+     * Data pages being filled with copied rows. A few partially filled pages are kept in memory, every row is put to
+     * the first one it fits into, the fullest page is written out once there are too many open pages.
+     */
+    private class DataPages {
+        /** */
+        private final AbstractDataPageIO<?> io;
+
+        /** */
+        private final FreeListBuilder freeList;
+
+        /** Open pages. */
+        private final List<ByteBuffer> open = new ArrayList<>(OPEN_DATA_PAGES + 1);
+
+        /** Maximum fragment size which fits an empty page. */
+        private final int maxFragment;
+
+        /**
+         * @param io Data page IO.
+         * @param freeList Free list to register partially filled pages in.
+         */
+        DataPages(AbstractDataPageIO<?> io, FreeListBuilder freeList) {
+            this.io = io;
+            this.freeList = freeList;
+
+            maxFragment = pageSize - AbstractDataPageIO.MIN_DATA_PAGE_OVERHEAD;
+        }
+
+        /**
+         * Copies a row keeping its fragmentation state: a row stored in a single page is written into a single
+         * page again, a fragmented row is split into at least two fragments.
+         *
+         * @param link Source row link.
+         * @return New row link.
+         * @throws IgniteCheckedException If failed.
+         */
+        long copyRow(long link) throws IgniteCheckedException {
+            long readAddr = GridUnsafe.bufferAddress(readBuf);
+
+            byte[] payload = null;
+
+            long nextLink = link;
+
+            do {
+                readPage(PageIdUtils.pageId(nextLink), readBuf);
+
+                AbstractDataPageIO<?> srcIO = PageIO.getPageIO(readAddr);
+
+                DataPagePayload data = srcIO.readPayload(readAddr, PageIdUtils.itemId(nextLink), pageSize);
+
+                byte[] frag = PageUtils.getBytes(readAddr, data.offset(), data.payloadSize());
+
+                if (payload == null && data.nextLink() == 0L) {
+                    ByteBuffer page = pageFor(frag.length);
+
+                    long pageAddr = GridUnsafe.bufferAddress(page);
+
+                    int itemId = io.addRow(pageAddr, frag, pageSize);
+
+                    return PageIdUtils.link(PageIO.getPageId(pageAddr), itemId);
+                }
+
+                payload = payload == null ? frag : concat(payload, frag);
+
+                nextLink = data.nextLink();
+            }
+            while (nextLink != 0L);
+
+            return writeFragments(payload);
+        }
+
+        /**
+         * Writes fragmented row starting from the tail, the same way free list does it.
+         *
+         * @param payload Row payload.
+         * @return Link to the first fragment.
+         * @throws IgniteCheckedException If failed.
+         */
+        private long writeFragments(byte[] payload) throws IgniteCheckedException {
+            long lastLink = 0L;
+
+            int written = 0;
+
+            while (written < payload.length) {
+                int remain = payload.length - written;
+
+                int len = Math.min(remain, maxFragment);
+
+                // Single fragment row would be read as an unfragmented one.
+                if (written == 0 && len == payload.length)
+                    len = payload.length / 2;
+
+                ByteBuffer page = pageFor(len);
+
+                long pageAddr = GridUnsafe.bufferAddress(page);
+                long pageId = PageIO.getPageId(pageAddr);
+
+                byte[] frag = Arrays.copyOfRange(payload, remain - len, remain);
+
+                int itemId = io.addRowFragment(pageId, pageAddr, frag, lastLink, pageSize);
+
+                lastLink = PageIdUtils.link(pageId, itemId);
+
+                written += len;
+            }
+
+            return lastLink;
+        }
+
+        /**
+         * @param len Payload length.
+         * @return Open page the payload fits into.
+         * @throws IgniteCheckedException If failed.
+         */
+        private ByteBuffer pageFor(int len) throws IgniteCheckedException {
+            for (ByteBuffer page : open) {
+                if (io.getFreeSpace(GridUnsafe.bufferAddress(page)) >= len)
+                    return page;
+            }
+
+            ByteBuffer page;
+
+            if (open.size() == OPEN_DATA_PAGES) {
+                page = open.get(0);
+
+                for (ByteBuffer p : open) {
+                    if (io.getFreeSpace(GridUnsafe.bufferAddress(p)) < io.getFreeSpace(GridUnsafe.bufferAddress(page)))
+                        page = p;
+                }
+
+                open.remove(page);
+
+                // Buffer of the fullest page is reused for the new one.
+                flush(page);
+            }
+            else
+                page = GridUnsafe.allocateBuffer(pageSize);
+
+            long pageAddr = GridUnsafe.bufferAddress(page);
+
+            GridUnsafe.setMemory(pageAddr, pageSize, (byte)0);
+
+            io.initNewPage(pageAddr, allocatePage(), pageSize);
+
+            open.add(page);
+
+            return page;
+        }
+
+        /**
+         * Writes out all open pages.
+         *
+         * @throws IgniteCheckedException If failed.
+         */
+        void flush() throws IgniteCheckedException {
+            for (ByteBuffer page : open) {
+                flush(page);
+
+                GridUnsafe.freeBuffer(page);
+            }
+
+            open.clear();
+        }
+
+        /**
+         * @param page Page buffer.
+         * @throws IgniteCheckedException If failed.
+         */
+        private void flush(ByteBuffer page) throws IgniteCheckedException {
+            long pageAddr = GridUnsafe.bufferAddress(page);
+            long pageId = PageIO.getPageId(pageAddr);
+
+            int bucket = AbstractFreeList.bucketIndex(io.getFreeSpace(pageAddr), pageSize);
+
+            if (bucket >= 0)
+                io.setFreeListPageId(pageAddr, freeList.add(pageId, bucket));
+
+            writePage(pageId, page);
+        }
+    }
+
+    /**
+     * Lays out free list pages: a chain of list node pages per bucket and the list meta pages with bucket tails.
+     */
+    private class FreeListBuilder {
+        /** Node page buffers of the current tails by bucket. */
+        private final Map<Integer, ByteBuffer> tails = new HashMap<>();
+
+        /**
+         * @param dataPageId Data page ID.
+         * @param bucket Bucket.
+         * @return ID of the list node page the data page was put into.
+         * @throws IgniteCheckedException If failed.
+         */
+        long add(long dataPageId, int bucket) throws IgniteCheckedException {
+            PagesListNodeIO io = PagesListNodeIO.VERSIONS.latest();
+
+            ByteBuffer tail = tails.get(bucket);
+
+            if (tail == null) {
+                tail = GridUnsafe.allocateBuffer(pageSize);
+
+                GridUnsafe.setMemory(GridUnsafe.bufferAddress(tail), pageSize, (byte)0);
+
+                io.initNewPage(GridUnsafe.bufferAddress(tail), allocatePage(), pageSize);
+
+                tails.put(bucket, tail);
+            }
+
+            long tailAddr = GridUnsafe.bufferAddress(tail);
+
+            if (io.addPage(tailAddr, dataPageId, pageSize) < 0) {
+                long prevId = PageIO.getPageId(tailAddr);
+                long nextId = allocatePage();
+
+                io.setNextId(tailAddr, nextId);
+
+                writePage(prevId, tail);
+
+                GridUnsafe.setMemory(tailAddr, pageSize, (byte)0);
+
+                io.initNewPage(tailAddr, nextId, pageSize);
+                io.setPreviousId(tailAddr, prevId);
+
+                int idx = io.addPage(tailAddr, dataPageId, pageSize);
+
+                assert idx >= 0 : idx;
+            }
+
+            return PageIO.getPageId(tailAddr);
+        }
+
+        /**
+         * Writes out bucket tails and list meta pages.
+         *
+         * @return List meta page ID.
+         * @throws IgniteCheckedException If failed.
+         */
+        long finish() throws IgniteCheckedException {
+            PagesListMetaIO io = PagesListMetaIO.VERSIONS.latest();
+
+            long metaId = allocatePage();
+
+            initPage(io, metaId);
+
+            long writeAddr = GridUnsafe.bufferAddress(writeBuf);
+
+            for (Map.Entry<Integer, ByteBuffer> e : tails.entrySet()) {
+                long tailId = PageIO.getPageId(GridUnsafe.bufferAddress(e.getValue()));
+
+                writePage(tailId, e.getValue());
+
+                GridUnsafe.freeBuffer(e.getValue());
+
+                if (!io.addTail(pageSize, writeAddr, e.getKey(), tailId)) {
+                    long curId = PageIO.getPageId(writeAddr);
+                    long nextId = allocatePage();
+
+                    io.setNextMetaPageId(writeAddr, nextId);
+
+                    writePage(curId, writeBuf);
+
+                    initPage(io, nextId);
+
+                    boolean added = io.addTail(pageSize, writeAddr, e.getKey(), tailId);
+
+                    assert added;
+                }
+            }
+
+            tails.clear();
+
+            writePage(PageIO.getPageId(writeAddr), writeBuf);
+
+            return metaId;
+        }
+    }
+
+    /**
+     * @param a First array.
+     * @param b Second array.
+     * @return Concatenation of the arrays.
+     */
+    private static byte[] concat(byte[] a, byte[] b) {
+        byte[] res = Arrays.copyOf(a, a.length + b.length);
+
+        System.arraycopy(b, 0, res, a.length, b.length);
+
+        return res;
+    }
+}
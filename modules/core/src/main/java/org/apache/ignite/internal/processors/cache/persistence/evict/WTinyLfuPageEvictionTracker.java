@@ -0,0 +1,394 @@
+/*
+ * Copyright 2019 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.cache.persistence.evict;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import org.apache.ignite.IgniteCheckedException;
+import org.apache.ignite.IgniteException;
+import org.apache.ignite.IgniteLogger;
+import org.apache.ignite.configuration.DataRegionConfiguration;
+import org.apache.ignite.configuration.DataStorageConfiguration;
+import org.apache.ignite.internal.pagemem.PageIdUtils;
+import org.apache.ignite.internal.pagemem.PageMemory;
+import org.apache.ignite.internal.pagemem.impl.PageMemoryNoStoreImpl;
+import org.apache.ignite.internal.processors.cache.GridCacheSharedContext;
+import org.apache.ignite.internal.util.GridUnsafe;
+import org.apache.ignite.internal.util.typedef.internal.LT;
+import org.apache.ignite.internal.util.typedef.internal.U;
+
+/**
+ * W-TinyLFU eviction tracker.
+ * <p>
+ * Data pages touched for the first time enter a small admission window, a ring of the most recently admitted
+ * pages. The rest of the pages form the main space. Access frequency of every page is estimated by a count-min
+ * sketch keyed by the effective page ID rather than by the page slot, so a slot reused by a page of another
+ * partition doesn't inherit the frequency of the previous page.
+ * The sketch has 4-bit saturating counters packed by 16 into long words, the counters are halved periodically so
+ * that the estimation follows the changes of the workload.
+ * <p>
+ * On eviction the oldest page of the window competes with a Random-LRU sample of the main space: the page with
+ * the lower frequency is evicted, a window page that wins stays in memory as a main space page. Pages touched
+ * once by a scan never gain frequency and are evicted from the window before they can push out hot pages.
+ */
+public class WTinyLfuPageEvictionTracker extends PageAbstractEvictionTracker {
+    /** Evict attempts limit. */
+    private static final int EVICT_ATTEMPTS_LIMIT = 30;
+
+    /** Main space sample size. */
+    private static final int SAMPLE_SIZE = 5;
+
+    /** Maximum sample search spin count */
+    private static final int SAMPLE_SPIN_LIMIT = SAMPLE_SIZE * 1000;
+
+    /** Window size as percentage of the tracked pages. */
+    private static final int WINDOW_PERCENT = 1;
+
+    /**
+     * Size of a tracking array entry: compact timestamp of the last touch, window position increased by one
+     * ({@code 0} if the page is not in the window) and effective page ID.
+     */
+    private static final int ENTRY_SIZE = 16;
+
+    /** Number of counters of a page in the sketch. */
+    private static final int SKETCH_DEPTH = 4;
+
+    /** Maximum counter value. */
+    private static final int MAX_FREQUENCY = 15;
+
+    /** Number of counter increments per tracked page after which all counters are halved. */
+    private static final int SKETCH_RESET_FACTOR = 10;
+
+    /** Logger. */
+    private final IgniteLogger log;
+
+    /** Tracking array ptr, see {@link #ENTRY_SIZE}. */
+    private long trackingArrPtr;
+
+    /** Window ring ptr, holds tracking indexes of the pages by window position. */
+    private long windowArrPtr;
+
+    /** Sketch ptr, every long word holds 16 counters. */
+    private long sketchPtr;
+
+    /** Window size. */
+    private final int windowSize;
+
+    /** Sketch size in counters, power of 2. */
+    private final int sketchSize;
+
+    /** Number of counter increments after which all counters are halved. */
+    private final int sketchResetThreshold;
+
+    /** Next window position. */
+    private final AtomicLong windowTail = new AtomicLong();
+
+    /** Window position to start the search of a window victim from. */
+    private volatile long windowHead;
+
+    /**
+     * Number of counter increments since the last halving. Not synchronized, the reset period does not need
+     * to be exact.
+     */
+    private int sketchIncrements;
+
+    /**
+     * @param pageMem Page memory.
+     * @param plcCfg Policy config.
+     * @param sharedCtx Shared context.
+     */
+    public WTinyLfuPageEvictionTracker(
+        PageMemory pageMem,
+        DataRegionConfiguration plcCfg,
+        GridCacheSharedContext<?, ?> sharedCtx
+    ) {
+        super((PageMemoryNoStoreImpl)pageMem, plcCfg, sharedCtx);
+
+        DataStorageConfiguration memCfg = sharedCtx.kernalContext().config().getDataStorageConfiguration();
+
+        assert plcCfg.getMaxSize() / memCfg.getPageSize() < Integer.MAX_VALUE;
+
+        log = sharedCtx.logger(getClass());
+
+        windowSize = Math.max(1, (int)((long)trackingSize * WINDOW_PERCENT / 100));
+
+        // At least one long word of 16 counters.
+        sketchSize = Math.max(16, U.ceilPow2(trackingSize));
+
+        sketchResetThreshold = (int)Math.min(Integer.MAX_VALUE, (long)trackingSize * SKETCH_RESET_FACTOR);
+    }
+
+    /** {@inheritDoc} */
+    @Override public void start() throws IgniteException {
+        trackingArrPtr = GridUnsafe.allocateMemory(trackingSize * (long)ENTRY_SIZE);
+
+        GridUnsafe.setMemory(trackingArrPtr, trackingSize * (long)ENTRY_SIZE, (byte)0);
+
+        windowArrPtr = GridUnsafe.allocateMemory(windowSize * 4L);
+
+        GridUnsafe.setMemory(windowArrPtr, windowSize * 4L, (byte)0);
+
+        sketchPtr = GridUnsafe.allocateMemory(sketchSize / 2);
+
+        GridUnsafe.setMemory(sketchPtr, sketchSize / 2, (byte)0);
+    }
+
+    /** {@inheritDoc} */
+    @Override public void stop() throws IgniteException {
+        GridUnsafe.freeMemory(trackingArrPtr);
+        GridUnsafe.freeMemory(windowArrPtr);
+        GridUnsafe.freeMemory(sketchPtr);
+    }
+
+    /** {@inheritDoc} */
+    @Override public void touchPage(long pageId) throws IgniteCheckedException {
+        int trackingIdx = trackingIdx(PageIdUtils.pageIndex(pageId));
+
+        long res = compactTimestamp(U.currentTimeMillis());
+
+        assert res >= 0 && res < Integer.MAX_VALUE;
+
+        // Links of different rows of a page differ in the item ID.
+        long effectivePageId = PageIdUtils.effectivePageId(pageId);
+
+        incrementFrequency(effectivePageId);
+
+        long tsPtr = entryPtr(trackingIdx);
+
+        GridUnsafe.putLongVolatile(null, tsPtr + 8, effectivePageId);
+
+        if (GridUnsafe.getIntVolatile(null, tsPtr) != 0 || !GridUnsafe.compareAndSwapInt(null, tsPtr, 0, (int)res)) {
+            GridUnsafe.putIntVolatile(null, tsPtr, (int)res);
+
+            return;
+        }
+
+        // First touch, admit the page to the window.
+        long pos = windowTail.getAndIncrement();
+
+        GridUnsafe.putIntVolatile(null, tsPtr + 4, (int)(pos + 1));
+
+        GridUnsafe.putIntVolatile(null, windowArrPtr + (pos % windowSize) * 4, trackingIdx);
+    }
+
+    /** {@inheritDoc} */
+    @Override public void evictDataPage() throws IgniteCheckedException {
+        ThreadLocalRandom rnd = ThreadLocalRandom.current();
+
+        int evictAttemptsCnt = 0;
+
+        while (evictAttemptsCnt < EVICT_ATTEMPTS_LIMIT) {
+            int mainTrackingIdx = -1;
+
+            int mainFreq = Integer.MAX_VALUE;
+
+            int mainCompactTs = Integer.MAX_VALUE;
+
+            int dataPagesCnt = 0;
+
+            int sampleSpinCnt = 0;
+
+            long tail = windowTail.get();
+
+            while (dataPagesCnt < SAMPLE_SIZE && sampleSpinCnt <= SAMPLE_SPIN_LIMIT) {
+                int trackingIdx = rnd.nextInt(trackingSize);
+
+                int compactTs = GridUnsafe.getIntVolatile(null, entryPtr(trackingIdx));
+
+                sampleSpinCnt++;
+
+                // Skip pages which are not touched or are still in the window.
+                if (compactTs == 0 || inWindow(trackingIdx, tail))
+                    continue;
+
+                int freq = frequency(trackedPageId(trackingIdx));
+
+                if (freq < mainFreq || freq == mainFreq && compactTs < mainCompactTs) {
+                    mainTrackingIdx = trackingIdx;
+
+                    mainFreq = freq;
+
+                    mainCompactTs = compactTs;
+                }
+
+                dataPagesCnt++;
+            }
+
+            int victimIdx = mainTrackingIdx;
+
+            long windowPos = windowVictim(tail);
+
+            if (windowPos >= 0) {
+                int windowTrackingIdx = GridUnsafe.getIntVolatile(null, windowArrPtr + (windowPos % windowSize) * 4);
+
+                windowHead = windowPos + 1;
+
+                if (mainTrackingIdx == -1 || frequency(trackedPageId(windowTrackingIdx)) <= mainFreq)
+                    victimIdx = windowTrackingIdx;
+                else {
+                    // The window page is admitted to the main space.
+                    GridUnsafe.compareAndSwapInt(null, entryPtr(windowTrackingIdx) + 4,
+                        (int)(windowPos + 1), 0);
+                }
+            }
+
+            if (victimIdx == -1) {
+                LT.warn(log, "Too many attempts to choose data page: " + SAMPLE_SPIN_LIMIT);
+
+                return;
+            }
+
+            if (evictDataPage(pageIdx(victimIdx)))
+                return;
+
+            evictAttemptsCnt++;
+        }
+
+        LT.warn(log, "Too many failed attempts to evict page: " + EVICT_ATTEMPTS_LIMIT);
+    }
+
+    /**
+     * Finds the oldest page of the window.
+     *
+     * @param tail Window tail.
+     * @return Window position of the page or {@code -1} if the window is empty.
+     */
+    private long windowVictim(long tail) {
+        for (long pos = Math.max(windowHead, tail - windowSize); pos < tail; pos++) {
+            int trackingIdx = GridUnsafe.getIntVolatile(null, windowArrPtr + (pos % windowSize) * 4);
+
+            long tsPtr = entryPtr(trackingIdx);
+
+            // Position may be reused by a newer page, or the page may be forgotten and touched again.
+            if (GridUnsafe.getIntVolatile(null, tsPtr) != 0 &&
+                GridUnsafe.getIntVolatile(null, tsPtr + 4) == (int)(pos + 1))
+                return pos;
+        }
+
+        return -1;
+    }
+
+    /**
+     * @param trackingIdx Tracking index.
+     * @param tail Window tail.
+     * @return {@code True} if the page is in the window.
+     */
+    private boolean inWindow(int trackingIdx, long tail) {
+        int pos = GridUnsafe.getIntVolatile(null, entryPtr(trackingIdx) + 4);
+
+        return pos != 0 && (int)tail - (pos - 1) <= windowSize;
+    }
+
+    /**
+     * @param trackingIdx Tracking index.
+     * @return Pointer to the tracking array entry of the page.
+     */
+    private long entryPtr(int trackingIdx) {
+        return trackingArrPtr + trackingIdx * (long)ENTRY_SIZE;
+    }
+
+    /**
+     * @param trackingIdx Tracking index.
+     * @return Effective ID of the page last touched in the slot.
+     */
+    private long trackedPageId(int trackingIdx) {
+        return GridUnsafe.getLongVolatile(null, entryPtr(trackingIdx) + 8);
+    }
+
+    /**
+     * @param pageId Effective page ID.
+     * @return Estimated access frequency of the page.
+     */
+    private int frequency(long pageId) {
+        int h = U.hash(pageId);
+
+        int step = U.hash(h) | 1;
+
+        int freq = MAX_FREQUENCY;
+
+        for (int i = 0; i < SKETCH_DEPTH; i++) {
+            int idx = (h + i * step) & (sketchSize - 1);
+
+            long word = GridUnsafe.getLongVolatile(null, sketchPtr + (idx >>> 4) * 8L);
+
+            freq = Math.min(freq, (int)(word >>> ((idx & 15) << 2)) & MAX_FREQUENCY);
+        }
+
+        return freq;
+    }
+
+    /**
+     * Increments the sketch counters of the page, halves all counters once the reset threshold is reached.
+     *
+     * @param pageId Effective page ID.
+     */
+    private void incrementFrequency(long pageId) {
+        int h = U.hash(pageId);
+
+        int step = U.hash(h) | 1;
+
+        boolean incremented = false;
+
+        for (int i = 0; i < SKETCH_DEPTH; i++) {
+            int idx = (h + i * step) & (sketchSize - 1);
+
+            long ptr = sketchPtr + (idx >>> 4) * 8L;
+
+            int shift = (idx & 15) << 2;
+
+            while (true) {
+                long word = GridUnsafe.getLongVolatile(null, ptr);
+
+                if ((word >>> shift & MAX_FREQUENCY) == MAX_FREQUENCY)
+                    break;
+
+                if (GridUnsafe.compareAndSwapLong(null, ptr, word, word + (1L << shift))) {
+                    incremented = true;
+
+                    break;
+                }
+            }
+        }
+
+        if (incremented && ++sketchIncrements >= sketchResetThreshold) {
+            sketchIncrements = 0;
+
+            // Increments concurrent with the halving may be lost, it doesn't affect the estimation much.
+            for (long ptr = sketchPtr, end = sketchPtr + sketchSize / 2; ptr < end; ptr += 8) {
+                long word = GridUnsafe.getLongVolatile(null, ptr);
+
+                GridUnsafe.putLongVolatile(null, ptr, (word >>> 1) & 0x7777777777777777L);
+            }
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override protected boolean checkTouch(long pageId) {
+        int trackingIdx = trackingIdx(PageIdUtils.pageIndex(pageId));
+
+        int ts = GridUnsafe.getIntVolatile(null, entryPtr(trackingIdx));
+
+        return ts != 0;
+    }
+
+    /** {@inheritDoc} */
+    @Override public void forgetPage(long pageId) {
+        int trackingIdx = trackingIdx(PageIdUtils.pageIndex(pageId));
+
+        GridUnsafe.putLongVolatile(null, entryPtr(trackingIdx), 0L);
+    }
+}
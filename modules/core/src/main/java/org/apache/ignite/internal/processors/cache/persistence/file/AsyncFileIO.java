@@ -186,6 +186,69 @@ public class AsyncFileIO extends AbstractFileIO {
         }
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * {@link AsynchronousFileChannel} has no gathering write, so writes of all the buffers are submitted at once
+     * and awaited together.
+     */
+    @Override public long writeFully(ByteBuffer[] srcBufs, int off, int len, long position) throws IOException {
+        ChannelOpFuture[] futs = new ChannelOpFuture[len];
+
+        long bufPos = position;
+
+        try {
+            for (int i = 0; i < len; i++) {
+                ByteBuffer buf = srcBufs[off + i];
+
+                ChannelOpFuture fut = new ChannelOpFuture();
+
+                asyncFuts.add(fut);
+
+                futs[i] = fut;
+
+                ch.write(buf, bufPos, null, fut);
+
+                bufPos += buf.remaining();
+            }
+
+            long written = 0;
+
+            for (int i = 0; i < len; i++) {
+                ByteBuffer buf = srcBufs[off + i];
+
+                int n = futs[i].getUninterruptibly();
+
+                // Finish a partial write.
+                if (buf.hasRemaining())
+                    n += writeFully(buf, position + written + n);
+
+                written += n;
+            }
+
+            return written;
+        }
+        catch (IgniteCheckedException e) {
+            throw new IOException(e);
+        }
+        finally {
+            for (ChannelOpFuture fut : futs) {
+                if (fut == null)
+                    continue;
+
+                // Buffers must not be reused by the caller while writes are in flight.
+                try {
+                    fut.getUninterruptibly();
+                }
+                catch (IgniteCheckedException ignored) {
+                    // No-op, the first failure is already thrown.
+                }
+
+                asyncFuts.remove(fut);
+            }
+        }
+    }
+
     /** {@inheritDoc} */
     @Override public int write(byte[] buf, int off, int len) throws IOException {
         ChannelOpFuture fut = holder.get();
@@ -0,0 +1,326 @@
+/*
+ * Copyright 2019 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.cache.persistence.file;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.util.Arrays;
+import org.apache.ignite.configuration.DiskPageCompression;
+import org.apache.ignite.internal.processors.compress.ChunkCompressionUtils;
+import org.apache.ignite.internal.util.GridLongList;
+import org.apache.ignite.internal.util.GridUnsafe;
+
+import static java.nio.file.StandardOpenOption.READ;
+
+/**
+ * Read only {@link FileIO} over a file compressed by independent chunks. Unlike {@link UnzipFileIO} allows random
+ * access, only the chunk containing the requested position is decompressed.
+ * <p>
+ * File format:
+ * <ul>
+ *     <li>Header: magic number (4 bytes), format version (1 byte), {@link DiskPageCompression} ordinal (1 byte) and
+ *     max uncompressed chunk size (4 bytes).</li>
+ *     <li>Chunks: uncompressed size (4 bytes), compressed size (4 bytes) and compressed data.</li>
+ * </ul>
+ * All the numbers are big-endian.
+ */
+public class ChunkCompressedFileIO extends AbstractFileIO {
+    /** Magic number, differs from the local file header signature of ZIP. */
+    public static final int MAGIC = 0x49474E43;
+
+    /** */
+    static final byte FORMAT_VERSION = 1;
+
+    /** File header size. */
+    static final int HEADER_SIZE = 10;
+
+    /** Chunk header size. */
+    static final int CHUNK_HEADER_SIZE = 8;
+
+    /** Underlying file I/O. */
+    private final FileIO io;
+
+    /** Compression algorithm. */
+    private final DiskPageCompression compression;
+
+    /** File offsets of chunk headers. */
+    private final long[] chunkOffs;
+
+    /** Uncompressed offsets of chunks, with uncompressed file size as the last element. */
+    private final long[] rawOffs;
+
+    /** Compressed data of the loaded chunk. */
+    private final ByteBuffer compressed;
+
+    /** Uncompressed data of the loaded chunk. */
+    private final ByteBuffer chunk;
+
+    /** Index of the loaded chunk or {@code -1}. */
+    private int chunkIdx = -1;
+
+    /** Current position. */
+    private long pos;
+
+    /**
+     * @param file Compressed file.
+     * @param ioFactory File I/O factory.
+     * @throws IOException If failed.
+     */
+    public ChunkCompressedFileIO(File file, FileIOFactory ioFactory) throws IOException {
+        io = ioFactory.create(file, READ);
+
+        try {
+            ByteBuffer hdr = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.BIG_ENDIAN);
+
+            if (io.readFully(hdr, 0) < HEADER_SIZE || hdr.getInt(0) != MAGIC)
+                throw new IOException("Not a chunk compressed file: " + file.getAbsolutePath());
+
+            if (hdr.get(4) != FORMAT_VERSION) {
+                throw new IOException("Unsupported format version [file=" + file.getAbsolutePath() +
+                    ", ver=" + hdr.get(4) + ']');
+            }
+
+            compression = DiskPageCompression.fromOrdinal(hdr.get(5));
+
+            if (compression == null) {
+                throw new IOException("Unknown compression [file=" + file.getAbsolutePath() +
+                    ", ordinal=" + hdr.get(5) + ']');
+            }
+
+            ChunkCompressionUtils.checkSupported(compression);
+
+            int chunkSize = hdr.getInt(6);
+
+            GridLongList chunkOffs0 = new GridLongList();
+            GridLongList rawOffs0 = new GridLongList();
+
+            ByteBuffer chunkHdr = ByteBuffer.allocate(CHUNK_HEADER_SIZE).order(ByteOrder.BIG_ENDIAN);
+
+            long fileSize = io.size();
+            long off = HEADER_SIZE;
+            long rawOff = 0;
+            int maxCompressedLen = 0;
+
+            while (off < fileSize) {
+                chunkHdr.clear();
+
+                if (io.readFully(chunkHdr, off) < CHUNK_HEADER_SIZE)
+                    throw new IOException("Compressed file is truncated: " + file.getAbsolutePath());
+
+                int rawLen = chunkHdr.getInt(0);
+                int compressedLen = chunkHdr.getInt(4);
+
+                if (rawLen <= 0 || rawLen > chunkSize || compressedLen <= 0 ||
+                    off + CHUNK_HEADER_SIZE + compressedLen > fileSize) {
+                    throw new IOException("Compressed file is corrupted [file=" + file.getAbsolutePath() +
+                        ", off=" + off + ']');
+                }
+
+                chunkOffs0.add(off);
+                rawOffs0.add(rawOff);
+
+                maxCompressedLen = Math.max(maxCompressedLen, compressedLen);
+
+                off += CHUNK_HEADER_SIZE + compressedLen;
+                rawOff += rawLen;
+            }
+
+            rawOffs0.add(rawOff);
+
+            chunkOffs = chunkOffs0.array();
+            rawOffs = rawOffs0.array();
+
+            compressed = ByteBuffer.allocateDirect(Math.max(maxCompressedLen, 1));
+            chunk = ByteBuffer.allocateDirect(chunkSize);
+        }
+        catch (IOException | RuntimeException e) {
+            io.close();
+
+            throw e;
+        }
+    }
+
+    /**
+     * @param file File.
+     * @param ioFactory File I/O factory.
+     * @return {@code True} if the file is in chunk compressed format.
+     * @throws IOException If failed.
+     */
+    public static boolean isChunkCompressed(File file, FileIOFactory ioFactory) throws IOException {
+        try (FileIO io = ioFactory.create(file, READ)) {
+            ByteBuffer magic = ByteBuffer.allocate(4).order(ByteOrder.BIG_ENDIAN);
+
+            return io.readFully(magic, 0) == 4 && magic.getInt(0) == MAGIC;
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override public int getFileSystemBlockSize() {
+        return -1;
+    }
+
+    /** {@inheritDoc} */
+    @Override public long getSparseSize() {
+        return -1;
+    }
+
+    /** {@inheritDoc} */
+    @Override public int punchHole(long position, int len) {
+        throw new UnsupportedOperationException();
+    }
+
+    /** {@inheritDoc} */
+    @Override public long position() throws IOException {
+        return pos;
+    }
+
+    /** {@inheritDoc} */
+    @Override public void position(long newPosition) throws IOException {
+        if (newPosition < 0)
+            throw new IllegalArgumentException("Negative position: " + newPosition);
+
+        pos = newPosition;
+    }
+
+    /** {@inheritDoc} */
+    @Override public int read(ByteBuffer destBuf) throws IOException {
+        int n = read(destBuf, pos);
+
+        if (n > 0)
+            pos += n;
+
+        return n;
+    }
+
+    /** {@inheritDoc} */
+    @Override public int read(ByteBuffer destBuf, long position) throws IOException {
+        if (position >= size())
+            return -1;
+
+        int idx = Arrays.binarySearch(rawOffs, 0, chunkOffs.length, position);
+
+        if (idx < 0)
+            idx = -idx - 2;
+
+        loadChunk(idx);
+
+        int chunkOff = (int)(position - rawOffs[idx]);
+
+        int n = Math.min(destBuf.remaining(), chunk.limit() - chunkOff);
+
+        ByteBuffer src = chunk.duplicate();
+
+        src.position(chunkOff).limit(chunkOff + n);
+
+        destBuf.put(src);
+
+        return n;
+    }
+
+    /**
+     * @param idx Index of the chunk to load.
+     * @throws IOException If failed.
+     */
+    private void loadChunk(int idx) throws IOException {
+        if (chunkIdx == idx)
+            return;
+
+        chunkIdx = -1;
+
+        long off = chunkOffs[idx];
+        long nextOff = idx + 1 < chunkOffs.length ? chunkOffs[idx + 1] : io.size();
+
+        compressed.clear().limit((int)(nextOff - off - CHUNK_HEADER_SIZE));
+
+        if (io.readFully(compressed, off + CHUNK_HEADER_SIZE) < compressed.limit())
+            throw new IOException("Failed to read compressed chunk [off=" + off + ']');
+
+        compressed.flip();
+
+        chunk.clear().limit((int)(rawOffs[idx + 1] - rawOffs[idx]));
+
+        try {
+            ChunkCompressionUtils.decompress(compression, compressed, chunk);
+        }
+        catch (RuntimeException e) {
+            throw new IOException("Failed to decompress chunk [off=" + off + ", compression=" + compression + ']', e);
+        }
+
+        chunk.flip();
+
+        chunkIdx = idx;
+    }
+
+    /** {@inheritDoc} */
+    @Override public int read(byte[] buf, int off, int len) throws IOException {
+        return read(ByteBuffer.wrap(buf, off, len));
+    }
+
+    /** {@inheritDoc} */
+    @Override public int write(ByteBuffer srcBuf) throws IOException {
+        throw new UnsupportedOperationException();
+    }
+
+    /** {@inheritDoc} */
+    @Override public int write(ByteBuffer srcBuf, long position) throws IOException {
+        throw new UnsupportedOperationException();
+    }
+
+    /** {@inheritDoc} */
+    @Override public int write(byte[] buf, int off, int len) throws IOException {
+        throw new UnsupportedOperationException();
+    }
+
+    /** {@inheritDoc} */
+    @Override public void force() throws IOException {
+        force(false);
+    }
+
+    /** {@inheritDoc} */
+    @Override public void force(boolean withMetadata) throws IOException {
+        throw new UnsupportedOperationException();
+    }
+
+    /** {@inheritDoc} */
+    @Override public long size() throws IOException {
+        return rawOffs[rawOffs.length - 1];
+    }
+
+    /** {@inheritDoc} */
+    @Override public void clear() throws IOException {
+        throw new UnsupportedOperationException();
+    }
+
+    /** {@inheritDoc} */
+    @Override public MappedByteBuffer map(int sizeBytes) throws IOException {
+        throw new UnsupportedOperationException();
+    }
+
+    /** {@inheritDoc} */
+    @Override public void close() throws IOException {
+        try {
+            io.close();
+        }
+        finally {
+            GridUnsafe.cleanDirectBuffer(compressed);
+            GridUnsafe.cleanDirectBuffer(chunk);
+        }
+    }
+}
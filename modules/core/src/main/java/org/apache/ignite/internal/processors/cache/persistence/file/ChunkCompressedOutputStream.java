@@ -0,0 +1,178 @@
+/*
+ * Copyright 2019 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.cache.persistence.file;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import org.apache.ignite.configuration.DiskPageCompression;
+import org.apache.ignite.internal.processors.compress.ChunkCompressionUtils;
+import org.apache.ignite.internal.util.GridUnsafe;
+
+import static org.apache.ignite.internal.processors.cache.persistence.file.ChunkCompressedFileIO.CHUNK_HEADER_SIZE;
+import static org.apache.ignite.internal.processors.cache.persistence.file.ChunkCompressedFileIO.FORMAT_VERSION;
+import static org.apache.ignite.internal.processors.cache.persistence.file.ChunkCompressedFileIO.HEADER_SIZE;
+import static org.apache.ignite.internal.processors.cache.persistence.file.ChunkCompressedFileIO.MAGIC;
+
+/**
+ * Output stream writing data compressed by independent chunks, see {@link ChunkCompressedFileIO} for the format.
+ */
+public class ChunkCompressedOutputStream extends OutputStream {
+    /** Default chunk size. */
+    public static final int DFLT_CHUNK_SIZE = 1024 * 1024;
+
+    /** Underlying stream. */
+    private final OutputStream out;
+
+    /** Compression algorithm. */
+    private final DiskPageCompression compression;
+
+    /** Compression level. */
+    private final int compressLevel;
+
+    /** Uncompressed data of the current chunk. */
+    private final ByteBuffer chunk;
+
+    /** Compressed data of the current chunk. */
+    private final ByteBuffer compressed;
+
+    /** Array to write compressed data to the underlying stream. */
+    private final byte[] arr;
+
+    /** */
+    private boolean closed;
+
+    /**
+     * @param out Underlying stream.
+     * @param compression Compression algorithm.
+     * @param compressLevel Compression level.
+     * @param chunkSize Chunk size.
+     * @throws IOException If failed.
+     */
+    public ChunkCompressedOutputStream(
+        OutputStream out,
+        DiskPageCompression compression,
+        int compressLevel,
+        int chunkSize
+    ) throws IOException {
+        assert chunkSize > 0 : chunkSize;
+
+        this.out = out;
+        this.compression = compression;
+        this.compressLevel = compressLevel;
+
+        int maxLen = ChunkCompressionUtils.maxCompressedLength(compression, chunkSize);
+
+        chunk = ByteBuffer.allocateDirect(chunkSize);
+        compressed = ByteBuffer.allocateDirect(maxLen);
+        arr = new byte[CHUNK_HEADER_SIZE + maxLen];
+
+        ByteBuffer hdr = ByteBuffer.wrap(arr, 0, HEADER_SIZE).order(ByteOrder.BIG_ENDIAN);
+
+        hdr.putInt(MAGIC);
+        hdr.put(FORMAT_VERSION);
+        hdr.put((byte)compression.ordinal());
+        hdr.putInt(chunkSize);
+
+        out.write(arr, 0, HEADER_SIZE);
+    }
+
+    /** {@inheritDoc} */
+    @Override public void write(int b) throws IOException {
+        if (!chunk.hasRemaining())
+            writeChunk();
+
+        chunk.put((byte)b);
+    }
+
+    /** {@inheritDoc} */
+    @Override public void write(byte[] b, int off, int len) throws IOException {
+        while (len > 0) {
+            if (!chunk.hasRemaining())
+                writeChunk();
+
+            int n = Math.min(len, chunk.remaining());
+
+            chunk.put(b, off, n);
+
+            off += n;
+            len -= n;
+        }
+    }
+
+    /**
+     * Compresses and writes the current chunk.
+     *
+     * @throws IOException If failed.
+     */
+    private void writeChunk() throws IOException {
+        chunk.flip();
+
+        int rawLen = chunk.remaining();
+
+        compressed.clear();
+
+        try {
+            ChunkCompressionUtils.compress(compression, compressLevel, chunk, compressed);
+        }
+        catch (RuntimeException e) {
+            throw new IOException("Failed to compress chunk [compression=" + compression + ']', e);
+        }
+
+        compressed.flip();
+
+        int compressedLen = compressed.remaining();
+
+        ByteBuffer.wrap(arr, 0, CHUNK_HEADER_SIZE).order(ByteOrder.BIG_ENDIAN)
+            .putInt(rawLen)
+            .putInt(compressedLen);
+
+        compressed.get(arr, CHUNK_HEADER_SIZE, compressedLen);
+
+        out.write(arr, 0, CHUNK_HEADER_SIZE + compressedLen);
+
+        chunk.clear();
+    }
+
+    /** {@inheritDoc} */
+    @Override public void flush() throws IOException {
+        out.flush();
+    }
+
+    /** {@inheritDoc} */
+    @Override public void close() throws IOException {
+        if (closed)
+            return;
+
+        closed = true;
+
+        try {
+            if (chunk.position() > 0)
+                writeChunk();
+        }
+        finally {
+            try {
+                out.close();
+            }
+            finally {
+                GridUnsafe.cleanDirectBuffer(chunk);
+                GridUnsafe.cleanDirectBuffer(compressed);
+            }
+        }
+    }
+}
@@ -174,6 +174,8 @@ public class FileDownloader {
 
                 finishFut.onDone(th);
 
+                // The uploader may fail before it connects, stop waiting for the connection.
+                U.closeQuiet(srvChan);
                 U.closeQuiet(readChan);
             }
             else {
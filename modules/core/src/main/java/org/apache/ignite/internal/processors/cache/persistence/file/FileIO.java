@@ -173,6 +173,29 @@ public interface FileIO extends AutoCloseable {
      */
     public int writeFully(ByteBuffer srcBuf, long position) throws IOException;
 
+    /**
+     * Writes the remaining bytes of a subsequence of the given buffers to this file, one buffer after another,
+     * starting from the specified file {@code position}. Implementations should write all the buffers with as few
+     * system calls as possible (gathering write), the default implementation writes buffers one by one.
+     *
+     * @param srcBufs Source buffers.
+     * @param off Offset of the first buffer to write within the array.
+     * @param len Number of buffers to write.
+     * @param position Starting file position.
+     *
+     * @return Number of written bytes.
+     *
+     * @throws IOException If some I/O error occurs.
+     */
+    public default long writeFully(ByteBuffer[] srcBufs, int off, int len, long position) throws IOException {
+        long written = 0;
+
+        for (int i = off; i < off + len; i++)
+            written += writeFully(srcBufs[i], position + written);
+
+        return written;
+    }
+
     /**
      * Writes {@code length} bytes from the {@code buffer}
      * starting at offset {@code off} to this file.
@@ -24,12 +24,14 @@ import java.nio.channels.ClosedByInterruptException;
 import java.nio.channels.ClosedChannelException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.locks.ReadWriteLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
 import org.apache.ignite.IgniteCheckedException;
 import org.apache.ignite.IgniteException;
 import org.apache.ignite.IgniteSystemProperties;
+import org.apache.ignite.configuration.ChecksumAlgorithm;
 import org.apache.ignite.configuration.DataStorageConfiguration;
 import org.apache.ignite.internal.pagemem.PageIdUtils;
 import org.apache.ignite.internal.pagemem.store.PageStore;
@@ -95,6 +97,12 @@ public class FilePageStore implements PageStore {
     /** */
     private boolean skipCrc = IgniteSystemProperties.getBoolean(IGNITE_PDS_SKIP_CRC, false);
 
+    /**
+     * Checksum algorithm of pages. Recorded in the file header if the header has room for it, files without it use
+     * {@link ChecksumAlgorithm#CRC32}.
+     */
+    private volatile ChecksumAlgorithm crcAlgo = ChecksumAlgorithm.CRC32;
+
     /** */
     private final ReadWriteLock lock = new ReentrantReadWriteLock();
 
@@ -186,11 +194,21 @@ public class FilePageStore implements PageStore {
 
         hdr.putInt(pageSize);
 
+        if (headerSize() > HEADER_SIZE)
+            hdr.put((byte)crcAlgo.ordinal());
+
         hdr.rewind();
 
         return hdr;
     }
 
+    /**
+     * @return Checksum algorithm of pages.
+     */
+    public ChecksumAlgorithm checksumAlgorithm() {
+        return crcAlgo;
+    }
+
     /**
      * Initializes header and writes it into the file store.
      *
@@ -199,6 +217,9 @@ public class FilePageStore implements PageStore {
      */
     private long initFile(FileIO fileIO) throws IOException {
         try {
+            if (headerSize() > HEADER_SIZE)
+                crcAlgo = dbCfg.getChecksumAlgorithm();
+
             ByteBuffer hdr = header(type, dbCfg.getPageSize());
 
             fileIO.writeFully(hdr);
@@ -257,6 +278,19 @@ public class FilePageStore implements PageStore {
                 " [expectedPageSize=" + dbCfg.getPageSize() +
                 ", filePageSize=" + pageSize + "]");
 
+        if (headerSize() > HEADER_SIZE) {
+            // Zero in files written by previous versions.
+            byte algoOrd = hdr.get();
+
+            ChecksumAlgorithm crcAlgo = ChecksumAlgorithm.fromOrdinal(algoOrd);
+
+            if (crcAlgo == null)
+                throw new IOException(prefix + "(unknown checksum algorithm)" +
+                    " [checksumAlgorithm=" + algoOrd + "]");
+
+            this.crcAlgo = crcAlgo;
+        }
+
         long fileSize = cfgFile.length();
 
         if (fileSize == headerSize()) // Every file has a special meta page.
@@ -338,6 +372,43 @@ public class FilePageStore implements PageStore {
         }
     }
 
+    /**
+     * Replaces the file of this store with the given one. Pages of the previous file which are written with
+     * an older tag after this call are skipped, the file is opened and checked on the next access.
+     *
+     * @param tag New partition tag.
+     * @param src File to move in place of the current one.
+     * @throws StorageException If failed.
+     */
+    public void replace(int tag, Path src) throws StorageException {
+        Path filePath = pathProvider.apply();
+
+        lock.writeLock().lock();
+
+        try {
+            this.tag = tag;
+
+            if (fileIO != null) {
+                fileIO.close();
+
+                fileIO = null;
+            }
+
+            Files.move(src, filePath, StandardCopyOption.REPLACE_EXISTING);
+        }
+        catch (IOException e) {
+            throw new StorageException("Failed to replace partition file [file=" + filePath.toAbsolutePath() +
+                ", src=" + src.toAbsolutePath() + "]", e);
+        }
+        finally {
+            allocatedTracker.add(-1L * allocated.getAndSet(0) / pageSize);
+
+            inited = false;
+
+            lock.writeLock().unlock();
+        }
+    }
+
     /** {@inheritDoc} */
     @Override public void beginRecover() {
         lock.writeLock().lock();
@@ -431,7 +502,7 @@ public class FilePageStore implements PageStore {
             pageBuf.position(0);
 
             if (!skipCrc) {
-                int curCrc32 = FastCrc.calcCrc(pageBuf, getCrcSize(pageId, pageBuf));
+                int curCrc32 = FastCrc.calcCrc(crcAlgo, pageBuf, getCrcSize(pageId, pageBuf));
 
                 if ((savedCrc32 ^ curCrc32) != 0)
                     throw new IgniteDataIntegrityViolationException("Failed to read page (CRC validation failed) " +
@@ -452,6 +523,29 @@ public class FilePageStore implements PageStore {
         }
     }
 
+    /** {@inheritDoc} */
+    @Override public void readAhead(long pageId, ByteBuffer buf) throws IgniteCheckedException {
+        init();
+
+        try {
+            long off = pageOffset(pageId);
+
+            long end = allocated.get();
+
+            if (off >= end)
+                return;
+
+            if (buf.remaining() > end - off)
+                buf.limit(buf.position() + (int)(end - off));
+
+            readWithFailover(buf, off, pageId, false);
+        }
+        catch (IOException e) {
+            throw new StorageException("Failed to read pages [file=" + getFileAbsolutePath() +
+                ", pageId=" + pageId + ", len=" + buf.remaining() + "]", e);
+        }
+    }
+
     /** {@inheritDoc} */
     @Override public void readHeader(ByteBuffer buf) throws IgniteCheckedException {
         init();
@@ -682,15 +776,108 @@ public class FilePageStore implements PageStore {
         }
     }
 
+    /** {@inheritDoc} */
+    @Override public void write(long[] pageIds, ByteBuffer[] pageBufs, int off, int len, int tag, boolean calculateCrc)
+        throws IgniteCheckedException {
+        init();
+
+        boolean interrupted = false;
+
+        while (true) {
+            FileIO fileIO = this.fileIO;
+
+            try {
+                lock.readLock().lock();
+
+                try {
+                    if (tag < this.tag)
+                        return;
+
+                    long pos = pageOffset(pageIds[off]);
+
+                    assert (pos >= 0 && pos + (long)(len - 1) * pageSize <= allocated.get()) || recover :
+                        "off=" + U.hexLong(pos) + ", len=" + len + ", allocated=" + U.hexLong(allocated.get()) +
+                            ", pageId=" + U.hexLong(pageIds[off]) + ", file=" + getFileAbsolutePath();
+
+                    for (int i = off; i < off + len; i++) {
+                        long pageId = pageIds[i];
+                        ByteBuffer pageBuf = pageBufs[i];
+
+                        assert pageOffset(pageId) == pos + (long)(i - off) * pageSize : "Page indexes are not " +
+                            "contiguous [first=" + U.hexLong(pageIds[off]) + ", pageId=" + U.hexLong(pageId) + ']';
+                        assert pageBuf.position() == 0;
+                        assert pageBuf.remaining() == pageSize : pageBuf;
+                        assert pageBuf.order() == ByteOrder.nativeOrder() : "Page buffer order " + pageBuf.order()
+                            + " should be same with " + ByteOrder.nativeOrder();
+                        assert PageIO.getType(pageBuf) != 0 : "Invalid state. Type is 0! pageId = " + U.hexLong(pageId);
+                        assert PageIO.getVersion(pageBuf) != 0 : "Invalid state. Version is 0! pageId = " + U.hexLong(pageId);
+
+                        if (calculateCrc && !skipCrc) {
+                            assert PageIO.getCrc(pageBuf) == 0 : U.hexLong(pageId);
+
+                            PageIO.setCrc(pageBuf, calcCrc32(pageBuf, getCrcSize(pageId, pageBuf)));
+                        }
+
+                        // Check whether crc was calculated somewhere above the stack if it is forcibly skipped.
+                        assert skipCrc || PageIO.getCrc(pageBuf) != 0 || calcCrc32(pageBuf, pageSize) == 0 :
+                            "CRC hasn't been calculated, crc=0";
+                    }
+
+                    fileIO.writeFully(pageBufs, off, len, pos);
+
+                    for (int i = off; i < off + len; i++)
+                        PageIO.setCrc(pageBufs[i], 0);
+
+                    if (interrupted)
+                        Thread.currentThread().interrupt();
+
+                    return;
+                }
+                finally {
+                    lock.readLock().unlock();
+                }
+            }
+            catch (IOException e) {
+                if (e instanceof ClosedChannelException) {
+                    try {
+                        if (e instanceof ClosedByInterruptException) {
+                            interrupted = true;
+
+                            Thread.interrupted();
+                        }
+
+                        reinit(fileIO);
+
+                        for (int i = off; i < off + len; i++) {
+                            pageBufs[i].position(0);
+
+                            PageIO.setCrc(pageBufs[i], 0);
+                        }
+
+                        continue;
+                    }
+                    catch (IOException e0) {
+                        e0.addSuppressed(e);
+
+                        e = e0;
+                    }
+                }
+
+                throw new StorageException("Failed to write pages [file=" + getFileAbsolutePath()
+                    + ", pageId=" + pageIds[off] + ", cnt=" + len + ", tag=" + tag + "]", e);
+            }
+        }
+    }
+
     /**
      * @param pageBuf Page buffer.
      * @param pageSize Page size.
      */
-    private static int calcCrc32(ByteBuffer pageBuf, int pageSize) {
+    private int calcCrc32(ByteBuffer pageBuf, int pageSize) {
         try {
             pageBuf.position(0);
 
-            return FastCrc.calcCrc(pageBuf, pageSize);
+            return FastCrc.calcCrc(crcAlgo, pageBuf, pageSize);
         }
         finally {
             pageBuf.position(0);
@@ -769,6 +956,16 @@ public class FilePageStore implements PageStore {
         return (int)(allocated.get() / pageSize);
     }
 
+    /**
+     * @return Number of bytes of the file occupied by the header and the allocated pages.
+     */
+    public long allocatedBytes() {
+        if (!inited)
+            return 0;
+
+        return headerSize() + allocated.get();
+    }
+
     /**
      * @param destBuf Destination buffer.
      * @param position Position.
@@ -381,7 +381,8 @@ public class FilePageStoreManager extends GridCacheSharedManagerAdapter implemen
                 cacheId,
                 partitions,
                 tracker,
-                cctx.cacheContext(cacheId) != null && cctx.cacheContext(cacheId).config().isEncryptionEnabled()
+                cctx.cacheContext(cacheId) != null && cctx.cacheContext(cacheId).config().isEncryptionEnabled(),
+                null
             );
 
             CacheStoreHolder old = idxCacheStores.put(cacheId, holder);
@@ -419,7 +420,8 @@ public class FilePageStoreManager extends GridCacheSharedManagerAdapter implemen
                 grpId,
                 PageIdAllocator.METASTORE_PARTITION + 1,
                 dataRegion.memoryMetrics().totalAllocatedPages(),
-                false);
+                false,
+                null);
 
             CacheStoreHolder old = idxCacheStores.put(grpId, holder);
 
@@ -615,6 +617,54 @@ public class FilePageStoreManager extends GridCacheSharedManagerAdapter implemen
         return store;
     }
 
+    /**
+     * Writes pages with contiguous indexes of a partition with a single write if possible. Pages of caches with
+     * disk page compression are written one by one, since they are compressed individually.
+     *
+     * @param grpId Cache group ID.
+     * @param pageIds Page IDs of the same partition, page indexes must be contiguous and ascending.
+     * @param pageBufs Page buffers.
+     * @param off Offset of the first page within the arrays.
+     * @param len Number of pages to write.
+     * @param tag Partition tag.
+     * @param calculateCrc If {@code False} crc calculation will be forcibly skipped.
+     * @return Page store the pages were written to.
+     * @throws IgniteCheckedException If failed.
+     */
+    public PageStore writeInternal(
+        int grpId,
+        long[] pageIds,
+        ByteBuffer[] pageBufs,
+        int off,
+        int len,
+        int tag,
+        boolean calculateCrc
+    ) throws IgniteCheckedException {
+        GridCacheContext cctx0 = cctx.cacheContext(grpId);
+
+        if (len == 1 || (cctx0 != null && cctx0.compress().isPageCompressionEnabled())) {
+            PageStore store = null;
+
+            for (int i = off; i < off + len; i++)
+                store = writeInternal(grpId, pageIds[i], pageBufs[i], tag, calculateCrc);
+
+            return store;
+        }
+
+        PageStore store = getStore(grpId, PageIdUtils.partId(pageIds[off]));
+
+        try {
+            store.write(pageIds, pageBufs, off, len, tag, calculateCrc);
+        }
+        catch (StorageException e) {
+            cctx.kernalContext().failure().process(new FailureContext(FailureType.CRITICAL_ERROR, e));
+
+            throw e;
+        }
+
+        return store;
+    }
+
     /**
      *
      */
@@ -635,7 +685,9 @@ public class FilePageStoreManager extends GridCacheSharedManagerAdapter implemen
 
         String dataRegionName = grpDesc.config().getDataRegionName();
 
-        DataRegionMetricsImpl regionMetrics = cctx.database().dataRegion(dataRegionName).memoryMetrics();
+        DataRegion dataRegion = cctx.database().dataRegion(dataRegionName);
+
+        DataRegionMetricsImpl regionMetrics = dataRegion.memoryMetrics();
 
         LongAdderMetric allocatedTracker =
             regionMetrics.getOrAllocateGroupPageAllocationTracker(grpDesc.cacheOrGroupName());
@@ -645,7 +697,8 @@ public class FilePageStoreManager extends GridCacheSharedManagerAdapter implemen
             grpDesc.groupId(),
             grpDesc.config().getAffinity().partitions(),
             allocatedTracker,
-            ccfg.isEncryptionEnabled()
+            ccfg.isEncryptionEnabled(),
+            dataRegion.config().getFileIOFactory()
         );
     }
 
@@ -655,6 +708,7 @@ public class FilePageStoreManager extends GridCacheSharedManagerAdapter implemen
      * @param partitions Number of partitions.
      * @param allocatedTracker Metrics updater.
      * @param encrypted {@code True} if this cache encrypted.
+     * @param regionIoFactory File I/O factory of the data region or {@code null} to use the storage one.
      * @return Cache store holder.
      * @throws IgniteCheckedException If failed.
      */
@@ -662,7 +716,8 @@ public class FilePageStoreManager extends GridCacheSharedManagerAdapter implemen
         int grpId,
         int partitions,
         LongAdderMetric allocatedTracker,
-        boolean encrypted) throws IgniteCheckedException {
+        boolean encrypted,
+        @Nullable FileIOFactory regionIoFactory) throws IgniteCheckedException {
         try {
             boolean dirExisted = checkAndInitCacheWorkDir(cacheWorkDir);
 
@@ -671,19 +726,22 @@ public class FilePageStoreManager extends GridCacheSharedManagerAdapter implemen
             if (dirExisted && !idxFile.exists())
                 grpsWithoutIdx.add(grpId);
 
-            FileIOFactory pageStoreFileIoFactory = this.pageStoreFileIoFactory;
-            FileIOFactory pageStoreV1FileIoFactory = this.pageStoreV1FileIoFactory;
+            FileIOFactory baseFileIoFactory = regionIoFactory != null ? regionIoFactory : this.pageStoreFileIoFactory;
+            FileIOFactory baseV1FileIoFactory = regionIoFactory != null ? regionIoFactory : this.pageStoreV1FileIoFactory;
+
+            FileIOFactory pageStoreFileIoFactory = baseFileIoFactory;
+            FileIOFactory pageStoreV1FileIoFactory = baseV1FileIoFactory;
 
             if (encrypted) {
                 pageStoreFileIoFactory = new EncryptedFileIOFactory(
-                    this.pageStoreFileIoFactory,
+                    baseFileIoFactory,
                     grpId,
                     pageSize(),
                     cctx.kernalContext().encryption(),
                     cctx.gridConfig().getEncryptionSpi());
 
                 pageStoreV1FileIoFactory = new EncryptedFileIOFactory(
-                    this.pageStoreV1FileIoFactory,
+                    baseV1FileIoFactory,
                     grpId,
                     pageSize(),
                     cctx.kernalContext().encryption(),
@@ -888,7 +946,19 @@ public class FilePageStoreManager extends GridCacheSharedManagerAdapter implemen
         if (cctx.kernalContext().clientNode())
             return Collections.emptyMap();
 
-        File[] files = storeWorkDir.listFiles();
+        return readCacheConfigurations(storeWorkDir);
+    }
+
+    /**
+     * Reads configurations of the caches stored in the given directory, which has the layout of the store
+     * work directory.
+     *
+     * @param workDir Directory to read.
+     * @return Cache configurations by cache names.
+     * @throws IgniteCheckedException If failed.
+     */
+    public Map<String, StoredCacheData> readCacheConfigurations(File workDir) throws IgniteCheckedException {
+        File[] files = workDir.listFiles();
 
         if (files == null)
             return Collections.emptyMap();
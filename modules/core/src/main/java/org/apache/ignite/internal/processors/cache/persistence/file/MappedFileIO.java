@@ -0,0 +1,177 @@
+/*
+ * Copyright 2019 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.apache.ignite.internal.processors.cache.persistence.file;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.OpenOption;
+import java.util.Arrays;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import org.apache.ignite.internal.util.GridUnsafe;
+
+/**
+ * File I/O implementation which serves positional reads from read-only memory mapped segments of the file, while
+ * writes and other operations go through the {@link FileChannel}. A page read which hits the OS page cache is a
+ * memory copy without a system call, which suits read-mostly files.
+ * <p>
+ * Segments are mapped lazily and cover at most the file size at the moment of mapping, a segment is remapped when a
+ * read goes beyond it after the file has grown. Writes through the channel are visible through the mappings since
+ * both share the OS page cache.
+ */
+public class MappedFileIO extends RandomAccessFileIO {
+    /** */
+    private static final MappedByteBuffer[] EMPTY_SEGS = new MappedByteBuffer[0];
+
+    /** Segment size. */
+    private final int segSize;
+
+    /** Mapped segments, copied on write. */
+    private volatile MappedByteBuffer[] segs = EMPTY_SEGS;
+
+    /** Mutex for segments mapping. */
+    private final Object mapMux = new Object();
+
+    /** Reads from the segments hold the read lock, unmapping holds the write lock. */
+    private final ReentrantReadWriteLock unmapLock = new ReentrantReadWriteLock();
+
+    /**
+     * @param file File.
+     * @param segSize Segment size.
+     * @param modes Open modes.
+     * @throws IOException If failed.
+     */
+    public MappedFileIO(File file, int segSize, OpenOption... modes) throws IOException {
+        super(file, modes);
+
+        this.segSize = segSize;
+    }
+
+    /** {@inheritDoc} */
+    @Override public int read(ByteBuffer destBuf, long position) throws IOException {
+        int len = destBuf.remaining();
+
+        int off = (int)(position % segSize);
+
+        // Reads crossing a segment boundary are not served from the mappings.
+        if (len == 0 || off + len > segSize)
+            return super.read(destBuf, position);
+
+        unmapLock.readLock().lock();
+
+        try {
+            MappedByteBuffer seg = segment((int)(position / segSize), off + len);
+
+            // Read beyond the end of file, let the channel handle it.
+            if (seg == null)
+                return super.read(destBuf, position);
+
+            ByteBuffer src = seg.duplicate();
+
+            src.limit(off + len);
+            src.position(off);
+
+            destBuf.put(src);
+
+            return len;
+        }
+        finally {
+            unmapLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @param idx Segment index.
+     * @param end Required segment size.
+     * @return Segment which is at least {@code end} bytes long or {@code null} if the file is not long enough.
+     * @throws IOException If failed.
+     */
+    private MappedByteBuffer segment(int idx, int end) throws IOException {
+        MappedByteBuffer[] segs = this.segs;
+
+        MappedByteBuffer seg = idx < segs.length ? segs[idx] : null;
+
+        if (seg != null && seg.capacity() >= end)
+            return seg;
+
+        synchronized (mapMux) {
+            segs = this.segs;
+
+            seg = idx < segs.length ? segs[idx] : null;
+
+            if (seg != null && seg.capacity() >= end)
+                return seg;
+
+            long segStart = (long)idx * segSize;
+
+            long mapLen = Math.min(segSize, size() - segStart);
+
+            if (mapLen < end)
+                return null;
+
+            // A replaced segment may still be in use by concurrent readers, so it is left for GC to unmap.
+            seg = ch.map(FileChannel.MapMode.READ_ONLY, segStart, mapLen);
+
+            segs = Arrays.copyOf(segs, Math.max(segs.length, idx + 1));
+
+            segs[idx] = seg;
+
+            this.segs = segs;
+
+            return seg;
+        }
+    }
+
+    /**
+     * Unmaps all the segments. Must be called before the file is truncated, since access to a mapping beyond the
+     * end of file fails.
+     */
+    private void unmap() {
+        unmapLock.writeLock().lock();
+
+        try {
+            synchronized (mapMux) {
+                for (MappedByteBuffer seg : segs) {
+                    if (seg != null)
+                        GridUnsafe.cleanDirectBuffer(seg);
+                }
+
+                segs = EMPTY_SEGS;
+            }
+        }
+        finally {
+            unmapLock.writeLock().unlock();
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override public void clear() throws IOException {
+        unmap();
+
+        super.clear();
+    }
+
+    /** {@inheritDoc} */
+    @Override public void close() throws IOException {
+        unmap();
+
+        super.close();
+    }
+}
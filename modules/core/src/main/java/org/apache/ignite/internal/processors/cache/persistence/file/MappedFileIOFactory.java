@@ -0,0 +1,72 @@
+/*
+ * Copyright 2019 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.apache.ignite.internal.processors.cache.persistence.file;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.OpenOption;
+import org.apache.ignite.internal.util.typedef.internal.A;
+import org.apache.ignite.internal.util.typedef.internal.S;
+
+/**
+ * File I/O factory which provides {@link MappedFileIO} implementation of FileIO. Suits data regions with
+ * read-mostly data, see {@link org.apache.ignite.configuration.DataRegionConfiguration#setFileIOFactory}.
+ */
+public class MappedFileIOFactory implements FileIOFactory {
+    /** */
+    private static final long serialVersionUID = 0L;
+
+    /** Default segment size. */
+    public static final int DFLT_SEGMENT_SIZE = 256 * 1024 * 1024;
+
+    /** Segment size. */
+    private final int segSize;
+
+    /**
+     * Creates factory with default segment size.
+     */
+    public MappedFileIOFactory() {
+        this(DFLT_SEGMENT_SIZE);
+    }
+
+    /**
+     * @param segSize Size of a mapped file segment, should be a multiple of the page size.
+     */
+    public MappedFileIOFactory(int segSize) {
+        A.ensure(segSize > 0, "segSize > 0");
+
+        this.segSize = segSize;
+    }
+
+    /**
+     * @return Segment size.
+     */
+    public int segmentSize() {
+        return segSize;
+    }
+
+    /** {@inheritDoc} */
+    @Override public FileIO create(File file, OpenOption... modes) throws IOException {
+        return new MappedFileIO(file, segSize, modes);
+    }
+
+    /** {@inheritDoc} */
+    @Override public String toString() {
+        return S.toString(MappedFileIOFactory.class, this);
+    }
+}
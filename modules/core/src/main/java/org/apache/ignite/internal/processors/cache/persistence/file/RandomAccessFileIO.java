@@ -33,7 +33,7 @@ public class RandomAccessFileIO extends AbstractFileIO {
     /**
      * File channel.
      */
-    private final FileChannel ch;
+    protected final FileChannel ch;
 
     /** Native file descriptor. */
     private final int fd;
@@ -41,6 +41,9 @@ public class RandomAccessFileIO extends AbstractFileIO {
     /** */
     private final int fsBlockSize;
 
+    /** Mutex for gathering writes, which have to move the channel position. */
+    private final Object gatherWriteMux = new Object();
+
     /**
      * Creates I/O implementation for specified {@code file}
      *
@@ -117,6 +120,50 @@ public class RandomAccessFileIO extends AbstractFileIO {
         return ch.write(ByteBuffer.wrap(buf, off, len));
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * {@link FileChannel} has no positional gathering write, so the channel position is moved for the duration of
+     * the write and restored afterwards. The method must not be used concurrently with relative (position based)
+     * writes and reads of this file I/O.
+     */
+    @Override public long writeFully(ByteBuffer[] srcBufs, int off, int len, long position) throws IOException {
+        long total = 0;
+
+        for (int i = off; i < off + len; i++)
+            total += srcBufs[i].remaining();
+
+        long written = 0;
+
+        synchronized (gatherWriteMux) {
+            long prevPos = ch.position();
+
+            ch.position(position);
+
+            try {
+                while (written < total) {
+                    long n = ch.write(srcBufs, off, len);
+
+                    if (n <= 0)
+                        break;
+
+                    written += n;
+                }
+            }
+            finally {
+                ch.position(prevPos);
+            }
+        }
+
+        // Channel made no progress, fall back to positional writes which detect a stuck device.
+        for (int i = off; written < total && i < off + len; i++) {
+            if (srcBufs[i].hasRemaining())
+                written += writeFully(srcBufs[i], position + written);
+        }
+
+        return written;
+    }
+
     /** {@inheritDoc} */
     @Override public void force(boolean withMetadata) throws IOException {
         ch.force(withMetadata);
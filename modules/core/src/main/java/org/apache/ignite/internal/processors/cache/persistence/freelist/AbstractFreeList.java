@@ -374,14 +374,7 @@ public abstract class AbstractFreeList<T extends Storable> extends PagesList imp
         // TODO and vice-versa. It should be removed when data storage format is finalized.
         MIN_SIZE_FOR_DATA_PAGE = pageSize - AbstractDataPageIO.MIN_DATA_PAGE_OVERHEAD;
 
-        int shift = 0;
-
-        while (pageSize > BUCKETS) {
-            shift++;
-            pageSize >>>= 1;
-        }
-
-        this.shift = shift;
+        shift = shift(pageSize);
 
         this.memMetrics = memMetrics;
 
@@ -471,6 +464,40 @@ public abstract class AbstractFreeList<T extends Storable> extends PagesList imp
         return bucket;
     }
 
+    /**
+     * @param pageSize Page size.
+     * @return Step between buckets for the given page size, measured in powers of two.
+     */
+    private static int shift(int pageSize) {
+        int shift = 0;
+
+        while (pageSize > BUCKETS) {
+            shift++;
+            pageSize >>>= 1;
+        }
+
+        return shift;
+    }
+
+    /**
+     * Calculates the bucket a data page is tracked in without instantiating a free list,
+     * for code that lays out free list pages directly (e.g. partition defragmentation).
+     *
+     * @param freeSpace Page free space.
+     * @param pageSize Page size.
+     * @return Bucket index or {@code -1} if a page with such free space is not tracked by a free list.
+     */
+    public static int bucketIndex(int freeSpace, int pageSize) {
+        if (freeSpace <= MIN_PAGE_FREE_SPACE)
+            return -1;
+
+        int bucket = freeSpace >>> shift(pageSize);
+
+        assert bucket >= 0 && bucket < BUCKETS : bucket;
+
+        return bucket == REUSE_BUCKET ? bucket - 1 : bucket;
+    }
+
     /** {@inheritDoc} */
     @Override protected int getBucketIndex(int freeSpace) {
         return freeSpace > MIN_PAGE_FREE_SPACE ? bucket(freeSpace, false) : -1;
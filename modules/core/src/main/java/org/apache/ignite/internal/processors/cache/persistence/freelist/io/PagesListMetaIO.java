@@ -138,6 +138,32 @@ public class PagesListMetaIO extends PageIO {
         return write;
     }
 
+    /**
+     * @param pageSize Page size.
+     * @param pageAddr Page address.
+     * @param bucket Bucket number.
+     * @param tailId Tail page ID.
+     * @return {@code True} if the tail was written, {@code false} if the page is full.
+     */
+    public boolean addTail(int pageSize, long pageAddr, int bucket, long tailId) {
+        assert bucket >= 0 && bucket <= Short.MAX_VALUE : bucket;
+        assert tailId != 0;
+
+        int cnt = getCount(pageAddr);
+
+        if (cnt == getCapacity(pageSize, pageAddr))
+            return false;
+
+        int off = offset(cnt);
+
+        PageUtils.putShort(pageAddr, off, (short)bucket);
+        PageUtils.putLong(pageAddr, off + 2, tailId);
+
+        setCount(pageAddr, cnt + 1);
+
+        return true;
+    }
+
     /**
      * @param pageAddr Page address.
      * @param res Results map.
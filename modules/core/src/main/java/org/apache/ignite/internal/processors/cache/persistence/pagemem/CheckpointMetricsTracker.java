@@ -46,9 +46,30 @@ public class CheckpointMetricsTracker {
     private static final AtomicIntegerFieldUpdater<CheckpointMetricsTracker> COW_PAGES_UPDATER =
         AtomicIntegerFieldUpdater.newUpdater(CheckpointMetricsTracker.class, "cowPages");
 
+    /** */
+    private static final AtomicIntegerFieldUpdater<CheckpointMetricsTracker> WRITTEN_PAGES_UPDATER =
+        AtomicIntegerFieldUpdater.newUpdater(CheckpointMetricsTracker.class, "writtenPages");
+
+    /** */
+    private static final AtomicIntegerFieldUpdater<CheckpointMetricsTracker> WRITE_CALLS_UPDATER =
+        AtomicIntegerFieldUpdater.newUpdater(CheckpointMetricsTracker.class, "writeCalls");
+
+    /** */
+    private static final AtomicIntegerFieldUpdater<CheckpointMetricsTracker> SYNCED_STORES_UPDATER =
+        AtomicIntegerFieldUpdater.newUpdater(CheckpointMetricsTracker.class, "syncedStores");
+
     /** */
     private volatile int dataPages;
 
+    /** */
+    private volatile int syncedStores;
+
+    /** */
+    private volatile int writtenPages;
+
+    /** */
+    private volatile int writeCalls;
+
     /** */
     private volatile int cowPages;
 
@@ -73,6 +94,12 @@ public class CheckpointMetricsTracker {
     /** */
     private long cpEnd;
 
+    /** */
+    private long storesSyncStart;
+
+    /** */
+    private long storesSyncEnd;
+
     /** */
     private long walCpRecordFsyncStart;
 
@@ -102,6 +129,64 @@ public class CheckpointMetricsTracker {
         DATA_PAGES_UPDATER.incrementAndGet(this);
     }
 
+    /**
+     * @param pages Number of pages written to a page store with a single write call.
+     */
+    public void onPagesWritten(int pages) {
+        WRITTEN_PAGES_UPDATER.addAndGet(this, pages);
+        WRITE_CALLS_UPDATER.incrementAndGet(this);
+    }
+
+    /**
+     * @return Pages written to page stores.
+     */
+    public int pagesWritten() {
+        return writtenPages;
+    }
+
+    /**
+     * @return Number of page store write calls.
+     */
+    public int writeCalls() {
+        return writeCalls;
+    }
+
+    /**
+     * Increments counter of synced page stores.
+     */
+    public void onStoreSynced() {
+        SYNCED_STORES_UPDATER.incrementAndGet(this);
+    }
+
+    /**
+     *
+     */
+    public void onStoresSyncStart() {
+        storesSyncStart = System.currentTimeMillis();
+    }
+
+    /**
+     *
+     */
+    public void onStoresSyncEnd() {
+        storesSyncEnd = System.currentTimeMillis();
+    }
+
+    /**
+     * @return Number of page stores synced on checkpoint end.
+     */
+    public int syncedStores() {
+        return syncedStores;
+    }
+
+    /**
+     * @return Duration of the page stores sync phase in milliseconds, wall-clock time regardless of the number of
+     *      sync threads.
+     */
+    public long storesSyncDuration() {
+        return storesSyncEnd - storesSyncStart;
+    }
+
     /**
      * @return COW pages.
      */
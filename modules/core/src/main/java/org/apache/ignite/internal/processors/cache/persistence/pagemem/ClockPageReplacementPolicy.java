@@ -0,0 +1,105 @@
+/*
+ * Copyright 2019 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.ignite.internal.processors.cache.persistence.pagemem;
+
+import java.util.Collections;
+import org.apache.ignite.IgniteCheckedException;
+import org.apache.ignite.internal.pagemem.FullPageId;
+import org.apache.ignite.internal.pagemem.PageIdUtils;
+import org.apache.ignite.internal.processors.cache.persistence.PageStoreWriter;
+
+import static org.apache.ignite.internal.processors.cache.persistence.pagemem.PageMemoryImpl.INVALID_REL_PTR;
+import static org.apache.ignite.internal.processors.cache.persistence.pagemem.PageMemoryImpl.OUTDATED_REL_PTR;
+
+/**
+ * CLOCK page replacement policy.
+ * <p>
+ * The clock hand walks over the page slots of the segment pool. A loaded page accessed since the previous pass of
+ * the hand gets a second chance: the hand marks it as visited (see {@link PageHeader#markClockVisited(long)}) and
+ * moves on. A page that is still marked when the hand comes back is replaced. Any access of the page updates its
+ * timestamp and resets the mark.
+ */
+public class ClockPageReplacementPolicy extends PageReplacementPolicy {
+    /** Number of hand revolutions before falling back to the sequential search. */
+    private static final int MAX_REVOLUTIONS = 2;
+
+    /** Index of the page slot the clock hand points to. */
+    private int hand;
+
+    /**
+     * @param seg Page memory segment.
+     */
+    protected ClockPageReplacementPolicy(PageMemoryImpl.Segment seg) {
+        super(seg);
+    }
+
+    /** {@inheritDoc} */
+    @Override public long replace(PageStoreWriter saveDirtyPage) throws IgniteCheckedException {
+        LoadedPagesMap loadedPages = seg.loadedPages();
+
+        PagePool pool = seg.pool();
+
+        int slots = pool.allocatedPages();
+
+        for (long i = 0, max = (long)slots * MAX_REVOLUTIONS; i < max; i++) {
+            if (hand >= slots)
+                hand = 0;
+
+            long relPtr = pool.relative(hand++);
+
+            long absPtr = seg.absolute(relPtr);
+
+            FullPageId fullId = PageHeader.fullPageId(absPtr);
+
+            int grpId = fullId.groupId();
+
+            long effPageId = fullId.effectivePageId();
+
+            // Skip free slots: the header of a free page is not referenced from the table.
+            if (loadedPages.get(grpId, effPageId, 0, INVALID_REL_PTR, INVALID_REL_PTR) != relPtr)
+                continue;
+
+            int partGen = seg.partGeneration(grpId, PageIdUtils.partId(fullId.pageId()));
+
+            if (loadedPages.get(grpId, effPageId, partGen, INVALID_REL_PTR, OUTDATED_REL_PTR) == OUTDATED_REL_PTR)
+                return seg.refreshOutdatedPage(grpId, fullId.pageId(), true);
+
+            if (PageHeader.isAcquired(absPtr) || seg.isMetaPage(fullId))
+                continue;
+
+            if (!PageHeader.clockVisited(absPtr)) {
+                PageHeader.markClockVisited(absPtr);
+
+                continue;
+            }
+
+            PageMemoryImpl.PageWithAttrHolder removed = seg.preparePageRemoval(
+                Collections.singleton(new PageMemoryImpl.PageWithAttrHolder(absPtr, relPtr, fullId)),
+                saveDirtyPage
+            );
+
+            // Dirty page which can not be written now.
+            if (removed == null)
+                continue;
+
+            loadedPages.remove(grpId, effPageId);
+
+            return relPtr;
+        }
+
+        return seg.tryToFindSequentially(loadedPages.capacity(), saveDirtyPage);
+    }
+}
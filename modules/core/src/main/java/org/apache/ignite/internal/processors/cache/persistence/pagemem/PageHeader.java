@@ -16,6 +16,7 @@
 
 package org.apache.ignite.internal.processors.cache.persistence.pagemem;
 
+import java.util.concurrent.locks.LockSupport;
 import org.apache.ignite.internal.pagemem.FullPageId;
 import org.apache.ignite.internal.util.GridUnsafe;
 
@@ -26,6 +27,12 @@ class PageHeader {
     /** */
     public static final long PAGE_MARKER = 0x0000000000000001L;
 
+    /**
+     * Clock reference flag, stored in the page marker byte. Every timestamp update resets it, so a page with the flag
+     * set was not accessed since the clock hand passed it the last time.
+     */
+    private static final long CLOCK_VISITED_FLAG = 0x0000000000000002L;
+
     /** Dirty flag. */
     private static final long DIRTY_FLAG = 0x0100000000000000L;
 
@@ -44,6 +51,15 @@ class PageHeader {
     /** Page temp copy buffer relative pointer offset. */
     private static final int PAGE_TMP_BUF_OFFSET = 40;
 
+    /** Page write stamp offset. */
+    private static final int PAGE_STAMP_OFFSET = 48;
+
+    /** Number of yields while waiting for a transient pin of an optimistic lookup, the waiter parks afterwards. */
+    private static final int TRANSIENT_PIN_WAIT_SPINS = 1_000;
+
+    /** Park time while waiting for a transient pin of an optimistic lookup. */
+    private static final long TRANSIENT_PIN_PARK_NANOS = 1_000;
+
     /**
      * @param absPtr Absolute pointer to initialize.
      * @param relative Relative pointer to write.
@@ -122,6 +138,23 @@ class PageHeader {
         return GridUnsafe.getInt(absPtr + PAGE_PIN_CNT_OFFSET) > 0;
     }
 
+    /**
+     * Waits until the page is unpinned before it is reused or freed. Replacement only takes pages without pins,
+     * but an optimistic lookup that raced with the segment modification may still hold a transient pin. The lookup
+     * releases it without blocking once it sees the changed modification counter, so the wait always ends and
+     * a page is never reused while pinned.
+     *
+     * @param absPtr Page pointer.
+     */
+    public static void awaitUnpinned(long absPtr) {
+        for (int i = 0; isAcquired(absPtr); i++) {
+            if (i < TRANSIENT_PIN_WAIT_SPINS)
+                Thread.yield();
+            else
+                LockSupport.parkNanos(TRANSIENT_PIN_PARK_NANOS);
+        }
+    }
+
     /**
      * @param absPtr Absolute pointer.
      */
@@ -188,6 +221,27 @@ class PageHeader {
         return markerAndTs & ~0xFF;
     }
 
+    /**
+     * @param absPtr Absolute page address.
+     * @return {@code True} if the page was not accessed since it was marked by {@link #markClockVisited(long)}.
+     */
+    public static boolean clockVisited(long absPtr) {
+        return (GridUnsafe.getLongVolatile(null, absPtr) & CLOCK_VISITED_FLAG) != 0;
+    }
+
+    /**
+     * Marks the page as visited by the clock hand. Concurrent access wins: the flag is not set if the timestamp
+     * was updated in between.
+     *
+     * @param absPtr Absolute page address.
+     * @return {@code True} if the flag was set.
+     */
+    public static boolean markClockVisited(long absPtr) {
+        long markerAndTs = GridUnsafe.getLongVolatile(null, absPtr);
+
+        return GridUnsafe.compareAndSwapLong(null, absPtr, markerAndTs, markerAndTs | CLOCK_VISITED_FLAG);
+    }
+
     /**
      * Sets pointer to checkpoint buffer.
      *
@@ -209,6 +263,26 @@ class PageHeader {
         return GridUnsafe.getLong(absPtr + PAGE_TMP_BUF_OFFSET);
     }
 
+    /**
+     * Reads the write stamp of the page. The stamp is always odd, so it never equals {@code 0}.
+     *
+     * @param absPtr Page absolute pointer.
+     * @return Write stamp.
+     */
+    public static long stamp(long absPtr) {
+        return GridUnsafe.getLongVolatile(null, absPtr + PAGE_STAMP_OFFSET) | 1L;
+    }
+
+    /**
+     * Changes the write stamp of the page. Must be called under the page write lock, the following lock release
+     * publishes the new stamp.
+     *
+     * @param absPtr Page absolute pointer.
+     */
+    public static void nextStamp(long absPtr) {
+        GridUnsafe.putLong(absPtr + PAGE_STAMP_OFFSET, GridUnsafe.getLong(absPtr + PAGE_STAMP_OFFSET) + 2);
+    }
+
     /**
      * Reads page ID from the page at the given absolute position.
      *
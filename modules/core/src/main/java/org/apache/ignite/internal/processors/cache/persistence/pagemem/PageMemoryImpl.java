@@ -20,13 +20,12 @@ import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
-import java.util.TreeSet;
 import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ThreadLocalRandom;
@@ -36,12 +35,14 @@ import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
 import org.apache.ignite.IgniteCheckedException;
 import org.apache.ignite.IgniteException;
 import org.apache.ignite.IgniteLogger;
 import org.apache.ignite.IgniteSystemProperties;
 import org.apache.ignite.configuration.DataRegionConfiguration;
 import org.apache.ignite.configuration.DataStorageConfiguration;
+import org.apache.ignite.configuration.PageReplacementMode;
 import org.apache.ignite.events.EventType;
 import org.apache.ignite.events.PageReplacementStartEvent;
 import org.apache.ignite.failure.FailureContext;
@@ -104,6 +105,7 @@ import static java.lang.Boolean.FALSE;
 import static java.lang.Boolean.TRUE;
 import static org.apache.ignite.IgniteSystemProperties.IGNITE_DELAYED_REPLACED_PAGE_WRITE;
 import static org.apache.ignite.IgniteSystemProperties.getBoolean;
+import static org.apache.ignite.configuration.DataRegionConfiguration.DFLT_PAGE_REPLACEMENT_MODE;
 import static org.apache.ignite.internal.pagemem.FullPageId.NULL_PAGE;
 import static org.apache.ignite.internal.util.GridUnsafe.wrapPointer;
 
@@ -121,11 +123,11 @@ import static org.apache.ignite.internal.util.GridUnsafe.wrapPointer;
  * <p/>
  * When page is allocated and is in use:
  * <pre>
- * +------------------+--------+--------+----+----+--------+--------+----------------------+
- * |     8 bytes      |8 bytes |8 bytes |4 b |4 b |8 bytes |8 bytes |       PAGE_SIZE      |
- * +------------------+--------+--------+----+----+--------+--------+----------------------+
- * | Marker/Timestamp |Rel ptr |Page ID |C ID|PIN | LOCK   |TMP BUF |       Page data      |
- * +------------------+--------+--------+----+----+--------+--------+----------------------+
+ * +------------------+--------+--------+----+----+--------+--------+--------+----------------------+
+ * |     8 bytes      |8 bytes |8 bytes |4 b |4 b |8 bytes |8 bytes |8 bytes |       PAGE_SIZE      |
+ * +------------------+--------+--------+----+----+--------+--------+--------+----------------------+
+ * | Marker/Timestamp |Rel ptr |Page ID |C ID|PIN | LOCK   |TMP BUF | STAMP  |       Page data      |
+ * +------------------+--------+--------+----+----+--------+--------+--------+----------------------+
  * </pre>
  *
  * Note that first 8 bytes of page header are used either for page marker or for next relative pointer depending
@@ -140,7 +142,7 @@ public class PageMemoryImpl implements PageMemoryEx {
     public static final long INVALID_REL_PTR = RELATIVE_PTR_MASK;
 
     /** Pointer which means that this page is outdated (for example, cache was destroyed, partition eviction'd happened */
-    private static final long OUTDATED_REL_PTR = INVALID_REL_PTR + 1;
+    static final long OUTDATED_REL_PTR = INVALID_REL_PTR + 1;
 
     /** Page lock offset. */
     public static final int PAGE_LOCK_OFFSET = 32;
@@ -153,8 +155,9 @@ public class PageMemoryImpl implements PageMemoryEx {
      * 4b Pin count
      * 8b Lock
      * 8b Temporary buffer
+     * 8b Write stamp
      */
-    public static final int PAGE_OVERHEAD = 48;
+    public static final int PAGE_OVERHEAD = 56;
 
     /** Number of random pages that will be picked for eviction. */
     public static final int RANDOM_PAGES_EVICT_NUM = 5;
@@ -185,6 +188,10 @@ public class PageMemoryImpl implements PageMemoryEx {
     private final boolean useBackwardShiftMap
         = IgniteSystemProperties.getBoolean(IgniteSystemProperties.IGNITE_LOADED_PAGES_BACKWARD_SHIFT_MAP, true);
 
+    /** Look up loaded pages without taking the segment lock. */
+    private final boolean optimisticLookup
+        = IgniteSystemProperties.getBoolean(IgniteSystemProperties.IGNITE_PAGE_MEMORY_OPTIMISTIC_LOOKUP, true);
+
     /** */
     private final ExecutorService asyncRunner;
 
@@ -259,6 +266,9 @@ public class PageMemoryImpl implements PageMemoryEx {
     /** Memory metrics to track dirty pages count and page replace rate. */
     private DataRegionMetricsImpl memMetrics;
 
+    /** Page replacement mode of the data region. */
+    private final PageReplacementMode replacementMode;
+
     /**
      * {@code False} if memory was not started or already stopped and is not supposed for any usage.
      */
@@ -323,6 +333,11 @@ public class PageMemoryImpl implements PageMemoryEx {
 
         this.memMetrics = memMetrics;
 
+        DataRegionConfiguration dataRegionCfg = ctx.kernalContext().config().getDataStorageConfiguration() != null ?
+            getDataRegionConfiguration() : null;
+
+        replacementMode = dataRegionCfg != null ? dataRegionCfg.getPageReplacementMode() : DFLT_PAGE_REPLACEMENT_MODE;
+
         asyncRunner = new ThreadPoolExecutor(
             0,
             Runtime.getRuntime().availableProcessors(),
@@ -434,6 +449,13 @@ public class PageMemoryImpl implements PageMemoryEx {
 
         Segment seg = segment(grpId, pageId);
 
+        // Unpinning is a pair of atomic decrements, the lock only makes the page replacement wait for it.
+        if (optimisticLookup) {
+            seg.releasePage(page);
+
+            return;
+        }
+
         seg.readLock().lock();
 
         try {
@@ -458,6 +480,32 @@ public class PageMemoryImpl implements PageMemoryEx {
         readUnlockPage(page);
     }
 
+    /** {@inheritDoc} */
+    @Override public long optimisticCopy(int grpId, long pageId, long page, long buf) {
+        assert started;
+
+        int tag = PageIdUtils.tag(pageId);
+
+        if (!rwLock.isReadable(page + PAGE_LOCK_OFFSET, tag))
+            return 0L;
+
+        long stamp = PageHeader.stamp(page);
+
+        GridUnsafe.copyMemory(page + PAGE_OVERHEAD, buf, pageSize());
+
+        return validateStamp(grpId, pageId, page, stamp) ? stamp : 0L;
+    }
+
+    /** {@inheritDoc} */
+    @Override public boolean validateStamp(int grpId, long pageId, long page, long stamp) {
+        assert started;
+
+        // Reads of the page contents must not be reordered with the following checks.
+        GridUnsafe.loadFence();
+
+        return rwLock.isReadable(page + PAGE_LOCK_OFFSET, PageIdUtils.tag(pageId)) && PageHeader.stamp(page) == stamp;
+    }
+
     /** {@inheritDoc} */
     @Override public long writeLock(int grpId, long pageId, long page) {
         assert started;
@@ -561,9 +609,7 @@ public class PageMemoryImpl implements PageMemoryEx {
 
             assert PageIO.getCrc(absPtr + PAGE_OVERHEAD) == 0; //TODO GG-11480
 
-            assert !PageHeader.isAcquired(absPtr) :
-                "Pin counter must be 0 for a new page [relPtr=" + U.hexLong(relPtr) +
-                    ", absPtr=" + U.hexLong(absPtr) + ", pinCntr=" + PageHeader.pinCount(absPtr) + ']';
+            PageHeader.awaitUnpinned(absPtr);
 
             setDirty(fullId, absPtr, true, true);
 
@@ -716,6 +762,18 @@ public class PageMemoryImpl implements PageMemoryEx {
 
         Segment seg = segment(grpId, pageId);
 
+        if (optimisticLookup) {
+            long absPtr = seg.acquireLoadedPageOptimistic(grpId, pageId, partId);
+
+            if (absPtr != 0) {
+                statHolder.trackLogicalRead(absPtr + PAGE_OVERHEAD);
+
+                memMetrics.onPageHit();
+
+                return absPtr;
+            }
+        }
+
         seg.readLock().lock();
 
         try {
@@ -735,6 +793,8 @@ public class PageMemoryImpl implements PageMemoryEx {
 
                 statHolder.trackLogicalRead(absPtr + PAGE_OVERHEAD);
 
+                memMetrics.onPageHit();
+
                 return absPtr;
             }
         }
@@ -778,9 +838,7 @@ public class PageMemoryImpl implements PageMemoryEx {
                 PageHeader.fullPageId(absPtr, fullId);
                 PageHeader.writeTimestamp(absPtr, U.currentTimeMillis());
 
-                assert !PageHeader.isAcquired(absPtr) :
-                    "Pin counter must be 0 for a new page [relPtr=" + U.hexLong(relPtr) +
-                        ", absPtr=" + U.hexLong(absPtr) + ']';
+                PageHeader.awaitUnpinned(absPtr);
 
                 // We can clear dirty flag after the page has been allocated.
                 setDirty(fullId, absPtr, false, false);
@@ -832,15 +890,16 @@ public class PageMemoryImpl implements PageMemoryEx {
                 PageHeader.writeTimestamp(absPtr, U.currentTimeMillis());
                 PageIO.setPageId(pageAddr, pageId);
 
-                assert !PageHeader.isAcquired(absPtr) :
-                    "Pin counter must be 0 for a new page [relPtr=" + U.hexLong(relPtr) +
-                        ", absPtr=" + U.hexLong(absPtr) + ']';
+                PageHeader.awaitUnpinned(absPtr);
 
                 rwLock.init(absPtr + PAGE_LOCK_OFFSET, PageIdUtils.tag(pageId));
             }
-            else
+            else {
                 absPtr = seg.absolute(relPtr);
 
+                memMetrics.onPageHit();
+            }
+
             seg.acquirePage(absPtr);
 
             if (!readPageFromStore)
@@ -893,6 +952,8 @@ public class PageMemoryImpl implements PageMemoryEx {
                     memMetrics.onPageRead();
                 }
                 finally {
+                    PageHeader.nextStamp(lockedPageAbsPtr);
+
                     rwLock.writeUnlock(lockedPageAbsPtr + PAGE_LOCK_OFFSET,
                         actualPageId == 0 ? OffheapReadWriteLock.TAG_LOCK_ALWAYS : PageIdUtils.tag(actualPageId));
                 }
@@ -1558,6 +1619,33 @@ public class PageMemoryImpl implements PageMemoryEx {
         }
     }
 
+    /**
+     * Applies the closure to IDs of all the pages loaded into the memory. Loading of pages into a segment is
+     * blocked while the closure is applied to the pages of the segment.
+     *
+     * @param c Closure.
+     */
+    public void forEachLoadedPage(Consumer<FullPageId> c) {
+        Segment[] segments = this.segments;
+
+        if (segments == null)
+            return;
+
+        for (Segment seg : segments) {
+            seg.readLock().lock();
+
+            try {
+                seg.loadedPages.forEach((fullId, relPtr) -> {
+                    if (relPtr != OUTDATED_REL_PTR)
+                        c.accept(fullId);
+                });
+            }
+            finally {
+                seg.readLock().unlock();
+            }
+        }
+    }
+
     /**
      * @param absPtr Absolute pointer to read lock.
      * @param pageId Page ID.
@@ -1725,6 +1813,8 @@ public class PageMemoryImpl implements PageMemoryEx {
             try {
                 assert pageId != 0 : U.hexLong(PageHeader.readPageId(page));
 
+                PageHeader.nextStamp(page);
+
                 rwLock.writeUnlock(page + PAGE_LOCK_OFFSET, PageIdUtils.tag(pageId));
 
                 assert PageIO.getVersion(page + PAGE_OVERHEAD) != 0 : dumpPage(pageId, fullId.groupId());
@@ -1968,13 +2058,10 @@ public class PageMemoryImpl implements PageMemoryEx {
     /**
      *
      */
-    private class Segment extends ReentrantReadWriteLock {
+    class Segment extends ReentrantReadWriteLock {
         /** */
         private static final long serialVersionUID = 0L;
 
-        /** */
-        private static final double FULL_SCAN_THRESHOLD = 0.4;
-
         /** Pointer to acquired pages integer counter. */
         private static final int ACQUIRED_PAGES_SIZEOF = 4;
 
@@ -2008,8 +2095,23 @@ public class PageMemoryImpl implements PageMemoryEx {
         /** Initial partition generation. */
         private static final int INIT_PART_GENERATION = 1;
 
-        /** Maps partition (grpId, partId) to its generation. Generation is 1-based incrementing partition counter. */
-        private final Map<GroupPartitionId, Integer> partGenerationMap = new HashMap<>();
+        /**
+         * Maps partition (grpId, partId) to its generation. Generation is 1-based incrementing partition counter.
+         * Modified under the write lock only, concurrent to be readable by optimistic lookups.
+         */
+        private final Map<GroupPartitionId, Integer> partGenerationMap = new ConcurrentHashMap<>();
+
+        /**
+         * Modification counter, odd while the write lock is held. Every change of {@link #loadedPages} happens under
+         * the write lock, so an unchanged even value guarantees that an optimistic lookup saw a consistent table.
+         */
+        private final AtomicLong modCntr = new AtomicLong();
+
+        /** Write lock maintaining {@link #modCntr}. */
+        private final WriteLock writeLock = new SegmentWriteLock();
+
+        /** Page replacement policy. */
+        private final PageReplacementPolicy replacementPlc;
 
         /** */
         private boolean closed;
@@ -2046,6 +2148,83 @@ public class PageMemoryImpl implements PageMemoryEx {
             maxDirtyPages = throttlingPlc != ThrottlingPolicy.DISABLED
                 ? pool.pages() * 3L / 4
                 : Math.min(pool.pages() * 2L / 3, cpPoolPages);
+
+            replacementPlc = PageReplacementPolicyFactory.create(replacementMode, this);
+        }
+
+        /** {@inheritDoc} */
+        @Override public WriteLock writeLock() {
+            return writeLock;
+        }
+
+        /**
+         * Looks up a loaded page and pins it without taking the segment lock.
+         *
+         * @param grpId Cache group ID.
+         * @param pageId Page ID.
+         * @param partId Partition ID.
+         * @return Absolute pointer to the pinned page or {@code 0} if the page is not loaded or the lookup raced with
+         *      a segment modification, the locked lookup should be used then.
+         */
+        private long acquireLoadedPageOptimistic(int grpId, long pageId, int partId) {
+            long stamp = modCntr.get();
+
+            if ((stamp & 1) != 0)
+                return 0;
+
+            Integer gen = partGenerationMap.get(new GroupPartitionId(grpId, partId));
+
+            long relPtr = loadedPages.get(
+                grpId,
+                PageIdUtils.effectivePageId(pageId),
+                gen == null ? INIT_PART_GENERATION : gen,
+                INVALID_REL_PTR,
+                INVALID_REL_PTR
+            );
+
+            // Table reads must complete before the validation.
+            GridUnsafe.loadFence();
+
+            if (relPtr == INVALID_REL_PTR)
+                return 0;
+
+            long absPtr = absolute(relPtr);
+
+            // Validate before pinning: a page that is being replaced must not get even a transient pin.
+            if (!optimisticPinAllowed(absPtr, grpId, pageId, stamp))
+                return 0;
+
+            PageHeader.acquirePage(absPtr);
+
+            // Replacement checks pin counts after incrementing the counter, so either it sees our pin or we see
+            // the changed counter. A pin that raced with the replacement is released right away, the replacement
+            // waits for it before the page is reused or freed (see PageHeader#awaitUnpinned).
+            if (!optimisticPinAllowed(absPtr, grpId, pageId, stamp)) {
+                PageHeader.releasePage(absPtr);
+
+                return 0;
+            }
+
+            updateAtomicInt(acquiredPagesPtr, 1);
+
+            return absPtr;
+        }
+
+        /**
+         * @param absPtr Page pointer.
+         * @param grpId Cache group ID.
+         * @param pageId Page ID.
+         * @param stamp Modification counter value the lookup started with.
+         * @return {@code True} if the segment was not modified since the lookup started and the page still holds
+         *      the requested page ID.
+         */
+        private boolean optimisticPinAllowed(long absPtr, int grpId, long pageId, long stamp) {
+            // Header reads must complete before the counter check.
+            GridUnsafe.loadFence();
+
+            return modCntr.get() == stamp &&
+                PageHeader.readPageGroupId(absPtr) == grpId &&
+                PageIdUtils.effectivePageId(PageHeader.readPageId(absPtr)) == PageIdUtils.effectivePageId(pageId);
         }
 
         /**
@@ -2079,7 +2258,7 @@ public class PageMemoryImpl implements PageMemoryEx {
         /**
          * @return Max number of pages this segment can allocate.
          */
-        private int pages() {
+        int pages() {
             return pool.pages();
         }
 
@@ -2140,7 +2319,7 @@ public class PageMemoryImpl implements PageMemoryEx {
          * @return {@code True} if it is ok to replace this page, {@code false} if another page should be selected.
          * @throws IgniteCheckedException If failed to write page to the underlying store during eviction.
          */
-        private @Nullable PageWithAttrHolder preparePageRemoval(
+        @Nullable PageWithAttrHolder preparePageRemoval(
             Set<PageWithAttrHolder> elected,
             PageStoreWriter saveDirtyPage
         ) throws IgniteCheckedException {
@@ -2229,7 +2408,8 @@ public class PageMemoryImpl implements PageMemoryEx {
         }
 
         /**
-         * Removes random oldest page for page replacement from memory to storage.
+         * Removes a page for page replacement from memory to storage, the page is chosen by the configured
+         * {@link PageReplacementPolicy}.
          *
          * @return Relative address for removed page, now it can be replaced by allocated or reloaded page.
          * @throws IgniteCheckedException If failed to evict page.
@@ -2259,10 +2439,6 @@ public class PageMemoryImpl implements PageMemoryEx {
                 }
             }
 
-            final ThreadLocalRandom rnd = ThreadLocalRandom.current();
-
-            final int cap = loadedPages.capacity();
-
             if (acquiredPages() >= loadedPages.size()) {
                 DataRegionConfiguration dataRegionCfg = getDataRegionConfiguration();
 
@@ -2278,91 +2454,7 @@ public class PageMemoryImpl implements PageMemoryEx {
                 );
             }
 
-            // With big number of random picked pages we may fall into infinite loop, because
-            // every time the same page may be found.
-            Set<Long> ignored = null;
-
-            int iterations = 0;
-
-            Set<PageWithAttrHolder> electedPages = new TreeSet<>();
-
-            boolean found = false;
-
-            while (true) {
-                for (int i = 0; i < RANDOM_PAGES_EVICT_NUM; i++) {
-                    ++iterations;
-
-                    if (iterations > pool.pages() * FULL_SCAN_THRESHOLD)
-                        break;
-
-                    // We need to lookup for pages only in current segment for thread safety,
-                    // so peeking random memory will lead to checking for found page segment.
-                    // It's much faster to check available pages for segment right away.
-                    ReplaceCandidate nearest = loadedPages.getNearestAt(rnd.nextInt(cap));
-
-                    assert nearest != null && nearest.relativePointer() != INVALID_REL_PTR;
-
-                    long rndAddr = nearest.relativePointer();
-
-                    int partGen = nearest.generation();
-
-                    final long absPageAddr = absolute(rndAddr);
-
-                    FullPageId fullId = PageHeader.fullPageId(absPageAddr);
-
-                    // Check page mapping consistency.
-                    assert fullId.equals(nearest.fullId()) : "Invalid page mapping [tableId=" + nearest.fullId() +
-                        ", actual=" + fullId + ", nearest=" + nearest;
-
-                    boolean outdated = partGen < partGeneration(fullId.groupId(), PageIdUtils.partId(fullId.pageId()));
-
-                    if (outdated)
-                        return refreshOutdatedPage(this, fullId.groupId(), fullId.pageId(), true);
-
-                    boolean pinned = PageHeader.isAcquired(absPageAddr);
-
-                    if (pinned || ignored != null && ignored.contains(rndAddr) ||
-                        fullId.pageId() == storeMgr.metaPageId(fullId.groupId()) ||
-                        !electedPages.add(new PageWithAttrHolder(absPageAddr, rndAddr, fullId))) {
-
-                        i--;
-
-                        continue;
-                    }
-
-                    if (!found)
-                        found = rndAddr != INVALID_REL_PTR;
-                }
-
-                if (!found)
-                    return tryToFindSequentially(cap, saveDirtyPage);
-
-                PageWithAttrHolder removed = preparePageRemoval(electedPages, saveDirtyPage);
-
-                if (removed == null) {
-                    if (iterations > 10) {
-                        if (ignored == null)
-                            ignored = new HashSet<>();
-
-                        for (PageWithAttrHolder p : electedPages)
-                            ignored.add(p.relAddr);
-                    }
-
-                    electedPages.clear();
-
-                    if (iterations > pool.pages() * FULL_SCAN_THRESHOLD)
-                        return tryToFindSequentially(cap, saveDirtyPage);
-
-                    continue;
-                }
-
-                loadedPages.remove(
-                    removed.fullId.groupId(),
-                    removed.fullId.effectivePageId()
-                );
-
-                return removed.relAddr;
-            }
+            return replacementPlc.replace(saveDirtyPage);
         }
 
         /**
@@ -2371,7 +2463,7 @@ public class PageMemoryImpl implements PageMemoryEx {
          * @param cap Capacity.
          * @param saveDirtyPage Evicted page writer.
          */
-        private long tryToFindSequentially(int cap, PageStoreWriter saveDirtyPage) throws IgniteCheckedException {
+        long tryToFindSequentially(int cap, PageStoreWriter saveDirtyPage) throws IgniteCheckedException {
             assert getWriteHoldCount() > 0;
 
             long prevAddr = INVALID_REL_PTR;
@@ -2392,7 +2484,7 @@ public class PageMemoryImpl implements PageMemoryEx {
                 FullPageId fullId = PageHeader.fullPageId(absPageAddr);
 
                 if (partGen < partGeneration(fullId.groupId(), PageIdUtils.partId(fullId.pageId())))
-                    return refreshOutdatedPage(this, fullId.groupId(), fullId.pageId(), true);
+                    return refreshOutdatedPage(fullId.groupId(), fullId.pageId(), true);
 
                 boolean pinned = PageHeader.isAcquired(absPageAddr);
 
@@ -2451,16 +2543,48 @@ public class PageMemoryImpl implements PageMemoryEx {
          * @param relPtr Relative pointer.
          * @return Absolute pointer.
          */
-        private long absolute(long relPtr) {
+        long absolute(long relPtr) {
             return pool.absolute(relPtr);
         }
 
+        /**
+         * @return Page ID to relative pointer map.
+         */
+        LoadedPagesMap loadedPages() {
+            return loadedPages;
+        }
+
+        /**
+         * @return Page pool of the segment.
+         */
+        PagePool pool() {
+            return pool;
+        }
+
+        /**
+         * @param fullId Full page ID.
+         * @return {@code True} if the page is a cache group meta page, such pages are never replaced.
+         */
+        boolean isMetaPage(FullPageId fullId) {
+            return fullId.pageId() == storeMgr.metaPageId(fullId.groupId());
+        }
+
+        /**
+         * @param grpId Cache group ID.
+         * @param pageId Page ID.
+         * @param rmv {@code True} if page should be removed.
+         * @return Relative pointer to refreshed page.
+         */
+        long refreshOutdatedPage(int grpId, long pageId, boolean rmv) {
+            return PageMemoryImpl.this.refreshOutdatedPage(this, grpId, pageId, rmv);
+        }
+
         /**
          * @param grpId Cache group ID.
          * @param partId Partition ID.
          * @return Partition generation. Growing, 1-based partition version. Changed
          */
-        private int partGeneration(int grpId, int partId) {
+        int partGeneration(int grpId, int partId) {
             assert getReadHoldCount() > 0 || getWriteHoldCount() > 0;
 
             Integer tag = partGenerationMap.get(new GroupPartitionId(grpId, partId));
@@ -2510,6 +2634,71 @@ public class PageMemoryImpl implements PageMemoryEx {
 
             partGenerationMap.keySet().removeIf(grpPart -> grpPart.getGroupId() == grpId);
         }
+
+        /**
+         * Write lock incrementing {@link #modCntr} on the first acquisition and on the last release.
+         */
+        private class SegmentWriteLock extends WriteLock {
+            /** */
+            private static final long serialVersionUID = 0L;
+
+            /** */
+            private SegmentWriteLock() {
+                super(Segment.this);
+            }
+
+            /** {@inheritDoc} */
+            @SuppressWarnings("LockAcquiredButNotSafelyReleased")
+            @Override public void lock() {
+                super.lock();
+
+                onLocked();
+            }
+
+            /** {@inheritDoc} */
+            @SuppressWarnings("LockAcquiredButNotSafelyReleased")
+            @Override public void lockInterruptibly() throws InterruptedException {
+                super.lockInterruptibly();
+
+                onLocked();
+            }
+
+            /** {@inheritDoc} */
+            @Override public boolean tryLock() {
+                if (!super.tryLock())
+                    return false;
+
+                onLocked();
+
+                return true;
+            }
+
+            /** {@inheritDoc} */
+            @Override public boolean tryLock(long timeout, TimeUnit unit) throws InterruptedException {
+                if (!super.tryLock(timeout, unit))
+                    return false;
+
+                onLocked();
+
+                return true;
+            }
+
+            /** {@inheritDoc} */
+            @Override public void unlock() {
+                if (getHoldCount() == 1)
+                    modCntr.incrementAndGet();
+
+                super.unlock();
+            }
+
+            /**
+             * Marks the segment as being modified.
+             */
+            private void onLocked() {
+                if (getHoldCount() == 1)
+                    modCntr.incrementAndGet();
+            }
+        }
     }
 
     /**
@@ -2652,10 +2841,10 @@ public class PageMemoryImpl implements PageMemoryEx {
         protected final long absAddr;
 
         /** Relative pointer. */
-        private final long relAddr;
+        final long relAddr;
 
         /** Earlier precalculated page id.*/
-        private final FullPageId fullId;
+        final FullPageId fullId;
 
         /** Page is dirty flag. */
         protected final boolean dirty;
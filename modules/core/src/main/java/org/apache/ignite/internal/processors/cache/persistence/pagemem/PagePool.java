@@ -183,7 +183,7 @@ public class PagePool {
     public int releaseFreePage(long relPtr) {
         long absPtr = absolute(relPtr);
 
-        assert !PageHeader.isAcquired(absPtr) : "Release pinned page: " + PageHeader.fullPageId(absPtr);
+        PageHeader.awaitUnpinned(absPtr);
 
         int resCntr = 0;
 
@@ -237,6 +237,13 @@ public class PagePool {
         return (int)((region.size() - (pagesBase - region.address())) / sysPageSize);
     }
 
+    /**
+     * @return Number of page slots allocated in the pool so far, both loaded and free ones.
+     */
+    public int allocatedPages() {
+        return (int)GridUnsafe.getLongVolatile(null, lastAllocatedIdxPtr);
+    }
+
     /**
      * @return Number of pages in the list.
      */
@@ -0,0 +1,44 @@
+/*
+ * Copyright 2019 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.ignite.internal.processors.cache.persistence.pagemem;
+
+import org.apache.ignite.IgniteCheckedException;
+import org.apache.ignite.internal.processors.cache.persistence.PageStoreWriter;
+
+/**
+ * Abstract page replacement policy. A policy instance is bound to a single page memory segment and is called
+ * under the segment write lock only.
+ */
+public abstract class PageReplacementPolicy {
+    /** Page memory segment. */
+    protected final PageMemoryImpl.Segment seg;
+
+    /**
+     * @param seg Page memory segment.
+     */
+    protected PageReplacementPolicy(PageMemoryImpl.Segment seg) {
+        this.seg = seg;
+    }
+
+    /**
+     * Finds a page to replace, writes it to the store if it is dirty and removes it from the loaded pages table.
+     *
+     * @param saveDirtyPage Replaced page writer, implementation to save dirty page to persistent storage.
+     * @return Relative pointer of the removed page, its slot can be reused for another page.
+     * @throws IgniteCheckedException If failed to evict page.
+     */
+    public abstract long replace(PageStoreWriter saveDirtyPage) throws IgniteCheckedException;
+}
@@ -0,0 +1,41 @@
+/*
+ * Copyright 2019 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.ignite.internal.processors.cache.persistence.pagemem;
+
+import org.apache.ignite.configuration.PageReplacementMode;
+
+/**
+ * Creates page replacement policies for page memory segments.
+ */
+public class PageReplacementPolicyFactory {
+    /**
+     * @param mode Page replacement mode.
+     * @param seg Page memory segment.
+     * @return Page replacement policy for the segment.
+     */
+    public static PageReplacementPolicy create(PageReplacementMode mode, PageMemoryImpl.Segment seg) {
+        switch (mode) {
+            case RANDOM_LRU:
+                return new RandomLruPageReplacementPolicy(seg);
+
+            case CLOCK:
+                return new ClockPageReplacementPolicy(seg);
+
+            default:
+                throw new IllegalArgumentException("Unknown page replacement mode: " + mode);
+        }
+    }
+}
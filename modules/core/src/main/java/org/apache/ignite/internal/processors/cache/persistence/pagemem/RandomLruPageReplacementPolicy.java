@@ -0,0 +1,138 @@
+/*
+ * Copyright 2019 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.ignite.internal.processors.cache.persistence.pagemem;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ThreadLocalRandom;
+import org.apache.ignite.IgniteCheckedException;
+import org.apache.ignite.internal.pagemem.FullPageId;
+import org.apache.ignite.internal.pagemem.PageIdUtils;
+import org.apache.ignite.internal.processors.cache.persistence.PageStoreWriter;
+
+import static org.apache.ignite.internal.processors.cache.persistence.pagemem.PageMemoryImpl.INVALID_REL_PTR;
+import static org.apache.ignite.internal.processors.cache.persistence.pagemem.PageMemoryImpl.RANDOM_PAGES_EVICT_NUM;
+
+/**
+ * Random-LRU page replacement policy: picks the oldest of {@link PageMemoryImpl#RANDOM_PAGES_EVICT_NUM} random
+ * loaded pages.
+ */
+public class RandomLruPageReplacementPolicy extends PageReplacementPolicy {
+    /** */
+    private static final double FULL_SCAN_THRESHOLD = 0.4;
+
+    /**
+     * @param seg Page memory segment.
+     */
+    protected RandomLruPageReplacementPolicy(PageMemoryImpl.Segment seg) {
+        super(seg);
+    }
+
+    /** {@inheritDoc} */
+    @Override public long replace(PageStoreWriter saveDirtyPage) throws IgniteCheckedException {
+        LoadedPagesMap loadedPages = seg.loadedPages();
+
+        final ThreadLocalRandom rnd = ThreadLocalRandom.current();
+
+        final int cap = loadedPages.capacity();
+
+        // With big number of random picked pages we may fall into infinite loop, because
+        // every time the same page may be found.
+        Set<Long> ignored = null;
+
+        int iterations = 0;
+
+        Set<PageMemoryImpl.PageWithAttrHolder> electedPages = new TreeSet<>();
+
+        boolean found = false;
+
+        while (true) {
+            for (int i = 0; i < RANDOM_PAGES_EVICT_NUM; i++) {
+                ++iterations;
+
+                if (iterations > seg.pages() * FULL_SCAN_THRESHOLD)
+                    break;
+
+                // We need to lookup for pages only in current segment for thread safety,
+                // so peeking random memory will lead to checking for found page segment.
+                // It's much faster to check available pages for segment right away.
+                ReplaceCandidate nearest = loadedPages.getNearestAt(rnd.nextInt(cap));
+
+                assert nearest != null && nearest.relativePointer() != INVALID_REL_PTR;
+
+                long rndAddr = nearest.relativePointer();
+
+                int partGen = nearest.generation();
+
+                final long absPageAddr = seg.absolute(rndAddr);
+
+                FullPageId fullId = PageHeader.fullPageId(absPageAddr);
+
+                // Check page mapping consistency.
+                assert fullId.equals(nearest.fullId()) : "Invalid page mapping [tableId=" + nearest.fullId() +
+                    ", actual=" + fullId + ", nearest=" + nearest;
+
+                boolean outdated = partGen < seg.partGeneration(fullId.groupId(), PageIdUtils.partId(fullId.pageId()));
+
+                if (outdated)
+                    return seg.refreshOutdatedPage(fullId.groupId(), fullId.pageId(), true);
+
+                boolean pinned = PageHeader.isAcquired(absPageAddr);
+
+                if (pinned || ignored != null && ignored.contains(rndAddr) || seg.isMetaPage(fullId) ||
+                    !electedPages.add(new PageMemoryImpl.PageWithAttrHolder(absPageAddr, rndAddr, fullId))) {
+
+                    i--;
+
+                    continue;
+                }
+
+                if (!found)
+                    found = rndAddr != INVALID_REL_PTR;
+            }
+
+            if (!found)
+                return seg.tryToFindSequentially(cap, saveDirtyPage);
+
+            PageMemoryImpl.PageWithAttrHolder removed = seg.preparePageRemoval(electedPages, saveDirtyPage);
+
+            if (removed == null) {
+                if (iterations > 10) {
+                    if (ignored == null)
+                        ignored = new HashSet<>();
+
+                    for (PageMemoryImpl.PageWithAttrHolder p : electedPages)
+                        ignored.add(p.relAddr);
+                }
+
+                electedPages.clear();
+
+                if (iterations > seg.pages() * FULL_SCAN_THRESHOLD)
+                    return seg.tryToFindSequentially(cap, saveDirtyPage);
+
+                continue;
+            }
+
+            loadedPages.remove(
+                removed.fullId.groupId(),
+                removed.fullId.effectivePageId()
+            );
+
+            return removed.relAddr;
+        }
+    }
+}
@@ -0,0 +1,832 @@
+/*
+ * Copyright 2019 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.cache.persistence.snapshot;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Serializable;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import org.apache.ignite.IgniteCheckedException;
+import org.apache.ignite.binary.BinaryType;
+import org.apache.ignite.cluster.ClusterNode;
+import org.apache.ignite.configuration.CacheConfiguration;
+import org.apache.ignite.configuration.DataStorageConfiguration;
+import org.apache.ignite.events.DiscoveryEvent;
+import org.apache.ignite.internal.GridKernalContext;
+import org.apache.ignite.internal.IgniteEx;
+import org.apache.ignite.internal.IgniteInternalFuture;
+import org.apache.ignite.internal.NodeStoppingException;
+import org.apache.ignite.internal.binary.BinaryContext;
+import org.apache.ignite.internal.binary.BinaryMetadata;
+import org.apache.ignite.internal.binary.BinaryTypeImpl;
+import org.apache.ignite.internal.events.DiscoveryCustomEvent;
+import org.apache.ignite.internal.managers.discovery.DiscoveryCustomMessage;
+import org.apache.ignite.internal.pagemem.FullPageId;
+import org.apache.ignite.internal.pagemem.wal.record.CheckpointRecord;
+import org.apache.ignite.internal.processors.affinity.AffinityTopologyVersion;
+import org.apache.ignite.internal.processors.cache.CacheGroupContext;
+import org.apache.ignite.internal.processors.cache.DynamicCacheDescriptor;
+import org.apache.ignite.internal.processors.cache.StoredCacheData;
+import org.apache.ignite.internal.processors.cache.binary.CacheObjectBinaryProcessorImpl;
+import org.apache.ignite.internal.processors.cache.persistence.DbCheckpointListener;
+import org.apache.ignite.internal.processors.cache.persistence.GridCacheDatabaseSharedManager;
+import org.apache.ignite.internal.processors.cache.persistence.checkpoint.CheckpointProgress;
+import org.apache.ignite.internal.processors.cache.persistence.file.FilePageStoreManager;
+import org.apache.ignite.internal.processors.cache.persistence.partstate.PartitionAllocationMap;
+import org.apache.ignite.internal.processors.cluster.BaselineTopology;
+import org.apache.ignite.internal.processors.task.GridInternal;
+import org.apache.ignite.internal.util.future.GridFinishedFuture;
+import org.apache.ignite.internal.util.future.GridFutureAdapter;
+import org.apache.ignite.internal.util.typedef.F;
+import org.apache.ignite.internal.util.typedef.internal.CU;
+import org.apache.ignite.internal.util.typedef.internal.U;
+import org.apache.ignite.lang.IgniteClosure;
+import org.apache.ignite.lang.IgniteFuture;
+import org.apache.ignite.marshaller.MarshallerUtils;
+import org.apache.ignite.resources.IgniteInstanceResource;
+import org.jetbrains.annotations.Nullable;
+
+import static org.apache.ignite.internal.managers.communication.GridIoPolicy.MANAGEMENT_POOL;
+import static org.apache.ignite.internal.processors.cache.persistence.CheckpointState.FINISHED;
+import static org.apache.ignite.internal.processors.cache.persistence.file.FilePageStoreManager.CACHE_DATA_FILENAME;
+
+/**
+ * Snapshot manager which stores snapshots of persistent caches as copies of their partition files.
+ * <p>
+ * A snapshot is started by {@link SnapshotCreateMessage}. The exchange triggered by the message blocks updates on
+ * all server nodes, and every node marks a checkpoint before the exchange completes, so the checkpoints of all nodes
+ * describe the same consistent state of the caches. Each node then copies the files of its owning partitions as
+ * they were at its checkpoint (see {@link LocalSnapshotTask}) to
+ * {@code <snapshot path>/<snapshot name>/<node folder>}, together with a {@link SnapshotManifest} with the cache
+ * configurations and binary metadata needed to restore the caches.
+ * <p>
+ * A snapshot is restored to the cluster with the same baseline topology it was created on. The restored caches must
+ * not exist: the files are copied to their directories on every node and the caches are started from them.
+ */
+public class FileSnapshotManager extends IgniteCacheSnapshotManager<FileSnapshotOperation> {
+    /** Name of the manifest file of the local part of a snapshot. */
+    public static final String MANIFEST_FILENAME = "snapshot.dat";
+
+    /** Directory of the partition copies in the snapshot directory. */
+    private static final String PARTITION_COPIES_DIR = ".partition-copies";
+
+    /** Root directory of the snapshots, {@code null} if the node has no persistent data. */
+    private File snpRoot;
+
+    /** Maximum number of bytes per second to copy, {@code 0} if not limited. */
+    private long rate;
+
+    /** Futures of the local parts of snapshots by snapshot names. */
+    private final ConcurrentMap<String, GridFutureAdapter<Void>> locFuts = new ConcurrentHashMap<>();
+
+    /** Local part of the snapshot in progress. */
+    private volatile LocalSnapshotTask task;
+
+    /** Copies of partition files in progress. */
+    private final Collection<LocalSnapshotTask> copyTasks = new ConcurrentLinkedQueue<>();
+
+    /** {@inheritDoc} */
+    @Override protected void start0() throws IgniteCheckedException {
+        if (cctx.kernalContext().clientNode() || !CU.isPersistenceEnabled(cctx.gridConfig()))
+            return;
+
+        DataStorageConfiguration dsCfg = cctx.gridConfig().getDataStorageConfiguration();
+
+        snpRoot = U.resolveWorkDirectory(cctx.gridConfig().getWorkDirectory(), dsCfg.getSnapshotPath(), false);
+
+        rate = dsCfg.getSnapshotCopyRate();
+
+        // Copies left by the previous run are never requested again.
+        U.delete(new File(snpRoot, PARTITION_COPIES_DIR));
+    }
+
+    /** {@inheritDoc} */
+    @Override protected void onKernalStop0(boolean cancel) {
+        LocalSnapshotTask task0 = task;
+
+        if (task0 != null)
+            task0.onDone(new NodeStoppingException("Node is stopping."));
+
+        for (LocalSnapshotTask copyTask : copyTasks)
+            copyTask.onDone(new NodeStoppingException("Node is stopping."));
+    }
+
+    /**
+     * Copies partition files of a cache group as they are at the next checkpoint. The files are copied in the same
+     * way as the local part of a snapshot, so neither updates nor checkpoints wait for the copy.
+     *
+     * @param grpId Cache group ID.
+     * @param partIds Partitions to copy. Partitions which are not owned by the local node or have no file are skipped.
+     * @param name Unique name of the copy, see {@link #deletePartitionCopies(String)}.
+     * @return Future with the copied files by partition IDs.
+     */
+    public IgniteInternalFuture<Map<Integer, File>> copyPartitions(int grpId, Set<Integer> partIds, String name) {
+        GridFutureAdapter<Map<Integer, File>> res = new GridFutureAdapter<>();
+
+        if (snpRoot == null) {
+            res.onDone(new IgniteCheckedException("Persistence is not enabled on the local node."));
+
+            return res;
+        }
+
+        File dir = partitionCopiesDirectory(name);
+
+        FileSnapshotOperation op = new FileSnapshotOperation(name, Collections.singleton(grpId),
+            Collections.emptySet());
+
+        LocalSnapshotTask task0 = new LocalSnapshotTask(cctx, op, partIds, null, dir, 0);
+
+        GridCacheDatabaseSharedManager db = (GridCacheDatabaseSharedManager)cctx.database();
+
+        DbCheckpointListener lsnr = new DbCheckpointListener() {
+            /** {@inheritDoc} */
+            @Override public void onMarkCheckpointBegin(Context ctx) {
+                if (!task0.future().isDone())
+                    task0.onMarkCheckpointBegin();
+
+                db.removeCheckpointListener(this);
+            }
+
+            /** {@inheritDoc} */
+            @Override public void onCheckpointBegin(Context ctx) {
+                // No-op.
+            }
+
+            /** {@inheritDoc} */
+            @Override public void beforeCheckpointBegin(Context ctx) {
+                // No-op.
+            }
+        };
+
+        task0.future().listen(f -> {
+            copyTasks.remove(task0);
+
+            db.removeCheckpointListener(lsnr);
+
+            if (f.error() != null) {
+                U.delete(dir);
+
+                res.onDone(f.error());
+            }
+            else
+                res.onDone(task0.partitionFiles(grpId));
+        });
+
+        copyTasks.add(task0);
+
+        db.addCheckpointListener(lsnr);
+
+        db.forceCheckpoint("copy partitions " + name);
+
+        return res;
+    }
+
+    /**
+     * Deletes the files copied by {@link #copyPartitions(int, Set, String)}.
+     *
+     * @param name Name of the copy.
+     */
+    public void deletePartitionCopies(String name) {
+        if (snpRoot != null)
+            U.delete(partitionCopiesDirectory(name));
+    }
+
+    /**
+     * @param name Name of the copy.
+     * @return Directory of the copied partition files.
+     */
+    private File partitionCopiesDirectory(String name) {
+        return new File(new File(snpRoot, PARTITION_COPIES_DIR), name);
+    }
+
+    /**
+     * Creates a snapshot of persistent caches on all server nodes.
+     *
+     * @param name Snapshot name.
+     * @param cacheNames Names of the caches to include, {@code null} to include all persistent caches. A snapshot
+     *      always contains all caches of the groups of the given caches.
+     * @return Future completed when all server nodes have created their parts of the snapshot.
+     */
+    public IgniteInternalFuture<Void> createSnapshot(String name, @Nullable Collection<String> cacheNames) {
+        try {
+            if (F.isEmpty(name))
+                throw new IgniteCheckedException("Snapshot name must not be empty.");
+
+            if (!cctx.kernalContext().state().clusterState().active())
+                throw new IgniteCheckedException("Snapshot can not be created on inactive cluster: " + name);
+
+            Map<String, DynamicCacheDescriptor> descs = cctx.cache().cacheDescriptors();
+
+            Set<Integer> grpIds = new HashSet<>();
+
+            if (cacheNames == null) {
+                for (DynamicCacheDescriptor desc : descs.values()) {
+                    if (desc.cacheType().userCache() && desc.groupDescriptor().persistenceEnabled()) {
+                        checkEncryption(desc);
+
+                        grpIds.add(desc.groupId());
+                    }
+                }
+            }
+            else {
+                for (String cacheName : cacheNames) {
+                    DynamicCacheDescriptor desc = descs.get(cacheName);
+
+                    if (desc == null)
+                        throw new IgniteCheckedException("Cache does not exist: " + cacheName);
+
+                    if (!desc.groupDescriptor().persistenceEnabled())
+                        throw new IgniteCheckedException("Snapshot can not include in-memory cache: " + cacheName);
+
+                    checkEncryption(desc);
+
+                    grpIds.add(desc.groupId());
+                }
+            }
+
+            if (grpIds.isEmpty())
+                throw new IgniteCheckedException("There are no persistent caches to include to snapshot: " + name);
+
+            Set<String> allNames = new HashSet<>();
+
+            for (DynamicCacheDescriptor desc : descs.values()) {
+                if (grpIds.contains(desc.groupId()))
+                    allNames.add(desc.cacheName());
+            }
+
+            FileSnapshotOperation op = new FileSnapshotOperation(name, grpIds, allNames);
+
+            Collection<ClusterNode> srvs = cctx.discovery().aliveServerNodes();
+
+            cctx.discovery().sendCustomEvent(new SnapshotCreateMessage(cctx.localNodeId(), op));
+
+            GridFutureAdapter<Void> res = new GridFutureAdapter<>();
+
+            cctx.kernalContext().closure().broadcast(new SnapshotAwaitJob(), name, srvs, null).listen(f -> {
+                try {
+                    f.get();
+
+                    res.onDone();
+                }
+                catch (IgniteCheckedException e) {
+                    res.onDone(e);
+                }
+            });
+
+            return res;
+        }
+        catch (IgniteCheckedException e) {
+            return new GridFinishedFuture<>(e);
+        }
+    }
+
+    /**
+     * Restores caches from a snapshot. The caches must not exist and the baseline topology must be the same as when
+     * the snapshot was created.
+     *
+     * @param name Snapshot name.
+     * @param cacheNames Names of the caches to restore, {@code null} to restore all caches of the snapshot. All caches
+     *      of the groups of the given caches are restored.
+     * @return Future completed when the caches are started.
+     */
+    public IgniteInternalFuture<Void> restoreSnapshot(String name, @Nullable Collection<String> cacheNames) {
+        return cctx.kernalContext().closure().callLocalSafe(() -> {
+            restore(name, cacheNames == null ? null : new HashSet<>(cacheNames));
+
+            return null;
+        }, MANAGEMENT_POOL);
+    }
+
+    /**
+     * @param name Snapshot name.
+     * @param cacheNames Names of the caches to restore, {@code null} to restore all caches of the snapshot.
+     * @throws IgniteCheckedException If failed.
+     */
+    private void restore(String name, @Nullable Set<String> cacheNames) throws IgniteCheckedException {
+        GridKernalContext ctx = cctx.kernalContext();
+
+        if (!ctx.state().clusterState().active())
+            throw new IgniteCheckedException("Snapshot can not be restored on inactive cluster: " + name);
+
+        Collection<ClusterNode> srvs = cctx.discovery().aliveServerNodes();
+
+        Collection<SnapshotManifest> manifests;
+
+        try {
+            manifests = ctx.closure().broadcast(new SnapshotRestoreJob(),
+                new SnapshotRestoreArg(name, cacheNames, false), srvs, null).get();
+        }
+        catch (IgniteCheckedException e) {
+            try {
+                ctx.closure().broadcast(new SnapshotRestoreJob(),
+                    new SnapshotRestoreArg(name, cacheNames, true), srvs, null).get();
+            }
+            catch (IgniteCheckedException e0) {
+                e.addSuppressed(e0);
+            }
+
+            throw e;
+        }
+
+        Map<String, StoredCacheData> cacheData = new HashMap<>();
+        Map<Integer, BinaryMetadata> binaryMeta = new HashMap<>();
+
+        for (SnapshotManifest manifest : manifests) {
+            if (manifest == null)
+                continue;
+
+            for (StoredCacheData data : manifest.cacheData())
+                cacheData.putIfAbsent(data.config().getName(), data);
+
+            for (BinaryMetadata meta : manifest.binaryMetadata())
+                binaryMeta.putIfAbsent(meta.typeId(), meta);
+        }
+
+        if (cacheData.isEmpty())
+            throw new IgniteCheckedException("Snapshot is not found on server nodes: " + name);
+
+        BinaryContext binCtx = ((CacheObjectBinaryProcessorImpl)ctx.cacheObjects()).binaryContext();
+
+        for (BinaryMetadata meta : binaryMeta.values())
+            ctx.cacheObjects().addMeta(meta.typeId(), meta.wrap(binCtx), false);
+
+        ctx.cache().dynamicStartCachesByStoredConf(cacheData.values(), true, true, false, null).get();
+
+        if (log.isInfoEnabled())
+            log.info("Snapshot restored [snapshot=" + name + ", caches=" + cacheData.keySet() + ']');
+    }
+
+    /**
+     * @param name Snapshot name.
+     * @return Future of the local part of the snapshot.
+     */
+    GridFutureAdapter<Void> localSnapshotFuture(String name) {
+        return locFuts.computeIfAbsent(name, n -> new GridFutureAdapter<>());
+    }
+
+    /** {@inheritDoc} */
+    @Nullable @Override public IgniteInternalFuture tryStartLocalSnapshotOperation(
+        @Nullable DiscoveryEvent discoveryEvt,
+        AffinityTopologyVersion topVer
+    ) throws IgniteCheckedException {
+        if (!(discoveryEvt instanceof DiscoveryCustomEvent))
+            return null;
+
+        DiscoveryCustomMessage msg = ((DiscoveryCustomEvent)discoveryEvt).customMessage();
+
+        if (!(msg instanceof SnapshotCreateMessage))
+            return null;
+
+        SnapshotCreateMessage snpMsg = (SnapshotCreateMessage)msg;
+
+        return startLocalSnapshotOperation(snpMsg.initiatorNodeId(), snpMsg.operation(), topVer);
+    }
+
+    /** {@inheritDoc} */
+    @Nullable @Override public IgniteInternalFuture startLocalSnapshotOperation(
+        UUID initiatorNodeId,
+        FileSnapshotOperation op,
+        AffinityTopologyVersion topVer
+    ) throws IgniteCheckedException {
+        GridFutureAdapter<Void> res = localSnapshotFuture(op.name());
+
+        if (snpRoot == null) {
+            res.onDone();
+
+            return null;
+        }
+
+        try {
+            if (task != null)
+                throw new IgniteCheckedException("Another snapshot is being created: " + task.operation().name());
+
+            File dir = new File(new File(snpRoot, op.name()), folderName());
+
+            if (dir.exists())
+                throw new IgniteCheckedException("Snapshot already exists: " + dir);
+
+            LocalSnapshotTask task0 = new LocalSnapshotTask(cctx, op, null, manifest(op), dir, rate);
+
+            task = task0;
+
+            task0.future().listen(f -> {
+                task = null;
+
+                Throwable err = f.error();
+
+                if (err != null) {
+                    U.error(log, "Failed to create local snapshot: " + op.name(), err);
+
+                    U.delete(dir);
+                }
+
+                res.onDone(err);
+            });
+
+            if (log.isInfoEnabled())
+                log.info("Starting local snapshot [snapshot=" + op.name() + ", topVer=" + topVer + ", dir=" + dir + ']');
+
+            return ((GridCacheDatabaseSharedManager)cctx.database()).getCheckpointer().wakeupForSnapshotCreation(op);
+        }
+        catch (IgniteCheckedException e) {
+            res.onDone(e);
+
+            throw e;
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override public IgniteFuture<?> onMarkCheckPointBegin(
+        FileSnapshotOperation snapshotOperation,
+        CheckpointRecord cpRec,
+        PartitionAllocationMap map
+    ) {
+        LocalSnapshotTask task0 = task;
+
+        if (task0 != null && task0.operation() == snapshotOperation)
+            task0.onMarkCheckpointBegin();
+
+        return null;
+    }
+
+    /** {@inheritDoc} */
+    @Override public void afterCheckpointPageWritten() {
+        LocalSnapshotTask task0 = task;
+
+        if (task0 != null && task0.marked())
+            task0.onCheckpointFinished();
+
+        for (LocalSnapshotTask copyTask : copyTasks) {
+            if (copyTask.marked())
+                copyTask.onCheckpointFinished();
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override public void beforePageWrite(FullPageId fullId) {
+        LocalSnapshotTask task0 = task;
+
+        if (task0 != null)
+            task0.beforePageWrite(fullId);
+
+        for (LocalSnapshotTask copyTask : copyTasks)
+            copyTask.beforePageWrite(fullId);
+    }
+
+    /** {@inheritDoc} */
+    @Override public boolean partitionsAreFrozen(CacheGroupContext grp) {
+        LocalSnapshotTask task0 = task;
+
+        return task0 != null && task0.includes(grp.groupId());
+    }
+
+    /** {@inheritDoc} */
+    @Override public void onCacheGroupStop(CacheGroupContext gctx, boolean destroy) {
+        LocalSnapshotTask task0 = task;
+
+        if (task0 != null && task0.includes(gctx.groupId())) {
+            task0.onDone(new IgniteCheckedException("Cache group was stopped during snapshot creation [snapshot=" +
+                task0.operation().name() + ", grp=" + gctx.cacheOrGroupName() + ']'));
+        }
+
+        for (LocalSnapshotTask copyTask : copyTasks) {
+            if (copyTask.includes(gctx.groupId())) {
+                copyTask.onDone(new IgniteCheckedException("Cache group was stopped during partitions copy [grp=" +
+                    gctx.cacheOrGroupName() + ']'));
+            }
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override public void onDeActivate(GridKernalContext kctx) {
+        LocalSnapshotTask task0 = task;
+
+        if (task0 != null)
+            task0.onDone(new IgniteCheckedException("Cluster was deactivated during snapshot creation: " +
+                task0.operation().name()));
+
+        for (LocalSnapshotTask copyTask : copyTasks)
+            copyTask.onDone(new IgniteCheckedException("Cluster was deactivated during partitions copy."));
+    }
+
+    /**
+     * Copies the local part of a snapshot to the cache directories.
+     *
+     * @param arg Restore argument.
+     * @return Manifest with the restored caches, {@code null} if the node has no persistent data.
+     * @throws IgniteCheckedException If failed.
+     */
+    @Nullable private SnapshotManifest restoreLocal(SnapshotRestoreArg arg) throws IgniteCheckedException {
+        if (snpRoot == null)
+            return null;
+
+        File dir = new File(new File(snpRoot, arg.name), folderName());
+
+        File manifestFile = new File(dir, MANIFEST_FILENAME);
+
+        if (!manifestFile.exists()) {
+            if (arg.rollback)
+                return null;
+
+            throw new IgniteCheckedException("Snapshot is not found [snapshot=" + arg.name + ", dir=" + dir + ']');
+        }
+
+        SnapshotManifest manifest = readManifest(manifestFile);
+
+        Collection<StoredCacheData> cacheData = restoredCaches(manifest, arg.cacheNames);
+
+        FilePageStoreManager storeMgr = (FilePageStoreManager)cctx.pageStore();
+
+        Set<File> dirs = new HashSet<>();
+
+        for (StoredCacheData data : cacheData)
+            dirs.add(storeMgr.cacheWorkDir(data.config()));
+
+        if (arg.rollback) {
+            // Directories copied from a snapshot don't have cache configuration files until the caches are started.
+            for (File cacheDir : dirs) {
+                if (!hasCacheData(cacheDir))
+                    U.delete(cacheDir);
+            }
+
+            return null;
+        }
+
+        if (manifest.pageSize() != cctx.database().pageSize()) {
+            throw new IgniteCheckedException("Snapshot page size differs from the configured one [snapshot=" +
+                arg.name + ", snapshotPageSize=" + manifest.pageSize() + ", pageSize=" + cctx.database().pageSize() + ']');
+        }
+
+        if (!manifest.baseline().equals(baseline())) {
+            throw new IgniteCheckedException("Snapshot can be restored only on the baseline topology it was created " +
+                "on [snapshot=" + arg.name + ", snapshotBaseline=" + manifest.baseline() + ", baseline=" + baseline() + ']');
+        }
+
+        if (cacheData.isEmpty())
+            throw new IgniteCheckedException("Snapshot does not contain the caches to restore: " + arg.name);
+
+        for (StoredCacheData data : cacheData) {
+            CacheConfiguration<?, ?> ccfg = data.config();
+
+            if (cctx.cache().cacheGroupDescriptors().containsKey(CU.cacheGroupId(ccfg.getName(), ccfg.getGroupName())))
+                throw new IgniteCheckedException("Cache group to restore already exists: " +
+                    (ccfg.getGroupName() != null ? ccfg.getGroupName() : ccfg.getName()));
+        }
+
+        for (File cacheDir : dirs) {
+            if (!F.isEmpty(cacheDir.list()))
+                throw new IgniteCheckedException("Directory of cache to restore is not empty: " + cacheDir);
+        }
+
+        // WAL records of the previous incarnations of the groups must never be applied to the restored files.
+        CheckpointProgress cp = cctx.database().forceCheckpoint("snapshot restore");
+
+        if (cp != null)
+            cp.futureFor(FINISHED).get();
+
+        try {
+            for (File cacheDir : dirs) {
+                File src = new File(dir, cacheDir.getName());
+
+                if (src.exists())
+                    U.copy(src, cacheDir, false);
+            }
+        }
+        catch (IOException e) {
+            throw new IgniteCheckedException("Failed to copy snapshot files: " + arg.name, e);
+        }
+
+        return new SnapshotManifest(manifest.name(), manifest.consistentId(), manifest.pageSize(),
+            manifest.groupIds(), manifest.baseline(), cacheData, manifest.binaryMetadata());
+    }
+
+    /**
+     * @param manifest Manifest.
+     * @param cacheNames Names of the caches to restore, {@code null} to restore all caches of the snapshot.
+     * @return Configurations of all caches of the groups of the given caches.
+     */
+    private static Collection<StoredCacheData> restoredCaches(SnapshotManifest manifest, @Nullable Set<String> cacheNames) {
+        Set<Integer> grpIds = new HashSet<>();
+
+        for (StoredCacheData data : manifest.cacheData()) {
+            CacheConfiguration<?, ?> ccfg = data.config();
+
+            if (cacheNames == null || cacheNames.contains(ccfg.getName()))
+                grpIds.add(CU.cacheGroupId(ccfg.getName(), ccfg.getGroupName()));
+        }
+
+        Collection<StoredCacheData> res = new ArrayList<>();
+
+        for (StoredCacheData data : manifest.cacheData()) {
+            CacheConfiguration<?, ?> ccfg = data.config();
+
+            if (grpIds.contains(CU.cacheGroupId(ccfg.getName(), ccfg.getGroupName())))
+                res.add(data);
+        }
+
+        return res;
+    }
+
+    /**
+     * @param cacheDir Cache directory.
+     * @return {@code True} if the directory contains a cache configuration file.
+     */
+    private static boolean hasCacheData(File cacheDir) {
+        String[] names = cacheDir.list();
+
+        if (names == null)
+            return false;
+
+        for (String name : names) {
+            if (name.endsWith(CACHE_DATA_FILENAME))
+                return true;
+        }
+
+        return false;
+    }
+
+    /**
+     * @param op Snapshot operation.
+     * @return Manifest of the local part of the snapshot.
+     */
+    private SnapshotManifest manifest(FileSnapshotOperation op) {
+        Collection<StoredCacheData> cacheData = new ArrayList<>();
+
+        for (DynamicCacheDescriptor desc : cctx.cache().cacheDescriptors().values()) {
+            if (op.cacheGroupIds().contains(desc.groupId()))
+                cacheData.add(desc.toStoredData(cctx.cache().splitter()));
+        }
+
+        Collection<BinaryMetadata> binaryMeta = new ArrayList<>();
+
+        for (BinaryType type : cctx.kernalContext().cacheObjects().metadata())
+            binaryMeta.add(((BinaryTypeImpl)type).metadata());
+
+        return new SnapshotManifest(
+            op.name(),
+            String.valueOf(cctx.localNode().consistentId()),
+            cctx.database().pageSize(),
+            op.cacheGroupIds(),
+            baseline(),
+            cacheData,
+            binaryMeta);
+    }
+
+    /**
+     * @param file Manifest file.
+     * @return Manifest.
+     * @throws IgniteCheckedException If failed.
+     */
+    private SnapshotManifest readManifest(File file) throws IgniteCheckedException {
+        try (InputStream in = Files.newInputStream(file.toPath())) {
+            return MarshallerUtils.jdkMarshaller(cctx.igniteInstanceName())
+                .unmarshal(in, U.resolveClassLoader(cctx.gridConfig()));
+        }
+        catch (IOException e) {
+            throw new IgniteCheckedException("Failed to read snapshot manifest: " + file, e);
+        }
+    }
+
+    /**
+     * @return Consistent IDs of the baseline nodes.
+     */
+    private Set<String> baseline() {
+        BaselineTopology blt = cctx.kernalContext().state().clusterState().baselineTopology();
+
+        Set<String> res = new HashSet<>();
+
+        if (blt != null) {
+            for (Object consistentId : blt.consistentIds())
+                res.add(String.valueOf(consistentId));
+        }
+
+        return res;
+    }
+
+    /**
+     * @return Name of the folder of the local node.
+     * @throws IgniteCheckedException If failed.
+     */
+    private String folderName() throws IgniteCheckedException {
+        return cctx.kernalContext().pdsFolderResolver().resolveFolders().folderName();
+    }
+
+    /**
+     * @param desc Cache descriptor.
+     * @throws IgniteCheckedException If the cache is encrypted.
+     */
+    private static void checkEncryption(DynamicCacheDescriptor desc) throws IgniteCheckedException {
+        // Group keys are not a part of the snapshot, so encrypted caches could not be restored.
+        if (desc.cacheConfiguration().isEncryptionEnabled())
+            throw new IgniteCheckedException("Snapshot can not include encrypted cache: " + desc.cacheName());
+    }
+
+    /**
+     * Waits for the local part of a snapshot to be created.
+     */
+    @GridInternal
+    private static class SnapshotAwaitJob implements IgniteClosure<String, Void> {
+        /** */
+        private static final long serialVersionUID = 0L;
+
+        /** Ignite. */
+        @IgniteInstanceResource
+        private transient IgniteEx ignite;
+
+        /** {@inheritDoc} */
+        @Override public Void apply(String name) {
+            FileSnapshotManager mgr = (FileSnapshotManager)ignite.context().cache().context().snapshot();
+
+            try {
+                mgr.localSnapshotFuture(name).get();
+
+                return null;
+            }
+            catch (IgniteCheckedException e) {
+                throw U.convertException(e);
+            }
+            finally {
+                mgr.locFuts.remove(name);
+            }
+        }
+    }
+
+    /**
+     * Copies the local part of a snapshot to the cache directories, or removes the copied files.
+     */
+    @GridInternal
+    private static class SnapshotRestoreJob implements IgniteClosure<SnapshotRestoreArg, SnapshotManifest> {
+        /** */
+        private static final long serialVersionUID = 0L;
+
+        /** Ignite. */
+        @IgniteInstanceResource
+        private transient IgniteEx ignite;
+
+        /** {@inheritDoc} */
+        @Override public SnapshotManifest apply(SnapshotRestoreArg arg) {
+            FileSnapshotManager mgr = (FileSnapshotManager)ignite.context().cache().context().snapshot();
+
+            try {
+                return mgr.restoreLocal(arg);
+            }
+            catch (IgniteCheckedException e) {
+                throw U.convertException(e);
+            }
+        }
+    }
+
+    /**
+     * Argument of {@link SnapshotRestoreJob}.
+     */
+    private static class SnapshotRestoreArg implements Serializable {
+        /** */
+        private static final long serialVersionUID = 0L;
+
+        /** Snapshot name. */
+        private final String name;
+
+        /** Names of the caches to restore, {@code null} to restore all caches of the snapshot. */
+        private final Set<String> cacheNames;
+
+        /** Remove the copied files instead of copying them. */
+        private final boolean rollback;
+
+        /**
+         * @param name Snapshot name.
+         * @param cacheNames Names of the caches to restore, {@code null} to restore all caches of the snapshot.
+         * @param rollback Remove the copied files instead of copying them.
+         */
+        private SnapshotRestoreArg(String name, @Nullable Set<String> cacheNames, boolean rollback) {
+            this.name = name;
+            this.cacheNames = cacheNames;
+            this.rollback = rollback;
+        }
+    }
+}
@@ -0,0 +1,560 @@
+/*
+ * Copyright 2019 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.cache.persistence.snapshot;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import org.apache.ignite.IgniteCheckedException;
+import org.apache.ignite.IgniteLogger;
+import org.apache.ignite.internal.IgniteInternalFuture;
+import org.apache.ignite.internal.IgniteInterruptedCheckedException;
+import org.apache.ignite.internal.pagemem.FullPageId;
+import org.apache.ignite.internal.pagemem.PageIdAllocator;
+import org.apache.ignite.internal.pagemem.PageIdUtils;
+import org.apache.ignite.internal.processors.cache.CacheGroupContext;
+import org.apache.ignite.internal.processors.cache.GridCacheSharedContext;
+import org.apache.ignite.internal.processors.cache.distributed.dht.topology.GridDhtLocalPartition;
+import org.apache.ignite.internal.processors.cache.persistence.file.FilePageStore;
+import org.apache.ignite.internal.processors.cache.persistence.file.FilePageStoreManager;
+import org.apache.ignite.internal.processors.cache.persistence.partstate.GroupPartitionId;
+import org.apache.ignite.internal.util.future.GridFutureAdapter;
+import org.apache.ignite.internal.util.typedef.internal.U;
+import org.apache.ignite.marshaller.MarshallerUtils;
+import org.apache.ignite.thread.IgniteThread;
+import org.jetbrains.annotations.Nullable;
+
+import static java.nio.file.StandardOpenOption.CREATE_NEW;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.WRITE;
+import static org.apache.ignite.internal.processors.cache.distributed.dht.topology.GridDhtPartitionState.OWNING;
+
+/**
+ * Creates the local part of a snapshot.
+ * <p>
+ * The set of partitions and their sizes are fixed when the snapshot checkpoint is marked. Once the pages of
+ * that checkpoint are on disk, the partition files are copied in a separate thread. A page which is about to be
+ * overwritten by a later checkpoint or by page replacement before its partition is copied is saved to a delta
+ * file first, and the saved pages are written over the copy when the copy of the partition finishes. So the copy
+ * does not block checkpoints, and they pay only for the pages they actually change.
+ * <p>
+ * The same task copies a subset of partitions without a manifest when the files are requested by a rebalancing node.
+ */
+class LocalSnapshotTask implements Runnable {
+    /** Suffix of the files of the pages saved before they were overwritten. */
+    private static final String DELTA_SUFFIX = ".delta";
+
+    /** Maximum number of bytes copied at once. */
+    private static final int COPY_CHUNK_SIZE = 1024 * 1024;
+
+    /** Context. */
+    private final GridCacheSharedContext<?, ?> cctx;
+
+    /** Snapshot operation. */
+    private final FileSnapshotOperation op;
+
+    /** Partitions to copy, {@code null} to copy all owning partitions and the index partitions of the groups. */
+    @Nullable private final Set<Integer> partIds;
+
+    /** Manifest to write when the copy is completed, {@code null} if no manifest is needed. */
+    @Nullable private final SnapshotManifest manifest;
+
+    /** Directory of the local part of the snapshot. */
+    private final File dir;
+
+    /** Maximum number of bytes per second to copy, {@code 0} if not limited. */
+    private final long rate;
+
+    /** Logger. */
+    private final IgniteLogger log;
+
+    /** Partitions to copy. */
+    private final Map<GroupPartitionId, PartitionCopy> parts = new ConcurrentHashMap<>();
+
+    /** Future. */
+    private final GridFutureAdapter<Void> fut = new GridFutureAdapter<>();
+
+    /** Snapshot checkpoint is marked. */
+    private volatile boolean marked;
+
+    /** Pages must be saved before they are written. */
+    private volatile boolean tracking;
+
+    /** Copy start time. */
+    private long startNanos;
+
+    /** Number of copied bytes. */
+    private long copied;
+
+    /**
+     * @param cctx Context.
+     * @param op Snapshot operation.
+     * @param partIds Partitions to copy, {@code null} to copy all owning partitions and the index partitions
+     *      of the groups.
+     * @param manifest Manifest to write when the copy is completed, {@code null} if no manifest is needed.
+     * @param dir Directory of the local part of the snapshot.
+     * @param rate Maximum number of bytes per second to copy, {@code 0} if not limited.
+     */
+    LocalSnapshotTask(
+        GridCacheSharedContext<?, ?> cctx,
+        FileSnapshotOperation op,
+        @Nullable Set<Integer> partIds,
+        @Nullable SnapshotManifest manifest,
+        File dir,
+        long rate
+    ) {
+        this.cctx = cctx;
+        this.op = op;
+        this.partIds = partIds;
+        this.manifest = manifest;
+        this.dir = dir;
+        this.rate = rate;
+
+        log = cctx.logger(LocalSnapshotTask.class);
+    }
+
+    /**
+     * @return Snapshot operation.
+     */
+    FileSnapshotOperation operation() {
+        return op;
+    }
+
+    /**
+     * @return Directory of the local part of the snapshot.
+     */
+    File directory() {
+        return dir;
+    }
+
+    /**
+     * @param grpId Cache group ID.
+     * @return Copies of the partition files of the group by partition IDs.
+     */
+    Map<Integer, File> partitionFiles(int grpId) {
+        Map<Integer, File> res = new HashMap<>();
+
+        for (Map.Entry<GroupPartitionId, PartitionCopy> e : parts.entrySet()) {
+            if (e.getKey().getGroupId() == grpId)
+                res.put(e.getKey().getPartitionId(), e.getValue().dst);
+        }
+
+        return res;
+    }
+
+    /**
+     * @return Future completed when the local part of the snapshot is created.
+     */
+    IgniteInternalFuture<Void> future() {
+        return fut;
+    }
+
+    /**
+     * @return {@code True} if the snapshot checkpoint is marked and the task waits for its pages to be written.
+     */
+    boolean marked() {
+        return marked && !tracking && !fut.isDone();
+    }
+
+    /**
+     * Fixes the partitions to copy and their sizes. Called under checkpoint write lock when the snapshot
+     * checkpoint is marked.
+     */
+    void onMarkCheckpointBegin() {
+        try {
+            FilePageStoreManager storeMgr = (FilePageStoreManager)cctx.pageStore();
+
+            for (int grpId : op.cacheGroupIds()) {
+                CacheGroupContext grp = cctx.cache().cacheGroup(grpId);
+
+                if (grp == null)
+                    continue;
+
+                for (GridDhtLocalPartition part : grp.topology().currentLocalPartitions()) {
+                    // Moving partitions are not consistent, they will be rebalanced again after restore.
+                    if (part.state() == OWNING && (partIds == null || partIds.contains(part.id())))
+                        addPartition(storeMgr, grpId, part.id());
+                }
+
+                if (partIds == null && storeMgr.hasIndexStore(grpId))
+                    addPartition(storeMgr, grpId, PageIdAllocator.INDEX_PARTITION);
+            }
+
+            marked = true;
+        }
+        catch (IgniteCheckedException e) {
+            onDone(e);
+        }
+    }
+
+    /**
+     * @param storeMgr Page store manager.
+     * @param grpId Cache group id.
+     * @param partId Partition id.
+     * @throws IgniteCheckedException If failed.
+     */
+    private void addPartition(FilePageStoreManager storeMgr, int grpId, int partId) throws IgniteCheckedException {
+        FilePageStore store = (FilePageStore)storeMgr.getStore(grpId, partId);
+
+        if (!store.exists())
+            return;
+
+        // The store is opened lazily, the size of the file is known once it is opened.
+        store.ensure();
+
+        long len = store.allocatedBytes();
+
+        if (len == 0)
+            return;
+
+        File src = new File(store.getFileAbsolutePath());
+
+        File dst = new File(new File(dir, src.getParentFile().getName()), src.getName());
+
+        parts.put(new GroupPartitionId(grpId, partId), new PartitionCopy(store, src, dst, len));
+    }
+
+    /**
+     * Starts copying when the pages of the snapshot checkpoint are on disk.
+     */
+    void onCheckpointFinished() {
+        tracking = true;
+
+        new IgniteThread(cctx.igniteInstanceName(), "snapshot-copy-" + op.name(), this).start();
+    }
+
+    /**
+     * Saves the page if its partition is not copied yet.
+     *
+     * @param fullId Page which is about to be written.
+     */
+    void beforePageWrite(FullPageId fullId) {
+        if (!tracking)
+            return;
+
+        PartitionCopy copy = parts.get(new GroupPartitionId(fullId.groupId(), PageIdUtils.partId(fullId.pageId())));
+
+        if (copy == null)
+            return;
+
+        try {
+            copy.preserve(fullId.pageId());
+        }
+        catch (IOException e) {
+            onDone(new IgniteCheckedException("Failed to save page for snapshot [snapshot=" + op.name() +
+                ", page=" + fullId + ']', e));
+        }
+    }
+
+    /**
+     * @param grpId Cache group id.
+     * @return {@code True} if the group is a part of the snapshot in progress.
+     */
+    boolean includes(int grpId) {
+        return !fut.isDone() && op.cacheGroupIds().contains(grpId);
+    }
+
+    /** {@inheritDoc} */
+    @Override public void run() {
+        startNanos = System.nanoTime();
+
+        try {
+            for (PartitionCopy copy : parts.values()) {
+                if (fut.isDone())
+                    return;
+
+                copy.copy();
+            }
+
+            if (manifest != null)
+                writeManifest();
+
+            if (log.isInfoEnabled()) {
+                log.info("Local snapshot created [snapshot=" + op.name() + ", partitions=" + parts.size() +
+                    ", bytes=" + copied + ", time=" + U.millisSinceNanos(startNanos) + "ms]");
+            }
+
+            onDone(null);
+        }
+        catch (Throwable e) {
+            onDone(e);
+        }
+    }
+
+    /**
+     * @throws IgniteCheckedException If failed.
+     * @throws IOException If failed.
+     */
+    private void writeManifest() throws IgniteCheckedException, IOException {
+        File file = new File(dir, FileSnapshotManager.MANIFEST_FILENAME);
+
+        File tmp = new File(dir, FileSnapshotManager.MANIFEST_FILENAME + FilePageStoreManager.TMP_SUFFIX);
+
+        mkdirs(dir);
+
+        try (OutputStream out = Files.newOutputStream(tmp.toPath())) {
+            MarshallerUtils.jdkMarshaller(cctx.igniteInstanceName()).marshal(manifest, out);
+        }
+
+        Files.move(tmp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    /**
+     * @param err Error or {@code null} if the snapshot is created.
+     */
+    void onDone(Throwable err) {
+        tracking = false;
+
+        if (fut.onDone(err)) {
+            for (PartitionCopy copy : parts.values())
+                copy.close();
+        }
+    }
+
+    /**
+     * @param dir Directory to create.
+     * @throws IOException If failed.
+     */
+    private static void mkdirs(File dir) throws IOException {
+        if (!dir.mkdirs() && !dir.isDirectory())
+            throw new IOException("Failed to create snapshot directory: " + dir);
+    }
+
+    /**
+     * Sleeps if the copy is faster than the configured rate.
+     *
+     * @param bytes Number of bytes copied.
+     * @throws IgniteInterruptedCheckedException If interrupted.
+     */
+    private void throttle(long bytes) throws IgniteInterruptedCheckedException {
+        copied += bytes;
+
+        if (rate <= 0)
+            return;
+
+        long expMs = copied * 1000 / rate;
+
+        long elapsedMs = U.millisSinceNanos(startNanos);
+
+        if (expMs > elapsedMs)
+            U.sleep(expMs - elapsedMs);
+    }
+
+    /**
+     * Copy of a partition file.
+     */
+    private class PartitionCopy {
+        /** Page store. */
+        private final FilePageStore store;
+
+        /** Partition file. */
+        private final File src;
+
+        /** Copy of the partition file. */
+        private final File dst;
+
+        /** File of the saved pages. */
+        private final File deltaFile;
+
+        /** Number of bytes to copy. */
+        private final long len;
+
+        /** Indexes of the saved pages. */
+        private final BitSet saved = new BitSet();
+
+        /** Channel to read the saved pages from the partition file. */
+        private FileChannel srcCh;
+
+        /** Channel to write the saved pages to. */
+        private FileChannel deltaCh;
+
+        /** Buffer of a saved page. */
+        private ByteBuffer buf;
+
+        /** Partition is copied, pages don't have to be saved anymore. */
+        private boolean copied;
+
+        /**
+         * @param store Page store.
+         * @param src Partition file.
+         * @param dst Copy of the partition file.
+         * @param len Number of bytes to copy.
+         */
+        PartitionCopy(FilePageStore store, File src, File dst, long len) {
+            this.store = store;
+            this.src = src;
+            this.dst = dst;
+            this.len = len;
+
+            deltaFile = new File(dst.getParentFile(), dst.getName() + DELTA_SUFFIX);
+        }
+
+        /**
+         * Saves the current content of the page unless it is saved already.
+         *
+         * @param pageId Page ID.
+         * @throws IOException If failed.
+         */
+        synchronized void preserve(long pageId) throws IOException {
+            if (copied)
+                return;
+
+            int pageSize = store.getPageSize();
+
+            long off = store.pageOffset(pageId);
+
+            if (off + pageSize > len)
+                return;
+
+            int idx = PageIdUtils.pageIndex(pageId);
+
+            if (saved.get(idx))
+                return;
+
+            if (deltaCh == null) {
+                mkdirs(deltaFile.getParentFile());
+
+                srcCh = FileChannel.open(src.toPath(), READ);
+                deltaCh = FileChannel.open(deltaFile.toPath(), CREATE_NEW, WRITE);
+                buf = ByteBuffer.allocate(8 + pageSize);
+            }
+
+            buf.clear();
+            buf.putLong(off);
+
+            while (buf.hasRemaining()) {
+                if (srcCh.read(buf, off + buf.position() - 8) < 0)
+                    break;
+            }
+
+            // The page was allocated but has never been written, so it is zeroes in the copy too.
+            while (buf.hasRemaining())
+                buf.put((byte)0);
+
+            buf.flip();
+
+            while (buf.hasRemaining())
+                deltaCh.write(buf);
+
+            saved.set(idx);
+        }
+
+        /**
+         * Copies the partition file and writes the saved pages over the copy.
+         *
+         * @throws IOException If failed.
+         * @throws IgniteInterruptedCheckedException If interrupted.
+         */
+        void copy() throws IOException, IgniteInterruptedCheckedException {
+            mkdirs(dst.getParentFile());
+
+            try (FileChannel in = FileChannel.open(src.toPath(), READ);
+                 FileChannel out = FileChannel.open(dst.toPath(), CREATE_NEW, WRITE)) {
+                long pos = 0;
+
+                while (pos < len) {
+                    long n = in.transferTo(pos, Math.min(COPY_CHUNK_SIZE, len - pos), out);
+
+                    if (n <= 0)
+                        throw new IOException("Partition file was truncated during snapshot: " + src);
+
+                    pos += n;
+
+                    throttle(n);
+                }
+
+                boolean hasDelta;
+
+                synchronized (this) {
+                    copied = true;
+
+                    hasDelta = deltaCh != null;
+
+                    U.closeQuiet(srcCh);
+                }
+
+                // No pages are saved after the copy is marked, so the delta can be read without the lock.
+                if (hasDelta) {
+                    int pageSize = store.getPageSize();
+
+                    ByteBuffer page = ByteBuffer.allocate(pageSize);
+                    ByteBuffer off = ByteBuffer.allocate(8);
+
+                    long deltaPos = 0;
+                    long deltaLen = deltaCh.size();
+
+                    while (deltaPos < deltaLen) {
+                        off.clear();
+                        page.clear();
+
+                        readFully(deltaCh, off, deltaPos);
+                        readFully(deltaCh, page, deltaPos + 8);
+
+                        deltaPos += 8 + pageSize;
+
+                        long pageOff = off.getLong(0);
+
+                        page.flip();
+
+                        while (page.hasRemaining())
+                            out.write(page, pageOff + page.position());
+                    }
+
+                    U.closeQuiet(deltaCh);
+
+                    Files.delete(deltaFile.toPath());
+                }
+
+                out.force(true);
+            }
+        }
+
+        /**
+         * Releases the resources when the snapshot is completed or failed.
+         */
+        synchronized void close() {
+            copied = true;
+
+            U.closeQuiet(srcCh);
+            U.closeQuiet(deltaCh);
+        }
+
+        /**
+         * @param ch Channel.
+         * @param buf Buffer to fill.
+         * @param pos Position.
+         * @throws IOException If failed.
+         */
+        private void readFully(FileChannel ch, ByteBuffer buf, long pos) throws IOException {
+            while (buf.hasRemaining()) {
+                int n = ch.read(buf, pos + buf.position());
+
+                if (n < 0)
+                    throw new IOException("Unexpected end of snapshot delta file: " + deltaFile);
+            }
+        }
+    }
+}
@@ -0,0 +1,141 @@
+/*
+ * Copyright 2019 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.cache.persistence.snapshot;
+
+import java.io.Serializable;
+import java.util.Collection;
+import java.util.Set;
+import org.apache.ignite.internal.binary.BinaryMetadata;
+import org.apache.ignite.internal.processors.cache.StoredCacheData;
+import org.apache.ignite.internal.util.tostring.GridToStringExclude;
+import org.apache.ignite.internal.util.tostring.GridToStringInclude;
+import org.apache.ignite.internal.util.typedef.internal.S;
+
+/**
+ * Description of the part of a snapshot stored by one node: what was copied and everything needed to start
+ * the caches from the copied files again.
+ */
+public class SnapshotManifest implements Serializable {
+    /** */
+    private static final long serialVersionUID = 0L;
+
+    /** Snapshot name. */
+    private final String name;
+
+    /** Consistent ID of the node. */
+    private final String consistentId;
+
+    /** Page size. */
+    private final int pageSize;
+
+    /** Cache group ids. */
+    @GridToStringInclude
+    private final Set<Integer> grpIds;
+
+    /** Consistent IDs of the baseline nodes. */
+    @GridToStringInclude
+    private final Set<String> baseline;
+
+    /** Configurations of the caches. */
+    @GridToStringExclude
+    private final Collection<StoredCacheData> cacheData;
+
+    /** Binary metadata. */
+    @GridToStringExclude
+    private final Collection<BinaryMetadata> binaryMeta;
+
+    /**
+     * @param name Snapshot name.
+     * @param consistentId Consistent ID of the node.
+     * @param pageSize Page size.
+     * @param grpIds Cache group ids.
+     * @param baseline Consistent IDs of the baseline nodes.
+     * @param cacheData Configurations of the caches.
+     * @param binaryMeta Binary metadata.
+     */
+    public SnapshotManifest(
+        String name,
+        String consistentId,
+        int pageSize,
+        Set<Integer> grpIds,
+        Set<String> baseline,
+        Collection<StoredCacheData> cacheData,
+        Collection<BinaryMetadata> binaryMeta
+    ) {
+        this.name = name;
+        this.consistentId = consistentId;
+        this.pageSize = pageSize;
+        this.grpIds = grpIds;
+        this.baseline = baseline;
+        this.cacheData = cacheData;
+        this.binaryMeta = binaryMeta;
+    }
+
+    /**
+     * @return Snapshot name.
+     */
+    public String name() {
+        return name;
+    }
+
+    /**
+     * @return Consistent ID of the node.
+     */
+    public String consistentId() {
+        return consistentId;
+    }
+
+    /**
+     * @return Page size.
+     */
+    public int pageSize() {
+        return pageSize;
+    }
+
+    /**
+     * @return Cache group ids.
+     */
+    public Set<Integer> groupIds() {
+        return grpIds;
+    }
+
+    /**
+     * @return Consistent IDs of the baseline nodes.
+     */
+    public Set<String> baseline() {
+        return baseline;
+    }
+
+    /**
+     * @return Configurations of the caches.
+     */
+    public Collection<StoredCacheData> cacheData() {
+        return cacheData;
+    }
+
+    /**
+     * @return Binary metadata.
+     */
+    public Collection<BinaryMetadata> binaryMetadata() {
+        return binaryMeta;
+    }
+
+    /** {@inheritDoc} */
+    @Override public String toString() {
+        return S.toString(SnapshotManifest.class, this);
+    }
+}
@@ -80,6 +80,7 @@ import org.apache.ignite.lang.IgniteInClosure;
 import org.jetbrains.annotations.Nullable;
 
 import static org.apache.ignite.IgniteSystemProperties.IGNITE_BPLUS_TREE_LOCK_RETRIES;
+import static org.apache.ignite.IgniteSystemProperties.IGNITE_BPLUS_TREE_OPTIMISTIC_READS;
 import static org.apache.ignite.internal.processors.cache.persistence.tree.BPlusTree.Bool.DONE;
 import static org.apache.ignite.internal.processors.cache.persistence.tree.BPlusTree.Bool.FALSE;
 import static org.apache.ignite.internal.processors.cache.persistence.tree.BPlusTree.Bool.READY;
@@ -118,6 +119,9 @@ public abstract class BPlusTree<L, T extends L> extends DataStructure implements
     private static final int LOCK_RETRIES = IgniteSystemProperties.getInteger(
         IGNITE_BPLUS_TREE_LOCK_RETRIES, IGNITE_BPLUS_TREE_LOCK_RETRIES_DEFAULT);
 
+    /** Whether lookups read inner pages optimistically, without page locks. */
+    private final boolean optimisticReads = IgniteSystemProperties.getBoolean(IGNITE_BPLUS_TREE_OPTIMISTIC_READS);
+
     /** */
     private final AtomicBoolean destroyed = new AtomicBoolean(false);
 
@@ -645,6 +649,112 @@ public abstract class BPlusTree<L, T extends L> extends DataStructure implements
         }
     }
 
+    /** */
+    private final PageHandler<InvokeAll, Integer> invokeAllInLeaf = new InvokeAllInLeaf();
+
+    /**
+     * Applies the consecutive rows of {@link InvokeAll} batch which can be applied to the locked leaf page without
+     * structural changes of the tree. Returns the number of applied rows.
+     */
+    private class InvokeAllInLeaf extends PageHandler<InvokeAll, Integer> {
+        /** {@inheritDoc} */
+        @Override public Integer run(int cacheId, long leafId, long leafPage, long leafAddr, PageIO iox,
+            Boolean walPlc, InvokeAll x, int lvl, IoStatisticsHolder statHolder) throws IgniteCheckedException {
+            // The page could be concurrently merged and reused by the time we have locked it.
+            if (!(iox instanceof BPlusIO) || !((BPlusIO)iox).isLeaf())
+                return 0;
+
+            BPlusIO<L> io = (BPlusIO<L>)iox;
+
+            long fwdId = io.getForward(leafAddr);
+            int maxCnt = io.getMaxCount(leafAddr, pageSize());
+
+            int applied = 0;
+
+            for (; x.idx < x.rows.size(); x.idx++, applied++) {
+                L row = x.rows.get(x.idx);
+
+                int cnt = io.getCount(leafAddr);
+
+                if (cnt == 0)
+                    break;
+
+                int idx = findInsertionPoint(0, io, leafAddr, 0, cnt, row, 0);
+
+                boolean found = idx >= 0;
+
+                if (found) {
+                    // Remove may require merge or inner key replace, replace of the rightmost row may require
+                    // inner key replace.
+                    if (cnt == 1 || (canGetRowFromInner && idx == cnt - 1 && fwdId != 0L))
+                        break;
+                }
+                else {
+                    idx = fix(idx);
+
+                    // Row does not belong to this leaf for sure or insert requires split.
+                    if (idx == 0 || (idx == cnt && fwdId != 0L) || cnt == maxCnt)
+                        break;
+                }
+
+                InvokeClosure<T> clo = x.clos.get(x.idx);
+
+                try {
+                    clo.call(found ? getRow(io, leafAddr, idx, x.x) : null);
+                }
+                catch (Throwable e) {
+                    // Keep the page consistent: rows applied so far must be marked dirty on unlock.
+                    x.err = e;
+
+                    break;
+                }
+
+                switch (clo.operationType()) {
+                    case PUT:
+                        T newRow = clo.newRow();
+
+                        assert newRow != null;
+
+                        boolean needWal = needWalDeltaRecord(leafId, leafPage, null);
+
+                        if (found) {
+                            byte[] newRowBytes = io.store(leafAddr, idx, newRow, null, needWal);
+
+                            if (needWal)
+                                wal.log(new ReplaceRecord<>(grpId, leafId, io, newRowBytes, idx));
+                        }
+                        else {
+                            byte[] rowBytes = io.insert(leafAddr, idx, newRow, null, 0L, needWal);
+
+                            if (needWal)
+                                wal.log(new InsertRecord<>(grpId, leafId, io, idx, rowBytes, 0L));
+                        }
+
+                        break;
+
+                    case REMOVE:
+                        assert found;
+
+                        io.remove(leafAddr, idx, cnt);
+
+                        if (needWalDeltaRecord(leafId, leafPage, null))
+                            wal.log(new RemoveRecord(grpId, leafId, idx, cnt));
+
+                        break;
+
+                    case NOOP:
+                    case IN_PLACE:
+                        break;
+
+                    default:
+                        throw new IllegalStateException();
+                }
+            }
+
+            return applied;
+        }
+    }
+
     /** */
     private final PageHandler<Void, Bool> cutRoot = new CutRoot();
 
@@ -1427,7 +1537,10 @@ public abstract class BPlusTree<L, T extends L> extends DataStructure implements
                 g.pageId = pageId;
                 g.fwdId = fwdId;
 
-                Result res = read(pageId, page, search, g, lvl, RETRY);
+                // Leaf rows are read under the lock, so that they can not be concurrently removed.
+                Result res = optimisticReads && lvl != 0 ?
+                    readOptimistic(pageId, page, search, g, lvl, RETRY, statisticsHolder()) :
+                    read(pageId, page, search, g, lvl, RETRY);
 
                 switch (res) {
                     case GO_DOWN:
@@ -1942,6 +2055,101 @@ public abstract class BPlusTree<L, T extends L> extends DataStructure implements
         }
     }
 
+    /**
+     * Invokes closures for a batch of rows. If rows are sorted in the tree order, then consecutive rows falling
+     * into the same leaf page are applied under a single write lock of that leaf, i.e. the tree is descended once
+     * per leaf instead of once per row. Rows requiring structural changes of the tree (split, merge or inner key
+     * replace) fall back to {@link #invoke(Object, Object, InvokeClosure)}, so the result does not depend on the
+     * order of rows, only the efficiency does.
+     * <p>
+     * Closures of the rows applied in batch are called under the leaf page write lock and must not access this tree.
+     *
+     * @param rows Rows, preferably sorted in the tree order.
+     * @param z Implementation specific argument, {@code null} always means that we need a full detached data row.
+     * @param clos Closures, one per row.
+     * @throws IgniteCheckedException If failed.
+     */
+    public void invokeAll(List<? extends L> rows, Object z, List<? extends InvokeClosure<T>> clos)
+        throws IgniteCheckedException {
+        assert rows.size() == clos.size() : rows.size() + " " + clos.size();
+
+        checkDestroyed();
+
+        InvokeAll x = new InvokeAll(rows, z, clos);
+
+        long leafId = 0L;
+
+        try {
+            while (x.idx < rows.size()) {
+                int applied = 0;
+
+                // Single row does not need a batch.
+                if (x.idx + 1 < rows.size()) {
+                    GetLeaf g = new GetLeaf(rows.get(x.idx));
+
+                    doFind(g);
+
+                    leafId = g.pageId;
+
+                    applied = write(leafId, invokeAllInLeaf, x, 0, 0, statisticsHolder());
+
+                    if (x.err != null) {
+                        if (x.err instanceof IgniteCheckedException)
+                            throw (IgniteCheckedException)x.err;
+
+                        if (x.err instanceof Error)
+                            throw (Error)x.err;
+
+                        throw (RuntimeException)x.err;
+                    }
+                }
+
+                if (applied == 0) {
+                    invoke(rows.get(x.idx), z, clos.get(x.idx));
+
+                    x.idx++;
+                }
+            }
+        }
+        catch (UnregisteredClassException | UnregisteredBinaryTypeException e) {
+            throw e;
+        }
+        catch (IgniteCheckedException e) {
+            throw new IgniteCheckedException("Runtime failure on batch row: " + rows.get(x.idx), e);
+        }
+        catch (RuntimeException | AssertionError e) {
+            throw corruptedTreeException(formatMsg("Runtime failure on batch row: %s", rows.get(x.idx)), e,
+                grpId, leafId);
+        }
+        finally {
+            checkDestroyed();
+        }
+    }
+
+    /**
+     * Creates a loader building this tree bottom-up from rows supplied in the tree order. Pages of every level are
+     * filled from left to right up to the given fill factor, so unlike top-down inserts there are no page splits,
+     * no half empty pages and every page is written once. Loaded pages stay detached until
+     * {@link BulkLoad#publish()} replaces the root of this tree with them.
+     *
+     * @param rowsCnt Exact number of rows to be loaded, must be positive.
+     * @param fillFactor Fill factor of pages from {@code (0, 1]} range.
+     * @return Bulk loader or {@code null} if inner pages of this tree can not have two items, i.e. the rows are too
+     *      large to build the tree bottom-up.
+     * @throws IgniteCheckedException If failed.
+     */
+    @Nullable public BulkLoad bulkLoad(long rowsCnt, float fillFactor) throws IgniteCheckedException {
+        checkDestroyed();
+
+        int leafMax = latestLeafIO().getMaxCount(0L, pageSize());
+        int innerMax = latestInnerIO().getMaxCount(0L, pageSize());
+
+        if (leafMax < 1 || innerMax < 2)
+            return null;
+
+        return new BulkLoad(rowsCnt, fillFactor, leafMax, innerMax);
+    }
+
     /**
      * @param x Invoke operation.
      * @param pageId Page ID.
@@ -3140,6 +3348,427 @@ public abstract class BPlusTree<L, T extends L> extends DataStructure implements
         }
     }
 
+    /**
+     * Find the leaf page for the row.
+     */
+    private final class GetLeaf extends Get {
+        /**
+         * @param row Row.
+         */
+        private GetLeaf(L row) {
+            super(row, false);
+        }
+    }
+
+    /**
+     * Batch of rows for {@link #invokeAll(List, Object, List)}.
+     */
+    private final class InvokeAll {
+        /** */
+        final List<? extends L> rows;
+
+        /** */
+        final Object x;
+
+        /** */
+        final List<? extends InvokeClosure<T>> clos;
+
+        /** Index of the next row to apply. */
+        int idx;
+
+        /** Closure failure. */
+        Throwable err;
+
+        /**
+         * @param rows Rows.
+         * @param x Implementation specific argument.
+         * @param clos Closures.
+         */
+        private InvokeAll(List<? extends L> rows, Object x, List<? extends InvokeClosure<T>> clos) {
+            this.rows = rows;
+            this.x = x;
+            this.clos = clos;
+        }
+    }
+
+    /**
+     * Bottom-up builder of the tree. Layout of every level is planned in advance: items of a level (rows for the
+     * leaf level and children for inner levels) are spread evenly over the pages of the level, so every inner page
+     * gets at least two children. A leaf page is finished when it gets its planned number of rows, then its last
+     * row goes up as a separator of the forward page. An inner page receiving a separator when it already has all
+     * its children passes the separator further up and makes the child the leftmost one of the forward page, just
+     * like an inner page split does.
+     * <p>
+     * Pages are locked only for the time of a single call, so the checkpoint read lock must be held while a row is
+     * added and may be released between the calls. A page is logged to WAL as a whole, when it gets its final state.
+     */
+    public final class BulkLoad {
+        /** */
+        private final BPlusLeafIO<L> leafIo = latestLeafIO();
+
+        /** */
+        private final BPlusInnerIO<L> innerIo = latestInnerIO();
+
+        /** Number of items per level. */
+        private final long[] items;
+
+        /** Number of pages per level. */
+        private final long[] pages;
+
+        /** First page ID per level. */
+        private final long[] firstPageIds;
+
+        /** Current page ID per level. */
+        private final long[] curPageIds;
+
+        /** Index of the current page within the level. */
+        private final long[] curPageIdxs;
+
+        /** Number of items in the current page per level. */
+        private final int[] curItems;
+
+        /** Pages allocated by this loader. */
+        private final GridLongList allocated = new GridLongList();
+
+        /** Number of added rows. */
+        private long added;
+
+        /**
+         * @param rowsCnt Number of rows.
+         * @param fillFactor Fill factor.
+         * @param leafMax Max number of items in a leaf page.
+         * @param innerMax Max number of items in an inner page.
+         */
+        private BulkLoad(long rowsCnt, float fillFactor, int leafMax, int innerMax) {
+            assert rowsCnt > 0 : rowsCnt;
+            assert fillFactor > 0 && fillFactor <= 1 : fillFactor;
+            assert leafMax > 0 && innerMax > 1 : leafMax + " " + innerMax;
+
+            long leafTarget = Math.max(1, (int)(leafMax * fillFactor));
+
+            // At least three children per inner page guarantee at least two children on every page of a level.
+            long innerTarget = Math.max(3, Math.min(innerMax, (int)(innerMax * fillFactor)) + 1);
+
+            GridLongList items0 = new GridLongList();
+            GridLongList pages0 = new GridLongList();
+
+            long itemsCnt = rowsCnt;
+            long pagesCnt = (itemsCnt + leafTarget - 1) / leafTarget;
+
+            for (;;) {
+                items0.add(itemsCnt);
+                pages0.add(pagesCnt);
+
+                if (pagesCnt == 1)
+                    break;
+
+                itemsCnt = pagesCnt;
+                pagesCnt = (itemsCnt + innerTarget - 1) / innerTarget;
+            }
+
+            items = items0.array();
+            pages = pages0.array();
+
+            firstPageIds = new long[items.length];
+            curPageIds = new long[items.length];
+            curPageIdxs = new long[items.length];
+            curItems = new int[items.length];
+        }
+
+        /**
+         * Adds the next row. Rows must be added in the tree order.
+         *
+         * @param row Row.
+         * @throws IgniteCheckedException If failed.
+         */
+        public void add(L row) throws IgniteCheckedException {
+            assert added < items[0] : "Too many rows: " + added;
+
+            if (curPageIds[0] == 0L)
+                curPageIds[0] = firstPageIds[0] = newPage(0);
+
+            long pageId = curPageIds[0];
+            long page = acquirePage(pageId);
+
+            try {
+                long pageAddr = writeLock(pageId, page);
+
+                assert pageAddr != 0L;
+
+                boolean full = false;
+
+                try {
+                    int cnt = curItems[0];
+
+                    leafIo.store(pageAddr, cnt, row, null, false);
+                    leafIo.setCount(pageAddr, ++cnt);
+
+                    added++;
+
+                    full = cnt == plannedItems(0);
+
+                    if (!full)
+                        curItems[0] = cnt;
+                    else if (!lastPage(0)) {
+                        long fwdId = nextPage(0);
+
+                        leafIo.setForward(pageAddr, fwdId);
+
+                        // The last row of the leaf separates it from the forward leaf.
+                        addSeparator(1, leafIo, pageAddr, cnt - 1, fwdId);
+                    }
+                }
+                finally {
+                    writeUnlock(pageId, page, pageAddr, full ? Boolean.TRUE : Boolean.FALSE, true);
+                }
+            }
+            finally {
+                releasePage(pageId, page);
+            }
+        }
+
+        /**
+         * @param lvl Inner level.
+         * @param srcIo Source page IO.
+         * @param srcAddr Source page address.
+         * @param srcIdx Index of the separator in the source page.
+         * @param rightId ID of the page to the right of the separator.
+         * @throws IgniteCheckedException If failed.
+         */
+        private void addSeparator(int lvl, BPlusIO<L> srcIo, long srcAddr, int srcIdx, long rightId)
+            throws IgniteCheckedException {
+            assert lvl > 0 && lvl < items.length : lvl;
+
+            if (curPageIds[lvl] == 0L)
+                curPageIds[lvl] = firstPageIds[lvl] = newPage(lvl);
+
+            long pageId = curPageIds[lvl];
+            long page = acquirePage(pageId);
+
+            long moveUpId = 0L;
+
+            try {
+                long pageAddr = writeLock(pageId, page);
+
+                assert pageAddr != 0L;
+
+                boolean full = false;
+
+                try {
+                    int children = curItems[lvl];
+
+                    if (children == 0 && curPageIdxs[lvl] == 0) {
+                        // The leftmost page of a level refers to the leftmost page of the level below.
+                        innerIo.setLeft(pageAddr, 0, firstPageIds[lvl - 1]);
+
+                        children = 1;
+                    }
+
+                    if (children == 0) {
+                        // The separator goes up, the right page becomes the leftmost child of this page.
+                        innerIo.setLeft(pageAddr, 0, rightId);
+
+                        curItems[lvl] = 1;
+
+                        moveUpId = pageId;
+                    }
+                    else {
+                        int cnt = children - 1;
+
+                        innerIo.store(pageAddr, cnt, srcIo, srcAddr, srcIdx);
+                        innerIo.setLeft(pageAddr, cnt + 1, rightId);
+                        innerIo.setCount(pageAddr, cnt + 1);
+
+                        children++;
+
+                        full = children == plannedItems(lvl);
+
+                        if (!full)
+                            curItems[lvl] = children;
+                        else if (!lastPage(lvl))
+                            innerIo.setForward(pageAddr, nextPage(lvl));
+                    }
+                }
+                finally {
+                    writeUnlock(pageId, page, pageAddr, full ? Boolean.TRUE : Boolean.FALSE, true);
+                }
+            }
+            finally {
+                releasePage(pageId, page);
+            }
+
+            if (moveUpId != 0L)
+                addSeparator(lvl + 1, srcIo, srcAddr, srcIdx, moveUpId);
+        }
+
+        /**
+         * @param lvl Level.
+         * @return Number of items planned for the current page of the level.
+         */
+        private int plannedItems(int lvl) {
+            long base = items[lvl] / pages[lvl];
+
+            return (int)(curPageIdxs[lvl] < items[lvl] % pages[lvl] ? base + 1 : base);
+        }
+
+        /**
+         * @param lvl Level.
+         * @return {@code True} If the current page is the last page of the level.
+         */
+        private boolean lastPage(int lvl) {
+            return curPageIdxs[lvl] == pages[lvl] - 1;
+        }
+
+        /**
+         * @param lvl Level.
+         * @return ID of the new current page of the level.
+         * @throws IgniteCheckedException If failed.
+         */
+        private long nextPage(int lvl) throws IgniteCheckedException {
+            long pageId = newPage(lvl);
+
+            curPageIds[lvl] = pageId;
+            curPageIdxs[lvl]++;
+            curItems[lvl] = 0;
+
+            return pageId;
+        }
+
+        /**
+         * @param lvl Level.
+         * @return ID of the allocated and initialized page.
+         * @throws IgniteCheckedException If failed.
+         */
+        private long newPage(int lvl) throws IgniteCheckedException {
+            long pageId = allocatePage(null);
+
+            allocated.add(pageId);
+
+            long page = acquirePage(pageId);
+
+            try {
+                long pageAddr = writeLock(pageId, page); // Initial write.
+
+                assert pageAddr != 0L;
+
+                try {
+                    if (lvl == 0)
+                        leafIo.initNewPage(pageAddr, pageId, pageSize());
+                    else
+                        innerIo.initNewPage(pageAddr, pageId, pageSize());
+                }
+                finally {
+                    writeUnlock(pageId, page, pageAddr, Boolean.FALSE, true);
+                }
+            }
+            finally {
+                releasePage(pageId, page);
+            }
+
+            return pageId;
+        }
+
+        /**
+         * Replaces the empty root of the tree with the loaded pages. The caller must guarantee that the tree is not
+         * modified concurrently.
+         *
+         * @throws IgniteCheckedException If failed.
+         */
+        public void publish() throws IgniteCheckedException {
+            assert added == items[0] : "Not all rows are added [added=" + added + ", rows=" + items[0] + ']';
+
+            checkDestroyed();
+
+            int rootLvl = items.length - 1;
+
+            long oldRootId;
+
+            long metaPage = acquirePage(metaPageId);
+
+            try {
+                long metaAddr = writeLock(metaPageId, metaPage);
+
+                assert metaAddr != 0L;
+
+                boolean dirty = false;
+
+                try {
+                    BPlusMetaIO io = BPlusMetaIO.VERSIONS.forPage(metaAddr);
+
+                    if (io.getLevelsCount(metaAddr) != 1)
+                        throw new IgniteCheckedException("Failed to publish bulk loaded tree, tree is not empty: " + name);
+
+                    oldRootId = io.getFirstPageId(metaAddr, 0);
+
+                    io.initRoot(metaAddr, firstPageIds[0], pageSize());
+
+                    for (int lvl = 1; lvl <= rootLvl; lvl++)
+                        io.addRoot(metaAddr, firstPageIds[lvl], pageSize());
+
+                    dirty = true;
+
+                    treeMeta = new TreeMetaData(rootLvl, firstPageIds[rootLvl]);
+                }
+                finally {
+                    // Levels are rewritten as a whole, so the page is logged as a whole.
+                    writeUnlock(metaPageId, metaPage, metaAddr, Boolean.TRUE, dirty);
+                }
+            }
+            finally {
+                releasePage(metaPageId, metaPage);
+            }
+
+            allocated.clear();
+
+            recycle(GridLongList.asList(oldRootId));
+        }
+
+        /**
+         * Recycles the pages allocated by this loader, the tree stays untouched.
+         *
+         * @throws IgniteCheckedException If failed.
+         */
+        public void cancel() throws IgniteCheckedException {
+            recycle(allocated);
+
+            allocated.clear();
+        }
+
+        /**
+         * @param pageIds Pages to recycle.
+         * @throws IgniteCheckedException If failed.
+         */
+        private void recycle(GridLongList pageIds) throws IgniteCheckedException {
+            if (reuseList == null || pageIds.isEmpty())
+                return;
+
+            LongListReuseBag bag = new LongListReuseBag();
+
+            for (int i = 0; i < pageIds.size(); i++) {
+                long pageId = pageIds.get(i);
+                long page = acquirePage(pageId);
+
+                try {
+                    long pageAddr = writeLock(pageId, page);
+
+                    assert pageAddr != 0L;
+
+                    try {
+                        bag.addFreePage(recyclePage(pageId, page, pageAddr, null));
+                    }
+                    finally {
+                        writeUnlock(pageId, page, pageAddr, true);
+                    }
+                }
+                finally {
+                    releasePage(pageId, page);
+                }
+            }
+
+            reuseList.addForRecycle(bag);
+        }
+    }
+
     /**
      * Get a cursor for range.
      */
@@ -612,6 +612,37 @@ public abstract class AbstractDataPageIO<T extends Storable> extends PageIO impl
         return (PageUtils.getShort(pageAddr, dataOff) & FRAGMENTED_FLAG) != 0;
     }
 
+    /**
+     * @param pageAddr Page address.
+     * @param itemId Fixed item ID (the index used for referencing an entry from the outside).
+     * @param pageSize Page size.
+     * @return {@code true} If the item is a fragment of a row spanning multiple pages.
+     */
+    public boolean isFragmentedItem(long pageAddr, int itemId, int pageSize) {
+        return isFragmented(pageAddr, getDataOffset(pageAddr, itemId, pageSize));
+    }
+
+    /**
+     * @param pageAddr Page address.
+     * @param directIdx Index of the direct item.
+     * @return Fixed item ID (the index used for referencing an entry from the outside) of the direct item.
+     */
+    public int directItemId(long pageAddr, int directIdx) {
+        int directCnt = getDirectCount(pageAddr);
+
+        assert directIdx >= 0 && directIdx < directCnt : "directIdx=" + directIdx + ", directCnt=" + directCnt;
+
+        // The item was moved on remove of another item, it is referenced through an indirect item.
+        for (int i = directCnt, end = directCnt + getIndirectCount(pageAddr); i < end; i++) {
+            short item = getItem(pageAddr, i);
+
+            if (directItemIndex(item) == directIdx)
+                return itemId(item);
+        }
+
+        return directIdx;
+    }
+
     /**
      * Sets position to start of actual fragment data and limit to it's end.
      *
@@ -1075,7 +1106,7 @@ public abstract class AbstractDataPageIO<T extends Storable> extends PageIO impl
         int rowSize,
         int pageSize
     ) throws IgniteCheckedException {
-        return addRowFragment(pageMem, pageId, pageAddr, written, rowSize, row.link(), row, null, pageSize);
+        return addRowFragment(pageMem, pageId, pageAddr, written, rowSize, row.link(), row, pageSize);
     }
 
     /**
@@ -1086,16 +1117,29 @@ public abstract class AbstractDataPageIO<T extends Storable> extends PageIO impl
      * @param payload Payload bytes.
      * @param lastLink Link to the previous written fragment (link to the tail).
      * @param pageSize Page size.
+     * @return Item ID.
      * @throws IgniteCheckedException If failed.
      */
-    public void addRowFragment(
+    public int addRowFragment(
         long pageId,
         long pageAddr,
         byte[] payload,
         long lastLink,
         int pageSize
     ) throws IgniteCheckedException {
-        addRowFragment(null, pageId, pageAddr, 0, 0, lastLink, null, payload, pageSize);
+        int directCnt = getDirectCount(pageAddr);
+        int indirectCnt = getIndirectCount(pageAddr);
+
+        int fullEntrySize = getPageEntrySize(payload.length, SHOW_PAYLOAD_LEN | SHOW_LINK | SHOW_ITEM);
+        int dataOff = getDataOffsetForWrite(pageAddr, fullEntrySize, directCnt, indirectCnt, pageSize);
+
+        PageUtils.putShort(pageAddr, dataOff, (short)(payload.length | FRAGMENTED_FLAG));
+
+        PageUtils.putLong(pageAddr, dataOff + 2, lastLink);
+
+        PageUtils.putBytes(pageAddr, dataOff + 10, payload);
+
+        return addItem(pageAddr, fullEntrySize, directCnt, indirectCnt, dataOff, pageSize);
     }
 
     /**
@@ -1108,7 +1152,6 @@ public abstract class AbstractDataPageIO<T extends Storable> extends PageIO impl
      * @param rowSize Row size.
      * @param lastLink Link to the previous written fragment (link to the tail).
      * @param row Row.
-     * @param payload Payload bytes.
      * @param pageSize Page size.
      * @return Written payload size.
      * @throws IgniteCheckedException If failed.
@@ -1121,56 +1164,40 @@ public abstract class AbstractDataPageIO<T extends Storable> extends PageIO impl
         int rowSize,
         long lastLink,
         T row,
-        byte[] payload,
         int pageSize
     ) throws IgniteCheckedException {
-        assert payload == null ^ row == null;
-
         int directCnt = getDirectCount(pageAddr);
         int indirectCnt = getIndirectCount(pageAddr);
 
-        int payloadSize = payload != null ? payload.length :
-            Math.min(rowSize - written, getFreeSpace(pageAddr));
+        int payloadSize = Math.min(rowSize - written, getFreeSpace(pageAddr));
 
-        if (row != null) {
-            int remain = rowSize - written - payloadSize;
-            int hdrSize = row.headerSize();
+        int remain = rowSize - written - payloadSize;
+        int hdrSize = row.headerSize();
 
-            // We need page header (i.e. MVCC info) is located entirely on the very first page in chain.
-            // So we force moving it to the next page if it could not fit entirely on this page.
-            if (remain > 0 && remain < hdrSize)
-                payloadSize -= hdrSize - remain;
-        }
+        // We need page header (i.e. MVCC info) is located entirely on the very first page in chain.
+        // So we force moving it to the next page if it could not fit entirely on this page.
+        if (remain > 0 && remain < hdrSize)
+            payloadSize -= hdrSize - remain;
 
         int fullEntrySize = getPageEntrySize(payloadSize, SHOW_PAYLOAD_LEN | SHOW_LINK | SHOW_ITEM);
         int dataOff = getDataOffsetForWrite(pageAddr, fullEntrySize, directCnt, indirectCnt, pageSize);
 
-        if (payload == null) {
-            ByteBuffer buf = pageMem.pageBuffer(pageAddr);
-
-            buf.position(dataOff);
-
-            short p = (short)(payloadSize | FRAGMENTED_FLAG);
+        ByteBuffer buf = pageMem.pageBuffer(pageAddr);
 
-            buf.putShort(p);
-            buf.putLong(lastLink);
+        buf.position(dataOff);
 
-            int rowOff = rowSize - written - payloadSize;
+        short p = (short)(payloadSize | FRAGMENTED_FLAG);
 
-            writeFragmentData(row, buf, rowOff, payloadSize);
-        }
-        else {
-            PageUtils.putShort(pageAddr, dataOff, (short)(payloadSize | FRAGMENTED_FLAG));
+        buf.putShort(p);
+        buf.putLong(lastLink);
 
-            PageUtils.putLong(pageAddr, dataOff + 2, lastLink);
+        int rowOff = rowSize - written - payloadSize;
 
-            PageUtils.putBytes(pageAddr, dataOff + 10, payload);
-        }
+        writeFragmentData(row, buf, rowOff, payloadSize);
 
         int itemId = addItem(pageAddr, fullEntrySize, directCnt, indirectCnt, dataOff, pageSize);
 
-        if (row != null)
-            setLinkByPageId(row, pageId, itemId);
+        setLinkByPageId(row, pageId, itemId);
 
         return payloadSize;
     }
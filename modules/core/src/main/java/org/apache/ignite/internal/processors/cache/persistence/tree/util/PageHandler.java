@@ -17,6 +17,7 @@
 package org.apache.ignite.internal.processors.cache.persistence.tree.util;
 
 import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
 import org.apache.ignite.IgniteCheckedException;
 import org.apache.ignite.internal.pagemem.PageMemory;
 import org.apache.ignite.internal.pagemem.PageSupport;
@@ -34,6 +35,10 @@ import static java.lang.Boolean.TRUE;
  * Page handler.
  */
 public abstract class PageHandler<X, R> {
+    /** Buffer for page copies of optimistic reads. */
+    private static final ThreadLocal<ByteBuffer> OPTIMISTIC_READ_BUF =
+        ThreadLocal.withInitial(() -> ByteBuffer.allocateDirect(0));
+
     /** */
     private static final PageHandler<Void, Boolean> NO_OP = new PageHandler<Void, Boolean>() {
         @Override public Boolean run(int cacheId, long pageId, long page, long pageAddr, PageIO io, Boolean walPlc,
@@ -173,6 +178,67 @@ public abstract class PageHandler<X, R> {
         }
     }
 
+    /**
+     * Runs the handler on a copy of the page taken without the page lock. The copy is validated against the page
+     * write stamp before and after the handler run, so the handler may read rows referenced from the page, but it
+     * must not have side effects other than updating its argument: its result is discarded if the page was modified
+     * concurrently, and the page is read again under the read lock with {@link #readPage}.
+     *
+     * @param pageMem Page memory.
+     * @param cacheId Cache ID.
+     * @param pageId Page ID.
+     * @param page Page pointer.
+     * @param lsnr Lock listener.
+     * @param h Handler.
+     * @param arg Argument.
+     * @param intArg Argument of type {@code int}.
+     * @param lockFailed Result in case of lock failure due to page recycling.
+     * @param statHolder Statistics holder to track IO operations.
+     * @return Handler result.
+     * @throws IgniteCheckedException If failed.
+     */
+    public static <X, R> R readPageOptimistic(
+        PageMemory pageMem,
+        int cacheId,
+        long pageId,
+        long page,
+        PageLockListener lsnr,
+        PageHandler<X, R> h,
+        X arg,
+        int intArg,
+        R lockFailed,
+        IoStatisticsHolder statHolder
+    ) throws IgniteCheckedException {
+        ByteBuffer buf = OPTIMISTIC_READ_BUF.get();
+
+        if (buf.capacity() < pageMem.pageSize()) {
+            buf = ByteBuffer.allocateDirect(pageMem.pageSize()).order(ByteOrder.nativeOrder());
+
+            OPTIMISTIC_READ_BUF.set(buf);
+        }
+
+        long bufAddr = GridUnsafe.bufferAddress(buf);
+
+        long stamp = pageMem.optimisticCopy(cacheId, pageId, page, bufAddr);
+
+        if (stamp != 0L) {
+            try {
+                R res = h.run(cacheId, pageId, page, bufAddr, PageIO.getPageIO(bufAddr), null, arg, intArg,
+                    statHolder);
+
+                if (pageMem.validateStamp(cacheId, pageId, page, stamp))
+                    return res;
+            }
+            catch (IgniteCheckedException | RuntimeException | AssertionError e) {
+                // The handler could see rows which were concurrently removed, it is not an error.
+                if (pageMem.validateStamp(cacheId, pageId, page, stamp))
+                    throw e;
+            }
+        }
+
+        return readPage(pageMem, cacheId, pageId, page, lsnr, h, arg, intArg, lockFailed, statHolder);
+    }
+
     /**
      * @param pageMem Page memory.
      * @param cacheId Cache ID.
@@ -0,0 +1,430 @@
+/*
+ * Copyright 2019 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.apache.ignite.internal.processors.cache.persistence.wal;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.apache.ignite.IgniteCheckedException;
+import org.apache.ignite.IgniteLogger;
+import org.apache.ignite.internal.IgniteInterruptedCheckedException;
+import org.apache.ignite.internal.pagemem.wal.WALIterator;
+import org.apache.ignite.internal.pagemem.wal.WALPointer;
+import org.apache.ignite.internal.pagemem.wal.record.WALRecord;
+import org.apache.ignite.internal.util.GridCloseableIteratorAdapter;
+import org.apache.ignite.lang.IgniteBiTuple;
+import org.apache.ignite.thread.IgniteThreadFactory;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Base class of WAL iterators which read parts of the WAL concurrently. Every part is read by a worker thread into
+ * a queue which buffers up to a limited number of bytes of records ahead of the consumer.
+ * <p>
+ * In ordered mode every part has its own queue and the parts are returned one after another. Only a window of parts
+ * starting from the drained one is read, the next part is started when the drained one is over, so the memory
+ * used by the iterator doesn't depend on the number of parts. In unordered mode all the parts are read into a shared
+ * queue and records are returned as soon as they are read.
+ */
+public abstract class AbstractParallelWalIterator
+    extends GridCloseableIteratorAdapter<IgniteBiTuple<WALPointer, WALRecord>> implements WALIterator {
+    /** */
+    private static final long serialVersionUID = 0L;
+
+    /** Marker of the end of a part. */
+    private static final Item END = new Item(null, null);
+
+    /** Logger. */
+    protected final IgniteLogger log;
+
+    /** Ignite instance name. */
+    private final String igniteInstanceName;
+
+    /** Name of the worker threads. */
+    private final String threadName;
+
+    /** Number of parts read concurrently. */
+    private final int threads;
+
+    /** Number of bytes of records a worker may buffer ahead of the consumer. */
+    private final long readAhead;
+
+    /** Whether records are returned in WAL order. */
+    private final boolean ordered;
+
+    /** Workers. */
+    private ExecutorService exec;
+
+    /** Parts to read. */
+    private List<PartReader> parts;
+
+    /** Queues of the started parts in ordered mode, {@code null} for drained ones; a shared queue in unordered mode. */
+    private final List<ReadAheadQueue> queues = new ArrayList<>();
+
+    /** Index of the queue being drained in ordered mode. */
+    private int curQueue;
+
+    /** Number of parts which are not returned till the end yet. */
+    private int activeParts;
+
+    /** Next record to return. */
+    private IgniteBiTuple<WALPointer, WALRecord> curRec;
+
+    /** Failure of the next record read, it is thrown on the next call of {@link #next()}. */
+    private IgniteCheckedException curException;
+
+    /** Position of last returned record. */
+    private WALPointer lastRead;
+
+    /** Closed flag, workers blocked on full queues exit when it is set. */
+    private volatile boolean closed;
+
+    /**
+     * @param log Logger.
+     * @param igniteInstanceName Ignite instance name.
+     * @param threadName Name of the worker threads.
+     * @param threads Number of parts read concurrently.
+     * @param readAhead Number of bytes of records a worker may buffer ahead of the consumer.
+     * @param ordered Whether records are returned in WAL order.
+     */
+    protected AbstractParallelWalIterator(
+        IgniteLogger log,
+        String igniteInstanceName,
+        String threadName,
+        int threads,
+        long readAhead,
+        boolean ordered
+    ) {
+        assert threads > 1 : threads;
+        assert readAhead > 0 : readAhead;
+
+        this.log = log;
+        this.igniteInstanceName = igniteInstanceName;
+        this.threadName = threadName;
+        this.threads = threads;
+        this.readAhead = readAhead;
+        this.ordered = ordered;
+    }
+
+    /**
+     * Starts reading of the parts and switches to the first record. Must be called once by the constructor of the
+     * subclass.
+     *
+     * @param parts Parts to read in WAL order.
+     */
+    protected final void init(List<PartReader> parts) {
+        assert this.parts == null;
+
+        this.parts = parts;
+
+        activeParts = parts.size();
+
+        exec = Executors.newFixedThreadPool(threads, new IgniteThreadFactory(igniteInstanceName, threadName));
+
+        if (ordered) {
+            // Parts are started in WAL order, so the part being drained is always read.
+            for (int i = 0; i < threads && i < parts.size(); i++)
+                startNextPart();
+        }
+        else {
+            ReadAheadQueue queue = new ReadAheadQueue(readAhead * threads);
+
+            queues.add(queue);
+
+            for (PartReader part : parts)
+                exec.execute(() -> readPart(queue, part));
+        }
+
+        try {
+            advance();
+        }
+        catch (IgniteCheckedException e) {
+            curException = e;
+        }
+    }
+
+    /**
+     * Starts reading of the next part in ordered mode.
+     */
+    private void startNextPart() {
+        ReadAheadQueue queue = new ReadAheadQueue(readAhead);
+
+        PartReader part = parts.get(queues.size());
+
+        queues.add(queue);
+
+        exec.execute(() -> readPart(queue, part));
+    }
+
+    /**
+     * Reads all the records of a part to the queue.
+     *
+     * @param queue Queue to put records to.
+     * @param part Part.
+     */
+    private void readPart(ReadAheadQueue queue, PartReader part) {
+        try {
+            try {
+                part.read(rec -> queue.put(new Item(rec, null)));
+
+                queue.put(END);
+            }
+            catch (InterruptedException e) {
+                throw e;
+            }
+            catch (IgniteCheckedException e) {
+                queue.put(new Item(null, e));
+            }
+            catch (Throwable e) {
+                queue.put(new Item(null, new IgniteCheckedException("Failed to read WAL", e)));
+            }
+        }
+        catch (InterruptedException ignored) {
+            // Iterator is closed.
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Switches to the next record.
+     *
+     * @throws IgniteCheckedException If failed.
+     */
+    private void advance() throws IgniteCheckedException {
+        curRec = null;
+
+        while (activeParts > 0) {
+            Item item;
+
+            try {
+                item = queues.get(ordered ? curQueue : 0).take();
+            }
+            catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+
+                throw new IgniteInterruptedCheckedException(e);
+            }
+
+            if (item.err != null) {
+                // Records of the following parts are not returned, just as the sequential iterator does.
+                activeParts = 0;
+
+                throw item.err;
+            }
+
+            if (item == END) {
+                activeParts--;
+
+                if (ordered) {
+                    queues.set(curQueue++, null);
+
+                    if (queues.size() < parts.size())
+                        startNextPart();
+                }
+
+                continue;
+            }
+
+            curRec = item.rec;
+
+            return;
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override protected IgniteBiTuple<WALPointer, WALRecord> onNext() throws IgniteCheckedException {
+        if (curException != null)
+            throw curException;
+
+        IgniteBiTuple<WALPointer, WALRecord> ret = curRec;
+
+        lastRead = ret.get1();
+
+        try {
+            advance();
+        }
+        catch (IgniteCheckedException e) {
+            curException = e;
+        }
+
+        return ret;
+    }
+
+    /** {@inheritDoc} */
+    @Override protected boolean onHasNext() throws IgniteCheckedException {
+        if (curRec == null && curException != null)
+            throw curException;
+
+        return curRec != null;
+    }
+
+    /** {@inheritDoc} */
+    @Override public Optional<WALPointer> lastRead() {
+        return Optional.ofNullable(lastRead);
+    }
+
+    /** {@inheritDoc} */
+    @Override protected void onClose() throws IgniteCheckedException {
+        curRec = null;
+
+        closed = true;
+
+        for (ReadAheadQueue queue : queues) {
+            if (queue != null)
+                queue.wakeUp();
+        }
+
+        if (exec == null)
+            return;
+
+        // Interrupts workers blocked on reads, they close their iterators on exit.
+        exec.shutdownNow();
+
+        try {
+            exec.awaitTermination(Long.MAX_VALUE, TimeUnit.MILLISECONDS);
+        }
+        catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+
+            throw new IgniteInterruptedCheckedException(e);
+        }
+
+        if (log.isDebugEnabled())
+            log.debug("Closed parallel WAL iterator [parts=" + parts.size() + ", started=" + queues.size() + ']');
+    }
+
+    /**
+     * Reads records of a part of the WAL in a worker thread.
+     */
+    @FunctionalInterface
+    protected interface PartReader {
+        /**
+         * @param sink Consumer of the records of the part in WAL order.
+         * @throws IgniteCheckedException If failed.
+         * @throws InterruptedException If the iterator is closed.
+         */
+        void read(RecordSink sink) throws IgniteCheckedException, InterruptedException;
+    }
+
+    /**
+     * Consumer of the records read by a worker.
+     */
+    @FunctionalInterface
+    protected interface RecordSink {
+        /**
+         * Passes the record to the iterator, blocks while the worker is too far ahead of the consumer.
+         *
+         * @param rec Record.
+         * @throws InterruptedException If the iterator is closed.
+         */
+        void accept(IgniteBiTuple<WALPointer, WALRecord> rec) throws InterruptedException;
+    }
+
+    /**
+     * Queue of the read records bounded by their serialized size.
+     */
+    private class ReadAheadQueue {
+        /** Items. */
+        private final Deque<Item> items = new ArrayDeque<>();
+
+        /** Maximum number of bytes of the buffered records. */
+        private final long maxBytes;
+
+        /** Number of bytes of the buffered records. */
+        private long bytes;
+
+        /**
+         * @param maxBytes Maximum number of bytes of the buffered records.
+         */
+        private ReadAheadQueue(long maxBytes) {
+            this.maxBytes = maxBytes;
+        }
+
+        /**
+         * @param item Item.
+         * @throws InterruptedException If the iterator is closed.
+         */
+        private synchronized void put(Item item) throws InterruptedException {
+            // An empty queue accepts a record of any size, so a huge record doesn't stall the worker.
+            while (!closed && !items.isEmpty() && bytes + item.size > maxBytes)
+                wait();
+
+            if (closed)
+                throw new InterruptedException();
+
+            items.add(item);
+
+            bytes += item.size;
+
+            notifyAll();
+        }
+
+        /**
+         * @return Item.
+         * @throws InterruptedException If interrupted.
+         */
+        private synchronized Item take() throws InterruptedException {
+            while (items.isEmpty())
+                wait();
+
+            Item item = items.poll();
+
+            bytes -= item.size;
+
+            notifyAll();
+
+            return item;
+        }
+
+        /**
+         * Wakes up the worker blocked on the queue after the iterator is closed.
+         */
+        private synchronized void wakeUp() {
+            notifyAll();
+        }
+    }
+
+    /**
+     * Record or failure of a part read.
+     */
+    private static class Item {
+        /** Record. */
+        @Nullable private final IgniteBiTuple<WALPointer, WALRecord> rec;
+
+        /** Failure. */
+        @Nullable private final IgniteCheckedException err;
+
+        /** Serialized size of the record. */
+        private final int size;
+
+        /**
+         * @param rec Record.
+         * @param err Failure.
+         */
+        private Item(@Nullable IgniteBiTuple<WALPointer, WALRecord> rec, @Nullable IgniteCheckedException err) {
+            this.rec = rec;
+            this.err = err;
+
+            size = rec == null ? 0 : Math.max(rec.get2().size(), 1);
+        }
+    }
+}
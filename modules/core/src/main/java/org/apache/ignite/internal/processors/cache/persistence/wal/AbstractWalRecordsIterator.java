@@ -359,7 +359,9 @@ public abstract class AbstractWalRecordsIterator
 
             int serVer = segmentHdr.getSerializerVersion();
 
-            return createReadFileHandle(fileIO, serializerFactory.createSerializer(serVer), in);
+            RecordSerializer ser = serializerFactory.createSerializer(serVer, segmentHdr.getChecksumAlgorithm());
+
+            return createReadFileHandle(fileIO, ser, in);
         }
         catch (SegmentEofException | EOFException ignore) {
             try {
@@ -0,0 +1,113 @@
+/*
+ * Copyright 2019 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.apache.ignite.internal.processors.cache.persistence.wal;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.apache.ignite.IgniteCheckedException;
+import org.apache.ignite.IgniteLogger;
+import org.apache.ignite.internal.pagemem.wal.IgniteWriteAheadLogManager;
+import org.apache.ignite.internal.pagemem.wal.WALIterator;
+import org.apache.ignite.internal.pagemem.wal.WALPointer;
+import org.apache.ignite.internal.pagemem.wal.record.WALRecord;
+import org.apache.ignite.lang.IgniteBiTuple;
+import org.apache.ignite.lang.IgnitePredicate;
+
+/**
+ * Iterator over the local WAL which reads the range in chunks concurrently. Every archived segment forms a chunk,
+ * the segments which are not archived yet form the last chunk. Chunks are read and filtered by a window of workers
+ * following the consumer, every worker buffers up to a segment of records, so the workers are not stalled while the
+ * consumer drains the preceding chunks. The chunks are returned one after another, so the records are returned in
+ * the same order as the sequential {@link IgniteWriteAheadLogManager#replay(WALPointer)} returns them.
+ */
+public class ChunkedWalReplayIterator extends AbstractParallelWalIterator {
+    /** */
+    private static final long serialVersionUID = 0L;
+
+    /**
+     * @param igniteInstanceName Ignite instance name.
+     * @param log Logger.
+     * @param wal WAL manager.
+     * @param start Pointer to read from.
+     * @param threads Maximum number of chunks read concurrently, must be greater than {@code 1}.
+     * @param segmentSize WAL segment size, the maximum number of bytes of records a worker buffers.
+     * @param filter Filter of records applied by the workers.
+     */
+    public ChunkedWalReplayIterator(
+        String igniteInstanceName,
+        IgniteLogger log,
+        IgniteWriteAheadLogManager wal,
+        FileWALPointer start,
+        int threads,
+        long segmentSize,
+        IgnitePredicate<WALRecord> filter
+    ) {
+        super(log, igniteInstanceName, "wal-history-reader", threads, segmentSize, true);
+
+        long lastArchivedIdx = wal.lastArchivedSegment();
+
+        List<PartReader> chunks = new ArrayList<>();
+
+        for (long idx = start.index(); idx <= lastArchivedIdx; idx++) {
+            FileWALPointer chunkStart = idx == start.index() ? start : new FileWALPointer(idx, 0, 0);
+
+            chunks.add(sink -> readChunk(sink, wal, chunkStart, chunkStart.index() + 1, filter));
+        }
+
+        FileWALPointer tailStart = lastArchivedIdx < start.index() ? start :
+            new FileWALPointer(lastArchivedIdx + 1, 0, 0);
+
+        chunks.add(sink -> readChunk(sink, wal, tailStart, Long.MAX_VALUE, filter));
+
+        if (log.isDebugEnabled())
+            log.debug("Reading WAL in chunks [start=" + start + ", chunks=" + chunks.size() + ']');
+
+        init(chunks);
+    }
+
+    /**
+     * Reads the records of a chunk.
+     *
+     * @param sink Consumer of the records.
+     * @param wal WAL manager.
+     * @param start Pointer to read from.
+     * @param endIdx Index of the first segment which does not belong to the chunk.
+     * @param filter Filter of records.
+     * @throws IgniteCheckedException If failed.
+     * @throws InterruptedException If the iterator is closed.
+     */
+    private static void readChunk(
+        RecordSink sink,
+        IgniteWriteAheadLogManager wal,
+        FileWALPointer start,
+        long endIdx,
+        IgnitePredicate<WALRecord> filter
+    ) throws IgniteCheckedException, InterruptedException {
+        try (WALIterator it = wal.replay(start)) {
+            while (it.hasNextX()) {
+                IgniteBiTuple<WALPointer, WALRecord> rec = it.nextX();
+
+                if (((FileWALPointer)rec.get1()).index() >= endIdx)
+                    break;
+
+                if (filter.apply(rec.get2()))
+                    sink.accept(rec);
+            }
+        }
+    }
+}
@@ -18,6 +18,7 @@ package org.apache.ignite.internal.processors.cache.persistence.wal;
 
 import java.io.File;
 import java.io.IOException;
+import org.apache.ignite.internal.processors.cache.persistence.file.ChunkCompressedFileIO;
 import org.apache.ignite.internal.processors.cache.persistence.file.FileIO;
 import org.apache.ignite.internal.processors.cache.persistence.file.FileIOFactory;
 import org.apache.ignite.internal.processors.cache.persistence.file.FilePageStoreManager;
@@ -140,7 +141,14 @@ public class FileDescriptor implements Comparable<FileDescriptor>, AbstractWalRe
 
     /** {@inheritDoc} */
     @Override public SegmentIO toReadOnlyIO(FileIOFactory fileIOFactory) throws IOException {
-        FileIO fileIO = isCompressed() ? new UnzipFileIO(file()) : fileIOFactory.create(file(), READ);
+        FileIO fileIO;
+
+        if (isCompressed()) {
+            fileIO = ChunkCompressedFileIO.isChunkCompressed(file(), fileIOFactory) ?
+                new ChunkCompressedFileIO(file(), fileIOFactory) : new UnzipFileIO(file());
+        }
+        else
+            fileIO = fileIOFactory.create(file(), READ);
 
         return new SegmentIO(idx, fileIO);
     }
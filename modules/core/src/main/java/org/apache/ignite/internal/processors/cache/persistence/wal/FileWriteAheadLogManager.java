@@ -26,6 +26,7 @@ import java.io.FileInputStream;
 import java.io.FileNotFoundException;
 import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
 import java.nio.channels.ClosedByInterruptException;
@@ -54,8 +55,10 @@ import java.util.zip.ZipEntry;
 import java.util.zip.ZipInputStream;
 import java.util.zip.ZipOutputStream;
 import org.apache.ignite.IgniteCheckedException;
+import org.apache.ignite.IgniteException;
 import org.apache.ignite.IgniteLogger;
 import org.apache.ignite.IgniteSystemProperties;
+import org.apache.ignite.configuration.ChecksumAlgorithm;
 import org.apache.ignite.configuration.DataStorageConfiguration;
 import org.apache.ignite.configuration.DiskPageCompression;
 import org.apache.ignite.configuration.IgniteConfiguration;
@@ -84,12 +87,16 @@ import org.apache.ignite.internal.processors.cache.WalStateManager.WALDisableCon
 import org.apache.ignite.internal.processors.cache.persistence.DataStorageMetricsImpl;
 import org.apache.ignite.internal.processors.cache.persistence.GridCacheDatabaseSharedManager;
 import org.apache.ignite.internal.processors.cache.persistence.StorageException;
+import org.apache.ignite.internal.processors.cache.persistence.file.ChunkCompressedFileIO;
+import org.apache.ignite.internal.processors.cache.persistence.file.ChunkCompressedOutputStream;
 import org.apache.ignite.internal.processors.cache.persistence.file.FileIO;
 import org.apache.ignite.internal.processors.cache.persistence.file.FileIOFactory;
 import org.apache.ignite.internal.processors.cache.persistence.file.FilePageStoreManager;
 import org.apache.ignite.internal.processors.cache.persistence.file.RandomAccessFileIOFactory;
 import org.apache.ignite.internal.processors.cache.persistence.filename.PdsFolderSettings;
 import org.apache.ignite.internal.processors.cache.persistence.wal.aware.SegmentAware;
+import org.apache.ignite.internal.processors.cache.persistence.wal.cdc.ChangeEventConsumer;
+import org.apache.ignite.internal.processors.cache.persistence.wal.cdc.WalChangeDataCapture;
 import org.apache.ignite.internal.processors.cache.persistence.wal.crc.FastCrc;
 import org.apache.ignite.internal.processors.cache.persistence.wal.crc.IgniteDataIntegrityViolationException;
 import org.apache.ignite.internal.processors.cache.persistence.wal.filehandle.AbstractFileHandle;
@@ -106,10 +113,13 @@ import org.apache.ignite.internal.processors.cache.persistence.wal.serializer.Re
 import org.apache.ignite.internal.processors.cache.persistence.wal.serializer.RecordSerializerFactory;
 import org.apache.ignite.internal.processors.cache.persistence.wal.serializer.RecordSerializerFactoryImpl;
 import org.apache.ignite.internal.processors.cache.persistence.wal.serializer.RecordV1Serializer;
+import org.apache.ignite.internal.processors.cache.persistence.wal.serializer.SegmentHeader;
+import org.apache.ignite.internal.processors.compress.ChunkCompressionUtils;
 import org.apache.ignite.internal.processors.compress.CompressionProcessor;
 import org.apache.ignite.internal.processors.failure.FailureProcessor;
 import org.apache.ignite.internal.processors.timeout.GridTimeoutObject;
 import org.apache.ignite.internal.processors.timeout.GridTimeoutProcessor;
+import org.apache.ignite.internal.util.GridConcurrentHashSet;
 import org.apache.ignite.internal.util.GridUnsafe;
 import org.apache.ignite.internal.util.future.GridFinishedFuture;
 import org.apache.ignite.internal.util.future.GridFutureAdapter;
@@ -130,6 +140,7 @@ import org.apache.ignite.thread.IgniteThread;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
 import static java.nio.file.StandardOpenOption.CREATE;
 import static java.nio.file.StandardOpenOption.READ;
 import static java.nio.file.StandardOpenOption.WRITE;
@@ -279,6 +290,9 @@ public class FileWriteAheadLogManager extends GridCacheSharedManagerAdapter impl
     /** */
     private File walWorkDir;
 
+    /** WAL work directory followed by WAL stripe directories. */
+    private File[] walWorkDirs;
+
     /** WAL archive directory (including consistent ID as subfolder) */
     private File walArchiveDir;
 
@@ -314,6 +328,9 @@ public class FileWriteAheadLogManager extends GridCacheSharedManagerAdapter impl
     /** Decompressor. */
     private FileDecompressor decompressor;
 
+    /** Running change data captures. */
+    private final Set<WalChangeDataCapture> changeCaptures = new GridConcurrentHashSet<>();
+
     /** Current log segment handle. */
     private volatile FileWriteHandle currHnd;
 
@@ -373,6 +390,12 @@ public class FileWriteAheadLogManager extends GridCacheSharedManagerAdapter impl
     /** Page snapshot records compression level. */
     private int pageCompressionLevel;
 
+    /** WAL compaction algorithm, segments are compressed with ZIP if disabled. */
+    private DiskPageCompression compactionCompression = DiskPageCompression.DISABLED;
+
+    /** WAL compaction level of {@link #compactionCompression}. */
+    private int compactionCompressionLevel;
+
     /**
      * @param ctx Kernal context.
      */
@@ -440,7 +463,10 @@ public class FileWriteAheadLogManager extends GridCacheSharedManagerAdapter impl
                 "write ahead log archive directory"
             );
 
-            serializer = new RecordSerializerFactoryImpl(cctx).createSerializer(serializerVer);
+            final File[] walWorkDirs0 = walWorkDirs = initStripeDirectories(walWorkDir0, resolveFolders.folderName());
+
+            serializer = new RecordSerializerFactoryImpl(cctx)
+                .createSerializer(serializerVer, dsCfg.getChecksumAlgorithm());
 
             GridCacheDatabaseSharedManager dbMgr = (GridCacheDatabaseSharedManager)cctx.database();
 
@@ -453,8 +479,10 @@ public class FileWriteAheadLogManager extends GridCacheSharedManagerAdapter impl
                     @Override public Long apply() {
                         long size = 0;
 
-                        for (File f : walWorkDir0.listFiles())
-                            size += f.length();
+                        for (File dir : walWorkDirs0) {
+                            for (File f : dir.listFiles())
+                                size += f.length();
+                        }
 
                         for (File f : walArchiveDir0.listFiles())
                             size += f.length();
@@ -468,6 +496,23 @@ public class FileWriteAheadLogManager extends GridCacheSharedManagerAdapter impl
             // We have to initialize compressor before archiver in order to setup already compressed segments.
             // Otherwise, FileArchiver initialization will trigger redundant work for FileCompressor.
             if (dsCfg.isWalCompactionEnabled()) {
+                compactionCompression = dsCfg.getWalCompactionCompression();
+
+                if (compactionCompression != DiskPageCompression.DISABLED) {
+                    try {
+                        ChunkCompressionUtils.checkSupported(compactionCompression);
+                    }
+                    catch (IgniteException e) {
+                        throw new IgniteCheckedException("Unsupported WAL compaction compression: " +
+                            compactionCompression, e);
+                    }
+
+                    compactionCompressionLevel = dsCfg.getWalCompactionCompressionLevel() != null ?
+                        CompressionProcessor.checkCompressionLevelBounds(dsCfg.getWalCompactionCompressionLevel(),
+                            compactionCompression) :
+                        CompressionProcessor.getDefaultCompressionLevel(compactionCompression);
+                }
+
                 compressor = new FileCompressor(log);
 
                 decompressor = new FileDecompressor(log);
@@ -478,7 +523,7 @@ public class FileWriteAheadLogManager extends GridCacheSharedManagerAdapter impl
             else
                 archiver = null;
 
-            segmentRouter = new SegmentRouter(walWorkDir, walArchiveDir, segmentAware, dsCfg);
+            segmentRouter = new SegmentRouter(walWorkDirs, walArchiveDir, segmentAware, dsCfg);
 
             fileHandleManager = fileHandleManagerFactory.build(
                 cctx, metrics, mmap, serializer, this::currentHandle
@@ -624,6 +669,11 @@ public class FileWriteAheadLogManager extends GridCacheSharedManagerAdapter impl
             U.error(log, "Failed to gracefully close WAL segment: " + this.currHnd, e);
         }
 
+        for (WalChangeDataCapture capture : changeCaptures)
+            capture.stop();
+
+        changeCaptures.clear();
+
         segmentAware.interrupt();
 
         try {
@@ -991,6 +1041,36 @@ public class FileWriteAheadLogManager extends GridCacheSharedManagerAdapter impl
         segmentAware.release(((FileWALPointer)start).index());
     }
 
+    /**
+     * Starts capturing changes of cache entries from WAL. The capture is stopped on node stop or deactivation.
+     *
+     * @param consumer Consumer of changes.
+     * @param from Position of the last confirmed event or {@code null} to start from the oldest available record.
+     * @param cacheIds IDs of captured caches, {@code null} to capture all caches.
+     * @return Started capture.
+     * @throws IgniteCheckedException If WAL from the start position is not available anymore.
+     * @see WalChangeDataCapture
+     */
+    public WalChangeDataCapture startChangeDataCapture(
+        ChangeEventConsumer consumer,
+        @Nullable FileWALPointer from,
+        @Nullable Set<Integer> cacheIds
+    ) throws IgniteCheckedException {
+        if (mode == WALMode.NONE)
+            throw new IgniteCheckedException("Change data capture requires WAL to be enabled.");
+
+        changeCaptures.removeIf(GridWorker::isDone);
+
+        WalChangeDataCapture capture = new WalChangeDataCapture(cctx.igniteInstanceName(), this, consumer, from,
+            cacheIds, log);
+
+        capture.start();
+
+        changeCaptures.add(capture);
+
+        return capture;
+    }
+
     /**
      * @param absIdx Absolulte index to check.
      * @return {@code true} if has this index.
@@ -1232,6 +1312,53 @@ public class FileWriteAheadLogManager extends GridCacheSharedManagerAdapter impl
         return dir;
     }
 
+    /**
+     * Initializes directories the work segment files are distributed across, see
+     * {@link DataStorageConfiguration#setWalStripePaths(String...)}.
+     *
+     * @param workDir WAL work directory.
+     * @param consId Consistent ID.
+     * @return WAL work directory followed by WAL stripe directories.
+     * @throws IgniteCheckedException If failed.
+     */
+    private File[] initStripeDirectories(File workDir, String consId) throws IgniteCheckedException {
+        String[] stripePaths = dsCfg.getWalStripePaths();
+
+        if (F.isEmpty(stripePaths))
+            return new File[] {workDir};
+
+        if (!isArchiverEnabled()) {
+            throw new IgniteCheckedException("WAL stripe paths require WAL archive directory to differ from " +
+                "WAL work directory [walPath=" + dsCfg.getWalPath() + ", walArchivePath=" +
+                dsCfg.getWalArchivePath() + ']');
+        }
+
+        File[] dirs = new File[stripePaths.length + 1];
+
+        dirs[0] = workDir;
+
+        for (int i = 0; i < stripePaths.length; i++) {
+            File dir = initDirectory(stripePaths[i], null, consId, "write ahead log stripe directory");
+
+            for (int j = 0; j < i + 1; j++) {
+                if (dir.equals(dirs[j]) || dir.equals(walArchiveDir))
+                    throw new IgniteCheckedException("WAL stripe directories must be unique: " + dir);
+            }
+
+            dirs[i + 1] = dir;
+        }
+
+        return dirs;
+    }
+
+    /**
+     * @param workIdx Index of the segment in the WAL work directory.
+     * @return Segment file in the WAL work directory or in a WAL stripe directory.
+     */
+    private File workFile(long workIdx) {
+        return SegmentRouter.workFile(walWorkDirs, workIdx);
+    }
+
     /**
      * @return Current log segment handle.
      */
@@ -1317,7 +1444,7 @@ public class FileWriteAheadLogManager extends GridCacheSharedManagerAdapter impl
 
         long segNo = archiver0 == null ? absIdx : absIdx % dsCfg.getWalSegments();
 
-        File curFile = new File(walWorkDir, FileDescriptor.fileName(segNo));
+        File curFile = workFile(segNo);
 
         int off = lastReadPtr == null ? 0 : lastReadPtr.fileOffset();
         int len = lastReadPtr == null ? 0 : lastReadPtr.length();
@@ -1333,17 +1460,22 @@ public class FileWriteAheadLogManager extends GridCacheSharedManagerAdapter impl
             try {
                 int serVer = serializerVer;
 
+                ChecksumAlgorithm crcAlgo = dsCfg.getChecksumAlgorithm();
+
                 // If we have existing segment, try to read version from it.
                 if (lastReadPtr != null) {
                     try {
-                        serVer = readSegmentHeader(fileIO, segmentFileInputFactory).getSerializerVersion();
+                        SegmentHeader hdr = readSegmentHeader(fileIO, segmentFileInputFactory);
+
+                        serVer = hdr.getSerializerVersion();
+                        crcAlgo = hdr.getChecksumAlgorithm();
                     }
                     catch (SegmentEofException | EOFException ignore) {
                         serVer = serializerVer;
                     }
                 }
 
-                RecordSerializer ser = new RecordSerializerFactoryImpl(cctx).createSerializer(serVer);
+                RecordSerializer ser = new RecordSerializerFactoryImpl(cctx).createSerializer(serVer, crcAlgo);
 
                 if (log.isInfoEnabled())
                     log.info("Resuming logging to WAL segment [file=" + curFile.getAbsolutePath() +
@@ -1459,8 +1591,8 @@ public class FileWriteAheadLogManager extends GridCacheSharedManagerAdapter impl
      */
     private void checkOrPrepareFiles() throws StorageException {
         // Clean temp files.
-        {
-            File[] tmpFiles = walWorkDir.listFiles(WAL_SEGMENT_TEMP_FILE_FILTER);
+        for (File dir : walWorkDirs) {
+            File[] tmpFiles = dir.listFiles(WAL_SEGMENT_TEMP_FILE_FILTER);
 
             if (!F.isEmpty(tmpFiles)) {
                 for (File tmp : tmpFiles) {
@@ -1473,7 +1605,7 @@ public class FileWriteAheadLogManager extends GridCacheSharedManagerAdapter impl
             }
         }
 
-        File[] allFiles = walWorkDir.listFiles(WAL_SEGMENT_FILE_FILTER);
+        File[] allFiles = relocateWorkSegments();
 
         if (isArchiverEnabled())
             if (allFiles.length != 0 && allFiles.length > dsCfg.getWalSegments())
@@ -1482,7 +1614,7 @@ public class FileWriteAheadLogManager extends GridCacheSharedManagerAdapter impl
 
         // Allocate the first segment synchronously. All other segments will be allocated by archiver in background.
         if (allFiles.length == 0) {
-            File first = new File(walWorkDir, FileDescriptor.fileName(0));
+            File first = workFile(0);
 
             createFile(first);
         }
@@ -1490,6 +1622,54 @@ public class FileWriteAheadLogManager extends GridCacheSharedManagerAdapter impl
             checkFiles(0, false, null, null);
     }
 
+    /**
+     * Moves work segments to their directories if WAL stripe paths have changed since the last start.
+     *
+     * @return All the work segments.
+     * @throws StorageException If failed.
+     */
+    private File[] relocateWorkSegments() throws StorageException {
+        List<File> res = new ArrayList<>();
+
+        for (File dir : walWorkDirs) {
+            File[] files = dir.listFiles(WAL_SEGMENT_FILE_FILTER);
+
+            if (F.isEmpty(files))
+                continue;
+
+            for (File file : files) {
+                File dst = workFile(new FileDescriptor(file).idx());
+
+                if (!dst.equals(file)) {
+                    if (dst.exists()) {
+                        throw new StorageException("Failed to move WAL segment to its stripe directory, " +
+                            "the segment is present in both directories [src=" + file.getAbsolutePath() +
+                            ", dst=" + dst.getAbsolutePath() + ']');
+                    }
+
+                    if (log.isInfoEnabled())
+                        log.info("Moving WAL segment [src=" + file.getAbsolutePath() + ", dst=" + dst + ']');
+
+                    try {
+                        File tmp = new File(dst.getParent(), dst.getName() + TMP_SUFFIX);
+
+                        Files.copy(file.toPath(), tmp.toPath());
+                        Files.move(tmp.toPath(), dst.toPath(), ATOMIC_MOVE);
+                        Files.delete(file.toPath());
+                    }
+                    catch (IOException e) {
+                        throw new StorageException("Failed to move WAL segment [src=" + file.getAbsolutePath() +
+                            ", dst=" + dst.getAbsolutePath() + ']', e);
+                    }
+                }
+
+                res.add(dst);
+            }
+        }
+
+        return res.toArray(new File[res.size()]);
+    }
+
     /**
      * Clears whole the file, fills with zeros for Default mode.
      *
@@ -1572,7 +1752,7 @@ public class FileWriteAheadLogManager extends GridCacheSharedManagerAdapter impl
         if (archiver0 == null) {
             segmentAware.setLastArchivedAbsoluteIndex(curIdx);
 
-            return new File(walWorkDir, FileDescriptor.fileName(curIdx + 1));
+            return workFile(curIdx + 1);
         }
 
         long absNextIdxStartTime = System.nanoTime();
@@ -1595,7 +1775,7 @@ public class FileWriteAheadLogManager extends GridCacheSharedManagerAdapter impl
 
         long segmentIdx = absNextIdx % dsCfg.getWalSegments();
 
-        return new File(walWorkDir, FileDescriptor.fileName(segmentIdx));
+        return workFile(segmentIdx);
     }
 
     /**
@@ -1769,11 +1949,13 @@ public class FileWriteAheadLogManager extends GridCacheSharedManagerAdapter impl
             // If WAL archive is empty, try to find last not archived segment in work directory and copy to WAL archive.
             TreeMap<Long, FileDescriptor> workIndices = new TreeMap<>();
 
-            for (File file : walWorkDir.listFiles(WAL_SEGMENT_COMPACTED_OR_RAW_FILE_FILTER)) {
-                FileDescriptor desc = readFileDescriptor(file, ioFactory);
+            for (File dir : walWorkDirs) {
+                for (File file : dir.listFiles(WAL_SEGMENT_COMPACTED_OR_RAW_FILE_FILTER)) {
+                    FileDescriptor desc = readFileDescriptor(file, ioFactory);
 
-                if (desc != null)
-                    workIndices.put(desc.idx(), desc);
+                    if (desc != null)
+                        workIndices.put(desc.idx(), desc);
+                }
             }
 
             if (!workIndices.isEmpty()) {
@@ -1968,7 +2150,7 @@ public class FileWriteAheadLogManager extends GridCacheSharedManagerAdapter impl
         public SegmentArchiveResult archiveSegment(long absIdx) throws StorageException {
             long segIdx = absIdx % dsCfg.getWalSegments();
 
-            File origFile = new File(walWorkDir, FileDescriptor.fileName(segIdx));
+            File origFile = workFile(segIdx);
 
             String name = FileDescriptor.fileName(absIdx);
 
@@ -2117,10 +2299,14 @@ public class FileWriteAheadLogManager extends GridCacheSharedManagerAdapter impl
         /**
          * Calculate optimal additional compressor worker threads count. If quarter of proc threads greater
          * than WAL_COMPRESSOR_WORKER_THREAD_CNT, use this value. Otherwise, reduce number of threads.
+         * The number of threads set in {@link DataStorageConfiguration#getWalCompactionThreads()} takes precedence.
          *
          * @return Optimal number of compressor threads.
          */
         private int calculateThreadCount() {
+            if (dsCfg.getWalCompactionThreads() > 0)
+                return dsCfg.getWalCompactionThreads();
+
             int procNum = Runtime.getRuntime().availableProcessors();
 
             // If quarter of proc threads greater than WAL_COMPRESSOR_WORKER_THREAD_CNT,
@@ -2265,20 +2451,22 @@ public class FileWriteAheadLogManager extends GridCacheSharedManagerAdapter impl
          */
         private void compressSegmentToFile(long nextSegment, File raw, File zip)
                 throws IOException, IgniteCheckedException {
-            int segmentSerializerVer;
+            SegmentHeader segmentHdr;
 
             try (FileIO fileIO = ioFactory.create(raw)) {
-                segmentSerializerVer = readSegmentHeader(new SegmentIO(nextSegment, fileIO), segmentFileInputFactory).getSerializerVersion();
+                segmentHdr = readSegmentHeader(new SegmentIO(nextSegment, fileIO), segmentFileInputFactory);
             }
 
-            try (ZipOutputStream zos = new ZipOutputStream(new BufferedOutputStream(new FileOutputStream(zip)))) {
-                zos.setLevel(dsCfg.getWalCompactionLevel());
-                zos.putNextEntry(new ZipEntry(nextSegment + ".wal"));
+            int segmentSerializerVer = segmentHdr.getSerializerVersion();
+
+            try (OutputStream zos = compressedSegmentOutputStream(nextSegment, zip)) {
 
                 ByteBuffer buf = ByteBuffer.allocate(HEADER_RECORD_SIZE);
                 buf.order(ByteOrder.nativeOrder());
 
-                zos.write(prepareSerializerVersionBuffer(nextSegment, segmentSerializerVer, true, buf).array());
+                // Records are copied as is, so the segment keeps its checksum algorithm.
+                zos.write(prepareSerializerVersionBuffer(
+                    nextSegment, segmentSerializerVer, segmentHdr.getChecksumAlgorithm(), true, buf).array());
 
                 final CIX1<WALRecord> appendToZipC = new CIX1<WALRecord>() {
                     @Override public void applyx(WALRecord record) throws IgniteCheckedException {
@@ -2308,6 +2496,35 @@ public class FileWriteAheadLogManager extends GridCacheSharedManagerAdapter impl
             }
         }
 
+        /**
+         * @param segIdx Segment index.
+         * @param zip Compressed file.
+         * @return Stream writing the compressed segment, ZIP if compression algorithm is not set.
+         * @throws IOException If failed.
+         */
+        private OutputStream compressedSegmentOutputStream(long segIdx, File zip) throws IOException {
+            OutputStream out = new BufferedOutputStream(new FileOutputStream(zip));
+
+            try {
+                if (compactionCompression != DiskPageCompression.DISABLED) {
+                    return new ChunkCompressedOutputStream(out, compactionCompression, compactionCompressionLevel,
+                        ChunkCompressedOutputStream.DFLT_CHUNK_SIZE);
+                }
+
+                ZipOutputStream zos = new ZipOutputStream(out);
+
+                zos.setLevel(dsCfg.getWalCompactionLevel());
+                zos.putNextEntry(new ZipEntry(segIdx + ".wal"));
+
+                return zos;
+            }
+            catch (IOException | RuntimeException e) {
+                out.close();
+
+                throw e;
+            }
+        }
+
         /**
          * @param nextSegment Segment index.
          * @param ser Record Serializer.
@@ -2406,12 +2623,27 @@ public class FileWriteAheadLogManager extends GridCacheSharedManagerAdapter impl
                             + TMP_SUFFIX);
                         File unzip = new File(walArchiveDir, FileDescriptor.fileName(segmentToDecompress));
 
-                        try (ZipInputStream zis = new ZipInputStream(new BufferedInputStream(new FileInputStream(zip)));
-                             FileIO io = ioFactory.create(unzipTmp)) {
-                            zis.getNextEntry();
+                        if (ChunkCompressedFileIO.isChunkCompressed(zip, ioFactory)) {
+                            try (FileIO zio = new ChunkCompressedFileIO(zip, ioFactory);
+                                 FileIO io = ioFactory.create(unzipTmp)) {
+                                int n;
+
+                                while ((n = zio.read(arr, 0, arr.length)) > 0) {
+                                    io.writeFully(arr, 0, n);
 
-                            while (io.writeFully(arr, 0, zis.read(arr)) > 0)
-                                updateHeartbeat();
+                                    updateHeartbeat();
+                                }
+                            }
+                        }
+                        else {
+                            try (ZipInputStream zis = new ZipInputStream(
+                                    new BufferedInputStream(new FileInputStream(zip)));
+                                 FileIO io = ioFactory.create(unzipTmp)) {
+                                zis.getNextEntry();
+
+                                while (io.writeFully(arr, 0, zis.read(arr)) > 0)
+                                    updateHeartbeat();
+                            }
                         }
 
                         try {
@@ -2524,7 +2756,7 @@ public class FileWriteAheadLogManager extends GridCacheSharedManagerAdapter impl
         @Nullable IgniteInClosure<Integer> completionCallback
     ) throws StorageException {
         for (int i = startWith; i < dsCfg.getWalSegments() && (p == null || p.apply(i)); i++) {
-            File checkFile = new File(walWorkDir, FileDescriptor.fileName(i));
+            File checkFile = workFile(i);
 
             if (checkFile.exists()) {
                 if (checkFile.isDirectory())
@@ -2553,6 +2785,24 @@ public class FileWriteAheadLogManager extends GridCacheSharedManagerAdapter impl
      * @param compacted Compacted flag.
      */
     @NotNull public static ByteBuffer prepareSerializerVersionBuffer(long idx, int ver, boolean compacted, ByteBuffer buf) {
+        return prepareSerializerVersionBuffer(idx, ver, ChecksumAlgorithm.CRC32, compacted, buf);
+    }
+
+    /**
+     * Prepares segment header record.
+     *
+     * @param idx Index.
+     * @param ver Version.
+     * @param crcAlgo Checksum algorithm of the segment records.
+     * @param compacted Compacted flag.
+     */
+    @NotNull public static ByteBuffer prepareSerializerVersionBuffer(
+        long idx,
+        int ver,
+        ChecksumAlgorithm crcAlgo,
+        boolean compacted,
+        ByteBuffer buf
+    ) {
         // Write record type.
         buf.put((byte) (WALRecord.RecordType.HEADER_RECORD.ordinal() + 1));
 
@@ -2563,7 +2813,7 @@ public class FileWriteAheadLogManager extends GridCacheSharedManagerAdapter impl
         buf.putLong(compacted ? HeaderRecord.COMPACTED_MAGIC : HeaderRecord.REGULAR_MAGIC);
 
         // Place serializer version.
-        buf.putInt(ver);
+        buf.putInt(RecordV1Serializer.segmentHeaderVersion(ver, crcAlgo));
 
         // Place CRC if needed.
         if (!RecordV1Serializer.skipCrc) {
@@ -2572,7 +2822,7 @@ public class FileWriteAheadLogManager extends GridCacheSharedManagerAdapter impl
             buf.position(0);
 
             // This call will move buffer position to the end of the record again.
-            int crcVal = FastCrc.calcCrc(buf, curPos);
+            int crcVal = FastCrc.calcCrc(crcAlgo, buf, curPos);
 
             buf.putInt(crcVal);
         }
@@ -2754,7 +3004,8 @@ public class FileWriteAheadLogManager extends GridCacheSharedManagerAdapter impl
                         "[segmentIdx=" + desc.idx() + "]");
                 }
 
-                if (decompressor != null)
+                // Chunk compressed segments are read without decompression.
+                if (decompressor != null && !isChunkCompressed(zipFile))
                     decompressor.decompressFile(desc.idx()).get();
                 else
                     currDesc = zipFile;
@@ -2763,6 +3014,20 @@ public class FileWriteAheadLogManager extends GridCacheSharedManagerAdapter impl
             return (ReadFileHandle) super.initReadHandle(currDesc, start);
         }
 
+        /**
+         * @param zipFile Compressed segment.
+         * @return {@code True} if the segment is chunk compressed.
+         * @throws IgniteCheckedException If failed.
+         */
+        private boolean isChunkCompressed(FileDescriptor zipFile) throws IgniteCheckedException {
+            try {
+                return ChunkCompressedFileIO.isChunkCompressed(zipFile.file(), ioFactory);
+            }
+            catch (IOException e) {
+                throw new IgniteCheckedException("Failed to read compressed segment: " + zipFile.file(), e);
+            }
+        }
+
         /** {@inheritDoc} */
         @Override protected void onClose() throws IgniteCheckedException {
             super.onClose();
@@ -2853,7 +3118,7 @@ public class FileWriteAheadLogManager extends GridCacheSharedManagerAdapter impl
                 else {
                     // Log only when no segments were read. This will help us avoiding logging on the end of the WAL.
                     if (curRec == null && curWalSegment == null) {
-                        File workDirFile = new File(walWorkDir, fileName(curWalSegmIdx % dsCfg.getWalSegments()));
+                        File workDirFile = segmentRouter.workFile(curWalSegmIdx % dsCfg.getWalSegments());
                         File archiveDirFile = new File(walArchiveDir, fileName(curWalSegmIdx));
 
                         U.warn(
@@ -2970,10 +3235,7 @@ public class FileWriteAheadLogManager extends GridCacheSharedManagerAdapter impl
             long walSegmentIdx,
             @NotNull Exception e,
             @Nullable FileWALPointer ptr) {
-            FileDescriptor fd = new FileDescriptor(
-                new File(walWorkDir, FileDescriptor.fileName(workIdx)),
-                walSegmentIdx
-            );
+            FileDescriptor fd = new FileDescriptor(segmentRouter.workFile(workIdx), walSegmentIdx);
 
             try {
                 if (!fd.file().exists())
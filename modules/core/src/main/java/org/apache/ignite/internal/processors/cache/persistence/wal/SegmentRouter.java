@@ -33,6 +33,9 @@ public class SegmentRouter {
     /** */
     private File walWorkDir;
 
+    /** WAL work directory followed by WAL stripe directories. */
+    private File[] walWorkDirs;
+
     /** WAL archive directory (including consistent ID as subfolder) */
     private File walArchiveDir;
 
@@ -53,7 +56,24 @@ public class SegmentRouter {
         File walArchiveDir,
         SegmentAware segmentAware,
         DataStorageConfiguration dsCfg) {
-        this.walWorkDir = walWorkDir;
+        this(new File[] {walWorkDir}, walArchiveDir, segmentAware, dsCfg);
+    }
+
+    /**
+     * @param walWorkDirs WAL work directory followed by WAL stripe directories.
+     * @param walArchiveDir WAL archive directory.
+     * @param segmentAware Holder of actual information of latest manipulation on WAL segments.
+     * @param dsCfg Data storage configuration.
+     */
+    public SegmentRouter(
+        File[] walWorkDirs,
+        File walArchiveDir,
+        SegmentAware segmentAware,
+        DataStorageConfiguration dsCfg) {
+        assert walWorkDirs.length > 0;
+
+        this.walWorkDir = walWorkDirs[0];
+        this.walWorkDirs = walWorkDirs;
         this.walArchiveDir = walArchiveDir;
         this.segmentAware = segmentAware;
         this.dsCfg = dsCfg;
@@ -72,7 +92,7 @@ public class SegmentRouter {
         if (segmentAware.lastArchivedAbsoluteIndex() >= segmentId || !isArchiverEnabled())
             fd = new FileDescriptor(new File(walArchiveDir, fileName(segmentId)));
         else
-            fd = new FileDescriptor(new File(walWorkDir, fileName(segmentId % dsCfg.getWalSegments())), segmentId);
+            fd = new FileDescriptor(workFile(walWorkDirs, segmentId % dsCfg.getWalSegments()), segmentId);
 
         if (!fd.file().exists()) {
             FileDescriptor zipFile = new FileDescriptor(new File(walArchiveDir, fileName(fd.idx()) + ZIP_SUFFIX));
@@ -102,6 +122,33 @@ public class SegmentRouter {
         return walWorkDir;
     }
 
+    /**
+     * @return WAL work directory followed by WAL stripe directories.
+     */
+    public File[] getWalWorkDirs() {
+        return walWorkDirs;
+    }
+
+    /**
+     * @param workIdx Index of the segment in the WAL work directory.
+     * @return Segment file in the WAL work directory or in a WAL stripe directory.
+     */
+    public File workFile(long workIdx) {
+        return workFile(walWorkDirs, workIdx);
+    }
+
+    /**
+     * Distributes work segment files across the WAL work directory and the WAL stripe directories in round-robin,
+     * every segment file is located in a single directory.
+     *
+     * @param walWorkDirs WAL work directory followed by WAL stripe directories.
+     * @param workIdx Index of the segment in the WAL work directory.
+     * @return Segment file.
+     */
+    public static File workFile(File[] walWorkDirs, long workIdx) {
+        return new File(walWorkDirs[(int)(workIdx % walWorkDirs.length)], fileName(workIdx));
+    }
+
     /**
      * @return WAL archive directory.
      */
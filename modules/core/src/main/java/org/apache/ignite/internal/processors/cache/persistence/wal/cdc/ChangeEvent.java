@@ -0,0 +1,126 @@
+/*
+ * Copyright 2019 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.cache.persistence.wal.cdc;
+
+import org.apache.ignite.internal.pagemem.wal.record.DataEntry;
+import org.apache.ignite.internal.pagemem.wal.record.DeltaDataEntry;
+import org.apache.ignite.internal.processors.cache.CacheObject;
+import org.apache.ignite.internal.processors.cache.GridCacheOperation;
+import org.apache.ignite.internal.processors.cache.KeyCacheObject;
+import org.apache.ignite.internal.processors.cache.persistence.wal.FileWALPointer;
+import org.apache.ignite.internal.processors.cache.version.GridCacheVersion;
+import org.apache.ignite.internal.util.typedef.internal.S;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Change of a cache entry captured from WAL.
+ * <p>
+ * All events of one WAL record share the {@link #position() position} of the record. An update logged as a delta
+ * to the previous value (see {@link org.apache.ignite.configuration.DataStorageConfiguration#isWalDeltaUpdatesEnabled()})
+ * has no {@link #value() value}, its {@link #entry() entry} is a {@link DeltaDataEntry}.
+ */
+public class ChangeEvent {
+    /** Position of the WAL record the event is read from. */
+    private final FileWALPointer pos;
+
+    /** Data entry. */
+    private final DataEntry entry;
+
+    /**
+     * @param pos Position of the WAL record the event is read from.
+     * @param entry Data entry.
+     */
+    public ChangeEvent(FileWALPointer pos, DataEntry entry) {
+        this.pos = pos;
+        this.entry = entry;
+    }
+
+    /**
+     * @return Position of the WAL record the event is read from.
+     */
+    public FileWALPointer position() {
+        return pos;
+    }
+
+    /**
+     * @return Cache ID.
+     */
+    public int cacheId() {
+        return entry.cacheId();
+    }
+
+    /**
+     * @return Key.
+     */
+    public KeyCacheObject key() {
+        return entry.key();
+    }
+
+    /**
+     * @return Value or {@code null} for a removal or a delta update.
+     */
+    @Nullable public CacheObject value() {
+        return entry instanceof DeltaDataEntry ? null : entry.value();
+    }
+
+    /**
+     * @return Operation.
+     */
+    public GridCacheOperation operation() {
+        return entry.op();
+    }
+
+    /**
+     * @return Write version.
+     */
+    public GridCacheVersion version() {
+        return entry.writeVersion();
+    }
+
+    /**
+     * @return Partition ID.
+     */
+    public int partition() {
+        return entry.partitionId();
+    }
+
+    /**
+     * @return Partition update counter.
+     */
+    public long partitionCounter() {
+        return entry.partitionCounter();
+    }
+
+    /**
+     * @return Expire time.
+     */
+    public long expireTime() {
+        return entry.expireTime();
+    }
+
+    /**
+     * @return Data entry as it is logged.
+     */
+    public DataEntry entry() {
+        return entry;
+    }
+
+    /** {@inheritDoc} */
+    @Override public String toString() {
+        return S.toString(ChangeEvent.class, this);
+    }
+}
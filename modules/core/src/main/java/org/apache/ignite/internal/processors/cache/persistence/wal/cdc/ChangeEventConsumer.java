@@ -0,0 +1,52 @@
+/*
+ * Copyright 2019 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.cache.persistence.wal.cdc;
+
+import java.util.Iterator;
+
+/**
+ * Consumer of changes captured from WAL by {@link WalChangeDataCapture}. All methods are called from the capture
+ * thread.
+ */
+public interface ChangeEventConsumer {
+    /**
+     * Called before the first batch of events.
+     */
+    default void start() {
+        // No-op.
+    }
+
+    /**
+     * Handles the next batch of events. Events are delivered in WAL order and each batch contains all events
+     * of the WAL records it covers.
+     * <p>
+     * Returning {@code true} confirms that this and all previous batches are processed: the capture moves its
+     * reservation of WAL segments past them, so they may be deleted from the archive. A consumer that persists
+     * events asynchronously may return {@code false} and confirm them with a later batch.
+     *
+     * @param evts Events.
+     * @return {@code True} to confirm the events.
+     */
+    public boolean onEvents(Iterator<ChangeEvent> evts);
+
+    /**
+     * Called when the capture is stopped.
+     */
+    default void stop() {
+        // No-op.
+    }
+}
@@ -0,0 +1,304 @@
+/*
+ * Copyright 2019 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.cache.persistence.wal.cdc;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import org.apache.ignite.IgniteCheckedException;
+import org.apache.ignite.IgniteLogger;
+import org.apache.ignite.internal.IgniteInterruptedCheckedException;
+import org.apache.ignite.internal.pagemem.wal.IgniteWriteAheadLogManager;
+import org.apache.ignite.internal.pagemem.wal.WALIterator;
+import org.apache.ignite.internal.pagemem.wal.WALPointer;
+import org.apache.ignite.internal.pagemem.wal.record.DataEntry;
+import org.apache.ignite.internal.pagemem.wal.record.DataRecord;
+import org.apache.ignite.internal.pagemem.wal.record.OutOfOrderDataRecord;
+import org.apache.ignite.internal.pagemem.wal.record.WALRecord;
+import org.apache.ignite.internal.pagemem.wal.record.WALRecord.RecordType;
+import org.apache.ignite.internal.processors.cache.persistence.wal.FileWALPointer;
+import org.apache.ignite.internal.util.typedef.internal.A;
+import org.apache.ignite.internal.util.typedef.internal.U;
+import org.apache.ignite.internal.util.worker.GridWorker;
+import org.apache.ignite.lang.IgniteBiPredicate;
+import org.apache.ignite.lang.IgniteBiTuple;
+import org.apache.ignite.thread.IgniteThread;
+import org.jetbrains.annotations.Nullable;
+
+import static org.apache.ignite.internal.pagemem.wal.record.WALRecord.RecordType.DATA_DELTA_RECORD;
+import static org.apache.ignite.internal.pagemem.wal.record.WALRecord.RecordType.DATA_RECORD;
+import static org.apache.ignite.internal.pagemem.wal.record.WALRecord.RecordType.ENCRYPTED_DATA_RECORD;
+import static org.apache.ignite.internal.pagemem.wal.record.WALRecord.RecordType.MVCC_DATA_RECORD;
+
+/**
+ * Tails WAL segments, both archived and the one being written, and delivers changes of cache entries to a
+ * {@link ChangeEventConsumer}. Unlike continuous queries, the capture keeps no per-update state in memory:
+ * it reads data records from the WAL and holds back deletion of the segments which are not confirmed by the
+ * consumer yet with a WAL reservation.
+ * <p>
+ * Every event carries the {@link FileWALPointer position} of its record. To resume after a restart, pass the
+ * position of the last confirmed event as the start position: records up to and including it are skipped.
+ */
+public class WalChangeDataCapture extends GridWorker {
+    /** Default interval between WAL polls when there are no new records, in milliseconds. */
+    public static final long DFLT_POLL_INTERVAL = 1000L;
+
+    /** Default maximum number of events in a batch. */
+    public static final int DFLT_BATCH_SIZE = 1024;
+
+    /** Types of records which carry entry changes. */
+    private static final IgniteBiPredicate<RecordType, WALPointer> DATA_RECORDS_FILTER = (type, ptr) ->
+        type == DATA_RECORD || type == MVCC_DATA_RECORD || type == ENCRYPTED_DATA_RECORD || type == DATA_DELTA_RECORD;
+
+    /** WAL manager. */
+    private final IgniteWriteAheadLogManager wal;
+
+    /** Consumer. */
+    private final ChangeEventConsumer consumer;
+
+    /** IDs of captured caches, {@code null} means all caches. */
+    @Nullable private final Set<Integer> cacheIds;
+
+    /** Interval between WAL polls when there are no new records. */
+    private volatile long pollInterval = DFLT_POLL_INTERVAL;
+
+    /** Maximum number of events in a batch. */
+    private volatile int batchSize = DFLT_BATCH_SIZE;
+
+    /** Position of the last read record. */
+    private FileWALPointer readPtr;
+
+    /** Position of the last confirmed record. */
+    private volatile FileWALPointer committedPtr;
+
+    /** Reserved position. */
+    private FileWALPointer reservedPtr;
+
+    /** Whether some of delivered events are not confirmed. */
+    private boolean unconfirmed;
+
+    /**
+     * @param igniteInstanceName Ignite instance name.
+     * @param wal WAL manager.
+     * @param consumer Consumer.
+     * @param from Position of the last confirmed event or {@code null} to start from the oldest available record.
+     * @param cacheIds IDs of captured caches, {@code null} to capture all caches.
+     * @param log Logger.
+     */
+    public WalChangeDataCapture(
+        String igniteInstanceName,
+        IgniteWriteAheadLogManager wal,
+        ChangeEventConsumer consumer,
+        @Nullable FileWALPointer from,
+        @Nullable Set<Integer> cacheIds,
+        IgniteLogger log
+    ) {
+        // Consumers may block for a long time, so the worker is not registered to be watched for liveness.
+        super(igniteInstanceName, "wal-change-data-capture", log);
+
+        this.wal = wal;
+        this.consumer = consumer;
+        this.cacheIds = cacheIds;
+
+        readPtr = from;
+        committedPtr = from;
+    }
+
+    /**
+     * Takes effect on the next poll of a running capture.
+     *
+     * @param pollInterval Interval between WAL polls when there are no new records, in milliseconds.
+     * @return {@code this} for chaining.
+     */
+    public WalChangeDataCapture pollInterval(long pollInterval) {
+        A.ensure(pollInterval > 0, "pollInterval > 0");
+
+        this.pollInterval = pollInterval;
+
+        return this;
+    }
+
+    /**
+     * Takes effect on the next poll of a running capture.
+     *
+     * @param batchSize Maximum number of events in a batch.
+     * @return {@code this} for chaining.
+     */
+    public WalChangeDataCapture batchSize(int batchSize) {
+        A.ensure(batchSize > 0, "batchSize > 0");
+
+        this.batchSize = batchSize;
+
+        return this;
+    }
+
+    /**
+     * @return Position of the last confirmed record or {@code null} if nothing is confirmed yet.
+     */
+    @Nullable public FileWALPointer committedPosition() {
+        return committedPtr;
+    }
+
+    /**
+     * Reserves WAL from the start position and starts the capture thread.
+     *
+     * @throws IgniteCheckedException If WAL from the start position is not available anymore.
+     */
+    public void start() throws IgniteCheckedException {
+        if (readPtr != null) {
+            if (!wal.reserve(readPtr))
+                throw new IgniteCheckedException("WAL segment of the start position is not available: " + readPtr);
+
+            reservedPtr = readPtr;
+        }
+
+        new IgniteThread(this).start();
+    }
+
+    /**
+     * Stops the capture thread and releases WAL reservation.
+     */
+    public void stop() {
+        U.cancel(this);
+
+        U.join(this, log);
+    }
+
+    /** {@inheritDoc} */
+    @Override protected void body() throws InterruptedException, IgniteInterruptedCheckedException {
+        try {
+            consumer.start();
+
+            while (!isCancelled()) {
+                if (!poll())
+                    U.sleep(pollInterval);
+            }
+        }
+        catch (IgniteInterruptedCheckedException e) {
+            if (!isCancelled())
+                throw e;
+        }
+        catch (IgniteCheckedException | RuntimeException e) {
+            U.error(log, "Change data capture is stopped due to an error [pos=" + readPtr + ']', e);
+        }
+        finally {
+            try {
+                consumer.stop();
+            }
+            finally {
+                if (reservedPtr != null)
+                    wal.release(reservedPtr);
+
+                reservedPtr = null;
+            }
+        }
+    }
+
+    /**
+     * Reads the records logged since the previous poll.
+     *
+     * @return {@code True} if some records are read.
+     * @throws IgniteCheckedException If failed.
+     */
+    private boolean poll() throws IgniteCheckedException {
+        // Records of the current segment are read from the file, make them visible.
+        wal.flush(null, false);
+
+        FileWALPointer from = readPtr;
+
+        List<ChangeEvent> batch = new ArrayList<>();
+
+        try (WALIterator it = wal.replay(from, DATA_RECORDS_FILTER)) {
+            while (it.hasNext() && !isCancelled()) {
+                IgniteBiTuple<WALPointer, WALRecord> next = it.next();
+
+                FileWALPointer ptr = (FileWALPointer)next.get1();
+
+                // Replay starts from the record at the given position which is already processed.
+                if (from != null && ptr.compareTo(from) <= 0)
+                    continue;
+
+                WALRecord rec = next.get2();
+
+                // Out-of-order updates are not applied, so they are not changes.
+                if (!(rec instanceof DataRecord) || rec instanceof OutOfOrderDataRecord)
+                    continue;
+
+                if (reservedPtr == null) {
+                    if (wal.reserve(ptr))
+                        reservedPtr = ptr;
+                }
+
+                for (DataEntry entry : ((DataRecord)rec).writeEntries()) {
+                    if (cacheIds == null || cacheIds.contains(entry.cacheId()))
+                        batch.add(new ChangeEvent(ptr, entry));
+                }
+
+                readPtr = ptr;
+
+                if (batch.size() >= batchSize) {
+                    deliver(batch);
+
+                    batch = new ArrayList<>();
+                }
+            }
+        }
+
+        if (!batch.isEmpty())
+            deliver(batch);
+        else if (!unconfirmed && readPtr != null && readPtr != committedPtr) {
+            // Skipped records of other caches need no confirmation.
+            commit(readPtr);
+        }
+
+        return readPtr != from;
+    }
+
+    /**
+     * @param batch Events.
+     * @throws IgniteCheckedException If failed to move WAL reservation.
+     */
+    private void deliver(List<ChangeEvent> batch) throws IgniteCheckedException {
+        if (consumer.onEvents(batch.iterator())) {
+            unconfirmed = false;
+
+            commit(batch.get(batch.size() - 1).position());
+        }
+        else
+            unconfirmed = true;
+    }
+
+    /**
+     * Moves WAL reservation to the given confirmed position.
+     *
+     * @param ptr Position of the last confirmed record.
+     * @throws IgniteCheckedException If failed to reserve WAL.
+     */
+    private void commit(FileWALPointer ptr) throws IgniteCheckedException {
+        if (reservedPtr == null || reservedPtr.index() != ptr.index()) {
+            if (!wal.reserve(ptr))
+                throw new IgniteCheckedException("Failed to reserve WAL segment of the confirmed position: " + ptr);
+
+            if (reservedPtr != null)
+                wal.release(reservedPtr);
+
+            reservedPtr = ptr;
+        }
+
+        committedPtr = ptr;
+    }
+}
@@ -0,0 +1,180 @@
+/*
+ * Copyright 2019 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.apache.ignite.internal.processors.cache.persistence.wal.crc;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.nio.ByteBuffer;
+
+import static java.lang.invoke.MethodType.methodType;
+
+/**
+ * CRC-32C (Castagnoli) checksum. Delegates to {@code java.util.zip.CRC32C} when it is available (Java 9 and later),
+ * which is intrinsified with hardware instructions, and falls back to a table based pure Java implementation otherwise.
+ */
+public final class Crc32C {
+    /** Reversed Castagnoli polynomial. */
+    private static final int POLY = 0x82F63B78;
+
+    /** Lookup table of the pure Java implementation. */
+    private static final int[] TABLE = new int[256];
+
+    /** {@code java.util.zip.CRC32C} constructor or {@code null} if the class is not available. */
+    private static final MethodHandle JDK_NEW;
+
+    /** {@code java.util.zip.CRC32C#update(ByteBuffer)}. */
+    private static final MethodHandle JDK_UPDATE;
+
+    /** {@code java.util.zip.CRC32C#getValue()}. */
+    private static final MethodHandle JDK_GET_VALUE;
+
+    /** {@code java.util.zip.CRC32C#reset()}. */
+    private static final MethodHandle JDK_RESET;
+
+    static {
+        for (int i = 0; i < TABLE.length; i++) {
+            int c = i;
+
+            for (int k = 0; k < 8; k++)
+                c = (c & 1) != 0 ? (c >>> 1) ^ POLY : c >>> 1;
+
+            TABLE[i] = c;
+        }
+
+        MethodHandle newMh = null;
+        MethodHandle updateMh = null;
+        MethodHandle getValMh = null;
+        MethodHandle resetMh = null;
+
+        try {
+            Class<?> cls = Class.forName("java.util.zip.CRC32C");
+
+            MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+
+            newMh = lookup.findConstructor(cls, methodType(void.class))
+                .asType(methodType(Object.class));
+            updateMh = lookup.findVirtual(cls, "update", methodType(void.class, ByteBuffer.class))
+                .asType(methodType(void.class, Object.class, ByteBuffer.class));
+            getValMh = lookup.findVirtual(cls, "getValue", methodType(long.class))
+                .asType(methodType(long.class, Object.class));
+            resetMh = lookup.findVirtual(cls, "reset", methodType(void.class))
+                .asType(methodType(void.class, Object.class));
+        }
+        catch (ReflectiveOperationException ignored) {
+            // Java 8, the pure Java implementation is used.
+            newMh = null;
+        }
+
+        JDK_NEW = newMh;
+        JDK_UPDATE = updateMh;
+        JDK_GET_VALUE = getValMh;
+        JDK_RESET = resetMh;
+    }
+
+    /** JDK checksum or {@code null} if the pure Java implementation is used. */
+    private final Object jdkCrc;
+
+    /** Current value of the pure Java implementation. */
+    private int crc = 0xFFFFFFFF;
+
+    /** */
+    public Crc32C() {
+        jdkCrc = JDK_NEW == null ? null : invokeNew();
+    }
+
+    /**
+     * @return {@code True} if {@code java.util.zip.CRC32C} is used.
+     */
+    public static boolean isJdkImplementation() {
+        return JDK_NEW != null;
+    }
+
+    /**
+     * Updates the checksum with the remaining bytes of the buffer. Buffer position is moved to its limit.
+     *
+     * @param buf Buffer.
+     */
+    public void update(ByteBuffer buf) {
+        if (jdkCrc != null) {
+            try {
+                JDK_UPDATE.invokeExact(jdkCrc, buf);
+            }
+            catch (Throwable e) {
+                throw new IllegalStateException(e);
+            }
+
+            return;
+        }
+
+        int c = crc;
+
+        int pos = buf.position();
+        int lim = buf.limit();
+
+        for (int i = pos; i < lim; i++)
+            c = (c >>> 8) ^ TABLE[(c ^ buf.get(i)) & 0xFF];
+
+        buf.position(lim);
+
+        crc = c;
+    }
+
+    /**
+     * @return Checksum value.
+     */
+    public long getValue() {
+        if (jdkCrc != null) {
+            try {
+                return (long)JDK_GET_VALUE.invokeExact(jdkCrc);
+            }
+            catch (Throwable e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+        return ~crc & 0xFFFFFFFFL;
+    }
+
+    /**
+     * Resets the checksum to its initial value.
+     */
+    public void reset() {
+        if (jdkCrc != null) {
+            try {
+                JDK_RESET.invokeExact(jdkCrc);
+            }
+            catch (Throwable e) {
+                throw new IllegalStateException(e);
+            }
+        }
+        else
+            crc = 0xFFFFFFFF;
+    }
+
+    /**
+     * @return New JDK checksum.
+     */
+    private static Object invokeNew() {
+        try {
+            return (Object)JDK_NEW.invokeExact();
+        }
+        catch (Throwable e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
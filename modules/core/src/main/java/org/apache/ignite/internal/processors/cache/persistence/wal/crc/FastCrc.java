@@ -18,16 +18,24 @@ package org.apache.ignite.internal.processors.cache.persistence.wal.crc;
 
 import java.nio.ByteBuffer;
 import java.util.zip.CRC32;
+import org.apache.ignite.configuration.ChecksumAlgorithm;
 
 /**
- * This CRC calculation implementation workf much faster then {@link PureJavaCrc32}
+ * This CRC calculation implementation workf much faster then {@link PureJavaCrc32}. Calculates CRC-32 by default,
+ * or CRC-32C (see {@link Crc32C}) if requested.
  */
 public final class FastCrc {
     /** CRC algo. */
     private static final ThreadLocal<CRC32> CRC = ThreadLocal.withInitial(CRC32::new);
 
-    /** */
-    private final CRC32 crc = new CRC32();
+    /** CRC-32C algo. */
+    private static final ThreadLocal<Crc32C> CRC32C = ThreadLocal.withInitial(Crc32C::new);
+
+    /** CRC-32 checksum, {@code null} if CRC-32C is calculated. */
+    private final CRC32 crc;
+
+    /** CRC-32C checksum, {@code null} if CRC-32 is calculated. */
+    private final Crc32C crc32c;
 
     /**
      * Current value.
@@ -36,6 +44,16 @@ public final class FastCrc {
 
     /** */
     public FastCrc() {
+        this(ChecksumAlgorithm.CRC32);
+    }
+
+    /**
+     * @param algo Checksum algorithm.
+     */
+    public FastCrc(ChecksumAlgorithm algo) {
+        crc = algo == ChecksumAlgorithm.CRC32 ? new CRC32() : null;
+        crc32c = algo == ChecksumAlgorithm.CRC32C ? new Crc32C() : null;
+
         reset();
     }
 
@@ -45,7 +63,10 @@ public final class FastCrc {
     public void reset() {
         val = 0xffffffff;
 
-        crc.reset();
+        if (crc != null)
+            crc.reset();
+        else
+            crc32c.reset();
     }
 
     /**
@@ -60,7 +81,7 @@ public final class FastCrc {
      * @param len Data length.
      */
     public void update(final ByteBuffer buf, final int len) {
-        val = calcCrc(crc, buf, len);
+        val = crc != null ? calcCrc(crc, buf, len) : calcCrc(crc32c, buf, len);
     }
 
     /**
@@ -79,6 +100,45 @@ public final class FastCrc {
         return res;
     }
 
+    /**
+     * @param algo Checksum algorithm.
+     * @param buf Input buffer.
+     * @param len Data length.
+     *
+     * @return Crc checksum.
+     */
+    public static int calcCrc(ChecksumAlgorithm algo, ByteBuffer buf, int len) {
+        if (algo == ChecksumAlgorithm.CRC32)
+            return calcCrc(buf, len);
+
+        Crc32C crcAlgo = CRC32C.get();
+
+        int res = calcCrc(crcAlgo, buf, len);
+
+        crcAlgo.reset();
+
+        return res;
+    }
+
+    /**
+     * @param crcAlgo CRC algorithm.
+     * @param buf Input buffer.
+     * @param len Buffer length.
+     *
+     * @return Crc checksum.
+     */
+    private static int calcCrc(Crc32C crcAlgo, ByteBuffer buf, int len) {
+        int initLimit = buf.limit();
+
+        buf.limit(buf.position() + len);
+
+        crcAlgo.update(buf);
+
+        buf.limit(initLimit);
+
+        return (int)crcAlgo.getValue() ^ 0xFFFFFFFF;
+    }
+
     /**
      * @param crcAlgo CRC algorithm.
      * @param buf Input buffer.
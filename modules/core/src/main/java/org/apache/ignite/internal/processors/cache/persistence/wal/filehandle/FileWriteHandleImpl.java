@@ -217,7 +217,7 @@ class FileWriteHandleImpl extends AbstractFileHandle implements FileWriteHandle
 
         assert seg != null && seg.position() > 0;
 
-        prepareSerializerVersionBuffer(getSegmentId(), serializerVer, false, seg.buffer());
+        prepareSerializerVersionBuffer(getSegmentId(), serializerVer, serializer.checksumAlgorithm(), false, seg.buffer());
 
         seg.release();
     }
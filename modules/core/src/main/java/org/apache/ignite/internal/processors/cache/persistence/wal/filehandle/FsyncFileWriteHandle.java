@@ -28,6 +28,7 @@ import java.util.concurrent.locks.ReentrantLock;
 import org.apache.ignite.IgniteCheckedException;
 import org.apache.ignite.IgniteLogger;
 import org.apache.ignite.IgniteSystemProperties;
+import org.apache.ignite.configuration.ChecksumAlgorithm;
 import org.apache.ignite.configuration.DataStorageConfiguration;
 import org.apache.ignite.configuration.WALMode;
 import org.apache.ignite.failure.FailureContext;
@@ -93,9 +94,18 @@ class FsyncFileWriteHandle extends AbstractFileHandle implements FileWriteHandle
     /** Condition activated each time writeBuffer() completes. Used to wait previously flushed write to complete */
     private final Condition writeComplete = lock.newCondition();
 
-    /** Condition for timed wait of several threads, see {@link DataStorageConfiguration#getWalFsyncDelayNanos()} */
+    /**
+     * Condition activated each time a group fsync completes. Also used for the timed wait of the group fsync leader,
+     * see {@link DataStorageConfiguration#getWalFsyncDelayNanos()}.
+     */
     private final Condition fsync = lock.newCondition();
 
+    /** Whether a group fsync leader is collecting or syncing a batch, guarded by {@link #lock}. */
+    private boolean fsyncInProgress;
+
+    /** Number of threads parked on the group fsync in progress, guarded by {@link #lock}. */
+    private int fsyncWaiters;
+
     /**
      * Next segment available condition. Protection from "spurious wakeup" is provided by predicate {@link
      * #fileIO}=<code>null</code>
@@ -195,7 +205,7 @@ class FsyncFileWriteHandle extends AbstractFileHandle implements FileWriteHandle
                 fileIO.position();
 
             long updatedPosition = writeSerializerVersion(fileIO, getSegmentId(),
-                serializer.version(), mode);
+                serializer.version(), serializer.checksumAlgorithm(), mode);
 
             written = updatedPosition;
             lastFsyncPos = updatedPosition;
@@ -212,14 +222,21 @@ class FsyncFileWriteHandle extends AbstractFileHandle implements FileWriteHandle
      * @param io I/O interface for file.
      * @param idx Segment index.
      * @param version Serializer version.
+     * @param crcAlgo Checksum algorithm of records.
      * @return I/O position after write version.
      * @throws IOException If failed to write serializer version.
      */
-    private static long writeSerializerVersion(FileIO io, long idx, int version, WALMode mode) throws IOException {
+    private static long writeSerializerVersion(
+        FileIO io,
+        long idx,
+        int version,
+        ChecksumAlgorithm crcAlgo,
+        WALMode mode
+    ) throws IOException {
         ByteBuffer buf = ByteBuffer.allocate(RecordV1Serializer.HEADER_RECORD_SIZE);
         buf.order(ByteOrder.nativeOrder());
 
-        io.writeFully(prepareSerializerVersionBuffer(idx, version, false, buf));
+        io.writeFully(prepareSerializerVersionBuffer(idx, version, crcAlgo, false, buf));
 
         // Flush
         if (mode == WALMode.FSYNC)
@@ -561,59 +578,101 @@ class FsyncFileWriteHandle extends AbstractFileHandle implements FileWriteHandle
     }
 
     /**
+     * Performs group commit: the first thread that needs an fsync becomes a leader, waits for {@link #fsyncDelay}
+     * to let concurrent committers append their records, then writes and syncs the whole accumulated batch.
+     * Threads that arrive while the leader is busy park on {@link #fsync} and return as soon as their pointer
+     * is covered by a completed fsync, otherwise one of them leads the next batch.
+     *
      * @param ptr Pointer to sync.
      * @throws StorageException If failed.
      * @throws IgniteInterruptedCheckedException If interrupted.
      */
     protected void fsync(FileWALPointer ptr, boolean stop) throws StorageException, IgniteInterruptedCheckedException {
+        boolean metricsEnabled = metrics.metricsEnabled();
+
+        long waitStart = metricsEnabled ? System.nanoTime() : 0;
+
         lock.lock();
 
         try {
-            if (ptr != null) {
-                if (!needFsync(ptr))
+            while (fsyncInProgress) {
+                if (ptr != null && !needFsync(ptr))
                     return;
 
-                if (fsyncDelay > 0 && !stopped()) {
+                fsyncWaiters++;
+
+                try {
+                    U.await(fsync);
+                }
+                finally {
+                    fsyncWaiters--;
+                }
+            }
+
+            if (ptr != null && !needFsync(ptr))
+                return;
+
+            fsyncInProgress = true;
+
+            try {
+                if (ptr != null && fsyncDelay > 0 && !stopped()) {
                     // Delay fsync to collect as many updates as possible: trade latency for throughput.
                     U.await(fsync, fsyncDelay, TimeUnit.NANOSECONDS);
 
                     if (!needFsync(ptr))
                         return;
                 }
-            }
 
-            flushOrWait(ptr, stop);
+                flushOrWait(ptr, stop);
 
-            if (stopped())
-                return;
+                if (stopped())
+                    return;
 
-            if (lastFsyncPos != written) {
-                assert lastFsyncPos < written; // Fsync position must be behind.
+                if (lastFsyncPos != written) {
+                    assert lastFsyncPos < written; // Fsync position must be behind.
 
-                boolean metricsEnabled = metrics.metricsEnabled();
+                    long syncPos = written;
 
-                long start = metricsEnabled ? System.nanoTime() : 0;
+                    int batchSize = fsyncWaiters + 1;
 
-                try {
-                    fileIO.force();
-                }
-                catch (IOException e) {
-                    throw new StorageException(e);
-                }
+                    FileIO io = fileIO;
 
-                lastFsyncPos = written;
+                    long start = metricsEnabled ? System.nanoTime() : 0;
 
-                if (fsyncDelay > 0)
-                    fsync.signalAll();
+                    // Let concurrent committers write their chains while the device is being synced,
+                    // close() waits for the fsync in progress, so the file can not be closed under our feet.
+                    lock.unlock();
 
-                long end = metricsEnabled ? System.nanoTime() : 0;
+                    try {
+                        io.force();
+                    }
+                    catch (IOException e) {
+                        throw new StorageException(e);
+                    }
+                    finally {
+                        lock.lock();
+                    }
 
-                if (metricsEnabled)
-                    metrics.onFsync(end - start);
+                    lastFsyncPos = syncPos;
+
+                    if (metricsEnabled) {
+                        metrics.onFsync(System.nanoTime() - start);
+
+                        metrics.onFsyncBatch(batchSize);
+                    }
+                }
+            }
+            finally {
+                fsyncInProgress = false;
+
+                fsync.signalAll();
             }
         }
         finally {
             lock.unlock();
+
+            if (metricsEnabled)
+                metrics.onFsyncWait(System.nanoTime() - waitStart);
         }
     }
 
@@ -626,6 +685,10 @@ class FsyncFileWriteHandle extends AbstractFileHandle implements FileWriteHandle
             lock.lock();
 
             try {
+                // The group fsync leader syncs the file without holding the lock.
+                while (fsyncInProgress)
+                    U.awaitQuiet(fsync);
+
                 flushOrWait(null, true);
 
                 assert stopped() : "Segment is not closed after close flush: " + head.get();
@@ -19,6 +19,7 @@ package org.apache.ignite.internal.processors.cache.persistence.wal.io;
 import java.io.IOException;
 import java.nio.ByteBuffer;
 
+import org.apache.ignite.configuration.ChecksumAlgorithm;
 import org.apache.ignite.internal.processors.cache.persistence.file.FileIO;
 import org.apache.ignite.internal.processors.cache.persistence.wal.ByteBufferBackedDataInput;
 import org.apache.ignite.internal.processors.cache.persistence.wal.crc.FastCrc;
@@ -49,14 +50,23 @@ public interface FileInput extends ByteBufferBackedDataInput {
      * @param skipCheck If CRC check should be skipped.
      * @return autoclosable fileInput, after its closing crc32 will be calculated and compared with saved one
      */
-    SimpleFileInput.Crc32CheckingFileInput startRead(boolean skipCheck);
+    default SimpleFileInput.Crc32CheckingFileInput startRead(boolean skipCheck) {
+        return startRead(skipCheck, ChecksumAlgorithm.CRC32);
+    }
+
+    /**
+     * @param skipCheck If CRC check should be skipped.
+     * @param crcAlgo Checksum algorithm.
+     * @return autoclosable fileInput, after its closing checksum will be calculated and compared with saved one
+     */
+    SimpleFileInput.Crc32CheckingFileInput startRead(boolean skipCheck, ChecksumAlgorithm crcAlgo);
 
     /**
      * Checking of CRC32.
      */
     public class Crc32CheckingFileInput implements ByteBufferBackedDataInput, AutoCloseable {
         /** */
-        private final FastCrc crc = new FastCrc();
+        private final FastCrc crc;
 
         /** Last calc position. */
         private int lastCalcPosition;
@@ -70,6 +80,16 @@ public interface FileInput extends ByteBufferBackedDataInput {
         /**
          */
         public Crc32CheckingFileInput(FileInput delegate, boolean skipCheck) {
+            this(delegate, skipCheck, ChecksumAlgorithm.CRC32);
+        }
+
+        /**
+         * @param delegate File input.
+         * @param skipCheck Skip crc check.
+         * @param crcAlgo Checksum algorithm.
+         */
+        public Crc32CheckingFileInput(FileInput delegate, boolean skipCheck, ChecksumAlgorithm crcAlgo) {
+            this.crc = new FastCrc(crcAlgo);
             this.delegate = delegate;
             this.lastCalcPosition = delegate.buffer().position();
             this.skipCheck = skipCheck;
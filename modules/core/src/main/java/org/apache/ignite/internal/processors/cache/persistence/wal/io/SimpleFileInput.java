@@ -20,6 +20,7 @@ import java.io.EOFException;
 import java.io.IOException;
 import java.nio.ByteBuffer;
 
+import org.apache.ignite.configuration.ChecksumAlgorithm;
 import org.apache.ignite.internal.processors.cache.persistence.file.FileIO;
 import org.apache.ignite.internal.processors.cache.persistence.wal.ByteBufferExpander;
 import org.jetbrains.annotations.NotNull;
@@ -266,7 +267,7 @@ public class SimpleFileInput implements FileInput {
      * @param skipCheck If CRC check should be skipped.
      * @return autoclosable fileInput, after its closing crc will be calculated and compared with saved one
      */
-    @Override public Crc32CheckingFileInput startRead(boolean skipCheck) {
-        return new Crc32CheckingFileInput(this, skipCheck);
+    @Override public Crc32CheckingFileInput startRead(boolean skipCheck, ChecksumAlgorithm crcAlgo) {
+        return new Crc32CheckingFileInput(this, skipCheck, crcAlgo);
     }
 }
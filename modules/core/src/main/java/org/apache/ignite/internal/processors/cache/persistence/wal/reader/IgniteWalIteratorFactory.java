@@ -175,6 +175,24 @@ public class IgniteWalIteratorFactory {
     ) throws IgniteCheckedException, IllegalArgumentException {
         iteratorParametersBuilder.validate();
 
+        if (iteratorParametersBuilder.parallelism > 1) {
+            return new ParallelStandaloneWalRecordsIterator(
+                iteratorParametersBuilder.log == null ? log : iteratorParametersBuilder.log,
+                iteratorParametersBuilder.sharedCtx == null ? prepareSharedCtx(iteratorParametersBuilder) :
+                    iteratorParametersBuilder.sharedCtx,
+                iteratorParametersBuilder.ioFactory,
+                resolveWalFiles(iteratorParametersBuilder),
+                iteratorParametersBuilder.filter,
+                iteratorParametersBuilder.lowBound,
+                iteratorParametersBuilder.highBound,
+                iteratorParametersBuilder.keepBinary,
+                iteratorParametersBuilder.bufferSize,
+                iteratorParametersBuilder.strictBoundsCheck,
+                iteratorParametersBuilder.parallelism,
+                iteratorParametersBuilder.ordered
+            );
+        }
+
         return new StandaloneWalRecordsIterator(
             iteratorParametersBuilder.log == null ? log : iteratorParametersBuilder.log,
             iteratorParametersBuilder.sharedCtx == null ? prepareSharedCtx(iteratorParametersBuilder) :
@@ -461,6 +479,12 @@ public class IgniteWalIteratorFactory {
         /** Use strict bounds check for WAL segments. */
         private boolean strictBoundsCheck;
 
+        /** Number of WAL segments decoded concurrently, {@code 1} means sequential iteration. */
+        private int parallelism = 1;
+
+        /** Whether records of concurrently decoded segments are returned in WAL order. */
+        private boolean ordered = true;
+
         /**
          * Factory method for {@link IgniteWalIteratorFactory.IteratorParametersBuilder}.
          *
@@ -626,6 +650,28 @@ public class IgniteWalIteratorFactory {
             return this;
         }
 
+        /**
+         * @param parallelism Number of WAL segments decoded concurrently. Records of a segment are always returned
+         * in the order they were logged, see {@link #ordered(boolean)} for the order of records of different segments.
+         * @return IteratorParametersBuilder Self reference.
+         */
+        public IteratorParametersBuilder parallelism(int parallelism) {
+            this.parallelism = parallelism;
+
+            return this;
+        }
+
+        /**
+         * @param ordered If {@code true} records of concurrently decoded segments are returned in WAL order,
+         * otherwise records are returned as soon as they are decoded. Has no effect for sequential iteration.
+         * @return IteratorParametersBuilder Self reference.
+         */
+        public IteratorParametersBuilder ordered(boolean ordered) {
+            this.ordered = ordered;
+
+            return this;
+        }
+
         /**
          * Copy current state of builder to new instance.
          *
@@ -644,7 +690,9 @@ public class IgniteWalIteratorFactory {
                 .from(lowBound)
                 .to(highBound)
                 .filter(filter)
-                .strictBoundsCheck(strictBoundsCheck);
+                .strictBoundsCheck(strictBoundsCheck)
+                .parallelism(parallelism)
+                .ordered(ordered);
         }
 
         /**
@@ -656,6 +704,8 @@ public class IgniteWalIteratorFactory {
 
             A.ensure(bufferSize >= pageSize * 2, "Buffer to small.");
 
+            A.ensure(parallelism > 0, "Parallelism must be positive.");
+
             A.ensure(sharedCtx == null || (binaryMetadataFileStoreDir == null &&
                 marshallerMappingFileStoreDir == null), "GridCacheSharedContext and binaryMetadataFileStoreDir/" +
                 "marshallerMappingFileStoreDir can't be specified in the same time");
@@ -0,0 +1,137 @@
+/*
+ * Copyright 2019 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.apache.ignite.internal.processors.cache.persistence.wal.reader;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.apache.ignite.IgniteCheckedException;
+import org.apache.ignite.IgniteLogger;
+import org.apache.ignite.internal.pagemem.wal.WALPointer;
+import org.apache.ignite.internal.pagemem.wal.record.WALRecord.RecordType;
+import org.apache.ignite.internal.processors.cache.GridCacheSharedContext;
+import org.apache.ignite.internal.processors.cache.persistence.file.FileIOFactory;
+import org.apache.ignite.internal.processors.cache.persistence.wal.AbstractParallelWalIterator;
+import org.apache.ignite.internal.processors.cache.persistence.wal.FileDescriptor;
+import org.apache.ignite.internal.processors.cache.persistence.wal.FileWALPointer;
+import org.apache.ignite.lang.IgniteBiPredicate;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import static org.apache.ignite.configuration.DataStorageConfiguration.DFLT_WAL_SEGMENT_SIZE;
+import static org.apache.ignite.internal.processors.cache.persistence.wal.reader.IgniteWalIteratorFactory.IteratorParametersBuilder.DFLT_HIGH_BOUND;
+
+/**
+ * Standalone WAL iterator which decodes several segments concurrently. Every segment is read by a dedicated
+ * {@link StandaloneWalRecordsIterator} in a worker thread, so records of a segment are always returned in the
+ * order they were logged. In ordered mode segments are returned one after another, which gives the same sequence
+ * of records as the sequential iterator; in unordered mode records are returned as soon as they are decoded.
+ */
+class ParallelStandaloneWalRecordsIterator extends AbstractParallelWalIterator {
+    /** */
+    private static final long serialVersionUID = 0L;
+
+    /** Number of bytes of decoded records a worker may buffer ahead of the consumer. */
+    static final long SEGMENT_READ_AHEAD = DFLT_WAL_SEGMENT_SIZE;
+
+    /** Shared context. */
+    private final GridCacheSharedContext sharedCtx;
+
+    /**
+     * @param log Logger.
+     * @param sharedCtx Shared context.
+     * @param ioFactory File I/O factory.
+     * @param walFiles WAL files.
+     * @param readTypeFilter Record filter.
+     * @param lowBound Low bound.
+     * @param highBound High bound.
+     * @param keepBinary Keep binary.
+     * @param initialReadBufferSize Read buffer size of every worker.
+     * @param strictBoundsCheck Strict bounds check.
+     * @param parallelism Number of segments decoded concurrently.
+     * @param ordered Whether records are returned in WAL order.
+     * @throws IgniteCheckedException If failed.
+     */
+    ParallelStandaloneWalRecordsIterator(
+        @NotNull IgniteLogger log,
+        @NotNull GridCacheSharedContext sharedCtx,
+        @NotNull FileIOFactory ioFactory,
+        @NotNull List<FileDescriptor> walFiles,
+        @Nullable IgniteBiPredicate<RecordType, WALPointer> readTypeFilter,
+        FileWALPointer lowBound,
+        FileWALPointer highBound,
+        boolean keepBinary,
+        int initialReadBufferSize,
+        boolean strictBoundsCheck,
+        int parallelism,
+        boolean ordered
+    ) throws IgniteCheckedException {
+        super(log, sharedCtx.igniteInstanceName(), "standalone-wal-reader", parallelism, SEGMENT_READ_AHEAD, ordered);
+
+        if (strictBoundsCheck && !walFiles.isEmpty())
+            StandaloneWalRecordsIterator.strictCheck(walFiles, lowBound, highBound);
+
+        this.sharedCtx = sharedCtx;
+
+        boolean openEnded = highBound.equals(DFLT_HIGH_BOUND);
+
+        List<PartReader> segments = new ArrayList<>();
+
+        for (FileDescriptor desc : walFiles) {
+            if (desc.idx() < lowBound.index() || desc.idx() > highBound.index())
+                continue;
+
+            FileWALPointer segLowBound = lowBound.index() == desc.idx() ? lowBound :
+                new FileWALPointer(desc.idx(), 0, 0);
+
+            FileWALPointer segHighBound = highBound.index() == desc.idx() ? highBound :
+                new FileWALPointer(desc.idx(), Integer.MAX_VALUE, 0);
+
+            segments.add(sink -> {
+                try (StandaloneWalRecordsIterator it = new StandaloneWalRecordsIterator(
+                    log,
+                    sharedCtx,
+                    ioFactory,
+                    walFiles,
+                    readTypeFilter,
+                    segLowBound,
+                    segHighBound,
+                    keepBinary,
+                    initialReadBufferSize,
+                    false,
+                    openEnded,
+                    false
+                )) {
+                    while (it.hasNextX())
+                        sink.accept(it.nextX());
+                }
+            });
+        }
+
+        init(segments);
+    }
+
+    /** {@inheritDoc} */
+    @Override protected void onClose() throws IgniteCheckedException {
+        try {
+            super.onClose();
+        }
+        finally {
+            sharedCtx.kernalContext().cacheObjects().stop(true);
+        }
+    }
+}
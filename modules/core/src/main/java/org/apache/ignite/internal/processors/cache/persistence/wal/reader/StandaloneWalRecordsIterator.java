@@ -25,8 +25,10 @@ import org.apache.ignite.IgniteCheckedException;
 import org.apache.ignite.IgniteLogger;
 import org.apache.ignite.internal.GridKernalContext;
 import org.apache.ignite.internal.pagemem.wal.WALPointer;
+import org.apache.ignite.internal.pagemem.wal.record.DataDeltaRecord;
 import org.apache.ignite.internal.pagemem.wal.record.DataEntry;
 import org.apache.ignite.internal.pagemem.wal.record.DataRecord;
+import org.apache.ignite.internal.pagemem.wal.record.DeltaDataEntry;
 import org.apache.ignite.internal.pagemem.wal.record.FilteredRecord;
 import org.apache.ignite.internal.pagemem.wal.record.MarshalledDataEntry;
 import org.apache.ignite.internal.pagemem.wal.record.MvccDataEntry;
@@ -64,6 +66,7 @@ import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import static org.apache.ignite.internal.processors.cache.persistence.wal.reader.IgniteWalIteratorFactory.IteratorParametersBuilder.DFLT_HIGH_BOUND;
+import static org.apache.ignite.internal.processors.cache.persistence.wal.reader.IgniteWalIteratorFactory.IteratorParametersBuilder.DFLT_LOW_BOUND;
 import static org.apache.ignite.internal.processors.cache.persistence.wal.serializer.RecordV1Serializer.readSegmentHeader;
 
 /**
@@ -99,6 +102,15 @@ class StandaloneWalRecordsIterator extends AbstractWalRecordsIterator {
     /** Replay to bound include */
     private final FileWALPointer highBound;
 
+    /**
+     * Whether iteration is not limited by a high bound: a corrupted tail of the last segment then ends the iteration
+     * instead of failing it.
+     */
+    private final boolean openEnded;
+
+    /** Whether the shared context processors are to be stopped when the iterator is closed. */
+    private final boolean stopCtxOnClose;
+
     /**
      * Creates iterator in file-by-file iteration mode. Directory
      *
@@ -121,11 +133,45 @@ class StandaloneWalRecordsIterator extends AbstractWalRecordsIterator {
         boolean keepBinary,
         int initialReadBufferSize,
         boolean strictBoundsCheck
+    ) throws IgniteCheckedException {
+        this(log, sharedCtx, ioFactory, walFiles, readTypeFilter, lowBound, highBound, keepBinary,
+            initialReadBufferSize, strictBoundsCheck, highBound.equals(DFLT_HIGH_BOUND), true);
+    }
+
+    /**
+     * Creates iterator in file-by-file iteration mode.
+     *
+     * @param log Logger.
+     * @param sharedCtx Shared context.
+     * @param ioFactory File I/O factory.
+     * @param walFiles Wal files.
+     * @param readTypeFilter Record filter.
+     * @param lowBound Low bound.
+     * @param highBound High bound.
+     * @param keepBinary Keep binary.
+     * @param initialReadBufferSize Read buffer size.
+     * @param strictBoundsCheck Strict bounds check.
+     * @param openEnded Whether iteration is not limited by a high bound, see {@link #openEnded}.
+     * @param stopCtxOnClose Whether to stop the shared context processors on close.
+     */
+    StandaloneWalRecordsIterator(
+        @NotNull IgniteLogger log,
+        @NotNull GridCacheSharedContext sharedCtx,
+        @NotNull FileIOFactory ioFactory,
+        @NotNull List<FileDescriptor> walFiles,
+        IgniteBiPredicate<RecordType, WALPointer> readTypeFilter,
+        FileWALPointer lowBound,
+        FileWALPointer highBound,
+        boolean keepBinary,
+        int initialReadBufferSize,
+        boolean strictBoundsCheck,
+        boolean openEnded,
+        boolean stopCtxOnClose
     ) throws IgniteCheckedException {
         super(
             log,
             sharedCtx,
-            new RecordSerializerFactoryImpl(sharedCtx, readTypeFilter),
+            new RecordSerializerFactoryImpl(sharedCtx, boundedFilter(readTypeFilter, lowBound, highBound)),
             ioFactory,
             initialReadBufferSize,
             FILE_INPUT_FACTORY
@@ -138,6 +184,8 @@ class StandaloneWalRecordsIterator extends AbstractWalRecordsIterator {
         this.highBound = highBound;
 
         this.keepBinary = keepBinary;
+        this.openEnded = openEnded;
+        this.stopCtxOnClose = stopCtxOnClose;
 
         walFileDescriptors = walFiles;
 
@@ -146,6 +194,32 @@ class StandaloneWalRecordsIterator extends AbstractWalRecordsIterator {
         advance();
     }
 
+    /**
+     * Pushes the bounds check down to the record serializer, so records out of bounds are skipped before
+     * deserialization.
+     *
+     * @param filter Record filter.
+     * @param lowBound Low bound.
+     * @param highBound High bound.
+     * @return Record filter which also checks the bounds.
+     */
+    @Nullable static IgniteBiPredicate<RecordType, WALPointer> boundedFilter(
+        @Nullable IgniteBiPredicate<RecordType, WALPointer> filter,
+        FileWALPointer lowBound,
+        FileWALPointer highBound
+    ) {
+        if (lowBound.equals(DFLT_LOW_BOUND) && highBound.equals(DFLT_HIGH_BOUND))
+            return filter;
+
+        IgniteBiPredicate<RecordType, WALPointer> bounds = (type, ptr) -> {
+            FileWALPointer ptr0 = (FileWALPointer)ptr;
+
+            return ptr0.compareTo(lowBound) >= 0 && ptr0.compareTo(highBound) <= 0;
+        };
+
+        return filter == null ? bounds : bounds.and(filter);
+    }
+
     /**
      * @param walFiles Wal files.
      * @return printable indexes of segment files.
@@ -161,7 +235,7 @@ class StandaloneWalRecordsIterator extends AbstractWalRecordsIterator {
      *
      * @throws IgniteCheckedException if failed
      */
-    private static void strictCheck(List<FileDescriptor> walFiles, FileWALPointer lowBound, FileWALPointer highBound) throws IgniteCheckedException {
+    static void strictCheck(List<FileDescriptor> walFiles, FileWALPointer lowBound, FileWALPointer highBound) throws IgniteCheckedException {
         int idx = 0;
 
         if (lowBound.index() > Long.MIN_VALUE) {
@@ -284,22 +358,13 @@ class StandaloneWalRecordsIterator extends AbstractWalRecordsIterator {
         if (tup == null)
             return tup;
 
-        if (tup.get2() instanceof FilteredRecord)
-            return new T2<>(tup.get1(), FilteredRecord.INSTANCE);
-
-        WALPointer originalPtr = tup.get2().position();
-
-        if (!checkBounds(originalPtr)) {
-            if (curRec != null) {
-                FileWALPointer prevRecPtr = (FileWALPointer)curRec.get2().position();
-
-                // Fast stop condition, after high bound reached.
-                if (prevRecPtr != null && prevRecPtr.compareTo(highBound) > 0)
-                    return null;
-            }
+        // Records are read in WAL order, so nothing is returned after the first record past the high bound, even if
+        // that record is filtered out by the serializer.
+        if (((FileWALPointer)tup.get1()).compareTo(highBound) > 0)
+            return null;
 
+        if (tup.get2() instanceof FilteredRecord || !checkBounds(tup.get2().position()))
             return new T2<>(tup.get1(), FilteredRecord.INSTANCE); // FilteredRecord for mark as filtered.
-        }
 
         return tup;
     }
@@ -361,7 +426,10 @@ class StandaloneWalRecordsIterator extends AbstractWalRecordsIterator {
         GridKernalContext kernalCtx = sharedCtx.kernalContext();
         IgniteCacheObjectProcessor processor = kernalCtx.cacheObjects();
 
-        if (processor != null && (rec.type() == RecordType.DATA_RECORD || rec.type() == RecordType.MVCC_DATA_RECORD)) {
+        RecordType type = rec.type();
+
+        if (processor != null && (type == RecordType.DATA_RECORD || type == RecordType.MVCC_DATA_RECORD ||
+            type == RecordType.DATA_DELTA_RECORD)) {
             try {
                 return postProcessDataRecord((DataRecord)rec, kernalCtx, processor);
             }
@@ -384,7 +452,7 @@ class StandaloneWalRecordsIterator extends AbstractWalRecordsIterator {
                 if (curIdx == walFileDescriptors.size() - 1)
                     // This means that there is no explicit last sengment, so we stop as if we reached the end
                     // of the WAL.
-                    if (highBound.equals(DFLT_HIGH_BOUND))
+                    if (openEnded)
                         return null;
 
         return super.handleRecordException(e, ptr);
@@ -416,9 +484,14 @@ class StandaloneWalRecordsIterator extends AbstractWalRecordsIterator {
             postProcessedEntries.add(postProcessedEntry);
         }
 
-        DataRecord res = dataRec instanceof MvccDataRecord ?
-            new MvccDataRecord(postProcessedEntries, dataRec.timestamp()) :
-            new DataRecord(postProcessedEntries, dataRec.timestamp());
+        DataRecord res;
+
+        if (dataRec instanceof MvccDataRecord)
+            res = new MvccDataRecord(postProcessedEntries, dataRec.timestamp());
+        else if (dataRec instanceof DataDeltaRecord)
+            res = new DataDeltaRecord(postProcessedEntries, dataRec.timestamp());
+        else
+            res = new DataRecord(postProcessedEntries, dataRec.timestamp());
 
         res.size(dataRec.size());
         res.position(dataRec.position());
@@ -442,6 +515,19 @@ class StandaloneWalRecordsIterator extends AbstractWalRecordsIterator {
         if (dataEntry instanceof EncryptedDataEntry)
             return dataEntry;
 
+        if (dataEntry instanceof DeltaDataEntry) {
+            DeltaDataEntry deltaEntry = (DeltaDataEntry)dataEntry;
+
+            // The new value can not be restored without the base value, only the key is unwrapped.
+            return new DeltaDataEntry(
+                postProcessDataEntry(processor, fakeCacheObjCtx, deltaEntry.keyEntry()),
+                deltaEntry.valueType(),
+                deltaEntry.baseLength(),
+                deltaEntry.baseCrc(),
+                deltaEntry.length(),
+                deltaEntry.delta());
+        }
+
         final KeyCacheObject key;
         final CacheObject val;
         boolean keepBinary = this.keepBinary || !fakeCacheObjCtx.kernalContext().marshallerContext().initialized();
@@ -518,7 +604,8 @@ class StandaloneWalRecordsIterator extends AbstractWalRecordsIterator {
 
         curWalSegmIdx = Integer.MAX_VALUE;
 
-        sharedCtx.kernalContext().cacheObjects().stop(true);
+        if (stopCtxOnClose)
+            sharedCtx.kernalContext().cacheObjects().stop(true);
     }
 
     /** {@inheritDoc} */
@@ -67,7 +67,8 @@ public class PrintRawToFileHandler extends PrintToFileHandler {
 
         buf.order(ByteOrder.nativeOrder());
 
-        FileWriteAheadLogManager.prepareSerializerVersionBuffer(0L, serializer.version(), false, buf);
+        FileWriteAheadLogManager.prepareSerializerVersionBuffer(
+            0L, serializer.version(), serializer.checksumAlgorithm(), false, buf);
 
         return buf.array();
     }
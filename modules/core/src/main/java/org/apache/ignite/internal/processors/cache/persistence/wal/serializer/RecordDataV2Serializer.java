@@ -30,8 +30,10 @@ import org.apache.ignite.internal.pagemem.FullPageId;
 import org.apache.ignite.internal.pagemem.wal.record.CacheState;
 import org.apache.ignite.internal.pagemem.wal.record.CheckpointRecord;
 import org.apache.ignite.internal.pagemem.wal.record.ConsistentCutRecord;
+import org.apache.ignite.internal.pagemem.wal.record.DataDeltaRecord;
 import org.apache.ignite.internal.pagemem.wal.record.DataEntry;
 import org.apache.ignite.internal.pagemem.wal.record.DataRecord;
+import org.apache.ignite.internal.pagemem.wal.record.DeltaDataEntry;
 import org.apache.ignite.internal.pagemem.wal.record.ExchangeRecord;
 import org.apache.ignite.internal.pagemem.wal.record.LazyMvccDataEntry;
 import org.apache.ignite.internal.pagemem.wal.record.MvccDataEntry;
@@ -126,6 +128,9 @@ public class RecordDataV2Serializer extends RecordDataV1Serializer {
             case OUT_OF_ORDER_UPDATE:
                 return 4/*entry count*/ + 8/*timestamp*/ + dataSize((DataRecord)rec);
 
+            case DATA_DELTA_RECORD:
+                return 4/*entry count*/ + 8/*timestamp*/ + deltaDataSize((DataRecord)rec);
+
             default:
                 return super.plainSize(rec);
         }
@@ -249,6 +254,17 @@ public class RecordDataV2Serializer extends RecordDataV1Serializer {
 
                 return new OutOfOrderDataRecord(entries, timeStamp);
 
+            case DATA_DELTA_RECORD:
+                entryCnt = in.readInt();
+                timeStamp = in.readLong();
+
+                entries = new ArrayList<>(entryCnt);
+
+                for (int i = 0; i < entryCnt; i++)
+                    entries.add(readDeltaDataEntry(in));
+
+                return new DataDeltaRecord(entries, timeStamp);
+
             default:
                 return super.readPlainRecord(type, in, encrypted, recordSize);
         }
@@ -305,6 +321,17 @@ public class RecordDataV2Serializer extends RecordDataV1Serializer {
 
                 break;
 
+            case DATA_DELTA_RECORD:
+                dataRec = (DataRecord)rec;
+
+                buf.putInt(dataRec.writeEntries().size());
+                buf.putLong(dataRec.timestamp());
+
+                for (DataEntry dataEntry : dataRec.writeEntries())
+                    putDeltaDataEntry(buf, dataEntry);
+
+                break;
+
             case SNAPSHOT:
                 SnapshotRecord snpRec = (SnapshotRecord)rec;
 
@@ -454,6 +481,78 @@ public class RecordDataV2Serializer extends RecordDataV1Serializer {
                 mvccVer);
     }
 
+    /**
+     * Writes a data entry of {@link DataDeltaRecord}: a flag telling whether the entry is a delta, the plain entry
+     * (without a value for a delta) and the delta itself.
+     *
+     * @param buf Buffer to write to.
+     * @param entry Data entry.
+     */
+    private void putDeltaDataEntry(ByteBuffer buf, DataEntry entry) throws IgniteCheckedException {
+        if (!(entry instanceof DeltaDataEntry)) {
+            buf.put((byte)0);
+
+            super.putPlainDataEntry(buf, entry);
+
+            return;
+        }
+
+        DeltaDataEntry deltaEntry = (DeltaDataEntry)entry;
+
+        buf.put((byte)1);
+
+        super.putPlainDataEntry(buf, deltaEntry);
+
+        buf.put(deltaEntry.valueType());
+        buf.putInt(deltaEntry.baseLength());
+        buf.putInt(deltaEntry.baseCrc());
+        buf.putInt(deltaEntry.length());
+        buf.putInt(deltaEntry.delta().length);
+        buf.put(deltaEntry.delta());
+    }
+
+    /**
+     * @param in Input to read from.
+     * @return Read entry.
+     */
+    private DataEntry readDeltaDataEntry(ByteBufferBackedDataInput in) throws IOException, IgniteCheckedException {
+        boolean isDelta = in.readByte() != 0;
+
+        DataEntry entry = super.readPlainDataEntry(in);
+
+        if (!isDelta)
+            return entry;
+
+        byte valType = in.readByte();
+        int baseLen = in.readInt();
+        int baseCrc = in.readInt();
+        int len = in.readInt();
+
+        byte[] delta = new byte[in.readInt()];
+        in.readFully(delta);
+
+        return new DeltaDataEntry(entry, valType, baseLen, baseCrc, len, delta);
+    }
+
+    /**
+     * @param dataRec Data record with delta entries.
+     * @return Size of the record entries.
+     * @throws IgniteCheckedException If failed to obtain the length of one of the entries.
+     */
+    private int deltaDataSize(DataRecord dataRec) throws IgniteCheckedException {
+        int sz = 0;
+
+        for (DataEntry entry : dataRec.writeEntries()) {
+            sz += /*delta flag*/1 + super.entrySize(entry);
+
+            if (entry instanceof DeltaDataEntry)
+                sz += /*val type*/1 + /*base len*/4 + /*base crc*/4 + /*len*/4 + /*delta len*/4 +
+                    ((DeltaDataEntry)entry).delta().length;
+        }
+
+        return sz;
+    }
+
     /** {@inheritDoc} */
     @Override protected int entrySize(DataEntry entry) throws IgniteCheckedException {
         return super.entrySize(entry) +
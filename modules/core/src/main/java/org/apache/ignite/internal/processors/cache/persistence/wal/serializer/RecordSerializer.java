@@ -19,6 +19,7 @@ package org.apache.ignite.internal.processors.cache.persistence.wal.serializer;
 import java.io.IOException;
 import java.nio.ByteBuffer;
 import org.apache.ignite.IgniteCheckedException;
+import org.apache.ignite.configuration.ChecksumAlgorithm;
 import org.apache.ignite.internal.pagemem.wal.WALPointer;
 import org.apache.ignite.internal.pagemem.wal.record.WALRecord;
 import org.apache.ignite.internal.processors.cache.persistence.wal.io.FileInput;
@@ -32,6 +33,13 @@ public interface RecordSerializer {
      */
     public int version();
 
+    /**
+     * @return Checksum algorithm of records.
+     */
+    public default ChecksumAlgorithm checksumAlgorithm() {
+        return ChecksumAlgorithm.CRC32;
+    }
+
     /**
      * Calculates record size in byte including expected wal pointer, CRC and type field
      *
@@ -17,6 +17,7 @@
 package org.apache.ignite.internal.processors.cache.persistence.wal.serializer;
 
 import org.apache.ignite.IgniteCheckedException;
+import org.apache.ignite.configuration.ChecksumAlgorithm;
 import org.apache.ignite.internal.pagemem.wal.WALPointer;
 import org.apache.ignite.internal.pagemem.wal.record.FilteredRecord;
 import org.apache.ignite.internal.pagemem.wal.record.MarshalledRecord;
@@ -35,7 +36,18 @@ public interface RecordSerializerFactory {
      * @param ver Serializer version.
      * @return record serializer.
      */
-    public RecordSerializer createSerializer(int ver) throws IgniteCheckedException;
+    public default RecordSerializer createSerializer(int ver) throws IgniteCheckedException {
+        return createSerializer(ver, ChecksumAlgorithm.CRC32);
+    }
+
+    /**
+     * Factory method for creation {@link RecordSerializer}.
+     *
+     * @param ver Serializer version.
+     * @param crcAlgo Checksum algorithm of records.
+     * @return record serializer.
+     */
+    public RecordSerializer createSerializer(int ver, ChecksumAlgorithm crcAlgo) throws IgniteCheckedException;
 
     /**
      * TODO: This flag was added under IGNITE-6029, but still unused. Should be either handled or removed.
@@ -16,6 +16,7 @@
 package org.apache.ignite.internal.processors.cache.persistence.wal.serializer;
 
 import org.apache.ignite.IgniteCheckedException;
+import org.apache.ignite.configuration.ChecksumAlgorithm;
 import org.apache.ignite.internal.pagemem.wal.WALPointer;
 import org.apache.ignite.internal.pagemem.wal.record.MarshalledRecord;
 import org.apache.ignite.internal.pagemem.wal.record.WALRecord;
@@ -64,7 +65,8 @@ public class RecordSerializerFactoryImpl implements RecordSerializerFactory {
     }
 
     /** {@inheritDoc} */
-    @Override public RecordSerializer createSerializer(int ver) throws IgniteCheckedException {
+    @Override public RecordSerializer createSerializer(int ver, ChecksumAlgorithm crcAlgo)
+        throws IgniteCheckedException {
         if (ver <= 0)
             throw new IgniteCheckedException("Failed to create a serializer (corrupted WAL file).");
 
@@ -75,7 +77,8 @@ public class RecordSerializerFactoryImpl implements RecordSerializerFactory {
                     needWritePointer,
                     marshalledMode,
                     skipPositionCheck,
-                    recordDeserializeFilter);
+                    recordDeserializeFilter,
+                    crcAlgo);
 
             case 2:
                 return new RecordV2Serializer(
@@ -83,7 +86,8 @@ public class RecordSerializerFactoryImpl implements RecordSerializerFactory {
                     needWritePointer,
                     marshalledMode,
                     skipPositionCheck,
-                    recordDeserializeFilter
+                    recordDeserializeFilter,
+                    crcAlgo
                 );
 
             default:
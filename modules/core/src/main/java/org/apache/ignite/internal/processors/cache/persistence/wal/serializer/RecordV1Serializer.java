@@ -23,6 +23,7 @@ import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
 import org.apache.ignite.IgniteCheckedException;
 import org.apache.ignite.IgniteSystemProperties;
+import org.apache.ignite.configuration.ChecksumAlgorithm;
 import org.apache.ignite.internal.pagemem.wal.WALPointer;
 import org.apache.ignite.internal.pagemem.wal.record.FilteredRecord;
 import org.apache.ignite.internal.pagemem.wal.record.MarshalledRecord;
@@ -76,6 +77,16 @@ public class RecordV1Serializer implements RecordSerializer {
     /** Skip CRC calculation/check flag */
     public static boolean skipCrc = IgniteSystemProperties.getBoolean(IGNITE_PDS_SKIP_CRC, false);
 
+    /**
+     * Shift of the checksum algorithm ordinal in the serializer version of a segment header. Segments written with
+     * {@link ChecksumAlgorithm#CRC32} have plain serializer version, so they can be read by previous versions, and
+     * previous versions fail to create a serializer for segments with other algorithms.
+     */
+    public static final int CHECKSUM_ALGORITHM_SHIFT = 16;
+
+    /** Mask of the serializer version in a segment header. */
+    private static final int SERIALIZER_VERSION_MASK = (1 << CHECKSUM_ALGORITHM_SHIFT) - 1;
+
     /** V1 data serializer. */
     private final RecordDataV1Serializer dataSerializer;
 
@@ -97,6 +108,9 @@ public class RecordV1Serializer implements RecordSerializer {
      */
     private final boolean marshalledMode;
 
+    /** Checksum algorithm of records. */
+    private final ChecksumAlgorithm crcAlgo;
+
     /** Thread-local heap byte buffer. */
     private final ThreadLocal<ByteBuffer> heapTlb = new ThreadLocal<ByteBuffer>() {
         @Override protected ByteBuffer initialValue() {
@@ -191,19 +205,22 @@ public class RecordV1Serializer implements RecordSerializer {
      * @param marshalledMode Marshalled mode.
      * @param skipPositionCheck Skip position check mode.
      * @param recordFilter Record type filter. {@link FilteredRecord} is deserialized instead of original record
+     * @param crcAlgo Checksum algorithm of records.
      */
     public RecordV1Serializer(
         RecordDataV1Serializer dataSerializer,
         boolean writePointer,
         boolean marshalledMode,
         boolean skipPositionCheck,
-        IgniteBiPredicate<RecordType, WALPointer> recordFilter
+        IgniteBiPredicate<RecordType, WALPointer> recordFilter,
+        ChecksumAlgorithm crcAlgo
     ) {
         this.dataSerializer = dataSerializer;
         this.writePointer = writePointer;
         this.recordFilter = recordFilter;
         this.skipPositionCheck = skipPositionCheck;
         this.marshalledMode = marshalledMode;
+        this.crcAlgo = crcAlgo;
     }
 
     /** {@inheritDoc} */
@@ -211,6 +228,11 @@ public class RecordV1Serializer implements RecordSerializer {
         return 1;
     }
 
+    /** {@inheritDoc} */
+    @Override public ChecksumAlgorithm checksumAlgorithm() {
+        return crcAlgo;
+    }
+
     /** {@inheritDoc} */
     @Override public boolean writePointer() {
         return writePointer;
@@ -218,12 +240,12 @@ public class RecordV1Serializer implements RecordSerializer {
 
     /** {@inheritDoc} */
     @Override public void writeRecord(WALRecord rec, ByteBuffer buf) throws IgniteCheckedException {
-        writeWithCrc(rec, buf, recordIO);
+        writeWithCrc(rec, buf, recordIO, crcAlgo);
     }
 
     /** {@inheritDoc} */
     @Override public WALRecord readRecord(FileInput in0, WALPointer expPtr) throws IOException, IgniteCheckedException {
-        return readWithCrc(in0, expPtr, recordIO);
+        return readWithCrc(in0, expPtr, recordIO, crcAlgo);
     }
 
     /** {@inheritDoc} */
@@ -241,6 +263,17 @@ public class RecordV1Serializer implements RecordSerializer {
         buf.putInt(ptr.fileOffset());
     }
 
+    /**
+     * @param ver Serializer version.
+     * @param crcAlgo Checksum algorithm.
+     * @return Serializer version with the checksum algorithm to write to a segment header.
+     */
+    public static int segmentHeaderVersion(int ver, ChecksumAlgorithm crcAlgo) {
+        assert ver > 0 && ver <= SERIALIZER_VERSION_MASK : ver;
+
+        return ver | crcAlgo.ordinal() << CHECKSUM_ALGORITHM_SHIFT;
+    }
+
     /**
      * Reads stored record from provided {@code io}.
      * NOTE: Method mutates position of {@code io}.
@@ -291,10 +324,15 @@ public class RecordV1Serializer implements RecordSerializer {
             // Read serializer version.
             int ver = in.readInt();
 
+            ChecksumAlgorithm crcAlgo = ChecksumAlgorithm.fromOrdinal(ver >>> CHECKSUM_ALGORITHM_SHIFT);
+
+            if (crcAlgo == null)
+                throw new IOException("Unknown checksum algorithm of the segment [ver=" + U.hexInt(ver) + ']');
+
             // Read and skip CRC.
             in.readInt();
 
-            return new SegmentHeader(ver, compacted);
+            return new SegmentHeader(ver & SERIALIZER_VERSION_MASK, compacted, crcAlgo);
         }
     }
 
@@ -353,6 +391,7 @@ public class RecordV1Serializer implements RecordSerializer {
      * @param in0 File input.
      * @param expPtr Expected WAL pointer for record. Used to validate actual position against expected from the file.
      * @param reader Record reader I/O interface.
+     * @param crcAlgo Checksum algorithm.
      * @return WAL record.
      * @throws EOFException In case of end of file.
      * @throws IgniteCheckedException If it's unable to read record.
@@ -360,11 +399,12 @@ public class RecordV1Serializer implements RecordSerializer {
     static WALRecord readWithCrc(
         FileInput in0,
         WALPointer expPtr,
-        RecordIO reader
+        RecordIO reader,
+        ChecksumAlgorithm crcAlgo
     ) throws EOFException, IgniteCheckedException {
         long startPos = -1;
 
-        try (SimpleFileInput.Crc32CheckingFileInput in = in0.startRead(skipCrc)) {
+        try (SimpleFileInput.Crc32CheckingFileInput in = in0.startRead(skipCrc, crcAlgo)) {
             startPos = in0.position();
 
             WALRecord res = reader.readWithHeaders(in, expPtr);
@@ -401,9 +441,15 @@ public class RecordV1Serializer implements RecordSerializer {
      * @param rec WAL record.
      * @param buf Buffer to write.
      * @param writer Record write I/O interface.
+     * @param crcAlgo Checksum algorithm.
      * @throws IgniteCheckedException If it's unable to write record.
      */
-    static void writeWithCrc(WALRecord rec, ByteBuffer buf, RecordIO writer) throws IgniteCheckedException {
+    static void writeWithCrc(
+        WALRecord rec,
+        ByteBuffer buf,
+        RecordIO writer,
+        ChecksumAlgorithm crcAlgo
+    ) throws IgniteCheckedException {
         assert rec.size() >= 0 && buf.remaining() >= rec.size() : rec.size();
 
         boolean switchSegmentRec = rec.type() == RecordType.SWITCH_SEGMENT_RECORD;
@@ -422,7 +468,7 @@ public class RecordV1Serializer implements RecordSerializer {
             buf.position(startPos);
 
             // This call will move buffer position to the end of the record again.
-            int crcVal = FastCrc.calcCrc(buf, curPos - startPos);
+            int crcVal = FastCrc.calcCrc(crcAlgo, buf, curPos - startPos);
 
             buf.putInt(crcVal);
         }
@@ -22,6 +22,7 @@ import java.io.IOException;
 import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
 import org.apache.ignite.IgniteCheckedException;
+import org.apache.ignite.configuration.ChecksumAlgorithm;
 import org.apache.ignite.internal.pagemem.wal.WALPointer;
 import org.apache.ignite.internal.pagemem.wal.record.FilteredRecord;
 import org.apache.ignite.internal.pagemem.wal.record.MarshalledRecord;
@@ -71,6 +72,9 @@ public class RecordV2Serializer implements RecordSerializer {
     /** Skip position check flag. Should be set for reading compacted wal file with skipped physical records. */
     private final boolean skipPositionCheck;
 
+    /** Checksum algorithm of records. */
+    private final ChecksumAlgorithm crcAlgo;
+
     /** Thread-local heap byte buffer. */
     private final ThreadLocal<ByteBuffer> heapTlb = new ThreadLocal<ByteBuffer>() {
         @Override protected ByteBuffer initialValue() {
@@ -196,19 +200,22 @@ public class RecordV2Serializer implements RecordSerializer {
      * @param marshalledMode Marshalled mode.
      * @param skipPositionCheck Skip position check mode.
      * @param recordFilter Record type filter. {@link FilteredRecord} is deserialized instead of original record.
+     * @param crcAlgo Checksum algorithm of records.
      */
     public RecordV2Serializer(
         RecordDataV2Serializer dataSerializer,
         boolean writePointer,
         boolean marshalledMode,
         boolean skipPositionCheck,
-        IgniteBiPredicate<RecordType, WALPointer> recordFilter
+        IgniteBiPredicate<RecordType, WALPointer> recordFilter,
+        ChecksumAlgorithm crcAlgo
     ) {
         this.dataSerializer = dataSerializer;
         this.writePointer = writePointer;
         this.marshalledMode = marshalledMode;
         this.skipPositionCheck = skipPositionCheck;
         this.recordFilter = recordFilter;
+        this.crcAlgo = crcAlgo;
     }
 
     /** {@inheritDoc} */
@@ -216,6 +223,11 @@ public class RecordV2Serializer implements RecordSerializer {
         return 2;
     }
 
+    /** {@inheritDoc} */
+    @Override public ChecksumAlgorithm checksumAlgorithm() {
+        return crcAlgo;
+    }
+
     /** {@inheritDoc} */
     @Override public boolean writePointer() {
         return writePointer;
@@ -228,12 +240,12 @@ public class RecordV2Serializer implements RecordSerializer {
 
     /** {@inheritDoc} */
     @Override public void writeRecord(WALRecord record, ByteBuffer buf) throws IgniteCheckedException {
-        RecordV1Serializer.writeWithCrc(record, buf, recordIO);
+        RecordV1Serializer.writeWithCrc(record, buf, recordIO, crcAlgo);
     }
 
     /** {@inheritDoc} */
     @Override public WALRecord readRecord(FileInput in, WALPointer expPtr) throws IOException, IgniteCheckedException {
-        return RecordV1Serializer.readWithCrc(in, expPtr, recordIO);
+        return RecordV1Serializer.readWithCrc(in, expPtr, recordIO, crcAlgo);
     }
 
     /**
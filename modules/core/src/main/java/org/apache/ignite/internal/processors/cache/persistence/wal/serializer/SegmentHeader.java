@@ -16,6 +16,7 @@
 
 package org.apache.ignite.internal.processors.cache.persistence.wal.serializer;
 
+import org.apache.ignite.configuration.ChecksumAlgorithm;
 import org.apache.ignite.internal.util.typedef.internal.S;
 
 /**
@@ -28,13 +29,18 @@ public class SegmentHeader {
     /** Compacted flag. */
     private boolean isCompacted;
 
+    /** Checksum algorithm of records. */
+    private ChecksumAlgorithm checksumAlgo;
+
     /**
      * @param serializerVersion Serializer version.
      * @param isCompacted Compacted flag.
+     * @param checksumAlgo Checksum algorithm of records.
      */
-    public SegmentHeader(int serializerVersion, boolean isCompacted) {
+    public SegmentHeader(int serializerVersion, boolean isCompacted, ChecksumAlgorithm checksumAlgo) {
         this.serializerVersion = serializerVersion;
         this.isCompacted = isCompacted;
+        this.checksumAlgo = checksumAlgo;
     }
 
     /**
@@ -51,6 +57,13 @@ public class SegmentHeader {
         return isCompacted;
     }
 
+    /**
+     * @return Checksum algorithm of records.
+     */
+    public ChecksumAlgorithm getChecksumAlgorithm() {
+        return checksumAlgo;
+    }
+
     /** {@inheritDoc} */
     @Override public String toString() {
         return S.toString(SegmentHeader.class, this);
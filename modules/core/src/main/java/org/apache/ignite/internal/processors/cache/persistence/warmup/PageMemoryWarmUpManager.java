@@ -0,0 +1,491 @@
+/*
+ * Copyright 2019 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.cache.persistence.warmup;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.apache.ignite.IgniteCheckedException;
+import org.apache.ignite.IgniteLogger;
+import org.apache.ignite.configuration.WarmUpConfiguration;
+import org.apache.ignite.configuration.WarmUpMode;
+import org.apache.ignite.internal.pagemem.PageIdUtils;
+import org.apache.ignite.internal.pagemem.store.IgnitePageStoreManager;
+import org.apache.ignite.internal.processors.cache.CacheGroupContext;
+import org.apache.ignite.internal.processors.cache.GridCacheSharedContext;
+import org.apache.ignite.internal.processors.cache.persistence.DataRegion;
+import org.apache.ignite.internal.processors.cache.persistence.GridCacheDatabaseSharedManager;
+import org.apache.ignite.internal.processors.cache.persistence.checkpoint.CheckpointProgress;
+import org.apache.ignite.internal.processors.cache.persistence.file.FilePageStoreManager;
+import org.apache.ignite.internal.processors.cache.persistence.pagemem.PageMemoryEx;
+import org.apache.ignite.internal.processors.cache.persistence.pagemem.PageMemoryImpl;
+import org.apache.ignite.internal.util.GridLongList;
+import org.apache.ignite.internal.util.typedef.internal.U;
+import org.apache.ignite.thread.IgniteThread;
+
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+import static org.apache.ignite.internal.pagemem.PageIdAllocator.FLAG_IDX;
+import static org.apache.ignite.internal.pagemem.PageIdAllocator.INDEX_PARTITION;
+
+/**
+ * Warms up page memory of persistent data regions with configured {@link WarmUpConfiguration}: loads pages into
+ * the data regions in the background on node start and dumps IDs of the pages loaded into the data regions
+ * periodically and on graceful node stop.
+ */
+public class PageMemoryWarmUpManager {
+    /** Hot pages dump file name prefix. */
+    public static final String HOT_PAGES_FILE_PREFIX = "hot-pages-";
+
+    /** Hot pages dump file extension. */
+    public static final String HOT_PAGES_FILE_EXT = ".bin";
+
+    /** Temporary file extension. */
+    private static final String TMP_FILE_EXT = ".tmp";
+
+    /** Hot pages dump format version. */
+    private static final int HOT_PAGES_FILE_VER = 1;
+
+    /** Number of pages loaded between checks of the rate limit and the data region fill. */
+    private static final int BATCH_SIZE = 64;
+
+    /** Divisor of the rate limit applied while a checkpoint writes pages. */
+    private static final int CHECKPOINT_RATE_DIVISOR = 10;
+
+    /** Fill factor of a data region at which warm-up stops to never cause page replacement. */
+    private static final double MAX_FILL_FACTOR = 0.9;
+
+    /** */
+    private final GridCacheSharedContext<?, ?> cctx;
+
+    /** */
+    private final IgniteLogger log;
+
+    /** Data regions with configured warm-up. */
+    private final List<DataRegion> regions = new ArrayList<>();
+
+    /** */
+    private final Object mux = new Object();
+
+    /** */
+    private volatile boolean stopping;
+
+    /** */
+    private IgniteThread thread;
+
+    /**
+     * @param cctx Cache shared context.
+     */
+    public PageMemoryWarmUpManager(GridCacheSharedContext<?, ?> cctx) {
+        this.cctx = cctx;
+
+        log = cctx.logger(PageMemoryWarmUpManager.class);
+    }
+
+    /**
+     * Starts warm-up of the data regions with configured warm-up. Must be called when the node state is restored.
+     */
+    public void start() {
+        for (DataRegion region : cctx.database().dataRegions()) {
+            if (region.config().isPersistenceEnabled() && region.config().getWarmUpConfiguration() != null)
+                regions.add(region);
+        }
+
+        if (regions.isEmpty())
+            return;
+
+        thread = new IgniteThread(cctx.igniteInstanceName(), "page-memory-warm-up", this::body);
+
+        thread.start();
+    }
+
+    /**
+     * Stops warm-up and periodic dump of hot pages.
+     *
+     * @param dump Whether to dump hot pages of the data regions.
+     */
+    public void stop(boolean dump) {
+        if (thread == null)
+            return;
+
+        synchronized (mux) {
+            stopping = true;
+
+            mux.notifyAll();
+        }
+
+        U.join(thread, log);
+
+        thread = null;
+
+        if (dump) {
+            for (DataRegion region : regions)
+                dumpHotPagesQuietly(region);
+        }
+    }
+
+    /**
+     * Warms up the data regions, then dumps their hot pages with configured frequencies until stopped.
+     */
+    private void body() {
+        for (DataRegion region : regions) {
+            if (stopping)
+                return;
+
+            try {
+                warmUp(region);
+            }
+            catch (IgniteCheckedException e) {
+                U.warn(log, "Failed to warm up data region [name=" + region.config().getName() + ']', e);
+            }
+        }
+
+        long[] nextDump = new long[regions.size()];
+
+        for (int i = 0; i < nextDump.length; i++) {
+            long freq = regions.get(i).config().getWarmUpConfiguration().getHotPagesDumpFrequency();
+
+            nextDump[i] = freq > 0 ? U.currentTimeMillis() + freq : Long.MAX_VALUE;
+        }
+
+        while (!stopping) {
+            long next = Arrays.stream(nextDump).min().orElse(Long.MAX_VALUE);
+
+            if (next == Long.MAX_VALUE)
+                return; // Hot pages are dumped only on node stop.
+
+            if (!waitFor(next - U.currentTimeMillis()))
+                return;
+
+            for (int i = 0; i < nextDump.length; i++) {
+                if (nextDump[i] <= U.currentTimeMillis()) {
+                    DataRegion region = regions.get(i);
+
+                    dumpHotPagesQuietly(region);
+
+                    nextDump[i] = U.currentTimeMillis() + region.config().getWarmUpConfiguration().getHotPagesDumpFrequency();
+                }
+            }
+        }
+    }
+
+    /**
+     * Loads pages into the data region.
+     *
+     * @param region Data region.
+     * @throws IgniteCheckedException If failed.
+     */
+    private void warmUp(DataRegion region) throws IgniteCheckedException {
+        WarmUpConfiguration cfg = region.config().getWarmUpConfiguration();
+
+        Map<Integer, GridLongList> pages = null;
+
+        if (cfg.getMode() == WarmUpMode.HOT_PAGES) {
+            try {
+                pages = readHotPages(region);
+            }
+            catch (IOException e) {
+                U.warn(log, "Failed to read hot pages dump, index pages will be loaded [region=" +
+                    region.config().getName() + ']', e);
+            }
+        }
+
+        if (pages == null)
+            pages = indexPages(region);
+
+        long total = pages.values().stream().mapToLong(GridLongList::size).sum();
+
+        if (log.isInfoEnabled()) {
+            log.info("Page memory warm-up started [region=" + region.config().getName() + ", mode=" + cfg.getMode() +
+                ", pages=" + total + ']');
+        }
+
+        long start = U.currentTimeMillis();
+
+        region.memoryMetrics().onWarmUpStarted(total);
+
+        long loaded = 0;
+
+        try {
+            for (Map.Entry<Integer, GridLongList> e : pages.entrySet()) {
+                CacheGroupContext grp = cctx.cache().cacheGroup(e.getKey());
+
+                // The group was destroyed or recreated in another data region.
+                if (grp == null || grp.dataRegion() != region)
+                    continue;
+
+                long res = loadPages(region, grp.groupId(), e.getValue().sort().array());
+
+                if (res < 0) {
+                    loaded -= res + 1;
+
+                    break;
+                }
+
+                loaded += res;
+            }
+        }
+        finally {
+            region.memoryMetrics().onWarmUpFinished();
+        }
+
+        if (log.isInfoEnabled()) {
+            log.info("Page memory warm-up finished [region=" + region.config().getName() + ", pages=" + loaded +
+                ", time=" + (U.currentTimeMillis() - start) + " ms]");
+        }
+    }
+
+    /**
+     * @param region Data region.
+     * @param grpId Cache group ID.
+     * @param pageIds Sorted page IDs.
+     * @return Number of loaded pages or {@code -1 - loaded} if warm-up of the data region should be stopped.
+     * @throws IgniteCheckedException If failed.
+     */
+    private long loadPages(DataRegion region, int grpId, long[] pageIds) throws IgniteCheckedException {
+        PageMemoryEx pageMem = (PageMemoryEx)region.pageMemory();
+        IgnitePageStoreManager pageStore = cctx.pageStore();
+
+        int pagesPerSec = region.config().getWarmUpConfiguration().getPagesPerSecond();
+
+        long loaded = 0;
+
+        int partId = -1;
+        int partPages = 0;
+
+        for (int i = 0; i < pageIds.length; ) {
+            if (stopping || pageMem.loadedPages() >= MAX_FILL_FACTOR * pageMem.totalPages())
+                return -1 - loaded;
+
+            long batchStart = System.nanoTime();
+
+            int batchLoaded = 0;
+
+            for (int end = Math.min(i + BATCH_SIZE, pageIds.length); i < end; i++) {
+                long pageId = pageIds[i];
+
+                if (PageIdUtils.partId(pageId) != partId) {
+                    partId = PageIdUtils.partId(pageId);
+
+                    partPages = pageStore.exists(grpId, partId) ? pageStore.pages(grpId, partId) : 0;
+                }
+
+                // The partition was evicted or truncated.
+                if (PageIdUtils.pageIndex(pageId) >= partPages)
+                    continue;
+
+                long page = pageMem.acquirePage(grpId, pageId);
+
+                pageMem.releasePage(grpId, pageId, page);
+
+                batchLoaded++;
+            }
+
+            loaded += batchLoaded;
+
+            region.memoryMetrics().onWarmUpPagesLoaded(batchLoaded);
+
+            if (pagesPerSec > 0 && !throttle(batchLoaded, pagesPerSec, batchStart))
+                return -1 - loaded;
+        }
+
+        return loaded;
+    }
+
+    /**
+     * Waits for the time the loaded pages take at the configured rate. The rate is reduced while a checkpoint
+     * writes pages, so that warm-up does not compete with it for the disk.
+     *
+     * @param loaded Number of loaded pages.
+     * @param pagesPerSec Limit of pages loaded per second.
+     * @param start Start time of loading in nanoseconds.
+     * @return {@code False} if warm-up was stopped.
+     */
+    private boolean throttle(int loaded, int pagesPerSec, long start) {
+        if (checkpointInProgress())
+            pagesPerSec = Math.max(1, pagesPerSec / CHECKPOINT_RATE_DIVISOR);
+
+        long waitNanos = loaded * TimeUnit.SECONDS.toNanos(1) / pagesPerSec - (System.nanoTime() - start);
+
+        return waitNanos <= 0 || waitFor(TimeUnit.NANOSECONDS.toMillis(waitNanos));
+    }
+
+    /**
+     * @return {@code True} if a checkpoint writes pages.
+     */
+    private boolean checkpointInProgress() {
+        GridCacheDatabaseSharedManager db = (GridCacheDatabaseSharedManager)cctx.database();
+
+        if (db.getCheckpointer() == null)
+            return false;
+
+        CheckpointProgress progress = db.getCheckpointer().currentProgress();
+
+        return progress != null && progress.inProgress();
+    }
+
+    /**
+     * @param timeout Timeout in milliseconds.
+     * @return {@code False} if the manager is stopping.
+     */
+    private boolean waitFor(long timeout) {
+        synchronized (mux) {
+            long end = U.currentTimeMillis() + timeout;
+
+            try {
+                while (!stopping && timeout > 0) {
+                    mux.wait(timeout);
+
+                    timeout = end - U.currentTimeMillis();
+                }
+            }
+            catch (InterruptedException ignored) {
+                Thread.currentThread().interrupt();
+
+                return false;
+            }
+
+            return !stopping;
+        }
+    }
+
+    /**
+     * @param region Data region.
+     * @return Page IDs of index partitions of the cache groups of the data region.
+     * @throws IgniteCheckedException If failed.
+     */
+    private Map<Integer, GridLongList> indexPages(DataRegion region) throws IgniteCheckedException {
+        Map<Integer, GridLongList> res = new LinkedHashMap<>();
+
+        for (CacheGroupContext grp : cctx.cache().cacheGroups()) {
+            if (grp.dataRegion() != region || !cctx.pageStore().exists(grp.groupId(), INDEX_PARTITION))
+                continue;
+
+            int pages = cctx.pageStore().pages(grp.groupId(), INDEX_PARTITION);
+
+            GridLongList pageIds = new GridLongList(pages);
+
+            for (int i = 0; i < pages; i++)
+                pageIds.add(PageIdUtils.pageId(INDEX_PARTITION, FLAG_IDX, i));
+
+            res.put(grp.groupId(), pageIds);
+        }
+
+        return res;
+    }
+
+    /**
+     * @param region Data region.
+     * @return Hot pages dump file.
+     */
+    private File hotPagesFile(DataRegion region) {
+        return new File(((FilePageStoreManager)cctx.pageStore()).workDir(),
+            HOT_PAGES_FILE_PREFIX + U.maskForFileName(region.config().getName()) + HOT_PAGES_FILE_EXT);
+    }
+
+    /**
+     * @param region Data region.
+     * @return Hot page IDs by cache group IDs or {@code null} if there is no dump.
+     * @throws IOException If failed.
+     */
+    private Map<Integer, GridLongList> readHotPages(DataRegion region) throws IOException {
+        File file = hotPagesFile(region);
+
+        if (!file.exists())
+            return null;
+
+        Map<Integer, GridLongList> res = new LinkedHashMap<>();
+
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file.toPath())))) {
+            int ver = in.readInt();
+
+            if (ver != HOT_PAGES_FILE_VER)
+                throw new IOException("Unsupported hot pages dump version: " + ver);
+
+            for (int grps = in.readInt(); grps > 0; grps--) {
+                int grpId = in.readInt();
+                int cnt = in.readInt();
+
+                GridLongList pageIds = new GridLongList(cnt);
+
+                for (int i = 0; i < cnt; i++)
+                    pageIds.add(in.readLong());
+
+                res.put(grpId, pageIds);
+            }
+        }
+
+        return res;
+    }
+
+    /**
+     * Dumps IDs of the pages loaded into the data region.
+     *
+     * @param region Data region.
+     */
+    private void dumpHotPagesQuietly(DataRegion region) {
+        if (!(region.pageMemory() instanceof PageMemoryImpl))
+            return;
+
+        Map<Integer, GridLongList> pages = new HashMap<>();
+
+        ((PageMemoryImpl)region.pageMemory()).forEachLoadedPage(fullId ->
+            pages.computeIfAbsent(fullId.groupId(), id -> new GridLongList()).add(fullId.pageId()));
+
+        pages.keySet().removeIf(grpId -> cctx.cache().cacheGroup(grpId) == null);
+
+        File file = hotPagesFile(region);
+        File tmp = new File(file.getPath() + TMP_FILE_EXT);
+
+        try {
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmp.toPath())))) {
+                out.writeInt(HOT_PAGES_FILE_VER);
+                out.writeInt(pages.size());
+
+                for (Map.Entry<Integer, GridLongList> e : pages.entrySet()) {
+                    out.writeInt(e.getKey());
+                    out.writeInt(e.getValue().size());
+
+                    for (int i = 0; i < e.getValue().size(); i++)
+                        out.writeLong(e.getValue().get(i));
+                }
+            }
+
+            Files.move(tmp.toPath(), file.toPath(), REPLACE_EXISTING, ATOMIC_MOVE);
+
+            if (log.isDebugEnabled()) {
+                log.debug("Hot pages dumped [region=" + region.config().getName() + ", pages=" +
+                    pages.values().stream().mapToLong(GridLongList::size).sum() + ']');
+            }
+        }
+        catch (IOException e) {
+            U.warn(log, "Failed to dump hot pages [region=" + region.config().getName() + ", file=" +
+                file.getAbsolutePath() + ']', e);
+        }
+    }
+}
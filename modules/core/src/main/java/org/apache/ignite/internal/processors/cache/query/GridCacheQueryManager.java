@@ -412,6 +412,44 @@ public abstract class GridCacheQueryManager<K, V> extends GridCacheManagerAdapte
         }
     }
 
+    /**
+     * Stores a batch of rows with available previous rows.
+     *
+     * @param newRows New rows.
+     * @param prevRows Previous rows, {@code null} elements for new rows.
+     * @throws IgniteCheckedException In case of error.
+     */
+    public void storeAll(List<CacheDataRow> newRows, List<CacheDataRow> prevRows) throws IgniteCheckedException {
+        assert enabled();
+
+        if (!enterBusy())
+            throw new NodeStoppingException("Operation has been cancelled (node is stopping).");
+
+        try {
+            if (isIndexingSpiEnabled()) {
+                CacheObjectContext coctx = cctx.cacheObjectContext();
+
+                for (CacheDataRow newRow : newRows) {
+                    assert newRow != null && newRow.value() != null && newRow.link() != 0 : newRow;
+
+                    Object key0 = unwrapIfNeeded(newRow.key(), coctx);
+
+                    Object val0 = unwrapIfNeeded(newRow.value(), coctx);
+
+                    cctx.kernalContext().indexing().store(cacheName, key0, val0, newRow.expireTime());
+                }
+            }
+
+            if (qryProcEnabled)
+                qryProc.storeAll(cctx, newRows, prevRows);
+        }
+        finally {
+            invalidateResultCache();
+
+            leaveBusy();
+        }
+    }
+
     /**
      * @param key Key.
      * @param prevRow Previous row.
@@ -18,6 +18,7 @@ package org.apache.ignite.internal.processors.cache.query;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashSet;
 import java.util.TreeSet;
@@ -116,6 +117,11 @@ public class QueryEntityIndexDescriptor implements GridQueryIndexDescriptor {
         return inlineSize;
     }
 
+    /** {@inheritDoc} */
+    @Override public Collection<String> includedFields() {
+        return Collections.emptyList();
+    }
+
     /** {@inheritDoc} */
     @Override public String toString() {
         return S.toString(QueryEntityIndexDescriptor.class, this);
@@ -16,7 +16,12 @@
 
 package org.apache.ignite.internal.processors.cache.tree;
 
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
 import org.apache.ignite.IgniteCheckedException;
+import org.apache.ignite.IgniteSystemProperties;
+import org.apache.ignite.internal.pagemem.FullPageId;
 import org.apache.ignite.internal.pagemem.PageUtils;
 import org.apache.ignite.internal.pagemem.store.PageStore;
 import org.apache.ignite.internal.processors.cache.CacheGroupContext;
@@ -28,6 +33,7 @@ import org.apache.ignite.internal.processors.cache.persistence.CacheDataRowAdapt
 import org.apache.ignite.internal.processors.cache.persistence.CacheSearchRow;
 import org.apache.ignite.internal.processors.cache.persistence.GridCacheDatabaseSharedManager;
 import org.apache.ignite.internal.processors.cache.persistence.pagemem.PageMemoryEx;
+import org.apache.ignite.internal.processors.cache.persistence.pagemem.PageMemoryImpl;
 import org.apache.ignite.internal.processors.cache.persistence.tree.BPlusTree;
 import org.apache.ignite.internal.processors.cache.persistence.tree.io.BPlusIO;
 import org.apache.ignite.internal.processors.cache.persistence.tree.io.DataPageIO;
@@ -43,6 +49,7 @@ import org.apache.ignite.internal.processors.cache.tree.mvcc.data.MvccDataLeafIO
 import org.apache.ignite.internal.processors.cache.tree.mvcc.data.MvccDataRow;
 import org.apache.ignite.internal.processors.cache.tree.mvcc.search.MvccDataPageClosure;
 import org.apache.ignite.internal.metric.IoStatisticsHolder;
+import org.apache.ignite.internal.util.GridLongList;
 import org.apache.ignite.internal.util.GridUnsafe;
 import org.apache.ignite.internal.util.lang.GridCursor;
 import org.apache.ignite.internal.util.typedef.internal.CU;
@@ -50,7 +57,9 @@ import org.jetbrains.annotations.TestOnly;
 
 import static java.lang.Boolean.FALSE;
 import static java.lang.Boolean.TRUE;
+import static org.apache.ignite.IgniteSystemProperties.IGNITE_DATA_PAGE_SCAN_READ_AHEAD_PAGES;
 import static org.apache.ignite.internal.pagemem.PageIdUtils.itemId;
+import static org.apache.ignite.internal.pagemem.PageIdUtils.link;
 import static org.apache.ignite.internal.pagemem.PageIdUtils.pageId;
 import static org.apache.ignite.internal.processors.cache.persistence.tree.io.DataPageIO.MVCC_INFO_SIZE;
 import static org.apache.ignite.internal.processors.cache.persistence.tree.io.PageIO.T_DATA;
@@ -63,6 +72,13 @@ public class CacheDataTree extends BPlusTree<CacheSearchRow, CacheDataRow> {
     /** */
     private static final CacheDataRow[] EMPTY_ROWS = {};
 
+    /** Default number of pages read ahead by data page scan. */
+    public static final int DFLT_DATA_PAGE_SCAN_READ_AHEAD_PAGES = 32;
+
+    /** Number of pages read ahead by data page scan. */
+    private static final int READ_AHEAD_PAGES = IgniteSystemProperties.getInteger(
+        IGNITE_DATA_PAGE_SCAN_READ_AHEAD_PAGES, DFLT_DATA_PAGE_SCAN_READ_AHEAD_PAGES);
+
     /** */
     private static Boolean lastFindWithDataPageScan;
 
@@ -200,6 +216,24 @@ public class CacheDataTree extends BPlusTree<CacheSearchRow, CacheDataRow> {
             /** */
             int curRow = -1;
 
+            /** Index of the page following the last read ahead range of pages. */
+            int readAheadEnd;
+
+            /** */
+            ByteBuffer readAheadBuf;
+
+            /** Links of fragments of the rows spanning multiple pages in the order of data pages. */
+            GridLongList fragments = new GridLongList();
+
+            /** Links to the next fragments of the rows spanning multiple pages. */
+            GridLongList nextFragments = new GridLongList();
+
+            /** Sorted links of the fragments referenced by other fragments, available when all pages are read. */
+            long[] nonHeadFragments;
+
+            /** */
+            int curFragment = -1;
+
             /** {@inheritDoc} */
             @Override public boolean next() throws IgniteCheckedException {
                 if (rows == null)
@@ -208,10 +242,14 @@ public class CacheDataTree extends BPlusTree<CacheSearchRow, CacheDataRow> {
                 if (++curRow < rows.length && rows[curRow] != null)
                     return true;
 
-                return readNextDataPage();
+                return nonHeadFragments == null ? readNextDataPage() : readNextLargeRow();
             }
 
             /**
+             * Reads whole rows of the next data page. Fragments of the rows spanning multiple pages are only
+             * remembered, such rows are read starting from their head fragments when all data pages are read,
+             * because a head fragment can not be distinguished from the others until then.
+             *
              * @return {@code true} If new rows were fetched.
              * @throws IgniteCheckedException If failed.
              */
@@ -224,13 +262,19 @@ public class CacheDataTree extends BPlusTree<CacheSearchRow, CacheDataRow> {
                         int newPagesCnt = pageStore.pages();
 
                         if (newPagesCnt <= pagesCnt) {
-                            rows = null;
-                            return false;
+                            nonHeadFragments = nextFragments.sort().array();
+
+                            nextFragments = null;
+                            readAheadBuf = null;
+
+                            return readNextLargeRow();
                         }
 
                         pagesCnt = newPagesCnt;
                     }
 
+                    readAhead();
+
                     long pageId = startPageId + curPage;
                     long page = pageMem.acquirePage(grpId, pageId);
 
@@ -240,8 +284,6 @@ public class CacheDataTree extends BPlusTree<CacheSearchRow, CacheDataRow> {
                         long pageAddr = ((PageMemoryEx)pageMem).readLock(page, pageId, true, false);
 
                         try {
-                            // TODO https://ggsystems.atlassian.net/browse/GG-20800.
-                            // Here we should also exclude fragmented pages that don't contain the head of the entry.
                             if (PageIO.getType(pageAddr) != T_DATA)
                                 continue; // Not a data page.
 
@@ -260,6 +302,13 @@ public class CacheDataTree extends BPlusTree<CacheSearchRow, CacheDataRow> {
                             int r = 0;
 
                             for (int i = 0; i < rowsCnt; i++) {
+                                if (io.isFragmentedItem(pageAddr, i, pageSize)) {
+                                    fragments.add(link(PageIO.getPageId(pageAddr), io.directItemId(pageAddr, i)));
+                                    nextFragments.add(io.readPayload(pageAddr, i, pageSize).nextLink());
+
+                                    continue;
+                                }
+
                                 if (c == null || c.applyMvcc(io, pageAddr, i, pageSize)) {
                                     DataRow row = mvccEnabled ? new MvccDataRow() : new DataRow();
 
@@ -294,6 +343,130 @@ public class CacheDataTree extends BPlusTree<CacheSearchRow, CacheDataRow> {
                 }
             }
 
+            /**
+             * Reads the partition file range starting from the current page with a single sequential read,
+             * so that the following page loads of this range are served by the file system cache.
+             *
+             * @throws IgniteCheckedException If failed.
+             */
+            private void readAhead() throws IgniteCheckedException {
+                if (curPage < readAheadEnd)
+                    return;
+
+                int cnt = Math.min(READ_AHEAD_PAGES, pagesCnt - curPage);
+
+                readAheadEnd = curPage + cnt;
+
+                if (cnt < 2)
+                    return;
+
+                // Skip the range if it is already in memory.
+                if (pageMem instanceof PageMemoryImpl &&
+                    ((PageMemoryImpl)pageMem).hasLoadedPage(new FullPageId(startPageId + curPage, grpId)) &&
+                    ((PageMemoryImpl)pageMem).hasLoadedPage(new FullPageId(startPageId + readAheadEnd - 1, grpId)))
+                    return;
+
+                if (readAheadBuf == null)
+                    readAheadBuf = ByteBuffer.allocateDirect(READ_AHEAD_PAGES * pageSize).order(ByteOrder.nativeOrder());
+
+                readAheadBuf.clear().limit(cnt * pageSize);
+
+                pageStore.readAhead(startPageId + curPage, readAheadBuf);
+            }
+
+            /**
+             * @return {@code true} If the next row spanning multiple pages was fetched.
+             * @throws IgniteCheckedException If failed.
+             */
+            private boolean readNextLargeRow() throws IgniteCheckedException {
+                checkDestroyed();
+
+                if (rows.length == 0)
+                    rows = new CacheDataRow[1];
+
+                while (++curFragment < fragments.size()) {
+                    long link = fragments.get(curFragment);
+
+                    if (Arrays.binarySearch(nonHeadFragments, link) >= 0)
+                        continue; // Not a head fragment.
+
+                    CacheDataRow row = readLargeRow(link);
+
+                    if (row != null) {
+                        clearTail(rows, 1);
+
+                        rows[0] = row;
+                        curRow = 0;
+
+                        return true;
+                    }
+                }
+
+                rows = null;
+
+                return false;
+            }
+
+            /**
+             * @param link Link to the head fragment.
+             * @return Row or {@code null} if the row was removed after its fragment was found.
+             * @throws IgniteCheckedException If failed.
+             */
+            private CacheDataRow readLargeRow(long link) throws IgniteCheckedException {
+                long pageId = pageId(link);
+                int itemId = itemId(link);
+
+                long page = pageMem.acquirePage(grpId, pageId);
+
+                try {
+                    boolean skipVer = CacheDataRowStore.getSkipVersion();
+
+                    long pageAddr = ((PageMemoryEx)pageMem).readLock(page, pageId, true, false);
+
+                    try {
+                        if (PageIO.getType(pageAddr) != T_DATA || PageIO.getPageId(pageAddr) != pageId)
+                            return null; // The page was reused.
+
+                        DataPageIO io = PageIO.getPageIO(T_DATA, PageIO.getVersion(pageAddr));
+
+                        for (int i = 0, cnt = io.getRowsCount(pageAddr); i < cnt; i++) {
+                            if (io.directItemId(pageAddr, i) != itemId)
+                                continue;
+
+                            // The item may be reused by a row that fits the page, it was fetched with the page.
+                            if (!io.isFragmentedItem(pageAddr, i, pageSize))
+                                return null;
+
+                            if (c != null && !c.applyMvcc(io, pageAddr, i, pageSize))
+                                return null;
+
+                            DataRow row = mvccEnabled ? new MvccDataRow() : new DataRow();
+
+                            row.initFromDataPage(
+                                io,
+                                pageAddr,
+                                i,
+                                grp,
+                                shared,
+                                pageMem,
+                                rowData,
+                                skipVer
+                            );
+
+                            return row;
+                        }
+
+                        return null;
+                    }
+                    finally {
+                        pageMem.readUnlock(grpId, pageId, page);
+                    }
+                }
+                finally {
+                    pageMem.releasePage(grpId, pageId, page);
+                }
+            }
+
             /** {@inheritDoc} */
             @Override public CacheDataRow get() {
                 return rows[curRow];
@@ -302,6 +475,10 @@ public class CacheDataTree extends BPlusTree<CacheSearchRow, CacheDataRow> {
             /** {@inheritDoc} */
             @Override public void close() {
                 rows = null;
+                fragments = null;
+                nextFragments = null;
+                nonHeadFragments = null;
+                readAheadBuf = null;
             }
         }
 
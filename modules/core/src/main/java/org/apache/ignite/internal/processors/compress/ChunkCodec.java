@@ -0,0 +1,54 @@
+/*
+ * Copyright 2019 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.compress;
+
+import java.nio.ByteBuffer;
+import org.apache.ignite.configuration.DiskPageCompression;
+
+/**
+ * Codec to compress large chunks of data, e.g. of compacted WAL segments.
+ * All the buffers are expected to be direct.
+ */
+public interface ChunkCodec {
+    /**
+     * @param compression Compression algorithm.
+     * @param len Length of the data to compress.
+     * @return Max length of the compressed data.
+     */
+    int maxCompressedLength(DiskPageCompression compression, int len);
+
+    /**
+     * Compresses remaining bytes of the source buffer to the destination buffer.
+     * Positions of both buffers are moved.
+     *
+     * @param compression Compression algorithm.
+     * @param compressLevel Compression level.
+     * @param src Source buffer.
+     * @param dst Destination buffer.
+     */
+    void compress(DiskPageCompression compression, int compressLevel, ByteBuffer src, ByteBuffer dst);
+
+    /**
+     * Decompresses remaining bytes of the source buffer to the destination buffer. Remaining bytes of the destination
+     * buffer must be equal to the length of the decompressed data. Positions of both buffers are moved.
+     *
+     * @param compression Compression algorithm.
+     * @param src Source buffer.
+     * @param dst Destination buffer.
+     */
+    void decompress(DiskPageCompression compression, ByteBuffer src, ByteBuffer dst);
+}
@@ -0,0 +1,103 @@
+/*
+ * Copyright 2019 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.compress;
+
+import java.nio.ByteBuffer;
+import org.apache.ignite.IgniteException;
+import org.apache.ignite.configuration.DiskPageCompression;
+import org.apache.ignite.internal.IgniteComponentType;
+import org.apache.ignite.internal.util.typedef.internal.U;
+
+/**
+ * Compression of large data chunks, available if {@code ignite-compress} module is in classpath.
+ */
+public final class ChunkCompressionUtils {
+    /** */
+    private static final String CHUNK_CODEC_CLASS = "org.apache.ignite.internal.processors.compress.ChunkCodecImpl";
+
+    /** */
+    private static final ChunkCodec codec;
+
+    /** */
+    private static volatile Throwable err;
+
+    /** */
+    static {
+        ChunkCodec x = null;
+
+        try {
+            if (IgniteComponentType.COMPRESSION.inClassPath())
+                x = U.newInstance(CHUNK_CODEC_CLASS);
+        }
+        catch (Throwable e) {
+            err = e;
+        }
+
+        codec = x;
+    }
+
+    /**
+     * @param compression Compression algorithm.
+     */
+    public static void checkSupported(DiskPageCompression compression) {
+        Throwable e = err;
+
+        if (e != null || codec == null) {
+            throw new IgniteException("Chunk compression is not supported, make sure that ignite-compress module " +
+                "is in classpath.", e);
+        }
+
+        if (compression != DiskPageCompression.LZ4 && compression != DiskPageCompression.ZSTD)
+            throw new IgniteException("Chunk compression is not supported for algorithm: " + compression);
+    }
+
+    /**
+     * @param compression Compression algorithm.
+     * @param len Length of the data to compress.
+     * @return Max length of the compressed data.
+     */
+    public static int maxCompressedLength(DiskPageCompression compression, int len) {
+        checkSupported(compression);
+
+        return codec.maxCompressedLength(compression, len);
+    }
+
+    /**
+     * @param compression Compression algorithm.
+     * @param compressLevel Compression level.
+     * @param src Source buffer.
+     * @param dst Destination buffer.
+     * @see ChunkCodec#compress(DiskPageCompression, int, ByteBuffer, ByteBuffer)
+     */
+    public static void compress(DiskPageCompression compression, int compressLevel, ByteBuffer src, ByteBuffer dst) {
+        checkSupported(compression);
+
+        codec.compress(compression, compressLevel, src, dst);
+    }
+
+    /**
+     * @param compression Compression algorithm.
+     * @param src Source buffer.
+     * @param dst Destination buffer.
+     * @see ChunkCodec#decompress(DiskPageCompression, ByteBuffer, ByteBuffer)
+     */
+    public static void decompress(DiskPageCompression compression, ByteBuffer src, ByteBuffer dst) {
+        checkSupported(compression);
+
+        codec.decompress(compression, src, dst);
+    }
+}
@@ -98,8 +98,15 @@ public class PageHistoryDiagnoster {
 
         SegmentRouter segmentRouter = wal.getSegmentRouter();
 
-        if (segmentRouter.hasArchive())
-            walFolders = new File[] {segmentRouter.getWalArchiveDir(), segmentRouter.getWalWorkDir()};
+        if (segmentRouter.hasArchive()) {
+            File[] workDirs = segmentRouter.getWalWorkDirs();
+
+            walFolders = new File[workDirs.length + 1];
+
+            walFolders[0] = segmentRouter.getWalArchiveDir();
+
+            System.arraycopy(workDirs, 0, walFolders, 1, workDirs.length);
+        }
         else
             walFolders = new File[] {segmentRouter.getWalWorkDir()};
     }
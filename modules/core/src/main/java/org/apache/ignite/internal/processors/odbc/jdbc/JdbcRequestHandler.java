@@ -1008,6 +1008,7 @@ public class JdbcRequestHandler implements ClientListenerRequestHandler {
         qry.setCollocated(cliCtx.isCollocated());
         qry.setReplicatedOnly(cliCtx.isReplicatedOnly());
         qry.setLazy(cliCtx.isLazy());
+        qry.setDataPageScanEnabled(cliCtx.dataPageScanEnabled());
         qry.setNestedTxMode(nestedTxMode);
         qry.setSchema(schemaName);
         qry.setMaxMemory(cliCtx.maxMemory());
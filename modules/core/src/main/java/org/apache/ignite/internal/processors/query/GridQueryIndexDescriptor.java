@@ -60,4 +60,11 @@ public interface GridQueryIndexDescriptor {
      * @return Inline size.
      */
     public int inlineSize();
+
+    /**
+     * Gets fields stored in the SORTED index in addition to the indexed fields.
+     *
+     * @return Included fields.
+     */
+    public Collection<String> includedFields();
 }
\ No newline at end of file
@@ -318,6 +318,24 @@ public interface GridQueryIndexing {
         CacheDataRow prevRow,
         boolean prevRowAvailable) throws IgniteCheckedException;
 
+    /**
+     * Updates index for a batch of rows of the same type with available previous rows. The default implementation
+     * updates rows one by one.
+     *
+     * @param cctx Cache context.
+     * @param type Type descriptor.
+     * @param rows New rows.
+     * @param prevRows Previous rows, {@code null} elements for new rows.
+     * @throws IgniteCheckedException If failed.
+     */
+    default void storeAll(GridCacheContext cctx,
+        GridQueryTypeDescriptor type,
+        List<CacheDataRow> rows,
+        List<CacheDataRow> prevRows) throws IgniteCheckedException {
+        for (int i = 0; i < rows.size(); i++)
+            store(cctx, type, rows.get(i), prevRows.get(i), true);
+    }
+
     /**
      * Removes index entry by key.
      *
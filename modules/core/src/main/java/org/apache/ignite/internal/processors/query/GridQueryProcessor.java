@@ -1372,7 +1372,9 @@ public class GridQueryProcessor extends GridProcessorAdapter {
                 if (oldEntity == null)
                     err = new SchemaOperationException(SchemaOperationException.CODE_TABLE_NOT_FOUND, tblName);
                 else {
-                    for (String fieldName : op0.index().getFields().keySet()) {
+                    QueryIndex newIdx = op0.index();
+
+                    for (String fieldName : F.concat(false, newIdx.getFields().keySet(), newIdx.getIncludedFields())) {
                         Set<String> oldEntityFields = new HashSet<>(oldEntity.getFields().keySet());
 
                         for (Map.Entry<String, String> alias : oldEntity.getAliases().entrySet()) {
@@ -2179,25 +2181,104 @@ public class GridQueryProcessor extends GridProcessorAdapter {
         }
 
         if (desc == null) {
-            int typeId = ctx.cacheObjects().typeId(val);
+            onMissedType(cacheName, val);
+
+            return;
+        }
+
+        idx.store(cctx, desc, newRow, prevRow, prevRowAvailable);
+    }
+
+    /**
+     * Stores a batch of rows with available previous rows. Rows are grouped by type, so that every table is
+     * updated with a single batch.
+     *
+     * @param cctx Cache context.
+     * @param newRows New rows.
+     * @param prevRows Previous rows, {@code null} elements for new rows.
+     * @throws IgniteCheckedException In case of error.
+     */
+    public void storeAll(GridCacheContext cctx, List<CacheDataRow> newRows, List<CacheDataRow> prevRows)
+        throws IgniteCheckedException {
+        assert cctx != null;
+        assert newRows.size() == prevRows.size() : newRows.size() + " " + prevRows.size();
+        // No need to acquire busy lock here - operation is protected by GridCacheQueryManager.busyLock
+
+        if (idx == null)
+            return;
+
+        String cacheName = cctx.name();
+
+        CacheObjectContext coctx = cctx.cacheObjectContext();
 
-            long missedCacheTypeKey = missedCacheTypeKey(cacheName, typeId);
+        Map<QueryTypeDescriptorImpl, T2<List<CacheDataRow>, List<CacheDataRow>>> batches = new LinkedHashMap<>();
 
-            if (!missedCacheTypes.contains(missedCacheTypeKey)) {
-                if (missedCacheTypes.add(missedCacheTypeKey)) {
-                    LT.warn(log, "Key-value pair is not inserted into any SQL table [cacheName=" + cacheName +
-                        ", " + describeTypeMismatch(cacheName, val) + "]");
+        for (int i = 0; i < newRows.size(); i++) {
+            CacheDataRow newRow = newRows.get(i);
+            CacheDataRow prevRow = prevRows.get(i);
 
-                    LT.warn(log, "  ^-- Value type(s) are specified via CacheConfiguration.indexedTypes or CacheConfiguration.queryEntities");
-                    LT.warn(log, "  ^-- Make sure that same type(s) used when adding Object or BinaryObject to cache");
-                    LT.warn(log, "  ^-- Otherwise, entries will be stored in cache, but not appear as SQL Table rows");
+            KeyCacheObject key = newRow.key();
+            CacheObject val = newRow.value();
+
+            if (log.isDebugEnabled())
+                log.debug("Store [cache=" + cctx.name() + ", key=" + key + ", val=" + val + "]");
+
+            QueryTypeDescriptorImpl desc = typeByValue(cacheName, coctx, key, val, true);
+
+            if (prevRow != null) {
+                QueryTypeDescriptorImpl prevValDesc = typeByValue(cacheName,
+                    coctx,
+                    key,
+                    prevRow.value(),
+                    false);
+
+                if (prevValDesc != desc) {
+                    if (prevValDesc != null)
+                        idx.remove(cctx, prevValDesc, prevRow);
+
+                    // Row has already been removed from another table indexes
+                    prevRow = null;
                 }
             }
 
-            return;
+            if (desc == null) {
+                onMissedType(cacheName, val);
+
+                continue;
+            }
+
+            T2<List<CacheDataRow>, List<CacheDataRow>> batch =
+                batches.computeIfAbsent(desc, d -> new T2<>(new ArrayList<>(), new ArrayList<>()));
+
+            batch.get1().add(newRow);
+            batch.get2().add(prevRow);
         }
 
-        idx.store(cctx, desc, newRow, prevRow, prevRowAvailable);
+        for (Map.Entry<QueryTypeDescriptorImpl, T2<List<CacheDataRow>, List<CacheDataRow>>> e : batches.entrySet())
+            idx.storeAll(cctx, e.getKey(), e.getValue().get1(), e.getValue().get2());
+    }
+
+    /**
+     * Warns once per type that a value of the type is not inserted into any SQL table.
+     *
+     * @param cacheName Cache name.
+     * @param val Value object.
+     */
+    private void onMissedType(String cacheName, CacheObject val) {
+        int typeId = ctx.cacheObjects().typeId(val);
+
+        long missedCacheTypeKey = missedCacheTypeKey(cacheName, typeId);
+
+        if (!missedCacheTypes.contains(missedCacheTypeKey)) {
+            if (missedCacheTypes.add(missedCacheTypeKey)) {
+                LT.warn(log, "Key-value pair is not inserted into any SQL table [cacheName=" + cacheName +
+                    ", " + describeTypeMismatch(cacheName, val) + "]");
+
+                LT.warn(log, "  ^-- Value type(s) are specified via CacheConfiguration.indexedTypes or CacheConfiguration.queryEntities");
+                LT.warn(log, "  ^-- Make sure that same type(s) used when adding Object or BinaryObject to cache");
+                LT.warn(log, "  ^-- Otherwise, entries will be stored in cache, but not appear as SQL Table rows");
+            }
+        }
     }
 
     /**
@@ -24,6 +24,7 @@ import org.apache.ignite.internal.util.typedef.internal.S;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashSet;
 import java.util.TreeSet;
@@ -46,6 +47,9 @@ public class QueryIndexDescriptorImpl implements GridQueryIndexDescriptor {
     /** Fields which should be indexed in descending order. */
     private Collection<String> descendings;
 
+    /** Fields stored in the index in addition to the indexed fields. */
+    private Collection<String> inclFields;
+
     /** Type descriptor. */
     @GridToStringExclude
     private final QueryTypeDescriptorImpl typDesc;
@@ -103,6 +107,11 @@ public class QueryIndexDescriptorImpl implements GridQueryIndexDescriptor {
         return inlineSize;
     }
 
+    /** {@inheritDoc} */
+    @Override public Collection<String> includedFields() {
+        return inclFields != null ? inclFields : Collections.emptyList();
+    }
+
     /** {@inheritDoc} */
     @Override public boolean descending(String field) {
         return descendings != null && descendings.contains(field);
@@ -134,6 +143,29 @@ public class QueryIndexDescriptorImpl implements GridQueryIndexDescriptor {
         return this;
     }
 
+    /**
+     * Adds field stored in this index in addition to the indexed fields.
+     *
+     * @param field Field name.
+     * @return This instance for chaining.
+     * @throws IgniteCheckedException If failed.
+     */
+    public QueryIndexDescriptorImpl addIncludedField(String field) throws IgniteCheckedException {
+        if (!typDesc.hasField(field))
+            throw new IgniteCheckedException("Field not found: " + field);
+
+        if (fields().contains(field))
+            throw new IgniteCheckedException("Indexed field can not be included to the index: " + field);
+
+        if (inclFields == null)
+            inclFields = new ArrayList<>();
+
+        if (!inclFields.contains(field))
+            inclFields.add(field);
+
+        return this;
+    }
+
     /** {@inheritDoc} */
     @Override public QueryIndexType type() {
         return type;
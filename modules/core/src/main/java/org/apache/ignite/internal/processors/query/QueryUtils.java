@@ -347,6 +347,7 @@ public class QueryUtils {
             normalIdx.setFields(idx.getFields());
             normalIdx.setIndexType(idx.getIndexType());
             normalIdx.setInlineSize(idx.getInlineSize());
+            normalIdx.setIncludedFields(idx.getIncludedFields());
 
             normalIdx.setName(normalizeObjectName(indexName(normalTblName, idx), false));
 
@@ -774,6 +775,18 @@ public class QueryUtils {
             res.addField(field, i++, !asc);
         }
 
+        if (idxTyp != QueryIndexType.SORTED && !idx.getIncludedFields().isEmpty())
+            throw new IgniteCheckedException("Included fields are supported for SORTED indexes only: " + idxName);
+
+        for (String field : idx.getIncludedFields()) {
+            String alias = typeDesc.aliases().get(field);
+
+            if (alias != null)
+                field = alias;
+
+            res.addIncludedField(field);
+        }
+
         return res;
     }
 
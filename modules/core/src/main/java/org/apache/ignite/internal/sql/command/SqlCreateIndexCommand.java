@@ -34,6 +34,7 @@ import java.util.Set;
 import static org.apache.ignite.internal.sql.SqlKeyword.ASC;
 import static org.apache.ignite.internal.sql.SqlKeyword.DESC;
 import static org.apache.ignite.internal.sql.SqlKeyword.IF;
+import static org.apache.ignite.internal.sql.SqlKeyword.INCLUDE;
 import static org.apache.ignite.internal.sql.SqlKeyword.INLINE_SIZE;
 import static org.apache.ignite.internal.sql.SqlKeyword.ON;
 import static org.apache.ignite.internal.sql.SqlKeyword.PARALLEL;
@@ -83,6 +84,10 @@ public class SqlCreateIndexCommand implements SqlCommand {
     /** Inline size. Zero effectively disables inlining. */
     private int inlineSize = QueryIndex.DFLT_INLINE_SIZE;
 
+    /** Included column names. */
+    @GridToStringInclude
+    private Collection<String> inclCols;
+
     /** {@inheritDoc} */
     @Override public String schemaName() {
         return schemaName;
@@ -135,6 +140,13 @@ public class SqlCreateIndexCommand implements SqlCommand {
         return inlineSize;
     }
 
+    /**
+     * @return Included column names.
+     */
+    public Collection<String> includedColumns() {
+        return inclCols != null ? inclCols : Collections.<String>emptySet();
+    }
+
     /**
      * @param spatial Spatial index flag.
      * @return This instance.
@@ -235,6 +247,28 @@ public class SqlCreateIndexCommand implements SqlCommand {
         cols.add(col);
     }
 
+    /**
+     * @param lex Lexer.
+     */
+    private void parseIncludedColumnList(SqlLexer lex) {
+        if (!lex.shift() || lex.tokenType() != SqlLexerTokenType.PARENTHESIS_LEFT)
+            throw errorUnexpectedToken(lex, "(");
+
+        inclCols = new LinkedList<>();
+
+        while (true) {
+            String name = parseIdentifier(lex);
+
+            if (colNames.contains(name) || inclCols.contains(name))
+                throw error(lex, "Column already defined: " + name);
+
+            inclCols.add(name);
+
+            if (skipCommaOrRightParenthesis(lex))
+                break;
+        }
+    }
+
     /**
      * Parses CREATE INDEX command properties.
      *
@@ -267,6 +301,18 @@ public class SqlCreateIndexCommand implements SqlCommand {
 
                     break;
 
+                case INCLUDE:
+                    if (foundProps.contains(INCLUDE))
+                        throw error(lex, "Only one " + INCLUDE + " clause may be specified.");
+
+                    foundProps.add(INCLUDE);
+
+                    lex.shift();
+
+                    parseIncludedColumnList(lex);
+
+                    break;
+
                 default:
                     return;
             }
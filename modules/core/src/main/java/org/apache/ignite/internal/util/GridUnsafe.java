@@ -1360,6 +1360,13 @@ public abstract class GridUnsafe {
         return UNSAFE.compareAndSwapLong(obj, off, exp, upd);
     }
 
+    /**
+     * Ensures lack of reordering of loads before the fence with loads or stores after the fence.
+     */
+    public static void loadFence() {
+        UNSAFE.loadFence();
+    }
+
     /**
      * Atomically increments value stored in an integer pointed by {@code ptr}.
      *
@@ -11635,6 +11635,9 @@ public abstract class IgniteUtils {
         /** Write lock. */
         private final WriteLockTracer writeLock;
 
+        /** Delegate. */
+        private final ReentrantReadWriteLock delegate;
+
         /** Lock print threshold. */
         private long readLockThreshold;
 
@@ -11654,6 +11657,8 @@ public abstract class IgniteUtils {
 
             writeLock = new WriteLockTracer(delegate);
 
+            this.delegate = delegate;
+
             this.readLockThreshold = readLockThreshold;
         }
 
@@ -11667,6 +11672,31 @@ public abstract class IgniteUtils {
             return writeLock;
         }
 
+        /** {@inheritDoc} */
+        @Override public int getReadLockCount() {
+            return delegate.getReadLockCount();
+        }
+
+        /** {@inheritDoc} */
+        @Override public int getReadHoldCount() {
+            return delegate.getReadHoldCount();
+        }
+
+        /** {@inheritDoc} */
+        @Override public boolean isWriteLocked() {
+            return delegate.isWriteLocked();
+        }
+
+        /** {@inheritDoc} */
+        @Override public boolean isWriteLockedByCurrentThread() {
+            return delegate.isWriteLockedByCurrentThread();
+        }
+
+        /** {@inheritDoc} */
+        @Override public int getWriteHoldCount() {
+            return delegate.getWriteHoldCount();
+        }
+
         /** */
         public long lockWaitThreshold() {
             return readLockThreshold;
@@ -11792,9 +11822,56 @@ public abstract class IgniteUtils {
         /** */
         private static final long serialVersionUID = 0L;
 
+        /** Delegate. */
+        private final ReentrantReadWriteLock.WriteLock delegate;
+
         /** */
         public WriteLockTracer(ReentrantReadWriteLock lock) {
             super(lock);
+
+            delegate = lock.writeLock();
+        }
+
+        /** {@inheritDoc} */
+        @SuppressWarnings("LockAcquiredButNotSafelyReleased")
+        @Override public void lock() {
+            delegate.lock();
+        }
+
+        /** {@inheritDoc} */
+        @SuppressWarnings("LockAcquiredButNotSafelyReleased")
+        @Override public void lockInterruptibly() throws InterruptedException {
+            delegate.lockInterruptibly();
+        }
+
+        /** {@inheritDoc} */
+        @Override public boolean tryLock() {
+            return delegate.tryLock();
+        }
+
+        /** {@inheritDoc} */
+        @Override public boolean tryLock(long time, @NotNull TimeUnit unit) throws InterruptedException {
+            return delegate.tryLock(time, unit);
+        }
+
+        /** {@inheritDoc} */
+        @Override public void unlock() {
+            delegate.unlock();
+        }
+
+        /** {@inheritDoc} */
+        @Override public Condition newCondition() {
+            return delegate.newCondition();
+        }
+
+        /** {@inheritDoc} */
+        @Override public boolean isHeldByCurrentThread() {
+            return delegate.isHeldByCurrentThread();
+        }
+
+        /** {@inheritDoc} */
+        @Override public int getHoldCount() {
+            return delegate.getHoldCount();
         }
     }
 
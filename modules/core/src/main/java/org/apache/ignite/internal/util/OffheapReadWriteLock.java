@@ -248,6 +248,18 @@ public class OffheapReadWriteLock {
         return lockCount(GridUnsafe.getLongVolatile(null, lock)) > 0;
     }
 
+    /**
+     * @param lock Lock to check.
+     * @param tag Tag to validate.
+     * @return {@code True} if the write lock is not held by any thread and the tag matches, so the protected resource
+     *      may be read without taking the lock.
+     */
+    public boolean isReadable(long lock, int tag) {
+        long state = GridUnsafe.getLongVolatile(null, lock);
+
+        return lockCount(state) != -1 && checkTag(state, tag);
+    }
+
     /**
      * @param lock Lock address.
      */
@@ -0,0 +1,608 @@
+/*
+ * Copyright 2019 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.util;
+
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import org.apache.ignite.internal.util.typedef.internal.A;
+import org.apache.ignite.internal.util.typedef.internal.S;
+import org.apache.ignite.internal.util.typedef.internal.U;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Read-write lock optimized for a large number of concurrent readers and rare writers.
+ * <p>
+ * Readers are spread over a number of stripes, each thread is bound to a single stripe and only updates
+ * the reader counter of this stripe, so uncontended read lock acquisition does not touch memory shared by all
+ * threads. Writer announces itself first and then waits until readers of all stripes are gone; readers which
+ * observe an active writer back off and wait for the writer to release the lock.
+ * <p>
+ * The lock has semantics of non-fair {@link ReentrantReadWriteLock}: both locks are reentrant, write lock holder
+ * can acquire the read lock, while read lock holder trying to acquire the write lock deadlocks. Reentrant read
+ * lock acquisitions are always granted even when a writer waits, which prevents deadlocks of nested readers.
+ * The class extends {@link ReentrantReadWriteLock} to be usable in place of it: lock acquisition, lock state
+ * methods and write lock conditions are supported, queue inspection methods of the parent class do not reflect
+ * state of this lock.
+ */
+public class StripedReentrantReadWriteLock extends ReentrantReadWriteLock {
+    /** */
+    private static final long serialVersionUID = 0L;
+
+    /** Distance in longs between counters of neighbouring stripes, prevents false sharing. */
+    private static final int STRIPE_STRIDE = 16;
+
+    /** Default amount of stripes. */
+    private static final int DFLT_STRIPE_CNT = U.ceilPow2(Runtime.getRuntime().availableProcessors() * 2);
+
+    /** Max time to park the writer waiting for readers, readers also wake the writer up on release. */
+    private static final long WRITER_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    /** Reader counters of stripes, each counter is amount of threads holding the read lock. */
+    private final AtomicLongArray readers;
+
+    /** Stripe mask. */
+    private final int stripeMask;
+
+    /** Stripe sequence, used to bind threads to stripes. */
+    private final AtomicInteger stripeSeq = new AtomicInteger();
+
+    /** Read lock state of the current thread. */
+    private final ThreadLocal<ReaderState> readerState = ThreadLocal.withInitial(ReaderState::new);
+
+    /** Writers mutex, also used by readers to wait for writer release. */
+    private final ReentrantLock writeMux = new ReentrantLock();
+
+    /** Thread holding or acquiring the write lock, {@code null} if there is no writer. */
+    private volatile Thread writer;
+
+    /** Whether the write lock is held, unlike {@link #writer} is not set while the writer waits for readers. */
+    private volatile boolean writeLocked;
+
+    /** Read lock. */
+    private final StripedReadLock readLock = new StripedReadLock();
+
+    /** Write lock. */
+    private final StripedWriteLock writeLock = new StripedWriteLock();
+
+    /**
+     * Creates lock with the default amount of stripes.
+     */
+    public StripedReentrantReadWriteLock() {
+        this(DFLT_STRIPE_CNT);
+    }
+
+    /**
+     * @param stripeCnt Amount of stripes, rounded up to a power of two.
+     */
+    public StripedReentrantReadWriteLock(int stripeCnt) {
+        A.ensure(stripeCnt > 0, "stripeCnt > 0");
+
+        stripeCnt = U.ceilPow2(stripeCnt);
+
+        readers = new AtomicLongArray(stripeCnt * STRIPE_STRIDE);
+
+        stripeMask = stripeCnt - 1;
+    }
+
+    /** {@inheritDoc} */
+    @Override public ReadLock readLock() {
+        return readLock;
+    }
+
+    /** {@inheritDoc} */
+    @Override public WriteLock writeLock() {
+        return writeLock;
+    }
+
+    /**
+     * Gets amount of threads holding the read lock. Reentrant acquisitions are not counted, unlike
+     * {@link ReentrantReadWriteLock#getReadLockCount()}.
+     *
+     * @return Amount of threads holding the read lock.
+     */
+    @Override public int getReadLockCount() {
+        long cnt = 0;
+
+        for (int i = 0; i <= stripeMask; i++)
+            cnt += readers.get(i * STRIPE_STRIDE);
+
+        return (int)cnt;
+    }
+
+    /** {@inheritDoc} */
+    @Override public int getReadHoldCount() {
+        return readerState.get().holds;
+    }
+
+    /** {@inheritDoc} */
+    @Override public boolean isWriteLocked() {
+        return writeLocked;
+    }
+
+    /** {@inheritDoc} */
+    @Override public boolean isWriteLockedByCurrentThread() {
+        return writeMux.isHeldByCurrentThread();
+    }
+
+    /** {@inheritDoc} */
+    @Override public int getWriteHoldCount() {
+        return writeMux.getHoldCount();
+    }
+
+    /**
+     * Registers the current thread as a reader if there is no writer.
+     *
+     * @param state Reader state of the current thread.
+     * @return {@code True} if read lock was acquired, {@code false} if a writer is active.
+     */
+    private boolean tryAcquireRead(ReaderState state) {
+        if (state.holds > 0) {
+            state.holds++;
+
+            return true;
+        }
+
+        int idx = state.stripe * STRIPE_STRIDE;
+
+        readers.incrementAndGet(idx);
+
+        // Writer publishes itself before checking readers, so either we see the writer or it sees our counter.
+        if (writer == null || writeMux.isHeldByCurrentThread()) {
+            state.holds = 1;
+
+            return true;
+        }
+
+        readers.decrementAndGet(idx);
+
+        Thread w = writer;
+
+        // The writer might have seen our counter, wake it up.
+        if (w != null)
+            LockSupport.unpark(w);
+
+        return false;
+    }
+
+    /**
+     * Releases the read lock held by the current thread.
+     */
+    private void releaseRead() {
+        ReaderState state = readerState.get();
+
+        if (state.holds == 0)
+            throw new IllegalMonitorStateException("Read lock is not held by the current thread.");
+
+        if (--state.holds == 0) {
+            readers.decrementAndGet(state.stripe * STRIPE_STRIDE);
+
+            Thread w = writer;
+
+            if (w != null)
+                LockSupport.unpark(w);
+        }
+    }
+
+    /**
+     * Announces the current thread as a writer and waits until all readers are gone. Must be called under
+     * {@link #writeMux} on the first acquisition by the current thread.
+     *
+     * @param interruptibly Whether to fail on thread interruption.
+     * @param timeout Timeout in nanoseconds, negative to wait infinitely.
+     * @return {@code True} if all readers are gone, {@code false} if timed out.
+     * @throws InterruptedException If interrupted.
+     */
+    private boolean drainReaders(boolean interruptibly, long timeout) throws InterruptedException {
+        long deadline = timeout < 0 ? 0 : System.nanoTime() + timeout;
+
+        writer = Thread.currentThread();
+
+        boolean interrupted = false;
+
+        try {
+            for (int i = 0; i <= stripeMask; i++) {
+                int idx = i * STRIPE_STRIDE;
+
+                while (readers.get(idx) != 0) {
+                    long park = WRITER_PARK_NANOS;
+
+                    if (timeout >= 0) {
+                        long left = deadline - System.nanoTime();
+
+                        if (left <= 0) {
+                            writer = null;
+
+                            return false;
+                        }
+
+                        park = Math.min(park, left);
+                    }
+
+                    LockSupport.parkNanos(this, park);
+
+                    if (Thread.interrupted()) {
+                        if (interruptibly) {
+                            writer = null;
+
+                            throw new InterruptedException();
+                        }
+
+                        interrupted = true;
+                    }
+                }
+            }
+
+            writeLocked = true;
+
+            return true;
+        }
+        finally {
+            if (interrupted)
+                Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Releases the write lock held by the current thread.
+     */
+    private void releaseWrite() {
+        if (!writeMux.isHeldByCurrentThread())
+            throw new IllegalMonitorStateException("Write lock is not held by the current thread.");
+
+        if (writeMux.getHoldCount() == 1) {
+            writeLocked = false;
+            writer = null;
+        }
+
+        writeMux.unlock();
+    }
+
+    /**
+     * Drains readers once the current thread reacquired {@link #writeMux} after waiting on a write lock condition.
+     */
+    private void reacquireWrite() {
+        try {
+            drainReaders(false, -1);
+        }
+        catch (InterruptedException e) {
+            throw new AssertionError(e); // Never happens.
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override public String toString() {
+        Thread w = writer;
+
+        return S.toString(StripedReentrantReadWriteLock.class, this,
+            "stripes", stripeMask + 1,
+            "readers", getReadLockCount(),
+            "writer", w == null ? null : w.getName());
+    }
+
+    /**
+     * Read lock state of a thread.
+     */
+    private class ReaderState {
+        /** Stripe of the thread. */
+        private final int stripe = stripeSeq.getAndIncrement() & stripeMask;
+
+        /** Amount of read lock holds. */
+        private int holds;
+    }
+
+    /**
+     * Read lock.
+     */
+    private class StripedReadLock extends ReentrantReadWriteLock.ReadLock {
+        /** */
+        private static final long serialVersionUID = 0L;
+
+        /** */
+        StripedReadLock() {
+            super(StripedReentrantReadWriteLock.this);
+        }
+
+        /** {@inheritDoc} */
+        @Override public void lock() {
+            ReaderState state = readerState.get();
+
+            while (!tryAcquireRead(state)) {
+                // Wait for the writer to release the lock.
+                writeMux.lock();
+                writeMux.unlock();
+            }
+        }
+
+        /** {@inheritDoc} */
+        @Override public void lockInterruptibly() throws InterruptedException {
+            if (Thread.interrupted())
+                throw new InterruptedException();
+
+            ReaderState state = readerState.get();
+
+            while (!tryAcquireRead(state)) {
+                writeMux.lockInterruptibly();
+                writeMux.unlock();
+            }
+        }
+
+        /** {@inheritDoc} */
+        @Override public boolean tryLock() {
+            return tryAcquireRead(readerState.get());
+        }
+
+        /** {@inheritDoc} */
+        @Override public boolean tryLock(long timeout, @NotNull TimeUnit unit) throws InterruptedException {
+            if (Thread.interrupted())
+                throw new InterruptedException();
+
+            ReaderState state = readerState.get();
+
+            long deadline = System.nanoTime() + unit.toNanos(timeout);
+
+            while (!tryAcquireRead(state)) {
+                if (!writeMux.tryLock(deadline - System.nanoTime(), TimeUnit.NANOSECONDS))
+                    return false;
+
+                writeMux.unlock();
+            }
+
+            return true;
+        }
+
+        /** {@inheritDoc} */
+        @Override public void unlock() {
+            releaseRead();
+        }
+
+        /** {@inheritDoc} */
+        @Override public Condition newCondition() {
+            throw new UnsupportedOperationException();
+        }
+
+        /** {@inheritDoc} */
+        @Override public String toString() {
+            return "StripedReadLock [readers=" + getReadLockCount() + ']';
+        }
+    }
+
+    /**
+     * Write lock.
+     */
+    private class StripedWriteLock extends ReentrantReadWriteLock.WriteLock {
+        /** */
+        private static final long serialVersionUID = 0L;
+
+        /** */
+        StripedWriteLock() {
+            super(StripedReentrantReadWriteLock.this);
+        }
+
+        /** {@inheritDoc} */
+        @SuppressWarnings("LockAcquiredButNotSafelyReleased")
+        @Override public void lock() {
+            writeMux.lock();
+
+            if (writeMux.getHoldCount() == 1) {
+                try {
+                    drainReaders(false, -1);
+                }
+                catch (InterruptedException e) {
+                    throw new AssertionError(e); // Never happens.
+                }
+            }
+        }
+
+        /** {@inheritDoc} */
+        @SuppressWarnings("LockAcquiredButNotSafelyReleased")
+        @Override public void lockInterruptibly() throws InterruptedException {
+            writeMux.lockInterruptibly();
+
+            if (writeMux.getHoldCount() == 1) {
+                boolean drained = false;
+
+                try {
+                    drained = drainReaders(true, -1);
+                }
+                finally {
+                    if (!drained)
+                        writeMux.unlock();
+                }
+            }
+        }
+
+        /** {@inheritDoc} */
+        @SuppressWarnings("LockAcquiredButNotSafelyReleased")
+        @Override public boolean tryLock() {
+            if (!writeMux.tryLock())
+                return false;
+
+            if (writeMux.getHoldCount() > 1)
+                return true;
+
+            writer = Thread.currentThread();
+
+            for (int i = 0; i <= stripeMask; i++) {
+                if (readers.get(i * STRIPE_STRIDE) != 0) {
+                    writer = null;
+
+                    writeMux.unlock();
+
+                    return false;
+                }
+            }
+
+            writeLocked = true;
+
+            return true;
+        }
+
+        /** {@inheritDoc} */
+        @SuppressWarnings("LockAcquiredButNotSafelyReleased")
+        @Override public boolean tryLock(long timeout, @NotNull TimeUnit unit) throws InterruptedException {
+            long deadline = System.nanoTime() + unit.toNanos(timeout);
+
+            if (!writeMux.tryLock(timeout, unit))
+                return false;
+
+            if (writeMux.getHoldCount() > 1)
+                return true;
+
+            boolean drained = false;
+
+            try {
+                drained = drainReaders(true, Math.max(0, deadline - System.nanoTime()));
+            }
+            finally {
+                if (!drained)
+                    writeMux.unlock();
+            }
+
+            return drained;
+        }
+
+        /** {@inheritDoc} */
+        @Override public void unlock() {
+            releaseWrite();
+        }
+
+        /** {@inheritDoc} */
+        @Override public Condition newCondition() {
+            return new WriteCondition(writeMux.newCondition());
+        }
+
+        /** {@inheritDoc} */
+        @Override public boolean isHeldByCurrentThread() {
+            return writeMux.isHeldByCurrentThread();
+        }
+
+        /** {@inheritDoc} */
+        @Override public int getHoldCount() {
+            return writeMux.getHoldCount();
+        }
+
+        /** {@inheritDoc} */
+        @Override public String toString() {
+            Thread w = writer;
+
+            return "StripedWriteLock [writer=" + (w == null ? null : w.getName()) + ']';
+        }
+    }
+
+    /**
+     * Write lock condition. Waiting releases the write lock, so readers are let in, and drains them again once
+     * the waiting thread reacquires the lock.
+     */
+    private class WriteCondition implements Condition {
+        /** Condition of {@link #writeMux}. */
+        private final Condition cond;
+
+        /**
+         * @param cond Condition of {@link #writeMux}.
+         */
+        WriteCondition(Condition cond) {
+            this.cond = cond;
+        }
+
+        /**
+         * Lets readers in before the write lock is released by waiting on the condition.
+         */
+        private void beforeAwait() {
+            if (!writeMux.isHeldByCurrentThread())
+                throw new IllegalMonitorStateException("Write lock is not held by the current thread.");
+
+            writeLocked = false;
+            writer = null;
+        }
+
+        /** {@inheritDoc} */
+        @Override public void await() throws InterruptedException {
+            beforeAwait();
+
+            try {
+                cond.await();
+            }
+            finally {
+                reacquireWrite();
+            }
+        }
+
+        /** {@inheritDoc} */
+        @Override public void awaitUninterruptibly() {
+            beforeAwait();
+
+            try {
+                cond.awaitUninterruptibly();
+            }
+            finally {
+                reacquireWrite();
+            }
+        }
+
+        /** {@inheritDoc} */
+        @Override public long awaitNanos(long nanosTimeout) throws InterruptedException {
+            beforeAwait();
+
+            try {
+                return cond.awaitNanos(nanosTimeout);
+            }
+            finally {
+                reacquireWrite();
+            }
+        }
+
+        /** {@inheritDoc} */
+        @Override public boolean await(long time, TimeUnit unit) throws InterruptedException {
+            beforeAwait();
+
+            try {
+                return cond.await(time, unit);
+            }
+            finally {
+                reacquireWrite();
+            }
+        }
+
+        /** {@inheritDoc} */
+        @Override public boolean awaitUntil(@NotNull Date deadline) throws InterruptedException {
+            beforeAwait();
+
+            try {
+                return cond.awaitUntil(deadline);
+            }
+            finally {
+                reacquireWrite();
+            }
+        }
+
+        /** {@inheritDoc} */
+        @Override public void signal() {
+            cond.signal();
+        }
+
+        /** {@inheritDoc} */
+        @Override public void signalAll() {
+            cond.signalAll();
+        }
+    }
+}
@@ -0,0 +1,98 @@
+/*
+ * Copyright 2019 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.ignite.internal.processors.cache.eviction.paged;
+package org.apache.ignite.internal.processors.cache.eviction.paged;
+
+import org.apache.ignite.IgniteCache;
+import org.apache.ignite.cache.CacheAtomicityMode;
+import org.apache.ignite.cache.CacheMode;
+import org.apache.ignite.cache.CacheWriteSynchronizationMode;
+import org.apache.ignite.configuration.CacheConfiguration;
+import org.apache.ignite.configuration.DataPageEvictionMode;
+import org.apache.ignite.configuration.IgniteConfiguration;
+import org.junit.Test;
+
+/**
+ * Checks that frequently accessed entries survive a one-off read scan with {@link DataPageEvictionMode#W_TINY_LFU}:
+ * the scanned entries are more recent than the hot ones but are read once, so they are evicted first.
+ */
+public class WTinyLfuPageEvictionScanResistanceTest extends PageEvictionAbstractTest {
+    /** Number of hot entries. */
+    private static final int HOT_ENTRIES = 500;
+
+    /** Number of reads of every hot entry before the scan. */
+    private static final int HOT_READS = 10;
+
+    /** Number of cold entries, read once by the scan. Together with the hot entries they fit into the data region. */
+    private static final int COLD_ENTRIES = 5_000;
+
+    /** Number of entries put after the scan, they don't fit into the data region and force eviction. */
+    private static final int NEW_ENTRIES = ENTRIES / 2;
+
+    /** {@inheritDoc} */
+    @Override protected IgniteConfiguration getConfiguration(String gridName) throws Exception {
+        return setEvictionMode(DataPageEvictionMode.W_TINY_LFU, super.getConfiguration(gridName));
+    }
+
+    /** {@inheritDoc} */
+    @Override protected void afterTest() throws Exception {
+        stopAllGrids();
+    }
+
+    /**
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testHotEntriesSurviveScan() throws Exception {
+        startGrid(0);
+
+        CacheConfiguration<Object, Object> cfg = cacheConfig("evict-tinylfu", null, CacheMode.PARTITIONED,
+            CacheAtomicityMode.ATOMIC, CacheWriteSynchronizationMode.FULL_SYNC);
+
+        IgniteCache<Object, Object> cache = ignite(0).getOrCreateCache(cfg);
+
+        // Row size is between PAGE_SIZE / 2 and PAGE_SIZE. Enforces "one row - one page".
+        for (int i = 0; i < HOT_ENTRIES; i++)
+            cache.put(i, new TestObject(PAGE_SIZE / 6));
+
+        for (int r = 0; r < HOT_READS; r++) {
+            for (int i = 0; i < HOT_ENTRIES; i++)
+                assertNotNull(cache.get(i));
+        }
+
+        for (int i = HOT_ENTRIES; i < HOT_ENTRIES + COLD_ENTRIES; i++)
+            cache.put(i, new TestObject(PAGE_SIZE / 6));
+
+        // One-off read scan, it makes the cold entries more recent than the hot ones.
+        for (int i = HOT_ENTRIES; i < HOT_ENTRIES + COLD_ENTRIES; i++)
+            assertNotNull(cache.get(i));
+
+        int newStart = HOT_ENTRIES + COLD_ENTRIES;
+
+        for (int i = newStart; i < newStart + NEW_ENTRIES; i++)
+            cache.put(i, new TestObject(PAGE_SIZE / 6));
+
+        int survived = 0;
+
+        for (int i = 0; i < HOT_ENTRIES; i++) {
+            if (cache.localPeek(i) != null)
+                survived++;
+        }
+
+        assertTrue("Too many hot entries evicted [survived=" + survived + ", hot=" + HOT_ENTRIES + ']',
+            survived >= HOT_ENTRIES * 9 / 10);
+    }
+}
@@ -0,0 +1,143 @@
+/*
+ * Copyright 2019 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.apache.ignite.internal.processors.cache.persistence;
+
+import org.apache.ignite.IgniteCache;
+import org.apache.ignite.cache.affinity.rendezvous.RendezvousAffinityFunction;
+import org.apache.ignite.cluster.ClusterState;
+import org.apache.ignite.configuration.CacheConfiguration;
+import org.apache.ignite.configuration.DataRegionConfiguration;
+import org.apache.ignite.configuration.DataStorageConfiguration;
+import org.apache.ignite.configuration.IgniteConfiguration;
+import org.apache.ignite.internal.IgniteEx;
+import org.apache.ignite.internal.processors.metric.MetricRegistry;
+import org.apache.ignite.spi.metric.LongMetric;
+import org.apache.ignite.testframework.junits.common.GridCommonAbstractTest;
+import org.junit.Test;
+
+import static org.apache.ignite.internal.processors.cache.persistence.DataStorageMetricsImpl.DATASTORAGE_METRIC_PREFIX;
+
+/**
+ * Checks parallel sync of page stores on checkpoint end.
+ */
+public class IgnitePdsCheckpointParallelSyncTest extends GridCommonAbstractTest {
+    /** Keys count. */
+    private static final int KEYS = 10_000;
+
+    /** Partitions count. */
+    private static final int PARTS = 32;
+
+    /** Checkpoint sync threads. */
+    private int syncThreads;
+
+    /** {@inheritDoc} */
+    @Override protected IgniteConfiguration getConfiguration(String igniteInstanceName) throws Exception {
+        IgniteConfiguration cfg = super.getConfiguration(igniteInstanceName);
+
+        cfg.setConsistentId(igniteInstanceName);
+
+        cfg.setDataStorageConfiguration(new DataStorageConfiguration()
+            .setMetricsEnabled(true)
+            .setCheckpointThreads(1)
+            .setCheckpointSyncThreads(syncThreads)
+            .setDefaultDataRegionConfiguration(new DataRegionConfiguration()
+                .setMaxSize(256L * 1024 * 1024)
+                .setPersistenceEnabled(true)));
+
+        cfg.setCacheConfiguration(new CacheConfiguration<Integer, byte[]>(DEFAULT_CACHE_NAME)
+            .setAffinity(new RendezvousAffinityFunction(false, PARTS)));
+
+        return cfg;
+    }
+
+    /** {@inheritDoc} */
+    @Override protected void beforeTest() throws Exception {
+        super.beforeTest();
+
+        stopAllGrids();
+
+        cleanPersistenceDir();
+    }
+
+    /** {@inheritDoc} */
+    @Override protected void afterTest() throws Exception {
+        stopAllGrids();
+
+        cleanPersistenceDir();
+
+        super.afterTest();
+    }
+
+    /**
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testSerialSync() throws Exception {
+        checkSync(0);
+    }
+
+    /**
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testParallelSync() throws Exception {
+        checkSync(8);
+    }
+
+    /**
+     * @param syncThreads Checkpoint sync threads.
+     * @throws Exception If failed.
+     */
+    private void checkSync(int syncThreads) throws Exception {
+        this.syncThreads = syncThreads;
+
+        IgniteEx ig = startGrid(0);
+
+        ig.cluster().state(ClusterState.ACTIVE);
+
+        IgniteCache<Integer, byte[]> cache = ig.cache(DEFAULT_CACHE_NAME);
+
+        for (int k = 0; k < KEYS; k++)
+            cache.put(k, new byte[100 + k % 300]);
+
+        forceCheckpoint();
+
+        MetricRegistry mreg = ig.context().metric().registry(DATASTORAGE_METRIC_PREFIX);
+
+        long syncedStores = mreg.<LongMetric>findMetric("LastCheckpointSyncedStoresNumber").value();
+
+        // All the partitions and the index partition are updated.
+        assertTrue("syncedStores=" + syncedStores, syncedStores > PARTS);
+
+        assertTrue(mreg.<LongMetric>findMetric("LastCheckpointStoresSyncDuration").value() >= 0);
+
+        for (int k = 0; k < KEYS; k++)
+            cache.put(k, new byte[k % 300]);
+
+        stopGrid(0);
+
+        ig = startGrid(0);
+
+        ig.cluster().state(ClusterState.ACTIVE);
+
+        cache = ig.cache(DEFAULT_CACHE_NAME);
+
+        for (int k = 0; k < KEYS; k++)
+            assertEquals(k % 300, cache.get(k).length);
+    }
+}
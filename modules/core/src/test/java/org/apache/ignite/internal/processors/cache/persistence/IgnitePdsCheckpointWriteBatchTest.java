@@ -0,0 +1,205 @@
+/*
+ * Copyright 2019 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.cache.persistence;
+
+import java.io.File;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import org.apache.ignite.IgniteCache;
+import org.apache.ignite.cache.affinity.rendezvous.RendezvousAffinityFunction;
+import org.apache.ignite.cluster.ClusterState;
+import org.apache.ignite.configuration.CacheConfiguration;
+import org.apache.ignite.configuration.DataRegionConfiguration;
+import org.apache.ignite.configuration.DataStorageConfiguration;
+import org.apache.ignite.configuration.IgniteConfiguration;
+import org.apache.ignite.internal.IgniteEx;
+import org.apache.ignite.internal.processors.cache.persistence.file.AsyncFileIOFactory;
+import org.apache.ignite.internal.processors.cache.persistence.file.FileIO;
+import org.apache.ignite.internal.processors.cache.persistence.file.FileIOFactory;
+import org.apache.ignite.internal.processors.cache.persistence.file.RandomAccessFileIOFactory;
+import org.apache.ignite.internal.processors.metric.MetricRegistry;
+import org.apache.ignite.internal.processors.metric.impl.DoubleMetricImpl;
+import org.apache.ignite.internal.util.typedef.internal.U;
+import org.apache.ignite.spi.metric.LongMetric;
+import org.apache.ignite.testframework.junits.common.GridCommonAbstractTest;
+import org.junit.Test;
+
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.WRITE;
+import static org.apache.ignite.internal.processors.cache.persistence.DataStorageMetricsImpl.DATASTORAGE_METRIC_PREFIX;
+
+/**
+ * Checks coalesced checkpoint page writes.
+ */
+public class IgnitePdsCheckpointWriteBatchTest extends GridCommonAbstractTest {
+    /** Keys count. */
+    private static final int KEYS = 20_000;
+
+    /** File I/O factory. */
+    private FileIOFactory ioFactory;
+
+    /** {@inheritDoc} */
+    @Override protected IgniteConfiguration getConfiguration(String igniteInstanceName) throws Exception {
+        IgniteConfiguration cfg = super.getConfiguration(igniteInstanceName);
+
+        cfg.setConsistentId(igniteInstanceName);
+
+        cfg.setDataStorageConfiguration(new DataStorageConfiguration()
+            .setMetricsEnabled(true)
+            .setFileIOFactory(ioFactory)
+            .setDefaultDataRegionConfiguration(new DataRegionConfiguration()
+                .setMaxSize(256L * 1024 * 1024)
+                .setPersistenceEnabled(true)));
+
+        cfg.setCacheConfiguration(new CacheConfiguration<Integer, byte[]>(DEFAULT_CACHE_NAME)
+            .setAffinity(new RendezvousAffinityFunction(false, 4)));
+
+        return cfg;
+    }
+
+    /** {@inheritDoc} */
+    @Override protected void beforeTest() throws Exception {
+        super.beforeTest();
+
+        stopAllGrids();
+
+        cleanPersistenceDir();
+    }
+
+    /** {@inheritDoc} */
+    @Override protected void afterTest() throws Exception {
+        stopAllGrids();
+
+        cleanPersistenceDir();
+
+        super.afterTest();
+    }
+
+    /**
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testGatheringWriteRandomAccessFileIO() throws Exception {
+        checkGatheringWrite(new RandomAccessFileIOFactory());
+    }
+
+    /**
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testGatheringWriteAsyncFileIO() throws Exception {
+        checkGatheringWrite(new AsyncFileIOFactory());
+    }
+
+    /**
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testCheckpointRandomAccessFileIO() throws Exception {
+        checkCheckpoint(new RandomAccessFileIOFactory());
+    }
+
+    /**
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testCheckpointAsyncFileIO() throws Exception {
+        checkCheckpoint(new AsyncFileIOFactory());
+    }
+
+    /**
+     * @param factory File I/O factory.
+     * @throws Exception If failed.
+     */
+    private void checkGatheringWrite(FileIOFactory factory) throws Exception {
+        File file = new File(U.defaultWorkDirectory(), "gathering-write.bin");
+
+        ByteBuffer[] bufs = new ByteBuffer[8];
+
+        for (int i = 0; i < bufs.length; i++) {
+            bufs[i] = ByteBuffer.allocateDirect(1024).order(ByteOrder.nativeOrder());
+
+            while (bufs[i].hasRemaining())
+                bufs[i].put((byte)i);
+
+            bufs[i].flip();
+        }
+
+        try (FileIO io = factory.create(file, CREATE, READ, WRITE)) {
+            io.position(10);
+
+            // Write buffers 2..6 after the first page.
+            assertEquals(5 * 1024, io.writeFully(bufs, 2, 5, 1024));
+
+            assertEquals(10, io.position());
+
+            for (int i = 2; i < 7; i++)
+                assertFalse(bufs[i].hasRemaining());
+
+            ByteBuffer res = ByteBuffer.allocate(5 * 1024);
+
+            assertEquals(5 * 1024, io.readFully(res, 1024));
+
+            for (int i = 0; i < res.capacity(); i++)
+                assertEquals(2 + i / 1024, res.get(i));
+        }
+        finally {
+            U.delete(file);
+        }
+    }
+
+    /**
+     * @param factory File I/O factory.
+     * @throws Exception If failed.
+     */
+    private void checkCheckpoint(FileIOFactory factory) throws Exception {
+        ioFactory = factory;
+
+        IgniteEx ig = startGrid(0);
+
+        ig.cluster().state(ClusterState.ACTIVE);
+
+        IgniteCache<Integer, byte[]> cache = ig.cache(DEFAULT_CACHE_NAME);
+
+        for (int k = 0; k < KEYS; k++)
+            cache.put(k, new byte[100 + k % 300]);
+
+        forceCheckpoint();
+
+        MetricRegistry mreg = ig.context().metric().registry(DATASTORAGE_METRIC_PREFIX);
+
+        long writeCalls = mreg.<LongMetric>findMetric("LastCheckpointWriteCallsNumber").value();
+        double pagesPerCall = mreg.<DoubleMetricImpl>findMetric("LastCheckpointPagesPerWriteCall").value();
+
+        assertTrue("writeCalls=" + writeCalls, writeCalls > 0);
+
+        // New pages of the partitions are contiguous, so most of them are written in batches.
+        assertTrue("pagesPerCall=" + pagesPerCall, pagesPerCall > 1);
+
+        stopGrid(0, true);
+
+        ig = startGrid(0);
+
+        ig.cluster().state(ClusterState.ACTIVE);
+
+        cache = ig.cache(DEFAULT_CACHE_NAME);
+
+        for (int k = 0; k < KEYS; k++)
+            assertEquals(100 + k % 300, cache.get(k).length);
+    }
+}
@@ -0,0 +1,235 @@
+/*
+ * Copyright 2019 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.cache.persistence;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import org.apache.ignite.IgniteCache;
+import org.apache.ignite.cache.affinity.rendezvous.RendezvousAffinityFunction;
+import org.apache.ignite.cluster.ClusterState;
+import org.apache.ignite.configuration.CacheConfiguration;
+import org.apache.ignite.configuration.ChecksumAlgorithm;
+import org.apache.ignite.configuration.DataRegionConfiguration;
+import org.apache.ignite.configuration.DataStorageConfiguration;
+import org.apache.ignite.configuration.IgniteConfiguration;
+import org.apache.ignite.internal.IgniteEx;
+import org.apache.ignite.internal.processors.cache.persistence.file.FilePageStore;
+import org.apache.ignite.internal.processors.cache.persistence.file.FilePageStoreManager;
+import org.apache.ignite.internal.processors.cache.persistence.wal.crc.Crc32C;
+import org.apache.ignite.internal.processors.cache.persistence.wal.crc.FastCrc;
+import org.apache.ignite.internal.util.typedef.internal.CU;
+import org.apache.ignite.testframework.junits.common.GridCommonAbstractTest;
+import org.junit.Test;
+
+import static org.apache.ignite.configuration.ChecksumAlgorithm.CRC32;
+import static org.apache.ignite.configuration.ChecksumAlgorithm.CRC32C;
+
+/**
+ * Checks page and WAL record checksums calculated with different {@link ChecksumAlgorithm}s.
+ */
+public class IgnitePdsChecksumAlgorithmTest extends GridCommonAbstractTest {
+    /** Keys count. */
+    private static final int KEYS = 5_000;
+
+    /** Checksum algorithm. */
+    private ChecksumAlgorithm crcAlgo;
+
+    /** {@inheritDoc} */
+    @Override protected IgniteConfiguration getConfiguration(String igniteInstanceName) throws Exception {
+        IgniteConfiguration cfg = super.getConfiguration(igniteInstanceName);
+
+        cfg.setConsistentId(igniteInstanceName);
+
+        cfg.setDataStorageConfiguration(new DataStorageConfiguration()
+            .setChecksumAlgorithm(crcAlgo)
+            .setWalSegmentSize(4 * 1024 * 1024)
+            .setDefaultDataRegionConfiguration(new DataRegionConfiguration()
+                .setMaxSize(256L * 1024 * 1024)
+                .setPersistenceEnabled(true)));
+
+        cfg.setCacheConfiguration(new CacheConfiguration<Integer, byte[]>(DEFAULT_CACHE_NAME)
+            .setAffinity(new RendezvousAffinityFunction(false, 4)));
+
+        return cfg;
+    }
+
+    /** {@inheritDoc} */
+    @Override protected void beforeTest() throws Exception {
+        super.beforeTest();
+
+        stopAllGrids();
+
+        cleanPersistenceDir();
+    }
+
+    /** {@inheritDoc} */
+    @Override protected void afterTest() throws Exception {
+        stopAllGrids();
+
+        cleanPersistenceDir();
+
+        super.afterTest();
+    }
+
+    /**
+     * Checks CRC-32C against the check value of the algorithm.
+     */
+    @Test
+    public void testCrc32CCheckValue() {
+        byte[] data = "123456789".getBytes(StandardCharsets.US_ASCII);
+
+        Crc32C crc = new Crc32C();
+
+        crc.update(ByteBuffer.wrap(data));
+
+        assertEquals(0xE3069283L, crc.getValue());
+
+        crc.reset();
+
+        // Updates by parts give the same result.
+        crc.update(ByteBuffer.wrap(data, 0, 4));
+        crc.update(ByteBuffer.wrap(data, 4, 5));
+
+        assertEquals(0xE3069283L, crc.getValue());
+
+        ByteBuffer buf = ByteBuffer.wrap(data);
+
+        assertEquals(0xE3069283 ^ 0xFFFFFFFF, FastCrc.calcCrc(CRC32C, buf, data.length));
+        assertEquals(data.length, buf.position());
+
+        buf.rewind();
+
+        int crc32 = FastCrc.calcCrc(buf, data.length);
+
+        buf.rewind();
+
+        assertEquals(crc32, FastCrc.calcCrc(CRC32, buf, data.length));
+    }
+
+    /**
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testRestartWithCrc32C() throws Exception {
+        crcAlgo = CRC32C;
+
+        IgniteEx ig = startGrid(0);
+
+        ig.cluster().state(ClusterState.ACTIVE);
+
+        IgniteCache<Integer, byte[]> cache = ig.cache(DEFAULT_CACHE_NAME);
+
+        for (int k = 0; k < KEYS / 2; k++)
+            cache.put(k, new byte[100 + k % 300]);
+
+        forceCheckpoint();
+
+        assertEquals(CRC32C, partitionStore(ig).checksumAlgorithm());
+
+        // These updates are restored from WAL on restart.
+        for (int k = KEYS / 2; k < KEYS; k++)
+            cache.put(k, new byte[100 + k % 300]);
+
+        stopGrid(0, true);
+
+        ig = startGrid(0);
+
+        ig.cluster().state(ClusterState.ACTIVE);
+
+        checkData(ig, KEYS);
+
+        assertEquals(CRC32C, partitionStore(ig).checksumAlgorithm());
+    }
+
+    /**
+     * Checks that files written with the previous algorithm are readable after the algorithm is changed.
+     *
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testChangeAlgorithm() throws Exception {
+        crcAlgo = CRC32;
+
+        IgniteEx ig = startGrid(0);
+
+        ig.cluster().state(ClusterState.ACTIVE);
+
+        IgniteCache<Integer, byte[]> cache = ig.cache(DEFAULT_CACHE_NAME);
+
+        for (int k = 0; k < KEYS / 2; k++)
+            cache.put(k, new byte[100 + k % 300]);
+
+        forceCheckpoint();
+
+        for (int k = KEYS / 2; k < KEYS; k++)
+            cache.put(k, new byte[100 + k % 300]);
+
+        stopGrid(0, true);
+
+        crcAlgo = CRC32C;
+
+        ig = startGrid(0);
+
+        ig.cluster().state(ClusterState.ACTIVE);
+
+        checkData(ig, KEYS);
+
+        // Existing partition files keep their algorithm.
+        assertEquals(CRC32, partitionStore(ig).checksumAlgorithm());
+
+        cache = ig.cache(DEFAULT_CACHE_NAME);
+
+        for (int k = KEYS; k < 2 * KEYS; k++)
+            cache.put(k, new byte[100 + k % 300]);
+
+        stopGrid(0, true);
+
+        crcAlgo = CRC32;
+
+        ig = startGrid(0);
+
+        ig.cluster().state(ClusterState.ACTIVE);
+
+        checkData(ig, 2 * KEYS);
+    }
+
+    /**
+     * @param ig Ignite.
+     * @param keys Keys count.
+     */
+    private void checkData(IgniteEx ig, int keys) {
+        IgniteCache<Integer, byte[]> cache = ig.cache(DEFAULT_CACHE_NAME);
+
+        for (int k = 0; k < keys; k++)
+            assertEquals(100 + k % 300, cache.get(k).length);
+    }
+
+    /**
+     * @param ig Ignite.
+     * @return Page store of the first partition.
+     * @throws Exception If failed.
+     */
+    private FilePageStore partitionStore(IgniteEx ig) throws Exception {
+        FilePageStoreManager pageStoreMgr = (FilePageStoreManager)ig.context().cache().context().pageStore();
+
+        FilePageStore store = (FilePageStore)pageStoreMgr.getStore(CU.cacheId(DEFAULT_CACHE_NAME), 0);
+
+        store.ensure();
+
+        return store;
+    }
+}
@@ -0,0 +1,258 @@
+/*
+ * Copyright 2019 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.cache.persistence;
+
+import java.io.File;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import javax.cache.expiry.CreatedExpiryPolicy;
+import javax.cache.expiry.Duration;
+import org.apache.ignite.IgniteCache;
+import org.apache.ignite.cache.affinity.rendezvous.RendezvousAffinityFunction;
+import org.apache.ignite.cluster.ClusterState;
+import org.apache.ignite.configuration.CacheConfiguration;
+import org.apache.ignite.configuration.DataRegionConfiguration;
+import org.apache.ignite.configuration.DataStorageConfiguration;
+import org.apache.ignite.configuration.IgniteConfiguration;
+import org.apache.ignite.internal.IgniteEx;
+import org.apache.ignite.internal.processors.cache.persistence.defragmentation.CachePartitionDefragmentationManager;
+import org.apache.ignite.internal.processors.cache.persistence.file.FilePageStoreManager;
+import org.apache.ignite.testframework.junits.common.GridCommonAbstractTest;
+import org.junit.Test;
+
+import static org.apache.ignite.IgniteSystemProperties.IGNITE_PDS_DEFRAGMENTATION_CACHE_GROUPS;
+import static org.apache.ignite.internal.processors.cache.persistence.file.FilePageStoreManager.INDEX_FILE_NAME;
+
+/**
+ * Checks offline defragmentation of partition files on node start.
+ */
+public class IgnitePdsDefragmentationTest extends GridCommonAbstractTest {
+    /** Partitions count. */
+    private static final int PARTS = 8;
+
+    /** Keys count. */
+    private static final int KEYS = 20_000;
+
+    /** Cache group name. */
+    private static final String GRP_NAME = "grp";
+
+    /** Second cache in the shared group. */
+    private static final String CACHE2_NAME = "cache2";
+
+    /** Whether caches belong to a shared group. */
+    private boolean sharedGrp;
+
+    /** {@inheritDoc} */
+    @Override protected IgniteConfiguration getConfiguration(String igniteInstanceName) throws Exception {
+        IgniteConfiguration cfg = super.getConfiguration(igniteInstanceName);
+
+        cfg.setConsistentId(igniteInstanceName);
+
+        cfg.setDataStorageConfiguration(new DataStorageConfiguration()
+            .setDefaultDataRegionConfiguration(new DataRegionConfiguration()
+                .setMaxSize(256L * 1024 * 1024)
+                .setPersistenceEnabled(true)));
+
+        CacheConfiguration<Integer, byte[]> ccfg = new CacheConfiguration<Integer, byte[]>(DEFAULT_CACHE_NAME)
+            .setAffinity(new RendezvousAffinityFunction(false, PARTS));
+
+        if (sharedGrp) {
+            ccfg.setGroupName(GRP_NAME);
+
+            CacheConfiguration<Integer, byte[]> ccfg2 = new CacheConfiguration<Integer, byte[]>(CACHE2_NAME)
+                .setGroupName(GRP_NAME)
+                .setAffinity(new RendezvousAffinityFunction(false, PARTS));
+
+            cfg.setCacheConfiguration(ccfg, ccfg2);
+        }
+        else
+            cfg.setCacheConfiguration(ccfg);
+
+        return cfg;
+    }
+
+    /** {@inheritDoc} */
+    @Override protected void beforeTest() throws Exception {
+        super.beforeTest();
+
+        stopAllGrids();
+
+        cleanPersistenceDir();
+    }
+
+    /** {@inheritDoc} */
+    @Override protected void afterTest() throws Exception {
+        System.clearProperty(IGNITE_PDS_DEFRAGMENTATION_CACHE_GROUPS);
+
+        stopAllGrids();
+
+        cleanPersistenceDir();
+
+        super.afterTest();
+    }
+
+    /**
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testDefragmentation() throws Exception {
+        checkDefragmentation(DEFAULT_CACHE_NAME);
+    }
+
+    /**
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testDefragmentationSharedGroup() throws Exception {
+        sharedGrp = true;
+
+        checkDefragmentation(GRP_NAME);
+    }
+
+    /**
+     * @param grpName Name of the cache group to defragment.
+     * @throws Exception If failed.
+     */
+    private void checkDefragmentation(String grpName) throws Exception {
+        IgniteEx ig = startGrid(0);
+
+        ig.cluster().state(ClusterState.ACTIVE);
+
+        String[] caches = sharedGrp ? new String[] {DEFAULT_CACHE_NAME, CACHE2_NAME} : new String[] {DEFAULT_CACHE_NAME};
+
+        for (String cacheName : caches) {
+            IgniteCache<Integer, byte[]> cache = ig.cache(cacheName);
+
+            IgniteCache<Integer, byte[]> expiring =
+                cache.withExpiryPolicy(new CreatedExpiryPolicy(new Duration(TimeUnit.HOURS, 1)));
+
+            for (int k = 0; k < KEYS; k++)
+                (k % 4 == 0 ? expiring : cache).put(k, value(k));
+
+            // Leave the data pages sparsely filled.
+            for (int k = 0; k < KEYS; k++) {
+                if (k % 3 != 0)
+                    cache.remove(k);
+            }
+        }
+
+        File workDir = ((FilePageStoreManager)ig.context().cache().context().pageStore())
+            .cacheWorkDir(sharedGrp, grpName);
+
+        forceCheckpoint();
+
+        stopGrid(0);
+
+        long sizeBefore = partitionsSize(workDir);
+
+        System.setProperty(IGNITE_PDS_DEFRAGMENTATION_CACHE_GROUPS, grpName);
+
+        try {
+            ig = startGrid(0);
+        }
+        finally {
+            System.clearProperty(IGNITE_PDS_DEFRAGMENTATION_CACHE_GROUPS);
+        }
+
+        long sizeAfter = partitionsSize(workDir);
+
+        assertTrue("sizeBefore=" + sizeBefore + ", sizeAfter=" + sizeAfter, sizeAfter < sizeBefore / 2);
+
+        assertFalse(new File(workDir, CachePartitionDefragmentationManager.DFRG_COMPLETION_MARKER_FILE_NAME).exists());
+
+        ig.cluster().state(ClusterState.ACTIVE);
+
+        for (String cacheName : caches) {
+            IgniteCache<Integer, byte[]> cache = ig.cache(cacheName);
+
+            checkData(cache);
+
+            // Free lists and trees of defragmented partitions must be usable for updates.
+            for (int k = 0; k < KEYS; k++) {
+                if (k % 3 == 0)
+                    cache.remove(k);
+                else
+                    cache.put(k, value(k));
+            }
+        }
+
+        forceCheckpoint();
+
+        stopGrid(0);
+
+        ig = startGrid(0);
+
+        ig.cluster().state(ClusterState.ACTIVE);
+
+        for (String cacheName : caches) {
+            IgniteCache<Integer, byte[]> cache = ig.cache(cacheName);
+
+            assertEquals(KEYS - (KEYS + 2) / 3, cache.size());
+
+            for (int k = 0; k < KEYS; k++)
+                assertTrue(Arrays.equals(k % 3 == 0 ? null : value(k), cache.get(k)));
+        }
+
+        assertTrue(new File(workDir, INDEX_FILE_NAME).exists());
+    }
+
+    /**
+     * @param cache Cache.
+     */
+    private void checkData(IgniteCache<Integer, byte[]> cache) {
+        assertEquals((KEYS + 2) / 3, cache.size());
+
+        for (int k = 0; k < KEYS; k++) {
+            byte[] val = cache.get(k);
+
+            if (k % 3 == 0)
+                assertTrue("Unexpected value [key=" + k + ']', Arrays.equals(value(k), val));
+            else
+                assertNull(val);
+        }
+    }
+
+    /**
+     * @param k Key.
+     * @return Value, every tenth value does not fit a single page.
+     */
+    private static byte[] value(int k) {
+        byte[] val = new byte[k % 10 == 0 ? 5_000 + k % 1_000 : 100 + k % 300];
+
+        for (int i = 0; i < val.length; i++)
+            val[i] = (byte)(k + i);
+
+        return val;
+    }
+
+    /**
+     * @param workDir Cache group work directory.
+     * @return Total size of partition files.
+     */
+    private static long partitionsSize(File workDir) {
+        File[] parts = workDir.listFiles((dir, name) -> name.startsWith(FilePageStoreManager.PART_FILE_PREFIX));
+
+        assertNotNull(parts);
+
+        long size = 0;
+
+        for (File part : parts)
+            size += part.length();
+
+        return size;
+    }
+}
@@ -0,0 +1,239 @@
+/*
+ * Copyright 2019 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.apache.ignite.internal.processors.cache.persistence;
+
+import java.io.File;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import org.apache.ignite.IgniteCache;
+import org.apache.ignite.cache.affinity.rendezvous.RendezvousAffinityFunction;
+import org.apache.ignite.cluster.ClusterState;
+import org.apache.ignite.configuration.CacheConfiguration;
+import org.apache.ignite.configuration.DataRegionConfiguration;
+import org.apache.ignite.configuration.DataStorageConfiguration;
+import org.apache.ignite.configuration.IgniteConfiguration;
+import org.apache.ignite.internal.IgniteEx;
+import org.apache.ignite.internal.processors.cache.persistence.file.FileIO;
+import org.apache.ignite.internal.processors.cache.persistence.file.FileIOFactory;
+import org.apache.ignite.internal.processors.cache.persistence.file.FilePageStore;
+import org.apache.ignite.internal.processors.cache.persistence.file.FilePageStoreManager;
+import org.apache.ignite.internal.processors.cache.persistence.file.MappedFileIO;
+import org.apache.ignite.internal.processors.cache.persistence.file.MappedFileIOFactory;
+import org.apache.ignite.internal.util.typedef.internal.CU;
+import org.apache.ignite.internal.util.typedef.internal.U;
+import org.apache.ignite.testframework.junits.common.GridCommonAbstractTest;
+import org.junit.Test;
+
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+/**
+ * Checks memory mapped file I/O.
+ */
+public class IgnitePdsMappedFileIOTest extends GridCommonAbstractTest {
+    /** Keys count. */
+    private static final int KEYS = 10_000;
+
+    /** Data region with mapped file I/O. */
+    private static final String MAPPED_REGION = "mapped";
+
+    /** Cache in the data region with mapped file I/O. */
+    private static final String MAPPED_CACHE = "mapped-cache";
+
+    /** {@inheritDoc} */
+    @Override protected IgniteConfiguration getConfiguration(String igniteInstanceName) throws Exception {
+        IgniteConfiguration cfg = super.getConfiguration(igniteInstanceName);
+
+        cfg.setConsistentId(igniteInstanceName);
+
+        cfg.setDataStorageConfiguration(new DataStorageConfiguration()
+            .setDefaultDataRegionConfiguration(new DataRegionConfiguration()
+                .setMaxSize(256L * 1024 * 1024)
+                .setPersistenceEnabled(true))
+            .setDataRegionConfigurations(new DataRegionConfiguration()
+                .setName(MAPPED_REGION)
+                .setMaxSize(256L * 1024 * 1024)
+                .setPersistenceEnabled(true)
+                .setFileIOFactory(new MappedFileIOFactory(64 * 1024))));
+
+        cfg.setCacheConfiguration(
+            new CacheConfiguration<Integer, byte[]>(DEFAULT_CACHE_NAME)
+                .setAffinity(new RendezvousAffinityFunction(false, 4)),
+            new CacheConfiguration<Integer, byte[]>(MAPPED_CACHE)
+                .setDataRegionName(MAPPED_REGION)
+                .setAffinity(new RendezvousAffinityFunction(false, 4)));
+
+        return cfg;
+    }
+
+    /** {@inheritDoc} */
+    @Override protected void beforeTest() throws Exception {
+        super.beforeTest();
+
+        stopAllGrids();
+
+        cleanPersistenceDir();
+    }
+
+    /** {@inheritDoc} */
+    @Override protected void afterTest() throws Exception {
+        stopAllGrids();
+
+        cleanPersistenceDir();
+
+        super.afterTest();
+    }
+
+    /**
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testReadWrite() throws Exception {
+        File file = new File(U.defaultWorkDirectory(), "mapped-file-io.bin");
+
+        int pageSize = 1024;
+
+        // Small segments to check reads from several of them.
+        FileIOFactory factory = new MappedFileIOFactory(4 * pageSize);
+
+        ByteBuffer buf = ByteBuffer.allocateDirect(pageSize).order(ByteOrder.nativeOrder());
+
+        try (FileIO io = factory.create(file, CREATE, READ, WRITE)) {
+            assertTrue(io instanceof MappedFileIO);
+
+            // Nothing to read yet.
+            assertEquals(-1, io.read(buf, 0));
+
+            for (int i = 0; i < 6; i++)
+                writePage(io, buf, i, i);
+
+            for (int i = 0; i < 6; i++)
+                assertEquals(i, readPage(io, buf, i));
+
+            // Update a mapped page and grow the file beyond the mapped part of a segment.
+            writePage(io, buf, 2, 100);
+            writePage(io, buf, 6, 6);
+            writePage(io, buf, 9, 9);
+
+            assertEquals(100, readPage(io, buf, 2));
+            assertEquals(6, readPage(io, buf, 6));
+            assertEquals(9, readPage(io, buf, 9));
+
+            // Read crossing a segment boundary.
+            ByteBuffer big = ByteBuffer.allocate(2 * pageSize).order(ByteOrder.nativeOrder());
+
+            assertEquals(2 * pageSize, io.readFully(big, 3L * pageSize));
+
+            assertEquals(3, big.getInt(0));
+            assertEquals(4, big.getInt(pageSize));
+
+            io.clear();
+
+            assertEquals(0, io.size());
+
+            buf.clear();
+
+            assertEquals(-1, io.read(buf, 0));
+
+            writePage(io, buf, 0, 42);
+
+            assertEquals(42, readPage(io, buf, 0));
+        }
+        finally {
+            U.delete(file);
+        }
+    }
+
+    /**
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testDataRegionFileIOFactory() throws Exception {
+        IgniteEx ig = startGrid(0);
+
+        ig.cluster().state(ClusterState.ACTIVE);
+
+        IgniteCache<Integer, byte[]> cache = ig.cache(MAPPED_CACHE);
+
+        for (int k = 0; k < KEYS; k++)
+            cache.put(k, new byte[100 + k % 300]);
+
+        forceCheckpoint();
+
+        FilePageStoreManager pageStoreMgr = (FilePageStoreManager)ig.context().cache().context().pageStore();
+
+        assertTrue(fileIO(pageStoreMgr, CU.cacheId(MAPPED_CACHE)) instanceof MappedFileIO);
+        assertFalse(fileIO(pageStoreMgr, CU.cacheId(DEFAULT_CACHE_NAME)) instanceof MappedFileIO);
+
+        stopGrid(0);
+
+        ig = startGrid(0);
+
+        ig.cluster().state(ClusterState.ACTIVE);
+
+        cache = ig.cache(MAPPED_CACHE);
+
+        for (int k = 0; k < KEYS; k++)
+            assertEquals(100 + k % 300, cache.get(k).length);
+    }
+
+    /**
+     * @param pageStoreMgr Page store manager.
+     * @param grpId Cache group ID.
+     * @return File I/O of the first partition.
+     * @throws Exception If failed.
+     */
+    private FileIO fileIO(FilePageStoreManager pageStoreMgr, int grpId) throws Exception {
+        FilePageStore store = (FilePageStore)pageStoreMgr.getStore(grpId, 0);
+
+        store.ensure();
+
+        return U.field(store, "fileIO");
+    }
+
+    /**
+     * @param io File I/O.
+     * @param buf Page buffer.
+     * @param idx Page index.
+     * @param val Page value.
+     * @throws Exception If failed.
+     */
+    private static void writePage(FileIO io, ByteBuffer buf, int idx, int val) throws Exception {
+        buf.clear();
+
+        buf.putInt(0, val);
+
+        io.writeFully(buf, (long)idx * buf.capacity());
+    }
+
+    /**
+     * @param io File I/O.
+     * @param buf Page buffer.
+     * @param idx Page index.
+     * @return Page value.
+     * @throws Exception If failed.
+     */
+    private static int readPage(FileIO io, ByteBuffer buf, int idx) throws Exception {
+        buf.clear();
+
+        assertEquals(buf.capacity(), io.readFully(buf, (long)idx * buf.capacity()));
+
+        return buf.getInt(0);
+    }
+}
@@ -0,0 +1,161 @@
+/*
+ * Copyright 2019 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.cache.persistence;
+
+import java.io.File;
+import org.apache.ignite.IgniteCache;
+import org.apache.ignite.cache.affinity.rendezvous.RendezvousAffinityFunction;
+import org.apache.ignite.cluster.ClusterState;
+import org.apache.ignite.configuration.CacheConfiguration;
+import org.apache.ignite.configuration.DataRegionConfiguration;
+import org.apache.ignite.configuration.DataStorageConfiguration;
+import org.apache.ignite.configuration.IgniteConfiguration;
+import org.apache.ignite.configuration.WarmUpConfiguration;
+import org.apache.ignite.configuration.WarmUpMode;
+import org.apache.ignite.internal.IgniteEx;
+import org.apache.ignite.internal.pagemem.PageIdAllocator;
+import org.apache.ignite.internal.processors.cache.persistence.file.FilePageStoreManager;
+import org.apache.ignite.internal.processors.cache.persistence.warmup.PageMemoryWarmUpManager;
+import org.apache.ignite.internal.processors.metric.MetricRegistry;
+import org.apache.ignite.internal.processors.metric.impl.BooleanMetricImpl;
+import org.apache.ignite.internal.util.typedef.internal.CU;
+import org.apache.ignite.spi.metric.LongMetric;
+import org.apache.ignite.testframework.GridTestUtils;
+import org.apache.ignite.testframework.junits.common.GridCommonAbstractTest;
+import org.junit.Test;
+
+import static org.apache.ignite.internal.processors.cache.persistence.DataRegionMetricsImpl.DATAREGION_METRICS_PREFIX;
+import static org.apache.ignite.internal.processors.metric.impl.MetricUtils.metricName;
+
+/**
+ * Checks background warm-up of page memory on node start.
+ */
+public class IgnitePdsPageMemoryWarmUpTest extends GridCommonAbstractTest {
+    /** Keys count. */
+    private static final int KEYS = 10_000;
+
+    /** Warm-up mode. */
+    private WarmUpMode mode;
+
+    /** {@inheritDoc} */
+    @Override protected IgniteConfiguration getConfiguration(String igniteInstanceName) throws Exception {
+        IgniteConfiguration cfg = super.getConfiguration(igniteInstanceName);
+
+        cfg.setConsistentId(igniteInstanceName);
+
+        cfg.setDataStorageConfiguration(new DataStorageConfiguration()
+            .setDefaultDataRegionConfiguration(new DataRegionConfiguration()
+                .setMaxSize(256L * 1024 * 1024)
+                .setPersistenceEnabled(true)
+                .setMetricsEnabled(true)
+                .setWarmUpConfiguration(new WarmUpConfiguration()
+                    .setMode(mode)
+                    .setPagesPerSecond(0))));
+
+        cfg.setCacheConfiguration(new CacheConfiguration<Integer, byte[]>(DEFAULT_CACHE_NAME)
+            .setAffinity(new RendezvousAffinityFunction(false, 8)));
+
+        return cfg;
+    }
+
+    /** {@inheritDoc} */
+    @Override protected void beforeTest() throws Exception {
+        super.beforeTest();
+
+        stopAllGrids();
+
+        cleanPersistenceDir();
+    }
+
+    /** {@inheritDoc} */
+    @Override protected void afterTest() throws Exception {
+        stopAllGrids();
+
+        cleanPersistenceDir();
+
+        super.afterTest();
+    }
+
+    /**
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testHotPages() throws Exception {
+        mode = WarmUpMode.HOT_PAGES;
+
+        checkWarmUp(true);
+    }
+
+    /**
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testIndexPages() throws Exception {
+        mode = WarmUpMode.INDEX_PAGES;
+
+        checkWarmUp(false);
+    }
+
+    /**
+     * @param dumpExpected Whether the hot pages dump is expected to be used.
+     * @throws Exception If failed.
+     */
+    private void checkWarmUp(boolean dumpExpected) throws Exception {
+        IgniteEx ig = startGrid(0);
+
+        ig.cluster().state(ClusterState.ACTIVE);
+
+        IgniteCache<Integer, byte[]> cache = ig.cache(DEFAULT_CACHE_NAME);
+
+        for (int k = 0; k < KEYS; k++)
+            cache.put(k, new byte[100 + k % 500]);
+
+        File dumpFile = new File(((FilePageStoreManager)ig.context().cache().context().pageStore()).workDir(),
+            PageMemoryWarmUpManager.HOT_PAGES_FILE_PREFIX + "default" + PageMemoryWarmUpManager.HOT_PAGES_FILE_EXT);
+
+        stopGrid(0);
+
+        assertTrue(dumpFile.exists());
+
+        ig = startGrid(0);
+
+        ig.cluster().state(ClusterState.ACTIVE);
+
+        MetricRegistry mreg = ig.context().metric().registry(metricName(DATAREGION_METRICS_PREFIX, "default"));
+
+        BooleanMetricImpl inProgress = mreg.findMetric("WarmUpInProgress");
+
+        assertTrue(GridTestUtils.waitForCondition(() -> !inProgress.value(), getTestTimeout()));
+
+        long total = mreg.<LongMetric>findMetric("WarmUpPagesTotal").value();
+        long loaded = mreg.<LongMetric>findMetric("WarmUpPagesLoaded").value();
+
+        assertTrue("total=" + total, total > 0);
+        assertTrue("loaded=" + loaded + ", total=" + total, loaded > 0 && loaded <= total);
+
+        // The dump contains data pages in addition to the index pages.
+        if (dumpExpected) {
+            assertTrue("loaded=" + loaded, loaded > ig.context().cache().context().pageStore().pages(
+                CU.cacheId(DEFAULT_CACHE_NAME), PageIdAllocator.INDEX_PARTITION));
+        }
+
+        cache = ig.cache(DEFAULT_CACHE_NAME);
+
+        for (int k = 0; k < KEYS; k++)
+            assertEquals(100 + k % 500, cache.get(k).length);
+    }
+}
@@ -0,0 +1,193 @@
+/*
+ * Copyright 2019 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.cache.persistence.db;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.regex.Pattern;
+import org.apache.ignite.IgniteCache;
+import org.apache.ignite.cache.affinity.rendezvous.RendezvousAffinityFunction;
+import org.apache.ignite.configuration.CacheConfiguration;
+import org.apache.ignite.configuration.DataRegionConfiguration;
+import org.apache.ignite.configuration.DataStorageConfiguration;
+import org.apache.ignite.configuration.IgniteConfiguration;
+import org.apache.ignite.internal.IgniteEx;
+import org.apache.ignite.internal.IgniteInternalFuture;
+import org.apache.ignite.testframework.GridTestUtils;
+import org.apache.ignite.testframework.ListeningTestLogger;
+import org.apache.ignite.testframework.LogListener;
+import org.apache.ignite.testframework.junits.WithSystemProperty;
+import org.apache.ignite.testframework.junits.common.GridCommonAbstractTest;
+import org.apache.ignite.transactions.Transaction;
+import org.junit.Test;
+
+import static org.apache.ignite.IgniteSystemProperties.IGNITE_FILE_REBALANCE_ENABLED;
+import static org.apache.ignite.IgniteSystemProperties.IGNITE_FILE_REBALANCE_THRESHOLD;
+import static org.apache.ignite.cache.CacheAtomicityMode.TRANSACTIONAL;
+import static org.apache.ignite.transactions.TransactionConcurrency.PESSIMISTIC;
+import static org.apache.ignite.transactions.TransactionIsolation.REPEATABLE_READ;
+
+/**
+ * Checks rebalancing of persistent partitions by files.
+ */
+@WithSystemProperty(key = IGNITE_FILE_REBALANCE_THRESHOLD, value = "0")
+public class IgnitePdsFileRebalanceTest extends GridCommonAbstractTest {
+    /** */
+    private static final String CACHE = "accounts";
+
+    /** */
+    private static final int ACCOUNTS = 2000;
+
+    /** */
+    private static final int BALANCE = 1000;
+
+    /** Matches a message about partition files installed on the joined node. */
+    private final LogListener installedLsnr =
+        LogListener.matches(Pattern.compile("Installed partition files .*parts=\\[\\d")).build();
+
+    /** {@inheritDoc} */
+    @Override protected IgniteConfiguration getConfiguration(String name) throws Exception {
+        IgniteConfiguration cfg = super.getConfiguration(name);
+
+        ListeningTestLogger testLog = new ListeningTestLogger(false, cfg.getGridLogger());
+
+        testLog.registerListener(installedLsnr);
+
+        cfg.setGridLogger(testLog);
+
+        cfg.setDataStorageConfiguration(new DataStorageConfiguration()
+            .setDefaultDataRegionConfiguration(new DataRegionConfiguration().setPersistenceEnabled(true))
+            .setWalHistorySize(100));
+
+        cfg.setCacheConfiguration(new CacheConfiguration<Integer, Integer>(CACHE)
+            .setAtomicityMode(TRANSACTIONAL)
+            .setBackups(1)
+            .setAffinity(new RendezvousAffinityFunction(false, 16)));
+
+        return cfg;
+    }
+
+    /** {@inheritDoc} */
+    @Override protected void beforeTest() throws Exception {
+        stopAllGrids();
+
+        cleanPersistenceDir();
+    }
+
+    /** {@inheritDoc} */
+    @Override protected void afterTest() throws Exception {
+        stopAllGrids();
+
+        cleanPersistenceDir();
+    }
+
+    /**
+     * @throws Exception If failed.
+     */
+    @Test
+    @WithSystemProperty(key = IGNITE_FILE_REBALANCE_ENABLED, value = "true")
+    public void testFileRebalanceUnderLoad() throws Exception {
+        checkRebalance();
+
+        assertTrue(installedLsnr.check());
+    }
+
+    /**
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testFileRebalanceDisabledByDefault() throws Exception {
+        checkRebalance();
+
+        assertFalse(installedLsnr.check());
+    }
+
+    /**
+     * Adds a node to the baseline while the balance is transferred between accounts and checks the data.
+     *
+     * @throws Exception If failed.
+     */
+    private void checkRebalance() throws Exception {
+        IgniteEx ig = startGrids(2);
+
+        ig.cluster().active(true);
+
+        IgniteCache<Integer, Integer> cache = ig.cache(CACHE);
+
+        for (int i = 0; i < ACCOUNTS; i++)
+            cache.put(i, BALANCE);
+
+        forceCheckpoint();
+
+        AtomicBoolean stop = new AtomicBoolean();
+
+        IgniteInternalFuture<?> loadFut = GridTestUtils.runMultiThreadedAsync(() -> {
+            ThreadLocalRandom rnd = ThreadLocalRandom.current();
+
+            while (!stop.get()) {
+                int from = rnd.nextInt(ACCOUNTS);
+                int to = rnd.nextInt(ACCOUNTS);
+
+                if (from == to)
+                    continue;
+
+                try (Transaction tx = ig.transactions().txStart(PESSIMISTIC, REPEATABLE_READ)) {
+                    int a = cache.get(Math.min(from, to));
+                    int b = cache.get(Math.max(from, to));
+
+                    int amount = rnd.nextInt(10);
+
+                    cache.put(Math.min(from, to), a - amount);
+                    cache.put(Math.max(from, to), b + amount);
+
+                    tx.commit();
+                }
+            }
+        }, 4, "transfer");
+
+        try {
+            startGrid(2);
+
+            ig.cluster().setBaselineTopology(ig.cluster().topologyVersion());
+
+            awaitPartitionMapExchange(true, true, null);
+        }
+        finally {
+            stop.set(true);
+        }
+
+        loadFut.get(getTestTimeout());
+
+        awaitPartitionMapExchange(true, true, null);
+
+        assertPartitionsSame(idleVerify(ig, CACHE));
+
+        IgniteCache<Integer, Integer> rebalanced = grid(2).cache(CACHE);
+
+        long total = 0;
+
+        for (int i = 0; i < ACCOUNTS; i++) {
+            Integer balance = rebalanced.get(i);
+
+            assertNotNull("Missing account " + i, balance);
+
+            total += balance;
+        }
+
+        assertEquals((long)ACCOUNTS * BALANCE, total);
+    }
+}
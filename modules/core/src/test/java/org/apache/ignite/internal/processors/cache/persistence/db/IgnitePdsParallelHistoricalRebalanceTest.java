@@ -0,0 +1,167 @@
+/*
+ * Copyright 2019 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.cache.persistence.db;
+
+import java.util.regex.Pattern;
+import org.apache.ignite.IgniteCache;
+import org.apache.ignite.cache.affinity.rendezvous.RendezvousAffinityFunction;
+import org.apache.ignite.configuration.CacheConfiguration;
+import org.apache.ignite.configuration.DataRegionConfiguration;
+import org.apache.ignite.configuration.DataStorageConfiguration;
+import org.apache.ignite.configuration.IgniteConfiguration;
+import org.apache.ignite.internal.IgniteEx;
+import org.apache.ignite.testframework.ListeningTestLogger;
+import org.apache.ignite.testframework.LogListener;
+import org.apache.ignite.testframework.junits.WithSystemProperty;
+import org.apache.ignite.testframework.junits.common.GridCommonAbstractTest;
+import org.junit.Test;
+
+import static org.apache.ignite.IgniteSystemProperties.IGNITE_HISTORICAL_REBALANCE_READ_THREADS;
+import static org.apache.ignite.IgniteSystemProperties.IGNITE_PDS_WAL_REBALANCE_THRESHOLD;
+import static org.apache.ignite.IgniteSystemProperties.IGNITE_REBALANCE_PARALLEL_APPLY;
+
+/**
+ * Checks historical rebalance which reads WAL of the supplier in chunks and applies partitions in parallel.
+ */
+@WithSystemProperty(key = IGNITE_PDS_WAL_REBALANCE_THRESHOLD, value = "0")
+public class IgnitePdsParallelHistoricalRebalanceTest extends GridCommonAbstractTest {
+    /** */
+    private static final String CACHE = "cache";
+
+    /** */
+    private static final int KEYS = 5_000;
+
+    /** */
+    private static final int UPDATES = 20;
+
+    /** Matches a message about a rebalance routine with historical partitions. */
+    private final LogListener histLsnr =
+        LogListener.matches(Pattern.compile("Starting rebalance routine .*histPartitions=\\[\\d")).build();
+
+    /** {@inheritDoc} */
+    @Override protected IgniteConfiguration getConfiguration(String name) throws Exception {
+        IgniteConfiguration cfg = super.getConfiguration(name);
+
+        ListeningTestLogger testLog = new ListeningTestLogger(false, cfg.getGridLogger());
+
+        testLog.registerListener(histLsnr);
+
+        cfg.setGridLogger(testLog);
+
+        cfg.setConsistentId(name);
+
+        // Partitions of a supply message are applied in parallel by the threads of the rebalance pool.
+        cfg.setRebalanceThreadPoolSize(4);
+
+        // Small segments make the history span a number of archived segments.
+        cfg.setDataStorageConfiguration(new DataStorageConfiguration()
+            .setDefaultDataRegionConfiguration(new DataRegionConfiguration().setPersistenceEnabled(true))
+            .setWalSegmentSize(512 * 1024)
+            .setWalHistorySize(1000));
+
+        cfg.setCacheConfiguration(new CacheConfiguration<Integer, Integer>(CACHE)
+            .setBackups(1)
+            .setAffinity(new RendezvousAffinityFunction(false, 32)));
+
+        return cfg;
+    }
+
+    /** {@inheritDoc} */
+    @Override protected void beforeTest() throws Exception {
+        stopAllGrids();
+
+        cleanPersistenceDir();
+    }
+
+    /** {@inheritDoc} */
+    @Override protected void afterTest() throws Exception {
+        stopAllGrids();
+
+        cleanPersistenceDir();
+    }
+
+    /**
+     * @throws Exception If failed.
+     */
+    @Test
+    @WithSystemProperty(key = IGNITE_HISTORICAL_REBALANCE_READ_THREADS, value = "4")
+    @WithSystemProperty(key = IGNITE_REBALANCE_PARALLEL_APPLY, value = "true")
+    public void testParallelHistoricalRebalance() throws Exception {
+        checkHistoricalRebalance();
+    }
+
+    /**
+     * @throws Exception If failed.
+     */
+    @Test
+    @WithSystemProperty(key = IGNITE_HISTORICAL_REBALANCE_READ_THREADS, value = "1")
+    @WithSystemProperty(key = IGNITE_REBALANCE_PARALLEL_APPLY, value = "false")
+    public void testSequentialHistoricalRebalance() throws Exception {
+        checkHistoricalRebalance();
+    }
+
+    /**
+     * Updates the data while a node is down and checks the data after the node catches up.
+     *
+     * @throws Exception If failed.
+     */
+    private void checkHistoricalRebalance() throws Exception {
+        IgniteEx ig = startGrids(2);
+
+        ig.cluster().active(true);
+
+        IgniteCache<Integer, Integer> cache = ig.cache(CACHE);
+
+        for (int i = 0; i < KEYS; i++)
+            cache.put(i, 0);
+
+        forceCheckpoint();
+
+        stopGrid(1);
+
+        for (int upd = 1; upd <= UPDATES; upd++) {
+            for (int i = 0; i < KEYS; i++) {
+                // Every tenth key is removed to rebalance removals too.
+                if (upd == UPDATES && i % 10 == 0)
+                    cache.remove(i);
+                else
+                    cache.put(i, upd);
+            }
+        }
+
+        startGrid(1);
+
+        awaitPartitionMapExchange(true, true, null);
+
+        assertTrue(histLsnr.check());
+
+        assertPartitionsSame(idleVerify(ig, CACHE));
+
+        stopGrid(0);
+
+        awaitPartitionMapExchange();
+
+        IgniteCache<Integer, Integer> rebalanced = grid(1).cache(CACHE);
+
+        for (int i = 0; i < KEYS; i++) {
+            if (i % 10 == 0)
+                assertNull(rebalanced.get(i));
+            else
+                assertEquals(UPDATES, (int)rebalanced.get(i));
+        }
+    }
+}
@@ -0,0 +1,322 @@
+/*
+ * Copyright 2019 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.cache.persistence.db;
+
+import java.io.File;
+import java.io.RandomAccessFile;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.apache.ignite.IgniteCache;
+import org.apache.ignite.IgniteCheckedException;
+import org.apache.ignite.cache.affinity.rendezvous.RendezvousAffinityFunction;
+import org.apache.ignite.configuration.CacheConfiguration;
+import org.apache.ignite.configuration.DataRegionConfiguration;
+import org.apache.ignite.configuration.DataStorageConfiguration;
+import org.apache.ignite.configuration.IgniteConfiguration;
+import org.apache.ignite.internal.IgniteEx;
+import org.apache.ignite.internal.IgniteInternalFuture;
+import org.apache.ignite.internal.processors.cache.persistence.file.FilePageStore;
+import org.apache.ignite.internal.processors.cache.persistence.file.FilePageStoreManager;
+import org.apache.ignite.internal.processors.cache.persistence.snapshot.FileSnapshotManager;
+import org.apache.ignite.internal.util.typedef.internal.CU;
+import org.apache.ignite.internal.util.typedef.internal.U;
+import org.apache.ignite.testframework.GridTestUtils;
+import org.apache.ignite.testframework.junits.common.GridCommonAbstractTest;
+import org.apache.ignite.transactions.Transaction;
+import org.junit.Test;
+
+import static org.apache.ignite.cache.CacheAtomicityMode.TRANSACTIONAL;
+import static org.apache.ignite.transactions.TransactionConcurrency.PESSIMISTIC;
+import static org.apache.ignite.transactions.TransactionIsolation.REPEATABLE_READ;
+
+/**
+ * Checks that a snapshot taken under load is consistent across nodes and can be restored.
+ */
+public class IgnitePdsSnapshotTest extends GridCommonAbstractTest {
+    /** */
+    private static final String CACHE = "accounts";
+
+    /** */
+    private static final int ACCOUNTS = 500;
+
+    /** */
+    private static final int BALANCE = 1000;
+
+    /** {@inheritDoc} */
+    @Override protected IgniteConfiguration getConfiguration(String name) throws Exception {
+        IgniteConfiguration cfg = super.getConfiguration(name);
+
+        cfg.setDataStorageConfiguration(new DataStorageConfiguration()
+            .setDefaultDataRegionConfiguration(new DataRegionConfiguration().setPersistenceEnabled(true))
+            .setCheckpointFrequency(200)
+            .setSnapshotPath("db/snapshots")
+            .setSnapshotCopyRate(4L * 1024 * 1024));
+
+        cfg.setCacheConfiguration(new CacheConfiguration<Integer, Account>(CACHE)
+            .setAtomicityMode(TRANSACTIONAL)
+            .setBackups(1)
+            .setAffinity(new RendezvousAffinityFunction(false, 32)));
+
+        return cfg;
+    }
+
+    /** {@inheritDoc} */
+    @Override protected void beforeTest() throws Exception {
+        stopAllGrids();
+
+        cleanPersistenceDir();
+    }
+
+    /** {@inheritDoc} */
+    @Override protected void afterTest() throws Exception {
+        stopAllGrids();
+
+        cleanPersistenceDir();
+    }
+
+    /**
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testSnapshotUnderLoadRestore() throws Exception {
+        IgniteEx ig = startGrids(2);
+
+        ig.cluster().active(true);
+
+        IgniteCache<Integer, Account> cache = ig.cache(CACHE);
+
+        for (int i = 0; i < ACCOUNTS; i++)
+            cache.put(i, new Account(BALANCE));
+
+        AtomicBoolean stop = new AtomicBoolean();
+
+        IgniteInternalFuture<?> loadFut = GridTestUtils.runMultiThreadedAsync(() -> {
+            ThreadLocalRandom rnd = ThreadLocalRandom.current();
+
+            while (!stop.get()) {
+                int from = rnd.nextInt(ACCOUNTS);
+                int to = rnd.nextInt(ACCOUNTS);
+
+                if (from == to)
+                    continue;
+
+                try (Transaction tx = ig.transactions().txStart(PESSIMISTIC, REPEATABLE_READ)) {
+                    Account a = cache.get(Math.min(from, to));
+                    Account b = cache.get(Math.max(from, to));
+
+                    int amount = rnd.nextInt(10);
+
+                    cache.put(Math.min(from, to), new Account(a.balance - amount));
+                    cache.put(Math.max(from, to), new Account(b.balance + amount));
+
+                    tx.commit();
+                }
+            }
+        }, 4, "transfer");
+
+        FileSnapshotManager snpMgr = (FileSnapshotManager)ig.context().cache().context().snapshot();
+
+        try {
+            U.sleep(500);
+
+            snpMgr.createSnapshot("snp", null).get(getTestTimeout());
+
+            U.sleep(500);
+        }
+        finally {
+            stop.set(true);
+        }
+
+        loadFut.get(getTestTimeout());
+
+        ig.destroyCache(CACHE);
+
+        awaitPartitionMapExchange();
+
+        snpMgr.restoreSnapshot("snp", Collections.singleton(CACHE)).get(getTestTimeout());
+
+        awaitPartitionMapExchange();
+
+        IgniteCache<Integer, Account> restored = grid(1).cache(CACHE);
+
+        long total = 0;
+
+        for (int i = 0; i < ACCOUNTS; i++) {
+            Account acc = restored.get(i);
+
+            assertNotNull("Missing account " + i, acc);
+
+            total += acc.balance;
+        }
+
+        assertEquals((long)ACCOUNTS * BALANCE, total);
+
+        GridTestUtils.assertThrowsAnyCause(log, () -> snpMgr.restoreSnapshot("snp", null).get(getTestTimeout()),
+            IgniteCheckedException.class, "Cache group to restore already exists");
+    }
+
+    /**
+     * Checks that the partition copies include the last allocated page and the restored partitions keep all rows.
+     *
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testSnapshotRestoresLastAllocatedPage() throws Exception {
+        IgniteEx ig = startGrid(0);
+
+        ig.cluster().active(true);
+
+        int cnt = ACCOUNTS * 10;
+
+        IgniteCache<Integer, Account> cache = ig.cache(CACHE);
+
+        for (int i = 0; i < cnt; i++)
+            cache.put(i, new Account(i));
+
+        forceCheckpoint();
+
+        FileSnapshotManager snpMgr = (FileSnapshotManager)ig.context().cache().context().snapshot();
+
+        snpMgr.createSnapshot("snp", null).get(getTestTimeout());
+
+        FilePageStoreManager storeMgr = (FilePageStoreManager)ig.context().cache().context().pageStore();
+
+        File snpRoot = U.resolveWorkDirectory(ig.configuration().getWorkDirectory(),
+            ig.configuration().getDataStorageConfiguration().getSnapshotPath(), false);
+
+        String folderName = ig.context().pdsFolderResolver().resolveFolders().folderName();
+
+        File snpDir = new File(new File(snpRoot, "snp"), folderName);
+
+        int grpId = CU.cacheId(CACHE);
+
+        Map<Integer, Integer> pages = new HashMap<>();
+
+        for (int p = 0; p < ig.affinity(CACHE).partitions(); p++) {
+            FilePageStore store = (FilePageStore)storeMgr.getStore(grpId, p);
+
+            if (!store.exists() || store.pages() == 0)
+                continue;
+
+            File src = new File(store.getFileAbsolutePath());
+
+            File copy = new File(new File(snpDir, src.getParentFile().getName()), src.getName());
+
+            assertTrue("Missing partition copy: " + copy, copy.exists());
+
+            assertEquals("Partition copy must end with the last allocated page: " + copy,
+                store.allocatedBytes(), copy.length());
+
+            long lastPageOff = store.headerSize() + (long)(store.pages() - 1) * store.getPageSize();
+
+            assertTrue("Last allocated page differs: " + copy, Arrays.equals(
+                readPage(src, lastPageOff, store.getPageSize()),
+                readPage(copy, lastPageOff, store.getPageSize())));
+
+            pages.put(p, store.pages());
+        }
+
+        assertFalse(pages.isEmpty());
+
+        ig.destroyCache(CACHE);
+
+        awaitPartitionMapExchange();
+
+        snpMgr.restoreSnapshot("snp", Collections.singleton(CACHE)).get(getTestTimeout());
+
+        awaitPartitionMapExchange();
+
+        IgniteCache<Integer, Account> restored = ig.cache(CACHE);
+
+        assertEquals(cnt, restored.size());
+
+        for (int i = 0; i < cnt; i++) {
+            Account acc = restored.get(i);
+
+            assertNotNull("Missing account " + i, acc);
+
+            assertEquals(i, acc.balance);
+        }
+
+        for (Map.Entry<Integer, Integer> e : pages.entrySet()) {
+            FilePageStore store = (FilePageStore)storeMgr.getStore(grpId, e.getKey());
+
+            store.ensure();
+
+            assertTrue("Restored partition lost pages: " + e.getKey(), store.pages() >= e.getValue());
+        }
+    }
+
+    /**
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testSnapshotNameMustBeUnique() throws Exception {
+        IgniteEx ig = startGrids(2);
+
+        ig.cluster().active(true);
+
+        ig.cache(CACHE).put(0, new Account(BALANCE));
+
+        FileSnapshotManager snpMgr = (FileSnapshotManager)ig.context().cache().context().snapshot();
+
+        snpMgr.createSnapshot("snp", null).get(getTestTimeout());
+
+        GridTestUtils.assertThrowsAnyCause(log, () -> snpMgr.createSnapshot("snp", null).get(getTestTimeout()),
+            IgniteCheckedException.class, "Snapshot already exists");
+
+        ig.cache(CACHE).put(1, new Account(BALANCE));
+
+        snpMgr.createSnapshot("snp2", Collections.singleton(CACHE)).get(getTestTimeout());
+    }
+
+    /**
+     * @param file File.
+     * @param off Offset of the page.
+     * @param pageSize Page size.
+     * @return Page bytes.
+     * @throws Exception If failed.
+     */
+    private static byte[] readPage(File file, long off, int pageSize) throws Exception {
+        byte[] page = new byte[pageSize];
+
+        try (RandomAccessFile raf = new RandomAccessFile(file, "r")) {
+            raf.seek(off);
+
+            raf.readFully(page);
+        }
+
+        return page;
+    }
+
+    /** */
+    private static class Account {
+        /** */
+        private final int balance;
+
+        /**
+         * @param balance Balance.
+         */
+        Account(int balance) {
+            this.balance = balance;
+        }
+    }
+}
@@ -26,6 +26,7 @@ import org.apache.ignite.configuration.DataPageEvictionMode;
 import org.apache.ignite.configuration.DataStorageConfiguration;
 import org.apache.ignite.configuration.IgniteConfiguration;
 import org.apache.ignite.configuration.DataRegionConfiguration;
+import org.apache.ignite.configuration.PageReplacementMode;
 import org.apache.ignite.configuration.WALMode;
 import org.apache.ignite.internal.IgniteEx;
 import org.apache.ignite.internal.IgniteInternalFuture;
@@ -36,11 +37,17 @@ import org.apache.ignite.internal.processors.cache.GridCacheSharedContext;
 import org.apache.ignite.internal.processors.cache.persistence.IgniteCacheDatabaseSharedManager;
 import org.apache.ignite.internal.processors.cache.persistence.DummyPageIO;
 import org.apache.ignite.internal.processors.cache.persistence.tree.io.PageIO;
+import org.apache.ignite.internal.processors.metric.MetricRegistry;
 import org.apache.ignite.internal.util.typedef.internal.CU;
+import org.apache.ignite.spi.metric.DoubleMetric;
+import org.apache.ignite.spi.metric.LongMetric;
 import org.apache.ignite.testframework.GridTestUtils;
 import org.apache.ignite.testframework.junits.common.GridCommonAbstractTest;
 import org.junit.Test;
 
+import static org.apache.ignite.internal.processors.cache.persistence.DataRegionMetricsImpl.DATAREGION_METRICS_PREFIX;
+import static org.apache.ignite.internal.processors.metric.impl.MetricUtils.metricName;
+
 /**
  * Test for page replacement (rotation with disk) process with enabled persistence.
  * A lot of reader threads tries to acquire page and checkpointer threads write data.
@@ -61,6 +68,9 @@ public class IgnitePdsPageReplacementTest extends GridCommonAbstractTest {
     /** */
     private static final int PAGES_NUM = 128_000;
 
+    /** */
+    private static final String DATA_REGION_NAME = "dfltDataRegion";
+
     /** Cache name. */
     private final String cacheName = "cache";
 
@@ -85,8 +95,10 @@ public class IgnitePdsPageReplacementTest extends GridCommonAbstractTest {
         memPlcCfg.setInitialSize(MEMORY_LIMIT);
         memPlcCfg.setMaxSize(MEMORY_LIMIT);
         memPlcCfg.setPageEvictionMode(DataPageEvictionMode.RANDOM_LRU);
-        memPlcCfg.setName("dfltDataRegion");
+        memPlcCfg.setName(DATA_REGION_NAME);
         memPlcCfg.setPersistenceEnabled(true);
+        memPlcCfg.setPageReplacementMode(pageReplacementMode());
+        memPlcCfg.setMetricsEnabled(true);
 
         memCfg.setPageSize(PAGE_SIZE);
         memCfg.setConcurrencyLevel(NUMBER_OF_SEGMENTS);
@@ -122,6 +134,22 @@ public class IgnitePdsPageReplacementTest extends GridCommonAbstractTest {
         final PageMemory memory = getMemory(ig);
 
         writeData(ig, memory, CU.cacheId(cacheName));
+
+        MetricRegistry mreg = ig.context().metric().registry(
+            metricName(DATAREGION_METRICS_PREFIX, DATA_REGION_NAME));
+
+        assertTrue(mreg.<LongMetric>findMetric("PagesReplaced").value() > 0);
+
+        double hitRatio = mreg.<DoubleMetric>findMetric("PagesHitRatio").value();
+
+        assertTrue("hitRatio=" + hitRatio, hitRatio > 0 && hitRatio < 1);
+    }
+
+    /**
+     * @return Page replacement mode.
+     */
+    protected PageReplacementMode pageReplacementMode() {
+        return PageReplacementMode.RANDOM_LRU;
     }
 
     /**
@@ -0,0 +1,132 @@
+/*
+ * Copyright 2019 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.cache.persistence.db.wal;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import org.apache.ignite.IgniteCache;
+import org.apache.ignite.configuration.CacheConfiguration;
+import org.apache.ignite.configuration.DataRegionConfiguration;
+import org.apache.ignite.configuration.DataStorageConfiguration;
+import org.apache.ignite.configuration.IgniteConfiguration;
+import org.apache.ignite.internal.IgniteEx;
+import org.apache.ignite.internal.processors.metric.MetricRegistry;
+import org.apache.ignite.internal.processors.metric.impl.HistogramMetric;
+import org.apache.ignite.testframework.GridTestUtils;
+import org.apache.ignite.testframework.junits.common.GridCommonAbstractTest;
+import org.junit.Test;
+
+import static org.apache.ignite.cache.CacheAtomicityMode.TRANSACTIONAL;
+import static org.apache.ignite.configuration.WALMode.FSYNC;
+import static org.apache.ignite.internal.processors.cache.persistence.DataStorageMetricsImpl.DATASTORAGE_METRIC_PREFIX;
+
+/**
+ * Checks group commit of concurrent transactions in {@link org.apache.ignite.configuration.WALMode#FSYNC} mode.
+ */
+public class FsyncWalGroupCommitTest extends GridCommonAbstractTest {
+    /** */
+    private static final int THREADS = 16;
+
+    /** */
+    private static final int TX_PER_THREAD = 200;
+
+    /** {@inheritDoc} */
+    @Override protected IgniteConfiguration getConfiguration(String name) throws Exception {
+        IgniteConfiguration cfg = super.getConfiguration(name);
+
+        cfg.setDataStorageConfiguration(new DataStorageConfiguration()
+            .setDefaultDataRegionConfiguration(new DataRegionConfiguration().setPersistenceEnabled(true))
+            .setWalMode(FSYNC)
+            .setWalFsyncDelayNanos(100_000)
+            .setMetricsEnabled(true));
+
+        cfg.setCacheConfiguration(new CacheConfiguration<>(DEFAULT_CACHE_NAME).setAtomicityMode(TRANSACTIONAL));
+
+        return cfg;
+    }
+
+    /** {@inheritDoc} */
+    @Override protected void beforeTest() throws Exception {
+        stopAllGrids();
+
+        cleanPersistenceDir();
+    }
+
+    /** {@inheritDoc} */
+    @Override protected void afterTest() throws Exception {
+        stopAllGrids();
+
+        cleanPersistenceDir();
+    }
+
+    /**
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testConcurrentCommitsShareFsync() throws Exception {
+        IgniteEx ig = startGrid(0);
+
+        ig.cluster().active(true);
+
+        IgniteCache<Integer, Integer> cache = ig.cache(DEFAULT_CACHE_NAME);
+
+        AtomicInteger keys = new AtomicInteger();
+
+        GridTestUtils.runMultiThreaded(() -> {
+            for (int i = 0; i < TX_PER_THREAD; i++) {
+                int key = keys.getAndIncrement();
+
+                cache.put(key, key);
+            }
+        }, THREADS, "committer");
+
+        MetricRegistry mreg = ig.context().metric().registry(DATASTORAGE_METRIC_PREFIX);
+
+        long[] batches = mreg.<HistogramMetric>findMetric("WalFsyncBatchSize").value();
+
+        long fsyncs = 0;
+        long grouped = 0;
+
+        for (int i = 0; i < batches.length; i++) {
+            fsyncs += batches[i];
+
+            if (i > 0)
+                grouped += batches[i];
+        }
+
+        assertTrue("No fsyncs were recorded", fsyncs > 0);
+        assertTrue("Concurrent commits were never grouped", grouped > 0);
+        assertTrue("Every commit performed its own fsync [fsyncs=" + fsyncs + ']', fsyncs < THREADS * TX_PER_THREAD);
+
+        long waits = 0;
+
+        for (long cnt : mreg.<HistogramMetric>findMetric("WalFsyncWaitTime").value())
+            waits += cnt;
+
+        assertTrue("Fsync waits were not recorded", waits > 0);
+
+        stopGrid(0);
+
+        ig = startGrid(0);
+
+        ig.cluster().active(true);
+
+        IgniteCache<Integer, Integer> restored = ig.cache(DEFAULT_CACHE_NAME);
+
+        for (int i = 0; i < THREADS * TX_PER_THREAD; i++)
+            assertEquals((Integer)i, restored.get(i));
+    }
+}
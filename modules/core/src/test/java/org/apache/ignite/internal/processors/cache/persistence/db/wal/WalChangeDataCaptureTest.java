@@ -0,0 +1,162 @@
+/*
+ * Copyright 2019 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.cache.persistence.db.wal;
+
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import org.apache.ignite.IgniteCache;
+import org.apache.ignite.configuration.CacheConfiguration;
+import org.apache.ignite.configuration.DataRegionConfiguration;
+import org.apache.ignite.configuration.DataStorageConfiguration;
+import org.apache.ignite.configuration.IgniteConfiguration;
+import org.apache.ignite.internal.IgniteEx;
+import org.apache.ignite.internal.processors.cache.CacheObjectContext;
+import org.apache.ignite.internal.processors.cache.GridCacheOperation;
+import org.apache.ignite.internal.processors.cache.persistence.wal.FileWALPointer;
+import org.apache.ignite.internal.processors.cache.persistence.wal.FileWriteAheadLogManager;
+import org.apache.ignite.internal.processors.cache.persistence.wal.cdc.ChangeEvent;
+import org.apache.ignite.internal.processors.cache.persistence.wal.cdc.ChangeEventConsumer;
+import org.apache.ignite.internal.processors.cache.persistence.wal.cdc.WalChangeDataCapture;
+import org.apache.ignite.internal.util.typedef.internal.CU;
+import org.apache.ignite.testframework.GridTestUtils;
+import org.apache.ignite.testframework.junits.common.GridCommonAbstractTest;
+import org.junit.Test;
+
+/**
+ * Checks capture of cache changes from WAL.
+ */
+public class WalChangeDataCaptureTest extends GridCommonAbstractTest {
+    /** */
+    private static final String CAPTURED_CACHE = "captured";
+
+    /** */
+    private static final String OTHER_CACHE = "other";
+
+    /** */
+    private static final int KEYS = 1_000;
+
+    /** */
+    private static final long TIMEOUT = 10_000L;
+
+    /** {@inheritDoc} */
+    @Override protected IgniteConfiguration getConfiguration(String name) throws Exception {
+        IgniteConfiguration cfg = super.getConfiguration(name);
+
+        cfg.setDataStorageConfiguration(new DataStorageConfiguration()
+            .setDefaultDataRegionConfiguration(new DataRegionConfiguration().setPersistenceEnabled(true))
+            .setWalSegmentSize(1024 * 1024));
+
+        cfg.setCacheConfiguration(new CacheConfiguration<>(CAPTURED_CACHE), new CacheConfiguration<>(OTHER_CACHE));
+
+        return cfg;
+    }
+
+    /** {@inheritDoc} */
+    @Override protected void beforeTest() throws Exception {
+        stopAllGrids();
+
+        cleanPersistenceDir();
+    }
+
+    /** {@inheritDoc} */
+    @Override protected void afterTest() throws Exception {
+        stopAllGrids();
+
+        cleanPersistenceDir();
+    }
+
+    /**
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testCaptureAndResume() throws Exception {
+        IgniteEx ig = startGrid(0);
+
+        ig.cluster().active(true);
+
+        FileWriteAheadLogManager wal = (FileWriteAheadLogManager)ig.context().cache().context().wal();
+
+        CacheObjectContext coCtx = ig.cachex(CAPTURED_CACHE).context().cacheObjectContext();
+
+        Map<Integer, Integer> captured = new ConcurrentHashMap<>();
+
+        AtomicReference<FileWALPointer> lastPos = new AtomicReference<>();
+
+        ChangeEventConsumer consumer = new ChangeEventConsumer() {
+            @Override public boolean onEvents(Iterator<ChangeEvent> evts) {
+                while (evts.hasNext()) {
+                    ChangeEvent evt = evts.next();
+
+                    assertEquals(CU.cacheId(CAPTURED_CACHE), evt.cacheId());
+
+                    Integer key = evt.key().value(coCtx, false);
+
+                    if (evt.operation() == GridCacheOperation.DELETE)
+                        captured.remove(key);
+                    else
+                        captured.put(key, evt.value().value(coCtx, false));
+
+                    lastPos.set(evt.position());
+                }
+
+                return true;
+            }
+        };
+
+        Set<Integer> cacheIds = Collections.singleton(CU.cacheId(CAPTURED_CACHE));
+
+        WalChangeDataCapture capture = wal.startChangeDataCapture(consumer, null, cacheIds);
+
+        IgniteCache<Integer, Integer> cache = ig.cache(CAPTURED_CACHE);
+        IgniteCache<Integer, Integer> other = ig.cache(OTHER_CACHE);
+
+        for (int i = 0; i < KEYS; i++) {
+            cache.put(i, i);
+            other.put(i, i);
+        }
+
+        assertTrue(GridTestUtils.waitForCondition(() -> captured.size() == KEYS, TIMEOUT));
+
+        assertTrue(GridTestUtils.waitForCondition(() -> lastPos.get().equals(capture.committedPosition()), TIMEOUT));
+
+        assertTrue(wal.reserved(capture.committedPosition()));
+
+        capture.stop();
+
+        FileWALPointer resumePos = capture.committedPosition();
+
+        for (int i = 0; i < KEYS; i++)
+            cache.put(i, i + 1);
+
+        for (int i = 0; i < KEYS / 2; i++)
+            cache.remove(i);
+
+        captured.clear();
+
+        wal.startChangeDataCapture(consumer, resumePos, cacheIds);
+
+        assertTrue(GridTestUtils.waitForCondition(() -> captured.size() == KEYS / 2 &&
+            captured.get(KEYS - 1) == KEYS, TIMEOUT));
+
+        for (int i = KEYS / 2; i < KEYS; i++)
+            assertEquals((Integer)(i + 1), captured.get(i));
+    }
+}
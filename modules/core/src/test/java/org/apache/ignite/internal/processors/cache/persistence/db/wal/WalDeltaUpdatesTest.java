@@ -0,0 +1,209 @@
+/*
+ * Copyright 2019 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.cache.persistence.db.wal;
+
+import org.apache.ignite.IgniteCache;
+import org.apache.ignite.cache.CacheAtomicityMode;
+import org.apache.ignite.configuration.CacheConfiguration;
+import org.apache.ignite.configuration.DataRegionConfiguration;
+import org.apache.ignite.configuration.DataStorageConfiguration;
+import org.apache.ignite.configuration.IgniteConfiguration;
+import org.apache.ignite.internal.IgniteEx;
+import org.apache.ignite.internal.pagemem.wal.WALIterator;
+import org.apache.ignite.internal.pagemem.wal.WALPointer;
+import org.apache.ignite.internal.pagemem.wal.record.DataEntry;
+import org.apache.ignite.internal.pagemem.wal.record.DataRecord;
+import org.apache.ignite.internal.pagemem.wal.record.DeltaDataEntry;
+import org.apache.ignite.internal.pagemem.wal.record.WALRecord;
+import org.apache.ignite.internal.processors.cache.persistence.GridCacheDatabaseSharedManager;
+import org.apache.ignite.lang.IgniteBiTuple;
+import org.apache.ignite.testframework.junits.common.GridCommonAbstractTest;
+import org.junit.Test;
+
+import static org.apache.ignite.cache.CacheAtomicityMode.ATOMIC;
+import static org.apache.ignite.cache.CacheAtomicityMode.TRANSACTIONAL;
+import static org.apache.ignite.internal.pagemem.wal.record.WALRecord.RecordType.DATA_DELTA_RECORD;
+
+/**
+ * Checks that updates of large values are logged as deltas and restored on logical recovery.
+ */
+public class WalDeltaUpdatesTest extends GridCommonAbstractTest {
+    /** */
+    private static final String ATOMIC_CACHE = "atomic";
+
+    /** */
+    private static final String TX_CACHE = "tx";
+
+    /** */
+    private static final int KEYS = 100;
+
+    /** */
+    private static final int UPDATES = 5;
+
+    /** {@inheritDoc} */
+    @Override protected IgniteConfiguration getConfiguration(String name) throws Exception {
+        IgniteConfiguration cfg = super.getConfiguration(name);
+
+        cfg.setDataStorageConfiguration(new DataStorageConfiguration()
+            .setDefaultDataRegionConfiguration(new DataRegionConfiguration().setPersistenceEnabled(true))
+            .setWalDeltaUpdatesEnabled(true));
+
+        cfg.setCacheConfiguration(cacheConfiguration(ATOMIC_CACHE, ATOMIC), cacheConfiguration(TX_CACHE, TRANSACTIONAL));
+
+        return cfg;
+    }
+
+    /**
+     * @param name Cache name.
+     * @param mode Atomicity mode.
+     * @return Cache configuration.
+     */
+    private CacheConfiguration<Integer, Value> cacheConfiguration(String name, CacheAtomicityMode mode) {
+        return new CacheConfiguration<Integer, Value>(name).setAtomicityMode(mode);
+    }
+
+    /** {@inheritDoc} */
+    @Override protected void beforeTest() throws Exception {
+        stopAllGrids();
+
+        cleanPersistenceDir();
+    }
+
+    /** {@inheritDoc} */
+    @Override protected void afterTest() throws Exception {
+        stopAllGrids();
+
+        cleanPersistenceDir();
+    }
+
+    /**
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testDeltaUpdatesRecovery() throws Exception {
+        IgniteEx ig = startGrid(0);
+
+        ig.cluster().active(true);
+
+        for (String cacheName : new String[] {ATOMIC_CACHE, TX_CACHE}) {
+            IgniteCache<Integer, Value> cache = ig.cache(cacheName);
+
+            for (int k = 0; k < KEYS; k++)
+                cache.put(k, new Value(0, k));
+        }
+
+        GridCacheDatabaseSharedManager dbMgr = (GridCacheDatabaseSharedManager)ig.context().cache().context().database();
+
+        forceCheckpoint();
+
+        dbMgr.enableCheckpoints(false).get();
+
+        for (int i = 1; i <= UPDATES; i++) {
+            for (String cacheName : new String[] {ATOMIC_CACHE, TX_CACHE}) {
+                IgniteCache<Integer, Value> cache = ig.cache(cacheName);
+
+                for (int k = 0; k < KEYS; k++)
+                    cache.put(k, new Value(i, k));
+            }
+        }
+
+        int deltas = 0;
+        long deltaBytes = 0;
+
+        try (WALIterator it = ig.context().cache().context().wal().replay(null)) {
+            while (it.hasNext()) {
+                IgniteBiTuple<WALPointer, WALRecord> next = it.next();
+
+                if (next.get2().type() != DATA_DELTA_RECORD)
+                    continue;
+
+                for (DataEntry entry : ((DataRecord)next.get2()).writeEntries()) {
+                    assertTrue(entry instanceof DeltaDataEntry);
+
+                    deltas++;
+                    deltaBytes += ((DeltaDataEntry)entry).delta().length;
+                }
+            }
+        }
+
+        // The first update of a key after the checkpoint is logged in full, the following atomic updates always
+        // have the previous value at hand, transactional ones only if the value is on heap.
+        assertTrue("Too few delta records: " + deltas, deltas >= KEYS * (UPDATES - 1));
+        assertTrue("Delta for a value written before the checkpoint: " + deltas, deltas <= 2 * KEYS * (UPDATES - 1));
+        assertTrue("Delta is too large: " + deltaBytes / deltas, deltaBytes / deltas < Value.PAYLOAD_LEN / 4);
+
+        stopGrid(0);
+
+        ig = startGrid(0);
+
+        ig.cluster().active(true);
+
+        for (String cacheName : new String[] {ATOMIC_CACHE, TX_CACHE}) {
+            IgniteCache<Integer, Value> cache = ig.cache(cacheName);
+
+            for (int k = 0; k < KEYS; k++)
+                assertEquals(new Value(UPDATES, k), cache.get(k));
+        }
+    }
+
+    /**
+     * Value with a large payload and a small frequently updated field.
+     */
+    private static class Value {
+        /** */
+        private static final int PAYLOAD_LEN = 1024;
+
+        /** */
+        private final int ver;
+
+        /** */
+        private final String payload;
+
+        /**
+         * @param ver Version.
+         * @param key Key the payload is generated for.
+         */
+        Value(int ver, int key) {
+            this.ver = ver;
+
+            StringBuilder sb = new StringBuilder(PAYLOAD_LEN);
+
+            for (int i = 0; i < PAYLOAD_LEN; i++)
+                sb.append((char)('a' + (key + i) % 26));
+
+            payload = sb.toString();
+        }
+
+        /** {@inheritDoc} */
+        @Override public boolean equals(Object o) {
+            if (this == o)
+                return true;
+
+            if (o == null || getClass() != o.getClass())
+                return false;
+
+            Value val = (Value)o;
+
+            return ver == val.ver && payload.equals(val.payload);
+        }
+
+        /** {@inheritDoc} */
+        @Override public int hashCode() {
+            return 31 * ver + payload.hashCode();
+        }
+    }
+}
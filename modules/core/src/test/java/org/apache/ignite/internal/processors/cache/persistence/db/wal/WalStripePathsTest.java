@@ -0,0 +1,200 @@
+/*
+ * Copyright 2019 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.cache.persistence.db.wal;
+
+import java.io.File;
+import org.apache.ignite.IgniteCache;
+import org.apache.ignite.cache.affinity.rendezvous.RendezvousAffinityFunction;
+import org.apache.ignite.cluster.ClusterState;
+import org.apache.ignite.configuration.CacheConfiguration;
+import org.apache.ignite.configuration.DataRegionConfiguration;
+import org.apache.ignite.configuration.DataStorageConfiguration;
+import org.apache.ignite.configuration.IgniteConfiguration;
+import org.apache.ignite.configuration.WALMode;
+import org.apache.ignite.internal.IgniteEx;
+import org.apache.ignite.internal.processors.cache.persistence.wal.FileWriteAheadLogManager;
+import org.apache.ignite.internal.processors.cache.persistence.wal.SegmentRouter;
+import org.apache.ignite.internal.util.typedef.F;
+import org.apache.ignite.testframework.junits.common.GridCommonAbstractTest;
+import org.junit.Test;
+
+import static org.apache.ignite.internal.processors.cache.persistence.wal.FileWriteAheadLogManager.WAL_SEGMENT_FILE_FILTER;
+
+/**
+ * Checks WAL work segments distributed among several directories.
+ */
+public class WalStripePathsTest extends GridCommonAbstractTest {
+    /** WAL segments in the work directory. */
+    private static final int WAL_SEGMENTS = 6;
+
+    /** Keys count. */
+    private static final int KEYS = 3_000;
+
+    /** WAL stripe paths. */
+    private String[] stripePaths;
+
+    /** WAL mode. */
+    private WALMode walMode = WALMode.LOG_ONLY;
+
+    /** {@inheritDoc} */
+    @Override protected IgniteConfiguration getConfiguration(String igniteInstanceName) throws Exception {
+        IgniteConfiguration cfg = super.getConfiguration(igniteInstanceName);
+
+        cfg.setConsistentId(igniteInstanceName);
+
+        cfg.setDataStorageConfiguration(new DataStorageConfiguration()
+            .setWalMode(walMode)
+            .setWalSegments(WAL_SEGMENTS)
+            .setWalSegmentSize(512 * 1024)
+            .setWalStripePaths(stripePaths)
+            .setDefaultDataRegionConfiguration(new DataRegionConfiguration()
+                .setMaxSize(256L * 1024 * 1024)
+                .setPersistenceEnabled(true)));
+
+        cfg.setCacheConfiguration(new CacheConfiguration<Integer, byte[]>(DEFAULT_CACHE_NAME)
+            .setAffinity(new RendezvousAffinityFunction(false, 4)));
+
+        return cfg;
+    }
+
+    /** {@inheritDoc} */
+    @Override protected void beforeTest() throws Exception {
+        super.beforeTest();
+
+        stopAllGrids();
+
+        cleanPersistenceDir();
+    }
+
+    /** {@inheritDoc} */
+    @Override protected void afterTest() throws Exception {
+        stopAllGrids();
+
+        cleanPersistenceDir();
+
+        super.afterTest();
+    }
+
+    /**
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testStripesLogOnly() throws Exception {
+        checkStripes();
+    }
+
+    /**
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testStripesFsync() throws Exception {
+        walMode = WALMode.FSYNC;
+
+        checkStripes();
+    }
+
+    /**
+     * @throws Exception If failed.
+     */
+    private void checkStripes() throws Exception {
+        stripePaths = new String[] {"db/wal-stripe-1", "db/wal-stripe-2"};
+
+        IgniteEx ig = startGrid(0);
+
+        ig.cluster().state(ClusterState.ACTIVE);
+
+        putData(ig, 0, KEYS);
+
+        File[] workDirs = segmentRouter(ig).getWalWorkDirs();
+
+        assertEquals(3, workDirs.length);
+
+        checkWorkSegments(workDirs);
+
+        // Updates not covered by a checkpoint are restored from the striped WAL.
+        stopGrid(0, true);
+
+        ig = startGrid(0);
+
+        ig.cluster().state(ClusterState.ACTIVE);
+
+        checkData(ig, KEYS);
+
+        putData(ig, KEYS, 2 * KEYS);
+
+        stopGrid(0, true);
+
+        // Segments are moved back to the WAL work directory.
+        stripePaths = null;
+
+        ig = startGrid(0);
+
+        ig.cluster().state(ClusterState.ACTIVE);
+
+        checkData(ig, 2 * KEYS);
+
+        for (File dir : workDirs)
+            assertTrue(dir.equals(workDirs[0]) || F.isEmpty(dir.listFiles(WAL_SEGMENT_FILE_FILTER)));
+
+        checkWorkSegments(segmentRouter(ig).getWalWorkDirs());
+    }
+
+    /**
+     * Checks that all the work segments are placed to their directories.
+     *
+     * @param workDirs Work directories.
+     */
+    private void checkWorkSegments(File[] workDirs) {
+        for (int i = 0; i < WAL_SEGMENTS; i++) {
+            File file = SegmentRouter.workFile(workDirs, i);
+
+            assertTrue(file.getAbsolutePath(), file.exists());
+            assertEquals(workDirs[i % workDirs.length], file.getParentFile());
+        }
+    }
+
+    /**
+     * @param ig Ignite.
+     * @return Segment router.
+     */
+    private SegmentRouter segmentRouter(IgniteEx ig) {
+        return ((FileWriteAheadLogManager)ig.context().cache().context().wal()).getSegmentRouter();
+    }
+
+    /**
+     * @param ig Ignite.
+     * @param from First key.
+     * @param to Last key, exclusive.
+     */
+    private void putData(IgniteEx ig, int from, int to) {
+        IgniteCache<Integer, byte[]> cache = ig.cache(DEFAULT_CACHE_NAME);
+
+        for (int k = from; k < to; k++)
+            cache.put(k, new byte[100 + k % 1000]);
+    }
+
+    /**
+     * @param ig Ignite.
+     * @param keys Keys count.
+     */
+    private void checkData(IgniteEx ig, int keys) {
+        IgniteCache<Integer, byte[]> cache = ig.cache(DEFAULT_CACHE_NAME);
+
+        for (int k = 0; k < keys; k++)
+            assertEquals(100 + k % 1000, cache.get(k).length);
+    }
+}
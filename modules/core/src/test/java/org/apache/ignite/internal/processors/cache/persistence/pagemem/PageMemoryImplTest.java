@@ -33,6 +33,7 @@ import org.apache.ignite.IgniteCheckedException;
 import org.apache.ignite.configuration.DataStorageConfiguration;
 import org.apache.ignite.configuration.IgniteConfiguration;
 import org.apache.ignite.failure.NoOpFailureHandler;
+import org.apache.ignite.internal.IgniteInternalFuture;
 import org.apache.ignite.internal.IgniteFutureTimeoutCheckedException;
 import org.apache.ignite.internal.managers.encryption.GridEncryptionManager;
 import org.apache.ignite.internal.managers.eventstorage.GridEventStorageManager;
@@ -409,6 +410,76 @@ public class PageMemoryImplTest extends GridCommonAbstractTest {
             }, null);
     }
 
+    /**
+     * Checks that pages acquired without the segment lock are consistent while the loaded pages table is modified
+     * by concurrent allocations.
+     *
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testOptimisticLookupWithConcurrentAllocations() throws Exception {
+        PageMemoryImpl memory = createPageMemory(PageMemoryImpl.ThrottlingPolicy.DISABLED, null);
+
+        int pageCnt = 10_000;
+
+        List<FullPageId> pages = new ArrayList<>(pageCnt);
+
+        for (int i = 0; i < pageCnt; i++) {
+            FullPageId fullId = new FullPageId(memory.allocatePage(1, INDEX_PARTITION, FLAG_IDX), 1);
+
+            writePage(memory, fullId, (byte)i);
+
+            pages.add(fullId);
+        }
+
+        AtomicBoolean stop = new AtomicBoolean();
+
+        IgniteInternalFuture<?> allocFut = GridTestUtils.runAsync(() -> {
+            for (int i = 0; i < 20_000 && !stop.get(); i++)
+                memory.allocatePage(1, INDEX_PARTITION, FLAG_IDX);
+
+            return null;
+        });
+
+        try {
+            GridTestUtils.runMultiThreaded(() -> {
+                ThreadLocalRandom rnd = ThreadLocalRandom.current();
+
+                for (int i = 0; i < 200_000; i++) {
+                    int idx = rnd.nextInt(pageCnt);
+
+                    FullPageId fullId = pages.get(idx);
+
+                    long page = memory.acquirePage(fullId.groupId(), fullId.pageId());
+
+                    try {
+                        long ptr = memory.readLock(fullId.groupId(), fullId.pageId(), page);
+
+                        try {
+                            assertEquals(fullId.pageId(), PageIO.getPageId(ptr));
+                            assertEquals((byte)idx, PageUtils.getByte(ptr, PageIO.COMMON_HEADER_END));
+                        }
+                        finally {
+                            memory.readUnlock(fullId.groupId(), fullId.pageId(), page);
+                        }
+                    }
+                    finally {
+                        memory.releasePage(fullId.groupId(), fullId.pageId(), page);
+                    }
+                }
+
+                return null;
+            }, 8, "page-reader");
+        }
+        finally {
+            stop.set(true);
+        }
+
+        allocFut.get(getTestTimeout());
+
+        assertEquals(0, memory.acquiredPages());
+    }
+
     /**
      * @param mem Page memory.
      * @param fullPageId Full page ID to write.
@@ -21,9 +21,12 @@ import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.OpenOption;
 import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Random;
 import java.util.Set;
 import java.util.TreeSet;
@@ -301,6 +304,100 @@ public class StandaloneWalRecordsIteratorTest extends GridCommonAbstractTest {
         assertEquals(recordsCnt - 100, foundCounters.size());
     }
 
+    /**
+     * Checks that the parallel iterator returns the same records as the sequential one.
+     *
+     * @throws Exception if test failed.
+     */
+    @Test
+    public void testParallelIteration() throws Exception {
+        IgniteEx ig = (IgniteEx)startGrid();
+
+        String archiveWalDir = getArchiveWalDirPath(ig);
+
+        ig.cluster().active(true);
+
+        IgniteCacheDatabaseSharedManager sharedMgr = ig.context().cache().context().database();
+
+        IgniteWriteAheadLogManager walMgr = ig.context().cache().context().wal();
+
+        WALPointer fromPtr = null;
+
+        int recordsCnt = WAL_SEGMENT_SIZE / 8 /* record size */ * 5;
+
+        for (int i = 0; i < recordsCnt; i++) {
+            WALPointer ptr = walMgr.log(new PartitionDestroyRecord(i, i));
+
+            if (i == 100)
+                fromPtr = ptr;
+        }
+
+        assertNotNull(fromPtr);
+
+        for (int i = 0; i < 2 * ig.configuration().getDataStorageConfiguration().getWalSegments(); i++) {
+            sharedMgr.checkpointReadLock();
+
+            try {
+                walMgr.log(new SnapshotRecord(i, false), RolloverType.NEXT_SEGMENT);
+            }
+            finally {
+                sharedMgr.checkpointReadUnlock();
+            }
+        }
+
+        stopGrid();
+
+        IteratorParametersBuilder params = new IteratorParametersBuilder()
+            .from((FileWALPointer)fromPtr)
+            .filesOrDirs(archiveWalDir);
+
+        List<WALPointer> expected = readPointers(params.copy());
+
+        assertTrue("Records must span several segments", ((FileWALPointer)expected.get(expected.size() - 1)).index() >
+            ((FileWALPointer)expected.get(0)).index());
+
+        assertEquals(expected, readPointers(params.copy().parallelism(4)));
+
+        List<WALPointer> unordered = readPointers(params.copy().parallelism(4).ordered(false));
+
+        assertEquals(new TreeSet<>(expected), new TreeSet<>(unordered));
+
+        Map<Long, FileWALPointer> lastInSegment = new HashMap<>();
+
+        for (WALPointer ptr : unordered) {
+            FileWALPointer ptr0 = (FileWALPointer)ptr;
+
+            FileWALPointer prev = lastInSegment.put(ptr0.index(), ptr0);
+
+            assertTrue("Records of a segment must be in order", prev == null || prev.compareTo(ptr0) < 0);
+        }
+
+        IteratorParametersBuilder filtered = params.copy()
+            .filter((type, ptr) -> type == WALRecord.RecordType.PARTITION_DESTROY);
+
+        List<WALPointer> destroyRecs = readPointers(filtered.copy());
+
+        assertFalse(destroyRecs.isEmpty());
+
+        assertEquals(destroyRecs, readPointers(filtered.copy().parallelism(4)));
+    }
+
+    /**
+     * @param params Iterator parameters.
+     * @return Pointers of the records returned by the iterator.
+     * @throws IgniteCheckedException If failed.
+     */
+    private List<WALPointer> readPointers(IteratorParametersBuilder params) throws IgniteCheckedException {
+        List<WALPointer> ptrs = new ArrayList<>();
+
+        try (WALIterator it = new IgniteWalIteratorFactory(log).iterator(params)) {
+            while (it.hasNextX())
+                ptrs.add(it.nextX().get1());
+        }
+
+        return ptrs;
+    }
+
     /**
      * Check correct closing file descriptors.
      *
@@ -37,7 +37,6 @@ import org.apache.ignite.internal.processors.cache.persistence.DataRegionMetrics
 import org.apache.ignite.internal.processors.cache.tree.CacheDataTree;
 import org.apache.ignite.testframework.GridTestUtils;
 import org.apache.ignite.testframework.junits.common.GridCommonAbstractTest;
-import org.junit.Ignore;
 import org.junit.Test;
 
 import static org.apache.ignite.cache.CacheAtomicityMode.ATOMIC;
@@ -92,7 +91,6 @@ public class CacheDataPageScanQueryTest extends GridCommonAbstractTest {
      */
     @SuppressWarnings("ConstantConditions")
     @Test
-    @Ignore("https://ggsystems.atlassian.net/browse/GG-20800")
     public void testDataPageScanWithRestart() throws Exception {
         IgniteEx ignite = startGrid(0);
         ignite.cluster().active(true);
@@ -115,7 +113,9 @@ public class CacheDataPageScanQueryTest extends GridCommonAbstractTest {
 
             for (int i = shift; i < maxKey; i += threads) {
                 Long k = (long)i;
-                String v = GridTestUtils.randomString(rnd, 6 * 1024); // Bigger than single page.
+                String v = GridTestUtils.randomString(rnd, i % 2 == 0 ?
+                    6 * 1024 : // Bigger than single page.
+                    rnd.nextInt(1024));
 
                 cache.put(k, v);
                 map.put(k, v);
@@ -123,6 +123,12 @@ public class CacheDataPageScanQueryTest extends GridCommonAbstractTest {
             return null;
         }, threads);
 
+        // Leave indirect items in data pages.
+        for (long k = 0; k < maxKey; k += 5) {
+            cache.remove(k);
+            map.remove(k);
+        }
+
         assertEquals(map.size(), cache.size());
 
         info("Page mem  : " + rmx.getPhysicalMemorySize());
@@ -132,7 +138,11 @@ public class CacheDataPageScanQueryTest extends GridCommonAbstractTest {
         HashMap<Long,String> map2 = new HashMap<>(map);
 
         IgniteCache<Long,String> c = ignite.cache(CACHE);
-        for (Cache.Entry<Long,String> e : c.query(new ScanQuery<Long,String>()).getAll())
+
+        assertEquals(map.size(), c.query(new ScanQuery<Long,String>()).getAll().size());
+        assertFalse(CacheDataTree.isLastFindWithDataPageScan());
+
+        for (Cache.Entry<Long,String> e : c.query(new ScanQuery<Long,String>().setDataPageScanEnabled(true)).getAll())
             assertEquals(e.getValue(), map.remove(e.getKey()));
 
         assertTrue(map.isEmpty());
@@ -144,7 +154,7 @@ public class CacheDataPageScanQueryTest extends GridCommonAbstractTest {
         ignite.cluster().active(true);
 
         c = ignite.cache(CACHE);
-        for (Cache.Entry<Long,String> e : c.query(new ScanQuery<Long,String>()).getAll())
+        for (Cache.Entry<Long,String> e : c.query(new ScanQuery<Long,String>().setDataPageScanEnabled(true)).getAll())
             assertEquals(e.getValue(), map2.remove(e.getKey()));
 
         assertTrue(map2.isEmpty());
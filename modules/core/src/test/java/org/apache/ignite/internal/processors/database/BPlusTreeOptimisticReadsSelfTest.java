@@ -0,0 +1,92 @@
+/*
+ * Copyright 2019 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.database;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import org.apache.ignite.internal.pagemem.PageIdAllocator;
+import org.apache.ignite.internal.processors.cache.persistence.tree.io.PageIO;
+import org.apache.ignite.internal.util.GridUnsafe;
+import org.apache.ignite.testframework.junits.WithSystemProperty;
+import org.junit.Test;
+
+import static org.apache.ignite.IgniteSystemProperties.IGNITE_BPLUS_TREE_OPTIMISTIC_READS;
+
+/**
+ * Tree tests with optimistic reads of inner pages.
+ */
+@WithSystemProperty(key = IGNITE_BPLUS_TREE_OPTIMISTIC_READS, value = "true")
+public class BPlusTreeOptimisticReadsSelfTest extends BPlusTreeReuseSelfTest {
+    /** */
+    private static final int GRP_ID = 100501;
+
+    /**
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testPageStamp() throws Exception {
+        long pageId = pageMem.allocatePage(GRP_ID, PageIdAllocator.INDEX_PARTITION, PageIdAllocator.FLAG_IDX);
+
+        long page = pageMem.acquirePage(GRP_ID, pageId);
+
+        try {
+            ByteBuffer buf = ByteBuffer.allocateDirect(pageMem.pageSize()).order(ByteOrder.nativeOrder());
+
+            long bufAddr = GridUnsafe.bufferAddress(buf);
+
+            long stamp = pageMem.optimisticCopy(GRP_ID, pageId, page, bufAddr);
+
+            assertTrue(stamp != 0L);
+            assertTrue(pageMem.validateStamp(GRP_ID, pageId, page, stamp));
+
+            long pageAddr = pageMem.writeLock(GRP_ID, pageId, page);
+
+            assertTrue(pageAddr != 0L);
+
+            // Write locked page can not be read optimistically.
+            assertEquals(0L, pageMem.optimisticCopy(GRP_ID, pageId, page, bufAddr));
+            assertFalse(pageMem.validateStamp(GRP_ID, pageId, page, stamp));
+
+            PageIO.setPageId(pageAddr, pageId);
+
+            GridUnsafe.putLong(pageAddr + pageMem.pageSize() - 8, 42L);
+
+            pageMem.writeUnlock(GRP_ID, pageId, page, null, true);
+
+            assertFalse(pageMem.validateStamp(GRP_ID, pageId, page, stamp));
+
+            long stamp2 = pageMem.optimisticCopy(GRP_ID, pageId, page, bufAddr);
+
+            assertTrue(stamp2 != 0L);
+            assertTrue(stamp2 != stamp);
+            assertEquals(42L, GridUnsafe.getLong(bufAddr + pageMem.pageSize() - 8));
+
+            // Read lock does not change the stamp.
+            pageAddr = pageMem.readLock(GRP_ID, pageId, page);
+
+            assertTrue(pageAddr != 0L);
+            assertTrue(pageMem.validateStamp(GRP_ID, pageId, page, stamp2));
+
+            pageMem.readUnlock(GRP_ID, pageId, page);
+
+            assertTrue(pageMem.validateStamp(GRP_ID, pageId, page, stamp2));
+        }
+        finally {
+            pageMem.releasePage(GRP_ID, pageId, page);
+        }
+    }
+}
@@ -906,6 +906,250 @@ public class BPlusTreeSelfTest extends GridCommonAbstractTest {
         }
     }
 
+    /**
+     * @throws IgniteCheckedException If failed.
+     */
+    @Test
+    public void testRandomInvokeAll_5_300_1() throws IgniteCheckedException {
+        MAX_PER_PAGE = 5;
+        CNT = 300;
+
+        doTestRandomInvokeAll(true);
+    }
+
+    /**
+     * @throws IgniteCheckedException If failed.
+     */
+    @Test
+    public void testRandomInvokeAll_5_300_0() throws IgniteCheckedException {
+        MAX_PER_PAGE = 5;
+        CNT = 300;
+
+        doTestRandomInvokeAll(false);
+    }
+
+    /**
+     * @param canGetRow Can get row from inner page.
+     * @throws IgniteCheckedException If failed.
+     */
+    private void doTestRandomInvokeAll(boolean canGetRow) throws IgniteCheckedException {
+        TestTree tree = createTestTree(canGetRow);
+
+        Map<Long,Long> map = new HashMap<>();
+
+        int loops = reuseList == null ? 2_000 : 6_000;
+
+        for (int i = 0; i < loops; i++) {
+            int batchSize = 1 + BPlusTree.randomInt(64);
+
+            Set<Long> keys = new TreeSet<>();
+
+            for (int j = 0; j < batchSize; j++)
+                keys.add((long)BPlusTree.randomInt(CNT));
+
+            List<Long> rows = new ArrayList<>(keys);
+
+            // Unsorted batch must give the same result.
+            if (i % 10 == 0)
+                Collections.shuffle(rows);
+
+            List<IgniteTree.InvokeClosure<Long>> clos = new ArrayList<>(rows.size());
+
+            for (Long x : rows) {
+                boolean put = BPlusTree.randomInt(2) == 0;
+
+                if (put)
+                    map.put(x, x);
+                else
+                    map.remove(x);
+
+                clos.add(new IgniteTree.InvokeClosure<Long>() {
+                    IgniteTree.OperationType op;
+
+                    @Override public void call(@Nullable Long row) {
+                        if (row != null)
+                            assertEquals(x, row);
+
+                        op = put ? PUT : row != null ? REMOVE : NOOP;
+                    }
+
+                    @Override public Long newRow() {
+                        return put ? x : null;
+                    }
+
+                    @Override public IgniteTree.OperationType operationType() {
+                        return op;
+                    }
+                });
+            }
+
+            tree.invokeAll(rows, null, clos);
+
+            assertNoLocks();
+
+            tree.validateTree();
+
+            if (i % 10 == 0)
+                assertEqualContents(tree, map);
+        }
+
+        assertEqualContents(tree, map);
+    }
+
+    /**
+     * @throws IgniteCheckedException If failed.
+     */
+    @Test
+    public void testBulkLoad_2() throws IgniteCheckedException {
+        MAX_PER_PAGE = 2;
+
+        doTestBulkLoad();
+    }
+
+    /**
+     * @throws IgniteCheckedException If failed.
+     */
+    @Test
+    public void testBulkLoad_3() throws IgniteCheckedException {
+        MAX_PER_PAGE = 3;
+
+        doTestBulkLoad();
+    }
+
+    /**
+     * @throws IgniteCheckedException If failed.
+     */
+    @Test
+    public void testBulkLoad_5() throws IgniteCheckedException {
+        MAX_PER_PAGE = 5;
+
+        doTestBulkLoad();
+    }
+
+    /**
+     * @throws IgniteCheckedException If failed.
+     */
+    private void doTestBulkLoad() throws IgniteCheckedException {
+        for (float fillFactor : new float[] {0.1f, 0.5f, 0.9f, 1f}) {
+            for (int cnt : new int[] {1, 2, 3, 7, 20, 101, 1000}) {
+                for (boolean canGetRow : new boolean[] {true, false}) {
+                    TestTree tree = createTestTree(canGetRow);
+
+                    Map<Long,Long> map = new HashMap<>();
+
+                    BPlusTree<Long, Long>.BulkLoad load = tree.bulkLoad(cnt, fillFactor);
+
+                    assertNotNull(load);
+
+                    for (long x = 0; x < cnt; x++) {
+                        load.add(x * 2);
+
+                        map.put(x * 2, x * 2);
+                    }
+
+                    assertNoLocks();
+
+                    load.publish();
+
+                    tree.validateTree();
+
+                    assertEqualContents(tree, map);
+
+                    for (long x = 0; x < cnt; x++)
+                        assertEquals((Long)(x * 2), tree.findOne(x * 2));
+
+                    // Loaded tree must be modifiable as usual.
+                    for (int i = 0; i < cnt; i++) {
+                        long x = BPlusTree.randomInt(cnt * 2);
+
+                        if (BPlusTree.randomInt(2) == 0) {
+                            tree.put(x);
+
+                            map.put(x, x);
+                        }
+                        else {
+                            tree.remove(x);
+
+                            map.remove(x);
+                        }
+
+                        assertNoLocks();
+                    }
+
+                    tree.validateTree();
+
+                    assertEqualContents(tree, map);
+
+                    tree.destroy();
+                }
+            }
+        }
+    }
+
+    /**
+     * @throws IgniteCheckedException If failed.
+     */
+    @Test
+    public void testBulkLoadCancel() throws IgniteCheckedException {
+        MAX_PER_PAGE = 3;
+
+        TestTree tree = createTestTree(true);
+
+        BPlusTree<Long, Long>.BulkLoad load = tree.bulkLoad(100, 1f);
+
+        for (long x = 0; x < 50; x++)
+            load.add(x);
+
+        load.cancel();
+
+        assertNoLocks();
+
+        tree.validateTree();
+
+        assertEquals(0, tree.size());
+
+        tree.put(1L);
+
+        assertEquals((Long)1L, tree.findOne(1L));
+
+        tree.validateTree();
+    }
+
+    /**
+     * @throws IgniteCheckedException If failed.
+     */
+    @Test
+    public void testBulkLoadNonEmptyTree() throws IgniteCheckedException {
+        MAX_PER_PAGE = 2;
+
+        TestTree tree = createTestTree(true);
+
+        for (long x = 0; x < 10; x++)
+            tree.put(x);
+
+        BPlusTree<Long, Long>.BulkLoad load = tree.bulkLoad(10, 1f);
+
+        for (long x = 100; x < 110; x++)
+            load.add(x);
+
+        try {
+            load.publish();
+
+            fail("Publish to a non-empty tree must fail.");
+        }
+        catch (IgniteCheckedException ignored) {
+            // Expected.
+        }
+
+        load.cancel();
+
+        assertNoLocks();
+
+        tree.validateTree();
+
+        assertEquals(10, tree.size());
+    }
+
     /**
      * @throws IgniteCheckedException If failed.
      */
@@ -62,6 +62,55 @@ public class IndexStorageSelfTest extends GridCommonAbstractTest {
         metaAllocation();
     }
 
+    /**
+     * Checks that renaming an index onto an existing one replaces the root page of the existing index.
+     *
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testRenameReplacesExistingIndex() throws Exception {
+        PageMemory mem = memory(true);
+
+        int cacheId = 1;
+
+        mem.start();
+
+        try {
+            IndexStorageImpl metaStore = new IndexStorageImpl(
+                mem,
+                null,
+                new AtomicLong(),
+                cacheId,
+                false,
+                PageIdAllocator.INDEX_PARTITION,
+                PageMemory.FLAG_IDX,
+                null,
+                mem.allocatePage(cacheId, PageIdAllocator.INDEX_PARTITION, PageMemory.FLAG_IDX),
+                true,
+                null,
+                null
+            );
+
+            RootPage oldRoot = metaStore.allocateCacheIndex(cacheId, "idx", 0);
+            RootPage newRoot = metaStore.allocateCacheIndex(cacheId, "idx_tmp", 0);
+
+            assertEquals(newRoot.pageId(), metaStore.renameCacheIndex(cacheId, "idx_tmp", "idx", 0).pageId());
+
+            RootPage root = metaStore.allocateCacheIndex(cacheId, "idx", 0);
+
+            assertFalse(root.isAllocated());
+            assertEquals(newRoot.pageId(), root.pageId());
+            assertFalse(oldRoot.pageId().equals(root.pageId()));
+
+            assertNull(metaStore.renameCacheIndex(cacheId, "idx_tmp", "idx", 0));
+
+            assertTrue(metaStore.allocateCacheIndex(cacheId, "idx_tmp", 0).isAllocated());
+        }
+        finally {
+            mem.stop(true);
+        }
+    }
+
     /**
      * @throws Exception If failed.
      */
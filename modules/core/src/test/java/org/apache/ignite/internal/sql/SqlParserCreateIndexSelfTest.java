@@ -16,6 +16,7 @@
 
 package org.apache.ignite.internal.sql;
 
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
@@ -179,6 +180,44 @@ public class SqlParserCreateIndexSelfTest extends SqlParserAbstractSelfTest {
 
     }
 
+    /**
+     * Tests for INCLUDE clause of CREATE INDEX command.
+     */
+    @Test
+    public void testCreateIndexInclude() {
+        SqlCreateIndexCommand cmd = parseValidate(null, "CREATE INDEX idx ON tbl(a) INCLUDE (b, c)",
+            null, "TBL", "IDX", DEFAULT_PROPS, "A", false);
+
+        assertEquals(Arrays.asList("B", "C"), cmd.includedColumns());
+
+        cmd = parseValidate(null, "CREATE INDEX idx ON tbl(a DESC, b) INCLUDE (c) PARALLEL 3 INLINE_SIZE 9",
+            null, "TBL", "IDX", getProps(3, 9), "A", true, "B", false);
+
+        assertEquals(Collections.singletonList("C"), cmd.includedColumns());
+
+        cmd = parseValidate(null, "CREATE INDEX idx ON tbl(a) INLINE_SIZE 9 INCLUDE (\"b\")",
+            null, "TBL", "IDX", getProps(null, 9), "A", false);
+
+        assertEquals(Collections.singletonList("b"), cmd.includedColumns());
+
+        cmd = parseValidate(null, "CREATE INDEX idx ON tbl(a)", null, "TBL", "IDX", DEFAULT_PROPS, "A", false);
+
+        assertTrue(cmd.includedColumns().isEmpty());
+
+        assertParseError(null, "CREATE INDEX idx ON tbl(a) INCLUDE",
+            "Unexpected end of command (expected: \"(\")");
+
+        assertParseError(null, "CREATE INDEX idx ON tbl(a) INCLUDE ()",
+            "Unexpected token: \")\" (expected: \"[identifier]\")");
+
+        assertParseError(null, "CREATE INDEX idx ON tbl(a) INCLUDE (a)", "Column already defined: A");
+
+        assertParseError(null, "CREATE INDEX idx ON tbl(a) INCLUDE (b, b)", "Column already defined: B");
+
+        assertParseError(null, "CREATE INDEX idx ON tbl(a) INCLUDE (b) INCLUDE (c)",
+            "Only one INCLUDE clause may be specified.");
+    }
+
     /**
      * Parse and validate SQL script.
      *
@@ -0,0 +1,296 @@
+/*
+ * Copyright 2019 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.util;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Condition;
+import org.apache.ignite.internal.IgniteInternalFuture;
+import org.apache.ignite.testframework.GridTestUtils;
+import org.apache.ignite.testframework.junits.common.GridCommonAbstractTest;
+import org.junit.Test;
+
+/**
+ * {@link StripedReentrantReadWriteLock} test.
+ */
+public class StripedReentrantReadWriteLockTest extends GridCommonAbstractTest {
+    /** Constructor. */
+    public StripedReentrantReadWriteLockTest() {
+        super(false);
+    }
+
+    /**
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testReentrance() throws Exception {
+        StripedReentrantReadWriteLock lock = new StripedReentrantReadWriteLock(4);
+
+        lock.readLock().lock();
+        lock.readLock().lock();
+
+        assertEquals(2, lock.getReadHoldCount());
+        assertEquals(1, lock.getReadLockCount());
+
+        IgniteInternalFuture<?> fut = GridTestUtils.runAsync(() -> {
+            assertFalse(lock.writeLock().tryLock());
+            assertFalse(lock.writeLock().tryLock(100, TimeUnit.MILLISECONDS));
+            assertFalse(lock.isWriteLocked());
+
+            return null;
+        });
+
+        fut.get(getTestTimeout());
+
+        lock.readLock().unlock();
+        lock.readLock().unlock();
+
+        assertEquals(0, lock.getReadHoldCount());
+        assertEquals(0, lock.getReadLockCount());
+
+        GridTestUtils.assertThrows(log, () -> {
+            lock.readLock().unlock();
+
+            return null;
+        }, IllegalMonitorStateException.class, null);
+
+        lock.writeLock().lock();
+        lock.writeLock().lock();
+
+        assertTrue(lock.isWriteLockedByCurrentThread());
+        assertEquals(2, lock.getWriteHoldCount());
+
+        GridTestUtils.runAsync(() -> {
+            assertFalse(lock.readLock().tryLock());
+            assertFalse(lock.readLock().tryLock(100, TimeUnit.MILLISECONDS));
+
+            return null;
+        }).get(getTestTimeout());
+
+        lock.writeLock().unlock();
+
+        assertTrue(lock.writeLock().isHeldByCurrentThread());
+
+        lock.writeLock().unlock();
+
+        assertFalse(lock.isWriteLocked());
+    }
+
+    /**
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testDowngrade() throws Exception {
+        StripedReentrantReadWriteLock lock = new StripedReentrantReadWriteLock(4);
+
+        lock.writeLock().lock();
+
+        lock.readLock().lock();
+
+        lock.writeLock().unlock();
+
+        GridTestUtils.runAsync(() -> {
+            assertFalse(lock.writeLock().tryLock());
+
+            assertTrue(lock.readLock().tryLock());
+
+            lock.readLock().unlock();
+        }).get(getTestTimeout());
+
+        lock.readLock().unlock();
+
+        GridTestUtils.runAsync(() -> {
+            assertTrue(lock.writeLock().tryLock());
+
+            lock.writeLock().unlock();
+        }).get(getTestTimeout());
+    }
+
+    /**
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testWriterWaitsForReaders() throws Exception {
+        StripedReentrantReadWriteLock lock = new StripedReentrantReadWriteLock(4);
+
+        CountDownLatch locked = new CountDownLatch(1);
+
+        CountDownLatch release = new CountDownLatch(1);
+
+        IgniteInternalFuture<?> readFut = GridTestUtils.runAsync(() -> {
+            lock.readLock().lock();
+
+            try {
+                locked.countDown();
+
+                release.await();
+            }
+            finally {
+                lock.readLock().unlock();
+            }
+
+            return null;
+        });
+
+        locked.await();
+
+        IgniteInternalFuture<?> writeFut = GridTestUtils.runAsync(() -> {
+            lock.writeLock().lock();
+
+            lock.writeLock().unlock();
+        });
+
+        assertFalse(GridTestUtils.waitForCondition(writeFut::isDone, 300));
+
+        // New readers must not pass while the writer waits.
+        GridTestUtils.runAsync(() -> assertFalse(lock.readLock().tryLock())).get(getTestTimeout());
+
+        assertFalse(lock.isWriteLocked());
+
+        release.countDown();
+
+        readFut.get(getTestTimeout());
+        writeFut.get(getTestTimeout());
+    }
+
+    /**
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testWriteLockCondition() throws Exception {
+        StripedReentrantReadWriteLock lock = new StripedReentrantReadWriteLock(4);
+
+        Condition cond = lock.writeLock().newCondition();
+
+        GridTestUtils.assertThrows(log, () -> {
+            cond.await();
+
+            return null;
+        }, IllegalMonitorStateException.class, null);
+
+        CountDownLatch waiting = new CountDownLatch(1);
+
+        AtomicBoolean signalled = new AtomicBoolean();
+
+        IgniteInternalFuture<?> waitFut = GridTestUtils.runAsync(() -> {
+            lock.writeLock().lock();
+            lock.writeLock().lock();
+
+            try {
+                waiting.countDown();
+
+                while (!signalled.get())
+                    cond.await();
+
+                assertTrue(lock.isWriteLocked());
+                assertEquals(2, lock.getWriteHoldCount());
+            }
+            finally {
+                lock.writeLock().unlock();
+                lock.writeLock().unlock();
+            }
+
+            return null;
+        });
+
+        waiting.await();
+
+        // Readers are let in while the writer waits on the condition.
+        assertTrue(GridTestUtils.waitForCondition(() -> {
+            if (!lock.readLock().tryLock())
+                return false;
+
+            lock.readLock().unlock();
+
+            return true;
+        }, getTestTimeout()));
+
+        lock.writeLock().lock();
+
+        try {
+            signalled.set(true);
+
+            cond.signalAll();
+        }
+        finally {
+            lock.writeLock().unlock();
+        }
+
+        waitFut.get(getTestTimeout());
+
+        assertFalse(lock.isWriteLocked());
+    }
+
+    /**
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testMutualExclusion() throws Exception {
+        StripedReentrantReadWriteLock lock = new StripedReentrantReadWriteLock(4);
+
+        AtomicInteger readers = new AtomicInteger();
+
+        AtomicBoolean writing = new AtomicBoolean();
+
+        AtomicBoolean stop = new AtomicBoolean();
+
+        IgniteInternalFuture<?> readFut = GridTestUtils.runMultiThreadedAsync(() -> {
+            while (!stop.get()) {
+                lock.readLock().lock();
+
+                try {
+                    readers.incrementAndGet();
+
+                    assertFalse(writing.get());
+
+                    readers.decrementAndGet();
+                }
+                finally {
+                    lock.readLock().unlock();
+                }
+            }
+        }, 8, "reader");
+
+        IgniteInternalFuture<?> writeFut = GridTestUtils.runMultiThreadedAsync(() -> {
+            for (int i = 0; i < 1_000; i++) {
+                lock.writeLock().lock();
+
+                try {
+                    assertTrue(writing.compareAndSet(false, true));
+
+                    assertEquals(0, readers.get());
+
+                    writing.set(false);
+                }
+                finally {
+                    lock.writeLock().unlock();
+                }
+            }
+        }, 2, "writer");
+
+        try {
+            writeFut.get(getTestTimeout());
+        }
+        finally {
+            stop.set(true);
+        }
+
+        readFut.get(getTestTimeout());
+    }
+}
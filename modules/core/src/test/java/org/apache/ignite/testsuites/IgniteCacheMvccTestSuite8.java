@@ -51,6 +51,9 @@ import org.apache.ignite.internal.processors.cache.eviction.paged.Random2LruPage
 import org.apache.ignite.internal.processors.cache.eviction.paged.RandomLruNearEnabledPageEvictionMultinodeTest;
 import org.apache.ignite.internal.processors.cache.eviction.paged.RandomLruPageEvictionMultinodeTest;
 import org.apache.ignite.internal.processors.cache.eviction.paged.RandomLruPageEvictionWithRebalanceTest;
+import org.apache.ignite.internal.processors.cache.eviction.paged.WTinyLfuPageEvictionMultinodeTest;
+import org.apache.ignite.internal.processors.cache.eviction.paged.WTinyLfuPageEvictionScanResistanceTest;
+import org.apache.ignite.internal.processors.cache.eviction.paged.WTinyLfuPageEvictionWithRebalanceTest;
 import org.apache.ignite.internal.processors.cache.eviction.sorted.SortedEvictionPolicyFactorySelfTest;
 import org.apache.ignite.internal.processors.cache.eviction.sorted.SortedEvictionPolicySelfTest;
 import org.apache.ignite.internal.processors.cache.local.GridCacheAtomicLocalMetricsNoStoreSelfTest;
@@ -81,6 +84,9 @@ public class IgniteCacheMvccTestSuite8 {
         ignoredTests.add(Random2LruNearEnabledPageEvictionMultinodeTest.class);
         ignoredTests.add(RandomLruPageEvictionWithRebalanceTest.class);
         ignoredTests.add(Random2LruPageEvictionWithRebalanceTest.class);
+        ignoredTests.add(WTinyLfuPageEvictionMultinodeTest.class);
+        ignoredTests.add(WTinyLfuPageEvictionWithRebalanceTest.class);
+        ignoredTests.add(WTinyLfuPageEvictionScanResistanceTest.class);
         ignoredTests.add(PageEvictionTouchOrderTest.class);
         ignoredTests.add(PageEvictionReadThroughTest.class);
         ignoredTests.add(PageEvictionMetricTest.class);
@@ -28,6 +28,7 @@ import org.apache.ignite.internal.processors.cache.persistence.IgnitePdsDestroyC
 import org.apache.ignite.internal.processors.cache.persistence.db.IgnitePdsDataRegionMetricsTest;
 import org.apache.ignite.internal.processors.cache.persistence.db.file.DefaultPageSizeBackwardsCompatibilityTest;
 import org.apache.ignite.internal.processors.cache.persistence.db.file.IgnitePdsCheckpointSimulationWithRealCpDisabledTest;
+import org.apache.ignite.internal.processors.cache.persistence.db.file.IgnitePdsClockPageReplacementTest;
 import org.apache.ignite.internal.processors.cache.persistence.db.file.IgnitePdsPageReplacementTest;
 import org.apache.ignite.internal.processors.cache.persistence.metastorage.IgniteMetaStorageBasicTest;
 import org.apache.ignite.internal.processors.cache.persistence.pagemem.BPlusTreePageMemoryImplTest;
@@ -66,6 +67,7 @@ public class IgnitePdsMvccTestSuite {
         ignoredTests.add(IgniteMetaStorageBasicTest.class);
 
         ignoredTests.add(IgnitePdsPageReplacementTest.class);
+        ignoredTests.add(IgnitePdsClockPageReplacementTest.class);
 
         ignoredTests.add(PageMemoryImplNoLoadTest.class);
         ignoredTests.add(PageMemoryNoStoreLeakTest.class);
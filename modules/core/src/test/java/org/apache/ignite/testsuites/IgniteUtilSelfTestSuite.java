@@ -22,6 +22,7 @@ import org.apache.ignite.internal.pagemem.impl.PageIdUtilsSelfTest;
 import org.apache.ignite.internal.processors.cache.GridCacheUtilsSelfTest;
 import org.apache.ignite.internal.util.GridArraysSelfTest;
 import org.apache.ignite.internal.util.GridConcurrentMultiPairQueueTest;
+import org.apache.ignite.internal.util.StripedReentrantReadWriteLockTest;
 import org.apache.ignite.internal.util.IgniteDevOnlyLogTest;
 import org.apache.ignite.internal.util.IgniteExceptionRegistrySelfTest;
 import org.apache.ignite.internal.util.IgniteUtilsSelfTest;
@@ -96,6 +97,7 @@ import org.junit.runners.Suite;
     GridTransientTest.class,
     IgniteDevOnlyLogTest.class,
     GridConcurrentMultiPairQueueTest.class,
+    StripedReentrantReadWriteLockTest.class,
 
     // Sensitive toString.
     IncludeSensitiveAtomicTest.class,
@@ -127,7 +127,8 @@ public class WalStat {
 
         if (type == WALRecord.RecordType.PAGE_RECORD)
             registerPageSnapshot((PageSnapshot)record);
-        else if (type == WALRecord.RecordType.DATA_RECORD || type == WALRecord.RecordType.MVCC_DATA_RECORD)
+        else if (type == WALRecord.RecordType.DATA_RECORD || type == WALRecord.RecordType.MVCC_DATA_RECORD ||
+            type == WALRecord.RecordType.DATA_DELTA_RECORD)
             registerDataRecord((DataRecord)record);
         else if (type == WALRecord.RecordType.TX_RECORD || type == WALRecord.RecordType.MVCC_TX_RECORD)
             registerTxRecord((TxRecord)record);
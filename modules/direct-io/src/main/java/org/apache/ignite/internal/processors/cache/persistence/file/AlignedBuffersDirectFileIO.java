@@ -16,6 +16,7 @@
 
 package org.apache.ignite.internal.processors.cache.persistence.file;
 
+import com.sun.jna.Memory;
 import com.sun.jna.Native;
 import com.sun.jna.NativeLong;
 import com.sun.jna.Pointer;
@@ -277,6 +278,73 @@ public class AlignedBuffersDirectFileIO extends AbstractFileIO {
             writeFromUnalignedBuffer(srcBuf, filePosition);
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Buffers with aligned addresses and sizes are written with a single {@code pwritev} call, otherwise
+     * the buffers are written one by one.
+     */
+    @Override public long writeFully(ByteBuffer[] srcBufs, int off, int len, long position) throws IOException {
+        if (len > IgniteNativeIoLib.IOV_MAX || !isAligned(srcBufs, off, len))
+            return super.writeFully(srcBufs, off, len, position);
+
+        int iovSize = 2 * Native.POINTER_SIZE;
+
+        Memory iov = new Memory((long)iovSize * len);
+
+        long total = 0;
+
+        for (int i = 0; i < len; i++) {
+            ByteBuffer buf = srcBufs[off + i];
+
+            iov.setPointer((long)i * iovSize, bufferPtrAtPosition(buf, buf.position()));
+            iov.setNativeLong((long)i * iovSize + Native.POINTER_SIZE, nl(buf.remaining()));
+
+            total += buf.remaining();
+        }
+
+        long wr = IgniteNativeIoLib.pwritev(fdCheckOpened(), iov, len, nl(position)).longValue();
+
+        if (wr < 0) {
+            throw new IOException(String.format("Error during writing file [%s] to position [%s]: %s",
+                file, position, getLastError()));
+        }
+
+        for (int i = 0, left = (int)Math.min(wr, Integer.MAX_VALUE); i < len && left > 0; i++) {
+            ByteBuffer buf = srcBufs[off + i];
+
+            int n = Math.min(left, buf.remaining());
+
+            buf.position(buf.position() + n);
+
+            left -= n;
+        }
+
+        // Finish a partial write.
+        if (wr < total)
+            wr += super.writeFully(srcBufs, off, len, position + wr);
+
+        return wr;
+    }
+
+    /**
+     * @param bufs Buffers.
+     * @param off Offset of the first buffer.
+     * @param len Number of buffers.
+     * @return {@code True} if addresses and sizes of all the buffers are aligned to the IO block size.
+     */
+    private boolean isAligned(ByteBuffer[] bufs, int off, int len) {
+        for (int i = off; i < off + len; i++) {
+            ByteBuffer buf = bufs[i];
+
+            if (!buf.isDirect() || (GridUnsafe.bufferAddress(buf) + buf.position()) % ioBlockSize != 0 ||
+                buf.remaining() % ioBlockSize != 0)
+                return false;
+        }
+
+        return true;
+    }
+
     /**
      * @param srcBuf buffer to check if it is known buffer.
      * @param filePosition File position.
@@ -90,6 +90,9 @@ public class IgniteNativeIoLib {
     /** Seek option: change file position to offset */
     public static final int SEEK_CUR = 1;
 
+    /** Maximum number of buffers for a single vectored I/O call (Linux {@code UIO_MAXIOV}). */
+    public static final int IOV_MAX = 1024;
+
     /** JNA library available and initialized. Always {@code false} for non linux systems. */
     private static boolean jnaAvailable;
 
@@ -270,6 +273,20 @@ public class IgniteNativeIoLib {
      */
     public static native NativeLong pwrite(int fd, Pointer buf, NativeLong cnt, NativeLong off);
 
+    /**
+     * Writes {@code iovcnt} buffers described by the array of {@code struct iovec} starting at {@code iov} to the file
+     * descriptor {@code fd} at offset {@code off}, one buffer after another. The file offset is not changed.
+     * See "man 2 pwritev".
+     *
+     * @param fd file descriptor.
+     * @param iov pointer to array of {@code struct iovec { void *iov_base; size_t iov_len; }}.
+     * @param iovcnt number of buffers, should not exceed {@link #IOV_MAX}.
+     * @param off position in file to write data.
+     * @return the number of bytes written, or -1 on error. Note that is not an error for a successful call to transfer
+     * fewer bytes than requested.
+     */
+    public static native NativeLong pwritev(int fd, Pointer iov, int iovcnt, NativeLong off);
+
     /**
      * Writes up to {@code cnt} bytes to the buffer starting at {@code buf} to the file descriptor {@code fd}.
      * The file offset is changed. See "man 2 write".
@@ -542,6 +542,21 @@ public class CommandProcessor {
                 newIdx.setFields(flds);
                 newIdx.setInlineSize(cmd0.inlineSize());
 
+                if (!cmd0.includedColumns().isEmpty()) {
+                    List<String> inclFlds = new ArrayList<>(cmd0.includedColumns().size());
+
+                    for (String colName : cmd0.includedColumns()) {
+                        GridQueryProperty prop = typeDesc.property(colName);
+
+                        if (prop == null)
+                            throw new SchemaOperationException(SchemaOperationException.CODE_COLUMN_NOT_FOUND, colName);
+
+                        inclFlds.add(prop.name());
+                    }
+
+                    newIdx.setIncludedFields(inclFlds);
+                }
+
                 fut = ctx.query().dynamicIndexCreate(tbl.cacheName(), cmd.schemaName(), typeDesc.tableName(),
                     newIdx, cmd0.ifNotExists(), cmd0.parallel());
             }
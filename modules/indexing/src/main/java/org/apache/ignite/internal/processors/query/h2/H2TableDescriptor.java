@@ -236,6 +236,7 @@ public class H2TableDescriptor {
             false,
             unwrappedKeyAndAffinityCols,
             wrappedKeyCols,
+            Collections.emptyList(),
             -1
         );
 
@@ -299,6 +300,7 @@ public class H2TableDescriptor {
                     true,
                     colsWithUnwrappedKey,
                     cols,
+                    Collections.emptyList(),
                     -1)
                 );
             }
@@ -407,6 +409,14 @@ public class H2TableDescriptor {
 
             cols = H2Utils.treeIndexColumns(desc, cols, keyCol, affCol);
 
+            List<IndexColumn> inclCols = new ArrayList<>(idxDesc.includedFields().size());
+
+            for (String field : idxDesc.includedFields()) {
+                Column col = tbl.getColumn(field);
+
+                inclCols.add(tbl.indexColumn(col.getColumnId(), SortOrder.ASCENDING));
+            }
+
             return idx.createSortedIndex(
                 idxDesc.name(),
                 tbl,
@@ -414,6 +424,7 @@ public class H2TableDescriptor {
                 false,
                 colsWithUnwrappedKey,
                 cols,
+                inclCols,
                 idxDesc.inlineSize()
             );
         }
@@ -124,6 +124,7 @@ import org.apache.ignite.internal.processors.query.h2.affinity.PartitionExtracto
 import org.apache.ignite.internal.processors.query.h2.database.H2TreeClientIndex;
 import org.apache.ignite.internal.processors.query.h2.database.H2TreeIndex;
 import org.apache.ignite.internal.processors.query.h2.database.H2TreeIndexBase;
+import org.apache.ignite.internal.processors.query.h2.database.IndexBulkLoad;
 import org.apache.ignite.internal.processors.query.h2.database.io.H2ExtrasInnerIO;
 import org.apache.ignite.internal.processors.query.h2.database.io.H2ExtrasLeafIO;
 import org.apache.ignite.internal.processors.query.h2.database.io.H2InnerIO;
@@ -198,6 +199,7 @@ import org.h2.util.JdbcUtils;
 import org.h2.value.DataType;
 import org.jetbrains.annotations.Nullable;
 
+import static java.lang.Boolean.TRUE;
 import static java.lang.Math.max;
 import static java.lang.Math.min;
 import static java.util.Collections.singletonList;
@@ -388,6 +390,33 @@ public class IgniteH2Indexing implements GridQueryIndexing {
         }
     }
 
+    /** {@inheritDoc} */
+    @Override public void storeAll(GridCacheContext cctx,
+        GridQueryTypeDescriptor type,
+        List<CacheDataRow> rows,
+        List<CacheDataRow> prevRows
+    ) throws IgniteCheckedException {
+        String cacheName = cctx.name();
+
+        H2TableDescriptor tbl = schemaMgr.tableForType(schema(cacheName), cacheName, type.name());
+
+        if (tbl == null)
+            return; // Type was rejected.
+
+        tbl.table().updateAll(rows, prevRows);
+
+        if (tbl.luceneIndex() != null) {
+            for (CacheDataRow row : rows) {
+                long expireTime = row.expireTime();
+
+                if (expireTime == 0L)
+                    expireTime = Long.MAX_VALUE;
+
+                tbl.luceneIndex().store(row.key(), row.value(), row.version(), expireTime);
+            }
+        }
+    }
+
     /** {@inheritDoc} */
     @Override public void remove(GridCacheContext cctx, GridQueryTypeDescriptor type, CacheDataRow row)
         throws IgniteCheckedException {
@@ -422,6 +451,19 @@ public class IgniteH2Indexing implements GridQueryIndexing {
         schemaMgr.dropIndex(schemaName, idxName, ifExists);
     }
 
+    /**
+     * Rebuilds local trees of the sorted index with the new inline size, the index stays available for queries and
+     * updates during the rebuild.
+     *
+     * @param schemaName Schema name.
+     * @param idxName Index name.
+     * @param inlineSize New inline size.
+     * @throws IgniteCheckedException If failed.
+     */
+    public void reinlineIndex(String schemaName, String idxName, int inlineSize) throws IgniteCheckedException {
+        schemaMgr.reinlineIndex(schemaName, idxName, inlineSize);
+    }
+
     /** {@inheritDoc} */
     @Override public void dynamicAddColumn(String schemaName, String tblName, List<QueryField> cols,
         boolean ifTblExists, boolean ifColNotExists) throws IgniteCheckedException {
@@ -447,12 +489,13 @@ public class IgniteH2Indexing implements GridQueryIndexing {
      * @param affinityKey Affinity key flag.
      * @param unwrappedCols Unwrapped index columns for complex types.
      * @param wrappedCols Index columns as is complex types.
+     * @param inclCols Included columns which values are stored in the index.
      * @param inlineSize Index inline size.
      * @return Index.
      */
     @SuppressWarnings("ConstantConditions")
     GridH2IndexBase createSortedIndex(String name, GridH2Table tbl, boolean pk, boolean affinityKey,
-        List<IndexColumn> unwrappedCols, List<IndexColumn> wrappedCols, int inlineSize) {
+        List<IndexColumn> unwrappedCols, List<IndexColumn> wrappedCols, List<IndexColumn> inclCols, int inlineSize) {
         try {
             GridCacheContextInfo cacheInfo = tbl.cacheInfo();
 
@@ -473,6 +516,7 @@ public class IgniteH2Indexing implements GridQueryIndexing {
                     affinityKey,
                     unwrappedCols,
                     wrappedCols,
+                    inclCols,
                     inlineSize,
                     segments,
                     log
@@ -882,9 +926,8 @@ public class IgniteH2Indexing implements GridQueryIndexing {
      * @param dataPageScanEnabled If data page scan is enabled.
      */
     public void enableDataPageScan(Boolean dataPageScanEnabled) {
-        // Data page scan is enabled by default for SQL.
-        // TODO https://ggsystems.atlassian.net/browse/GG-20800
-        CacheDataTree.setDataPageScanEnabled(false);
+        // Data page scan is disabled by default, it may return concurrently updated rows twice.
+        CacheDataTree.setDataPageScanEnabled(TRUE.equals(dataPageScanEnabled));
     }
 
     /**
@@ -2055,7 +2098,9 @@ public class IgniteH2Indexing implements GridQueryIndexing {
 
         String cacheName = cctx.name();
 
-        if (!pageStore.hasIndexStore(cctx.groupId())) {
+        boolean fullRebuild = !pageStore.hasIndexStore(cctx.groupId());
+
+        if (fullRebuild) {
             // If there are no index store, rebuild all indexes.
             clo = new IndexRebuildFullClosure(cctx.queries(), cctx.mvccEnabled());
         }
@@ -2105,11 +2150,86 @@ public class IgniteH2Indexing implements GridQueryIndexing {
             outRebuildCacheIdxFut.onDone(err);
         });
 
-        rebuildIndexesFromHash0(cctx, clo, rebuildCacheIdxFut);
+        Collection<IndexBulkLoad> bulkLoads = startBulkLoads(cacheName, fullRebuild);
+
+        if (bulkLoads.isEmpty())
+            rebuildIndexesFromHash0(cctx, clo, rebuildCacheIdxFut);
+        else {
+            GridFutureAdapter<Void> visitFut = new GridFutureAdapter<>();
+
+            visitFut.listen(fut -> {
+                if (nonNull(fut.error())) {
+                    bulkLoads.forEach(IndexBulkLoad::close);
+
+                    rebuildCacheIdxFut.onDone(fut.error());
+
+                    return;
+                }
+
+                ctx.buildIndexExecutorService().execute(() -> {
+                    Throwable err = null;
+
+                    try {
+                        for (IndexBulkLoad bulkLoad : bulkLoads)
+                            bulkLoad.finish();
+                    }
+                    catch (Throwable t) {
+                        err = t;
+                    }
+                    finally {
+                        bulkLoads.forEach(IndexBulkLoad::close);
+                    }
+
+                    rebuildCacheIdxFut.onDone(err);
+                });
+            });
+
+            rebuildIndexesFromHash0(cctx, IndexBulkLoad.collecting(clo, bulkLoads), visitFut);
+        }
 
         return outRebuildCacheIdxFut;
     }
 
+    /**
+     * Switches empty indexes being rebuilt to the bottom-up build mode, if it is enabled.
+     *
+     * @param cacheName Cache name.
+     * @param fullRebuild Whether all indexes are rebuilt or only ones which require rebuild.
+     * @return Started bulk loads.
+     */
+    private Collection<IndexBulkLoad> startBulkLoads(String cacheName, boolean fullRebuild) {
+        if (!IndexBulkLoad.enabled())
+            return Collections.emptyList();
+
+        Collection<IndexBulkLoad> bulkLoads = new ArrayList<>();
+
+        try {
+            for (H2TableDescriptor tblDesc : schemaMgr.tablesForCache(cacheName)) {
+                GridH2Table tbl = tblDesc.table();
+
+                for (Index idx : tbl.getIndexes()) {
+                    if (!(idx instanceof H2TreeIndex) || !fullRebuild && !((H2TreeIndex)idx).rebuildRequired())
+                        continue;
+
+                    IndexBulkLoad bulkLoad = IndexBulkLoad.start(tbl, (H2TreeIndex)idx);
+
+                    if (bulkLoad != null)
+                        bulkLoads.add(bulkLoad);
+                }
+            }
+        }
+        catch (IgniteCheckedException e) {
+            U.warn(log, "Failed to start bottom-up build of indexes, they will be rebuilt as usual [cache=" +
+                cacheName + ", err=" + e.getMessage() + ']');
+
+            bulkLoads.forEach(IndexBulkLoad::close);
+
+            return Collections.emptyList();
+        }
+
+        return bulkLoads;
+    }
+
     /**
      * Do index rebuild.
      *
@@ -361,6 +361,13 @@ public class QueryMemoryManager implements H2MemoryTracker, ManagedGroupByDataFa
         throw new UnsupportedOperationException();
     }
 
+    /**
+     * @return Factory to provide I/O interface for data storage files.
+     */
+    public TrackableFileIoFactory fileIoFactory() {
+        return fileIOFactory;
+    }
+
     /**
      * @return Global quota.
      */
@@ -94,7 +94,7 @@ public class QueryParameters {
             qry.isLazy(),
             qry.getPageSize(),
             maxMem,
-            null,
+            qry.isDataPageScanEnabled(),
             nestedTxMode,
             autoCommit,
             batchedArgs,
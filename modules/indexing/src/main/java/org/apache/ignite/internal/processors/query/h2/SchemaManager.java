@@ -35,6 +35,7 @@ import org.apache.ignite.IgniteLogger;
 import org.apache.ignite.IgniteSystemProperties;
 import org.apache.ignite.cache.query.annotations.QuerySqlFunction;
 import org.apache.ignite.internal.GridKernalContext;
+import org.apache.ignite.internal.processors.cache.GridCacheContext;
 import org.apache.ignite.internal.processors.cache.GridCacheContextInfo;
 import org.apache.ignite.internal.processors.cache.query.IgniteQueryErrorCode;
 import org.apache.ignite.internal.processors.cache.query.QueryTable;
@@ -43,6 +44,8 @@ import org.apache.ignite.internal.processors.query.IgniteSQLException;
 import org.apache.ignite.internal.processors.query.QueryField;
 import org.apache.ignite.internal.processors.query.QueryIndexDescriptorImpl;
 import org.apache.ignite.internal.processors.query.QueryUtils;
+import org.apache.ignite.internal.processors.query.h2.database.H2TreeIndex;
+import org.apache.ignite.internal.processors.query.h2.database.IndexBulkLoad;
 import org.apache.ignite.internal.processors.query.h2.opt.GridH2IndexBase;
 import org.apache.ignite.internal.processors.query.h2.opt.GridH2RowDescriptor;
 import org.apache.ignite.internal.processors.query.h2.opt.GridH2Table;
@@ -52,6 +55,7 @@ import org.apache.ignite.internal.processors.query.h2.sys.view.SqlSystemViewBase
 import org.apache.ignite.internal.processors.query.h2.sys.view.SqlSystemViewCacheGroups;
 import org.apache.ignite.internal.processors.query.h2.sys.view.SqlSystemViewCacheGroupsIOStatistics;
 import org.apache.ignite.internal.processors.query.h2.sys.view.SqlSystemViewCaches;
+import org.apache.ignite.internal.processors.query.h2.sys.view.SqlSystemViewIndexInlineStatistics;
 import org.apache.ignite.internal.processors.query.h2.sys.view.SqlSystemViewIndexes;
 import org.apache.ignite.internal.processors.query.h2.sys.view.SqlSystemViewNodeAttributes;
 import org.apache.ignite.internal.processors.query.h2.sys.view.SqlSystemViewNodeMetrics;
@@ -61,7 +65,9 @@ import org.apache.ignite.internal.processors.query.h2.sys.view.SqlSystemViewRunn
 import org.apache.ignite.internal.processors.query.h2.sys.view.SqlSystemViewSchemas;
 import org.apache.ignite.internal.processors.query.h2.sys.view.SqlSystemViewTables;
 import org.apache.ignite.internal.processors.query.schema.SchemaIndexCacheVisitor;
+import org.apache.ignite.internal.processors.query.schema.SchemaIndexCacheVisitorImpl;
 import org.apache.ignite.internal.util.GridConcurrentHashSet;
+import org.apache.ignite.internal.util.future.GridFutureAdapter;
 import org.apache.ignite.internal.util.typedef.F;
 import org.apache.ignite.internal.util.typedef.internal.U;
 import org.h2.index.Index;
@@ -192,6 +198,7 @@ public class SchemaManager {
         views.add(new SqlSystemViewQueryHistoryMetrics(ctx));
         views.add(new SqlSystemViewTables(ctx));
         views.add(new SqlSystemViewIndexes(ctx, this));
+        views.add(new SqlSystemViewIndexInlineStatistics(ctx, this));
         views.add(new SqlSystemViewSchemas(ctx, this));
 
         return views;
@@ -587,7 +594,20 @@ public class SchemaManager {
 
             idxBuild.addIndex(h2Tbl, h2Idx);
 
-            cacheVisitor.visit(idxBuild);
+            IndexBulkLoad bulkLoad = IndexBulkLoad.start(h2Tbl, h2Idx);
+
+            if (bulkLoad == null)
+                cacheVisitor.visit(idxBuild);
+            else {
+                try {
+                    cacheVisitor.visit(IndexBulkLoad.collecting(idxBuild, Collections.singleton(bulkLoad)));
+
+                    bulkLoad.finish();
+                }
+                finally {
+                    bulkLoad.close();
+                }
+            }
 
             // At this point index is in consistent state, promote it through H2 SQL statement, so that cached
             // prepared statements are re-built.
@@ -622,6 +642,55 @@ public class SchemaManager {
         connMgr.executeStatement(schemaName, sql);
     }
 
+    /**
+     * Rebuilds local trees of the index with the new inline size. The index keeps serving queries and updates during
+     * the rebuild and is switched to the new trees once they are filled with the cache data.
+     *
+     * @param schemaName Schema name.
+     * @param idxName Index name.
+     * @param inlineSize New inline size.
+     * @throws IgniteCheckedException If failed.
+     */
+    public void reinlineIndex(String schemaName, String idxName, int inlineSize) throws IgniteCheckedException {
+        GridH2Table tbl = dataTableForIndex(schemaName, idxName);
+
+        if (tbl == null) {
+            throw new IgniteCheckedException("Index not found [schemaName=" + schemaName +
+                ", idxName=" + idxName + ']');
+        }
+
+        Index idx = tbl.userIndex(idxName);
+
+        if (!(idx instanceof H2TreeIndex)) {
+            throw new IgniteCheckedException("Index has no local trees to rebuild [schemaName=" + schemaName +
+                ", idxName=" + idxName + ']');
+        }
+
+        H2TreeIndex treeIdx = (H2TreeIndex)idx;
+
+        GridCacheContext cctx = tbl.cacheContext();
+
+        treeIdx.startReinline(inlineSize);
+
+        try {
+            GridFutureAdapter<Void> visitFut = new GridFutureAdapter<>();
+
+            new SchemaIndexCacheVisitorImpl(cctx, null, visitFut).visit(row -> {
+                if (ctx.query().belongsToTable(cctx, tbl.cacheName(), tbl.getName(), row.key(), row.value()))
+                    treeIdx.putReinlined(tbl.rowDescriptor().createRow(row));
+            });
+
+            visitFut.get();
+
+            treeIdx.finishReinline();
+        }
+        catch (Exception e) {
+            treeIdx.cancelReinline();
+
+            throw e;
+        }
+    }
+
     /**
      * Add column.
      *
@@ -17,11 +17,13 @@
 package org.apache.ignite.internal.processors.query.h2.database;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Comparator;
 import java.util.Iterator;
 import java.util.List;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.stream.Collectors;
 import org.apache.ignite.IgniteCheckedException;
 import org.apache.ignite.IgniteException;
@@ -32,6 +34,7 @@ import org.apache.ignite.internal.metric.IoStatisticsHolder;
 import org.apache.ignite.internal.pagemem.FullPageId;
 import org.apache.ignite.internal.pagemem.PageIdUtils;
 import org.apache.ignite.internal.pagemem.PageMemory;
+import org.apache.ignite.internal.pagemem.PageUtils;
 import org.apache.ignite.internal.pagemem.wal.IgniteWriteAheadLogManager;
 import org.apache.ignite.internal.pagemem.wal.record.PageSnapshot;
 import org.apache.ignite.internal.processors.cache.GridCacheContext;
@@ -41,6 +44,7 @@ import org.apache.ignite.internal.processors.cache.persistence.tree.BPlusTree;
 import org.apache.ignite.internal.processors.cache.persistence.tree.CorruptedTreeException;
 import org.apache.ignite.internal.processors.cache.persistence.tree.io.BPlusIO;
 import org.apache.ignite.internal.processors.cache.persistence.tree.io.BPlusMetaIO;
+import org.apache.ignite.internal.processors.cache.persistence.tree.io.PageIO;
 import org.apache.ignite.internal.processors.cache.persistence.tree.reuse.ReuseList;
 import org.apache.ignite.internal.processors.cache.tree.mvcc.data.MvccDataRow;
 import org.apache.ignite.internal.processors.failure.FailureProcessor;
@@ -52,7 +56,10 @@ import org.apache.ignite.internal.processors.query.h2.database.io.H2ExtrasLeafIO
 import org.apache.ignite.internal.processors.query.h2.database.io.H2RowLinkIO;
 import org.apache.ignite.internal.processors.query.h2.opt.GridH2Table;
 import org.apache.ignite.internal.processors.query.h2.opt.H2CacheRow;
+import org.apache.ignite.internal.processors.query.h2.opt.H2IndexRow;
 import org.apache.ignite.internal.processors.query.h2.opt.H2Row;
+import org.apache.ignite.internal.util.IgniteTree;
+import org.apache.ignite.internal.util.typedef.F;
 import org.apache.ignite.internal.util.typedef.internal.S;
 import org.apache.ignite.internal.util.typedef.internal.U;
 import org.apache.ignite.lang.IgniteProductVersion;
@@ -86,6 +93,12 @@ public class H2Tree extends BPlusTree<H2Row, H2Row> {
     /** List of helpers to work with inline values on the page. */
     private final List<InlineIndexColumn> inlineIdxs;
 
+    /** Helpers of the included columns which values are stored in leaf pages after the inlined index columns. */
+    private final List<InlineIndexColumn> inclIdxs;
+
+    /** Size of the leaf item area occupied by the included columns. */
+    private final int inclSize;
+
     /** Actual columns that current index is consist from. */
     private final IndexColumn[] cols;
 
@@ -133,6 +146,21 @@ public class H2Tree extends BPlusTree<H2Row, H2Row> {
     /** Keep max calculated inline size for current index. */
     private final AtomicInteger maxCalculatedInlineSize;
 
+    /** Counter of key size sampling for throttling real invocations. */
+    private final ThreadLocal<Long> keySizeSamplingCntr = ThreadLocal.withInitial(() -> 0L);
+
+    /** Max sampled size of the inlined columns of a stored row. */
+    private final AtomicInteger maxKeySize = new AtomicInteger();
+
+    /** Total size of the sampled keys. */
+    private final LongAdder keySizeSum = new LongAdder();
+
+    /** Number of the sampled keys. */
+    private final LongAdder keySizeSamples = new LongAdder();
+
+    /** Number of comparisons which could not be completed on inlined values and required a row to be read. */
+    private final LongAdder inlineFallbackCnt = new LongAdder();
+
     /** */
     private final IgniteLogger log;
 
@@ -162,6 +190,7 @@ public class H2Tree extends BPlusTree<H2Row, H2Row> {
      * else meta page info will be read.
      * @param unwrappedCols Unwrapped indexed columns.
      * @param wrappedCols Original indexed columns.
+     * @param inclCols Included (covered) columns which values are stored in leaf pages.
      * @param maxCalculatedInlineSize Keep max calculated inline size
      * for current index.
      * @param pk {@code true} for primary key.
@@ -193,6 +222,7 @@ public class H2Tree extends BPlusTree<H2Row, H2Row> {
         boolean initNew,
         List<IndexColumn> unwrappedCols,
         List<IndexColumn> wrappedCols,
+        List<IndexColumn> inclCols,
         AtomicInteger maxCalculatedInlineSize,
         boolean pk,
         boolean affinityKey,
@@ -230,6 +260,9 @@ public class H2Tree extends BPlusTree<H2Row, H2Row> {
         this.affinityKey = affinityKey;
         this.mvccEnabled = mvccEnabled;
 
+        inclIdxs = includedColumnHelpers(inclCols, factory);
+        inclSize = InlineIndexColumnFactory.includedColumnsSize(inclIdxs);
+
         if (!initNew) {
             // Page is ready - read meta information.
             MetaPageInfo metaInfo = getMetaInfo();
@@ -240,6 +273,8 @@ public class H2Tree extends BPlusTree<H2Row, H2Row> {
 
             inlineSize = metaInfo.inlineSize();
 
+            checkPayloadSize();
+
             List<InlineIndexColumn> inlineIdxs0 = getAvailableInlineColumns(affinityKey, cacheName, idxName, log, pk,
                 table, cols, factory, metaInfo.inlineObjectHash());
 
@@ -247,7 +282,7 @@ public class H2Tree extends BPlusTree<H2Row, H2Row> {
             // because IOs will be used to traverse the tree.
             setIos(
                 H2ExtrasInnerIO.getVersions(inlineSize, mvccEnabled),
-                H2ExtrasLeafIO.getVersions(inlineSize, mvccEnabled)
+                H2ExtrasLeafIO.getVersions(inlineSize + inclSize, mvccEnabled)
             );
 
             boolean inlineObjSupported = inlineSize > 0 && inlineObjectSupported(metaInfo, inlineIdxs0);
@@ -295,9 +330,11 @@ public class H2Tree extends BPlusTree<H2Row, H2Row> {
 
             inlineSize = computeInlineSize(inlineIdxs, configuredInlineSize, cctx.config().getSqlIndexMaxInlineSize());
 
+            checkPayloadSize();
+
             setIos(
                 H2ExtrasInnerIO.getVersions(inlineSize, mvccEnabled),
-                H2ExtrasLeafIO.getVersions(inlineSize, mvccEnabled)
+                H2ExtrasLeafIO.getVersions(inlineSize + inclSize, mvccEnabled)
             );
 
             initTree(true, inlineSize);
@@ -306,6 +343,47 @@ public class H2Tree extends BPlusTree<H2Row, H2Row> {
         created = initNew;
     }
 
+    /**
+     * @param inclCols Included columns.
+     * @param factory Inline helper factory.
+     * @return Helpers of the included columns.
+     * @throws IgniteCheckedException If a column type can't be stored in the index.
+     */
+    private List<InlineIndexColumn> includedColumnHelpers(
+        List<IndexColumn> inclCols,
+        InlineIndexColumnFactory factory
+    ) throws IgniteCheckedException {
+        if (F.isEmpty(inclCols))
+            return Collections.emptyList();
+
+        List<InlineIndexColumn> res = new ArrayList<>(inclCols.size());
+
+        for (IndexColumn col : inclCols) {
+            int type = col.column.getType().getValueType();
+
+            // Values of these types can't be restored from the inlined bytes.
+            if (!InlineIndexColumnFactory.typeSupported(type) || type == Value.DECIMAL || type == Value.JAVA_OBJECT) {
+                throw new IgniteCheckedException("Column of type " + InlineIndexColumnFactory.nameTypeByCode(type) +
+                    " can't be included to the index [idxName=" + idxName + ", col=" + col.columnName + ']');
+            }
+
+            res.add(factory.createInlineHelper(col.column, true));
+        }
+
+        return res;
+    }
+
+    /**
+     * @throws IgniteCheckedException If leaf item payload exceeds the maximum size.
+     */
+    private void checkPayloadSize() throws IgniteCheckedException {
+        if (inlineSize + inclSize > PageIO.MAX_PAYLOAD_SIZE) {
+            throw new IgniteCheckedException("Included columns don't fit into the index leaf page item [idxName=" +
+                idxName + ", inlineSize=" + inlineSize + ", includedColumnsSize=" + inclSize +
+                ", maxPayloadSize=" + PageIO.MAX_PAYLOAD_SIZE + ']');
+        }
+    }
+
     /**
      * @param metaInfo Metapage info.
      * @param inlineIdxs Base collection of index helpers.
@@ -436,12 +514,77 @@ public class H2Tree extends BPlusTree<H2Row, H2Row> {
         return table.rowDescriptor().createRow(row);
     }
 
-    /** {@inheritDoc} */
-    @Override public H2Row getRow(BPlusIO<H2Row> io, long pageAddr, int idx, Object ignore)
+    /**
+     * @param x Array of ids of the columns required by a query, if it is passed and all these columns are stored in
+     *      the leaf page the row is restored from the page without a lookup of the data row.
+     */
+    @Override public H2Row getRow(BPlusIO<H2Row> io, long pageAddr, int idx, Object x)
         throws IgniteCheckedException {
+        if (x instanceof int[] && io.isLeaf() && inclSize > 0 && !mvccEnabled) {
+            H2Row row = indexRow(io, pageAddr, idx, (int[])x);
+
+            if (row != null)
+                return row;
+        }
+
         return io.getLookupRow(this, pageAddr, idx);
     }
 
+    /**
+     * Restores row from the inlined and included values stored in the leaf page item.
+     *
+     * @param io Leaf IO.
+     * @param pageAddr Page address.
+     * @param idx Item index.
+     * @param reqCols Ids of the required columns.
+     * @return Row or {@code null} if some of the required values are not stored in the item completely.
+     */
+    @SuppressWarnings("ForLoopReplaceableByForEach")
+    private @Nullable H2Row indexRow(BPlusIO<H2Row> io, long pageAddr, int idx, int[] reqCols) {
+        int off = io.offset(idx);
+
+        Value[] vals = new Value[table.getColumns().length];
+
+        int fieldOff = 0;
+
+        for (int i = 0; i < inlineIdxs.size() && fieldOff < inlineSize; i++) {
+            InlineIndexColumn inlineIdx = inlineIdxs.get(i);
+
+            Value v = inlineIdx.fullValue(pageAddr, off + fieldOff, inlineSize - fieldOff);
+
+            if (v == null)
+                break;
+
+            vals[inlineIdx.columnIndex()] = v;
+
+            fieldOff += inlineIdx.fullSize(pageAddr, off + fieldOff);
+        }
+
+        int inclOff = off + inlineSize;
+
+        long expireTime = PageUtils.getLong(pageAddr, inclOff);
+
+        inclOff += 8;
+
+        for (int i = 0; i < inclIdxs.size(); i++) {
+            InlineIndexColumn inclIdx = inclIdxs.get(i);
+
+            int slotSize = InlineIndexColumnFactory.includedColumnSize(inclIdx);
+
+            if (vals[inclIdx.columnIndex()] == null)
+                vals[inclIdx.columnIndex()] = inclIdx.fullValue(pageAddr, inclOff, slotSize);
+
+            inclOff += slotSize;
+        }
+
+        for (int i = 0; i < reqCols.length; i++) {
+            if (vals[reqCols[i]] == null)
+                return null;
+        }
+
+        return new H2IndexRow(vals, expireTime);
+    }
+
     /**
      * @return Inline size.
      */
@@ -514,8 +657,11 @@ public class H2Tree extends BPlusTree<H2Row, H2Row> {
     @Override protected int compare(BPlusIO<H2Row> io, long pageAddr, int idx,
         H2Row row) throws IgniteCheckedException {
         try {
-            if (inlineSize() == 0)
+            if (inlineSize() == 0) {
+                inlineFallbackCnt.increment();
+
                 return compareRows(getRow(io, pageAddr, idx), row);
+            }
             else {
                 int off = io.offset(idx);
 
@@ -549,6 +695,8 @@ public class H2Tree extends BPlusTree<H2Row, H2Row> {
                 if (lastIdxUsed == cols.length)
                     return mvccCompare((H2RowLinkIO)io, pageAddr, idx, row);
 
+                inlineFallbackCnt.increment();
+
                 inlineSizeRecomendation(row);
 
                 SearchRow rowData = getRow(io, pageAddr, idx);
@@ -745,6 +893,62 @@ public class H2Tree extends BPlusTree<H2Row, H2Row> {
         }
     }
 
+    /**
+     * Takes into account size of the inlined columns of the row being stored, only every
+     * {@link #IGNITE_THROTTLE_INLINE_SIZE_CALCULATION}-th row stored by a thread is sampled.
+     *
+     * @param row Row being stored.
+     */
+    public void sampleKeySize(H2CacheRow row) {
+        Long invokeCnt = keySizeSamplingCntr.get();
+
+        keySizeSamplingCntr.set(++invokeCnt);
+
+        if (invokeCnt % THROTTLE_INLINE_SIZE_CALCULATION != 0)
+            return;
+
+        int size = 0;
+
+        for (InlineIndexColumn idx : inlineIdxs)
+            size += idx.inlineSizeOf(row.getValue(idx.columnIndex()));
+
+        keySizeSum.add(size);
+        keySizeSamples.increment();
+
+        int max = maxKeySize.get();
+
+        while (size > max && !maxKeySize.compareAndSet(max, size))
+            max = maxKeySize.get();
+    }
+
+    /**
+     * @return Max sampled size of the inlined columns of a stored row.
+     */
+    public int maxKeySize() {
+        return maxKeySize.get();
+    }
+
+    /**
+     * @return Total size of the sampled keys.
+     */
+    public long keySizeSum() {
+        return keySizeSum.sum();
+    }
+
+    /**
+     * @return Number of the sampled keys.
+     */
+    public long keySizeSamples() {
+        return keySizeSamples.sum();
+    }
+
+    /**
+     * @return Number of comparisons which could not be completed on inlined values and required a row to be read.
+     */
+    public long inlineFallbackComparisons() {
+        return inlineFallbackCnt.sum();
+    }
+
     /** {@inheritDoc} */
     @Override protected IoStatisticsHolder statisticsHolder() {
         return stats;
@@ -764,6 +968,78 @@ public class H2Tree extends BPlusTree<H2Row, H2Row> {
         return inlineIdxs;
     }
 
+    /**
+     * @return Helpers of the included columns for the segment.
+     */
+    public List<InlineIndexColumn> includedColumns() {
+        return inclIdxs;
+    }
+
+    /**
+     * Puts rows in the index order, so that rows falling into the same leaf page are put under a single leaf lock.
+     *
+     * @param rows Rows.
+     * @return Flags telling whether an equal row was replaced, in the order of the passed rows.
+     * @throws IgniteCheckedException If failed.
+     */
+    public boolean[] putAll(List<? extends H2Row> rows) throws IgniteCheckedException {
+        List<PutClosure> clos = new ArrayList<>(rows.size());
+
+        for (H2Row row : rows)
+            clos.add(new PutClosure(row));
+
+        List<PutClosure> sortedClos = new ArrayList<>(clos);
+
+        sortedClos.sort((c1, c2) -> compareRows(c1.row, c2.row));
+
+        List<H2Row> sorted = new ArrayList<>(sortedClos.size());
+
+        for (PutClosure c : sortedClos)
+            sorted.add(c.row);
+
+        invokeAll(sorted, null, sortedClos);
+
+        boolean[] replaced = new boolean[clos.size()];
+
+        for (int i = 0; i < replaced.length; i++)
+            replaced[i] = clos.get(i).replaced;
+
+        return replaced;
+    }
+
+    /**
+     * Puts the row regardless of the old one and records whether the old one existed.
+     */
+    private static class PutClosure implements IgniteTree.InvokeClosure<H2Row> {
+        /** */
+        private final H2Row row;
+
+        /** */
+        private boolean replaced;
+
+        /**
+         * @param row Row.
+         */
+        private PutClosure(H2Row row) {
+            this.row = row;
+        }
+
+        /** {@inheritDoc} */
+        @Override public void call(@Nullable H2Row oldRow) {
+            replaced = oldRow != null;
+        }
+
+        /** {@inheritDoc} */
+        @Override public H2Row newRow() {
+            return row;
+        }
+
+        /** {@inheritDoc} */
+        @Override public IgniteTree.OperationType operationType() {
+            return IgniteTree.OperationType.PUT;
+        }
+    }
+
     /**
      *
      */
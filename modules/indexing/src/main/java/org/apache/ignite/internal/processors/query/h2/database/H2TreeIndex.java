@@ -16,12 +16,15 @@
 
 package org.apache.ignite.internal.processors.query.h2.database;
 
+import java.lang.ref.WeakReference;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
 import javax.cache.CacheException;
@@ -45,6 +48,7 @@ import org.apache.ignite.internal.processors.cache.persistence.IgniteCacheDataba
 import org.apache.ignite.internal.processors.cache.persistence.RootPage;
 import org.apache.ignite.internal.processors.cache.persistence.metastorage.pendingtask.DurableBackgroundTask;
 import org.apache.ignite.internal.processors.cache.persistence.tree.BPlusTree;
+import org.apache.ignite.internal.processors.cache.persistence.tree.io.PageIO;
 import org.apache.ignite.internal.processors.cache.persistence.tree.reuse.ReuseList;
 import org.apache.ignite.internal.processors.failure.FailureProcessor;
 import org.apache.ignite.internal.processors.query.GridQueryTypeDescriptor;
@@ -84,7 +88,10 @@ import org.apache.ignite.lang.IgniteBiTuple;
 import org.apache.ignite.plugin.extensions.communication.Message;
 import org.apache.ignite.spi.indexing.IndexingQueryCacheFilter;
 import org.apache.ignite.spi.indexing.IndexingQueryFilter;
+import org.h2.command.dml.Select;
 import org.h2.engine.Session;
+import org.h2.expression.Expression;
+import org.h2.expression.ExpressionVisitor;
 import org.h2.index.Cursor;
 import org.h2.index.IndexCondition;
 import org.h2.index.IndexLookupBatch;
@@ -92,6 +99,7 @@ import org.h2.index.IndexType;
 import org.h2.index.SingleRowCursor;
 import org.h2.message.DbException;
 import org.h2.result.SearchRow;
+import org.h2.table.Column;
 import org.h2.table.IndexColumn;
 import org.h2.table.TableFilter;
 import org.h2.value.Value;
@@ -112,8 +120,11 @@ import static org.h2.result.Row.MEMORY_CALCULATE;
  */
 @SuppressWarnings({"TypeMayBeWeakened", "unchecked"})
 public class H2TreeIndex extends H2TreeIndexBase {
+    /** Suffix of the name of the trees which are built during the index re-inlining. */
+    private static final String REINLINE_TREE_NAME_SUFFIX = "##REINLINE";
+
     /** */
-    private final H2Tree[] segments;
+    private volatile H2Tree[] segments;
 
     /** Kernal context. */
     private final GridKernalContext ctx;
@@ -152,6 +163,24 @@ public class H2TreeIndex extends H2TreeIndexBase {
     /** Query context registry. */
     private final QueryContextRegistry qryCtxRegistry;
 
+    /** Bulk load collecting rows of this index or {@code null}. */
+    private volatile IndexBulkLoad bulkLoad;
+
+    /** Included (covered) columns which values are stored in leaf pages. */
+    private final IndexColumn[] inclCols;
+
+    /** Columns required by the last table filter which has used the index. */
+    private volatile RequiredColumns lastReqCols;
+
+    /** Factory of the trees of the index segments. */
+    private final SegmentFactory segFactory;
+
+    /** Whether the index is being re-inlined. */
+    private final AtomicBoolean reinlineInProgress = new AtomicBoolean();
+
+    /** Trees being built with the new inline size or {@code null}, receive all the updates of the index. */
+    private volatile H2Tree[] reinlineSegments;
+
     /**
      * @param cctx Cache context.
      * @param tbl Table.
@@ -160,6 +189,8 @@ public class H2TreeIndex extends H2TreeIndexBase {
      * @param treeName Tree name.
      * @param segments Tree segments.
      * @param cols Columns.
+     * @param inclCols Included columns.
+     * @param segFactory Factory of the trees of the index segments.
      * @param log Logger.
      */
     private H2TreeIndex(
@@ -170,6 +201,8 @@ public class H2TreeIndex extends H2TreeIndexBase {
         String treeName,
         H2Tree[] segments,
         IndexColumn[] cols,
+        IndexColumn[] inclCols,
+        SegmentFactory segFactory,
         IgniteLogger log
     ) {
         super(tbl, idxName, cols,
@@ -186,6 +219,8 @@ public class H2TreeIndex extends H2TreeIndexBase {
         this.treeName = treeName;
 
         this.segments = segments;
+        this.inclCols = inclCols;
+        this.segFactory = segFactory;
 
         qryCtxRegistry = ((IgniteH2Indexing)(ctx.query().getIndexing())).queryContextRegistry();
 
@@ -220,6 +255,7 @@ public class H2TreeIndex extends H2TreeIndexBase {
      * @param affinityKey {@code true} for affinity key.
      * @param unwrappedCols Unwrapped index columns for complex types.
      * @param wrappedCols Index columns as is.
+     * @param inclCols Included columns which values are stored in leaf pages.
      * @param inlineSize Inline size.
      * @param segmentsCnt Count of tree segments.
      * @param log Logger.
@@ -235,6 +271,7 @@ public class H2TreeIndex extends H2TreeIndexBase {
         boolean affinityKey,
         List<IndexColumn> unwrappedCols,
         List<IndexColumn> wrappedCols,
+        List<IndexColumn> inclCols,
         int inlineSize,
         int segmentsCnt,
         IgniteLogger log
@@ -272,40 +309,45 @@ public class H2TreeIndex extends H2TreeIndexBase {
 
         InlineIndexColumnFactory idxHelperFactory = new InlineIndexColumnFactory(tbl.getCompareMode());
 
+        SegmentFactory segFactory = (treeName0, segIdx, inlineSize0) -> {
+            RootPage page = getMetaPage(cctx, treeName0, segIdx);
+
+            return h2TreeFactory.create(
+                cctx,
+                tbl,
+                treeName0,
+                idxName,
+                tbl.getName(),
+                tbl.cacheName(),
+                cctx.offheap().reuseListForIndex(treeName0),
+                cctx.groupId(),
+                cctx.group().name(),
+                cctx.dataRegion().pageMemory(),
+                cctx.shared().wal(),
+                cctx.offheap().globalRemoveId(),
+                page.pageId().pageId(),
+                page.isAllocated(),
+                unwrappedCols,
+                wrappedCols,
+                inclCols,
+                maxCalculatedInlineSize,
+                pk,
+                affinityKey,
+                cctx.mvccEnabled(),
+                rowCache,
+                cctx.kernalContext().failure(),
+                log,
+                stats,
+                idxHelperFactory,
+                inlineSize0
+            );
+        };
+
         for (int i = 0; i < segments.length; i++) {
             db.checkpointReadLock();
 
             try {
-                RootPage page = getMetaPage(cctx, treeName, i);
-
-                segments[i] = h2TreeFactory.create(
-                    cctx,
-                    tbl,
-                    treeName,
-                    idxName,
-                    tbl.getName(),
-                    tbl.cacheName(),
-                    cctx.offheap().reuseListForIndex(treeName),
-                    cctx.groupId(),
-                    cctx.group().name(),
-                    cctx.dataRegion().pageMemory(),
-                    cctx.shared().wal(),
-                    cctx.offheap().globalRemoveId(),
-                    page.pageId().pageId(),
-                    page.isAllocated(),
-                    unwrappedCols,
-                    wrappedCols,
-                    maxCalculatedInlineSize,
-                    pk,
-                    affinityKey,
-                    cctx.mvccEnabled(),
-                    rowCache,
-                    cctx.kernalContext().failure(),
-                    log,
-                    stats,
-                    idxHelperFactory,
-                    inlineSize
-                );
+                segments[i] = segFactory.create(treeName, i, inlineSize);
             }
             finally {
                 db.checkpointReadUnlock();
@@ -316,7 +358,11 @@ public class H2TreeIndex extends H2TreeIndexBase {
 
         IndexColumn.mapColumns(cols, tbl);
 
-        return new H2TreeIndex(cctx, tbl, idxName, pk, treeName, segments, cols, log);
+        IndexColumn[] inclCols0 = inclCols.toArray(H2Utils.EMPTY_COLUMNS);
+
+        IndexColumn.mapColumns(inclCols0, tbl);
+
+        return new H2TreeIndex(cctx, tbl, idxName, pk, treeName, segments, cols, inclCols0, segFactory, log);
     }
 
     /** {@inheritDoc} */
@@ -355,6 +401,23 @@ public class H2TreeIndex extends H2TreeIndexBase {
 
     /** {@inheritDoc} */
     @Override public Cursor find(Session ses, SearchRow lower, SearchRow upper) {
+        return find(ses, lower, upper, null);
+    }
+
+    /** {@inheritDoc} */
+    @Override public Cursor find(TableFilter filter, SearchRow lower, SearchRow upper) {
+        return find(filter.getSession(), lower, upper, requiredColumns(filter));
+    }
+
+    /**
+     * @param ses Session.
+     * @param lower Lower bound.
+     * @param upper Upper bound.
+     * @param reqCols Ids of the columns required by the query if they are covered by the index, in this case rows
+     *      are restored from the index pages when possible, {@code null} to always return full rows.
+     * @return Cursor.
+     */
+    private Cursor find(Session ses, SearchRow lower, SearchRow upper, @Nullable int[] reqCols) {
         assert lower == null || lower instanceof H2Row : lower;
         assert upper == null || upper instanceof H2Row : upper;
 
@@ -367,7 +430,7 @@ public class H2TreeIndex extends H2TreeIndexBase {
 
             // If it is known that only one row will be returned an optimization is employed
             if (isSingleRowLookup(lower, upper, tree)) {
-                H2Row row = tree.findOne((H2Row)lower, filter(qctx), null);
+                H2Row row = tree.findOne((H2Row)lower, filter(qctx), reqCols);
 
                 if (row == null || isExpired(row))
                     return GridH2Cursor.EMPTY;
@@ -376,7 +439,7 @@ public class H2TreeIndex extends H2TreeIndexBase {
             }
             else {
                 return new H2Cursor(tree.find((H2Row)lower,
-                    (H2Row)upper, filter(qctx), null));
+                    (H2Row)upper, filter(qctx), reqCols));
             }
         }
         catch (IgniteCheckedException e) {
@@ -384,6 +447,90 @@ public class H2TreeIndex extends H2TreeIndexBase {
         }
     }
 
+    /**
+     * @param filter Table filter.
+     * @return Ids of the columns of the table referenced by the query of the filter or {@code null} if
+     *      some of them are not covered by the index.
+     */
+    private @Nullable int[] requiredColumns(@Nullable TableFilter filter) {
+        if (inclCols.length == 0 || filter == null || filter.getSelect() == null)
+            return null;
+
+        RequiredColumns reqCols = lastReqCols;
+
+        if (reqCols != null && reqCols.filter.get() == filter)
+            return reqCols.colIds;
+
+        int[] colIds = collectRequiredColumns(filter.getSelect());
+
+        lastReqCols = new RequiredColumns(filter, colIds);
+
+        return colIds;
+    }
+
+    /**
+     * @param select Select.
+     * @return Ids of the columns of the table referenced by the query or {@code null} if some of them are
+     *      not covered by the index.
+     */
+    private @Nullable int[] collectRequiredColumns(Select select) {
+        HashSet<Column> cols = new HashSet<>();
+
+        ExpressionVisitor visitor = ExpressionVisitor.getColumnsVisitor(cols, getTable());
+
+        select.isEverything(visitor);
+
+        // Conditions of outer joins are not a part of the select condition.
+        for (TableFilter f : select.getTopFilters())
+            collectJoinConditionColumns(f, visitor);
+
+        int[] colIds = new int[cols.size()];
+
+        int i = 0;
+
+        for (Column col : cols) {
+            if (!coversColumn(col))
+                return null;
+
+            colIds[i++] = col.getColumnId();
+        }
+
+        return colIds;
+    }
+
+    /**
+     * @param f Table filter.
+     * @param visitor Columns visitor.
+     */
+    private static void collectJoinConditionColumns(@Nullable TableFilter f, ExpressionVisitor visitor) {
+        for (; f != null; f = f.getJoin()) {
+            Expression joinCond = f.getJoinCondition();
+
+            if (joinCond != null)
+                joinCond.isEverything(visitor);
+
+            Expression filterCond = f.getFilterCondition();
+
+            if (filterCond != null)
+                filterCond.isEverything(visitor);
+
+            collectJoinConditionColumns(f.getNestedJoin(), visitor);
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override protected boolean coversColumn(Column col) {
+        if (super.coversColumn(col))
+            return true;
+
+        for (IndexColumn inclCol : inclCols) {
+            if (inclCol.column == col)
+                return true;
+        }
+
+        return false;
+    }
+
     /** */
     private boolean isSingleRowLookup(SearchRow lower, SearchRow upper, H2Tree tree) {
         return !cctx.mvccEnabled() && indexType.isPrimaryKey() && lower != null && upper != null &&
@@ -406,13 +553,24 @@ public class H2TreeIndex extends H2TreeIndexBase {
         try {
             int seg = segmentForRow(cctx, row);
 
+            IndexBulkLoad bulkLoad0 = bulkLoad;
+
+            if (bulkLoad0 != null && bulkLoad0.onPut(seg, row))
+                return null;
+
             H2Tree tree = treeForRead(seg);
 
-            InlineIndexColumnFactory.setCurrentInlineIndexes(tree.inlineIndexes());
+            InlineIndexColumnFactory.setCurrentInlineIndexes(tree.inlineIndexes(), tree.includedColumns());
 
             assert cctx.shared().database().checkpointLockIsHeldByThread();
 
-            return (H2CacheRow)tree.put(row);
+            H2CacheRow old = (H2CacheRow)tree.put(row);
+
+            tree.sampleKeySize(row);
+
+            putReinlined(seg, row);
+
+            return old;
         }
         catch (Throwable t) {
             ctx.failure().process(new FailureContext(CRITICAL_ERROR, t));
@@ -440,13 +598,24 @@ public class H2TreeIndex extends H2TreeIndexBase {
         try {
             int seg = segmentForRow(cctx, row);
 
+            IndexBulkLoad bulkLoad0 = bulkLoad;
+
+            if (bulkLoad0 != null && bulkLoad0.onPut(seg, row))
+                return false;
+
             H2Tree tree = treeForRead(seg);
 
-            InlineIndexColumnFactory.setCurrentInlineIndexes(tree.inlineIndexes());
+            InlineIndexColumnFactory.setCurrentInlineIndexes(tree.inlineIndexes(), tree.includedColumns());
 
             assert cctx.shared().database().checkpointLockIsHeldByThread();
 
-            return tree.putx(row);
+            boolean res = tree.putx(row);
+
+            tree.sampleKeySize(row);
+
+            putReinlined(seg, row);
+
+            return res;
         }
         catch (Throwable t) {
             ctx.failure().process(new FailureContext(CRITICAL_ERROR, t));
@@ -458,6 +627,78 @@ public class H2TreeIndex extends H2TreeIndexBase {
         }
     }
 
+    /**
+     * Puts a batch of rows. Rows of each segment are put in the index order leaf by leaf.
+     *
+     * @param rows Rows.
+     * @return Flags telling whether an equal row was replaced, in the order of the passed rows.
+     * @throws IgniteSQLException on error (field type mismatch) of any row, before any row is put.
+     */
+    public boolean[] putAll(List<H2CacheRow> rows) {
+        for (H2CacheRow row : rows)
+            validateRowFields(row);
+
+        boolean[] replaced = new boolean[rows.size()];
+
+        if (bulkLoad != null) {
+            for (int i = 0; i < rows.size(); i++)
+                replaced[i] = putx(rows.get(i));
+
+            return replaced;
+        }
+
+        try {
+            assert cctx.shared().database().checkpointLockIsHeldByThread();
+
+            List<List<Integer>> segRows = new ArrayList<>(segmentsCount());
+
+            for (int i = 0; i < segmentsCount(); i++)
+                segRows.add(new ArrayList<>());
+
+            for (int i = 0; i < rows.size(); i++)
+                segRows.get(segmentForRow(cctx, rows.get(i))).add(i);
+
+            for (int seg = 0; seg < segRows.size(); seg++) {
+                List<Integer> idxs = segRows.get(seg);
+
+                if (idxs.isEmpty())
+                    continue;
+
+                List<H2CacheRow> batch = new ArrayList<>(idxs.size());
+
+                for (Integer i : idxs)
+                    batch.add(rows.get(i));
+
+                H2Tree tree = treeForRead(seg);
+
+                InlineIndexColumnFactory.setCurrentInlineIndexes(tree.inlineIndexes(), tree.includedColumns());
+
+                try {
+                    boolean[] segReplaced = tree.putAll(batch);
+
+                    for (int j = 0; j < batch.size(); j++) {
+                        replaced[idxs.get(j)] = segReplaced[j];
+
+                        tree.sampleKeySize(batch.get(j));
+                    }
+
+                    for (H2CacheRow row : batch)
+                        putReinlined(seg, row);
+                }
+                finally {
+                    InlineIndexColumnFactory.clearCurrentInlineIndexes();
+                }
+            }
+
+            return replaced;
+        }
+        catch (Throwable t) {
+            ctx.failure().process(new FailureContext(CRITICAL_ERROR, t));
+
+            throw DbException.convert(t);
+        }
+    }
+
     /** {@inheritDoc} */
     @Override public boolean removex(SearchRow row) {
         assert row instanceof H2Row : row;
@@ -465,13 +706,31 @@ public class H2TreeIndex extends H2TreeIndexBase {
         try {
             int seg = segmentForRow(cctx, row);
 
+            IndexBulkLoad bulkLoad0 = bulkLoad;
+
+            if (bulkLoad0 != null)
+                bulkLoad0.onRemove();
+
             H2Tree tree = treeForRead(seg);
 
-            InlineIndexColumnFactory.setCurrentInlineIndexes(tree.inlineIndexes());
+            InlineIndexColumnFactory.setCurrentInlineIndexes(tree.inlineIndexes(), tree.includedColumns());
 
             assert cctx.shared().database().checkpointLockIsHeldByThread();
 
-            return tree.removex((H2Row)row);
+            boolean res = tree.removex((H2Row)row);
+
+            H2Tree[] reinlineSegs = reinlineSegments;
+
+            if (reinlineSegs != null) {
+                H2Tree reinlineTree = reinlineSegs[seg];
+
+                InlineIndexColumnFactory.setCurrentInlineIndexes(reinlineTree.inlineIndexes(),
+                    reinlineTree.includedColumns());
+
+                reinlineTree.removex((H2Row)row);
+            }
+
+            return res;
         }
         catch (Throwable t) {
             ctx.failure().process(new FailureContext(CRITICAL_ERROR, t));
@@ -546,9 +805,16 @@ public class H2TreeIndex extends H2TreeIndexBase {
      */
     private void destroy0(boolean rmvIdx, boolean async) {
         try {
+            H2Tree[] reinlineSegs = reinlineSegments;
+
+            reinlineSegments = null;
+
             if (cctx.affinityNode() && rmvIdx) {
                 assert cctx.shared().database().checkpointLockIsHeldByThread();
 
+                if (reinlineSegs != null)
+                    asyncDestroyTrees(reinlineSegs, treeName + REINLINE_TREE_NAME_SUFFIX);
+
                 List<Long> rootPages = new ArrayList<>(segments.length);
                 List<H2Tree> trees = new ArrayList<>(segments.length);
 
@@ -590,6 +856,334 @@ public class H2TreeIndex extends H2TreeIndexBase {
         }
     }
 
+    /**
+     * Destroys the trees in background, the trees must not be used any more.
+     *
+     * @param trees Trees of the index segments.
+     * @param treeName0 Name under which root pages of the trees are stored, {@code null} if the root pages are
+     *      not stored under any name any more.
+     * @throws IgniteCheckedException If failed.
+     */
+    private void asyncDestroyTrees(H2Tree[] trees, @Nullable String treeName0) throws IgniteCheckedException {
+        assert cctx.shared().database().checkpointLockIsHeldByThread();
+
+        List<Long> rootPages = new ArrayList<>(trees.length);
+        List<H2Tree> trees0 = new ArrayList<>(trees.length);
+
+        for (int i = 0; i < trees.length; i++) {
+            H2Tree tree = trees[i];
+
+            if (tree == null)
+                continue;
+
+            tree.markDestroyed();
+
+            rootPages.add(tree.getMetaPageId());
+            trees0.add(tree);
+
+            if (treeName0 != null)
+                cctx.offheap().dropRootPageForIndex(cctx.cacheId(), treeName0, i);
+        }
+
+        if (trees0.isEmpty())
+            return;
+
+        DurableBackgroundTask task = new DurableBackgroundCleanupIndexTreeTask(
+            rootPages,
+            trees0,
+            cctx.group().name(),
+            cctx.cache().name(),
+            table.getSchema().getName(),
+            idxName
+        );
+
+        cctx.kernalContext().durableBackgroundTasksProcessor().startDurableBackgroundTask(task, cctx.config());
+    }
+
+    /**
+     * Starts re-inlining of the index: creates empty trees with the new inline size, which receive all the further
+     * updates of the index. The trees have to be filled with the existing rows by {@link #putReinlined(H2CacheRow)},
+     * then either {@link #finishReinline()} or {@link #cancelReinline()} must be called.
+     *
+     * @param inlineSize New inline size.
+     * @throws IgniteCheckedException If failed.
+     */
+    public void startReinline(int inlineSize) throws IgniteCheckedException {
+        if (!reinlineInProgress.compareAndSet(false, true)) {
+            throw new IgniteCheckedException("Index is already being re-inlined [cacheName=" + cctx.name() +
+                ", tblName=" + tblName + ", idxName=" + idxName + ']');
+        }
+
+        try {
+            GridH2Table tbl = getTable();
+
+            // Bulk load is started under the exclusive lock as well.
+            tbl.lock(true);
+
+            try {
+                if (bulkLoad != null) {
+                    throw new IgniteCheckedException("Index is being rebuilt [cacheName=" + cctx.name() +
+                        ", tblName=" + tblName + ", idxName=" + idxName + ']');
+                }
+            }
+            finally {
+                tbl.unlock(true);
+            }
+
+            String reinlineTreeName = treeName + REINLINE_TREE_NAME_SUFFIX;
+
+            H2Tree[] trees = new H2Tree[segments.length];
+
+            IgniteCacheDatabaseSharedManager db = cctx.shared().database();
+
+            db.checkpointReadLock();
+
+            try {
+                H2Tree[] leftovers = new H2Tree[trees.length];
+
+                boolean hasLeftovers = false;
+
+                for (int i = 0; i < trees.length; i++) {
+                    H2Tree tree = segFactory.create(reinlineTreeName, i, inlineSize);
+
+                    // Trees of the re-inlining interrupted by a node stop are dropped and created from scratch.
+                    if (tree.created())
+                        trees[i] = tree;
+                    else {
+                        leftovers[i] = tree;
+
+                        hasLeftovers = true;
+                    }
+                }
+
+                if (hasLeftovers) {
+                    asyncDestroyTrees(leftovers, reinlineTreeName);
+
+                    for (int i = 0; i < trees.length; i++) {
+                        if (trees[i] == null)
+                            trees[i] = segFactory.create(reinlineTreeName, i, inlineSize);
+                    }
+                }
+            }
+            finally {
+                db.checkpointReadUnlock();
+            }
+
+            reinlineSegments = trees;
+        }
+        catch (Throwable e) {
+            reinlineInProgress.set(false);
+
+            throw e;
+        }
+    }
+
+    /**
+     * Puts the row being re-inlined into the tree with the new inline size.
+     *
+     * @param row Row.
+     * @throws IgniteCheckedException If failed.
+     */
+    public void putReinlined(H2CacheRow row) throws IgniteCheckedException {
+        try {
+            putReinlined(segmentForRow(cctx, row), row);
+        }
+        finally {
+            InlineIndexColumnFactory.clearCurrentInlineIndexes();
+        }
+    }
+
+    /**
+     * Puts the row into the tree with the new inline size if the index is being re-inlined.
+     *
+     * @param seg Segment.
+     * @param row Row.
+     * @throws IgniteCheckedException If failed.
+     */
+    private void putReinlined(int seg, H2CacheRow row) throws IgniteCheckedException {
+        H2Tree[] reinlineSegs = reinlineSegments;
+
+        if (reinlineSegs == null)
+            return;
+
+        H2Tree tree = reinlineSegs[seg];
+
+        InlineIndexColumnFactory.setCurrentInlineIndexes(tree.inlineIndexes(), tree.includedColumns());
+
+        tree.putx(row);
+    }
+
+    /**
+     * Replaces trees of the index with the re-inlined ones and destroys the former trees in background. The root
+     * pages of the new trees are stored under the name of the index trees, so the new inline size survives a node
+     * restart. Each name is switched to the new root page by a single meta tree put, so a crash in between leaves
+     * every segment with either the former or the re-inlined tree, both of them complete.
+     *
+     * @throws IgniteCheckedException If failed.
+     */
+    public void finishReinline() throws IgniteCheckedException {
+        assert reinlineInProgress.get();
+
+        GridH2Table tbl = getTable();
+
+        IgniteCacheDatabaseSharedManager db = cctx.shared().database();
+
+        try {
+            db.checkpointReadLock();
+
+            try {
+                // No concurrent update can reach the index trees while they are replaced.
+                tbl.lock(true);
+
+                try {
+                    H2Tree[] newSegments = reinlineSegments;
+
+                    if (newSegments == null) {
+                        throw new IgniteCheckedException("Index has been dropped during re-inlining [cacheName=" +
+                            cctx.name() + ", tblName=" + tblName + ", idxName=" + idxName + ']');
+                    }
+
+                    for (int i = 0; i < newSegments.length; i++) {
+                        cctx.offheap().renameRootPageForIndex(cctx.cacheId(), treeName + REINLINE_TREE_NAME_SUFFIX,
+                            treeName, i);
+                    }
+
+                    H2Tree[] oldSegments = segments;
+
+                    segments = newSegments;
+
+                    reinlineSegments = null;
+
+                    // The names already refer to the new trees. A crash before the destroy task is saved only leaks
+                    // the pages of the former trees.
+                    asyncDestroyTrees(oldSegments, null);
+                }
+                finally {
+                    tbl.unlock(true);
+                }
+            }
+            finally {
+                db.checkpointReadUnlock();
+            }
+        }
+        finally {
+            reinlineInProgress.set(false);
+        }
+    }
+
+    /**
+     * Cancels re-inlining of the index and destroys the trees with the new inline size in background.
+     */
+    public void cancelReinline() {
+        GridH2Table tbl = getTable();
+
+        IgniteCacheDatabaseSharedManager db = cctx.shared().database();
+
+        try {
+            db.checkpointReadLock();
+
+            try {
+                H2Tree[] trees;
+
+                // Wait for the updates which could have seen the trees.
+                tbl.lock(true);
+
+                try {
+                    trees = reinlineSegments;
+
+                    reinlineSegments = null;
+                }
+                finally {
+                    tbl.unlock(true);
+                }
+
+                if (trees != null)
+                    asyncDestroyTrees(trees, treeName + REINLINE_TREE_NAME_SUFFIX);
+            }
+            finally {
+                db.checkpointReadUnlock();
+            }
+        }
+        catch (IgniteCheckedException e) {
+            U.error(log, "Failed to destroy trees of the cancelled index re-inlining [cacheName=" + cctx.name() +
+                ", tblName=" + tblName + ", idxName=" + idxName + ']', e);
+        }
+        finally {
+            reinlineInProgress.set(false);
+        }
+    }
+
+    /**
+     * @return {@code True} if the index is being re-inlined.
+     */
+    boolean reinlineInProgress() {
+        return reinlineInProgress.get();
+    }
+
+    /**
+     * @return Recommended inline size: max sampled size of the inlined columns of the stored rows limited by the
+     *      page payload size, or the current inline size if no rows have been sampled yet.
+     */
+    public int recommendedInlineSize() {
+        if (keySizeSamples() == 0)
+            return inlineSize();
+
+        int inclSize = InlineIndexColumnFactory.includedColumnsSize(segments[0].includedColumns());
+
+        return Math.min(maxKeySize(), PageIO.MAX_PAYLOAD_SIZE - inclSize);
+    }
+
+    /**
+     * @return Max sampled size of the inlined columns of the stored rows.
+     */
+    public int maxKeySize() {
+        int res = 0;
+
+        for (H2Tree tree : segments)
+            res = Math.max(res, tree.maxKeySize());
+
+        return res;
+    }
+
+    /**
+     * @return Average sampled size of the inlined columns of the stored rows.
+     */
+    public int averageKeySize() {
+        long sum = 0;
+        long cnt = 0;
+
+        for (H2Tree tree : segments) {
+            sum += tree.keySizeSum();
+            cnt += tree.keySizeSamples();
+        }
+
+        return cnt == 0 ? 0 : (int)(sum / cnt);
+    }
+
+    /**
+     * @return Number of the sampled rows.
+     */
+    public long keySizeSamples() {
+        long res = 0;
+
+        for (H2Tree tree : segments)
+            res += tree.keySizeSamples();
+
+        return res;
+    }
+
+    /**
+     * @return Number of comparisons which could not be completed on inlined values and required a row to be read.
+     */
+    public long inlineFallbackComparisons() {
+        long res = 0;
+
+        for (H2Tree tree : segments)
+            res += tree.inlineFallbackComparisons();
+
+        return res;
+    }
+
     /**
      * @param segment Segment Id.
      * @return Snapshot for requested segment if there is one.
@@ -598,6 +1192,28 @@ public class H2TreeIndex extends H2TreeIndexBase {
         return segments[segment];
     }
 
+    /**
+     * @param segment Segment Id.
+     * @return Tree of the segment.
+     */
+    H2Tree segment(int segment) {
+        return segments[segment];
+    }
+
+    /**
+     * @param bulkLoad Bulk load collecting rows of this index or {@code null} to put rows into the index trees.
+     */
+    void bulkLoad(@Nullable IndexBulkLoad bulkLoad) {
+        this.bulkLoad = bulkLoad;
+    }
+
+    /**
+     * @return Bulk load collecting rows of this index or {@code null}.
+     */
+    @Nullable IndexBulkLoad bulkLoad() {
+        return bulkLoad;
+    }
+
     /**
      * @param qctx Query context.
      * @return Row filter.
@@ -955,6 +1571,40 @@ public class H2TreeIndex extends H2TreeIndexBase {
         return ret;
     }
 
+    /**
+     * Columns required by a table filter.
+     */
+    private static class RequiredColumns {
+        /** Table filter, weak reference to not prevent the query from being collected. */
+        private final WeakReference<TableFilter> filter;
+
+        /** Ids of the required columns or {@code null} if they are not covered by the index. */
+        private final int[] colIds;
+
+        /**
+         * @param filter Table filter.
+         * @param colIds Ids of the required columns.
+         */
+        private RequiredColumns(TableFilter filter, @Nullable int[] colIds) {
+            this.filter = new WeakReference<>(filter);
+            this.colIds = colIds;
+        }
+    }
+
+    /**
+     * Factory of the trees of the index segments.
+     */
+    private interface SegmentFactory {
+        /**
+         * @param treeName Name under which root page of the tree is stored.
+         * @param segIdx Segment index.
+         * @param inlineSize Configured inline size.
+         * @return Tree of the segment.
+         * @throws IgniteCheckedException If failed.
+         */
+        public H2Tree create(String treeName, int segIdx, int inlineSize) throws IgniteCheckedException;
+    }
+
     /**
      * Interface for {@link H2Tree} factory class.
      */
@@ -977,6 +1627,7 @@ public class H2TreeIndex extends H2TreeIndexBase {
             boolean initNew,
             List<IndexColumn> unwrappedCols,
             List<IndexColumn> wrappedCols,
+            List<IndexColumn> inclCols,
             AtomicInteger maxCalculatedInlineSize,
             boolean pk,
             boolean affinityKey,
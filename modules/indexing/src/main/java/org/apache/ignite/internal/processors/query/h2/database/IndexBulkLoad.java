@@ -0,0 +1,949 @@
+/*
+ * Copyright 2019 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.query.h2.database;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import org.apache.ignite.IgniteCheckedException;
+import org.apache.ignite.IgniteLogger;
+import org.apache.ignite.IgniteSystemProperties;
+import org.apache.ignite.internal.processors.cache.CacheObject;
+import org.apache.ignite.internal.processors.cache.CacheObjectContext;
+import org.apache.ignite.internal.processors.cache.GridCacheContext;
+import org.apache.ignite.internal.processors.cache.GridCacheEntryEx;
+import org.apache.ignite.internal.processors.cache.GridCacheEntryRemovedException;
+import org.apache.ignite.internal.processors.cache.KeyCacheObject;
+import org.apache.ignite.internal.processors.cache.distributed.dht.topology.GridDhtInvalidPartitionException;
+import org.apache.ignite.internal.processors.cache.distributed.near.GridNearCacheAdapter;
+import org.apache.ignite.internal.processors.cache.persistence.IgniteCacheDatabaseSharedManager;
+import org.apache.ignite.internal.processors.cache.persistence.file.FileIO;
+import org.apache.ignite.internal.processors.cache.persistence.tree.BPlusTree;
+import org.apache.ignite.internal.processors.cache.persistence.tree.io.CacheVersionIO;
+import org.apache.ignite.internal.processors.cache.tree.DataRow;
+import org.apache.ignite.internal.processors.cache.version.GridCacheVersion;
+import org.apache.ignite.internal.processors.query.h2.H2MemoryTracker;
+import org.apache.ignite.internal.processors.query.h2.IgniteH2Indexing;
+import org.apache.ignite.internal.processors.query.h2.QueryMemoryManager;
+import org.apache.ignite.internal.processors.query.h2.database.inlinecolumn.InlineIndexColumnFactory;
+import org.apache.ignite.internal.processors.query.h2.opt.GridH2IndexBase;
+import org.apache.ignite.internal.processors.query.h2.opt.GridH2Table;
+import org.apache.ignite.internal.processors.query.h2.opt.H2CacheRow;
+import org.apache.ignite.internal.processors.query.h2.opt.H2Row;
+import org.apache.ignite.internal.processors.query.schema.SchemaIndexCacheVisitorClosure;
+import org.apache.ignite.internal.util.lang.GridCursor;
+import org.apache.ignite.internal.util.typedef.internal.A;
+import org.apache.ignite.internal.util.typedef.internal.U;
+import org.jetbrains.annotations.Nullable;
+
+import static java.nio.file.StandardOpenOption.CREATE_NEW;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.WRITE;
+import static org.apache.ignite.IgniteSystemProperties.IGNITE_INDEX_BULK_LOAD_ENABLED;
+import static org.apache.ignite.IgniteSystemProperties.IGNITE_INDEX_BULK_LOAD_FILL_FACTOR;
+import static org.apache.ignite.IgniteSystemProperties.IGNITE_INDEX_BULK_LOAD_RUN_SIZE;
+import static org.apache.ignite.internal.processors.query.h2.QueryMemoryManager.DISK_SPILL_DIR;
+
+/**
+ * Bottom-up build of an empty {@link H2TreeIndex}. While the cache is scanned, index rows of the scanning threads
+ * are collected instead of being inserted into the index trees. Rows are sorted in memory by runs of
+ * {@link IgniteSystemProperties#IGNITE_INDEX_BULK_LOAD_RUN_SIZE} rows and full runs are spilled to the disk. When the
+ * scan is finished, the runs are merged and every index segment is built with {@link BPlusTree#bulkLoad(long, float)}.
+ * <p>
+ * Cache updates concurrent with the scan go to the index trees as usual. A collected row may become stale after such
+ * an update, so the built trees are published only if the index was not modified since the bulk load start.
+ * Otherwise the sorted rows are put into the index one by one, re-reading every entry under the entry lock like the
+ * regular index build does.
+ */
+public class IndexBulkLoad implements AutoCloseable {
+    /** Default fill factor of index pages. */
+    public static final float DFLT_FILL_FACTOR = 0.9f;
+
+    /** Default number of rows sorted in memory. */
+    public static final int DFLT_RUN_SIZE = 100_000;
+
+    /** Size of the spill file buffer. */
+    private static final int IO_BUF_SIZE = 64 * 1024;
+
+    /** Checkpoint read lock is released after this number of rows. */
+    private static final int BATCH_SIZE = 1000;
+
+    /** Bulk loads collecting the rows of the current thread. */
+    private static final ThreadLocal<Collection<IndexBulkLoad>> COLLECTING = new ThreadLocal<>();
+
+    /** Spill file ID generator. */
+    private static final AtomicLong idGen = new AtomicLong();
+
+    /** */
+    private final GridH2Table tbl;
+
+    /** */
+    private final H2TreeIndex idx;
+
+    /** */
+    private final GridCacheContext<?, ?> cctx;
+
+    /** */
+    private final IgniteLogger log;
+
+    /** */
+    private final QueryMemoryManager memMgr;
+
+    /** Tracker of the spilled data. */
+    private final H2MemoryTracker tracker;
+
+    /** */
+    private final float fillFactor;
+
+    /** */
+    private final int runSize;
+
+    /** */
+    private final Segment[] segments;
+
+    /** Number of index modifications concurrent with the bulk load. */
+    private final LongAdder concurrentMods = new LongAdder();
+
+    /** Error of rows collecting. */
+    private volatile Throwable err;
+
+    /**
+     * @param tbl Table.
+     * @param idx Index.
+     */
+    private IndexBulkLoad(GridH2Table tbl, H2TreeIndex idx) {
+        GridCacheContext<?, ?> cctx = tbl.cacheContext();
+
+        if (cctx.isNear())
+            cctx = ((GridNearCacheAdapter)cctx.cache()).dht().context();
+
+        this.tbl = tbl;
+        this.idx = idx;
+        this.cctx = cctx;
+
+        log = cctx.logger(IndexBulkLoad.class);
+        memMgr = ((IgniteH2Indexing)cctx.kernalContext().query().getIndexing()).memoryManager();
+        tracker = (H2MemoryTracker)memMgr.createQueryMemoryTracker(0);
+
+        fillFactor = IgniteSystemProperties.getFloat(IGNITE_INDEX_BULK_LOAD_FILL_FACTOR, DFLT_FILL_FACTOR);
+        runSize = IgniteSystemProperties.getInteger(IGNITE_INDEX_BULK_LOAD_RUN_SIZE, DFLT_RUN_SIZE);
+
+        A.ensure(fillFactor > 0 && fillFactor <= 1, IGNITE_INDEX_BULK_LOAD_FILL_FACTOR + " must be in (0, 1] range");
+        A.ensure(runSize > 0, IGNITE_INDEX_BULK_LOAD_RUN_SIZE + " must be positive");
+
+        segments = new Segment[idx.segmentsCount()];
+
+        for (int i = 0; i < segments.length; i++)
+            segments[i] = new Segment(idx.segment(i));
+    }
+
+    /**
+     * @return {@code True} if bottom-up build of indexes is enabled.
+     */
+    public static boolean enabled() {
+        return IgniteSystemProperties.getBoolean(IGNITE_INDEX_BULK_LOAD_ENABLED);
+    }
+
+    /**
+     * Switches the index to the bulk load mode, if the bulk load is enabled and the index is an empty secondary index
+     * of a non-MVCC cache.
+     *
+     * @param tbl Table.
+     * @param idx Index.
+     * @return Bulk load or {@code null} if rows should be put into the index as usual.
+     * @throws IgniteCheckedException If failed.
+     */
+    @Nullable public static IndexBulkLoad start(GridH2Table tbl, GridH2IndexBase idx) throws IgniteCheckedException {
+        if (!enabled() || !(idx instanceof H2TreeIndex) || idx.getIndexType().isPrimaryKey() ||
+            tbl.cacheContext().mvccEnabled())
+            return null;
+
+        H2TreeIndex idx0 = (H2TreeIndex)idx;
+
+        // No concurrent update can reach the index trees between the emptiness check and the mode switch.
+        tbl.lock(true);
+
+        try {
+            if (idx0.bulkLoad() != null || idx0.reinlineInProgress())
+                return null;
+
+            for (int i = 0; i < idx0.segmentsCount(); i++) {
+                if (!idx0.segment(i).isEmpty())
+                    return null;
+            }
+
+            IndexBulkLoad bulkLoad = new IndexBulkLoad(tbl, idx0);
+
+            idx0.bulkLoad(bulkLoad);
+
+            return bulkLoad;
+        }
+        finally {
+            tbl.unlock(true);
+        }
+    }
+
+    /**
+     * Wraps the closure, so that index rows of the given bulk loads put by the closure are collected.
+     *
+     * @param clo Closure.
+     * @param bulkLoads Bulk loads.
+     * @return Wrapped closure.
+     */
+    public static SchemaIndexCacheVisitorClosure collecting(
+        SchemaIndexCacheVisitorClosure clo,
+        Collection<IndexBulkLoad> bulkLoads
+    ) {
+        return row -> {
+            COLLECTING.set(bulkLoads);
+
+            try {
+                clo.apply(row);
+            }
+            finally {
+                COLLECTING.remove();
+            }
+        };
+    }
+
+    /**
+     * @return {@code True} if rows of the current thread are collected by this bulk load.
+     */
+    private boolean collecting() {
+        Collection<IndexBulkLoad> bulkLoads = COLLECTING.get();
+
+        return bulkLoads != null && bulkLoads.contains(this);
+    }
+
+    /**
+     * Called by the index on row put.
+     *
+     * @param seg Segment.
+     * @param row Row.
+     * @return {@code True} if the row is collected and must not be put into the index tree.
+     */
+    boolean onPut(int seg, H2CacheRow row) {
+        if (!collecting()) {
+            concurrentMods.increment();
+
+            return false;
+        }
+
+        if (err == null) {
+            try {
+                segments[seg].add(row);
+            }
+            catch (IgniteCheckedException | IOException | RuntimeException e) {
+                err = e;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Called by the index on row remove.
+     */
+    void onRemove() {
+        if (!collecting())
+            concurrentMods.increment();
+    }
+
+    /**
+     * Builds the index from the collected rows, must be called when the scan is finished.
+     *
+     * @throws IgniteCheckedException If failed.
+     */
+    public void finish() throws IgniteCheckedException {
+        if (err != null)
+            throw new IgniteCheckedException("Failed to collect rows for bulk load of index: " + idx.getName(), err);
+
+        try {
+            if (concurrentMods.sum() == 0 && build()) {
+                if (log.isInfoEnabled()) {
+                    log.info("Index is built bottom-up [cache=" + cctx.name() + ", tbl=" + tbl.getName() +
+                        ", idx=" + idx.getName() + ", rows=" + rowsCount() + ']');
+                }
+
+                return;
+            }
+
+            idx.bulkLoad(null);
+
+            if (log.isInfoEnabled()) {
+                log.info("Index was modified during bulk load, sorted rows are put one by one [cache=" + cctx.name() +
+                    ", tbl=" + tbl.getName() + ", idx=" + idx.getName() + ", rows=" + rowsCount() + ']');
+            }
+
+            putSorted();
+        }
+        catch (IOException e) {
+            throw new IgniteCheckedException("Failed to read spilled rows of index: " + idx.getName(), e);
+        }
+    }
+
+    /**
+     * Builds the index segments bottom-up and publishes them, if the index was not modified concurrently.
+     *
+     * @return {@code True} if the index is built.
+     * @throws IgniteCheckedException If failed.
+     * @throws IOException If failed.
+     */
+    private boolean build() throws IgniteCheckedException, IOException {
+        IgniteCacheDatabaseSharedManager db = cctx.shared().database();
+
+        List<BPlusTree<H2Row, H2Row>.BulkLoad> loads = new ArrayList<>(segments.length);
+
+        boolean published = false;
+
+        try {
+            for (Segment seg : segments) {
+                if (seg.rows == 0)
+                    continue;
+
+                BPlusTree<H2Row, H2Row>.BulkLoad load = seg.tree.bulkLoad(seg.rows, fillFactor);
+
+                if (load == null)
+                    return false;
+
+                loads.add(load);
+
+                if (!load(seg, load))
+                    return false;
+            }
+
+            db.checkpointReadLock();
+
+            try {
+                tbl.lock(true);
+
+                try {
+                    if (concurrentMods.sum() != 0)
+                        return false;
+
+                    for (BPlusTree<H2Row, H2Row>.BulkLoad load : loads)
+                        load.publish();
+
+                    published = true;
+
+                    idx.bulkLoad(null);
+                }
+                finally {
+                    tbl.unlock(true);
+                }
+            }
+            finally {
+                db.checkpointReadUnlock();
+            }
+
+            return true;
+        }
+        finally {
+            if (!published && !loads.isEmpty()) {
+                db.checkpointReadLock();
+
+                try {
+                    for (BPlusTree<H2Row, H2Row>.BulkLoad load : loads)
+                        load.cancel();
+                }
+                finally {
+                    db.checkpointReadUnlock();
+                }
+            }
+        }
+    }
+
+    /**
+     * @param seg Segment.
+     * @param load Tree loader.
+     * @return {@code False} if loading was stopped because of concurrent index modifications.
+     * @throws IgniteCheckedException If failed.
+     * @throws IOException If failed.
+     */
+    private boolean load(Segment seg, BPlusTree<H2Row, H2Row>.BulkLoad load)
+        throws IgniteCheckedException, IOException {
+        IgniteCacheDatabaseSharedManager db = cctx.shared().database();
+
+        RowCursor cur = seg.sorted();
+
+        H2CacheRow prev = null;
+
+        long cnt = 0;
+
+        boolean locked = false;
+
+        InlineIndexColumnFactory.setCurrentInlineIndexes(seg.tree.inlineIndexes(), seg.tree.includedColumns());
+
+        try {
+            while (cur.next()) {
+                H2CacheRow row = cur.row;
+
+                // The same row collected twice can not be loaded bottom-up.
+                if (prev != null && seg.tree.compareRows(prev, row) == 0)
+                    return false;
+
+                if (!locked) {
+                    db.checkpointReadLock();
+
+                    locked = true;
+                }
+
+                load.add(row);
+
+                prev = row;
+
+                if (++cnt % BATCH_SIZE == 0) {
+                    db.checkpointReadUnlock();
+
+                    locked = false;
+
+                    if (concurrentMods.sum() != 0 || cctx.kernalContext().isStopping())
+                        return false;
+                }
+            }
+        }
+        finally {
+            if (locked)
+                db.checkpointReadUnlock();
+
+            InlineIndexColumnFactory.clearCurrentInlineIndexes();
+        }
+
+        return cnt == seg.rows;
+    }
+
+    /**
+     * Puts the sorted rows into the index one by one.
+     *
+     * @throws IgniteCheckedException If failed.
+     * @throws IOException If failed.
+     */
+    private void putSorted() throws IgniteCheckedException, IOException {
+        IgniteCacheDatabaseSharedManager db = cctx.shared().database();
+
+        SchemaIndexCacheVisitorClosure clo = row -> {
+            if (cctx.kernalContext().query().belongsToTable(cctx, tbl.cacheName(), tbl.getName(), row.key(),
+                row.value()))
+                idx.putx(tbl.rowDescriptor().createRow(row));
+        };
+
+        for (Segment seg : segments) {
+            RowCursor cur = seg.sorted();
+
+            H2CacheRow prev = null;
+
+            int cnt = 0;
+
+            boolean locked = false;
+
+            try {
+                while (cur.next()) {
+                    H2CacheRow row = cur.row;
+
+                    if (prev != null && seg.tree.compareRows(prev, row) == 0)
+                        continue;
+
+                    prev = row;
+
+                    if (!locked) {
+                        db.checkpointReadLock();
+
+                        locked = true;
+                    }
+
+                    updateIndex(row.key(), clo);
+
+                    if (++cnt % BATCH_SIZE == 0) {
+                        db.checkpointReadUnlock();
+
+                        locked = false;
+                    }
+                }
+            }
+            finally {
+                if (locked)
+                    db.checkpointReadUnlock();
+            }
+        }
+    }
+
+    /**
+     * Applies the closure to the current row of the entry under the entry lock.
+     *
+     * @param key Key.
+     * @param clo Closure.
+     * @throws IgniteCheckedException If failed.
+     */
+    private void updateIndex(KeyCacheObject key, SchemaIndexCacheVisitorClosure clo) throws IgniteCheckedException {
+        while (true) {
+            try {
+                GridCacheEntryEx entry = cctx.cache().entryEx(key);
+
+                try {
+                    entry.updateIndex(clo);
+                }
+                finally {
+                    entry.touch();
+                }
+
+                break;
+            }
+            catch (GridDhtInvalidPartitionException ignore) {
+                break;
+            }
+            catch (GridCacheEntryRemovedException ignored) {
+                // No-op.
+            }
+        }
+    }
+
+    /**
+     * @return Number of collected rows.
+     */
+    private long rowsCount() {
+        long rows = 0;
+
+        for (Segment seg : segments)
+            rows += seg.rows;
+
+        return rows;
+    }
+
+    /**
+     * Switches the index back to the regular mode, if it was not yet, and deletes the spill files.
+     */
+    @Override public void close() {
+        if (idx.bulkLoad() == this)
+            idx.bulkLoad(null);
+
+        for (Segment seg : segments)
+            seg.close();
+
+        U.closeQuiet(tracker);
+    }
+
+    /**
+     * @param rows Rows.
+     * @return Spilled run.
+     * @throws IgniteCheckedException If failed.
+     * @throws IOException If failed.
+     */
+    private FileRun spill(List<H2CacheRow> rows) throws IgniteCheckedException, IOException {
+        File dir = U.resolveWorkDirectory(cctx.kernalContext().config().getWorkDirectory(), DISK_SPILL_DIR, false);
+
+        // Spill name pattern: spill_nodeId_fileId.
+        File file = new File(dir, "spill_" + cctx.localNodeId() + "_idx" + idGen.incrementAndGet());
+
+        FileRun run = new FileRun(file, memMgr.fileIoFactory().create(file, tracker, CREATE_NEW, READ, WRITE),
+            rows.size());
+
+        CacheObjectContext coCtx = cctx.cacheObjectContext();
+
+        ByteBuffer buf = ByteBuffer.allocate(IO_BUF_SIZE);
+
+        for (H2CacheRow row : rows) {
+            byte[] keyBytes = row.key().valueBytes(coCtx);
+            byte[] valBytes = row.value().valueBytes(coCtx);
+
+            int size = 8 + 4 + 8 + 4 + CacheVersionIO.size(row.version(), false) + 5 + keyBytes.length + 5 +
+                valBytes.length;
+
+            if (buf.remaining() < 4 + size) {
+                buf.flip();
+
+                run.io.writeFully(buf);
+
+                buf = buf.capacity() < 4 + size ? ByteBuffer.allocate(4 + size) : (ByteBuffer)buf.clear();
+            }
+
+            buf.putInt(size);
+            buf.putLong(row.link());
+            buf.putInt(row.partition());
+            buf.putLong(row.expireTime());
+            buf.putInt(row.cacheId());
+
+            CacheVersionIO.write(buf, row.version(), false);
+
+            buf.put(row.key().cacheObjectType());
+            buf.putInt(keyBytes.length);
+            buf.put(keyBytes);
+
+            buf.put(row.value().cacheObjectType());
+            buf.putInt(valBytes.length);
+            buf.put(valBytes);
+        }
+
+        buf.flip();
+
+        run.io.writeFully(buf);
+
+        return run;
+    }
+
+    /**
+     * @param buf Buffer positioned at the row.
+     * @return Row.
+     * @throws IgniteCheckedException If failed.
+     */
+    private H2CacheRow readRow(ByteBuffer buf) throws IgniteCheckedException {
+        CacheObjectContext coCtx = cctx.cacheObjectContext();
+
+        long link = buf.getLong();
+        int part = buf.getInt();
+        long expireTime = buf.getLong();
+        int cacheId = buf.getInt();
+
+        GridCacheVersion ver = CacheVersionIO.read(buf, false);
+
+        byte keyType = buf.get();
+        byte[] keyBytes = new byte[buf.getInt()];
+
+        buf.get(keyBytes);
+
+        byte valType = buf.get();
+        byte[] valBytes = new byte[buf.getInt()];
+
+        buf.get(valBytes);
+
+        KeyCacheObject key = coCtx.kernalContext().cacheObjects().toKeyCacheObject(coCtx, keyType, keyBytes);
+
+        key.partition(part);
+
+        CacheObject val = coCtx.kernalContext().cacheObjects().toCacheObject(coCtx, valType, valBytes);
+
+        DataRow dataRow = new DataRow(key, val, ver, part, expireTime, cacheId);
+
+        dataRow.link(link);
+
+        H2CacheRow row = tbl.rowDescriptor().createRow(dataRow);
+
+        row.prepareValuesCache();
+
+        return row;
+    }
+
+    /**
+     * Rows of an index segment.
+     */
+    private class Segment {
+        /** */
+        private final H2Tree tree;
+
+        /** Rows which are not spilled yet. */
+        private List<H2CacheRow> buf = new ArrayList<>();
+
+        /** Spilled runs. */
+        private final List<FileRun> runs = new ArrayList<>();
+
+        /** Number of collected rows. */
+        private long rows;
+
+        /** Whether {@link #buf} is sorted. */
+        private boolean sorted;
+
+        /**
+         * @param tree Tree.
+         */
+        private Segment(H2Tree tree) {
+            this.tree = tree;
+        }
+
+        /**
+         * @param row Row.
+         * @throws IgniteCheckedException If failed.
+         * @throws IOException If failed.
+         */
+        private void add(H2CacheRow row) throws IgniteCheckedException, IOException {
+            DataRow dataRow = new DataRow(row.key(), row.value(), row.version(), row.partition(), row.expireTime(),
+                row.cacheId());
+
+            dataRow.link(row.link());
+
+            // The row of the caller can not be shared, its values cache is cleared once the row is put.
+            H2CacheRow row0 = tbl.rowDescriptor().createRow(dataRow);
+
+            List<H2CacheRow> full = null;
+
+            synchronized (this) {
+                buf.add(row0);
+
+                rows++;
+
+                if (buf.size() >= runSize) {
+                    full = buf;
+
+                    buf = new ArrayList<>();
+                }
+            }
+
+            if (full != null) {
+                sort(full);
+
+                FileRun run = spill(full);
+
+                synchronized (this) {
+                    runs.add(run);
+                }
+            }
+        }
+
+        /**
+         * @param rows Rows.
+         */
+        private void sort(List<H2CacheRow> rows) {
+            for (H2CacheRow row : rows)
+                row.prepareValuesCache();
+
+            rows.sort(tree::compareRows);
+        }
+
+        /**
+         * @return Cursor over all the rows of the segment in the index order.
+         * @throws IOException If failed.
+         */
+        private RowCursor sorted() throws IOException {
+            if (!sorted) {
+                sort(buf);
+
+                sorted = true;
+            }
+
+            List<RowCursor> cursors = new ArrayList<>(runs.size() + 1);
+
+            for (FileRun run : runs)
+                cursors.add(new FileRunCursor(run));
+
+            cursors.add(new ListCursor(buf));
+
+            return cursors.size() == 1 ? cursors.get(0) : new MergeCursor(tree, cursors);
+        }
+
+        /**
+         * Deletes spill files.
+         */
+        private void close() {
+            for (FileRun run : runs)
+                run.close();
+
+            runs.clear();
+
+            buf = new ArrayList<>();
+        }
+    }
+
+    /**
+     * Sorted run spilled to the disk.
+     */
+    private class FileRun {
+        /** */
+        private final File file;
+
+        /** */
+        private final FileIO io;
+
+        /** Number of rows. */
+        private final int rows;
+
+        /**
+         * @param file File.
+         * @param io File IO.
+         * @param rows Number of rows.
+         */
+        private FileRun(File file, FileIO io, int rows) {
+            this.file = file;
+            this.io = io;
+            this.rows = rows;
+        }
+
+        /**
+         * Closes and deletes the file.
+         */
+        private void close() {
+            U.closeQuiet(io);
+
+            if (!file.delete())
+                U.warn(log, "Failed to delete spill file: " + file.getAbsolutePath());
+        }
+    }
+
+    /**
+     * Cursor over sorted rows.
+     */
+    private abstract static class RowCursor implements GridCursor<H2CacheRow> {
+        /** Current row. */
+        protected H2CacheRow row;
+
+        /** {@inheritDoc} */
+        @Override public H2CacheRow get() {
+            return row;
+        }
+    }
+
+    /**
+     * Cursor over sorted rows in memory.
+     */
+    private static class ListCursor extends RowCursor {
+        /** */
+        private final List<H2CacheRow> rows;
+
+        /** */
+        private int idx;
+
+        /**
+         * @param rows Rows.
+         */
+        private ListCursor(List<H2CacheRow> rows) {
+            this.rows = rows;
+        }
+
+        /** {@inheritDoc} */
+        @Override public boolean next() {
+            row = idx < rows.size() ? rows.get(idx++) : null;
+
+            return row != null;
+        }
+    }
+
+    /**
+     * Cursor over a spilled run.
+     */
+    private class FileRunCursor extends RowCursor {
+        /** */
+        private final FileRun run;
+
+        /** */
+        private ByteBuffer buf = ByteBuffer.allocate(IO_BUF_SIZE);
+
+        /** File position of the buffer end. */
+        private long pos;
+
+        /** Number of rows left. */
+        private int left;
+
+        /**
+         * @param run Run.
+         */
+        private FileRunCursor(FileRun run) {
+            this.run = run;
+
+            left = run.rows;
+
+            buf.limit(0);
+        }
+
+        /** {@inheritDoc} */
+        @Override public boolean next() throws IgniteCheckedException {
+            if (left == 0) {
+                row = null;
+
+                return false;
+            }
+
+            try {
+                ensure(4);
+
+                ensure(buf.getInt());
+            }
+            catch (IOException e) {
+                throw new IgniteCheckedException("Failed to read spill file: " + run.file.getAbsolutePath(), e);
+            }
+
+            row = readRow(buf);
+
+            left--;
+
+            return true;
+        }
+
+        /**
+         * Makes sure the buffer has the given number of bytes remaining.
+         *
+         * @param size Size.
+         * @throws IOException If failed.
+         */
+        private void ensure(int size) throws IOException {
+            if (buf.remaining() >= size)
+                return;
+
+            if (buf.capacity() < size)
+                buf = ByteBuffer.allocate(size).put(buf);
+            else
+                buf.compact();
+
+            while (buf.position() < size) {
+                int read = run.io.read(buf, pos);
+
+                if (read < 0)
+                    throw new IOException("Unexpected end of spill file: " + run.file.getAbsolutePath());
+
+                pos += read;
+            }
+
+            buf.flip();
+        }
+    }
+
+    /**
+     * Cursor merging sorted cursors.
+     */
+    private static class MergeCursor extends RowCursor {
+        /** Cursors positioned at their current rows. */
+        private final PriorityQueue<RowCursor> queue;
+
+        /** Cursors which are not started yet. */
+        private List<RowCursor> cursors;
+
+        /** Cursor of the current row. */
+        private RowCursor cur;
+
+        /**
+         * @param tree Tree defining the order.
+         * @param cursors Cursors.
+         */
+        private MergeCursor(H2Tree tree, List<RowCursor> cursors) {
+            this.cursors = cursors;
+
+            queue = new PriorityQueue<>(cursors.size(), (c1, c2) -> tree.compareRows(c1.row, c2.row));
+        }
+
+        /** {@inheritDoc} */
+        @Override public boolean next() throws IgniteCheckedException {
+            if (cursors != null) {
+                for (RowCursor c : cursors) {
+                    if (c.next())
+                        queue.add(c);
+                }
+
+                cursors = null;
+            }
+            else if (cur != null && cur.next())
+                queue.add(cur);
+
+            cur = queue.poll();
+
+            row = cur != null ? cur.row : null;
+
+            return row != null;
+        }
+    }
+}
@@ -18,6 +18,7 @@ package org.apache.ignite.internal.processors.query.h2.database;
 
 import java.util.Comparator;
 import org.h2.value.Value;
+import org.jetbrains.annotations.Nullable;
 
 /**
  * Basic interface for inlined index columns.
@@ -84,6 +85,16 @@ public interface InlineIndexColumn {
      */
     public int put(long pageAddr, int off, Value val, int maxSize);
 
+    /**
+     * Restores the inlined value if it was inlined completely.
+     *
+     * @param pageAddr Page address.
+     * @param off Offset.
+     * @param maxSize Max size.
+     * @return Inlined value or {@code null} if the value was truncated or can't be restored from the inlined bytes.
+     */
+    public @Nullable Value fullValue(long pageAddr, int off, int maxSize);
+
     /**
      * Returns name of the inlined column.
      *
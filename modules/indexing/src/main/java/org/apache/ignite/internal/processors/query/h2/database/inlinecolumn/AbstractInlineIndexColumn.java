@@ -119,6 +119,18 @@ public abstract class AbstractInlineIndexColumn implements InlineIndexColumn {
         return get0(pageAddr, off);
     }
 
+    /** {@inheritDoc} */
+    @Override public @Nullable Value fullValue(long pageAddr, int off, int maxSize) {
+        Value val = get(pageAddr, off, maxSize);
+
+        // Variable length values have the highest bit of the length set if they were truncated.
+        if (val != null && val != ValueNull.INSTANCE && size < 0 &&
+            (PageUtils.getShort(pageAddr, off + 1) & 0x8000) != 0)
+            return null;
+
+        return val;
+    }
+
     /** {@inheritDoc} */
     @Override public int compare(long pageAddr, int off, int maxSize, Value v, Comparator<Value> comp) {
         int type;
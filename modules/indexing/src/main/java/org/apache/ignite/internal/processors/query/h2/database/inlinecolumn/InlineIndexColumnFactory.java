@@ -36,6 +36,13 @@ public class InlineIndexColumnFactory {
     private static final ThreadLocal<GridTuple<List<InlineIndexColumn>>> CUR_HELPER =
         ThreadLocal.withInitial(GridTuple::new);
 
+    /** Helpers of the included (covered) columns for use in IO's. */
+    private static final ThreadLocal<GridTuple<List<InlineIndexColumn>>> CUR_INCLUDE_HELPER =
+        ThreadLocal.withInitial(GridTuple::new);
+
+    /** Size of the slot reserved in a leaf item for an included column of variable length. */
+    public static final int INCLUDED_VARLEN_COLUMN_SIZE = 64;
+
     /** */
     private static final Set<Integer> AVAILABLE_TYPES = new HashSet<>(Arrays.asList(
         Value.BOOLEAN,
@@ -169,11 +176,58 @@ public class InlineIndexColumnFactory {
         CUR_HELPER.get().set(inlineIdxs);
     }
 
+    /**
+     * Sets page context for current thread.
+     *
+     * @param inlineIdxs Helpers of the indexed columns.
+     * @param inclIdxs Helpers of the included columns.
+     */
+    public static void setCurrentInlineIndexes(List<InlineIndexColumn> inlineIdxs, List<InlineIndexColumn> inclIdxs) {
+        CUR_HELPER.get().set(inlineIdxs);
+        CUR_INCLUDE_HELPER.get().set(inclIdxs);
+    }
+
+    /**
+     * @return Helpers of the included columns for current thread or {@code null} if there are no such columns.
+     */
+    public static List<InlineIndexColumn> getCurrentIncludedColumns() {
+        return CUR_INCLUDE_HELPER.get().get();
+    }
+
     /**
      * Clears current context.
      */
     public static void clearCurrentInlineIndexes() {
         CUR_HELPER.get().set(null);
+        CUR_INCLUDE_HELPER.get().set(null);
+    }
+
+    /**
+     * Included column values are stored in fixed slots after the inlined key, so that every value can be located
+     * without parsing of the preceding ones. Values of variable length which don't fit the slot are truncated
+     * and read from the data row.
+     *
+     * @param inclIdx Helper of the included column.
+     * @return Size of the slot of the included column (including type byte).
+     */
+    public static int includedColumnSize(InlineIndexColumn inclIdx) {
+        return inclIdx.size() > 0 ? inclIdx.size() + 1 : INCLUDED_VARLEN_COLUMN_SIZE;
+    }
+
+    /**
+     * @param inclIdxs Helpers of the included columns.
+     * @return Size of the leaf item payload reserved for included columns: expire time followed by column slots.
+     */
+    public static int includedColumnsSize(List<InlineIndexColumn> inclIdxs) {
+        if (inclIdxs == null || inclIdxs.isEmpty())
+            return 0;
+
+        int size = 8;
+
+        for (InlineIndexColumn inclIdx : inclIdxs)
+            size += includedColumnSize(inclIdx);
+
+        return size;
     }
 
     /**
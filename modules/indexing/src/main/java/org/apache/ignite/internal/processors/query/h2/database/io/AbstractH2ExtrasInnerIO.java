@@ -144,10 +144,10 @@ public abstract class AbstractH2ExtrasInnerIO extends BPlusInnerIO<H2Row> implem
     @Override public final void store(long dstPageAddr, int dstIdx, BPlusIO<H2Row> srcIo, long srcPageAddr, int srcIdx) {
         int srcOff = srcIo.offset(srcIdx);
 
+        // Source may be a leaf with a larger payload (included columns), so the link is read by the source IO.
         byte[] payload = PageUtils.getBytes(srcPageAddr, srcOff, payloadSize);
-        long link = PageUtils.getLong(srcPageAddr, srcOff + payloadSize);
 
-        assert link != 0;
+        assert ((H2RowLinkIO)srcIo).getLink(srcPageAddr, srcIdx) != 0;
 
         int dstOff = offset(dstIdx);
 
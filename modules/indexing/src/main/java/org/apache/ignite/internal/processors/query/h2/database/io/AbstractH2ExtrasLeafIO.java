@@ -106,12 +106,19 @@ public abstract class AbstractH2ExtrasLeafIO extends BPlusLeafIO<H2Row> implemen
 
         assert inlineIdxs != null : "no inline index helpers";
 
+        List<InlineIndexColumn> inclIdxs = InlineIndexColumnFactory.getCurrentIncludedColumns();
+
+        // Included columns occupy the tail of the payload, the rest is used for inlined index columns.
+        int keySize = payloadSize - InlineIndexColumnFactory.includedColumnsSize(inclIdxs);
+
+        assert keySize >= 0 : "payload is too small for included columns [payloadSize=" + payloadSize + ']';
+
         int fieldOff = 0;
 
         for (int i = 0; i < inlineIdxs.size(); i++) {
             InlineIndexColumn idx = inlineIdxs.get(i);
 
-            int size = idx.put(pageAddr, off + fieldOff, row.getValue(idx.columnIndex()), payloadSize - fieldOff);
+            int size = idx.put(pageAddr, off + fieldOff, row.getValue(idx.columnIndex()), keySize - fieldOff);
 
             if (size == 0)
                 break;
@@ -119,9 +126,37 @@ public abstract class AbstractH2ExtrasLeafIO extends BPlusLeafIO<H2Row> implemen
             fieldOff += size;
         }
 
+        if (keySize != payloadSize)
+            storeIncludedColumns(pageAddr, off + keySize, row0, inclIdxs);
+
         H2IOUtils.storeRow(row0, pageAddr, off + payloadSize, storeMvccInfo());
     }
 
+    /**
+     * Stores expire time and values of the included columns of the row.
+     *
+     * @param pageAddr Page address.
+     * @param off Offset of the included columns area.
+     * @param row Row.
+     * @param inclIdxs Helpers of the included columns.
+     */
+    @SuppressWarnings("ForLoopReplaceableByForEach")
+    private static void storeIncludedColumns(long pageAddr, int off, H2CacheRow row, List<InlineIndexColumn> inclIdxs) {
+        PageUtils.putLong(pageAddr, off, row.expireTime());
+
+        off += 8;
+
+        for (int i = 0; i < inclIdxs.size(); i++) {
+            InlineIndexColumn inclIdx = inclIdxs.get(i);
+
+            int slotSize = InlineIndexColumnFactory.includedColumnSize(inclIdx);
+
+            inclIdx.put(pageAddr, off, row.getValue(inclIdx.columnIndex()), slotSize);
+
+            off += slotSize;
+        }
+    }
+
     /** {@inheritDoc} */
     @Override public final void store(long dstPageAddr, int dstIdx, BPlusIO<H2Row> srcIo, long srcPageAddr, int srcIdx) {
         int srcOff = srcIo.offset(srcIdx);
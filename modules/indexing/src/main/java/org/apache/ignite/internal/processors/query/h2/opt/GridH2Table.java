@@ -547,11 +547,12 @@ public class GridH2Table extends TableBase {
     }
 
     /**
-     * Acquire table lock.
+     * Acquire table lock. Table updates are made under the shared lock, so the exclusive lock guarantees that
+     * table indexes are not modified concurrently.
      *
      * @param exclusive Exclusive flag.
      */
-    private void lock(boolean exclusive) {
+    public void lock(boolean exclusive) {
         lock(exclusive, false);
     }
 
@@ -595,7 +596,7 @@ public class GridH2Table extends TableBase {
      *
      * @param exclusive Exclusive flag.
      */
-    private void unlock(boolean exclusive) {
+    public void unlock(boolean exclusive) {
         Lock l = exclusive ? lock.writeLock() : lock.readLock();
 
         l.unlock();
@@ -796,6 +797,151 @@ public class GridH2Table extends TableBase {
             throw err;
     }
 
+    /**
+     * Updates table for a batch of rows with available previous rows. Rows are put to the tree indexes as a batch,
+     * so rows falling into the same leaf page of an index are put under a single leaf lock.
+     *
+     * @param rows Rows to be updated.
+     * @param prevRows Previous rows, {@code null} elements for new rows.
+     * @throws IgniteCheckedException If failed.
+     */
+    public void updateAll(List<CacheDataRow> rows, List<CacheDataRow> prevRows) throws IgniteCheckedException {
+        assert desc != null;
+        assert rows.size() == prevRows.size() : rows.size() + " " + prevRows.size();
+
+        if (rows.size() == 1 || rebuildFromHashInProgress != FALSE) {
+            for (int i = 0; i < rows.size(); i++)
+                update(rows.get(i), prevRows.get(i), true);
+
+            return;
+        }
+
+        List<H2CacheRow> rows0 = new ArrayList<>(rows.size());
+        List<H2CacheRow> prevRows0 = new ArrayList<>(rows.size());
+
+        IgniteCheckedException err = null;
+
+        try {
+            for (int i = 0; i < rows.size(); i++) {
+                H2CacheRow row0 = desc.createRow(rows.get(i));
+                H2CacheRow prevRow0 = prevRows.get(i) != null ? desc.createRow(prevRows.get(i)) : null;
+
+                row0.prepareValuesCache();
+
+                if (prevRow0 != null)
+                    prevRow0.prepareValuesCache();
+
+                rows0.add(row0);
+                prevRows0.add(prevRow0);
+            }
+
+            lock(false);
+
+            try {
+                ensureNotDestroyed();
+
+                boolean[] replaced = putAll(pk(), rows0);
+
+                for (boolean r : replaced) {
+                    if (!r)
+                        size.increment();
+                }
+
+                for (int i = pkIndexPos + 1, len = idxs.size(); i < len; i++) {
+                    Index idx = idxs.get(i);
+
+                    if (idx instanceof GridH2IndexBase)
+                        err = addAllToIndex((GridH2IndexBase)idx, rows0, prevRows0, err);
+                }
+
+                if (!tmpIdxs.isEmpty()) {
+                    for (GridH2IndexBase idx : tmpIdxs.values())
+                        err = addAllToIndex(idx, rows0, prevRows0, err);
+                }
+            }
+            finally {
+                unlock(false);
+            }
+        }
+        finally {
+            for (int i = 0; i < rows0.size(); i++) {
+                rows0.get(i).clearValuesCache();
+
+                if (prevRows0.get(i) != null)
+                    prevRows0.get(i).clearValuesCache();
+            }
+        }
+
+        if (err != null)
+            throw err;
+    }
+
+    /**
+     * @param idx Index.
+     * @param rows Rows.
+     * @return Flags telling whether an equal row was replaced, in the order of the passed rows.
+     */
+    private static boolean[] putAll(GridH2IndexBase idx, List<H2CacheRow> rows) {
+        if (idx instanceof H2TreeIndex)
+            return ((H2TreeIndex)idx).putAll(rows);
+
+        boolean[] replaced = new boolean[rows.size()];
+
+        for (int i = 0; i < rows.size(); i++)
+            replaced[i] = idx.putx(rows.get(i));
+
+        return replaced;
+    }
+
+    /**
+     * Add a batch of rows to index. Falls back to {@link #addToIndex} row by row for indexes other than tree ones
+     * and if a row does not match the index field types, so that the other rows are still indexed.
+     *
+     * @param idx Index to add rows to.
+     * @param rows Rows to add to index.
+     * @param prevRows Previous row states, {@code null} elements for new rows.
+     * @param err Error on index add.
+     */
+    private IgniteCheckedException addAllToIndex(
+        GridH2IndexBase idx,
+        List<H2CacheRow> rows,
+        List<H2CacheRow> prevRows,
+        IgniteCheckedException err
+    ) {
+        if (!(idx instanceof H2TreeIndex)) {
+            for (int i = 0; i < rows.size(); i++)
+                err = addToIndex(idx, rows.get(i), prevRows.get(i), err);
+
+            return err;
+        }
+
+        boolean[] replaced;
+
+        try {
+            replaced = ((H2TreeIndex)idx).putAll(rows);
+        }
+        catch (Throwable t) {
+            IgniteSQLException ex = X.cause(t, IgniteSQLException.class);
+
+            if (ex != null && ex.statusCode() == IgniteQueryErrorCode.FIELD_TYPE_MISMATCH) {
+                for (int i = 0; i < rows.size(); i++)
+                    err = addToIndex(idx, rows.get(i), prevRows.get(i), err);
+
+                return err;
+            }
+            else
+                throw t;
+        }
+
+        // Rows that were not replaced, need to remove manually.
+        for (int i = 0; i < rows.size(); i++) {
+            if (!replaced[i] && prevRows.get(i) != null)
+                idx.removex(prevRows.get(i));
+        }
+
+        return err;
+    }
+
     /**
      * Remove row.
      *
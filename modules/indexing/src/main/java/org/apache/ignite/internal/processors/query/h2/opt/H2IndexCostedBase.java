@@ -226,17 +226,7 @@ public abstract class H2IndexCostedBase extends BaseIndex {
 
             if (foundCols != null) {
                 for (Column c : foundCols) {
-                    boolean found = false;
-
-                    for (Column c2 : columns) {
-                        if (c == c2) {
-                            found = true;
-
-                            break;
-                        }
-                    }
-
-                    if (!found) {
+                    if (!coversColumn(c)) {
                         foundAllColumnsWeNeed = false;
 
                         break;
@@ -409,16 +399,7 @@ public abstract class H2IndexCostedBase extends BaseIndex {
 
             if (foundCols != null) {
                 for (Column c : foundCols) {
-                    boolean found = false;
-                    for (Column c2 : columns) {
-                        if (c == c2) {
-                            found = true;
-
-                            break;
-                        }
-                    }
-
-                    if (!found) {
+                    if (!coversColumn(c)) {
                         foundAllColumnsWeNeed = false;
 
                         break;
@@ -571,16 +552,7 @@ public abstract class H2IndexCostedBase extends BaseIndex {
 
             if (foundCols != null) {
                 for (Column c : foundCols) {
-                    boolean found = false;
-
-                    for (Column c2 : columns) {
-                        if (c == c2) {
-                            found = true;
-
-                            break;
-                        }
-                    }
-                    if (!found) {
+                    if (!coversColumn(c)) {
                         foundAllColumnsWeNeed = false;
 
                         break;
@@ -609,6 +581,22 @@ public abstract class H2IndexCostedBase extends BaseIndex {
         return rc;
     }
 
+    /**
+     * Checks whether the index contains values of the given column, so that the column could be read without
+     * a lookup of the data row.
+     *
+     * @param col Column.
+     * @return {@code True} if the column value is available in the index.
+     */
+    protected boolean coversColumn(Column col) {
+        for (Column c : columns) {
+            if (c == col)
+                return true;
+        }
+
+        return false;
+    }
+
     /**
      * Cost function interface to re-implement {@link BaseIndex#getCostRangeIndex} to support
      * compatibility with old versions.
@@ -0,0 +1,53 @@
+/*
+ * Copyright 2019 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.query.h2.opt;
+
+import org.apache.ignite.internal.util.typedef.internal.S;
+import org.h2.value.Value;
+
+/**
+ * Row restored from a leaf page of a covering index: contains only values of the columns required by a query.
+ */
+public class H2IndexRow extends H2PlainRow {
+    /** Expire time. */
+    private final long expireTime;
+
+    /**
+     * @param vals Values.
+     * @param expireTime Expire time.
+     */
+    public H2IndexRow(Value[] vals, long expireTime) {
+        super(vals);
+
+        this.expireTime = expireTime;
+    }
+
+    /** {@inheritDoc} */
+    @Override public long expireTime() {
+        return expireTime;
+    }
+
+    /** {@inheritDoc} */
+    @Override public boolean indexSearchRow() {
+        return false;
+    }
+
+    /** {@inheritDoc} */
+    @Override public String toString() {
+        return S.toString(H2IndexRow.class, this, "super", super.toString());
+    }
+}
@@ -0,0 +1,102 @@
+/*
+ * Copyright 2019 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.query.h2.sys.view;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Predicate;
+import org.apache.ignite.internal.GridKernalContext;
+import org.apache.ignite.internal.processors.query.h2.SchemaManager;
+import org.apache.ignite.internal.processors.query.h2.database.H2TreeIndex;
+import org.apache.ignite.internal.processors.query.h2.opt.GridH2Table;
+import org.h2.engine.Session;
+import org.h2.index.Index;
+import org.h2.result.Row;
+import org.h2.result.SearchRow;
+import org.h2.value.Value;
+
+/**
+ * View of the statistics of inlining of index keys on the local node, it recommends inline size of every index with
+ * local trees.
+ */
+public class SqlSystemViewIndexInlineStatistics extends SqlAbstractLocalSystemView {
+    /** Schema manager. */
+    private final SchemaManager schemaMgr;
+
+    /**
+     * @param ctx Kernal context.
+     * @param schemaMgr Schema manager.
+     */
+    public SqlSystemViewIndexInlineStatistics(GridKernalContext ctx, SchemaManager schemaMgr) {
+        super("LOCAL_INDEX_INLINE_STATISTICS", "Local node statistics of inlining of index keys", ctx, "TABLE_NAME",
+            newColumn("SCHEMA_NAME"),
+            newColumn("TABLE_NAME"),
+            newColumn("INDEX_NAME"),
+            newColumn("INLINE_SIZE", Value.INT),
+            newColumn("RECOMMENDED_INLINE_SIZE", Value.INT),
+            newColumn("MAX_KEY_SIZE", Value.INT),
+            newColumn("AVG_KEY_SIZE", Value.INT),
+            newColumn("KEY_SIZE_SAMPLES", Value.LONG),
+            newColumn("INLINE_FALLBACK_COMPARISONS", Value.LONG)
+        );
+
+        this.schemaMgr = schemaMgr;
+    }
+
+    /** {@inheritDoc} */
+    @Override public Iterator<Row> getRows(Session ses, SearchRow first, SearchRow last) {
+        SqlSystemViewColumnCondition tblNameCond = conditionForColumn("TABLE_NAME", first, last);
+
+        Predicate<GridH2Table> filter;
+
+        if (tblNameCond.isEquality()) {
+            String tblName = tblNameCond.valueForEquality().getString();
+
+            filter = tbl -> tblName.equals(tbl.getName());
+        }
+        else
+            filter = tbl -> true;
+
+        List<Row> rows = new ArrayList<>();
+
+        schemaMgr.dataTables().stream().filter(filter).forEach(tbl -> {
+            for (Index idx : tbl.getIndexes()) {
+                if (!(idx instanceof H2TreeIndex))
+                    continue;
+
+                H2TreeIndex treeIdx = (H2TreeIndex)idx;
+
+                Object[] data = new Object[] {
+                    tbl.getSchema().getName(),
+                    tbl.getName(),
+                    treeIdx.getName(),
+                    treeIdx.inlineSize(),
+                    treeIdx.recommendedInlineSize(),
+                    treeIdx.maxKeySize(),
+                    treeIdx.averageKeySize(),
+                    treeIdx.keySizeSamples(),
+                    treeIdx.inlineFallbackComparisons()
+                };
+
+                rows.add(createRow(ses, data));
+            }
+        });
+
+        return rows.iterator();
+    }
+}
@@ -0,0 +1,185 @@
+/*
+ * Copyright 2019 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.cache.index;
+
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntUnaryOperator;
+import org.apache.ignite.IgniteCache;
+import org.apache.ignite.binary.BinaryObject;
+import org.apache.ignite.cache.query.FieldsQueryCursor;
+import org.apache.ignite.cache.query.SqlFieldsQuery;
+import org.apache.ignite.internal.IgniteEx;
+import org.apache.ignite.testframework.GridTestUtils;
+import org.junit.Test;
+
+/**
+ * Tests that the query indexes are consistent with the data after atomic {@code putAll} batches, which update
+ * the data tree and the indexes leaf by leaf.
+ */
+public class AtomicPutAllIndexTest extends AbstractIndexingCommonTest {
+    /** Keys count. */
+    private static final int KEY_CNT = 2_000;
+
+    /** Cache name. */
+    private static final String CACHE_NAME = "test";
+
+    /** Value type name. */
+    private static final String VAL_TYPE = "TestVal";
+
+    /** Threads count. */
+    private static final int THREADS = 4;
+
+    /** Iterations per thread. */
+    private static final int ITERATIONS = 20;
+
+    /** {@inheritDoc} */
+    @Override protected void beforeTest() throws Exception {
+        super.beforeTest();
+
+        startGrid(0);
+
+        sql("CREATE TABLE TEST (ID INT PRIMARY KEY, VAL INT) WITH " +
+            "\"CACHE_NAME=" + CACHE_NAME + ",ATOMICITY=ATOMIC,VALUE_TYPE=" + VAL_TYPE + "\"");
+
+        sql("CREATE INDEX IDX_VAL ON TEST (VAL)");
+    }
+
+    /** {@inheritDoc} */
+    @Override protected void afterTest() throws Exception {
+        stopAllGrids();
+
+        super.afterTest();
+    }
+
+    /**
+     * Checks that inserted and then replaced rows are found by the index, and replaced ones are not.
+     *
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testPutAllInsertAndReplace() throws Exception {
+        putAll(0, KEY_CNT, i -> i);
+
+        for (int i = 0; i < KEY_CNT; i += 7)
+            assertEquals(i, sql("SELECT ID FROM TEST WHERE VAL = ?", i).getAll().get(0).get(0));
+
+        checkIndexedCount(KEY_CNT);
+
+        putAll(0, KEY_CNT, i -> -i - 1);
+
+        for (int i = 0; i < KEY_CNT; i += 7) {
+            assertEquals(i, sql("SELECT ID FROM TEST WHERE VAL = ?", -i - 1).getAll().get(0).get(0));
+
+            assertTrue(sql("SELECT ID FROM TEST WHERE VAL = ?", i).getAll().isEmpty());
+        }
+
+        assertEquals((long)KEY_CNT, sql("SELECT COUNT(*) FROM TEST").getAll().get(0).get(0));
+        assertEquals((long)KEY_CNT, sql("SELECT COUNT(*) FROM TEST WHERE VAL < 0").getAll().get(0).get(0));
+    }
+
+    /**
+     * Checks that concurrent batches updating the same keys leave exactly one index row per key, the one of the
+     * value stored in the cache.
+     *
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testConcurrentPutAll() throws Exception {
+        AtomicInteger threadIdx = new AtomicInteger();
+
+        GridTestUtils.runMultiThreaded(() -> {
+            int t = threadIdx.getAndIncrement();
+
+            ThreadLocalRandom rnd = ThreadLocalRandom.current();
+
+            for (int iter = 0; iter < ITERATIONS; iter++) {
+                int from = rnd.nextInt(KEY_CNT / 2);
+                int to = from + 1 + rnd.nextInt(KEY_CNT - from);
+
+                int off = (t * ITERATIONS + iter) * KEY_CNT;
+
+                putAll(from, to, i -> off + i);
+            }
+
+            return null;
+        }, THREADS, "put-all");
+
+        IgniteCache<Integer, BinaryObject> cache = grid(0).cache(CACHE_NAME).withKeepBinary();
+
+        int cnt = 0;
+
+        for (int i = 0; i < KEY_CNT; i++) {
+            BinaryObject val = cache.get(i);
+
+            if (val == null)
+                continue;
+
+            cnt++;
+
+            Integer idxVal = val.field("VAL");
+
+            List<List<?>> res = sql("SELECT ID FROM TEST WHERE VAL = ?", idxVal).getAll();
+
+            assertEquals(1, res.size());
+            assertEquals(i, res.get(0).get(0));
+        }
+
+        checkIndexedCount(cnt);
+    }
+
+    /**
+     * @param from First key, inclusive.
+     * @param to Last key, exclusive.
+     * @param val Indexed value of the key.
+     */
+    private void putAll(int from, int to, IntUnaryOperator val) {
+        IgniteEx ig = grid(0);
+
+        Map<Integer, BinaryObject> batch = new TreeMap<>();
+
+        for (int i = from; i < to; i++)
+            batch.put(i, ig.binary().builder(VAL_TYPE).setField("VAL", val.applyAsInt(i)).build());
+
+        ig.cache(CACHE_NAME).withKeepBinary().putAll(batch);
+    }
+
+    /**
+     * @param expCnt Expected count of rows in the index.
+     */
+    private void checkIndexedCount(int expCnt) {
+        String qry = "SELECT COUNT(*) FROM TEST WHERE VAL > -1000000";
+
+        String plan = (String)sql("EXPLAIN " + qry).getAll().get(0).get(0);
+
+        assertTrue("Invalid plan: " + plan, plan.contains("IDX_VAL"));
+
+        assertEquals((long)expCnt, sql(qry).getAll().get(0).get(0));
+    }
+
+    /**
+     * @param sql SQL query.
+     * @param args Query parameters.
+     * @return Results cursor.
+     */
+    private FieldsQueryCursor<List<?>> sql(String sql, Object... args) {
+        return grid(0).context().query().querySqlFields(new SqlFieldsQuery(sql).setArgs(args), false);
+    }
+}
@@ -0,0 +1,163 @@
+/*
+ * Copyright 2019 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.apache.ignite.internal.processors.cache.index;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.apache.ignite.cache.query.FieldsQueryCursor;
+import org.apache.ignite.cache.query.SqlFieldsQuery;
+import org.apache.ignite.internal.IgniteEx;
+import org.apache.ignite.internal.processors.query.IgniteSQLException;
+import org.apache.ignite.internal.util.typedef.internal.SB;
+import org.apache.ignite.testframework.GridTestUtils;
+import org.junit.Test;
+
+/**
+ * Tests for secondary indexes with included (covered) columns.
+ */
+public class CoveringIndexTest extends AbstractIndexingCommonTest {
+    /** Keys count. */
+    private static final int KEY_CNT = 1_000;
+
+    /** {@inheritDoc} */
+    @Override protected void beforeTest() throws Exception {
+        super.beforeTest();
+
+        startGrid();
+
+        sql(grid(), "CREATE TABLE TEST (" +
+            "    ID INT PRIMARY KEY, " +
+            "    A INT, " +
+            "    B VARCHAR, " +
+            "    C BIGINT, " +
+            "    D INT" +
+            ") WITH \"CACHE_NAME=test\"");
+
+        sql(grid(), "CREATE INDEX IDX_A ON TEST (A) INCLUDE (B, C)");
+
+        for (int i = 0; i < KEY_CNT; i++)
+            sql(grid(), "INSERT INTO TEST VALUES (?, ?, ?, ?, ?)", i, i % 100, strValue(i), (long)i * 3, i);
+    }
+
+    /** {@inheritDoc} */
+    @Override protected void afterTest() throws Exception {
+        stopAllGrids();
+
+        super.afterTest();
+    }
+
+    /**
+     * Checks that results of queries answered by the index only match the table data,
+     * including values which don't fit into the index page and are read from the data rows.
+     */
+    @Test
+    public void testCoveredQuery() {
+        String plan = (String)sql(grid(),
+            "EXPLAIN SELECT B, C FROM TEST WHERE A = 7").getAll().get(0).get(0);
+
+        assertTrue("Invalid plan: " + plan, plan.contains("PUBLIC.IDX_A"));
+
+        for (int a = 0; a < 100; a += 7)
+            checkRows(a);
+
+        assertEquals((long)KEY_CNT / 100 * 10,
+            sql(grid(), "SELECT COUNT(C) FROM TEST WHERE A >= 10 AND A < 20").getAll().get(0).get(0));
+    }
+
+    /**
+     * Checks that included values are updated along with the rows.
+     */
+    @Test
+    public void testUpdate() {
+        sql(grid(), "UPDATE TEST SET B = B || '_upd', C = -C WHERE A = 3");
+
+        sql(grid(), "DELETE FROM TEST WHERE ID = 103");
+
+        List<List<?>> exp = new ArrayList<>();
+
+        for (int i = 3; i < KEY_CNT; i += 100) {
+            if (i != 103)
+                exp.add(Arrays.asList(i, strValue(i) + "_upd", -(long)i * 3));
+        }
+
+        assertEqualsCollections(exp,
+            sql(grid(), "SELECT ID, B, C FROM TEST WHERE A = 3 ORDER BY ID").getAll());
+    }
+
+    /**
+     * Checks queries which need columns missing in the index.
+     */
+    @Test
+    public void testNotCoveredQuery() {
+        List<List<?>> exp = new ArrayList<>();
+
+        for (int i = 5; i < KEY_CNT; i += 100)
+            exp.add(Arrays.asList(i, (long)i * 3, i));
+
+        assertEqualsCollections(exp,
+            sql(grid(), "SELECT ID, C, D FROM TEST WHERE A = 5 ORDER BY ID").getAll());
+    }
+
+    /**
+     * Checks errors on index creation.
+     */
+    @Test
+    public void testCreateIndexErrors() {
+        GridTestUtils.assertThrowsAnyCause(log,
+            () -> sql(grid(), "CREATE INDEX IDX_D ON TEST (D) INCLUDE (MISSING)"),
+            IgniteSQLException.class, "Column doesn't exist: MISSING");
+    }
+
+    /**
+     * @param a Value of the indexed column.
+     */
+    private void checkRows(int a) {
+        List<List<?>> exp = new ArrayList<>();
+
+        for (int i = a; i < KEY_CNT; i += 100)
+            exp.add(Arrays.asList(a, i, strValue(i), (long)i * 3));
+
+        assertEqualsCollections(exp,
+            sql(grid(), "SELECT A, ID, B, C FROM TEST WHERE A = ? ORDER BY ID", a).getAll());
+    }
+
+    /**
+     * @param i Key.
+     * @return String value, long enough to be truncated in the index for some keys.
+     */
+    private static String strValue(int i) {
+        SB sb = new SB("val_" + i);
+
+        for (int j = 0; j < i % 5; j++)
+            sb.a("_0123456789abcdef");
+
+        return sb.toString();
+    }
+
+    /**
+     * @param ign Node.
+     * @param sql SQL query.
+     * @param args Query parameters.
+     * @return Results cursor.
+     */
+    private FieldsQueryCursor<List<?>> sql(IgniteEx ign, String sql, Object... args) {
+        return ign.context().query().querySqlFields(new SqlFieldsQuery(sql)
+            .setArgs(args), false);
+    }
+}
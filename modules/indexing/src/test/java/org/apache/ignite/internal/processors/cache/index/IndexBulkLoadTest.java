@@ -0,0 +1,345 @@
+/*
+ * Copyright 2019 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.cache.index;
+
+import java.io.File;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import org.apache.ignite.IgniteException;
+import org.apache.ignite.cache.query.FieldsQueryCursor;
+import org.apache.ignite.cache.query.SqlFieldsQuery;
+import org.apache.ignite.configuration.DataRegionConfiguration;
+import org.apache.ignite.configuration.DataStorageConfiguration;
+import org.apache.ignite.configuration.IgniteConfiguration;
+import org.apache.ignite.internal.IgniteEx;
+import org.apache.ignite.internal.IgniteInterruptedCheckedException;
+import org.apache.ignite.internal.processors.cache.GridCacheContext;
+import org.apache.ignite.internal.processors.cache.persistence.file.FilePageStoreManager;
+import org.apache.ignite.internal.processors.query.GridQueryProcessor;
+import org.apache.ignite.internal.processors.query.h2.IgniteH2Indexing;
+import org.apache.ignite.internal.processors.query.schema.SchemaIndexCacheVisitorClosure;
+import org.apache.ignite.internal.util.future.GridFutureAdapter;
+import org.apache.ignite.internal.util.typedef.F;
+import org.apache.ignite.internal.util.typedef.internal.U;
+import org.apache.ignite.testframework.ListeningTestLogger;
+import org.apache.ignite.testframework.LogListener;
+import org.apache.ignite.testframework.junits.WithSystemProperty;
+import org.jetbrains.annotations.Nullable;
+import org.junit.Test;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.apache.ignite.IgniteSystemProperties.IGNITE_INDEX_BULK_LOAD_ENABLED;
+import static org.apache.ignite.IgniteSystemProperties.IGNITE_INDEX_BULK_LOAD_RUN_SIZE;
+import static org.apache.ignite.internal.processors.cache.persistence.file.FilePageStoreManager.INDEX_FILE_NAME;
+import static org.apache.ignite.internal.processors.query.h2.QueryMemoryManager.DISK_SPILL_DIR;
+
+/**
+ * Tests for bottom-up build of indexes from externally sorted rows.
+ */
+@WithSystemProperty(key = IGNITE_INDEX_BULK_LOAD_ENABLED, value = "true")
+@WithSystemProperty(key = IGNITE_INDEX_BULK_LOAD_RUN_SIZE, value = "100")
+public class IndexBulkLoadTest extends AbstractIndexingCommonTest {
+    /** Keys count, much more than the run size, so the sorted runs are spilled and merged. */
+    private static final int KEY_CNT = 2_000;
+
+    /** Keys count updated concurrently with the rebuild. */
+    private static final int UPD_CNT = 10;
+
+    /** Cache name. */
+    private static final String CACHE_NAME = "test";
+
+    /** Message logged when the index is built bottom-up. */
+    private static final String BOTTOM_UP_MSG = "Index is built bottom-up";
+
+    /** Message logged when the bulk load falls back to one by one puts. */
+    private static final String FALLBACK_MSG = "Index was modified during bulk load, sorted rows are put one by one";
+
+    /** Latch counted down when the rebuild is started, {@code null} if the rebuild is not blocked. */
+    @Nullable private static volatile CountDownLatch rebuildStarted;
+
+    /** Latch the rebuild awaits before the cache scan, {@code null} if the rebuild is not blocked. */
+    @Nullable private static volatile CountDownLatch rebuildLatch;
+
+    /** */
+    private final ListeningTestLogger testLog = new ListeningTestLogger(false, log);
+
+    /** {@inheritDoc} */
+    @Override protected IgniteConfiguration getConfiguration(String igniteInstanceName) throws Exception {
+        GridQueryProcessor.idxCls = BlockingIndexing.class;
+
+        return super.getConfiguration(igniteInstanceName)
+            .setGridLogger(testLog)
+            .setDataStorageConfiguration(new DataStorageConfiguration()
+                .setDefaultDataRegionConfiguration(new DataRegionConfiguration().setPersistenceEnabled(true)));
+    }
+
+    /** {@inheritDoc} */
+    @Override protected void beforeTest() throws Exception {
+        super.beforeTest();
+
+        stopAllGrids();
+
+        cleanPersistenceDir();
+    }
+
+    /** {@inheritDoc} */
+    @Override protected void afterTest() throws Exception {
+        CountDownLatch latch = rebuildLatch;
+
+        if (latch != null)
+            latch.countDown();
+
+        rebuildStarted = null;
+        rebuildLatch = null;
+
+        stopAllGrids();
+
+        cleanPersistenceDir();
+
+        GridQueryProcessor.idxCls = null;
+
+        super.afterTest();
+    }
+
+    /**
+     * Checks that the index rebuilt from the cache data with a small run size is built bottom-up.
+     *
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testRebuildSpillsAndMerges() throws Exception {
+        File idxFile = createAndFill();
+
+        stopAllGrids();
+
+        assertTrue(U.delete(idxFile));
+
+        LogListener bottomUp = LogListener.matches(BOTTOM_UP_MSG).build();
+
+        testLog.registerListener(bottomUp);
+
+        IgniteEx ig = startGrid(0);
+
+        ig.cluster().active(true);
+
+        ig.cache(CACHE_NAME).indexReadyFuture().get(getTestTimeout());
+
+        assertTrue(bottomUp.check());
+
+        for (int i = 0; i < KEY_CNT; i += 37)
+            assertEquals(i, sql("SELECT ID FROM TEST WHERE VAL = ?", val(i)).getAll().get(0).get(0));
+
+        checkIndexedCount(KEY_CNT);
+
+        checkNoSpillFiles();
+    }
+
+    /**
+     * Checks that updates made while rows are collected for the bottom-up build get into the rebuilt index.
+     *
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testRebuildWithConcurrentUpdates() throws Exception {
+        File idxFile = createAndFill();
+
+        stopAllGrids();
+
+        assertTrue(U.delete(idxFile));
+
+        LogListener fallback = LogListener.matches(FALLBACK_MSG).build();
+
+        testLog.registerListener(fallback);
+
+        rebuildStarted = new CountDownLatch(1);
+        rebuildLatch = new CountDownLatch(1);
+
+        IgniteEx ig = startGrid(0);
+
+        ig.cluster().active(true);
+
+        assertTrue(rebuildStarted.await(getTestTimeout(), MILLISECONDS));
+
+        for (int i = 0; i < UPD_CNT; i++) {
+            sql("DELETE FROM TEST WHERE ID = ?", i);
+            sql("UPDATE TEST SET VAL = ? WHERE ID = ?", -i - 1, KEY_CNT / 2 + i);
+            sql("INSERT INTO TEST VALUES (?, ?, ?)", KEY_CNT + i, name(KEY_CNT + i), val(KEY_CNT + i));
+        }
+
+        rebuildLatch.countDown();
+
+        ig.cache(CACHE_NAME).indexReadyFuture().get(getTestTimeout());
+
+        assertTrue(fallback.check());
+
+        for (int i = 0; i < UPD_CNT; i++) {
+            assertTrue(sql("SELECT ID FROM TEST WHERE VAL = ?", val(i)).getAll().isEmpty());
+            assertTrue(sql("SELECT ID FROM TEST WHERE VAL = ?", val(KEY_CNT / 2 + i)).getAll().isEmpty());
+
+            assertEquals(KEY_CNT / 2 + i, sql("SELECT ID FROM TEST WHERE VAL = ?", -i - 1).getAll().get(0).get(0));
+            assertEquals(KEY_CNT + i,
+                sql("SELECT ID FROM TEST WHERE VAL = ?", val(KEY_CNT + i)).getAll().get(0).get(0));
+        }
+
+        checkIndexedCount(KEY_CNT);
+
+        checkNoSpillFiles();
+    }
+
+    /**
+     * Checks that an index created on a populated table is built bottom-up.
+     *
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testCreateIndexOnPopulatedTable() throws Exception {
+        IgniteEx ig = startGrid(0);
+
+        ig.cluster().active(true);
+
+        sql("CREATE TABLE TEST (ID INT PRIMARY KEY, NAME VARCHAR, VAL INT) WITH \"CACHE_NAME=" + CACHE_NAME + "\"");
+
+        for (int i = 0; i < KEY_CNT; i++)
+            sql("INSERT INTO TEST VALUES (?, ?, ?)", i, name(i), val(i));
+
+        LogListener bottomUp = LogListener.matches(BOTTOM_UP_MSG).build();
+
+        testLog.registerListener(bottomUp);
+
+        sql("CREATE INDEX IDX_VAL ON TEST (VAL)");
+
+        assertTrue(bottomUp.check());
+
+        for (int i = 0; i < KEY_CNT; i += 37)
+            assertEquals(i, sql("SELECT ID FROM TEST WHERE VAL = ?", val(i)).getAll().get(0).get(0));
+
+        checkIndexedCount(KEY_CNT);
+
+        sql("DELETE FROM TEST WHERE ID = 0");
+
+        assertTrue(sql("SELECT ID FROM TEST WHERE VAL = ?", val(0)).getAll().isEmpty());
+
+        checkIndexedCount(KEY_CNT - 1);
+
+        checkNoSpillFiles();
+    }
+
+    /**
+     * Starts the node, creates the indexed table and fills it.
+     *
+     * @return Index file of the cache.
+     * @throws Exception If failed.
+     */
+    private File createAndFill() throws Exception {
+        IgniteEx ig = startGrid(0);
+
+        ig.cluster().active(true);
+
+        sql("CREATE TABLE TEST (ID INT PRIMARY KEY, NAME VARCHAR, VAL INT) WITH \"CACHE_NAME=" + CACHE_NAME + "\"");
+
+        sql("CREATE INDEX IDX_VAL ON TEST (VAL)");
+
+        for (int i = 0; i < KEY_CNT; i++)
+            sql("INSERT INTO TEST VALUES (?, ?, ?)", i, name(i), val(i));
+
+        forceCheckpoint();
+
+        File cacheWorkDir = ((FilePageStoreManager)ig.context().cache().context().pageStore())
+            .cacheWorkDir(ig.cachex(CACHE_NAME).configuration());
+
+        return new File(cacheWorkDir, INDEX_FILE_NAME);
+    }
+
+    /**
+     * @param expCnt Expected count of rows in the index.
+     */
+    private void checkIndexedCount(int expCnt) {
+        String qry = "SELECT COUNT(*) FROM TEST WHERE VAL > -1000000";
+
+        String plan = (String)sql("EXPLAIN " + qry).getAll().get(0).get(0);
+
+        assertTrue("Invalid plan: " + plan, plan.contains("IDX_VAL"));
+
+        assertEquals((long)expCnt, sql(qry).getAll().get(0).get(0));
+    }
+
+    /**
+     * Checks that all spill files of the bulk loads are removed.
+     *
+     * @throws Exception If failed.
+     */
+    private void checkNoSpillFiles() throws Exception {
+        File dir = U.resolveWorkDirectory(grid(0).configuration().getWorkDirectory(), DISK_SPILL_DIR, false);
+
+        String[] files = dir.list((d, name) -> name.startsWith("spill_") && name.contains("_idx"));
+
+        assertTrue("Spill files are left: " + F.asList(files), F.isEmpty(files));
+    }
+
+    /**
+     * @param i Key.
+     * @return Indexed value, ordered backwards to keys, so that the index order differs from the scan order.
+     */
+    private static int val(int i) {
+        return 2 * KEY_CNT - i;
+    }
+
+    /**
+     * @param i Key.
+     * @return Name.
+     */
+    private static String name(int i) {
+        return "name_" + i;
+    }
+
+    /**
+     * @param sql SQL query.
+     * @param args Query parameters.
+     * @return Results cursor.
+     */
+    private FieldsQueryCursor<List<?>> sql(String sql, Object... args) {
+        return grid(0).context().query().querySqlFields(new SqlFieldsQuery(sql).setArgs(args), false);
+    }
+
+    /**
+     * Indexing which blocks the cache scan of the rebuild until {@link #rebuildLatch} is counted down.
+     */
+    private static class BlockingIndexing extends IgniteH2Indexing {
+        /** {@inheritDoc} */
+        @Override protected void rebuildIndexesFromHash0(
+            GridCacheContext cctx,
+            SchemaIndexCacheVisitorClosure clo,
+            GridFutureAdapter<Void> rebuildIdxFut
+        ) {
+            CountDownLatch started = rebuildStarted;
+            CountDownLatch latch = rebuildLatch;
+
+            if (started != null && latch != null) {
+                started.countDown();
+
+                try {
+                    U.await(latch);
+                }
+                catch (IgniteInterruptedCheckedException e) {
+                    throw new IgniteException(e);
+                }
+            }
+
+            super.rebuildIndexesFromHash0(cctx, clo, rebuildIdxFut);
+        }
+    }
+}
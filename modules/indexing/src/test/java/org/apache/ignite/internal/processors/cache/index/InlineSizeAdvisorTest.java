@@ -0,0 +1,198 @@
+/*
+ * Copyright 2019 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.cache.index;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.apache.ignite.cache.query.FieldsQueryCursor;
+import org.apache.ignite.cache.query.SqlFieldsQuery;
+import org.apache.ignite.internal.IgniteInternalFuture;
+import org.apache.ignite.internal.processors.query.h2.IgniteH2Indexing;
+import org.apache.ignite.internal.util.typedef.internal.U;
+import org.apache.ignite.testframework.GridTestUtils;
+import org.apache.ignite.testframework.junits.WithSystemProperty;
+import org.junit.Test;
+
+import static org.apache.ignite.internal.processors.query.h2.database.H2Tree.IGNITE_THROTTLE_INLINE_SIZE_CALCULATION;
+
+/**
+ * Tests for inline size statistics of indexes and online rebuild of an index with a new inline size.
+ */
+@WithSystemProperty(key = IGNITE_THROTTLE_INLINE_SIZE_CALCULATION, value = "1")
+public class InlineSizeAdvisorTest extends AbstractIndexingCommonTest {
+    /** Keys count. */
+    private static final int KEY_CNT = 1_000;
+
+    /** Initial inline size of the index, less than size of the indexed values. */
+    private static final int INLINE_SIZE = 10;
+
+    /** {@inheritDoc} */
+    @Override protected void beforeTest() throws Exception {
+        super.beforeTest();
+
+        startGrid();
+
+        sql("CREATE TABLE TEST (ID INT PRIMARY KEY, NAME VARCHAR, VAL INT) WITH \"CACHE_NAME=test\"");
+
+        sql("CREATE INDEX IDX_NAME ON TEST (NAME) INLINE_SIZE " + INLINE_SIZE);
+
+        for (int i = 0; i < KEY_CNT; i++)
+            sql("INSERT INTO TEST VALUES (?, ?, ?)", i, name(i), i);
+    }
+
+    /** {@inheritDoc} */
+    @Override protected void afterTest() throws Exception {
+        stopAllGrids();
+
+        super.afterTest();
+    }
+
+    /**
+     * Checks that the statistics view recommends inline size which fits the stored keys.
+     */
+    @Test
+    public void testRecommendedInlineSize() {
+        List<?> stat = statistics();
+
+        int recommended = (Integer)stat.get(1);
+
+        assertEquals(INLINE_SIZE, stat.get(0));
+        assertTrue("Unexpected recommendation: " + stat, recommended > INLINE_SIZE);
+        assertEquals(stat.get(2), recommended);
+        assertEquals((long)KEY_CNT, stat.get(3));
+        assertTrue("Comparisons should fall back to rows: " + stat, (Long)stat.get(4) > 0);
+    }
+
+    /**
+     * Checks that the index rebuilt with the recommended inline size is used by queries and compares inlined keys only.
+     *
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testReinline() throws Exception {
+        int recommended = (Integer)statistics().get(1);
+
+        indexing().reinlineIndex("PUBLIC", "IDX_NAME", recommended);
+
+        assertEquals(recommended, sql("SELECT INLINE_SIZE FROM IGNITE.INDEXES " +
+            "WHERE TABLE_NAME = 'TEST' AND INDEX_NAME = 'IDX_NAME'").getAll().get(0).get(0));
+
+        for (int i = 0; i < KEY_CNT; i += 37)
+            assertEquals(i, sql("SELECT ID FROM TEST WHERE NAME = ?", name(i)).getAll().get(0).get(0));
+
+        sql("INSERT INTO TEST VALUES (?, ?, ?)", KEY_CNT, name(KEY_CNT), KEY_CNT);
+
+        sql("DELETE FROM TEST WHERE ID = 0");
+
+        assertTrue(sql("SELECT ID FROM TEST WHERE NAME = ?", name(0)).getAll().isEmpty());
+
+        checkIndexedCount(KEY_CNT);
+
+        List<?> stat = statistics();
+
+        assertEquals(recommended, stat.get(0));
+        assertEquals(0L, stat.get(4));
+    }
+
+    /**
+     * Checks that updates made during the rebuild get into the rebuilt index.
+     *
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testReinlineWithConcurrentUpdates() throws Exception {
+        AtomicBoolean stop = new AtomicBoolean();
+
+        AtomicInteger key = new AtomicInteger(KEY_CNT);
+
+        IgniteInternalFuture<?> updFut = GridTestUtils.runAsync(() -> {
+            while (!stop.get()) {
+                int k = key.getAndIncrement();
+
+                sql("INSERT INTO TEST VALUES (?, ?, ?)", k, name(k), k);
+                sql("UPDATE TEST SET NAME = ? WHERE ID = ?", name(k - KEY_CNT) + "_upd", k - KEY_CNT);
+            }
+        });
+
+        try {
+            U.sleep(100);
+
+            indexing().reinlineIndex("PUBLIC", "IDX_NAME", 64);
+
+            U.sleep(100);
+        }
+        finally {
+            stop.set(true);
+        }
+
+        updFut.get();
+
+        assertEquals(64, statistics().get(0));
+
+        checkIndexedCount(key.get());
+
+        assertEquals(1L, sql("SELECT COUNT(*) FROM TEST WHERE NAME = ?", name(0) + "_upd").getAll().get(0).get(0));
+    }
+
+    /**
+     * @param expCnt Expected count of rows in the index.
+     */
+    private void checkIndexedCount(int expCnt) {
+        String qry = "SELECT COUNT(*) FROM TEST WHERE NAME > 'a'";
+
+        String plan = (String)sql("EXPLAIN " + qry).getAll().get(0).get(0);
+
+        assertTrue("Invalid plan: " + plan, plan.contains("IDX_NAME"));
+
+        assertEquals((long)expCnt, sql(qry).getAll().get(0).get(0));
+    }
+
+    /**
+     * @return Inline size, recommended inline size, max key size, key size samples and fallback comparisons of the
+     *      index.
+     */
+    private List<?> statistics() {
+        return sql("SELECT INLINE_SIZE, RECOMMENDED_INLINE_SIZE, MAX_KEY_SIZE, KEY_SIZE_SAMPLES, " +
+            "INLINE_FALLBACK_COMPARISONS FROM IGNITE.LOCAL_INDEX_INLINE_STATISTICS " +
+            "WHERE TABLE_NAME = 'TEST' AND INDEX_NAME = 'IDX_NAME'").getAll().get(0);
+    }
+
+    /**
+     * @return Indexing.
+     */
+    private IgniteH2Indexing indexing() {
+        return (IgniteH2Indexing)grid().context().query().getIndexing();
+    }
+
+    /**
+     * @param i Key.
+     * @return Name, values differ only after the common prefix which doesn't fit into the initial inline size.
+     */
+    private static String name(int i) {
+        return "common_name_prefix_" + i;
+    }
+
+    /**
+     * @param sql SQL query.
+     * @param args Query parameters.
+     * @return Results cursor.
+     */
+    private FieldsQueryCursor<List<?>> sql(String sql, Object... args) {
+        return grid().context().query().querySqlFields(new SqlFieldsQuery(sql).setArgs(args), false);
+    }
+}
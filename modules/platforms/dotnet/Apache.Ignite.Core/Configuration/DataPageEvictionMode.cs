@@ -53,6 +53,17 @@ namespace Apache.Ignite.Core.Configuration
         /// resolving "one-hit wonder" problem - if a data page is accessed rarely, but accidentally accessed once,
         /// its protected from eviction for a long time.
         /// </summary>
-        Random2Lru
+        Random2Lru,
+
+        /// <summary>
+        /// W-TinyLFU algorithm: frequency-aware and scan resistant.
+        /// <para />
+        /// Access frequency of every data page is estimated by a count-min sketch, which is periodically halved.
+        /// A data page accessed for the first time enters a small admission window. At the eviction time,
+        /// the oldest page of the window is compared with the least frequently used page of a random sample
+        /// of the other pages, and the page with the lower frequency is evicted. A full scan does not evict
+        /// the pages of frequently used entries.
+        /// </summary>
+        WTinyLfu
     }
 }
\ No newline at end of file